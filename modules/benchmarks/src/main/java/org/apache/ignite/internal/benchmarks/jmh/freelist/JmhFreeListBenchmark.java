@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.freelist;
+
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.benchmarks.jmh.JmhAbstractBenchmark;
+import org.apache.ignite.internal.benchmarks.jmh.runner.JmhIdeBenchmarkRunner;
+import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
+import org.apache.ignite.internal.metric.IoStatisticsHolderNoOp;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.pagemem.impl.PageMemoryNoStoreImpl;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl;
+import org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerManager;
+import org.apache.ignite.internal.processors.cache.persistence.evict.NoOpPageEvictionTracker;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.SimpleDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMetrics;
+import org.apache.ignite.internal.processors.cache.persistence.partstorage.PartitionMetaStorageImpl;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.logger.NullLogger;
+import org.apache.ignite.logger.java.JavaLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmarks concurrent inserts and removals of similar-sized rows to the free list.
+ */
+@State(Scope.Benchmark)
+public class JmhFreeListBenchmark extends JmhAbstractBenchmark {
+    /** */
+    private static final int PAGE_SIZE = 4096;
+
+    /** */
+    private static final long MB = 1024 * 1024;
+
+    /** */
+    private static final int GRP_ID = 1;
+
+    /** Count of rows kept by every writer, older rows are removed to keep the free list in a steady state. */
+    private static final int ROWS_PER_WRITER = 4096;
+
+    /** Row size. */
+    @Param({"64", "512"})
+    private int rowSize;
+
+    /** */
+    private PageMemory pageMem;
+
+    /** Free list. */
+    private PartitionMetaStorageImpl<SimpleDataRow> freeList;
+
+    /**
+     * Rows inserted by a writer.
+     */
+    @State(Scope.Thread)
+    public static class WriterState {
+        /** Links of the inserted rows. */
+        private final long[] links = new long[ROWS_PER_WRITER];
+
+        /** Next position in the links ring. */
+        private int pos;
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Setup
+    public void setup() throws Exception {
+        DataRegionConfiguration cfg = new DataRegionConfiguration().setMaxSize(2048 * MB);
+
+        DataRegionMetricsImpl metrics = mock(DataRegionMetricsImpl.class);
+        PageMetrics pageMetrics = mock(PageMetrics.class);
+        LongAdderMetric noOpMetric = new LongAdderMetric("foobar", null);
+
+        when(metrics.cacheGrpPageMetrics(anyInt())).thenReturn(pageMetrics);
+
+        when(pageMetrics.totalPages()).thenReturn(noOpMetric);
+        when(pageMetrics.indexPages()).thenReturn(noOpMetric);
+
+        pageMem = new PageMemoryNoStoreImpl(
+            new JavaLogger(),
+            new UnsafeMemoryProvider(new JavaLogger()),
+            null,
+            PAGE_SIZE,
+            cfg,
+            metrics,
+            false);
+
+        pageMem.start();
+
+        PageLockTrackerManager pageLockTrackerMgr = mock(PageLockTrackerManager.class);
+
+        when(pageLockTrackerMgr.createPageLockTracker(anyString())).thenReturn(PageLockTrackerManager.NOOP_LSNR);
+
+        GridKernalContext ctx = mock(GridKernalContext.class);
+
+        when(ctx.log(any(Class.class))).thenReturn(new NullLogger());
+
+        freeList = new PartitionMetaStorageImpl<>(
+            GRP_ID,
+            "freelist",
+            new DataRegion(pageMem, cfg, metrics, new NoOpPageEvictionTracker()),
+            null,
+            null,
+            pageMem.allocatePage(GRP_ID, 1, PageIdAllocator.FLAG_DATA),
+            true,
+            pageLockTrackerMgr,
+            ctx,
+            null,
+            PageIdAllocator.FLAG_DATA
+        );
+    }
+
+    /**
+     * Tear down.
+     */
+    @TearDown
+    public void tearDown() {
+        pageMem.stop(true);
+    }
+
+    /**
+     * Inserts a row and removes the row inserted by the writer {@link #ROWS_PER_WRITER} inserts ago.
+     *
+     * @param state Writer state.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Benchmark
+    public void insertRemove(WriterState state) throws IgniteCheckedException {
+        SimpleDataRow row = new SimpleDataRow(1, new byte[rowSize + randomInt(16)]);
+
+        freeList.insertDataRow(row, IoStatisticsHolderNoOp.INSTANCE);
+
+        int pos = state.pos;
+
+        long old = state.links[pos];
+
+        if (old != 0L)
+            freeList.removeDataRowByLink(old, IoStatisticsHolderNoOp.INSTANCE);
+
+        state.links[pos] = row.link();
+        state.pos = (pos + 1) % ROWS_PER_WRITER;
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args Arguments.
+     * @throws Exception If failed.
+     */
+    public static void main(String[] args) throws Exception {
+        run(64);
+    }
+
+    /**
+     * Run benchmark.
+     *
+     * @param threads Amount of threads.
+     * @throws Exception If failed.
+     */
+    private static void run(int threads) throws Exception {
+        JmhIdeBenchmarkRunner.create()
+            .forks(1)
+            .threads(threads)
+            .warmupIterations(10)
+            .measurementIterations(10)
+            .benchmarks(JmhFreeListBenchmark.class.getSimpleName())
+            .jvmArguments("-Xms4g", "-Xmx4g")
+            .run();
+    }
+}
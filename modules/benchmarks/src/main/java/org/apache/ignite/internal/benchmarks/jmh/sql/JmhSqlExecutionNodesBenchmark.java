@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.query.calcite.exec.ArrayRowHandler;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.QueryTaskExecutor;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.FilterNode;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.ProjectNode;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.RootNode;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.ScanNode;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.NoOpIoTracker;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.NoOpMemoryTracker;
+import org.apache.ignite.internal.processors.query.calcite.metadata.FragmentDescription;
+import org.apache.ignite.internal.processors.query.calcite.prepare.BaseQueryContext;
+import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
+import org.apache.ignite.internal.processors.query.calcite.util.TypeUtils;
+import org.apache.ignite.logger.NullLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark Calcite execution nodes pipeline (scan, filter, project) with row-by-row and batched rows passing.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class JmhSqlExecutionNodesBenchmark {
+    /** Rows count. */
+    private static final int ROWS_CNT = 1_000_000;
+
+    /** Maximum count of rows passed between nodes at once in batched mode. */
+    private static final int BATCH_SIZE = 512;
+
+    /** Pass rows between nodes by batches. */
+    @Param({"false", "true"})
+    private boolean batched;
+
+    /** Source rows. */
+    private List<Object[]> rows;
+
+    /** Query tasks executor. */
+    private ExecutorService executor;
+
+    /** Execution context. */
+    private ExecutionContext<Object[]> ctx;
+
+    /** Scan row type. */
+    private RelDataType scanRowType;
+
+    /** Project row type. */
+    private RelDataType prjRowType;
+
+    /**
+     * Initiate execution context and data.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        rows = new ArrayList<>(ROWS_CNT);
+
+        for (int i = 0; i < ROWS_CNT; i++)
+            rows.add(new Object[] {i, (long)i * 2, "val" + i});
+
+        executor = Executors.newSingleThreadExecutor();
+
+        QueryTaskExecutor qryExecutor = (qryId, fragmentId, qryTask) -> executor.execute(qryTask);
+
+        UUID nodeId = UUID.randomUUID();
+
+        ctx = new ExecutionContext<>(
+            BaseQueryContext.builder().logger(new NullLogger()).build(),
+            qryExecutor,
+            UUID.randomUUID(),
+            nodeId,
+            nodeId,
+            AffinityTopologyVersion.NONE,
+            new FragmentDescription(0, null, null, null),
+            ArrayRowHandler.INSTANCE,
+            NoOpMemoryTracker.INSTANCE,
+            NoOpIoTracker.INSTANCE,
+            null,
+            Collections.emptyMap()
+        );
+
+        IgniteTypeFactory tf = ctx.getTypeFactory();
+
+        scanRowType = TypeUtils.createRowType(tf, int.class, long.class, String.class);
+        prjRowType = TypeUtils.createRowType(tf, long.class);
+    }
+
+    /**
+     * Stop executor.
+     */
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Scan, filter half of rows and project a column.
+     */
+    @Benchmark
+    public long scanFilterProject() {
+        // Batch size 1 makes the nodes push rows one by one, the same way they did before batching.
+        int batchSize = batched ? BATCH_SIZE : 1;
+
+        ScanNode<Object[]> scan = new ScanNode<>(ctx, scanRowType, rows, batchSize);
+
+        FilterNode<Object[]> filter = new FilterNode<>(ctx, scanRowType, r -> ((Integer)r[0] & 1) == 0, batchSize);
+
+        filter.register(scan);
+
+        // Project node passes rows the same way it receives them.
+        ProjectNode<Object[]> project = new ProjectNode<>(ctx, prjRowType, r -> new Object[] {r[1]});
+
+        project.register(filter);
+
+        RootNode<Object[]> root = new RootNode<>(ctx, prjRowType);
+
+        root.register(project);
+
+        long sum = 0;
+
+        while (root.hasNext())
+            sum += (Long)root.next()[0];
+
+        if (sum != (long)ROWS_CNT * (ROWS_CNT - 2) / 2)
+            throw new AssertionError("Unexpected result: " + sum);
+
+        return sum;
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args Args.
+     * @throws Exception Exception.
+     */
+    public static void main(String[] args) throws Exception {
+        final Options options = new OptionsBuilder()
+            .include(JmhSqlExecutionNodesBenchmark.class.getSimpleName())
+            .build();
+
+        new Runner(options).run();
+    }
+}
@@ -44,11 +44,13 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseL
 import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
 import org.apache.ignite.logger.java.JavaLogger;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_OPTIMISTIC_READS;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
@@ -80,6 +82,10 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
     /** */
     private static final int KEYS = 1_000_000;
 
+    /** Whether the inner pages are read without locks on lookups. */
+    @Param({"true", "false"})
+    private boolean optimisticReads;
+
     /** */
     private TestTree tree;
 
@@ -134,6 +140,8 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
     public void setup() throws Exception {
         pageMem = createPageMemory();
 
+        System.setProperty(IGNITE_BPLUS_TREE_OPTIMISTIC_READS, String.valueOf(optimisticReads));
+
         tree = new TestTree(new FakeReuseList(), CACHE_ID, pageMem, allocateMetaPage().pageId());
 
         for (long l = 0; l < KEYS; l++)
@@ -148,6 +156,8 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
         tree.destroy();
 
         pageMem.stop(true);
+
+        System.clearProperty(IGNITE_BPLUS_TREE_OPTIMISTIC_READS);
     }
 
     /**
@@ -214,6 +224,12 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
             return Long.compare(n1, n2);
         }
 
+        /** {@inheritDoc} */
+        @Override protected int compareOptimistic(BPlusIO<Long> io, long pageAddr, int idx, Long n2)
+            throws IgniteCheckedException {
+            return compare(io, pageAddr, idx, n2);
+        }
+
         /** {@inheritDoc} */
         @Override public Long getRow(BPlusIO<Long> io, long pageAddr, int idx, Object ignore)
             throws IgniteCheckedException {
@@ -128,6 +128,9 @@ public class Query<RowT> {
                 frag.root().close();
                 frag.context().cancel();
 
+                // Nodes delete their spill files on close, but the files are also deleted if a node fails to do it.
+                frag.context().closeSpillFiles();
+
                 if (cntDown.decrementAndGet() == 0)
                     unregister.accept(this, failure);
             }, frag.root()::onError);
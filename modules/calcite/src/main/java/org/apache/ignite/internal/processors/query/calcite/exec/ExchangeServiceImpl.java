@@ -319,6 +319,7 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
             null,
             NoOpMemoryTracker.INSTANCE,
             NoOpIoTracker.INSTANCE,
+            null,
             ImmutableMap.of());
     }
 }
@@ -17,11 +17,14 @@
 
 package org.apache.ignite.internal.processors.query.calcite.exec;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import org.apache.calcite.DataContext;
@@ -49,6 +52,7 @@ import org.apache.ignite.internal.processors.query.calcite.util.Commons;
 import org.apache.ignite.internal.processors.query.calcite.util.TypeUtils;
 import org.apache.ignite.internal.util.lang.RunnableX;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.processors.query.calcite.util.Commons.checkRange;
 
@@ -101,6 +105,12 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
     /** */
     private final IoTracker ioTracker;
 
+    /** Storage of spilled rows, {@code null} if spilling to disk is disabled. */
+    private final @Nullable SpillStorage spillStorage;
+
+    /** Spill files created by the execution nodes of the fragment. */
+    private final Set<SpillFile<Row>> spillFiles = ConcurrentHashMap.newKeySet();
+
     /** */
     private Object[] correlations = new Object[16];
 
@@ -122,6 +132,7 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
         RowHandler<Row> handler,
         MemoryTracker qryMemoryTracker,
         IoTracker ioTracker,
+        @Nullable SpillStorage spillStorage,
         Map<String, Object> params
     ) {
         super(qctx);
@@ -135,6 +146,7 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
         this.handler = handler;
         this.qryMemoryTracker = qryMemoryTracker;
         this.ioTracker = ioTracker;
+        this.spillStorage = spillStorage;
         this.params = params;
 
         baseDataContext = new BaseDataContext(qctx.typeFactory());
@@ -347,6 +359,38 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
         return ioTracker;
     }
 
+    /**
+     * @return {@code True} if execution nodes are allowed to spill rows to disk when memory quota is exceeded.
+     */
+    public boolean spillEnabled() {
+        return spillStorage != null;
+    }
+
+    /**
+     * Creates file to spill rows to. The file is deleted and released by the context when it's closed by the
+     * execution node or when the fragment is closed, see {@link #closeSpillFiles()}.
+     *
+     * @return New spill file.
+     */
+    public SpillFile<Row> createSpillFile() throws IOException {
+        assert spillStorage != null : "Spilling to disk is disabled";
+
+        SpillFile<Row> file = spillStorage.createFile(handler, spillFiles::remove);
+
+        spillFiles.add(file);
+
+        return file;
+    }
+
+    /**
+     * Deletes spill files created by the execution nodes of the fragment and not closed yet.
+     */
+    public void closeSpillFiles() {
+        // Closed file removes itself from the set.
+        for (SpillFile<Row> file : spillFiles)
+            file.close();
+    }
+
     /** {@inheritDoc} */
     @Override public boolean equals(Object o) {
         if (this == o)
@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.processors.query.calcite.exec;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -70,6 +71,7 @@ import org.apache.ignite.internal.processors.query.calcite.exec.tracker.NoOpIoTr
 import org.apache.ignite.internal.processors.query.calcite.exec.tracker.NoOpMemoryTracker;
 import org.apache.ignite.internal.processors.query.calcite.exec.tracker.PerformanceStatisticsIoTracker;
 import org.apache.ignite.internal.processors.query.calcite.message.ErrorMessage;
+import org.apache.ignite.internal.processors.query.calcite.message.MarshallingContext;
 import org.apache.ignite.internal.processors.query.calcite.message.MessageService;
 import org.apache.ignite.internal.processors.query.calcite.message.MessageType;
 import org.apache.ignite.internal.processors.query.calcite.message.QueryStartRequest;
@@ -115,6 +117,9 @@ import static org.apache.ignite.internal.processors.query.calcite.externalize.Re
  */
 @SuppressWarnings("TypeMayBeWeakened")
 public class ExecutionServiceImpl<Row> extends AbstractService implements ExecutionService<Row> {
+    /** Name of the work directory subfolder for spilled rows. */
+    public static final String SPILL_DIR = "calcite_spill";
+
     /** */
     private final DiscoveryEventListener discoLsnr;
 
@@ -184,6 +189,9 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
     /** */
     private MemoryTracker memoryTracker;
 
+    /** Storage of spilled rows, {@code null} if spilling to disk is disabled. */
+    private SpillStorage spillStorage;
+
     /**
      * @param ctx Kernal.
      */
@@ -407,6 +415,13 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
         return memoryTracker;
     }
 
+    /**
+     * @return Storage of spilled rows, {@code null} if spilling to disk is disabled.
+     */
+    public @Nullable SpillStorage spillStorage() {
+        return spillStorage;
+    }
+
     /** {@inheritDoc} */
     @Override public void onStart(GridKernalContext ctx) {
         this.ctx = ctx;
@@ -439,6 +454,25 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
         memoryTracker = cfg.getGlobalMemoryQuota() > 0 ? new GlobalMemoryTracker(cfg.getGlobalMemoryQuota()) :
             NoOpMemoryTracker.INSTANCE;
 
+        try {
+            File spillDir = new File(ctx.config().getWorkDirectory(),
+                SPILL_DIR + File.separator + ctx.pdsFolderResolver().resolveFolders().folderName());
+
+            // Spill files are never read after the node restart, so files left by the previous run are deleted
+            // even if spilling is disabled now.
+            U.delete(spillDir);
+
+            if (cfg.isSpillToDiskEnabled()) {
+                U.ensureDirectory(spillDir, "directory for spilled rows", log);
+
+                // Rows are spilled in the same form as they are sent to other nodes.
+                spillStorage = new SpillStorage(spillDir, (MarshallingContext)messageService());
+            }
+        }
+        catch (IgniteCheckedException e) {
+            throw new IgniteException("Failed to initialize directory for spilled rows", e);
+        }
+
         init();
     }
 
@@ -558,7 +592,8 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
     ) {
         qry.mapping();
 
-        MappingQueryContext mapCtx = Commons.mapContext(locNodeId, topologyVersion());
+        MappingQueryContext mapCtx = Commons.mapContext(locNodeId, topologyVersion(), partitionService(),
+            qry.parameters());
         plan.init(mappingSvc, mapCtx);
 
         List<Fragment> fragments = plan.fragments();
@@ -595,6 +630,7 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
             handler,
             qry.createMemoryTracker(memoryTracker, cfg.getQueryMemoryQuota()),
             createIoTracker(locNodeId, qry.localQueryId()),
+            spillStorage,
             Commons.parametersMap(qry.parameters()));
 
         Node<Row> node = new LogicalRelImplementor<>(ectx, partitionService(), mailboxRegistry(),
@@ -776,6 +812,7 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
                 handler,
                 qry.createMemoryTracker(memoryTracker, cfg.getQueryMemoryQuota()),
                 createIoTracker(nodeId, msg.originatingQryId()),
+                spillStorage,
                 Commons.parametersMap(msg.parameters())
             );
 
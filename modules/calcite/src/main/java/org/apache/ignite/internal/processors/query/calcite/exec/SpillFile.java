@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler.RowFactory;
+import org.apache.ignite.internal.processors.query.calcite.message.MarshallingContext;
+import org.apache.ignite.internal.processors.query.calcite.message.RowBatchCodec;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Temporary file to store rows spilled to disk by execution nodes. Rows are written sequentially and then
+ * read back in the same order, possibly several times. Rows are written by batches encoded the same way as
+ * batches sent to other nodes, see {@link RowBatchCodec}. File is deleted on close.
+ */
+public class SpillFile<Row> implements AutoCloseable {
+    /** Temporary file name prefix. */
+    private static final String FILE_PREFIX = "spill-";
+
+    /** Size of IO buffer. */
+    private static final int BUF_SIZE = 64 * 1024;
+
+    /** Count of rows in a batch. */
+    private static final int BATCH_SIZE = 512;
+
+    /** */
+    private final File file;
+
+    /** */
+    private final RowHandler<Row> hnd;
+
+    /** */
+    private final MarshallingContext marshCtx;
+
+    /** Callback invoked once the file is closed. */
+    private final Consumer<SpillFile<Row>> onClose;
+
+    /** */
+    private boolean closed;
+
+    /** Factory of read rows, created by the column count of the first read row. */
+    private RowFactory<Row> factory;
+
+    /** */
+    private DataOutputStream out;
+
+    /** */
+    private DataInputStream in;
+
+    /** Rows to write. */
+    private List<Object> writeBatch = new ArrayList<>(BATCH_SIZE);
+
+    /** Rows read from the file and not returned yet. */
+    private List<Object> readBatch;
+
+    /** Index of the next row of the read batch. */
+    private int readIdx;
+
+    /** Count of written rows. */
+    private long written;
+
+    /** Count of read rows. */
+    private long read;
+
+    /**
+     * @param dir Directory to create file in.
+     * @param hnd Row handler.
+     * @param marshCtx Marshalling context for values, which have no compact binary form.
+     * @param onClose Callback invoked once the file is closed and deleted.
+     */
+    public SpillFile(
+        File dir,
+        RowHandler<Row> hnd,
+        MarshallingContext marshCtx,
+        Consumer<SpillFile<Row>> onClose
+    ) throws IOException {
+        this.hnd = hnd;
+        this.marshCtx = marshCtx;
+        this.onClose = onClose;
+
+        file = File.createTempFile(FILE_PREFIX, null, dir);
+
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUF_SIZE));
+        }
+        catch (IOException e) {
+            U.delete(file);
+
+            throw e;
+        }
+    }
+
+    /**
+     * Writes row to the file.
+     *
+     * @param row Row.
+     */
+    public void write(Row row) throws IOException {
+        assert out != null : "Writing is finished";
+
+        Object[] fields = new Object[hnd.columnCount(row)];
+
+        for (int i = 0; i < fields.length; i++)
+            fields[i] = hnd.get(i, row);
+
+        writeBatch.add(fields);
+
+        written++;
+
+        if (writeBatch.size() == BATCH_SIZE)
+            writeBatch();
+    }
+
+    /** */
+    private void writeBatch() throws IOException {
+        byte[] bytes;
+
+        try {
+            bytes = RowBatchCodec.encode(writeBatch, marshCtx);
+        }
+        catch (IgniteCheckedException e) {
+            throw new IOException("Failed to write spilled rows [file=" + file + ']', e);
+        }
+
+        out.writeInt(bytes.length);
+        out.write(bytes);
+
+        writeBatch.clear();
+    }
+
+    /**
+     * Flushes written rows to disk and switches the file to read mode.
+     */
+    public void finishWrite() throws IOException {
+        assert out != null : "Writing is finished";
+
+        if (!writeBatch.isEmpty())
+            writeBatch();
+
+        out.close();
+
+        out = null;
+        writeBatch = null;
+    }
+
+    /**
+     * @return Count of written rows.
+     */
+    public long size() {
+        return written;
+    }
+
+    /**
+     * Reads next row from the file.
+     *
+     * @return Next row or {@code null} if there are no more rows.
+     */
+    public @Nullable Row read() throws IOException {
+        assert out == null : "Writing is not finished";
+
+        if (read == written)
+            return null;
+
+        if (readBatch == null || readIdx == readBatch.size()) {
+            if (in == null)
+                in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUF_SIZE));
+
+            byte[] bytes = new byte[in.readInt()];
+
+            in.readFully(bytes);
+
+            try {
+                readBatch = RowBatchCodec.decode(bytes, marshCtx);
+            }
+            catch (IgniteCheckedException e) {
+                throw new IOException("Failed to read spilled rows [file=" + file + ']', e);
+            }
+
+            readIdx = 0;
+        }
+
+        Object[] fields = (Object[])readBatch.get(readIdx);
+
+        // Release the reference, so the memory is freed as the rows are consumed.
+        readBatch.set(readIdx++, null);
+
+        read++;
+
+        if (factory == null) {
+            Type[] types = new Type[fields.length];
+
+            Arrays.fill(types, Object.class);
+
+            factory = hnd.factory(types);
+        }
+
+        return factory.create(fields);
+    }
+
+    /**
+     * Moves to the first row, so the rows are read again.
+     */
+    public void rewind() {
+        assert out == null : "Writing is not finished";
+
+        U.closeQuiet(in);
+
+        in = null;
+        readBatch = null;
+        readIdx = 0;
+        read = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        if (closed)
+            return;
+
+        closed = true;
+
+        U.closeQuiet(out);
+        U.closeQuiet(in);
+
+        out = null;
+        in = null;
+        writeBatch = null;
+        readBatch = null;
+
+        U.delete(file);
+
+        onClose.accept(this);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.apache.ignite.internal.processors.query.calcite.message.MarshallingContext;
+
+/**
+ * Node-wide storage of rows spilled to disk by execution nodes.
+ */
+public class SpillStorage {
+    /** */
+    private final File dir;
+
+    /** */
+    private final MarshallingContext marshCtx;
+
+    /** Count of created spill files. */
+    private final LongAdder createdFiles = new LongAdder();
+
+    /**
+     * @param dir Directory to create spill files in.
+     * @param marshCtx Marshalling context used to send rows to other nodes.
+     */
+    public SpillStorage(File dir, MarshallingContext marshCtx) {
+        this.dir = dir;
+        this.marshCtx = marshCtx;
+    }
+
+    /**
+     * @return Directory to create spill files in.
+     */
+    public File directory() {
+        return dir;
+    }
+
+    /**
+     * @return Count of spill files created since the node start.
+     */
+    public long createdFiles() {
+        return createdFiles.sum();
+    }
+
+    /**
+     * @param hnd Row handler.
+     * @param onClose Callback invoked once the file is closed and deleted.
+     * @return New spill file.
+     */
+    public <Row> SpillFile<Row> createFile(RowHandler<Row> hnd, Consumer<SpillFile<Row>> onClose) throws IOException {
+        SpillFile<Row> file = new SpillFile<>(dir, hnd, marshCtx, onClose);
+
+        createdFiles.increment();
+
+        return file;
+    }
+}
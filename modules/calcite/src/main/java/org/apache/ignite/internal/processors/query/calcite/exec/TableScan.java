@@ -38,6 +38,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.topology.Grid
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionTopology;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccSnapshot;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageReplacementPolicy;
 import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler.RowFactory;
 import org.apache.ignite.internal.processors.query.calcite.schema.CacheTableDescriptor;
 import org.apache.ignite.internal.util.lang.GridCursor;
@@ -240,8 +241,23 @@ public class TableScan<Row> implements Iterable<Row>, AutoCloseable {
             throw new UnsupportedOperationException("Remove is not supported.");
         }
 
-        /** */
+        /**
+         * Moves the iterator to the next row. Pages are accessed with low priority, so the scan doesn't flush
+         * frequently used pages from the page memory.
+         */
         private void advance() throws IgniteCheckedException {
+            boolean prevLowPriority = PageReplacementPolicy.lowPriorityAccess(true);
+
+            try {
+                advance0();
+            }
+            finally {
+                PageReplacementPolicy.lowPriorityAccess(prevLowPriority);
+            }
+        }
+
+        /** */
+        private void advance0() throws IgniteCheckedException {
             assert parts != null;
 
             if (next != null)
@@ -17,6 +17,8 @@
 
 package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 
+import java.util.List;
+
 /**
  * Represents an abstract data consumer.
  *
@@ -30,6 +32,18 @@ public interface Downstream<Row> {
      */
     void push(Row row) throws Exception;
 
+    /**
+     * Pushes a batch of rows to consumer. The batch is owned by the producer and may be reused after the call,
+     * consumer must not keep a reference to it, but may modify it (for example, to replace rows in place).
+     * Batch size never exceeds the number of the rows, requested but not yet pushed.
+     *
+     * @param rows Data rows.
+     */
+    default void pushBatch(List<Row> rows) throws Exception {
+        for (int i = 0; i < rows.size(); i++)
+            push(rows.get(i));
+    }
+
     /**
      * Signals that data is over.
      */
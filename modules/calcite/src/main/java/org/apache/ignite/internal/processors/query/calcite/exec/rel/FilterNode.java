@@ -18,7 +18,9 @@
 package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
 import java.util.function.Predicate;
 
 import org.apache.calcite.rel.type.RelDataType;
@@ -35,6 +37,12 @@ public class FilterNode<Row> extends AbstractNode<Row> implements SingleNode<Row
     /** */
     private final Deque<Row> inBuf = new ArrayDeque<>(IN_BUFFER_SIZE);
 
+    /** */
+    private final List<Row> outBatch = new ArrayList<>(IN_BUFFER_SIZE);
+
+    /** Maximum count of rows pushed at once, rows are pushed one by one if it's {@code 1}. */
+    private final int maxBatchSize;
+
     /** */
     private int requested;
 
@@ -49,9 +57,21 @@ public class FilterNode<Row> extends AbstractNode<Row> implements SingleNode<Row
      * @param pred Predicate.
      */
     public FilterNode(ExecutionContext<Row> ctx, RelDataType rowType, Predicate<Row> pred) {
+        this(ctx, rowType, pred, IN_BUFFER_SIZE);
+    }
+
+    /**
+     * @param ctx Execution context.
+     * @param pred Predicate.
+     * @param maxBatchSize Maximum count of rows pushed at once, rows are pushed one by one if it's {@code 1}.
+     */
+    public FilterNode(ExecutionContext<Row> ctx, RelDataType rowType, Predicate<Row> pred, int maxBatchSize) {
         super(ctx, rowType);
 
+        assert maxBatchSize > 0 : maxBatchSize;
+
         this.pred = pred;
+        this.maxBatchSize = maxBatchSize;
     }
 
     /** {@inheritDoc} */
@@ -82,6 +102,25 @@ public class FilterNode<Row> extends AbstractNode<Row> implements SingleNode<Row
         filter();
     }
 
+    /** {@inheritDoc} */
+    @Override public void pushBatch(List<Row> rows) throws Exception {
+        assert downstream() != null;
+        assert waiting >= rows.size();
+
+        checkState();
+
+        waiting -= rows.size();
+
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+
+            if (pred.test(row))
+                inBuf.add(row);
+        }
+
+        filter();
+    }
+
     /** {@inheritDoc} */
     @Override public void end() throws Exception {
         assert downstream() != null;
@@ -123,8 +162,26 @@ public class FilterNode<Row> extends AbstractNode<Row> implements SingleNode<Row
             while (requested > 0 && !inBuf.isEmpty()) {
                 checkState();
 
-                requested--;
-                downstream().push(inBuf.remove());
+                if (maxBatchSize == 1) {
+                    requested--;
+                    downstream().push(inBuf.remove());
+
+                    continue;
+                }
+
+                int batchSize = Math.min(requested, Math.min(maxBatchSize, inBuf.size()));
+
+                for (int i = 0; i < batchSize; i++)
+                    outBatch.add(inBuf.remove());
+
+                requested -= batchSize;
+
+                try {
+                    downstream().pushBatch(outBatch);
+                }
+                finally {
+                    outBatch.clear();
+                }
             }
         }
         finally {
@@ -17,9 +17,11 @@
 
 package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 
+import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -31,19 +33,30 @@ import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
 import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
 import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler.RowFactory;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillFile;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.Accumulator;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AccumulatorWrapper;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AggregateType;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.GroupKey;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.MemoryQuotaExceededException;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.T2;
 
 import static java.util.stream.Collectors.toCollection;
 import static org.apache.ignite.internal.processors.query.calcite.util.Commons.negate;
 
 /**
+ * Hash aggregate node.
  *
+ * <p>If spilling to disk is enabled and memory quota is exceeded, new groups are not created in memory anymore:
+ * rows of such groups are spilled to disk partitioned by hash of the group key. After the groups in memory are sent,
+ * spilled partitions are aggregated one by one the same way. Groups with accumulators collecting rows
+ * (e.g. ARRAY_AGG) grow without new groups, so such aggregates are not spilled.
  */
 public class HashAggregateNode<Row> extends AggregateNode<Row> {
+    /** Count of partitions rows are spilled to. Must be power of 2. */
+    private static final int SPILL_PARTITIONS = 16;
+
     /** */
     private final ImmutableBitSet grpSet;
 
@@ -59,6 +72,9 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
     /** */
     private boolean inLoop;
 
+    /** Whether new groups are not created in memory, rows of such groups are spilled to disk. */
+    private boolean spilling;
+
     /**
      * @param ctx Execution context.
      */
@@ -122,6 +138,30 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
 
         waiting--;
 
+        add(row);
+
+        if (waiting == 0)
+            source().request(waiting = IN_BUFFER_SIZE);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void pushBatch(List<Row> rows) throws Exception {
+        assert downstream() != null;
+        assert waiting >= rows.size();
+
+        checkState();
+
+        waiting -= rows.size();
+
+        for (int i = 0; i < rows.size(); i++)
+            add(rows.get(i));
+
+        if (waiting == 0)
+            source().request(waiting = IN_BUFFER_SIZE);
+    }
+
+    /** */
+    private void add(Row row) throws IOException {
         boolean groupingsChanged = false;
 
         for (Grouping grouping : groupings) {
@@ -148,10 +188,20 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         // whole row we have close to real memory consumption by row referenced objects (except service structures).
         // Also we can guess size of service structures required by grouping and use it as constant row overhead.
         if (hasAggAccum || groupingsChanged)
+            onRowAdded(row);
+    }
+
+    /** */
+    private void onRowAdded(Row row) {
+        try {
             nodeMemoryTracker.onRowAdded(row);
+        }
+        catch (MemoryQuotaExceededException e) {
+            if (hasAggAccum || !context().spillEnabled())
+                throw e;
 
-        if (waiting == 0)
-            source().request(waiting = IN_BUFFER_SIZE);
+            spilling = true;
+        }
     }
 
     /** {@inheritDoc} */
@@ -163,6 +213,9 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
 
         waiting = -1;
 
+        for (Grouping grouping : groupings)
+            grouping.finishSpill();
+
         flush();
     }
 
@@ -170,10 +223,60 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
     @Override protected void rewindInternal() {
         requested = 0;
         waiting = 0;
+        spilling = false;
         groupings.forEach(Grouping::reset);
         nodeMemoryTracker.reset();
     }
 
+    /** {@inheritDoc} */
+    @Override protected void closeInternal() {
+        groupings.forEach(Grouping::releaseSpilled);
+
+        super.closeInternal();
+    }
+
+    /**
+     * Aggregates the next spilled partition. Must be called after all the groups in memory are sent.
+     *
+     * @return {@code False} if there are no more spilled partitions.
+     */
+    private boolean loadSpilled() throws Exception {
+        for (Grouping grouping : groupings) {
+            T2<SpillFile<Row>, Integer> part = grouping.pending.poll();
+
+            if (part == null)
+                continue;
+
+            // Memory occupied by the sent groups is released.
+            nodeMemoryTracker.reset();
+
+            spilling = false;
+
+            try (SpillFile<Row> file = part.get1()) {
+                grouping.level = part.get2() + 1;
+
+                Row row;
+
+                while ((row = file.read()) != null) {
+                    checkState();
+
+                    int size = grouping.size();
+
+                    grouping.add(row);
+
+                    if (hasAggAccum || grouping.size() > size)
+                        onRowAdded(row);
+                }
+            }
+
+            grouping.finishSpill();
+
+            return true;
+        }
+
+        return false;
+    }
+
     /** */
     private void flush() throws Exception {
         if (isClosed())
@@ -188,7 +291,17 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
 
         inLoop = true;
         try {
-            while (requested > 0 && !groupingsQueue.isEmpty()) {
+            while (requested > 0) {
+                if (groupingsQueue.isEmpty()) {
+                    // All the groups in memory are sent, the next spilled partition is aggregated.
+                    if (!loadSpilled())
+                        break;
+
+                    groupingsQueue = groupingsQueue();
+
+                    continue;
+                }
+
                 Grouping grouping = groupingsQueue.peek();
 
                 int toSnd = Math.min(requested, IN_BUFFER_SIZE - processed);
@@ -244,6 +357,18 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         /** */
         private final RowHandler<Row> handler;
 
+        /** Rows of the groups, which are not created in memory, partitioned by hash of the group key. */
+        private SpillFile<Row>[] parts;
+
+        /** Spilled partitions to aggregate after the groups in memory are sent, with their levels. */
+        private final Deque<T2<SpillFile<Row>, Integer>> pending = new ArrayDeque<>();
+
+        /**
+         * Level of the partitions rows are spilled to. Partitions of the next level are spilled while a partition
+         * is aggregated, they are chosen by other bits of the group key hash.
+         */
+        private int level;
+
         /** */
         private Grouping(byte grpId, ImmutableBitSet grpFields) {
             this.grpId = grpId;
@@ -266,11 +391,13 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         private void reset() {
             groups.clear();
 
+            releaseSpilled();
+
             init();
         }
 
         /** */
-        private void add(Row row) {
+        private void add(Row row) throws IOException {
             if (type == AggregateType.REDUCE)
                 addOnReducer(row);
             else
@@ -292,7 +419,7 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         }
 
         /** */
-        private void addOnMapper(Row row) {
+        private void addOnMapper(Row row) throws IOException {
             GroupKey.Builder b = GroupKey.builder(grpFields.cardinality());
 
             for (Integer field : grpFields)
@@ -300,14 +427,21 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
 
             GroupKey grpKey = b.build();
 
-            List<AccumulatorWrapper<Row>> wrappers = groups.computeIfAbsent(grpKey, this::create);
+            List<AccumulatorWrapper<Row>> wrappers = spilling ? groups.get(grpKey) :
+                groups.computeIfAbsent(grpKey, this::create);
+
+            if (wrappers == null) {
+                spill(grpKey, row);
+
+                return;
+            }
 
             for (AccumulatorWrapper<Row> wrapper : wrappers)
                 wrapper.add(row);
         }
 
         /** */
-        private void addOnReducer(Row row) {
+        private void addOnReducer(Row row) throws IOException {
             byte targetGrpId = (byte)handler.get(0, row);
 
             if (targetGrpId != grpId)
@@ -315,7 +449,15 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
 
             GroupKey grpKey = (GroupKey)handler.get(1, row);
 
-            List<AccumulatorWrapper<Row>> wrappers = groups.computeIfAbsent(grpKey, this::create);
+            List<AccumulatorWrapper<Row>> wrappers = spilling ? groups.get(grpKey) :
+                groups.computeIfAbsent(grpKey, this::create);
+
+            if (wrappers == null) {
+                spill(grpKey, row);
+
+                return;
+            }
+
             Accumulator<Row>[] accums = hasAccumulators() ? (Accumulator<Row>[])handler.get(2, row) : null;
 
             for (int i = 0; i < wrappers.size(); i++) {
@@ -395,6 +537,60 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
             return accFactory.get();
         }
 
+        /** */
+        @SuppressWarnings("unchecked")
+        private void spill(GroupKey grpKey, Row row) throws IOException {
+            if (parts == null)
+                parts = new SpillFile[SPILL_PARTITIONS];
+
+            // Each level uses other bits of the hash, so rows of a partition are spread over the next level.
+            int hash = Integer.rotateRight(grpKey.hashCode(), level * Integer.numberOfTrailingZeros(SPILL_PARTITIONS));
+
+            int idx = (hash ^ (hash >>> 16)) & (SPILL_PARTITIONS - 1);
+
+            if (parts[idx] == null)
+                parts[idx] = context().createSpillFile();
+
+            parts[idx].write(row);
+        }
+
+        /**
+         * Finishes writing of the spilled partitions, they are aggregated after the groups in memory are sent.
+         */
+        private void finishSpill() throws IOException {
+            if (parts == null)
+                return;
+
+            for (SpillFile<Row> part : parts) {
+                if (part != null) {
+                    part.finishWrite();
+
+                    pending.add(new T2<>(part, level));
+                }
+            }
+
+            parts = null;
+        }
+
+        /** */
+        private void releaseSpilled() {
+            if (parts != null) {
+                for (SpillFile<Row> part : parts) {
+                    if (part != null)
+                        part.close();
+                }
+
+                parts = null;
+            }
+
+            for (T2<SpillFile<Row>, Integer> part : pending)
+                part.get1().close();
+
+            pending.clear();
+
+            level = 0;
+        }
+
         /** */
         private boolean isEmpty() {
             return groups.isEmpty();
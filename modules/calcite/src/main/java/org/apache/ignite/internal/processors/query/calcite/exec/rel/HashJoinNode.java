@@ -0,0 +1,1160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.util.ImmutableIntList;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillFile;
+import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.GroupKey;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.MemoryQuotaExceededException;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.X;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Hash join node. The right input is a build side: it's fully materialized into a hash table by the join keys
+ * before the left (probe) input is processed. Rows of the left input are looked up in the hash table one by one,
+ * so the order of the left input is preserved.
+ *
+ * <p>If spilling to disk is enabled, the order of the left input is not required and memory quota is exceeded
+ * while the hash table is built, the right rows are spilled to disk partitioned by hash of the join keys. The left
+ * rows are spilled the same way, then partitions are joined one by one. A partition of the right rows must fit into
+ * memory.
+ */
+public abstract class HashJoinNode<Row> extends MemoryTrackingNode<Row> {
+    /** Special value to highlights that all row were received and we are not waiting any more. */
+    protected static final int NOT_WAITING = -1;
+
+    /**
+     * Placeholder for keys containing NULL values. Such keys never match to any other key, since condition
+     * NULL=NULL is not satisfied.
+     */
+    private static final GroupKey NULL_KEY = new GroupKey(X.EMPTY_OBJECT_ARRAY);
+
+    /** */
+    private static final RightRows<?> EMPTY_ROWS = new RightRows<>();
+
+    /** Count of partitions rows are spilled to. Must be power of 2. */
+    private static final int SPILL_PARTITIONS = 16;
+
+    /** */
+    protected final RowHandler<Row> handler;
+
+    /** Join keys of the left input. */
+    private final ImmutableIntList leftKeys;
+
+    /** Join keys of the right input. */
+    private final ImmutableIntList rightKeys;
+
+    /** Part of the join condition which is not covered by the join keys or {@code null} if there is no such part. */
+    @Nullable protected final BiPredicate<Row, Row> nonEquiCond;
+
+    /** Materialized right input grouped by the join keys. */
+    protected final Map<GroupKey, RightRows<Row>> hashStore = new HashMap<>();
+
+    /** */
+    protected int requested;
+
+    /** */
+    protected int waitingLeft;
+
+    /** */
+    protected int waitingRight;
+
+    /** */
+    protected final Deque<Row> leftInBuf = new ArrayDeque<>(IN_BUFFER_SIZE);
+
+    /** */
+    protected boolean inLoop;
+
+    /** Current left row. */
+    protected Row left;
+
+    /** Right rows matched by the join keys of the current left row. */
+    protected RightRows<Row> rightRows;
+
+    /** Index of the next right row to process. */
+    protected int rightIdx;
+
+    /** Whether rows are spilled to disk when memory quota is exceeded. */
+    private boolean spillEnabled;
+
+    /** Right rows spilled to disk, {@code null} if the right input fits into memory. */
+    private SpillFile<Row>[] rightParts;
+
+    /** Left rows spilled to disk, partitioned the same way as the right rows. */
+    private SpillFile<Row>[] leftParts;
+
+    /** Index of the spilled partition being joined, {@code -1} if spilled partitions are not joined yet. */
+    private int partIdx = -1;
+
+    /**
+     * @param ctx Execution context.
+     * @param rowType Row type.
+     * @param leftKeys Join keys of the left input.
+     * @param rightKeys Join keys of the right input.
+     * @param nonEquiCond Non-equi part of the join condition.
+     */
+    private HashJoinNode(
+        ExecutionContext<Row> ctx,
+        RelDataType rowType,
+        ImmutableIntList leftKeys,
+        ImmutableIntList rightKeys,
+        @Nullable BiPredicate<Row, Row> nonEquiCond
+    ) {
+        super(ctx, rowType, HASH_MAP_ROW_OVERHEAD);
+
+        assert !F.isEmpty(leftKeys) && leftKeys.size() == rightKeys.size();
+
+        this.leftKeys = leftKeys;
+        this.rightKeys = rightKeys;
+        this.nonEquiCond = nonEquiCond;
+
+        handler = ctx.rowHandler();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void request(int rowsCnt) throws Exception {
+        assert !F.isEmpty(sources()) && sources().size() == 2;
+        assert rowsCnt > 0 && requested == 0;
+
+        checkState();
+
+        requested = rowsCnt;
+
+        if (!inLoop)
+            context().execute(this::doJoin, this::onError);
+    }
+
+    /** */
+    private void doJoin() throws Exception {
+        checkState();
+
+        join();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void rewindInternal() {
+        requested = 0;
+        waitingLeft = 0;
+        waitingRight = 0;
+
+        left = null;
+        rightRows = null;
+        rightIdx = 0;
+
+        hashStore.clear();
+        leftInBuf.clear();
+
+        releaseSpilled();
+
+        nodeMemoryTracker.reset();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void closeInternal() {
+        releaseSpilled();
+
+        super.closeInternal();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected Downstream<Row> requestDownstream(int idx) {
+        if (idx == 0)
+            return new Downstream<Row>() {
+                /** {@inheritDoc} */
+                @Override public void push(Row row) throws Exception {
+                    pushLeft(row);
+                }
+
+                /** {@inheritDoc} */
+                @Override public void end() throws Exception {
+                    endLeft();
+                }
+
+                /** {@inheritDoc} */
+                @Override public void onError(Throwable e) {
+                    HashJoinNode.this.onError(e);
+                }
+            };
+        else if (idx == 1)
+            return new Downstream<Row>() {
+                /** {@inheritDoc} */
+                @Override public void push(Row row) throws Exception {
+                    pushRight(row);
+                }
+
+                /** {@inheritDoc} */
+                @Override public void end() throws Exception {
+                    endRight();
+                }
+
+                /** {@inheritDoc} */
+                @Override public void onError(Throwable e) {
+                    HashJoinNode.this.onError(e);
+                }
+            };
+
+        throw new IndexOutOfBoundsException();
+    }
+
+    /** */
+    private void pushLeft(Row row) throws Exception {
+        assert downstream() != null;
+        assert waitingLeft > 0;
+
+        checkState();
+
+        waitingLeft--;
+
+        if (leftParts != null) {
+            spill(leftParts, key(row, leftKeys), row);
+
+            if (waitingLeft == 0)
+                leftSource().request(waitingLeft = IN_BUFFER_SIZE);
+
+            return;
+        }
+
+        leftInBuf.add(row);
+
+        join();
+    }
+
+    /** */
+    private void pushRight(Row row) throws Exception {
+        assert downstream() != null;
+        assert waitingRight > 0;
+
+        checkState();
+
+        waitingRight--;
+
+        GroupKey key = key(row, rightKeys);
+
+        if (key != NULL_KEY || keepNullKeyRightRows()) {
+            if (rightParts != null)
+                spill(rightParts, key, row);
+            else {
+                hashStore.computeIfAbsent(key, k -> new RightRows<>()).add(row);
+
+                try {
+                    nodeMemoryTracker.onRowAdded(row);
+                }
+                catch (MemoryQuotaExceededException e) {
+                    if (!spillEnabled)
+                        throw e;
+
+                    spill();
+                }
+            }
+        }
+
+        if (waitingRight == 0)
+            rightSource().request(waitingRight = IN_BUFFER_SIZE);
+    }
+
+    /** */
+    private void endLeft() throws Exception {
+        assert downstream() != null;
+        assert waitingLeft > 0;
+
+        checkState();
+
+        waitingLeft = NOT_WAITING;
+
+        if (leftParts != null)
+            joinSpilled();
+        else
+            join();
+    }
+
+    /** */
+    private void endRight() throws Exception {
+        assert downstream() != null;
+        assert waitingRight > 0;
+
+        checkState();
+
+        waitingRight = NOT_WAITING;
+
+        if (rightParts != null)
+            joinSpilled();
+        else
+            join();
+    }
+
+    /**
+     * Moves the hash table and the buffered left rows to disk. The rest of the rows of both inputs are
+     * spilled as they are received.
+     */
+    @SuppressWarnings("unchecked")
+    private void spill() throws IOException {
+        rightParts = new SpillFile[SPILL_PARTITIONS];
+        leftParts = new SpillFile[SPILL_PARTITIONS];
+
+        for (Map.Entry<GroupKey, RightRows<Row>> e : hashStore.entrySet()) {
+            RightRows<Row> rows = e.getValue();
+
+            for (int i = 0; i < rows.size(); i++)
+                spill(rightParts, e.getKey(), rows.get(i));
+        }
+
+        hashStore.clear();
+
+        nodeMemoryTracker.reset();
+
+        while (!leftInBuf.isEmpty()) {
+            Row row = leftInBuf.remove();
+
+            spill(leftParts, key(row, leftKeys), row);
+        }
+
+        if (waitingLeft == 0)
+            leftSource().request(waitingLeft = IN_BUFFER_SIZE);
+    }
+
+    /**
+     * @param parts Partitions.
+     * @param key Join key of the row.
+     * @param row Row.
+     */
+    private void spill(SpillFile<Row>[] parts, GroupKey key, Row row) throws IOException {
+        int hash = key.hashCode();
+
+        int idx = (hash ^ (hash >>> 16)) & (SPILL_PARTITIONS - 1);
+
+        if (parts[idx] == null)
+            parts[idx] = context().createSpillFile();
+
+        parts[idx].write(row);
+    }
+
+    /**
+     * Starts to join spilled partitions after both inputs are received.
+     */
+    private void joinSpilled() throws Exception {
+        if (waitingLeft != NOT_WAITING || waitingRight != NOT_WAITING)
+            return;
+
+        for (int i = 0; i < SPILL_PARTITIONS; i++) {
+            if (rightParts[i] != null)
+                rightParts[i].finishWrite();
+
+            if (leftParts[i] != null)
+                leftParts[i].finishWrite();
+        }
+
+        nextPartition();
+
+        join();
+    }
+
+    /**
+     * Loads the right rows of the next spilled partition into the hash table. The left rows of the partition
+     * are read on demand.
+     *
+     * @return {@code False} if there are no more partitions.
+     */
+    private boolean nextPartition() throws IOException {
+        if (partIdx >= 0 && partIdx < SPILL_PARTITIONS)
+            closePartition(partIdx);
+
+        hashStore.clear();
+
+        nodeMemoryTracker.reset();
+
+        while (++partIdx < SPILL_PARTITIONS) {
+            SpillFile<Row> right = rightParts[partIdx];
+
+            // Nothing to emit without left rows, unless not matched right rows are emitted.
+            if (leftParts[partIdx] == null && (right == null || !keepNullKeyRightRows())) {
+                closePartition(partIdx);
+
+                continue;
+            }
+
+            if (right != null) {
+                Row row;
+
+                while ((row = right.read()) != null) {
+                    hashStore.computeIfAbsent(key(row, rightKeys), k -> new RightRows<>()).add(row);
+
+                    nodeMemoryTracker.onRowAdded(row);
+                }
+            }
+
+            waitingLeft = leftParts[partIdx] == null ? NOT_WAITING : 0;
+
+            onPartitionLoaded();
+
+            return true;
+        }
+
+        waitingLeft = NOT_WAITING;
+
+        return false;
+    }
+
+    /**
+     * Reads the next left rows of the spilled partition.
+     */
+    private void readLeft() throws IOException {
+        SpillFile<Row> part = leftParts[partIdx];
+
+        Row row = null;
+
+        while (leftInBuf.size() < IN_BUFFER_SIZE && (row = part.read()) != null)
+            leftInBuf.add(row);
+
+        if (row == null)
+            waitingLeft = NOT_WAITING;
+    }
+
+    /**
+     * @param idx Partition index.
+     */
+    private void closePartition(int idx) {
+        if (rightParts[idx] != null) {
+            rightParts[idx].close();
+
+            rightParts[idx] = null;
+        }
+
+        if (leftParts[idx] != null) {
+            leftParts[idx].close();
+
+            leftParts[idx] = null;
+        }
+    }
+
+    /** */
+    private void releaseSpilled() {
+        if (rightParts != null) {
+            for (int i = 0; i < SPILL_PARTITIONS; i++)
+                closePartition(i);
+
+            rightParts = null;
+            leftParts = null;
+        }
+
+        partIdx = -1;
+    }
+
+    /**
+     * Callback after the right rows of the next spilled partition are loaded into the hash table.
+     */
+    protected void onPartitionLoaded() {
+        // No-op.
+    }
+
+    /** */
+    protected Node<Row> leftSource() {
+        return sources().get(0);
+    }
+
+    /** */
+    protected Node<Row> rightSource() {
+        return sources().get(1);
+    }
+
+    /**
+     * Takes the next left row from the buffer and looks up right rows with the same join keys.
+     */
+    protected void nextLeft() {
+        left = leftInBuf.remove();
+
+        GroupKey key = key(left, leftKeys);
+
+        RightRows<Row> rows = key == NULL_KEY ? null : hashStore.get(key);
+
+        rightRows = rows == null ? emptyRows() : rows;
+        rightIdx = 0;
+    }
+
+    /** Resets the current left row. */
+    protected void resetLeft() {
+        left = null;
+        rightRows = null;
+        rightIdx = 0;
+    }
+
+    /**
+     * @return {@code True} if the right row is matched to the current left row by the non-equi part of the condition.
+     */
+    protected boolean matches(Row right) {
+        return nonEquiCond == null || nonEquiCond.test(left, right);
+    }
+
+    /**
+     * Requests more rows from sources if needed and completes the downstream if there is nothing more to process.
+     *
+     * @param hasMoreRows Whether there are some rows which are not yet pushed to the downstream.
+     */
+    protected void tryToRequestInputsOrEnd(boolean hasMoreRows) throws Exception {
+        if (waitingRight == 0)
+            rightSource().request(waitingRight = IN_BUFFER_SIZE);
+
+        if (waitingLeft == 0 && leftInBuf.isEmpty()) {
+            if (partIdx < 0)
+                leftSource().request(waitingLeft = IN_BUFFER_SIZE);
+            else {
+                if (requested > 0) {
+                    readLeft();
+
+                    context().execute(this::doJoin, this::onError);
+                }
+
+                return;
+            }
+        }
+
+        if (requested > 0 && waitingLeft == NOT_WAITING && waitingRight == NOT_WAITING && left == null
+            && leftInBuf.isEmpty() && !hasMoreRows) {
+            if (partIdx >= 0 && nextPartition()) {
+                context().execute(this::doJoin, this::onError);
+
+                return;
+            }
+
+            requested = 0;
+            downstream().end();
+        }
+    }
+
+    /**
+     * @return {@code True} if right rows with NULL join keys must be kept in the hash table (such rows are never
+     * matched, but have to be emitted by the right and full outer joins).
+     */
+    protected boolean keepNullKeyRightRows() {
+        return false;
+    }
+
+    /** */
+    protected abstract void join() throws Exception;
+
+    /** */
+    private GroupKey key(Row row, ImmutableIntList keys) {
+        GroupKey.Builder b = GroupKey.builder(keys.size());
+
+        for (int i = 0; i < keys.size(); i++) {
+            Object val = handler.get(keys.getInt(i), row);
+
+            if (val == null)
+                return NULL_KEY;
+
+            b.add(val);
+        }
+
+        return b.build();
+    }
+
+    /** */
+    @SuppressWarnings("unchecked")
+    private static <Row> RightRows<Row> emptyRows() {
+        return (RightRows<Row>)EMPTY_ROWS;
+    }
+
+    /**
+     * Creates hash join node.
+     *
+     * @param ctx Execution context.
+     * @param outputRowType Output row type.
+     * @param leftRowType Left input row type.
+     * @param rightRowType Right input row type.
+     * @param joinType Join type.
+     * @param leftKeys Join keys of the left input.
+     * @param rightKeys Join keys of the right input.
+     * @param nonEquiCond Non-equi part of the join condition or {@code null} if the condition is equi-join only.
+     * @param spillable Whether rows may be spilled to disk, which doesn't preserve the order of the left input.
+     */
+    @NotNull public static <Row> HashJoinNode<Row> create(
+        ExecutionContext<Row> ctx,
+        RelDataType outputRowType,
+        RelDataType leftRowType,
+        RelDataType rightRowType,
+        JoinRelType joinType,
+        ImmutableIntList leftKeys,
+        ImmutableIntList rightKeys,
+        @Nullable BiPredicate<Row, Row> nonEquiCond,
+        boolean spillable
+    ) {
+        HashJoinNode<Row> node;
+
+        switch (joinType) {
+            case INNER:
+                node = new InnerHashJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond);
+
+                break;
+
+            case LEFT: {
+                RowHandler.RowFactory<Row> rightRowFactory = ctx.rowHandler().factory(ctx.getTypeFactory(), rightRowType);
+
+                node = new LeftHashJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond, rightRowFactory);
+
+                break;
+            }
+
+            case RIGHT: {
+                RowHandler.RowFactory<Row> leftRowFactory = ctx.rowHandler().factory(ctx.getTypeFactory(), leftRowType);
+
+                node = new RightHashJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond, leftRowFactory);
+
+                break;
+            }
+
+            case FULL: {
+                RowHandler.RowFactory<Row> leftRowFactory = ctx.rowHandler().factory(ctx.getTypeFactory(), leftRowType);
+                RowHandler.RowFactory<Row> rightRowFactory = ctx.rowHandler().factory(ctx.getTypeFactory(), rightRowType);
+
+                node = new FullOuterHashJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond, leftRowFactory,
+                    rightRowFactory);
+
+                break;
+            }
+
+            case SEMI:
+                node = new SemiHashJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond);
+
+                break;
+
+            case ANTI:
+                node = new AntiHashJoin<>(ctx, outputRowType, leftKeys, rightKeys, nonEquiCond);
+
+                break;
+
+            default:
+                throw new IllegalStateException("Join type \"" + joinType + "\" is not supported yet");
+        }
+
+        node.spillEnabled = spillable && ctx.spillEnabled();
+
+        return node;
+    }
+
+    /** Right rows with the same join keys. */
+    protected static class RightRows<Row> {
+        /** */
+        private final List<Row> rows;
+
+        /** Indexes of rows matched to at least one left row. Used by the right and full outer joins only. */
+        private BitSet matched;
+
+        /** */
+        private RightRows() {
+            rows = new ArrayList<>(1);
+        }
+
+        /** */
+        void add(Row row) {
+            rows.add(row);
+        }
+
+        /** */
+        Row get(int idx) {
+            return rows.get(idx);
+        }
+
+        /** */
+        int size() {
+            return rows.size();
+        }
+
+        /** */
+        void markMatched(int idx) {
+            if (matched == null)
+                matched = new BitSet(rows.size());
+
+            matched.set(idx);
+        }
+
+        /** */
+        boolean isMatched(int idx) {
+            return matched != null && matched.get(idx);
+        }
+    }
+
+    /** */
+    private static class InnerHashJoin<Row> extends HashJoinNode<Row> {
+        /** */
+        private InnerHashJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            if (waitingRight == NOT_WAITING) {
+                inLoop = true;
+                try {
+                    while (requested > 0 && (left != null || !leftInBuf.isEmpty())) {
+                        if (left == null)
+                            nextLeft();
+
+                        while (requested > 0 && rightIdx < rightRows.size()) {
+                            checkState();
+
+                            Row right = rightRows.get(rightIdx++);
+
+                            if (!matches(right))
+                                continue;
+
+                            requested--;
+                            downstream().push(handler.concat(left, right));
+                        }
+
+                        if (rightIdx == rightRows.size())
+                            resetLeft();
+                    }
+                }
+                finally {
+                    inLoop = false;
+                }
+            }
+
+            tryToRequestInputsOrEnd(false);
+        }
+    }
+
+    /** */
+    private static class LeftHashJoin<Row> extends HashJoinNode<Row> {
+        /** Right row factory. */
+        private final RowHandler.RowFactory<Row> rightRowFactory;
+
+        /** Whether current left row was matched or not. */
+        private boolean matched;
+
+        /** */
+        private LeftHashJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond,
+            RowHandler.RowFactory<Row> rightRowFactory
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond);
+
+            this.rightRowFactory = rightRowFactory;
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void rewindInternal() {
+            matched = false;
+
+            super.rewindInternal();
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            if (waitingRight == NOT_WAITING) {
+                inLoop = true;
+                try {
+                    while (requested > 0 && (left != null || !leftInBuf.isEmpty())) {
+                        if (left == null) {
+                            nextLeft();
+
+                            matched = false;
+                        }
+
+                        while (requested > 0 && rightIdx < rightRows.size()) {
+                            checkState();
+
+                            Row right = rightRows.get(rightIdx++);
+
+                            if (!matches(right))
+                                continue;
+
+                            requested--;
+                            matched = true;
+
+                            downstream().push(handler.concat(left, right));
+                        }
+
+                        if (rightIdx == rightRows.size()) {
+                            if (!matched) {
+                                if (requested == 0)
+                                    break;
+
+                                requested--;
+
+                                downstream().push(handler.concat(left, rightRowFactory.create()));
+                            }
+
+                            resetLeft();
+                        }
+                    }
+                }
+                finally {
+                    inLoop = false;
+                }
+            }
+
+            tryToRequestInputsOrEnd(false);
+        }
+    }
+
+    /** Base class for joins, which emit not matched right rows. */
+    private abstract static class AbstractRightOuterHashJoin<Row> extends HashJoinNode<Row> {
+        /** Left row factory. */
+        private final RowHandler.RowFactory<Row> leftRowFactory;
+
+        /** Iterator over right rows groups to emit not matched right rows. */
+        private Iterator<RightRows<Row>> notMatchedIt;
+
+        /** Current right rows group to emit not matched right rows. */
+        private RightRows<Row> notMatchedRows;
+
+        /** Index of the next row in the current right rows group to check. */
+        private int notMatchedIdx;
+
+        /** */
+        private AbstractRightOuterHashJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond,
+            RowHandler.RowFactory<Row> leftRowFactory
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond);
+
+            this.leftRowFactory = leftRowFactory;
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void rewindInternal() {
+            onPartitionLoaded();
+
+            super.rewindInternal();
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void onPartitionLoaded() {
+            notMatchedIt = null;
+            notMatchedRows = null;
+            notMatchedIdx = 0;
+        }
+
+        /** {@inheritDoc} */
+        @Override protected boolean keepNullKeyRightRows() {
+            return true;
+        }
+
+        /**
+         * Pushes right rows, which were not matched to any left row, to the downstream.
+         *
+         * @return {@code True} if there are more not matched right rows to push.
+         */
+        protected boolean pushNotMatchedRight() throws Exception {
+            if (waitingLeft != NOT_WAITING || left != null || !leftInBuf.isEmpty())
+                return true;
+
+            if (notMatchedIt == null)
+                notMatchedIt = hashStore.values().iterator();
+
+            inLoop = true;
+            try {
+                while (requested > 0) {
+                    if (notMatchedRows == null || notMatchedIdx == notMatchedRows.size()) {
+                        if (!notMatchedIt.hasNext()) {
+                            notMatchedRows = null;
+
+                            return false;
+                        }
+
+                        notMatchedRows = notMatchedIt.next();
+                        notMatchedIdx = 0;
+                    }
+
+                    checkState();
+
+                    int idx = notMatchedIdx++;
+
+                    if (notMatchedRows.isMatched(idx))
+                        continue;
+
+                    requested--;
+                    downstream().push(handler.concat(leftRowFactory.create(), notMatchedRows.get(idx)));
+                }
+            }
+            finally {
+                inLoop = false;
+            }
+
+            return notMatchedRows == null || notMatchedIdx < notMatchedRows.size() || notMatchedIt.hasNext();
+        }
+    }
+
+    /** */
+    private static class RightHashJoin<Row> extends AbstractRightOuterHashJoin<Row> {
+        /** */
+        private RightHashJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond,
+            RowHandler.RowFactory<Row> leftRowFactory
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond, leftRowFactory);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            boolean hasMoreRows = false;
+
+            if (waitingRight == NOT_WAITING) {
+                inLoop = true;
+                try {
+                    while (requested > 0 && (left != null || !leftInBuf.isEmpty())) {
+                        if (left == null)
+                            nextLeft();
+
+                        while (requested > 0 && rightIdx < rightRows.size()) {
+                            checkState();
+
+                            Row right = rightRows.get(rightIdx++);
+
+                            if (!matches(right))
+                                continue;
+
+                            requested--;
+                            rightRows.markMatched(rightIdx - 1);
+
+                            downstream().push(handler.concat(left, right));
+                        }
+
+                        if (rightIdx == rightRows.size())
+                            resetLeft();
+                    }
+                }
+                finally {
+                    inLoop = false;
+                }
+
+                hasMoreRows = requested > 0 && pushNotMatchedRight();
+            }
+
+            tryToRequestInputsOrEnd(hasMoreRows);
+        }
+    }
+
+    /** */
+    private static class FullOuterHashJoin<Row> extends AbstractRightOuterHashJoin<Row> {
+        /** Right row factory. */
+        private final RowHandler.RowFactory<Row> rightRowFactory;
+
+        /** Whether current left row was matched or not. */
+        private boolean leftMatched;
+
+        /** */
+        private FullOuterHashJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond,
+            RowHandler.RowFactory<Row> leftRowFactory,
+            RowHandler.RowFactory<Row> rightRowFactory
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond, leftRowFactory);
+
+            this.rightRowFactory = rightRowFactory;
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void rewindInternal() {
+            leftMatched = false;
+
+            super.rewindInternal();
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            boolean hasMoreRows = false;
+
+            if (waitingRight == NOT_WAITING) {
+                inLoop = true;
+                try {
+                    while (requested > 0 && (left != null || !leftInBuf.isEmpty())) {
+                        if (left == null) {
+                            nextLeft();
+
+                            leftMatched = false;
+                        }
+
+                        while (requested > 0 && rightIdx < rightRows.size()) {
+                            checkState();
+
+                            Row right = rightRows.get(rightIdx++);
+
+                            if (!matches(right))
+                                continue;
+
+                            requested--;
+                            leftMatched = true;
+                            rightRows.markMatched(rightIdx - 1);
+
+                            downstream().push(handler.concat(left, right));
+                        }
+
+                        if (rightIdx == rightRows.size()) {
+                            if (!leftMatched) {
+                                if (requested == 0)
+                                    break;
+
+                                requested--;
+
+                                downstream().push(handler.concat(left, rightRowFactory.create()));
+                            }
+
+                            resetLeft();
+                        }
+                    }
+                }
+                finally {
+                    inLoop = false;
+                }
+
+                hasMoreRows = requested > 0 && pushNotMatchedRight();
+            }
+
+            tryToRequestInputsOrEnd(hasMoreRows);
+        }
+    }
+
+    /** */
+    private static class SemiHashJoin<Row> extends HashJoinNode<Row> {
+        /** */
+        private SemiHashJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            if (waitingRight == NOT_WAITING) {
+                inLoop = true;
+                try {
+                    while (requested > 0 && !leftInBuf.isEmpty()) {
+                        checkState();
+
+                        nextLeft();
+
+                        if (anyMatches()) {
+                            requested--;
+                            downstream().push(left);
+                        }
+
+                        resetLeft();
+                    }
+                }
+                finally {
+                    inLoop = false;
+                }
+            }
+
+            tryToRequestInputsOrEnd(false);
+        }
+
+        /** */
+        private boolean anyMatches() {
+            for (int i = 0; i < rightRows.size(); i++) {
+                if (matches(rightRows.get(i)))
+                    return true;
+            }
+
+            return false;
+        }
+    }
+
+    /** */
+    private static class AntiHashJoin<Row> extends HashJoinNode<Row> {
+        /** */
+        private AntiHashJoin(
+            ExecutionContext<Row> ctx,
+            RelDataType rowType,
+            ImmutableIntList leftKeys,
+            ImmutableIntList rightKeys,
+            @Nullable BiPredicate<Row, Row> nonEquiCond
+        ) {
+            super(ctx, rowType, leftKeys, rightKeys, nonEquiCond);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            if (waitingRight == NOT_WAITING) {
+                inLoop = true;
+                try {
+                    while (requested > 0 && !leftInBuf.isEmpty()) {
+                        checkState();
+
+                        nextLeft();
+
+                        if (noneMatches()) {
+                            requested--;
+                            downstream().push(left);
+                        }
+
+                        resetLeft();
+                    }
+                }
+                finally {
+                    inLoop = false;
+                }
+            }
+
+            tryToRequestInputsOrEnd(false);
+        }
+
+        /** */
+        private boolean noneMatches() {
+            for (int i = 0; i < rightRows.size(); i++) {
+                if (matches(rightRows.get(i)))
+                    return false;
+            }
+
+            return true;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 
+import java.util.List;
 import java.util.function.Function;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
@@ -63,6 +64,19 @@ public class ProjectNode<Row> extends AbstractNode<Row> implements SingleNode<Ro
         downstream().push(prj.apply(row));
     }
 
+    /** {@inheritDoc} */
+    @Override public void pushBatch(List<Row> rows) throws Exception {
+        assert downstream() != null;
+
+        checkState();
+
+        // The batch belongs to the source and may be modified, so project rows in place.
+        for (int i = 0; i < rows.size(); i++)
+            rows.set(i, prj.apply(rows.get(i)));
+
+        downstream().pushBatch(rows);
+    }
+
     /** {@inheritDoc} */
     @Override public void end() throws Exception {
         assert downstream() != null;
@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import org.apache.calcite.rel.type.RelDataType;
@@ -33,6 +34,12 @@ public class ScanNode<Row> extends AbstractNode<Row> implements SingleNode<Row>
     /** */
     private Iterator<Row> it;
 
+    /** Rows are pushed to the downstream by batches to reduce per row overhead. */
+    private final List<Row> batch = new ArrayList<>(IN_BUFFER_SIZE);
+
+    /** Maximum count of rows pushed at once, rows are pushed one by one if it's {@code 1}. */
+    private final int maxBatchSize;
+
     /** */
     private int requested;
 
@@ -47,9 +54,21 @@ public class ScanNode<Row> extends AbstractNode<Row> implements SingleNode<Row>
      * @param src Source.
      */
     public ScanNode(ExecutionContext<Row> ctx, RelDataType rowType, Iterable<Row> src) {
+        this(ctx, rowType, src, IN_BUFFER_SIZE);
+    }
+
+    /**
+     * @param ctx Execution context.
+     * @param src Source.
+     * @param maxBatchSize Maximum count of rows pushed at once, rows are pushed one by one if it's {@code 1}.
+     */
+    public ScanNode(ExecutionContext<Row> ctx, RelDataType rowType, Iterable<Row> src, int maxBatchSize) {
         super(ctx, rowType);
 
+        assert maxBatchSize > 0 : maxBatchSize;
+
         this.src = src;
+        this.maxBatchSize = maxBatchSize;
     }
 
     /** {@inheritDoc} */
@@ -119,10 +138,30 @@ public class ScanNode<Row> extends AbstractNode<Row> implements SingleNode<Row>
             while (requested > 0 && it.hasNext()) {
                 checkState();
 
-                requested--;
-                downstream().push(it.next());
+                if (maxBatchSize == 1) {
+                    requested--;
+                    processed++;
+
+                    downstream().push(it.next());
+                }
+                else {
+                    int batchSize = Math.min(requested, Math.min(maxBatchSize, IN_BUFFER_SIZE - processed));
+
+                    while (batch.size() < batchSize && it.hasNext())
+                        batch.add(it.next());
+
+                    requested -= batch.size();
+                    processed += batch.size();
+
+                    try {
+                        downstream().pushBatch(batch);
+                    }
+                    finally {
+                        batch.clear();
+                    }
+                }
 
-                if (++processed == IN_BUFFER_SIZE && requested > 0) {
+                if (processed == IN_BUFFER_SIZE && requested > 0) {
                     // allow others to do their job
                     context().execute(this::push, this::onError);
 
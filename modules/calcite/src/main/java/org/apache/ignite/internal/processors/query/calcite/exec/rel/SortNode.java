@@ -16,6 +16,7 @@
  */
 package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -23,12 +24,17 @@ import java.util.PriorityQueue;
 import java.util.function.Supplier;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillFile;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.MemoryQuotaExceededException;
 import org.apache.ignite.internal.util.GridBoundedPriorityQueue;
 import org.apache.ignite.internal.util.typedef.F;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * Sort node.
+ *
+ * <p>If spilling to disk is enabled and memory quota is exceeded, buffered rows are written to disk as a sorted run
+ * and memory is released. After all the input rows are received, sorted runs are merged.
  */
 public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode<Row>, Downstream<Row> {
     /** How many rows are requested by downstream. */
@@ -49,6 +55,15 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
     /** Reverse-ordered rows in case of limited sort. */
     private List<Row> reversed;
 
+    /** Rows comparator. */
+    private final Comparator<Row> comp;
+
+    /** Sorted runs spilled to disk. */
+    private List<SpilledRun> runs;
+
+    /** Sorted runs to merge, ordered by the current row of the run. */
+    private PriorityQueue<SpilledRun> merge;
+
     /**
      * @param ctx Execution context.
      * @param comp Rows comparator.
@@ -68,6 +83,8 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
 
         limit = fetch == null ? -1 : fetch.get() + (offset == null ? 0 : offset.get());
 
+        this.comp = comp == null ? (Comparator<Row>)Comparator.naturalOrder() : comp;
+
         if (limit < 0)
             rows = new PriorityQueue<>(comp);
         else {
@@ -92,9 +109,18 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
         if (reversed != null)
             reversed.clear();
 
+        releaseSpilled();
+
         nodeMemoryTracker.reset();
     }
 
+    /** {@inheritDoc} */
+    @Override protected void closeInternal() {
+        releaseSpilled();
+
+        super.closeInternal();
+    }
+
     /** {@inheritDoc} */
     @Override protected Downstream<Row> requestDownstream(int idx) {
         if (idx != 0)
@@ -133,10 +159,19 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
         Row top = rows.peek();
 
         if (rows.add(row)) {
-            nodeMemoryTracker.onRowAdded(row);
-
             if (size == rows.size()) // Row added, but size is not changed means another (top) row is evicted.
                 nodeMemoryTracker.onRowRemoved(top);
+
+            try {
+                nodeMemoryTracker.onRowAdded(row);
+            }
+            catch (MemoryQuotaExceededException e) {
+                // Don't spill too small runs, there is not enough memory to execute the query anyway.
+                if (limit >= 0 || !context().spillEnabled() || rows.size() < IN_BUFFER_SIZE)
+                    throw e;
+
+                spill();
+            }
         }
 
         if (waiting == 0)
@@ -152,9 +187,81 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
 
         waiting = -1;
 
+        if (runs != null) {
+            if (!rows.isEmpty())
+                spill();
+
+            merge = new PriorityQueue<>(runs.size(), (r1, r2) -> comp.compare(r1.row, r2.row));
+
+            for (SpilledRun run : runs) {
+                if (run.next())
+                    merge.add(run);
+            }
+        }
+
         flush();
     }
 
+    /**
+     * Writes buffered rows to disk as a sorted run and releases memory occupied by these rows.
+     */
+    private void spill() throws IOException {
+        if (runs == null)
+            runs = new ArrayList<>();
+
+        SpillFile<Row> file = context().createSpillFile();
+
+        runs.add(new SpilledRun(file));
+
+        while (!rows.isEmpty())
+            file.write(rows.poll());
+
+        file.finishWrite();
+
+        nodeMemoryTracker.reset();
+    }
+
+    /** */
+    private void releaseSpilled() {
+        if (runs != null) {
+            for (SpilledRun run : runs)
+                run.file.close();
+
+            runs = null;
+            merge = null;
+        }
+    }
+
+    /** */
+    private boolean hasMoreRows() {
+        if (merge != null)
+            return !merge.isEmpty();
+
+        return reversed == null ? !rows.isEmpty() : !reversed.isEmpty();
+    }
+
+    /** */
+    private Row nextRow() throws IOException {
+        if (merge != null) {
+            SpilledRun run = merge.poll();
+
+            Row row = run.row;
+
+            if (run.next())
+                merge.add(run);
+            else
+                run.file.close();
+
+            return row;
+        }
+
+        Row row = reversed == null ? rows.poll() : reversed.remove(reversed.size() - 1);
+
+        nodeMemoryTracker.onRowRemoved(row);
+
+        return row;
+    }
+
     /** */
     private void flush() throws Exception {
         if (isClosed())
@@ -185,16 +292,12 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
                 processed = 0;
             }
 
-            while (requested > 0 && (reversed == null ? !rows.isEmpty() : !reversed.isEmpty())) {
+            while (requested > 0 && hasMoreRows()) {
                 checkState();
 
                 requested--;
 
-                Row row = reversed == null ? rows.poll() : reversed.remove(reversed.size() - 1);
-
-                nodeMemoryTracker.onRowRemoved(row);
-
-                downstream().push(row);
+                downstream().push(nextRow());
 
                 if (++processed >= IN_BUFFER_SIZE && requested > 0) {
                     // allow others to do their job
@@ -204,7 +307,7 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
                 }
             }
 
-            if (reversed == null ? rows.isEmpty() : reversed.isEmpty()) {
+            if (!hasMoreRows()) {
                 if (requested > 0)
                     downstream().end();
 
@@ -215,4 +318,29 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
             inLoop = false;
         }
     }
+
+    /** Sorted run spilled to disk. */
+    private class SpilledRun {
+        /** */
+        private final SpillFile<Row> file;
+
+        /** Current row. */
+        private Row row;
+
+        /** */
+        private SpilledRun(SpillFile<Row> file) {
+            this.file = file;
+        }
+
+        /**
+         * Moves to the next row of the run.
+         *
+         * @return {@code False} if there are no more rows in the run.
+         */
+        private boolean next() throws IOException {
+            row = file.read();
+
+            return row != null;
+        }
+    }
 }
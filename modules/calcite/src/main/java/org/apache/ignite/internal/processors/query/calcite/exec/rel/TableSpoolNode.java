@@ -17,14 +17,20 @@
 
 package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillFile;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.MemoryQuotaExceededException;
 import org.apache.ignite.internal.util.typedef.F;
 
 /**
  * Table spool node.
+ *
+ * <p>If spilling to disk is enabled and memory quota is exceeded, buffered rows are written to disk and memory
+ * is released. Spilled rows precede the rows in memory and are read sequentially from disk on each pass.
  */
 public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements SingleNode<Row>, Downstream<Row> {
     /** How many rows are requested by downstream. */
@@ -39,6 +45,15 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
     /** Rows buffer. */
     private final List<Row> rows;
 
+    /** Runs of rows spilled to disk, in the order of rows. */
+    private List<SpillFile<Row>> runs;
+
+    /** Count of rows spilled to disk. */
+    private int spilledCnt;
+
+    /** Index of the run the next spilled row is read from. */
+    private int runIdx;
+
     /**
      * If {@code true} this spool should emit rows as soon as it stored.
      * If {@code false} the spool have to collect all rows from underlying input.
@@ -66,6 +81,24 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
     @Override protected void rewindInternal() {
         requested = 0;
         rowIdx = 0;
+
+        if (runs != null) {
+            runIdx = 0;
+
+            runs.get(0).rewind();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void closeInternal() {
+        if (runs != null) {
+            for (SpillFile<Row> run : runs)
+                run.close();
+
+            runs = null;
+        }
+
+        super.closeInternal();
     }
 
     /** {@inheritDoc} */
@@ -90,7 +123,7 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
 
         requested += rowsCnt;
 
-        if ((waiting == -1 || rowIdx < rows.size()) && !inLoop)
+        if ((waiting == -1 || rowIdx < size()) && !inLoop)
             context().execute(this::doPush, this::onError);
         else if (waiting == 0)
             source().request(waiting = IN_BUFFER_SIZE);
@@ -107,8 +140,8 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
         int processed = 0;
         inLoop = true;
         try {
-            while (requested > 0 && rowIdx < rows.size() && processed++ < IN_BUFFER_SIZE) {
-                downstream().push(rows.get(rowIdx));
+            while (requested > 0 && rowIdx < size() && processed++ < IN_BUFFER_SIZE) {
+                downstream().push(row(rowIdx));
 
                 rowIdx++;
                 requested--;
@@ -118,7 +151,7 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
             inLoop = false;
         }
 
-        if (rowIdx >= rows.size() && waiting == -1 && requested > 0) {
+        if (rowIdx >= size() && waiting == -1 && requested > 0) {
             requested = 0;
             downstream().end();
         }
@@ -137,12 +170,21 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
 
         rows.add(row);
 
-        nodeMemoryTracker.onRowAdded(row);
+        try {
+            nodeMemoryTracker.onRowAdded(row);
+        }
+        catch (MemoryQuotaExceededException e) {
+            // Don't spill too small runs, there is not enough memory to execute the query anyway.
+            if (!context().spillEnabled() || rows.size() < IN_BUFFER_SIZE)
+                throw e;
+
+            spill();
+        }
 
         if (waiting == 0)
             source().request(waiting = IN_BUFFER_SIZE);
 
-        if (requested > 0 && rowIdx < rows.size())
+        if (requested > 0 && rowIdx < size())
             doPush();
     }
 
@@ -157,4 +199,67 @@ public class TableSpoolNode<Row> extends MemoryTrackingNode<Row> implements Sing
 
         context().execute(this::doPush, this::onError);
     }
+
+    /**
+     * @return Count of stored rows.
+     */
+    private int size() {
+        return spilledCnt + rows.size();
+    }
+
+    /**
+     * Gets stored row. Spilled rows are read sequentially, so rows must be requested in the order of indexes.
+     *
+     * @param idx Row index.
+     * @return Row.
+     */
+    private Row row(int idx) throws IOException {
+        if (idx >= spilledCnt)
+            return rows.get(idx - spilledCnt);
+
+        Row row = runs.get(runIdx).read();
+
+        while (row == null) {
+            SpillFile<Row> run = runs.get(++runIdx);
+
+            run.rewind();
+
+            row = run.read();
+        }
+
+        return row;
+    }
+
+    /**
+     * Writes buffered rows to disk as a new run and releases memory occupied by these rows.
+     */
+    private void spill() throws IOException {
+        if (runs == null)
+            runs = new ArrayList<>();
+
+        SpillFile<Row> run = context().createSpillFile();
+
+        for (Row row : rows)
+            run.write(row);
+
+        run.finishWrite();
+
+        runs.add(run);
+
+        int prevSpilledCnt = spilledCnt;
+
+        spilledCnt += rows.size();
+
+        rows.clear();
+
+        nodeMemoryTracker.reset();
+
+        // Rows of the new run which are already pushed (lazy read) are skipped.
+        if (rowIdx > prevSpilledCnt) {
+            runIdx = runs.size() - 1;
+
+            for (int i = prevSpilledCnt; i < rowIdx; i++)
+                run.read();
+        }
+    }
 }
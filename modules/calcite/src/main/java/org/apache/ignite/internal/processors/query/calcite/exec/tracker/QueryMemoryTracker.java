@@ -18,7 +18,6 @@
 package org.apache.ignite.internal.processors.query.calcite.exec.tracker;
 
 import java.util.concurrent.atomic.AtomicLong;
-import org.apache.ignite.IgniteException;
 
 /**
  * Memory allocation tracker for queries.
@@ -45,7 +44,7 @@ public class QueryMemoryTracker implements MemoryTracker {
     @Override public void onMemoryAllocated(long size) {
         try {
             if (allocated.addAndGet(size) > quota && quota > 0)
-                throw new IgniteException("Query quota exceeded [quota=" + quota + ']');
+                throw new MemoryQuotaExceededException("Query quota exceeded [quota=" + quota + ']');
 
             parent.onMemoryAllocated(size);
         }
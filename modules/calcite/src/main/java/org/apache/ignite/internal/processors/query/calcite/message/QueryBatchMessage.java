@@ -18,13 +18,10 @@
 package org.apache.ignite.internal.processors.query.calcite.message;
 
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import org.apache.ignite.IgniteCheckedException;
-import org.apache.ignite.internal.GridDirectCollection;
 import org.apache.ignite.internal.GridDirectTransient;
-import org.apache.ignite.plugin.extensions.communication.MessageCollectionItemType;
 import org.apache.ignite.plugin.extensions.communication.MessageReader;
 import org.apache.ignite.plugin.extensions.communication.MessageWriter;
 
@@ -51,9 +48,8 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
     @GridDirectTransient
     private List<Object> rows;
 
-    /** */
-    @GridDirectCollection(ValueMessage.class)
-    private List<ValueMessage> mRows;
+    /** Rows encoded by {@link RowBatchCodec}. */
+    private byte[] mRows;
 
     /** */
     public QueryBatchMessage() {
@@ -112,17 +108,7 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
         if (mRows != null || rows == null)
             return;
 
-        mRows = new ArrayList<>(rows.size());
-
-        for (Object row : rows) {
-            ValueMessage mRow = CalciteMessageFactory.asMessage(row);
-
-            assert mRow != null;
-
-            mRow.prepareMarshal(ctx);
-
-            mRows.add(mRow);
-        }
+        mRows = RowBatchCodec.encode(rows, ctx);
     }
 
     /** {@inheritDoc} */
@@ -130,15 +116,7 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
         if (rows != null || mRows == null)
             return;
 
-        rows = new ArrayList<>(mRows.size());
-
-        for (ValueMessage mRow : mRows) {
-            assert mRow != null;
-
-            mRow.prepareUnmarshal(ctx);
-
-            rows.add(mRow.value());
-        }
+        rows = RowBatchCodec.decode(mRows, ctx);
     }
 
     /** {@inheritDoc} */
@@ -178,7 +156,7 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
                 writer.incrementState();
 
             case 4:
-                if (!writer.writeCollection("mRows", mRows, MessageCollectionItemType.MSG))
+                if (!writer.writeByteArray("mRows", mRows))
                     return false;
 
                 writer.incrementState();
@@ -235,7 +213,7 @@ public class QueryBatchMessage implements MarshalableMessage, ExecutionContextAw
                 reader.incrementState();
 
             case 4:
-                mRows = reader.readCollection("mRows", MessageCollectionItemType.MSG);
+                mRows = reader.readByteArray("mRows");
 
                 if (!reader.isLastRead())
                     return false;
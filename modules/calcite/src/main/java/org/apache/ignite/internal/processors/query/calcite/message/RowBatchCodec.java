@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.message;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.util.io.GridUnsafeDataInput;
+import org.apache.ignite.internal.util.io.GridUnsafeDataOutput;
+
+/**
+ * Encodes a batch of rows into a compact binary form. Values of the common SQL types are written as is with
+ * a one byte type tag, other values are marshalled with the message marshaller. Rows, represented
+ * as objects array, are written field by field, other rows are marshalled as a whole.
+ */
+public final class RowBatchCodec {
+    /** */
+    private static final byte TYPE_NULL = 0;
+
+    /** */
+    private static final byte TYPE_BOOLEAN = 1;
+
+    /** */
+    private static final byte TYPE_BYTE = 2;
+
+    /** */
+    private static final byte TYPE_SHORT = 3;
+
+    /** */
+    private static final byte TYPE_INT = 4;
+
+    /** */
+    private static final byte TYPE_LONG = 5;
+
+    /** */
+    private static final byte TYPE_FLOAT = 6;
+
+    /** */
+    private static final byte TYPE_DOUBLE = 7;
+
+    /** */
+    private static final byte TYPE_STRING = 8;
+
+    /** */
+    private static final byte TYPE_DECIMAL = 9;
+
+    /** */
+    private static final byte TYPE_UUID = 10;
+
+    /** */
+    private static final byte TYPE_BYTES = 11;
+
+    /** Value marshalled with the message marshaller. */
+    private static final byte TYPE_MARSHALLED = 12;
+
+    /** Row, which is not an objects array. */
+    private static final int MARSHALLED_ROW = -1;
+
+    /** Initial size of the output buffer. */
+    private static final int INIT_BUF_SIZE = 4 * 1024;
+
+    /** */
+    private RowBatchCodec() {
+        // No-op.
+    }
+
+    /**
+     * @param rows Rows.
+     * @param ctx Marshalling context.
+     * @return Encoded rows.
+     */
+    public static byte[] encode(List<Object> rows, MarshallingContext ctx) throws IgniteCheckedException {
+        GridUnsafeDataOutput out = new GridUnsafeDataOutput(INIT_BUF_SIZE);
+
+        try {
+            out.writeInt(rows.size());
+
+            for (Object row : rows) {
+                if (row instanceof Object[]) {
+                    Object[] fields = (Object[])row;
+
+                    out.writeInt(fields.length);
+
+                    for (Object field : fields)
+                        writeValue(out, field, ctx);
+                }
+                else {
+                    out.writeInt(MARSHALLED_ROW);
+                    out.writeByteArray(ctx.marshal(row));
+                }
+            }
+
+            return out.array();
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to encode rows batch.", e);
+        }
+    }
+
+    /**
+     * @param bytes Encoded rows.
+     * @param ctx Marshalling context.
+     * @return Rows.
+     */
+    public static List<Object> decode(byte[] bytes, MarshallingContext ctx) throws IgniteCheckedException {
+        GridUnsafeDataInput in = new GridUnsafeDataInput();
+
+        in.bytes(bytes, bytes.length);
+
+        try {
+            int size = in.readInt();
+
+            List<Object> rows = new ArrayList<>(size);
+
+            for (int i = 0; i < size; i++) {
+                int len = in.readInt();
+
+                if (len == MARSHALLED_ROW) {
+                    rows.add(ctx.unmarshal(in.readByteArray()));
+
+                    continue;
+                }
+
+                Object[] fields = new Object[len];
+
+                for (int j = 0; j < len; j++)
+                    fields[j] = readValue(in, ctx);
+
+                rows.add(fields);
+            }
+
+            return rows;
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to decode rows batch.", e);
+        }
+    }
+
+    /** */
+    private static void writeValue(GridUnsafeDataOutput out, Object val, MarshallingContext ctx)
+        throws IOException, IgniteCheckedException {
+        if (val == null)
+            out.writeByte(TYPE_NULL);
+        else if (val instanceof Integer) {
+            out.writeByte(TYPE_INT);
+            out.writeInt((Integer)val);
+        }
+        else if (val instanceof Long) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long)val);
+        }
+        else if (val instanceof String) {
+            out.writeByte(TYPE_STRING);
+            out.writeUTF((String)val);
+        }
+        else if (val instanceof Double) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble((Double)val);
+        }
+        else if (val instanceof Boolean) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean)val);
+        }
+        else if (val instanceof BigDecimal) {
+            BigDecimal dec = (BigDecimal)val;
+
+            out.writeByte(TYPE_DECIMAL);
+            out.writeInt(dec.scale());
+            out.writeByteArray(dec.unscaledValue().toByteArray());
+        }
+        else if (val instanceof Float) {
+            out.writeByte(TYPE_FLOAT);
+            out.writeFloat((Float)val);
+        }
+        else if (val instanceof Short) {
+            out.writeByte(TYPE_SHORT);
+            out.writeShort((Short)val);
+        }
+        else if (val instanceof Byte) {
+            out.writeByte(TYPE_BYTE);
+            out.writeByte((Byte)val);
+        }
+        else if (val instanceof UUID) {
+            UUID uuid = (UUID)val;
+
+            out.writeByte(TYPE_UUID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        }
+        else if (val instanceof byte[]) {
+            out.writeByte(TYPE_BYTES);
+            out.writeByteArray((byte[])val);
+        }
+        else {
+            out.writeByte(TYPE_MARSHALLED);
+            out.writeByteArray(ctx.marshal(val));
+        }
+    }
+
+    /** */
+    private static Object readValue(GridUnsafeDataInput in, MarshallingContext ctx)
+        throws IOException, IgniteCheckedException {
+        byte type = in.readByte();
+
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+
+            case TYPE_BYTE:
+                return in.readByte();
+
+            case TYPE_SHORT:
+                return in.readShort();
+
+            case TYPE_INT:
+                return in.readInt();
+
+            case TYPE_LONG:
+                return in.readLong();
+
+            case TYPE_FLOAT:
+                return in.readFloat();
+
+            case TYPE_DOUBLE:
+                return in.readDouble();
+
+            case TYPE_STRING:
+                return in.readUTF();
+
+            case TYPE_DECIMAL: {
+                int scale = in.readInt();
+
+                return new BigDecimal(new BigInteger(in.readByteArray()), scale);
+            }
+
+            case TYPE_UUID:
+                return new UUID(in.readLong(), in.readLong());
+
+            case TYPE_BYTES:
+                return in.readByteArray();
+
+            case TYPE_MARSHALLED:
+                return ctx.unmarshal(in.readByteArray());
+
+            default:
+                throw new IOException("Unexpected value type: " + type);
+        }
+    }
+}
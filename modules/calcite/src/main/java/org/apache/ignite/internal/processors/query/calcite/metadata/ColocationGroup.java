@@ -20,6 +20,7 @@ package org.apache.ignite.internal.processors.query.calcite.metadata;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -113,6 +114,23 @@ public class ColocationGroup implements MarshalableMessage {
         return this; // TODO https://issues.apache.org/jira/browse/IGNITE-12455
     }
 
+    /**
+     * Prunes involved partitions (hence nodes, involved in query execution) to the given set.
+     * @param parts Partitions, which may contain the requested data.
+     * @return Resulting nodes mapping.
+     */
+    public ColocationGroup prune(BitSet parts) {
+        if (assignments == null)
+            return this;
+
+        List<List<UUID>> assignments = new ArrayList<>(this.assignments.size());
+
+        for (int i = 0; i < this.assignments.size(); i++)
+            assignments.add(parts.get(i) ? this.assignments.get(i) : Collections.emptyList());
+
+        return new ColocationGroup(sourceIds, nodeIds, assignments);
+    }
+
     /** */
     public boolean belongs(long sourceId) {
         if (sourceIds == null)
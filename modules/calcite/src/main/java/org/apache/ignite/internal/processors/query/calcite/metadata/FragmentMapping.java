@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.processors.query.calcite.metadata;
 
 import java.nio.ByteBuffer;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -27,7 +28,9 @@ import org.apache.ignite.internal.GridDirectCollection;
 import org.apache.ignite.internal.processors.query.calcite.message.MarshalableMessage;
 import org.apache.ignite.internal.processors.query.calcite.message.MarshallingContext;
 import org.apache.ignite.internal.processors.query.calcite.message.MessageType;
+import org.apache.ignite.internal.processors.query.calcite.prepare.MappingQueryContext;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteRel;
+import org.apache.ignite.internal.processors.query.calcite.rel.ProjectableFilterableTableScan;
 import org.apache.ignite.internal.processors.query.calcite.util.Commons;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
@@ -96,6 +99,38 @@ public class FragmentMapping implements MarshalableMessage {
         return new FragmentMapping(F.first(colocationGroups).prune(rel));
     }
 
+    /**
+     * Prunes partitions of the scanned tables on the basis of the scans conditions and query parameters.
+     * @param scans Table scans, the only data sources of the fragment.
+     * @param ctx Mapping context.
+     * @return Resulting mapping.
+     */
+    public FragmentMapping prune(List<ProjectableFilterableTableScan> scans, MappingQueryContext ctx) {
+        if (colocationGroups.size() != 1)
+            return this;
+
+        ColocationGroup grp = F.first(colocationGroups);
+
+        if (grp.assignments().isEmpty())
+            return this;
+
+        int partsCnt = grp.assignments().size();
+
+        BitSet parts = new BitSet(partsCnt);
+
+        // Each scan emits only the rows of its own partitions, so the union of the partitions is enough.
+        for (ProjectableFilterableTableScan scan : scans) {
+            BitSet scanParts = PartitionExtractor.partitions(scan, ctx, partsCnt);
+
+            if (scanParts == null)
+                return this;
+
+            parts.or(scanParts);
+        }
+
+        return new FragmentMapping(grp.prune(parts));
+    }
+
     /** */
     public FragmentMapping combine(FragmentMapping other) {
         return new FragmentMapping(Commons.combine(colocationGroups, other.colocationGroups));
@@ -58,6 +58,7 @@ import org.apache.ignite.internal.processors.query.calcite.schema.IgniteCacheTab
 import org.apache.ignite.internal.processors.query.calcite.schema.IgniteStatisticsImpl;
 import org.apache.ignite.internal.processors.query.calcite.schema.IgniteTable;
 import org.apache.ignite.internal.processors.query.calcite.util.RexUtils;
+import org.apache.ignite.internal.processors.query.stat.ColumnHistogram;
 import org.apache.ignite.internal.processors.query.stat.ColumnStatistics;
 import org.jetbrains.annotations.Nullable;
 
@@ -421,6 +422,30 @@ public class IgniteMdSelectivity extends RelMdSelectivity {
             }
         }
 
+        ColumnHistogram hist = colStat.histogram();
+
+        if (hist != null && colStat.total() > 0) {
+            // Histogram is built on not null values only, while null values never match the range condition.
+            double notNull = (double)(colStat.total() - colStat.nulls()) / colStat.total();
+
+            switch (op.getKind()) {
+                case GREATER_THAN:
+                    return (1 - hist.lessSelectivity(val, true, colStat.distinct())) * notNull;
+
+                case GREATER_THAN_OR_EQUAL:
+                    return (1 - hist.lessSelectivity(val, false, colStat.distinct())) * notNull;
+
+                case LESS_THAN:
+                    return hist.lessSelectivity(val, false, colStat.distinct()) * notNull;
+
+                case LESS_THAN_OR_EQUAL:
+                    return hist.lessSelectivity(val, true, colStat.distinct()) * notNull;
+
+                default:
+                    return guessSelectivity(pred);
+            }
+        }
+
         // Estimate percent of selectivity by ranges.
         BigDecimal actual = BigDecimal.ZERO;
 
@@ -488,6 +513,11 @@ public class IgniteMdSelectivity extends RelMdSelectivity {
                 return 0.;
         }
 
+        if (colStat.histogram() != null) {
+            return colStat.histogram().equalsSelectivity(comparableVal, colStat.distinct())
+                * (colStat.total() - colStat.nulls()) / colStat.total();
+        }
+
         double expectedRows = ((double)(colStat.total() - colStat.nulls())) / (colStat.distinct());
 
         return expectedRows / colStat.total();
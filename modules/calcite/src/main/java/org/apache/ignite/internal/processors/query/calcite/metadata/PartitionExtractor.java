@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.metadata;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.function.ToIntFunction;
+import com.google.common.collect.Range;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexDynamicParam;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexSlot;
+import org.apache.calcite.rex.RexUnknownAs;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.NlsString;
+import org.apache.calcite.util.Sarg;
+import org.apache.ignite.internal.processors.query.calcite.prepare.MappingQueryContext;
+import org.apache.ignite.internal.processors.query.calcite.rel.ProjectableFilterableTableScan;
+import org.apache.ignite.internal.processors.query.calcite.schema.ColumnDescriptor;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteTable;
+import org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistribution;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Extracts partitions, which may contain rows satisfying the scan condition. Only conditions on the affinity
+ * column of the form {@code col = <literal or dynamic parameter>} (and their conjunctions, disjunctions and
+ * {@code IN} lists) are taken into account.
+ */
+public final class PartitionExtractor {
+    /** Marker of a value, which partition can't be calculated. */
+    private static final Object UNKNOWN = new Object();
+
+    /** */
+    private PartitionExtractor() {
+        // No-op.
+    }
+
+    /**
+     * @param scan Table scan.
+     * @param ctx Mapping context.
+     * @param partsCnt Partitions count.
+     * @return Partitions, which may contain rows satisfying the scan condition, or {@code null} if
+     * the partitions can't be calculated.
+     */
+    public static @Nullable BitSet partitions(ProjectableFilterableTableScan scan, MappingQueryContext ctx, int partsCnt) {
+        if (scan.condition() == null || ctx.affinityService() == null)
+            return null;
+
+        IgniteTable tbl = scan.getTable().unwrap(IgniteTable.class);
+
+        IgniteDistribution distr = tbl.distribution();
+
+        if (!distr.function().affinity() || distr.getKeys().size() != 1)
+            return null;
+
+        int affCol = distr.getKeys().get(0);
+
+        ImmutableBitSet requiredCols = scan.requiredColumns();
+
+        int affRef = affCol;
+
+        if (requiredCols != null) {
+            if (!requiredCols.get(affCol))
+                return null;
+
+            affRef = requiredCols.get(0, affCol).cardinality();
+        }
+
+        Class<?> storageType = null;
+
+        for (ColumnDescriptor desc : tbl.descriptor().columnDescriptors()) {
+            if (desc.fieldIndex() == affCol) {
+                storageType = U.box(desc.storageType());
+
+                break;
+            }
+        }
+
+        if (storageType == null)
+            return null;
+
+        ToIntFunction<Object> affFunc = ctx.affinityService().affinity(distr.function().cacheId());
+
+        BitSet parts = partitions(scan.condition(), affRef, storageType, affFunc, ctx, partsCnt);
+
+        // Empty set means the condition is never satisfied, scan partitions as is in this rare case.
+        return parts == null || parts.isEmpty() ? null : parts;
+    }
+
+    /** */
+    private static @Nullable BitSet partitions(
+        RexNode cond,
+        int affRef,
+        Class<?> storageType,
+        ToIntFunction<Object> affFunc,
+        MappingQueryContext ctx,
+        int partsCnt
+    ) {
+        switch (cond.getKind()) {
+            case AND: {
+                BitSet res = null;
+
+                for (RexNode op : ((RexCall)cond).getOperands()) {
+                    BitSet parts = partitions(op, affRef, storageType, affFunc, ctx, partsCnt);
+
+                    if (parts == null)
+                        continue;
+
+                    if (res == null)
+                        res = parts;
+                    else
+                        res.and(parts);
+                }
+
+                return res;
+            }
+
+            case OR: {
+                BitSet res = new BitSet(partsCnt);
+
+                for (RexNode op : ((RexCall)cond).getOperands()) {
+                    BitSet parts = partitions(op, affRef, storageType, affFunc, ctx, partsCnt);
+
+                    if (parts == null)
+                        return null;
+
+                    res.or(parts);
+                }
+
+                return res;
+            }
+
+            case EQUALS: {
+                RexCall call = (RexCall)cond;
+
+                RexNode left = call.getOperands().get(0);
+                RexNode right = call.getOperands().get(1);
+
+                if (isAffinityRef(right, affRef)) {
+                    RexNode tmp = left;
+
+                    left = right;
+                    right = tmp;
+                }
+
+                if (!isAffinityRef(left, affRef))
+                    return null;
+
+                Object val = value(right, storageType, ctx);
+
+                if (val == UNKNOWN)
+                    return null;
+
+                BitSet res = new BitSet(partsCnt);
+
+                // NULL is never equal to anything.
+                if (val != null)
+                    res.set(affFunc.applyAsInt(val));
+
+                return res;
+            }
+
+            case SEARCH: {
+                RexCall call = (RexCall)cond;
+
+                if (!isAffinityRef(call.getOperands().get(0), affRef))
+                    return null;
+
+                Sarg<?> sarg = ((RexLiteral)call.getOperands().get(1)).getValueAs(Sarg.class);
+
+                if (sarg == null || !sarg.isPoints() || sarg.nullAs == RexUnknownAs.TRUE)
+                    return null;
+
+                BitSet res = new BitSet(partsCnt);
+
+                for (Range<?> range : sarg.rangeSet.asRanges()) {
+                    Object val = convert(range.lowerEndpoint(), storageType);
+
+                    if (val == UNKNOWN)
+                        return null;
+
+                    if (val != null)
+                        res.set(affFunc.applyAsInt(val));
+                }
+
+                return res;
+            }
+
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return {@code True} if the node is a reference to the affinity column (scan conditions may contain
+     * either input or local references to the scanned row).
+     */
+    private static boolean isAffinityRef(RexNode node, int affRef) {
+        return node instanceof RexSlot && ((RexSlot)node).getIndex() == affRef;
+    }
+
+    /** */
+    private static Object value(RexNode node, Class<?> storageType, MappingQueryContext ctx) {
+        // Numeric casts are safe to skip, since inexact or out of range values are not converted.
+        if (node.getKind() == SqlKind.CAST && storageType != String.class)
+            node = ((RexCall)node).getOperands().get(0);
+
+        if (node instanceof RexLiteral)
+            return convert(((RexLiteral)node).getValue(), storageType);
+
+        if (node instanceof RexDynamicParam)
+            return convert(ctx.parameter(((RexDynamicParam)node).getIndex()), storageType);
+
+        return UNKNOWN;
+    }
+
+    /**
+     * Converts a value to the storage type of the affinity column.
+     *
+     * @param val Value.
+     * @param storageType Storage type.
+     * @return Converted value or {@link #UNKNOWN} if the value can't be converted exactly.
+     */
+    private static Object convert(Object val, Class<?> storageType) {
+        if (val == null)
+            return null;
+
+        if (storageType == String.class) {
+            if (val instanceof NlsString)
+                return ((NlsString)val).getValue();
+
+            return val instanceof String ? val : UNKNOWN;
+        }
+
+        if (storageType != Long.class && storageType != Integer.class && storageType != Short.class
+            && storageType != Byte.class)
+            return UNKNOWN;
+
+        long longVal;
+
+        if (val instanceof Long || val instanceof Integer || val instanceof Short || val instanceof Byte)
+            longVal = ((Number)val).longValue();
+        else if (val instanceof BigDecimal) {
+            try {
+                longVal = ((BigDecimal)val).longValueExact();
+            }
+            catch (ArithmeticException ignored) {
+                return UNKNOWN;
+            }
+        }
+        else
+            return UNKNOWN;
+
+        if (storageType == Long.class)
+            return longVal;
+        else if (storageType == Integer.class)
+            return longVal == (int)longVal ? (Object)(int)longVal : UNKNOWN;
+        else if (storageType == Short.class)
+            return longVal == (short)longVal ? (Object)(short)longVal : UNKNOWN;
+        else
+            return longVal == (byte)longVal ? (Object)(byte)longVal : UNKNOWN;
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.processors.query.calcite.prepare;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
@@ -24,6 +25,7 @@ import java.util.function.Supplier;
 import com.google.common.collect.ImmutableList;
 import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.ignite.internal.processors.query.calcite.metadata.ColocationMappingException;
 import org.apache.ignite.internal.processors.query.calcite.metadata.FragmentMapping;
@@ -34,6 +36,8 @@ import org.apache.ignite.internal.processors.query.calcite.metadata.NodeMappingE
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteReceiver;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteRel;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteSender;
+import org.apache.ignite.internal.processors.query.calcite.rel.ProjectableFilterableTableScan;
+import org.apache.ignite.internal.processors.query.calcite.rel.SourceAwareIgniteRel;
 import org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistributions;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.typedef.internal.S;
@@ -145,6 +149,11 @@ public class Fragment {
             if (rootFragment())
                 mapping = FragmentMapping.create(ctx.localNodeId()).colocate(mapping);
 
+            List<ProjectableFilterableTableScan> scans = scans();
+
+            if (scans != null)
+                mapping = mapping.prune(scans, ctx);
+
             if (single() && mapping.nodeIds().size() > 1) {
                 // this is possible when the fragment contains scan of a replicated cache, which brings
                 // several nodes (actually all containing nodes) to the colocation group, but this fragment
@@ -168,6 +177,41 @@ public class Fragment {
         return () -> mappingSrvc.executionNodes(ctx.topologyVersion(), single(), null);
     }
 
+    /**
+     * @return Table scans of the fragment or {@code null} if the fragment has other data sources.
+     */
+    private @Nullable List<ProjectableFilterableTableScan> scans() {
+        if (!remotes.isEmpty())
+            return null;
+
+        List<SourceAwareIgniteRel> sources = new ArrayList<>();
+
+        collectSources(root, sources);
+
+        if (sources.isEmpty())
+            return null;
+
+        List<ProjectableFilterableTableScan> scans = new ArrayList<>(sources.size());
+
+        for (SourceAwareIgniteRel source : sources) {
+            if (!(source instanceof ProjectableFilterableTableScan))
+                return null;
+
+            scans.add((ProjectableFilterableTableScan)source);
+        }
+
+        return scans;
+    }
+
+    /** */
+    private static void collectSources(RelNode rel, List<SourceAwareIgniteRel> sources) {
+        if (rel instanceof SourceAwareIgniteRel)
+            sources.add((SourceAwareIgniteRel)rel);
+
+        for (RelNode input : rel.getInputs())
+            collectSources(input, sources);
+    }
+
     /** */
     private boolean single() {
         return root instanceof IgniteSender
@@ -21,9 +21,11 @@ import java.util.UUID;
 import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.rel.metadata.CachingRelMetadataProvider;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.query.calcite.metadata.AffinityService;
 import org.apache.ignite.internal.processors.query.calcite.metadata.IgniteMetadata;
 import org.apache.ignite.internal.processors.query.calcite.metadata.RelMetadataQueryEx;
 import org.apache.ignite.internal.processors.query.calcite.util.Commons;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Query mapping context.
@@ -35,13 +37,34 @@ public class MappingQueryContext {
     /** */
     private final AffinityTopologyVersion topVer;
 
+    /** Affinity service, {@code null} if partition pruning is not available. */
+    private final AffinityService affSrvc;
+
+    /** Query parameters. */
+    private final Object[] params;
+
+    /** Whether the mapping depends on query parameters. */
+    private boolean paramsUsed;
+
     /** */
     private RelOptCluster cluster;
 
     /** */
     public MappingQueryContext(UUID locNodeId, AffinityTopologyVersion topVer) {
+        this(locNodeId, topVer, null, null);
+    }
+
+    /** */
+    public MappingQueryContext(
+        UUID locNodeId,
+        AffinityTopologyVersion topVer,
+        @Nullable AffinityService affSrvc,
+        @Nullable Object[] params
+    ) {
         this.locNodeId = locNodeId;
         this.topVer = topVer;
+        this.affSrvc = affSrvc;
+        this.params = params;
     }
 
     /** */
@@ -54,6 +77,33 @@ public class MappingQueryContext {
         return topVer;
     }
 
+    /** */
+    public @Nullable AffinityService affinityService() {
+        return affSrvc;
+    }
+
+    /**
+     * Gets query parameter value. Marks the mapping as dependent on query parameters, such a mapping
+     * can't be reused by the other executions of the query.
+     *
+     * @param idx Parameter index.
+     * @return Parameter value.
+     */
+    public Object parameter(int idx) {
+        assert params != null && idx < params.length : "Unexpected parameter [idx=" + idx + ']';
+
+        paramsUsed = true;
+
+        return params[idx];
+    }
+
+    /**
+     * @return {@code True} if the mapping depends on query parameters.
+     */
+    public boolean parametersUsed() {
+        return paramsUsed;
+    }
+
     /** Creates a cluster. */
     RelOptCluster cluster() {
         if (cluster == null) {
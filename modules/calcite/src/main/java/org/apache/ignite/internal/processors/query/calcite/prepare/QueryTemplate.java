@@ -68,7 +68,9 @@ public class QueryTemplate {
             try {
                 ExecutionPlan executionPlan0 = new ExecutionPlan(ctx.topologyVersion(), map(mappingService, fragments, ctx, mq));
 
-                if (executionPlan == null || executionPlan.topologyVersion().before(executionPlan0.topologyVersion()))
+                // Mapping, which depends on query parameters (partitions are pruned), can't be reused.
+                if (!ctx.parametersUsed() &&
+                    (executionPlan == null || executionPlan.topologyVersion().before(executionPlan0.topologyVersion())))
                     this.executionPlan.compareAndSet(executionPlan, executionPlan0);
 
                 return executionPlan0;
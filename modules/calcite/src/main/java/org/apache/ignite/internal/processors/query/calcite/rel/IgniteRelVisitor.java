@@ -64,6 +64,11 @@ public interface IgniteRelVisitor<T> {
      */
     T visit(IgniteMergeJoin rel);
 
+    /**
+     * See {@link IgniteRelVisitor#visit(IgniteRel)}
+     */
+    T visit(IgniteHashJoin rel);
+
     /**
      * See {@link IgniteRelVisitor#visit(IgniteRel)}
      */
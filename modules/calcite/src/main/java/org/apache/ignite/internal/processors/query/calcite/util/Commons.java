@@ -60,6 +60,7 @@ import org.apache.ignite.internal.processors.query.IgniteSQLException;
 import org.apache.ignite.internal.processors.query.QueryContext;
 import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.ExpressionFactoryImpl;
+import org.apache.ignite.internal.processors.query.calcite.metadata.AffinityService;
 import org.apache.ignite.internal.processors.query.calcite.prepare.BaseQueryContext;
 import org.apache.ignite.internal.processors.query.calcite.prepare.MappingQueryContext;
 import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
@@ -446,4 +447,14 @@ public final class Commons {
     public static MappingQueryContext mapContext(UUID locNodeId, AffinityTopologyVersion topVer) {
         return new MappingQueryContext(locNodeId, topVer);
     }
+
+    /** */
+    public static MappingQueryContext mapContext(
+        UUID locNodeId,
+        AffinityTopologyVersion topVer,
+        AffinityService affSrvc,
+        Object[] params
+    ) {
+        return new MappingQueryContext(locNodeId, topVer, affSrvc, params);
+    }
 }
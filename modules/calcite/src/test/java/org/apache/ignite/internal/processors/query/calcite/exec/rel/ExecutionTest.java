@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import com.google.common.collect.ImmutableSet;
 import org.apache.calcite.rel.core.CorrelationId;
 import org.apache.calcite.rel.core.JoinRelType;
@@ -127,6 +128,106 @@ public class ExecutionTest extends AbstractExecutionTest {
         Assert.assertArrayEquals(new Object[] {2, "Ivan", "Ignite"}, rows.get(1));
     }
 
+    /**
+     * Checks that rows are passed from scan through filter and projection by batches.
+     */
+    @Test
+    public void testBatchedExecution() {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+        IgniteTypeFactory tf = ctx.getTypeFactory();
+        RelDataType rowType = TypeUtils.createRowType(tf, int.class, String.class);
+
+        int rowsCnt = 10_000;
+
+        List<Object[]> data = new ArrayList<>(rowsCnt);
+
+        for (int i = 0; i < rowsCnt; i++)
+            data.add(row(i, "val" + i));
+
+        ScanNode<Object[]> scan = new ScanNode<>(ctx, rowType, data);
+
+        FilterNode<Object[]> filter = new FilterNode<>(ctx, rowType, r -> (Integer)r[0] % 2 == 0);
+        filter.register(scan);
+
+        AtomicInteger batches = new AtomicInteger();
+
+        RelDataType prjType = TypeUtils.createRowType(tf, String.class);
+
+        ProjectNode<Object[]> project = new ProjectNode<Object[]>(ctx, prjType, r -> row(r[1])) {
+            @Override public void pushBatch(List<Object[]> rows) throws Exception {
+                batches.incrementAndGet();
+
+                super.pushBatch(rows);
+            }
+        };
+        project.register(filter);
+
+        RootNode<Object[]> root = new RootNode<>(ctx, prjType);
+        root.register(project);
+
+        List<Object[]> res = new ArrayList<>();
+
+        while (root.hasNext())
+            res.add(root.next());
+
+        assertEquals(rowsCnt / 2, res.size());
+
+        for (int i = 0; i < res.size(); i++)
+            Assert.assertArrayEquals(row("val" + i * 2), res.get(i));
+
+        assertTrue("Unexpected batches count: " + batches.get(), batches.get() > 0 && batches.get() <= rowsCnt / 100);
+    }
+
+    /**
+     * Checks that rows are passed from scan through filter and projection one by one if batch size is 1.
+     */
+    @Test
+    public void testRowByRowExecution() {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+        IgniteTypeFactory tf = ctx.getTypeFactory();
+        RelDataType rowType = TypeUtils.createRowType(tf, int.class, String.class);
+
+        int rowsCnt = 10_000;
+
+        List<Object[]> data = new ArrayList<>(rowsCnt);
+
+        for (int i = 0; i < rowsCnt; i++)
+            data.add(row(i, "val" + i));
+
+        ScanNode<Object[]> scan = new ScanNode<>(ctx, rowType, data, 1);
+
+        FilterNode<Object[]> filter = new FilterNode<>(ctx, rowType, r -> (Integer)r[0] % 2 == 0, 1);
+        filter.register(scan);
+
+        AtomicInteger batches = new AtomicInteger();
+
+        RelDataType prjType = TypeUtils.createRowType(tf, String.class);
+
+        ProjectNode<Object[]> project = new ProjectNode<Object[]>(ctx, prjType, r -> row(r[1])) {
+            @Override public void pushBatch(List<Object[]> rows) throws Exception {
+                batches.incrementAndGet();
+
+                super.pushBatch(rows);
+            }
+        };
+        project.register(filter);
+
+        RootNode<Object[]> root = new RootNode<>(ctx, prjType);
+        root.register(project);
+
+        List<Object[]> res = new ArrayList<>();
+
+        while (root.hasNext())
+            res.add(root.next());
+
+        assertEquals(rowsCnt / 2, res.size());
+
+        for (int i = 0; i < res.size(); i++)
+            Assert.assertArrayEquals(row("val" + i * 2), res.get(i));
+
+        assertEquals(0, batches.get());
+    }
+
     /**
      *
      */
@@ -0,0 +1,373 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiPredicate;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.util.ImmutableIntList;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.util.TypeUtils;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.apache.calcite.rel.core.JoinRelType.ANTI;
+import static org.apache.calcite.rel.core.JoinRelType.FULL;
+import static org.apache.calcite.rel.core.JoinRelType.INNER;
+import static org.apache.calcite.rel.core.JoinRelType.LEFT;
+import static org.apache.calcite.rel.core.JoinRelType.RIGHT;
+import static org.apache.calcite.rel.core.JoinRelType.SEMI;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+/** */
+@WithSystemProperty(key = "calcite.debug", value = "true")
+public class HashJoinExecutionTest extends AbstractExecutionTest {
+    /** */
+    public static final Object[][] EMPTY = new Object[0][];
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Before
+    @Override public void setup() throws Exception {
+        nodesCnt = 1;
+        super.setup();
+    }
+
+    /** */
+    @Test
+    public void joinEmptyTables() {
+        for (JoinRelType joinType : EnumSet.of(INNER, LEFT, RIGHT, FULL, SEMI, ANTI))
+            verifyJoin(EMPTY, EMPTY, joinType, EMPTY);
+    }
+
+    /** */
+    @Test
+    public void joinEmptyLeftTable() {
+        Object[][] right = {
+            {1, "Core"},
+            {1, "OLD_Core"},
+            {2, "SQL"}
+        };
+
+        verifyJoin(EMPTY, right, INNER, EMPTY);
+        verifyJoin(EMPTY, right, LEFT, EMPTY);
+        verifyJoin(EMPTY, right, RIGHT, new Object[][] {
+            {null, null, "Core"},
+            {null, null, "OLD_Core"},
+            {null, null, "SQL"}
+        });
+        verifyJoin(EMPTY, right, FULL, new Object[][] {
+            {null, null, "Core"},
+            {null, null, "OLD_Core"},
+            {null, null, "SQL"}
+        });
+        verifyJoin(EMPTY, right, SEMI, EMPTY);
+        verifyJoin(EMPTY, right, ANTI, EMPTY);
+    }
+
+    /** */
+    @Test
+    public void joinEmptyRightTable() {
+        Object[][] left = {
+            {1, "Roman", null},
+            {2, "Igor", 1},
+            {3, "Alexey", 2}
+        };
+
+        verifyJoin(left, EMPTY, INNER, EMPTY);
+        verifyJoin(left, EMPTY, LEFT, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", null},
+            {3, "Alexey", null}
+        });
+        verifyJoin(left, EMPTY, RIGHT, EMPTY);
+        verifyJoin(left, EMPTY, FULL, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", null},
+            {3, "Alexey", null}
+        });
+        verifyJoin(left, EMPTY, SEMI, EMPTY);
+        verifyJoin(left, EMPTY, ANTI, new Object[][] {
+            {1, "Roman"},
+            {2, "Igor"},
+            {3, "Alexey"}
+        });
+    }
+
+    /** */
+    @Test
+    public void joinManyToMany() {
+        Object[][] left = {
+            {1, "Roman", null},
+            {2, "Igor", 1},
+            {3, "Taras", 1},
+            {4, "Alexey", 2},
+            {5, "Ivan", 4},
+            {6, "Andrey", 4}
+        };
+
+        Object[][] right = {
+            {4, "QA"},
+            {1, "Core"},
+            {3, "Arch"},
+            {2, "SQL"},
+            {1, "OLD_Core"},
+            {4, "OLD_QA"},
+        };
+
+        verifyJoin(left, right, INNER, new Object[][] {
+            {2, "Igor", "Core"},
+            {2, "Igor", "OLD_Core"},
+            {3, "Taras", "Core"},
+            {3, "Taras", "OLD_Core"},
+            {4, "Alexey", "SQL"},
+            {5, "Ivan", "QA"},
+            {5, "Ivan", "OLD_QA"},
+            {6, "Andrey", "QA"},
+            {6, "Andrey", "OLD_QA"}
+        });
+        verifyJoin(left, right, LEFT, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", "Core"},
+            {2, "Igor", "OLD_Core"},
+            {3, "Taras", "Core"},
+            {3, "Taras", "OLD_Core"},
+            {4, "Alexey", "SQL"},
+            {5, "Ivan", "QA"},
+            {5, "Ivan", "OLD_QA"},
+            {6, "Andrey", "QA"},
+            {6, "Andrey", "OLD_QA"}
+        });
+        verifyJoin(left, right, RIGHT, new Object[][] {
+            {2, "Igor", "Core"},
+            {2, "Igor", "OLD_Core"},
+            {3, "Taras", "Core"},
+            {3, "Taras", "OLD_Core"},
+            {4, "Alexey", "SQL"},
+            {5, "Ivan", "QA"},
+            {5, "Ivan", "OLD_QA"},
+            {6, "Andrey", "QA"},
+            {6, "Andrey", "OLD_QA"},
+            {null, null, "Arch"}
+        });
+        verifyJoin(left, right, FULL, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", "Core"},
+            {2, "Igor", "OLD_Core"},
+            {3, "Taras", "Core"},
+            {3, "Taras", "OLD_Core"},
+            {4, "Alexey", "SQL"},
+            {5, "Ivan", "QA"},
+            {5, "Ivan", "OLD_QA"},
+            {6, "Andrey", "QA"},
+            {6, "Andrey", "OLD_QA"},
+            {null, null, "Arch"}
+        });
+        verifyJoin(left, right, SEMI, new Object[][] {
+            {2, "Igor"},
+            {3, "Taras"},
+            {4, "Alexey"},
+            {5, "Ivan"},
+            {6, "Andrey"},
+        });
+        verifyJoin(left, right, ANTI, new Object[][] {
+            {1, "Roman"}
+        });
+    }
+
+    /** */
+    @Test
+    public void joinOnNullField() {
+        Object[][] left = {
+            {1, "Roman", null},
+            {2, "Igor", null},
+            {3, "Alexey", 1},
+            {4, "Ivan", 2}
+        };
+
+        Object[][] right = {
+            {null, "Core"},
+            {null, "OLD_Core"},
+            {1, "SQL"},
+            {2, "QA"}
+        };
+
+        verifyJoin(left, right, INNER, new Object[][] {
+            {3, "Alexey", "SQL"},
+            {4, "Ivan", "QA"},
+        });
+        verifyJoin(left, right, LEFT, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", null},
+            {3, "Alexey", "SQL"},
+            {4, "Ivan", "QA"},
+        });
+        verifyJoin(left, right, RIGHT, new Object[][] {
+            {3, "Alexey", "SQL"},
+            {4, "Ivan", "QA"},
+            {null, null, "Core"},
+            {null, null, "OLD_Core"},
+        });
+        verifyJoin(left, right, FULL, new Object[][] {
+            {1, "Roman", null},
+            {2, "Igor", null},
+            {3, "Alexey", "SQL"},
+            {4, "Ivan", "QA"},
+            {null, null, "Core"},
+            {null, null, "OLD_Core"},
+        });
+        verifyJoin(left, right, SEMI, new Object[][] {
+            {3, "Alexey"},
+            {4, "Ivan"},
+        });
+        verifyJoin(left, right, ANTI, new Object[][] {
+            {1, "Roman"},
+            {2, "Igor"},
+        });
+    }
+
+    /** */
+    @Test
+    public void joinWithNonEquiCondition() {
+        Object[][] left = {
+            {1, "Roman", 1},
+            {2, "Igor", 1},
+            {3, "Alexey", 2}
+        };
+
+        Object[][] right = {
+            {1, "Core"},
+            {1, "OLD_Core"},
+            {2, "SQL"},
+            {3, "QA"}
+        };
+
+        // Matches right rows, which name doesn't start with "OLD_".
+        BiPredicate<Object[], Object[]> nonEquiCond = (l, r) -> !((String)r[4]).startsWith("OLD_");
+
+        verifyJoin(left, right, INNER, nonEquiCond, new Object[][] {
+            {1, "Roman", "Core"},
+            {2, "Igor", "Core"},
+            {3, "Alexey", "SQL"},
+        });
+        verifyJoin(left, right, FULL, nonEquiCond, new Object[][] {
+            {1, "Roman", "Core"},
+            {2, "Igor", "Core"},
+            {3, "Alexey", "SQL"},
+            {null, null, "OLD_Core"},
+            {null, null, "QA"},
+        });
+        verifyJoin(left, right, SEMI, (l, r) -> ((String)r[4]).startsWith("OLD_"), new Object[][] {
+            {1, "Roman"},
+            {2, "Igor"},
+        });
+        verifyJoin(left, right, ANTI, (l, r) -> ((String)r[4]).startsWith("OLD_"), new Object[][] {
+            {3, "Alexey"},
+        });
+    }
+
+    /** */
+    private void verifyJoin(Object[][] left, Object[][] right, JoinRelType joinType, Object[][] expRes) {
+        verifyJoin(left, right, joinType, null, expRes);
+    }
+
+    /**
+     * Creates execution tree and executes it. Then compares the result of the execution with the given one.
+     * Since not matched right rows are emitted in the order of the hash table, the comparison ignores rows order.
+     *
+     * @param left Data for left table.
+     * @param right Data for right table.
+     * @param joinType Join type.
+     * @param nonEquiCond Non-equi condition.
+     * @param expRes Expected result.
+     */
+    private void verifyJoin(
+        Object[][] left,
+        Object[][] right,
+        JoinRelType joinType,
+        BiPredicate<Object[], Object[]> nonEquiCond,
+        Object[][] expRes
+    ) {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+
+        RelDataType leftType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class, Integer.class);
+        ScanNode<Object[]> leftNode = new ScanNode<>(ctx, leftType, Arrays.asList(left));
+
+        RelDataType rightType = TypeUtils.createRowType(ctx.getTypeFactory(), Integer.class, String.class);
+        ScanNode<Object[]> rightNode = new ScanNode<>(ctx, rightType, Arrays.asList(right));
+
+        boolean semiOrAnti = joinType == SEMI || joinType == ANTI;
+
+        RelDataType outType;
+        if (semiOrAnti)
+            outType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class, Integer.class);
+        else {
+            outType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class, Integer.class,
+                Integer.class, String.class);
+        }
+
+        // Non-equi condition is checked against concatenated row.
+        BiPredicate<Object[], Object[]> cond = nonEquiCond == null ? null :
+            (l, r) -> nonEquiCond.test(l, ctx.rowHandler().concat(l, r));
+
+        HashJoinNode<Object[]> join = HashJoinNode.create(ctx, outType, leftType, rightType, joinType,
+            ImmutableIntList.of(2), ImmutableIntList.of(0), cond, false);
+
+        join.register(F.asList(leftNode, rightNode));
+
+        RelDataType rowType;
+        ProjectNode<Object[]> project;
+        if (semiOrAnti) {
+            rowType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class);
+            project = new ProjectNode<>(ctx, rowType, r -> new Object[] {r[0], r[1]});
+        }
+        else {
+            rowType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class, String.class);
+            project = new ProjectNode<>(ctx, rowType, r -> new Object[] {r[0], r[1], r[4]});
+        }
+        project.register(join);
+
+        RootNode<Object[]> node = new RootNode<>(ctx, rowType);
+        node.register(project);
+
+        List<Object[]> rows = new ArrayList<>();
+
+        while (node.hasNext())
+            rows.add(node.next());
+
+        Comparator<Object[]> cmp = Comparator.comparing(Arrays::toString);
+
+        Object[][] res = rows.toArray(EMPTY);
+        Object[][] exp = expRes.clone();
+
+        Arrays.sort(res, cmp);
+        Arrays.sort(exp, cmp);
+
+        Assert.assertThat(res, equalTo(exp));
+    }
+}
@@ -112,6 +112,17 @@ public class MemoryTrackerTest extends GridCommonAbstractTest {
 
         assertEquals(0, qryTracker3.allocated());
         assertEquals(0, globalTracker.allocated());
+
+        // Row tracker should continue to report allocations after reset.
+        rowTracker1.onRowAdded(new Object[1]);
+
+        assertEquals(ExecutionNodeMemoryTracker.BATCH_SIZE, qryTracker1.allocated());
+        assertEquals(ExecutionNodeMemoryTracker.BATCH_SIZE, globalTracker.allocated());
+
+        rowTracker1.reset();
+
+        assertEquals(0, qryTracker1.allocated());
+        assertEquals(0, globalTracker.allocated());
     }
 
     /** */
@@ -17,12 +17,12 @@
 
 package org.apache.ignite.internal.processors.query.calcite.integration;
 
-import org.apache.ignite.IgniteException;
 import org.apache.ignite.cache.query.QueryCursor;
 import org.apache.ignite.calcite.CalciteQueryEngineConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.configuration.SqlConfiguration;
 import org.apache.ignite.internal.processors.query.calcite.QueryChecker;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.MemoryQuotaExceededException;
 import org.apache.ignite.testframework.GridTestUtils;
 import org.junit.Test;
 
@@ -69,7 +69,7 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
             .resultSize(800)
             .check();
 
-        assertThrows("SELECT id, b FROM tbl ORDER BY id", IgniteException.class, "Query quota exceeded");
+        assertThrows("SELECT id, b FROM tbl ORDER BY id", MemoryQuotaExceededException.class, "Query quota exceeded");
     }
 
     /** */
@@ -80,14 +80,14 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
             .resultSize(1)
             .check();
 
-        assertThrows("SELECT MAP(SELECT id, b FROM tbl)", IgniteException.class, "Query quota exceeded");
+        assertThrows("SELECT MAP(SELECT id, b FROM tbl)", MemoryQuotaExceededException.class, "Query quota exceeded");
 
         assertQuery("SELECT ARRAY(SELECT b FROM tbl WHERE id < 800)")
             .matches(QueryChecker.containsSubPlan("IgniteCollect"))
             .resultSize(1)
             .check();
 
-        assertThrows("SELECT ARRAY(SELECT b FROM tbl)", IgniteException.class, "Query quota exceeded");
+        assertThrows("SELECT ARRAY(SELECT b FROM tbl)", MemoryQuotaExceededException.class, "Query quota exceeded");
     }
 
     /** */
@@ -100,7 +100,7 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
             .check();
 
         assertThrows("SELECT id, b FROM tbl EXCEPT (SELECT 0, x'00')",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
 
         sql("CREATE TABLE tbl2 (id INT, b VARBINARY) WITH TEMPLATE=PARTITIONED");
 
@@ -121,12 +121,12 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
         // On map phase.
         assertThrows("SELECT /*+ DISABLE_RULE('ColocatedMinusConverterRule') */ * FROM " +
             "(SELECT id, b FROM tbl2 EXCEPT SELECT id+1000, b FROM tbl3)",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
 
         // On reduce phase.
         assertThrows("SELECT /*+ DISABLE_RULE('ColocatedMinusConverterRule') */ * FROM " +
                 "(SELECT id, b FROM tbl2 EXCEPT SELECT 0, x'00')",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
     }
 
     /** */
@@ -139,7 +139,7 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
             .check();
 
         assertThrows("SELECT id, b FROM tbl INTERSECT (SELECT 0, x'00')",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
 
         sql("CREATE TABLE tbl2 (id INT, b VARBINARY) WITH TEMPLATE=PARTITIONED");
 
@@ -160,12 +160,12 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
         // On map phase.
         assertThrows("SELECT /*+ DISABLE_RULE('ColocatedIntersectConverterRule') */ * FROM " +
                 "(SELECT id, b FROM tbl2 INTERSECT SELECT 0, x'00')",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
 
         // On reduce phase.
         assertThrows("SELECT /*+ DISABLE_RULE('ColocatedIntersectConverterRule') */ * FROM " +
                 "(SELECT id, b FROM tbl2 WHERE id < 1000 INTERSECT SELECT 0, x'00')",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
     }
 
     /** */
@@ -187,7 +187,7 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
 
         assertThrows("SELECT /*+ DISABLE_RULE('FilterSpoolMergeToSortedIndexSpoolRule') */ " +
                 "(SELECT b FROM tbl2 WHERE tbl2.id = tbl.id) FROM tbl",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
     }
 
     /** */
@@ -209,7 +209,7 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
 
         assertThrows("SELECT /*+ DISABLE_RULE('FilterSpoolMergeToHashIndexSpoolRule') */ " +
                 "(SELECT b FROM tbl2 WHERE tbl2.id = tbl.id) FROM tbl",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
     }
 
     /** */
@@ -229,7 +229,7 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
             sql("INSERT INTO tbl2 VALUES (?, ?)", i, new byte[1000]);
 
         assertThrows("SELECT (SELECT b FROM tbl2 WHERE tbl2.id = tbl.id) FROM tbl",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
     }
 
     /** */
@@ -240,7 +240,7 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
         for (int i = 0; i < 800; i++)
             sql("INSERT INTO tbl2 VALUES (?, ?)", i, new byte[1000]);
 
-        assertQuery("SELECT /*+ DISABLE_RULE('CorrelatedNestedLoopJoin', 'MergeJoinConverter') */ " +
+        assertQuery("SELECT /*+ DISABLE_RULE('CorrelatedNestedLoopJoin', 'MergeJoinConverter', 'HashJoinConverter') */ " +
             "tbl.id, tbl.b, tbl2.id, tbl2.b FROM tbl JOIN tbl2 USING (id)")
             .matches(QueryChecker.containsSubPlan("IgniteNestedLoopJoin"))
             .resultSize(800)
@@ -249,9 +249,9 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
         for (int i = 800; i < 1000; i++)
             sql("INSERT INTO tbl2 VALUES (?, ?)", i, new byte[1000]);
 
-        assertThrows("SELECT /*+ DISABLE_RULE('CorrelatedNestedLoopJoin', 'MergeJoinConverter') */" +
+        assertThrows("SELECT /*+ DISABLE_RULE('CorrelatedNestedLoopJoin', 'MergeJoinConverter', 'HashJoinConverter') */" +
                 "tbl.id, tbl.b, tbl2.id, tbl2.b FROM tbl JOIN tbl2 USING (id)",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
     }
 
     /** */
@@ -274,7 +274,7 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
             sql("INSERT INTO tbl2 VALUES (?, ?)", 0, new byte[1000]);
 
         assertThrows("SELECT ARRAY_AGG(b) FROM tbl2 GROUP BY id",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
 
         // Map-reduce.
         sql("CREATE TABLE tbl3 (id INT, b VARBINARY) WITH TEMPLATE=PARTITIONED");
@@ -294,14 +294,14 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
 
         // Reduce phase.
         assertThrows("SELECT ARRAY_AGG(b) FROM tbl3 GROUP BY id",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
 
         for (int i = 1000; i < 2000; i++)
             sql("INSERT INTO tbl3 VALUES (?, ?)", 0, new byte[1000]);
 
         // Map phase.
         assertThrows("SELECT ARRAY_AGG(b) FROM tbl3 GROUP BY id",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
     }
 
     /** */
@@ -314,7 +314,7 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
             .check();
 
         assertThrows("SELECT ANY_VALUE(b) FROM tbl GROUP BY id",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
 
         // Colocated AggAccumulator.
         assertQuery("SELECT ARRAY_AGG(b) FROM tbl WHERE id < 800")
@@ -323,7 +323,7 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
             .check();
 
         assertThrows("SELECT ARRAY_AGG(b) FROM tbl",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
 
         // Colocated AggAccumulator with ordering.
         assertQuery("SELECT ARRAY_AGG(b ORDER BY id) FROM tbl WHERE id < 800")
@@ -332,7 +332,7 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
             .check();
 
         assertThrows("SELECT ARRAY_AGG(b ORDER BY id) FROM tbl",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
 
         // Map-reduce.
         sql("CREATE TABLE tbl2 (id INT, b VARBINARY) WITH TEMPLATE=PARTITIONED");
@@ -347,7 +347,7 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
             .check();
 
         assertThrows("SELECT ANY_VALUE(b) FROM tbl2 GROUP BY id",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
 
         // Reduce phase AggAccumulator.
         assertQuery("SELECT ARRAY_AGG(b) FROM tbl2 WHERE id < 800")
@@ -356,17 +356,17 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
             .check();
 
         assertThrows("SELECT ARRAY_AGG(b) FROM tbl2",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
 
         // Map phase.
         for (int i = 1000; i < 2000; i++)
             sql("INSERT INTO tbl2 VALUES (?, ?)", i, new byte[1000]);
 
         assertThrows("SELECT ANY_VALUE(b) FROM tbl2 GROUP BY id",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
 
         assertThrows("SELECT ARRAY_AGG(b) FROM tbl2",
-            IgniteException.class, "Query quota exceeded");
+            MemoryQuotaExceededException.class, "Query quota exceeded");
     }
 
     /** */
@@ -393,7 +393,7 @@ public class MemoryQuotasIntegrationTest extends AbstractBasicIntegrationTest {
                     curs[i].iterator().next();
                 }
                 return null;
-            }, IgniteException.class, "Global memory quota for SQL queries exceeded");
+            }, MemoryQuotaExceededException.class, "Global memory quota for SQL queries exceeded");
         }
         finally {
             for (int i = 0; i < 20; i++) {
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.integration;
+
+import java.util.List;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.TestRecordingCommunicationSpi;
+import org.apache.ignite.internal.processors.query.calcite.message.QueryStartRequest;
+import org.junit.Test;
+
+/**
+ * Partition pruning test.
+ */
+public class PartitionPruningIntegrationTest extends AbstractBasicIntegrationTest {
+    /** */
+    private static final int ROWS_CNT = 100;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName).setCommunicationSpi(new TestRecordingCommunicationSpi());
+    }
+
+    /** */
+    @Test
+    public void testPruneByPrimaryKey() {
+        sql("CREATE TABLE t(id INT PRIMARY KEY, val VARCHAR) WITH \"backups=1\"");
+
+        for (int i = 0; i < ROWS_CNT; i++)
+            sql("INSERT INTO t VALUES (?, ?)", i, "val" + i);
+
+        for (int i = 0; i < ROWS_CNT; i++) {
+            checkPruned("SELECT val FROM t WHERE id = ?", 1, "val" + i, i);
+            checkPruned("SELECT val FROM t WHERE id = " + i, 1, "val" + i);
+        }
+
+        checkPruned("SELECT count(*) FROM t WHERE id IN (?, ?)", 2, 2L, 1, 2);
+        checkPruned("SELECT count(*) FROM t WHERE id = ? OR id = ?", 2, 2L, 1, 2);
+        checkPruned("SELECT count(*) FROM t WHERE id = ? AND val = ?", 1, 1L, 1, "val1");
+        checkPruned("SELECT count(*) FROM t WHERE id = ? AND val = ?", 1, 0L, 1, "val2");
+        checkPruned("SELECT count(*) FROM t WHERE id = ?", 1, 0L, ROWS_CNT);
+
+        checkNotPruned("SELECT count(*) FROM t WHERE val = ?", 1L, "val1");
+        checkNotPruned("SELECT count(*) FROM t WHERE id = ? OR val = ?", 2L, 1, "val2");
+        checkNotPruned("SELECT count(*) FROM t WHERE id > ?", (long)ROWS_CNT - 2, 1);
+    }
+
+    /** */
+    @Test
+    public void testPruneByStringKey() {
+        sql("CREATE TABLE t(name VARCHAR PRIMARY KEY, val INT)");
+
+        for (int i = 0; i < ROWS_CNT; i++)
+            sql("INSERT INTO t VALUES (?, ?)", "name" + i, i);
+
+        for (int i = 0; i < ROWS_CNT; i++) {
+            checkPruned("SELECT val FROM t WHERE name = ?", 1, i, "name" + i);
+            checkPruned("SELECT val FROM t WHERE name = 'name" + i + '\'', 1, i);
+        }
+    }
+
+    /**
+     * Checks the query result and that the query is sent to not more than {@code maxNodes} nodes.
+     */
+    private void checkPruned(String sql, int maxNodes, Object expRes, Object... params) {
+        int nodes = execute(sql, expRes, params);
+
+        assertTrue("Unexpected nodes count [sql=" + sql + ", nodes=" + nodes + ']', nodes <= maxNodes);
+    }
+
+    /**
+     * Checks the query result and that the query is sent to all server nodes.
+     */
+    private void checkNotPruned(String sql, Object expRes, Object... params) {
+        assertEquals(nodeCount(), execute(sql, expRes, params));
+    }
+
+    /**
+     * @return Count of nodes, the query fragments are sent to.
+     */
+    private int execute(String sql, Object expRes, Object... params) {
+        TestRecordingCommunicationSpi spi = TestRecordingCommunicationSpi.spi(client);
+
+        spi.record(QueryStartRequest.class);
+
+        List<List<?>> res = sql(sql, params);
+
+        assertEquals(1, res.size());
+        assertEquals(expRes, res.get(0).get(0));
+
+        return spi.recordedMessages(true).size();
+    }
+}
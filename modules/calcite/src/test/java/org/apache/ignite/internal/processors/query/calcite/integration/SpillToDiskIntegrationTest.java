@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.integration;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.calcite.CalciteQueryEngineConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.SqlConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.query.calcite.QueryChecker;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionServiceImpl;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.MemoryQuotaExceededException;
+import org.apache.ignite.internal.util.typedef.G;
+import org.junit.Test;
+
+/**
+ * Tests spilling rows to disk when memory quota is exceeded.
+ */
+public class SpillToDiskIntegrationTest extends AbstractBasicIntegrationTest {
+    /** */
+    private static final long QRY_MEMORY_QUOTA = 1_000_000L;
+
+    /** {@inheritDoc} */
+    @Override protected int nodeCount() {
+        return 2;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName).setSqlConfiguration(
+            new SqlConfiguration().setQueryEnginesConfiguration(new CalciteQueryEngineConfiguration()
+                .setQueryMemoryQuota(QRY_MEMORY_QUOTA).setSpillToDiskEnabled(true)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        sql("CREATE TABLE tbl (id INT, b VARBINARY) WITH TEMPLATE=REPLICATED");
+
+        for (int i = 0; i < 3000; i++)
+            sql("INSERT INTO tbl VALUES (?, ?)", (i * 7) % 3000, new byte[1000]);
+    }
+
+    /** */
+    @Test
+    public void testSortNode() throws Exception {
+        long created = createdSpillFiles();
+
+        assertQuery("SELECT id, b FROM tbl ORDER BY id")
+            .matches(QueryChecker.containsSubPlan("IgniteSort"))
+            .resultSize(3000)
+            .check();
+
+        List<List<?>> res = sql("SELECT id, b FROM tbl ORDER BY id DESC");
+
+        assertEquals(3000, res.size());
+
+        for (int i = 0; i < res.size(); i++)
+            assertEquals(2999 - i, res.get(i).get(0));
+
+        // Sort with limit keeps only limited count of rows in memory and doesn't spill.
+        assertThrows("SELECT id, b FROM tbl ORDER BY id LIMIT 2000", MemoryQuotaExceededException.class, "Query quota exceeded");
+
+        assertTrue(createdSpillFiles() > created);
+
+        assertNoSpillFiles();
+    }
+
+    /** */
+    @Test
+    public void testHashAggregateNode() throws Exception {
+        long created = createdSpillFiles();
+
+        List<List<?>> res = sql("SELECT id, b, COUNT(*) FROM tbl GROUP BY id, b");
+
+        assertEquals(3000, res.size());
+
+        Set<Integer> ids = new HashSet<>();
+
+        for (List<?> row : res) {
+            assertTrue(ids.add((Integer)row.get(0)));
+            assertEquals(1L, row.get(2));
+        }
+
+        assertQuery("SELECT COUNT(*) FROM (SELECT id, b FROM tbl GROUP BY id, b)")
+            .returns(3000L)
+            .check();
+
+        // Accumulators collecting rows can't be spilled.
+        assertThrows("SELECT id, ARRAY_AGG(b) FROM tbl GROUP BY id", MemoryQuotaExceededException.class,
+            "Query quota exceeded");
+
+        assertTrue(createdSpillFiles() > created);
+
+        assertNoSpillFiles();
+    }
+
+    /** */
+    @Test
+    public void testHashJoinNode() throws Exception {
+        long created = createdSpillFiles();
+
+        String hint = "/*+ DISABLE_RULE('CorrelatedNestedLoopJoin', 'MergeJoinConverter', 'NestedLoopJoinConverter') */ ";
+
+        assertQuery("SELECT " + hint + "t1.id, t1.b, t2.b FROM tbl t1 JOIN tbl t2 ON t1.id = t2.id")
+            .matches(QueryChecker.containsSubPlan("IgniteHashJoin"))
+            .resultSize(3000)
+            .check();
+
+        assertQuery("SELECT " + hint + "COUNT(t2.b) FROM (SELECT id FROM tbl WHERE id < 100) t1 " +
+            "RIGHT JOIN tbl t2 ON t1.id = t2.id")
+            .matches(QueryChecker.containsSubPlan("IgniteHashJoin"))
+            .returns(3000L)
+            .check();
+
+        assertQuery("SELECT " + hint + "COUNT(t2.id) FROM (SELECT id FROM tbl WHERE id < 100) t1 " +
+            "FULL JOIN tbl t2 ON t1.id = t2.id")
+            .matches(QueryChecker.containsSubPlan("IgniteHashJoin"))
+            .returns(3000L)
+            .check();
+
+        assertTrue(createdSpillFiles() > created);
+
+        assertNoSpillFiles();
+    }
+
+    /** */
+    @Test
+    public void testTableSpoolNode() throws Exception {
+        long created = createdSpillFiles();
+
+        assertQuery("SELECT (SELECT b FROM tbl t2 WHERE t2.id + 1 = t1.id + 1) FROM tbl t1 WHERE t1.id < 10")
+            .matches(QueryChecker.containsSubPlan("IgniteTableSpool"))
+            .resultSize(10)
+            .check();
+
+        assertTrue(createdSpillFiles() > created);
+
+        assertNoSpillFiles();
+    }
+
+    /** */
+    @Test
+    public void testSpillDirectoryCleanedOnStart() throws Exception {
+        File spillDir = new File(grid(0).configuration().getWorkDirectory(), ExecutionServiceImpl.SPILL_DIR);
+
+        File leftover;
+
+        try (Stream<Path> dirs = Files.list(spillDir.toPath())) {
+            leftover = new File(dirs.findFirst().orElseThrow(AssertionError::new).toFile(), "spill-leftover.tmp");
+        }
+
+        assertTrue(leftover.createNewFile());
+
+        stopGrid(0);
+
+        startGrid(0);
+
+        assertFalse(leftover.exists());
+
+        assertNoSpillFiles();
+    }
+
+    /** */
+    @Test
+    public void testNotSpillableNode() throws Exception {
+        assertThrows("SELECT ARRAY(SELECT b FROM tbl)", MemoryQuotaExceededException.class, "Query quota exceeded");
+
+        assertNoSpillFiles();
+    }
+
+    /** */
+    private long createdSpillFiles() {
+        long cnt = 0;
+
+        for (Ignite ign : G.allGrids()) {
+            ExecutionServiceImpl<?> execSvc = (ExecutionServiceImpl<?>)queryProcessor((IgniteEx)ign).executionService();
+
+            if (execSvc.spillStorage() != null)
+                cnt += execSvc.spillStorage().createdFiles();
+        }
+
+        return cnt;
+    }
+
+    /** */
+    private void assertNoSpillFiles() throws Exception {
+        File spillDir = new File(grid(0).configuration().getWorkDirectory(), ExecutionServiceImpl.SPILL_DIR);
+
+        assertTrue(spillDir.exists());
+
+        try (Stream<Path> files = Files.walk(spillDir.toPath())) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+}
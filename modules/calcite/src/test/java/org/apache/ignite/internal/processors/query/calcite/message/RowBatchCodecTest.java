@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.message;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.apache.ignite.marshaller.Marshaller;
+import org.apache.ignite.marshaller.jdk.JdkMarshaller;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests of rows batch encoding.
+ */
+public class RowBatchCodecTest extends GridCommonAbstractTest {
+    /** */
+    private final MarshallingContext ctx = new MarshallingContext() {
+        @Override public Marshaller marshaller() {
+            return JdkMarshaller.DEFAULT;
+        }
+
+        @Override public ClassLoader classLoader() {
+            return getClass().getClassLoader();
+        }
+    };
+
+    /** */
+    @Test
+    public void testEncodeDecode() throws Exception {
+        StringBuilder longStr = new StringBuilder();
+
+        for (int i = 0; i < 100_000; i++)
+            longStr.append((char)('a' + i % 26));
+
+        List<Object> rows = Arrays.asList(
+            new Object[] {null, true, (byte)1, (short)2, 3, 4L, 5.5f, 6.6d},
+            new Object[] {"str", "строка", longStr.toString(), ""},
+            new Object[] {new BigDecimal("-12345678901234567890.0123"), BigDecimal.ZERO, UUID.randomUUID()},
+            new Object[] {new byte[] {1, 2, 3}, new ArrayList<>(Arrays.asList(1, "2")), new Object[] {1, "nested"}},
+            new Object[0],
+            "not an array row"
+        );
+
+        List<Object> res = RowBatchCodec.decode(RowBatchCodec.encode(rows, ctx), ctx);
+
+        assertEquals(rows.size(), res.size());
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i) instanceof Object[])
+                assertTrue(Arrays.deepEquals((Object[])rows.get(i), (Object[])res.get(i)));
+            else
+                assertEquals(rows.get(i), res.get(i));
+        }
+    }
+
+    /** */
+    @Test
+    public void testEmptyBatch() throws Exception {
+        assertTrue(RowBatchCodec.decode(RowBatchCodec.encode(new ArrayList<>(), ctx), ctx).isEmpty());
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.planner;
+
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteHashJoin;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteSort;
+import org.apache.ignite.internal.processors.query.calcite.schema.IgniteSchema;
+import org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistributions;
+import org.junit.Test;
+
+/** HashJoin planner test. */
+public class HashJoinPlannerTest extends AbstractPlannerTest {
+    /** Only HashJoin encourage. */
+    private static final String[] DISABLED_RULES = {
+        "NestedLoopJoinConverter",
+        "CorrelatedNestedLoopJoin",
+        "MergeJoinConverter",
+        "JoinCommuteRule"
+    };
+
+    /** */
+    private final IgniteSchema schema = createSchema(
+        createTable("T1", 10_000, IgniteDistributions.single(), "ID", Integer.class, "C1", Integer.class,
+            "C2", Long.class),
+        createTable("T2", 10_000, IgniteDistributions.single(), "ID", Integer.class, "C1", Integer.class,
+            "C2", Long.class)
+    );
+
+    /**
+     * Checks that hash join is chosen for an equi-join on unsorted columns without explicitly disabled
+     * rules and no sorts are added to feed the merge join.
+     */
+    @Test
+    public void testHashJoinPreferredForUnsortedInputs() throws Exception {
+        String sql = "select * from T1 join T2 on T1.c1 = T2.c1";
+
+        assertPlan(sql, schema, nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class))
+            .and(nodeOrAnyChild(isInstanceOf(IgniteSort.class)).negate()));
+    }
+
+    /** Checks all supported join types. */
+    @Test
+    public void testJoinTypes() throws Exception {
+        for (JoinRelType joinType : new JoinRelType[] {JoinRelType.INNER, JoinRelType.LEFT, JoinRelType.RIGHT,
+            JoinRelType.FULL}) {
+            String sql = "select * from T1 " + joinType + " join T2 on T1.c1 = T2.c1";
+
+            assertPlan(sql, schema, nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class)
+                .and(j -> j.getJoinType() == joinType)), DISABLED_RULES);
+        }
+    }
+
+    /** Checks join with both equi and non-equi conditions. */
+    @Test
+    public void testEquiJoinWithNonEquiCondition() throws Exception {
+        String sql = "select * from T1 join T2 on T1.c1 = T2.c1 and T1.id > T2.id";
+
+        assertPlan(sql, schema, nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class)), DISABLED_RULES);
+    }
+
+    /** Checks hash join is not used without equi conditions. */
+    @Test
+    public void testNonEquiJoin() throws Exception {
+        String sql = "select * from T1 join T2 on T1.c1 > T2.c1";
+
+        assertPlan(sql, schema, nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class)).negate(),
+            "MergeJoinConverter", "CorrelatedNestedLoopJoin", "JoinCommuteRule");
+    }
+}
@@ -440,6 +440,7 @@ public class PlannerTest extends AbstractPlannerTest {
             ArrayRowHandler.INSTANCE,
             NoOpMemoryTracker.INSTANCE,
             NoOpIoTracker.INSTANCE,
+            null,
             Commons.parametersMap(ctx.parameters()));
 
         return new LogicalRelImplementor<>(ectx, c -> r -> 0, mailboxRegistry, exchangeSvc,
@@ -930,7 +931,7 @@ public class PlannerTest extends AbstractPlannerTest {
         String sql = "select d.deptno, d.name, e.id, e.name from dept d join emp e " +
             "on d.deptno = e.deptno and e.name >= d.name order by e.name, d.deptno";
 
-        RelNode phys = physicalPlan(sql, publicSchema, "CorrelatedNestedLoopJoin");
+        RelNode phys = physicalPlan(sql, publicSchema, "CorrelatedNestedLoopJoin", "HashJoinConverter");
 
         assertNotNull(phys);
         assertEquals("" +
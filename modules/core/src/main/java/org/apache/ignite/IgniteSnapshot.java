@@ -52,6 +52,17 @@ public interface IgniteSnapshot {
      */
     public IgniteFuture<Void> createIncrementalSnapshot(String snapshotName);
 
+    /**
+     * Create an incremental snapshot which contains only the data pages changed since the existing snapshot. The changed
+     * pages are marked only if {@link IgniteSystemProperties#IGNITE_SNAPSHOT_PAGE_TRACKING} is enabled on all baseline
+     * nodes, and the snapshot must be the last full snapshot created in the cluster. On restore the pages are written
+     * over the partition files of the snapshot, so only the last increment is needed.
+     *
+     * @param snapshotName Snapshot name.
+     * @return Future which will be completed when the process ends.
+     */
+    public IgniteFuture<Void> createPageDeltaSnapshot(String snapshotName);
+
     /**
      * Cancel running snapshot operation. All intermediate results of cancelled snapshot operation will be deleted.
      * If snapshot already created this command will have no effect.
@@ -95,4 +106,16 @@ public interface IgniteSnapshot {
      * future will be {@code false} if the restore process with the specified snapshot name is not running at all.
      */
     public IgniteFuture<Boolean> cancelSnapshotRestore(String name);
+
+    /**
+     * Create a consistent logical copy (dump) of cache groups entries from the whole cluster. Unlike the snapshot,
+     * the dump can be created for in-memory caches. Each node writes entries of its primary partitions to
+     * compressed files in the snapshot working directory. Entries are dumped as they were at the moment
+     * of the operation start.
+     *
+     * @param name Dump unique name which satisfies the following name pattern [a-zA-Z0-9_].
+     * @param cacheGroupNames Cache groups to be dumped or {@code null} to dump all user cache groups.
+     * @return Future which will be completed when the process ends.
+     */
+    public IgniteFuture<Void> createDump(String name, @Nullable Collection<String> cacheGroupNames);
 }
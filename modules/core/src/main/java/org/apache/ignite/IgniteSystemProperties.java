@@ -33,6 +33,7 @@ import org.apache.ignite.configuration.DeploymentMode;
 import org.apache.ignite.configuration.DiskPageCompression;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.internal.binary.BinaryArray;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBuildClosure;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineRecommender;
 import org.apache.ignite.internal.client.GridClient;
 import org.apache.ignite.internal.marshaller.optimized.OptimizedMarshaller;
@@ -63,6 +64,7 @@ import static org.apache.ignite.internal.LongJVMPauseDetector.DFLT_JVM_PAUSE_DET
 import static org.apache.ignite.internal.binary.BinaryArray.DFLT_IGNITE_USE_BINARY_ARRAYS;
 import static org.apache.ignite.internal.binary.streams.BinaryMemoryAllocator.DFLT_MARSHAL_BUFFERS_PER_THREAD_POOL_SIZE;
 import static org.apache.ignite.internal.binary.streams.BinaryMemoryAllocator.DFLT_MARSHAL_BUFFERS_RECHECK;
+import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBuildClosure.DFLT_IGNITE_INDEX_SORTED_BUILD_FILL_FACTOR;
 import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineRecommender.DFLT_THROTTLE_INLINE_SIZE_CALCULATION;
 import static org.apache.ignite.internal.managers.discovery.GridDiscoveryManager.DFLT_DISCOVERY_HISTORY_SIZE;
 import static org.apache.ignite.internal.processors.affinity.AffinityAssignment.DFLT_AFFINITY_BACKUPS_THRESHOLD;
@@ -78,6 +80,8 @@ import static org.apache.ignite.internal.processors.cache.GridCachePartitionExch
 import static org.apache.ignite.internal.processors.cache.GridCachePartitionExchangeManager.DFLT_EXCHANGE_HISTORY_SIZE;
 import static org.apache.ignite.internal.processors.cache.GridCachePartitionExchangeManager.DFLT_EXCHANGE_MERGE_DELAY;
 import static org.apache.ignite.internal.processors.cache.GridCacheProcessor.DFLT_ALLOW_START_CACHES_IN_PARALLEL;
+import static org.apache.ignite.internal.processors.cache.GridCacheSharedTtlCleanupManager.DFLT_TTL_BULK_EXPIRE_BATCH_SIZE;
+import static org.apache.ignite.internal.processors.cache.GridCacheSharedTtlCleanupManager.DFLT_TTL_BULK_EXPIRE_THREAD_CNT;
 import static org.apache.ignite.internal.processors.cache.GridCacheTtlManager.DFLT_UNWIND_THROTTLING_TIMEOUT;
 import static org.apache.ignite.internal.processors.cache.GridCacheUtils.DFLT_TTL_EXPIRE_BATCH_SIZE;
 import static org.apache.ignite.internal.processors.cache.WalStateManager.DFLT_DISABLE_WAL_DURING_REBALANCING;
@@ -93,9 +97,13 @@ import static org.apache.ignite.internal.processors.cache.distributed.dht.topolo
 import static org.apache.ignite.internal.processors.cache.mvcc.MvccCachingManager.DFLT_MVCC_TX_SIZE_CACHING_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager.DFLT_DEFRAGMENTATION_REGION_SIZE_PERCENTAGE;
 import static org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager.DFLT_PDS_WAL_REBALANCE_THRESHOLD;
+import static org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager.DFLT_RECOVERY_READ_AHEAD_RECORDS;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointHistory.DFLT_PDS_MAX_CHECKPOINT_MEMORY_HISTORY_SIZE;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointMarkersStorage.DFLT_IGNITE_CHECKPOINT_MAP_SNAPSHOT_THRESHOLD;
+import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointPagesWriter.DFLT_CHECKPOINT_WRITE_COALESCE_PAGES;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointWorkflow.DFLT_CHECKPOINT_PARALLEL_SORT_THRESHOLD;
+import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.OnlineDefragmentation.DFLT_ONLINE_DEFRAGMENTATION_PAGE_FREE_SPACE_PERCENTAGE;
+import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.OnlineDefragmentation.DFLT_ONLINE_DEFRAGMENTATION_RATE_LIMIT;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerFactory.DFLT_PAGE_LOCK_TRACKER_CAPACITY;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerFactory.HEAP_LOG;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.SharedPageLockTracker.DFLT_PAGE_LOCK_TRACKER_CHECK_INTERVAL;
@@ -104,7 +112,11 @@ import static org.apache.ignite.internal.processors.cache.persistence.pagemem.Pa
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_LOADED_PAGES_BACKWARD_SHIFT_MAP;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PagesWriteThrottlePolicy.DFLT_THROTTLE_LOG_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.DFLT_IGNITE_SNAPSHOT_SEQUENTIAL_WRITE;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.DFLT_INCREMENTAL_SNAPSHOT_READ_AHEAD_RECORDS;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.DFLT_SNAPSHOT_PAGE_TRACKING;
+import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.DFLT_BPLUS_TREE_OPTIMISTIC_READS;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.IGNITE_BPLUS_TREE_LOCK_RETRIES_DEFAULT;
+import static org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO.MAX_KEY_INLINE_SIZE;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.DFLT_CHECKPOINT_TRIGGER_ARCHIVE_SIZE_PERCENTAGE;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.DFLT_THRESHOLD_WAIT_TIME_NEXT_WAL_SEGMENT;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.DFLT_WAL_COMPRESSOR_WORKER_THREAD_CNT;
@@ -120,6 +132,7 @@ import static org.apache.ignite.internal.processors.cache.transactions.IgniteTxM
 import static org.apache.ignite.internal.processors.cache.transactions.IgniteTxManager.DFLT_TX_DEADLOCK_DETECTION_MAX_ITERS;
 import static org.apache.ignite.internal.processors.cache.transactions.IgniteTxManager.DFLT_TX_OWNER_DUMP_REQUESTS_ALLOWED;
 import static org.apache.ignite.internal.processors.cache.transactions.TxDeadlockDetection.DFLT_TX_DEADLOCK_DETECTION_TIMEOUT;
+import static org.apache.ignite.internal.processors.cache.tree.CacheDataTree.DFLT_DATA_TREE_KEY_INLINE_SIZE;
 import static org.apache.ignite.internal.processors.cluster.ClusterProcessor.DFLT_DIAGNOSTIC_ENABLED;
 import static org.apache.ignite.internal.processors.cluster.ClusterProcessor.DFLT_UPDATE_NOTIFIER;
 import static org.apache.ignite.internal.processors.cluster.baseline.autoadjust.BaselineTopologyUpdater.DFLT_BASELINE_AUTO_ADJUST_LOG_INTERVAL;
@@ -135,6 +148,7 @@ import static org.apache.ignite.internal.processors.performancestatistics.FilePe
 import static org.apache.ignite.internal.processors.performancestatistics.FilePerformanceStatisticsWriter.DFLT_FLUSH_SIZE;
 import static org.apache.ignite.internal.processors.query.QueryUtils.DFLT_INDEXING_DISCOVERY_HISTORY_SIZE;
 import static org.apache.ignite.internal.processors.query.schema.SchemaIndexCachePartitionWorker.DFLT_IGNITE_INDEX_REBUILD_BATCH_SIZE;
+import static org.apache.ignite.internal.processors.query.schema.SchemaIndexCachePartitionWorker.DFLT_IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE;
 import static org.apache.ignite.internal.processors.rest.GridRestProcessor.DFLT_SES_TIMEOUT;
 import static org.apache.ignite.internal.processors.rest.GridRestProcessor.DFLT_SES_TOKEN_INVALIDATE_INTERVAL;
 import static org.apache.ignite.internal.processors.rest.handlers.task.GridTaskCommandHandler.DFLT_MAX_TASK_RESULTS;
@@ -1073,6 +1087,18 @@ public final class IgniteSystemProperties {
         "0 means that inline index store is disabled", type = Integer.class, defaults = "64")
     public static final String IGNITE_MAX_INDEX_PAYLOAD_SIZE = "IGNITE_MAX_INDEX_PAYLOAD_SIZE";
 
+    /**
+     * System property to specify maximum payload size in bytes of the inner pages of {@code H2TreeIndex}. Inner pages
+     * only route the search, so the inlined keys of their items are truncated to the given size at the key bounds
+     * and the keys which are not inlined are compared by the rows. This increases the fan-out of the inner pages.
+     * <p>
+     * Defaults to {@code 0}, meaning that inner pages have the payload size of the leaf pages. Applied to the inner
+     * pages of the index trees which don't have inner pages yet.
+     */
+    @SystemProperty(value = "Maximum payload size in bytes of the inner pages of H2TreeIndex. " +
+        "0 means that inner pages have the payload size of the leaf pages", type = Integer.class)
+    public static final String IGNITE_MAX_INDEX_INNER_PAYLOAD_SIZE = "IGNITE_MAX_INDEX_INNER_PAYLOAD_SIZE";
+
     /**
      * Time interval for calculating rebalance rate statistics, in milliseconds. Defaults to 60000.
      * @deprecated Use {@link MetricsMxBean#configureHitRateMetric(String, long)} instead.
@@ -1436,6 +1462,23 @@ public final class IgniteSystemProperties {
         defaults = "" + IGNITE_BPLUS_TREE_LOCK_RETRIES_DEFAULT)
     public static final String IGNITE_BPLUS_TREE_LOCK_RETRIES = "IGNITE_BPLUS_TREE_LOCK_RETRIES";
 
+    /**
+     * Enables reading of the inner pages of the B+Tree without locks on lookups.
+     */
+    @SystemProperty(value = "Enables reading of the inner pages of the B+Tree without locks on lookups. Reads are " +
+        "validated and fall back to locking if a page is modified concurrently", type = Boolean.class,
+        defaults = "" + DFLT_BPLUS_TREE_OPTIMISTIC_READS)
+    public static final String IGNITE_BPLUS_TREE_OPTIMISTIC_READS = "IGNITE_BPLUS_TREE_OPTIMISTIC_READS";
+
+    /**
+     * Size in bytes of the key inlined into the items of the primary key trees of caches. Keys which fit the inline
+     * size are compared without reading data pages. Inline size of an existing tree is not changed.
+     */
+    @SystemProperty(value = "Size in bytes of the key inlined into the items of the primary key trees of caches. " +
+        "0 means that keys are not inlined. Applied to new trees only, values above " + MAX_KEY_INLINE_SIZE +
+        " are capped", type = Integer.class, defaults = "" + DFLT_DATA_TREE_KEY_INLINE_SIZE)
+    public static final String IGNITE_DATA_TREE_KEY_INLINE_SIZE = "IGNITE_DATA_TREE_KEY_INLINE_SIZE";
+
     /**
      * Amount of memory reserved in the heap at node start, which can be dropped to increase the chances of success when
      * handling OutOfMemoryError.
@@ -1531,6 +1574,28 @@ public final class IgniteSystemProperties {
         type = Long.class, defaults = "" + DFLT_UNWIND_THROTTLING_TIMEOUT)
     public static final String IGNITE_UNWIND_THROTTLING_TIMEOUT = "IGNITE_UNWIND_THROTTLING_TIMEOUT";
 
+    /**
+     * Number of threads of the pool which removes expired entries of the caches with eager TTL by ranges of the
+     * pending entries trees, every partition is processed by a separate task. Zero value disables bulk expiration,
+     * in this case expired entries are removed one by one by the single TTL cleanup worker.
+     *
+     * Default is 0.
+     */
+    @SystemProperty(value = "Number of threads of the pool which removes expired entries by ranges of the pending " +
+        "entries trees. Zero value disables bulk expiration", type = Integer.class,
+        defaults = "" + DFLT_TTL_BULK_EXPIRE_THREAD_CNT)
+    public static final String IGNITE_TTL_BULK_EXPIRE_THREAD_CNT = "IGNITE_TTL_BULK_EXPIRE_THREAD_CNT";
+
+    /**
+     * Maximum number of expired entries removed from a partition by a single range removal when bulk expiration is
+     * enabled, see {@link #IGNITE_TTL_BULK_EXPIRE_THREAD_CNT}.
+     *
+     * Default is 10000.
+     */
+    @SystemProperty(value = "Maximum number of expired entries removed from a partition by a single range removal " +
+        "when bulk expiration is enabled", type = Integer.class, defaults = "" + DFLT_TTL_BULK_EXPIRE_BATCH_SIZE)
+    public static final String IGNITE_TTL_BULK_EXPIRE_BATCH_SIZE = "IGNITE_TTL_BULK_EXPIRE_BATCH_SIZE";
+
     /**
      * Threshold for throttling operations logging.
      */
@@ -1723,6 +1788,15 @@ public final class IgniteSystemProperties {
         type = Integer.class)
     public static final String IGNITE_RECOVERY_SEMAPHORE_PERMITS = "IGNITE_RECOVERY_SEMAPHORE_PERMITS";
 
+    /**
+     * Maximum number of WAL records read ahead in a separate thread during the recovery procedure.
+     * Read ahead is disabled if the value is not positive.
+     */
+    @SystemProperty(value = "Maximum number of WAL records read ahead in a separate thread during the recovery " +
+        "procedure. Read ahead is disabled if the value is not positive", type = Integer.class,
+        defaults = "" + DFLT_RECOVERY_READ_AHEAD_RECORDS)
+    public static final String IGNITE_RECOVERY_READ_AHEAD_RECORDS = "IGNITE_RECOVERY_READ_AHEAD_RECORDS";
+
     /**
      * Maximum size of history of server nodes (server node IDs) that ever joined to current topology.
      */
@@ -1775,6 +1849,16 @@ public final class IgniteSystemProperties {
         type = Integer.class, defaults = "" + DFLT_CHECKPOINT_PARALLEL_SORT_THRESHOLD)
     public static final String CHECKPOINT_PARALLEL_SORT_THRESHOLD = "CHECKPOINT_PARALLEL_SORT_THRESHOLD";
 
+    /**
+     * Maximum number of adjacent pages of a partition file which checkpoint thread writes with a single
+     * gather write. Checkpoint threads take pages to write by ranges of this size. Value {@code 1} disables
+     * coalescing of page writes.
+     */
+    @SystemProperty(value = "Maximum number of adjacent pages of a partition file which checkpoint thread " +
+        "writes with a single gather write. Value 1 disables coalescing of page writes",
+        type = Integer.class, defaults = "" + DFLT_CHECKPOINT_WRITE_COALESCE_PAGES)
+    public static final String IGNITE_CHECKPOINT_WRITE_COALESCE_PAGES = "IGNITE_CHECKPOINT_WRITE_COALESCE_PAGES";
+
     /**
      * Keep static cache configuration even if stored cache data differs from the static config. When this property
      * is set, static cache configuration will override persisted configuration. DDL operations are not allowed
@@ -1998,6 +2082,24 @@ public final class IgniteSystemProperties {
     public static final String IGNITE_DEFRAGMENTATION_REGION_SIZE_PERCENTAGE =
         "IGNITE_DEFRAGMENTATION_REGION_SIZE_PERCENTAGE";
 
+    /**
+     * Maximum speed of online defragmentation in megabytes per second, {@code 0} means unlimited. Both pages scanned
+     * to find sparse data pages and rows moved out of them are counted against this budget.
+     */
+    @SystemProperty(value = "Maximum speed of online defragmentation in megabytes per second, 0 means unlimited",
+        type = Double.class, defaults = "" + DFLT_ONLINE_DEFRAGMENTATION_RATE_LIMIT)
+    public static final String IGNITE_ONLINE_DEFRAGMENTATION_RATE_LIMIT = "IGNITE_ONLINE_DEFRAGMENTATION_RATE_LIMIT";
+
+    /**
+     * Minimum free space of a data page, in percents of the page size, for online defragmentation to move rows
+     * out of the page.
+     */
+    @SystemProperty(value = "Minimum free space of a data page, in percents of the page size, for online " +
+        "defragmentation to move rows out of the page",
+        type = Integer.class, defaults = "" + DFLT_ONLINE_DEFRAGMENTATION_PAGE_FREE_SPACE_PERCENTAGE)
+    public static final String IGNITE_ONLINE_DEFRAGMENTATION_PAGE_FREE_SPACE_PERCENTAGE =
+        "IGNITE_ONLINE_DEFRAGMENTATION_PAGE_FREE_SPACE_PERCENTAGE";
+
     /**
      * Maximum performance statistics file size in bytes. Performance statistics collection is stopped when the
      * file size is exceeded. The default value is {@link FilePerformanceStatisticsWriter#DFLT_FILE_MAX_SIZE}.
@@ -2073,6 +2175,24 @@ public final class IgniteSystemProperties {
         type = Integer.class, defaults = "" + DFLT_IGNITE_INDEX_REBUILD_BATCH_SIZE)
     public static final String IGNITE_INDEX_REBUILD_BATCH_SIZE = "IGNITE_INDEX_REBUILD_BATCH_SIZE";
 
+    /**
+     * Count of rows of a partition, being sorted in the order of the index keys before they are inserted into the index
+     * when indexes are created or rebuilt. {@code 0} disables sorted index build.
+     * The default value is {@link SchemaIndexCachePartitionWorker#DFLT_IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE}.
+     */
+    @SystemProperty(value = "Count of rows of a partition, being sorted in the order of the index keys before they " +
+        "are inserted into the index when indexes are created or rebuilt. 0 disables sorted index build",
+        type = Integer.class, defaults = "" + DFLT_IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE)
+    public static final String IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE = "IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE";
+
+    /**
+     * Fill factor of the index pages split by the sorted index build, from {@code 0.5} to {@code 1}.
+     * The default value is {@link InlineIndexBuildClosure#DFLT_IGNITE_INDEX_SORTED_BUILD_FILL_FACTOR}.
+     */
+    @SystemProperty(value = "Fill factor of the index pages split by the sorted index build, from 0.5 to 1",
+        type = Float.class, defaults = "" + DFLT_IGNITE_INDEX_SORTED_BUILD_FILL_FACTOR)
+    public static final String IGNITE_INDEX_SORTED_BUILD_FILL_FACTOR = "IGNITE_INDEX_SORTED_BUILD_FILL_FACTOR";
+
     /**
      * Throttle frequency for an index row inline size calculation and logging index inline size recommendation.
      * The default value is {@link InlineRecommender#DFLT_THROTTLE_INLINE_SIZE_CALCULATION}.
@@ -2099,6 +2219,27 @@ public final class IgniteSystemProperties {
     @IgniteExperimental
     public static final String IGNITE_SNAPSHOT_SEQUENTIAL_WRITE = "IGNITE_SNAPSHOT_SEQUENTIAL_WRITE";
 
+    /**
+     * Maximum number of WAL records read ahead in a separate thread during the restore and the check of incremental
+     * snapshots. Read ahead is disabled if the value is not positive.
+     * The default value is {@link IgniteSnapshotManager#DFLT_INCREMENTAL_SNAPSHOT_READ_AHEAD_RECORDS}.
+     */
+    @SystemProperty(value = "Maximum number of WAL records read ahead in a separate thread during the restore and " +
+        "the check of incremental snapshots. Read ahead is disabled if the value is not positive", type = Integer.class,
+        defaults = "" + DFLT_INCREMENTAL_SNAPSHOT_READ_AHEAD_RECORDS)
+    public static final String IGNITE_INCREMENTAL_SNAPSHOT_READ_AHEAD_RECORDS = "IGNITE_INCREMENTAL_SNAPSHOT_READ_AHEAD_RECORDS";
+
+    /**
+     * Flag to mark the pages changed since the last full snapshot in the tracking pages of the partition files.
+     * Page-delta incremental snapshots can be created only if the flag is enabled on all the baseline nodes.
+     * The default value is {@link IgniteSnapshotManager#DFLT_SNAPSHOT_PAGE_TRACKING}.
+     */
+    @SystemProperty(value = "Flag to mark the pages changed since the last full snapshot in the tracking pages of " +
+        "the partition files. Page-delta incremental snapshots can be created only if the flag is enabled",
+        defaults = "" + DFLT_SNAPSHOT_PAGE_TRACKING)
+    @IgniteExperimental
+    public static final String IGNITE_SNAPSHOT_PAGE_TRACKING = "IGNITE_SNAPSHOT_PAGE_TRACKING";
+
     /**
      * Comma separated packages list to expose in configuration view.
      * The default value is null.
@@ -17,6 +17,7 @@
 
 package org.apache.ignite.cdc;
 
+import javax.cache.configuration.Factory;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.internal.cdc.CdcMain;
 import org.apache.ignite.lang.IgniteExperimental;
@@ -38,9 +39,22 @@ public class CdcConfiguration {
     /** */
     private static final boolean DFLT_KEEP_BINARY = true;
 
+    /** */
+    private static final int DFLT_READ_AHEAD_RECORDS = 1024;
+
     /** Change Data Capture consumer. */
     private CdcConsumer consumer;
 
+    /**
+     * Number of consumer shards. If greater than {@code 0}, events are consumed in parallel by this number of
+     * consumers created by {@link #consumerFactory}.<br>
+     * Default is {@code 0}, events are consumed by {@link #consumer}.
+     */
+    private int consumerShards;
+
+    /** Factory of consumers of the shards. */
+    private Factory<? extends CdcConsumer> consumerFactory;
+
     /** Metric exporter SPI. */
     private MetricExporterSpi[] metricExporterSpi;
 
@@ -61,6 +75,13 @@ public class CdcConfiguration {
      */
     private long checkFreq = DFLT_CHECK_FREQ;
 
+    /**
+     * Number of WAL records which are read and deserialized ahead in a separate thread, while the consumer processes
+     * already read events. {@code 0} disables the read-ahead.<br>
+     * Default is {@code 1024}.
+     */
+    private int readAheadRecords = DFLT_READ_AHEAD_RECORDS;
+
     /** @return CDC consumer. */
     public CdcConsumer getConsumer() {
         return consumer;
@@ -71,6 +92,39 @@ public class CdcConfiguration {
         this.consumer = consumer;
     }
 
+    /** @return Number of consumer shards, {@code 0} if events are consumed by the single consumer. */
+    public int getConsumerShards() {
+        return consumerShards;
+    }
+
+    /**
+     * Sets number of consumer shards. If greater than {@code 0}, events are dispatched to this number of consumers
+     * created by the {@link #setConsumerFactory(Factory) consumer factory}, each consumer is run by its own thread.
+     * Events of a partition are always dispatched to the same shard, so the order of events is kept per partition,
+     * but not across partitions. WAL consumption state is committed by each shard separately. Changing the number
+     * of shards makes all shards resume consumption from the position committed by every shard, so some events
+     * can be consumed again.
+     *
+     * @param consumerShards Number of consumer shards, {@code 0} to consume events by the single
+     *                       {@link #setConsumer(CdcConsumer) consumer}.
+     */
+    public void setConsumerShards(int consumerShards) {
+        this.consumerShards = consumerShards;
+    }
+
+    /** @return Factory of consumers of the shards. */
+    public Factory<? extends CdcConsumer> getConsumerFactory() {
+        return consumerFactory;
+    }
+
+    /**
+     * @param consumerFactory Factory of consumers of the shards, required if {@link #getConsumerShards()} is
+     *                        greater than {@code 0}.
+     */
+    public void setConsumerFactory(Factory<? extends CdcConsumer> consumerFactory) {
+        this.consumerFactory = consumerFactory;
+    }
+
     /**
      * Sets fully configured instances of {@link MetricExporterSpi}. {@link JmxMetricExporterSpi} is used by default.
      *
@@ -124,4 +178,17 @@ public class CdcConfiguration {
     public void setCheckFrequency(long checkFreq) {
         this.checkFreq = checkFreq;
     }
+
+    /** @return Number of WAL records read ahead while the consumer processes already read events. */
+    public int getReadAheadRecords() {
+        return readAheadRecords;
+    }
+
+    /**
+     * @param readAheadRecords Number of WAL records read ahead while the consumer processes already read events,
+     *                         {@code 0} disables the read-ahead.
+     */
+    public void setReadAheadRecords(int readAheadRecords) {
+        this.readAheadRecords = readAheadRecords;
+    }
 }
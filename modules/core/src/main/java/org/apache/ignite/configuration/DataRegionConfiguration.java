@@ -81,6 +81,12 @@ public final class DataRegionConfiguration implements Serializable {
     /** Default length of interval over which {@link DataRegionMetrics#getAllocationRate()} metric is calculated. */
     public static final int DFLT_RATE_TIME_INTERVAL_MILLIS = 60_000;
 
+    /** Default idle timeout of a partition before it is moved to the cold storage, {@code 0} disables tiering. */
+    public static final long DFLT_COLD_PARTITION_IDLE_TIMEOUT = 0;
+
+    /** Default number of page reads from the cold storage after which a partition is moved back. */
+    public static final int DFLT_COLD_PARTITION_PROMOTE_READS = 1024;
+
     /** Default page replacement mode. */
     public static final PageReplacementMode DFLT_PAGE_REPLACEMENT_MODE = PageReplacementMode.CLOCK;
 
@@ -160,6 +166,15 @@ public final class DataRegionConfiguration implements Serializable {
     @IgniteExperimental
     private boolean cdcEnabled;
 
+    /** Path to the cold storage of idle partitions. */
+    private String coldPartitionStoragePath;
+
+    /** Idle timeout of a partition before it is moved to the cold storage. */
+    private long coldPartitionIdleTimeout = DFLT_COLD_PARTITION_IDLE_TIMEOUT;
+
+    /** Number of page reads from the cold storage after which a partition is moved back. */
+    private int coldPartitionPromoteReads = DFLT_COLD_PARTITION_PROMOTE_READS;
+
     /**
      * Gets data region name.
      *
@@ -584,6 +599,84 @@ public final class DataRegionConfiguration implements Serializable {
         return cdcEnabled;
     }
 
+    /**
+     * Gets path to the cold storage of idle partitions.
+     *
+     * @return Path to the cold storage, {@code null} if not set.
+     * @see #setColdPartitionStoragePath(String)
+     */
+    @IgniteExperimental
+    public String getColdPartitionStoragePath() {
+        return coldPartitionStoragePath;
+    }
+
+    /**
+     * Sets path to the cold storage of idle partitions, e.g. a large HDD or a mounted object store gateway.
+     * Partition files which are not read or written for {@link #getColdPartitionIdleTimeout()} are compressed
+     * and moved there. Pages of a cold partition are read from the compressed copy, the partition is moved back
+     * to the storage path on the first write or after {@link #getColdPartitionPromoteReads()} page reads.
+     * Can be an absolute or relative path to the Ignite work directory. Works only for persistent regions,
+     * partitions of encrypted cache groups are never moved.
+     *
+     * @param coldPartitionStoragePath Path to the cold storage.
+     * @return {@code this} for chaining.
+     */
+    @IgniteExperimental
+    public DataRegionConfiguration setColdPartitionStoragePath(String coldPartitionStoragePath) {
+        this.coldPartitionStoragePath = coldPartitionStoragePath;
+
+        return this;
+    }
+
+    /**
+     * Gets idle timeout of a partition before it is moved to the cold storage.
+     *
+     * @return Idle timeout in milliseconds, {@code 0} if tiering is disabled.
+     */
+    @IgniteExperimental
+    public long getColdPartitionIdleTimeout() {
+        return coldPartitionIdleTimeout;
+    }
+
+    /**
+     * Sets idle timeout of a partition before it is moved to the cold storage. Default is
+     * {@link #DFLT_COLD_PARTITION_IDLE_TIMEOUT}, tiering is disabled.
+     *
+     * @param coldPartitionIdleTimeout Idle timeout in milliseconds, {@code 0} to disable tiering.
+     * @return {@code this} for chaining.
+     * @see #setColdPartitionStoragePath(String)
+     */
+    @IgniteExperimental
+    public DataRegionConfiguration setColdPartitionIdleTimeout(long coldPartitionIdleTimeout) {
+        this.coldPartitionIdleTimeout = coldPartitionIdleTimeout;
+
+        return this;
+    }
+
+    /**
+     * Gets number of page reads from the cold storage after which a partition is moved back.
+     *
+     * @return Number of page reads.
+     */
+    @IgniteExperimental
+    public int getColdPartitionPromoteReads() {
+        return coldPartitionPromoteReads;
+    }
+
+    /**
+     * Sets number of page reads from the cold storage after which a partition is moved back.
+     * Default is {@link #DFLT_COLD_PARTITION_PROMOTE_READS}.
+     *
+     * @param coldPartitionPromoteReads Number of page reads.
+     * @return {@code this} for chaining.
+     */
+    @IgniteExperimental
+    public DataRegionConfiguration setColdPartitionPromoteReads(int coldPartitionPromoteReads) {
+        this.coldPartitionPromoteReads = coldPartitionPromoteReads;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(DataRegionConfiguration.class, this);
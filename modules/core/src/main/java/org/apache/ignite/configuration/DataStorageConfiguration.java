@@ -179,6 +179,9 @@ public class DataStorageConfiguration implements Serializable {
     /** Default wal compaction enabled. */
     public static final boolean DFLT_WAL_COMPACTION_ENABLED = false;
 
+    /** Default WAL partition index enabled. */
+    public static final boolean DFLT_WAL_PARTITION_INDEX_ENABLED = false;
+
     /** Default wal compaction level. */
     public static final int DFLT_WAL_COMPACTION_LEVEL = Deflater.BEST_SPEED;
 
@@ -241,6 +244,11 @@ public class DataStorageConfiguration implements Serializable {
     /** Directory where WAL is stored (work directory) */
     private String walPath = DFLT_WAL_PATH;
 
+    /** Directories of the WAL stripes data records are written to. */
+    @IgniteExperimental
+    @GridToStringInclude
+    private String[] walStripePaths;
+
     /** WAL archive path. */
     private String walArchivePath = DFLT_WAL_ARCHIVE_PATH;
 
@@ -316,6 +324,12 @@ public class DataStorageConfiguration implements Serializable {
      */
     private boolean walCompactionEnabled = DFLT_WAL_COMPACTION_ENABLED;
 
+    /**
+     * Flag to enable WAL partition index. If true, system indexes partition updates of archived WAL segments in
+     * background, so historical rebalance skips segments without updates of the rebalanced partitions.
+     */
+    private boolean walPartitionIndexEnabled = DFLT_WAL_PARTITION_INDEX_ENABLED;
+
     /**
      * ZIP level to WAL compaction.
      *
@@ -761,6 +775,37 @@ public class DataStorageConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * Gets paths to the directories of the WAL stripes.
+     *
+     * @return Directories of the WAL stripes, or {@code null} if all records are written to the single WAL stream.
+     */
+    public String[] getWalStripePaths() {
+        return walStripePaths;
+    }
+
+    /**
+     * Sets paths to the directories of the WAL stripes. Each stripe is an independent WAL stream with its own work
+     * segments, archive and archiver stored in the {@code wal} and {@code archive} subdirectories of the path, so
+     * the stripes placed on different devices are written and synced in parallel. Data records of the cache updates
+     * are routed to the stripes by the cache group and partition, all other records are written to the WAL stream
+     * of the {@link #getWalPath() WAL work directory}. Each data record holds the position of the main stream it
+     * was written at, the streams are merged by the positions on recovery and on iteration over the WAL.
+     * <p>
+     * The stripes can't be used together with the change data capture and incremental snapshots, the stripes
+     * can't be read by the standalone WAL iterator. The number of the stripes can't be changed while the WAL
+     * contains records since the last checkpoint. If this path is relative, it will be resolved relatively
+     * to Ignite work directory.
+     *
+     * @param walStripePaths Directories of the WAL stripes, absolute or relative to Ignite work directory.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setWalStripePaths(String... walStripePaths) {
+        this.walStripePaths = walStripePaths;
+
+        return this;
+    }
+
     /**
      * Gets a path to the WAL archive directory.
      *
@@ -1205,6 +1250,28 @@ public class DataStorageConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * @return Flag indicating whether WAL partition index is enabled.
+     */
+    public boolean isWalPartitionIndexEnabled() {
+        return walPartitionIndexEnabled;
+    }
+
+    /**
+     * Sets flag indicating whether WAL partition index is enabled. If enabled, every archived WAL segment gets an
+     * index file with the maximum update counters of the partitions updated in the segment. Historical rebalance
+     * starts reading the WAL from the first segment containing the required updates instead of the segment of the
+     * checkpoint found in the history. Requires the {@link #getWalArchivePath() WAL archive}.
+     *
+     * @param walPartitionIndexEnabled WAL partition index enabled flag.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setWalPartitionIndexEnabled(boolean walPartitionIndexEnabled) {
+        this.walPartitionIndexEnabled = walPartitionIndexEnabled;
+
+        return this;
+    }
+
     /**
      * @return ZIP level to WAL compaction.
      */
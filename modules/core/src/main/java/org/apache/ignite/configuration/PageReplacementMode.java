@@ -70,7 +70,26 @@ public enum PageReplacementMode {
      * This algorithm has near to zero maintenance cost and replacement policy efficiency between random-LRU and
      * segmented-LRU.
      */
-    CLOCK;
+    CLOCK,
+
+    /**
+     * 2Q algorithm.
+     *
+     * 2Q algorithm is a scan-resistant algorithm which keeps two pages lists: a FIFO queue for pages accessed once
+     * (A1in) and an LRU list for pages accessed repeatedly (Am). New pages are added to the tail of the FIFO queue and
+     * hits in this queue don't change the pages order. Page to replace is polled from the head of the FIFO queue while
+     * this queue exceeds its limit, otherwise from the least recently accessed end of the LRU list. Identifiers of the
+     * pages replaced from the FIFO queue are remembered in a bounded ghost list (A1out), and a page which is loaded
+     * again while it is still remembered is added directly to the LRU list. Pages loaded by scan queries, rebalancing
+     * and index rebuild are accessed with low priority: they are put to the head of the FIFO queue and don't get to
+     * the ghost list, so one-time scans can't flush the working set of the data region.
+     *
+     * This algorithm requires additional memory to store pages lists and the ghost list and need to update the LRU
+     * list on each access to a frequently used page. Its overhead is comparable to segmented-LRU, but it is more
+     * resistant to large one-time scans (See {@code InMemoryPageHitRatio} and {@code ReplacementGhostHits} metrics of
+     * the data region, which can be helpful to choose the algorithm).
+     */
+    TWO_QUEUE;
 
     /** Enumerated values. */
     private static final PageReplacementMode[] VALS = values();
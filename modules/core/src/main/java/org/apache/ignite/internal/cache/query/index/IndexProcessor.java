@@ -37,6 +37,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.IndexRowCacheRegistry
 import org.apache.ignite.internal.cache.query.index.sorted.MetaPageInfo;
 import org.apache.ignite.internal.cache.query.index.sorted.defragmentation.IndexingDefragmentation;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndex;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBuildClosure;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.JavaObjectKeySerializer;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.AbstractInlineInnerIO;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.AbstractInlineLeafIO;
@@ -66,6 +67,7 @@ import org.apache.ignite.internal.processors.query.IgniteSQLException;
 import org.apache.ignite.internal.processors.query.QueryUtils;
 import org.apache.ignite.internal.processors.query.schema.IndexRebuildCancelToken;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitor;
+import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitorClosure;
 import org.apache.ignite.internal.util.GridAtomicLong;
 import org.apache.ignite.internal.util.collection.IntMap;
 import org.apache.ignite.internal.util.typedef.F;
@@ -219,11 +221,13 @@ public class IndexProcessor extends GridProcessorAdapter {
 
         Index idx = createIndex(cctx, factory, definition);
 
-        // Populate index with cache rows.
-        cacheVisitor.visit(row -> {
+        SchemaIndexCacheVisitorClosure clo = row -> {
             if (idx.canHandle(row))
                 idx.onUpdate(null, row, false);
-        });
+        };
+
+        // Populate index with cache rows.
+        cacheVisitor.visit(idx instanceof InlineIndex ? InlineIndexBuildClosure.sorted((InlineIndex)idx, clo, null) : clo);
 
         return idx;
     }
@@ -53,6 +53,8 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIoResolver;
 import org.apache.ignite.internal.processors.cache.tree.mvcc.data.MvccDataRow;
 
+import static org.apache.ignite.internal.cache.query.index.sorted.inline.io.InlineIO.PLAIN_VER;
+
 /**
  * Creates temporary index to defragment old index.
  */
@@ -108,9 +110,12 @@ public class DefragIndexFactory extends InlineIndexFactory {
 
         final MetaPageInfo oldInfo = oldIdx.segment(segmentNum).metaInfo();
 
-        // Set IO wrappers for the new tree.
-        BPlusInnerIO<IndexRow> innerIO = (BPlusInnerIO<IndexRow>)wrap(tree.latestInnerIO(), tree.rowHandler());
-        BPlusLeafIO<IndexRow> leafIo = (BPlusLeafIO<IndexRow>)wrap(tree.latestLeafIO(), tree.rowHandler());
+        // Set IO wrappers for the new tree. Pages are created with the plain version, they are front coded on write.
+        // Rows are copied with the inlined keys of the leaf pages as is, so inner pages have the leaf payload size.
+        BPlusInnerIO<IndexRow> innerIO = (BPlusInnerIO<IndexRow>)wrap(
+            AbstractInlineInnerIO.versions(tree.inlineSize(), cctx.mvccEnabled()).forVersion(PLAIN_VER), tree.rowHandler());
+        BPlusLeafIO<IndexRow> leafIo = (BPlusLeafIO<IndexRow>)wrap(
+            AbstractInlineLeafIO.versions(tree.inlineSize(), cctx.mvccEnabled()).forVersion(PLAIN_VER), tree.rowHandler());
         tree.setIos(new IOVersions<>(innerIO), new IOVersions<>(leafIo));
 
         tree.copyMetaInfo(oldInfo);
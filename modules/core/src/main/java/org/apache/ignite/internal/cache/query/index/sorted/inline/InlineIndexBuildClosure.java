@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.cache.query.index.sorted.inline;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.cache.query.index.SortOrder;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexKeyDefinition;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexRowComparator;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexRowImpl;
+import org.apache.ignite.internal.cache.query.index.sorted.InlineIndexRowHandler;
+import org.apache.ignite.internal.cache.query.index.sorted.SortedIndexDefinition;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheSortingClosure;
+import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitorClosure;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_SORTED_BUILD_FILL_FACTOR;
+import static org.apache.ignite.IgniteSystemProperties.getFloat;
+import static org.apache.ignite.IgniteSystemProperties.getInteger;
+import static org.apache.ignite.internal.processors.query.schema.SchemaIndexCachePartitionWorker.DFLT_IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE;
+
+/**
+ * Index closure of the sorted index build. Sorts rows in the order of the keys of the index, so that rows are inserted
+ * into the index tree in the ascending order, and splits pages filled by the insertions with the configured fill factor
+ * instead of splitting them in the middle.
+ */
+public class InlineIndexBuildClosure implements SchemaIndexCacheSortingClosure {
+    /** Default fill factor of the index pages split by the sorted index build. */
+    public static final float DFLT_IGNITE_INDEX_SORTED_BUILD_FILL_FACTOR = 0.9f;
+
+    /** Index to sort rows by. */
+    private final InlineIndex idx;
+
+    /** Index the closure inserts rows into with the fill factor, {@code null} if rows are inserted by {@link #clo}. */
+    @Nullable private final InlineIndexImpl fillIdx;
+
+    /** Index closure, {@code null} if there are no indexes to update besides {@link #fillIdx}. */
+    @Nullable private final SchemaIndexCacheVisitorClosure clo;
+
+    /** Fill factor of the pages split by the insertions. */
+    private final float fillFactor;
+
+    /**
+     * @param idx Index to sort rows by.
+     * @param fillIdx Index the closure inserts rows into with the fill factor.
+     * @param clo Index closure.
+     */
+    private InlineIndexBuildClosure(
+        InlineIndex idx,
+        @Nullable InlineIndexImpl fillIdx,
+        @Nullable SchemaIndexCacheVisitorClosure clo
+    ) {
+        this.idx = idx;
+        this.fillIdx = fillIdx;
+        this.clo = clo;
+
+        fillFactor = Math.max(0.5f, Math.min(1f,
+            getFloat(IGNITE_INDEX_SORTED_BUILD_FILL_FACTOR, DFLT_IGNITE_INDEX_SORTED_BUILD_FILL_FACTOR)));
+    }
+
+    /**
+     * Wraps the index closure with the closure of the sorted index build, if it is enabled. Rows are only sorted,
+     * pages of the index are split in the middle.
+     *
+     * @param idx Index to sort rows by.
+     * @param clo Index closure.
+     * @return Closure of the sorted index build or the given closure if sorted build is disabled.
+     */
+    public static SchemaIndexCacheVisitorClosure sorted(InlineIndex idx, SchemaIndexCacheVisitorClosure clo) {
+        if (getInteger(IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE, DFLT_IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE) <= 0)
+            return clo;
+
+        return new InlineIndexBuildClosure(idx, null, clo);
+    }
+
+    /**
+     * Wraps the index closure with the closure of the sorted index build, if it is enabled. The closure inserts rows
+     * into the sorted index itself, so the rightmost pages of its tree are split with the fill factor, and applies
+     * {@code othersClo} to update the rest of the built indexes.
+     *
+     * @param idx Index to sort rows by.
+     * @param clo Index closure updating all the built indexes.
+     * @param othersClo Closure updating the built indexes except the sorted one, {@code null} if there are no such
+     *      indexes.
+     * @return Closure of the sorted index build or the given closure if sorted build is disabled.
+     */
+    public static SchemaIndexCacheVisitorClosure sorted(
+        InlineIndex idx,
+        SchemaIndexCacheVisitorClosure clo,
+        @Nullable SchemaIndexCacheVisitorClosure othersClo
+    ) {
+        if (getInteger(IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE, DFLT_IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE) <= 0)
+            return clo;
+
+        if (!(idx instanceof InlineIndexImpl))
+            return new InlineIndexBuildClosure(idx, null, clo);
+
+        return new InlineIndexBuildClosure(idx, (InlineIndexImpl)idx, othersClo);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void apply(CacheDataRow row) throws IgniteCheckedException {
+        if (fillIdx != null && fillIdx.canHandle(row))
+            fillIdx.putSorted(row, fillFactor);
+
+        if (clo != null)
+            clo.apply(row);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void sort(List<CacheDataRow> rows) throws IgniteCheckedException {
+        InlineIndexRowHandler rowHnd = idx.segment(0).rowHandler();
+
+        List<IndexRowImpl> idxRows = new ArrayList<>(rows.size());
+        List<CacheDataRow> unsorted = new ArrayList<>();
+
+        for (CacheDataRow row : rows) {
+            if (!idx.canHandle(row)) {
+                unsorted.add(row);
+
+                continue;
+            }
+
+            IndexRowImpl idxRow = new IndexRowImpl(rowHnd, row);
+
+            idxRow.prepareCache();
+
+            try {
+                for (int i = 0; i < idxRow.keysCount(); i++)
+                    idxRow.key(i);
+            }
+            catch (Exception ignored) {
+                // Closure fails on such row with the proper error.
+                unsorted.add(row);
+
+                continue;
+            }
+
+            idxRows.add(idxRow);
+        }
+
+        try {
+            idxRows.sort(rowComparator(rowHnd));
+        }
+        catch (IgniteException e) {
+            if (e.getCause() instanceof IgniteCheckedException)
+                throw (IgniteCheckedException)e.getCause();
+
+            throw e;
+        }
+
+        rows.clear();
+
+        for (IndexRowImpl idxRow : idxRows)
+            rows.add(idxRow.cacheDataRow());
+
+        rows.addAll(unsorted);
+    }
+
+    /**
+     * @param rowHnd Row handler.
+     * @return Comparator of index rows in the order of the index.
+     */
+    private Comparator<IndexRowImpl> rowComparator(InlineIndexRowHandler rowHnd) {
+        IndexRowComparator rowCmp = ((SortedIndexDefinition)idx.indexDefinition()).rowComparator();
+
+        IndexKeyDefinition[] keyDefs = rowHnd.indexKeyDefinitions().toArray(new IndexKeyDefinition[0]);
+
+        return (r1, r2) -> {
+            try {
+                for (int i = 0; i < keyDefs.length; i++) {
+                    int cmp = rowCmp.compareRow(r1, r2, i);
+
+                    if (cmp != 0)
+                        return keyDefs[i].order().sortOrder() == SortOrder.DESC ? -cmp : cmp;
+                }
+
+                return 0;
+            }
+            catch (IgniteCheckedException e) {
+                throw new IgniteException("Failed to sort index rows", e);
+            }
+        };
+    }
+}
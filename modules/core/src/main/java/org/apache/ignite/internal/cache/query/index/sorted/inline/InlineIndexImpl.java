@@ -347,7 +347,7 @@ public class InlineIndexImpl extends AbstractIndex implements InlineIndex {
                 for (int i = 0; i < def.indexKeyDefinitions().size(); ++i)
                     row0.key(i);
 
-                replaced = putx(row0, segment, prevRowAvailable && !rebuildInProgress());
+                replaced = putx(row0, segment, prevRowAvailable && !rebuildInProgress(), 0f);
             }
 
             // Delete.
@@ -360,15 +360,44 @@ public class InlineIndexImpl extends AbstractIndex implements InlineIndex {
         }
     }
 
+    /**
+     * Inserts the row by the sorted index build, which inserts rows in the ascending order of the index keys.
+     *
+     * @param row Cache row.
+     * @param fillFactor Fill factor of the rightmost tree pages split by the insertion to their ends.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void putSorted(CacheDataRow row, float fillFactor) throws IgniteCheckedException {
+        try {
+            if (destroyed.get())
+                return;
+
+            ThreadLocalRowHandlerHolder.rowHandler(rowHnd);
+
+            IndexRowImpl row0 = new IndexRowImpl(rowHnd, row);
+
+            row0.prepareCache();
+
+            // Validate all keys before an actual put. User may specify wrong data types for an insert query.
+            for (int i = 0; i < def.indexKeyDefinitions().size(); ++i)
+                row0.key(i);
+
+            putx(row0, segmentForRow(row), true, fillFactor);
+        }
+        finally {
+            ThreadLocalRowHandlerHolder.clearRowHandler();
+        }
+    }
+
     /** */
-    private boolean putx(IndexRowImpl idxRow, int segment, boolean flag) throws IgniteCheckedException {
+    private boolean putx(IndexRowImpl idxRow, int segment, boolean flag, float fillFactor) throws IgniteCheckedException {
         lock.readLock().lock();
 
         try {
             boolean replaced;
 
             if (flag)
-                replaced = segments[segment].putx(idxRow);
+                replaced = segments[segment].putx(idxRow, fillFactor);
             else {
                 IndexRow prevRow0 = segments[segment].put(idxRow);
 
@@ -37,6 +37,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.SortedIndexDefinition
 import org.apache.ignite.internal.cache.query.index.sorted.ThreadLocalRowHandlerHolder;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.AbstractInlineInnerIO;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.AbstractInlineLeafIO;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.io.InlineIO;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.MvccIO;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.pagemem.PageIdAllocator;
@@ -49,6 +50,7 @@ import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowAdapt
 import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
 import org.apache.ignite.internal.processors.cache.persistence.tree.CorruptedTreeException;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusInnerIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusMetaIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIoResolver;
@@ -198,11 +200,33 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
     /** */
     private void setIos(int inlineSize, boolean mvccEnabled) {
         setIos(
-            AbstractInlineInnerIO.versions(inlineSize, mvccEnabled),
+            AbstractInlineInnerIO.versions(innerInlineSize(inlineSize), mvccEnabled),
             AbstractInlineLeafIO.versions(inlineSize, mvccEnabled)
         );
     }
 
+    /**
+     * @param inlineSize Inline size of the leaf pages.
+     * @return Inline size of the new inner pages, see {@link IgniteSystemProperties#IGNITE_MAX_INDEX_INNER_PAYLOAD_SIZE}.
+     */
+    public static int innerInlineSize(int inlineSize) {
+        int innerSize = IgniteSystemProperties.getInteger(IgniteSystemProperties.IGNITE_MAX_INDEX_INNER_PAYLOAD_SIZE, 0);
+
+        return innerSize > 0 ? Math.min(innerSize, inlineSize) : inlineSize;
+    }
+
+    /**
+     * Inner pages of the tree created before the change of the inner payload size keep their IO.
+     */
+    @Override protected @Nullable BPlusInnerIO<IndexRow> innerIO(int type, int ver) {
+        int start = mvccEnabled ? PageIO.T_H2_EX_REF_MVCC_INNER_START : PageIO.T_H2_EX_REF_INNER_START;
+
+        if (type < start || type >= start + PageIO.MAX_PAYLOAD_SIZE)
+            return null;
+
+        return (BPlusInnerIO<IndexRow>)PageIO.getInnerVersions(type - start, mvccEnabled).forVersion(ver);
+    }
+
     /**
      * Find whether tree supports inlining objects or not.
      *
@@ -270,6 +294,9 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
 
         int off = io.offset(idx);
 
+        // Inlined keys of the inner pages may be truncated.
+        int ioInlineSize = ((InlineIO)io).inlineSize();
+
         List<IndexKeyDefinition> keyDefs = rowHnd.indexKeyDefinitions();
         List<InlineIndexKeyType> keyTypes = rowHnd.inlineIndexKeyTypes();
 
@@ -280,7 +307,7 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
                 if (row.key(keyIdx) == null)
                     return 0;
 
-                int maxSize = inlineSize - fieldOff;
+                int maxSize = ioInlineSize - fieldOff;
 
                 InlineIndexKeyType keyType = keyTypes.get(keyIdx);
 
@@ -303,7 +330,9 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
         }
 
         if (keyIdx < keyDefs.size()) {
-            recommender.recommend(row, inlineSize);
+            // Truncated keys of the inner pages don't tell that the inline size is not enough.
+            if (ioInlineSize == inlineSize)
+                recommender.recommend(row, inlineSize);
 
             if (currRow == null)
                 currRow = getRow(io, pageAddr, idx);
@@ -317,6 +346,48 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
         return mvccCompare((MvccIO)io, pageAddr, idx, row);
     }
 
+    /** {@inheritDoc} */
+    @Override protected int compareOptimistic(BPlusIO<IndexRow> io, long pageAddr, int idx, IndexRow row)
+        throws IgniteCheckedException {
+        int fieldOff = 0;
+
+        int off = io.offset(idx);
+
+        int ioInlineSize = ((InlineIO)io).inlineSize();
+
+        List<IndexKeyDefinition> keyDefs = rowHnd.indexKeyDefinitions();
+        List<InlineIndexKeyType> keyTypes = rowHnd.inlineIndexKeyTypes();
+
+        for (int keyIdx = 0; keyIdx < keyTypes.size(); keyIdx++) {
+            if (row.key(keyIdx) == null)
+                return 0;
+
+            int maxSize = ioInlineSize - fieldOff;
+
+            InlineIndexKeyType keyType = keyTypes.get(keyIdx);
+
+            // Size of the inlined key may be broken by a concurrent modification of the page.
+            if (maxSize <= 0 || keyType.inlineSize(pageAddr, off + fieldOff) > maxSize)
+                return CMP_LOCK_REQUIRED;
+
+            int cmp = def.rowComparator().compareKey(pageAddr, off + fieldOff, maxSize, row.key(keyIdx), keyType);
+
+            if (cmp == CANT_BE_COMPARE || cmp == COMPARE_UNSUPPORTED)
+                return CMP_LOCK_REQUIRED;
+
+            if (cmp != 0)
+                return applySortOrder(cmp, keyDefs.get(keyIdx).order().sortOrder());
+
+            fieldOff += keyType.inlineSize(pageAddr, off + fieldOff);
+        }
+
+        // Keys which are not inlined are compared by the data of the rows.
+        if (keyTypes.size() < keyDefs.size())
+            return CMP_LOCK_REQUIRED;
+
+        return mvccCompare((MvccIO)io, pageAddr, idx, row);
+    }
+
     /** */
     private int compareFullRows(IndexRow currRow, IndexRow row, int from) throws IgniteCheckedException {
         if (currRow == row)
@@ -17,19 +17,23 @@
 
 package org.apache.ignite.internal.cache.query.index.sorted.inline.io;
 
+import java.nio.ByteBuffer;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexKeyType;
 import org.apache.ignite.internal.cache.query.index.sorted.IndexRow;
 import org.apache.ignite.internal.cache.query.index.sorted.InlineIndexRowHandler;
 import org.apache.ignite.internal.cache.query.index.sorted.ThreadLocalRowHandlerHolder;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexKeyType;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexTree;
 import org.apache.ignite.internal.pagemem.PageUtils;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMetrics;
 import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusInnerIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.IOVersions;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.util.GridUnsafe;
 
 /**
  * Inner page to store index rows with inlined keys.
@@ -71,9 +75,11 @@ public abstract class AbstractInlineInnerIO extends BPlusInnerIO<IndexRow> imple
         for (short payload = 1; payload <= PageIO.MAX_PAYLOAD_SIZE; payload++) {
             short ioType = (short)(type + payload - 1);
 
-            AbstractInlineInnerIO io = mvcc ? new MvccInlineInnerIO(ioType, payload) : new InlineInnerIO(ioType, payload);
-
-            IOVersions<? extends AbstractInlineInnerIO> versions = new IOVersions<>(io);
+            IOVersions<? extends AbstractInlineInnerIO> versions = mvcc ?
+                new IOVersions<>(new MvccInlineInnerIO(ioType, PLAIN_VER, payload),
+                    new MvccInlineInnerIO(ioType, FRONT_CODED_VER, payload)) :
+                new IOVersions<>(new InlineInnerIO(ioType, PLAIN_VER, payload),
+                    new InlineInnerIO(ioType, FRONT_CODED_VER, payload));
 
             PageIO.registerH2ExtraInner(versions, mvcc);
         }
@@ -135,15 +141,104 @@ public abstract class AbstractInlineInnerIO extends BPlusInnerIO<IndexRow> imple
 
         int srcOff = srcIo.offset(srcIdx);
 
-        byte[] payload = PageUtils.getBytes(srcPageAddr, srcOff, inlineSize);
+        int srcInlineSize = ((InlineIO)srcIo).inlineSize();
 
         int dstOff = offset(dstIdx);
 
-        PageUtils.putBytes(dstPageAddr, dstOff, payload);
+        if (srcInlineSize == inlineSize)
+            PageUtils.putBytes(dstPageAddr, dstOff, PageUtils.getBytes(srcPageAddr, srcOff, inlineSize));
+        else {
+            // Inlined keys are truncated at the key bounds, so the rest of the keys is compared by the rows.
+            int size = inlinedKeysSize(srcPageAddr, srcOff, Math.min(srcInlineSize, inlineSize));
+
+            PageUtils.putBytes(dstPageAddr, dstOff, PageUtils.getBytes(srcPageAddr, srcOff, size));
+
+            if (size < inlineSize)
+                PageUtils.putByte(dstPageAddr, dstOff + size, (byte)IndexKeyType.UNKNOWN.code());
+        }
 
         IORowHandler.store(dstPageAddr, dstOff + inlineSize, (InlineIO)srcIo, srcPageAddr, srcIdx, storeMvccInfo());
     }
 
+    /**
+     * @param pageAddr Page address.
+     * @param off Offset of the inlined keys.
+     * @param maxSize Max size of the inlined keys.
+     * @return Size of the inlined keys which entirely fit into the given size.
+     */
+    private static int inlinedKeysSize(long pageAddr, int off, int maxSize) {
+        InlineIndexRowHandler rowHnd = ThreadLocalRowHandlerHolder.rowHandler();
+
+        int size = 0;
+
+        for (InlineIndexKeyType keyType : rowHnd.inlineIndexKeyTypes()) {
+            int fixedSize = keyType.inlineSize();
+
+            // Fixed size key which is not inlined is not marked.
+            if (size == maxSize || (fixedSize > 0 && size + fixedSize > maxSize))
+                break;
+
+            int typeCode = PageUtils.getByte(pageAddr, off + size);
+
+            if (typeCode != keyType.type().code() && typeCode != IndexKeyType.NULL.code())
+                break;
+
+            int keySize = keyType.inlineSize(pageAddr, off + size);
+
+            if (size + keySize > maxSize)
+                break;
+
+            size += keySize;
+        }
+
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void initNewPage(long pageAddr, long pageId, int pageSize, PageMetrics metrics) {
+        super.initNewPage(pageAddr, pageId, pageSize, metrics);
+
+        // New pages are not front coded, so the nodes which don't know the front coding are able to read them.
+        setVersion(pageAddr, PLAIN_VER);
+    }
+
+    /**
+     * Front codes inlined keys of the compacted page, see {@link InlineKeysFrontCoding}. Only the compacted copy of
+     * the page is stamped with the {@link #FRONT_CODED_VER} and only if it is actually front coded.
+     */
+    @Override public void compactPage(ByteBuffer page, ByteBuffer out, int pageSize) {
+        super.compactPage(page, out, pageSize);
+
+        long addr = GridUnsafe.bufferAddress(out);
+
+        int encSize = InlineKeysFrontCoding.encode(addr, ITEMS_OFF, out.limit(), getCount(addr), itemSize + 8, 8,
+            inlineSize);
+
+        if (encSize >= 0) {
+            setVersion(addr, FRONT_CODED_VER);
+
+            out.limit(ITEMS_OFF + encSize);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void restorePage(ByteBuffer compactPage, int pageSize) {
+        long addr = GridUnsafe.bufferAddress(compactPage);
+
+        // Items of a page which was not front coded are stored as is.
+        if (compactPage.limit() < getItemsEnd(addr)) {
+            assert getVersion() >= FRONT_CODED_VER : getVersion();
+
+            InlineKeysFrontCoding.decode(addr, ITEMS_OFF, compactPage.limit(), getCount(addr), itemSize + 8, 8,
+                inlineSize);
+
+            // Restored page has the items stored as is.
+            setVersion(addr, PLAIN_VER);
+        }
+
+        super.restorePage(compactPage, pageSize);
+    }
+
     /** {@inheritDoc} */
     @Override public long link(long pageAddr, int idx) {
         return PageUtils.getLong(pageAddr, offset(idx) + inlineSize);
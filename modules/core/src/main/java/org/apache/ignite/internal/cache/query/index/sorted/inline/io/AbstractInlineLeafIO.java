@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.cache.query.index.sorted.inline.io;
 
+import java.nio.ByteBuffer;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.cache.query.index.sorted.IndexRow;
@@ -25,11 +26,13 @@ import org.apache.ignite.internal.cache.query.index.sorted.ThreadLocalRowHandler
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexKeyType;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexTree;
 import org.apache.ignite.internal.pagemem.PageUtils;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMetrics;
 import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusLeafIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.IOVersions;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.util.GridUnsafe;
 
 /**
  * Leaf page to store index rows with inlined keys.
@@ -71,9 +74,11 @@ public abstract class AbstractInlineLeafIO extends BPlusLeafIO<IndexRow> impleme
         for (short payload = 1; payload <= PageIO.MAX_PAYLOAD_SIZE; payload++) {
             short ioType = (short)(type + payload - 1);
 
-            AbstractInlineLeafIO io = mvcc ? new MvccInlineLeafIO(ioType, payload) : new InlineLeafIO(ioType, payload);
-
-            IOVersions<? extends AbstractInlineLeafIO> versions = new IOVersions<>(io);
+            IOVersions<? extends AbstractInlineLeafIO> versions = mvcc ?
+                new IOVersions<>(new MvccInlineLeafIO(ioType, PLAIN_VER, payload),
+                    new MvccInlineLeafIO(ioType, FRONT_CODED_VER, payload)) :
+                new IOVersions<>(new InlineLeafIO(ioType, PLAIN_VER, payload),
+                    new InlineLeafIO(ioType, FRONT_CODED_VER, payload));
 
             PageIO.registerH2ExtraLeaf(versions, mvcc);
         }
@@ -144,6 +149,50 @@ public abstract class AbstractInlineLeafIO extends BPlusLeafIO<IndexRow> impleme
         IORowHandler.store(dstPageAddr, dstOff + inlineSize, (InlineIO)srcIo, srcPageAddr, srcIdx, storeMvccInfo());
     }
 
+    /** {@inheritDoc} */
+    @Override public void initNewPage(long pageAddr, long pageId, int pageSize, PageMetrics metrics) {
+        super.initNewPage(pageAddr, pageId, pageSize, metrics);
+
+        // New pages are not front coded, so the nodes which don't know the front coding are able to read them.
+        setVersion(pageAddr, PLAIN_VER);
+    }
+
+    /**
+     * Front codes inlined keys of the compacted page, see {@link InlineKeysFrontCoding}. Only the compacted copy of
+     * the page is stamped with the {@link #FRONT_CODED_VER} and only if it is actually front coded.
+     */
+    @Override public void compactPage(ByteBuffer page, ByteBuffer out, int pageSize) {
+        super.compactPage(page, out, pageSize);
+
+        long addr = GridUnsafe.bufferAddress(out);
+
+        int encSize = InlineKeysFrontCoding.encode(addr, ITEMS_OFF, out.limit(), getCount(addr), itemSize, 0,
+            inlineSize);
+
+        if (encSize >= 0) {
+            setVersion(addr, FRONT_CODED_VER);
+
+            out.limit(ITEMS_OFF + encSize);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void restorePage(ByteBuffer compactPage, int pageSize) {
+        long addr = GridUnsafe.bufferAddress(compactPage);
+
+        // Items of a page which was not front coded are stored as is.
+        if (compactPage.limit() < getItemsEnd(addr)) {
+            assert getVersion() >= FRONT_CODED_VER : getVersion();
+
+            InlineKeysFrontCoding.decode(addr, ITEMS_OFF, compactPage.limit(), getCount(addr), itemSize, 0, inlineSize);
+
+            // Restored page has the items stored as is.
+            setVersion(addr, PLAIN_VER);
+        }
+
+        super.restorePage(compactPage, pageSize);
+    }
+
     /** {@inheritDoc} */
     @Override public long link(long pageAddr, int idx) {
         return PageUtils.getLong(pageAddr, offset(idx) + inlineSize);
@@ -21,6 +21,12 @@ package org.apache.ignite.internal.cache.query.index.sorted.inline.io;
  * Represents common API for inline IOs.
  */
 public interface InlineIO extends MvccIO {
+    /** Page format version of pages, which inlined keys are stored as is. */
+    public static final int PLAIN_VER = 1;
+
+    /** Page format version with front coded inlined keys of compacted pages. */
+    public static final int FRONT_CODED_VER = 2;
+
     /**
      * @param pageAddr Page address.
      * @param idx Index.
@@ -24,8 +24,8 @@ public final class InlineInnerIO extends AbstractInlineInnerIO {
     /**
      * Constructor.
      */
-    public InlineInnerIO(short type, int inlineSize) {
+    public InlineInnerIO(short type, int ver, int inlineSize) {
         // Meta stores link to a cache row.
-        super(type, 1, 8, inlineSize);
+        super(type, ver, 8, inlineSize);
     }
 }
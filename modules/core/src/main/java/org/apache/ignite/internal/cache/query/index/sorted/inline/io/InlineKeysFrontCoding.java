@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.cache.query.index.sorted.inline.io;
+
+import org.apache.ignite.internal.pagemem.PageUtils;
+import org.apache.ignite.internal.processors.cache.persistence.tree.util.PageHandler;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+/**
+ * Front coding of the inlined keys of compacted index pages.
+ *
+ * Keys of a B+Tree page are sorted, so neighbouring keys often share a prefix (tenant, URL or path of a compound key)
+ * and short keys leave the tail of the inline zeroed. On compaction every item is written as:
+ * <ul>
+ *     <li>bytes of the item preceding the inlined key (the left link of an inner page item);</li>
+ *     <li>2 bytes: length of the prefix shared with the inlined key of the previous item;</li>
+ *     <li>2 bytes: number of trailing zero bytes of the inlined key;</li>
+ *     <li>remaining bytes of the inlined key;</li>
+ *     <li>bytes of the item following the inlined key (link and MVCC info).</li>
+ * </ul>
+ * Bytes between the last item and the end of the items area (the rightmost link of an inner page) are stored as is.
+ * Items keep their fixed size in the page memory, the coding only shrinks the compacted page which is compressed
+ * and written to the disk or to the WAL.
+ */
+final class InlineKeysFrontCoding {
+    /** Size of the header of an encoded item: shared prefix length and trailing zeros count. */
+    private static final int ITEM_HDR_SIZE = 4;
+
+    /** */
+    private InlineKeysFrontCoding() {
+        // No-op.
+    }
+
+    /**
+     * Encodes items of the page in place.
+     *
+     * @param pageAddr Page address.
+     * @param itemsOff Offset of the first item.
+     * @param itemsEnd End of the items area.
+     * @param cnt Items count.
+     * @param stride Distance between the items.
+     * @param inlineOff Offset of the inlined key inside of the item.
+     * @param inlineSize Inline size.
+     * @return Size of the encoded items or {@code -1} if the coding does not make the page smaller.
+     */
+    static int encode(long pageAddr, int itemsOff, int itemsEnd, int cnt, int stride, int inlineOff, int inlineSize) {
+        int len = itemsEnd - itemsOff;
+
+        if (cnt == 0)
+            return -1;
+
+        byte[] items = PageUtils.getBytes(pageAddr, itemsOff, len);
+
+        int[] prefixes = new int[cnt];
+        int[] zeros = new int[cnt];
+
+        int encLen = len;
+
+        for (int i = 0; i < cnt; i++) {
+            int off = i * stride + inlineOff;
+
+            int prefix = i == 0 ? 0 : commonPrefix(items, off - stride, off, inlineSize);
+            int zero = 0;
+
+            while (zero < inlineSize - prefix && items[off + inlineSize - zero - 1] == 0)
+                zero++;
+
+            prefixes[i] = prefix;
+            zeros[i] = zero;
+
+            encLen += ITEM_HDR_SIZE - prefix - zero;
+        }
+
+        if (encLen >= len)
+            return -1;
+
+        int pos = itemsOff;
+
+        for (int i = 0; i < cnt; i++) {
+            int off = i * stride;
+
+            putBytes(pageAddr, pos, items, off, inlineOff);
+            pos += inlineOff;
+
+            PageUtils.putShort(pageAddr, pos, (short)prefixes[i]);
+            PageUtils.putShort(pageAddr, pos + 2, (short)zeros[i]);
+            pos += ITEM_HDR_SIZE;
+
+            int keyLen = inlineSize - prefixes[i] - zeros[i];
+
+            putBytes(pageAddr, pos, items, off + inlineOff + prefixes[i], keyLen);
+            pos += keyLen;
+
+            int restLen = stride - inlineOff - inlineSize;
+
+            putBytes(pageAddr, pos, items, off + inlineOff + inlineSize, restLen);
+            pos += restLen;
+        }
+
+        int tailLen = len - cnt * stride;
+
+        putBytes(pageAddr, pos, items, cnt * stride, tailLen);
+        pos += tailLen;
+
+        assert pos - itemsOff == encLen : "Encoded size mismatch [expected=" + encLen + ", actual=" + (pos - itemsOff) +
+            ']';
+
+        return encLen;
+    }
+
+    /**
+     * Decodes items of the page in place.
+     *
+     * @param pageAddr Page address.
+     * @param itemsOff Offset of the first item.
+     * @param encEnd End of the encoded items.
+     * @param cnt Items count.
+     * @param stride Distance between the items.
+     * @param inlineOff Offset of the inlined key inside of the item.
+     * @param inlineSize Inline size.
+     */
+    static void decode(long pageAddr, int itemsOff, int encEnd, int cnt, int stride, int inlineOff, int inlineSize) {
+        byte[] enc = PageUtils.getBytes(pageAddr, itemsOff, encEnd - itemsOff);
+
+        int pos = 0;
+
+        for (int i = 0; i < cnt; i++) {
+            int off = itemsOff + i * stride;
+
+            putBytes(pageAddr, off, enc, pos, inlineOff);
+            pos += inlineOff;
+
+            int prefix = getShort(enc, pos);
+            int zero = getShort(enc, pos + 2);
+            pos += ITEM_HDR_SIZE;
+
+            assert prefix + zero <= inlineSize && (i > 0 || prefix == 0) :
+                "Corrupted item [idx=" + i + ", prefix=" + prefix + ", zeros=" + zero + ']';
+
+            int keyOff = off + inlineOff;
+
+            if (prefix > 0)
+                PageHandler.copyMemory(pageAddr, keyOff - stride, pageAddr, keyOff, prefix);
+
+            int keyLen = inlineSize - prefix - zero;
+
+            putBytes(pageAddr, keyOff + prefix, enc, pos, keyLen);
+            pos += keyLen;
+
+            if (zero > 0)
+                PageHandler.zeroMemory(pageAddr, keyOff + inlineSize - zero, zero);
+
+            int restLen = stride - inlineOff - inlineSize;
+
+            putBytes(pageAddr, keyOff + inlineSize, enc, pos, restLen);
+            pos += restLen;
+        }
+
+        putBytes(pageAddr, itemsOff + cnt * stride, enc, pos, enc.length - pos);
+    }
+
+    /**
+     * @param items Items.
+     * @param off1 Offset of the first key.
+     * @param off2 Offset of the second key.
+     * @param len Length of the keys.
+     * @return Length of the common prefix.
+     */
+    private static int commonPrefix(byte[] items, int off1, int off2, int len) {
+        int i = 0;
+
+        while (i < len && items[off1 + i] == items[off2 + i])
+            i++;
+
+        return i;
+    }
+
+    /**
+     * @param addr Address.
+     * @param off Offset.
+     * @param bytes Bytes array.
+     * @param bytesOff Bytes array offset.
+     * @param len Length, may be {@code 0}.
+     */
+    private static void putBytes(long addr, int off, byte[] bytes, int bytesOff, int len) {
+        if (len > 0)
+            PageUtils.putBytes(addr, off, bytes, bytesOff, len);
+    }
+
+    /**
+     * @param arr Array.
+     * @param off Offset.
+     * @return Unsigned short value written by {@link PageUtils#putShort(long, int, short)}.
+     */
+    private static int getShort(byte[] arr, int off) {
+        return GridUnsafe.getShort(arr, GridUnsafe.BYTE_ARR_OFF + off) & 0xFFFF;
+    }
+}
@@ -24,8 +24,8 @@ public final class InlineLeafIO extends AbstractInlineLeafIO {
     /**
      * Constructor.
      */
-    public InlineLeafIO(short type, int inlineSize) {
+    public InlineLeafIO(short type, int ver, int inlineSize) {
         // Meta stores link to a cache row.
-        super(type, 1, 8, inlineSize);
+        super(type, ver, 8, inlineSize);
     }
 }
@@ -26,9 +26,11 @@ import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -40,6 +42,7 @@ import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
 import org.apache.ignite.internal.pagemem.wal.record.DataRecord;
 import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
 import org.apache.ignite.internal.util.typedef.T2;
+import org.jetbrains.annotations.Nullable;
 
 import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
@@ -62,6 +65,12 @@ public class CdcConsumerState {
     /** */
     public static final String WAL_STATE_FILE_NAME = "cdc-wal-state" + FILE_SUFFIX;
 
+    /** */
+    public static final String WAL_SHARDS_STATE_FILE_NAME = "cdc-wal-shards-state" + FILE_SUFFIX;
+
+    /** Version of the format of the WAL shards state file. */
+    private static final int WAL_SHARDS_STATE_VER = 1;
+
     /** */
     public static final String TYPES_STATE_FILE_NAME = "cdc-types-state" + FILE_SUFFIX;
 
@@ -80,6 +89,12 @@ public class CdcConsumerState {
     /** Temp WAL pointer state file. */
     private final Path tmpWalPtr;
 
+    /** WAL shards state file. */
+    private final Path walShards;
+
+    /** Temp WAL shards state file. */
+    private final Path tmpWalShards;
+
     /** Types state file. */
     private final Path types;
 
@@ -105,6 +120,8 @@ public class CdcConsumerState {
         this.log = log.getLogger(CdcConsumerState.class);
         walPtr = stateDir.resolve(WAL_STATE_FILE_NAME);
         tmpWalPtr = stateDir.resolve(WAL_STATE_FILE_NAME + TMP_SUFFIX);
+        walShards = stateDir.resolve(WAL_SHARDS_STATE_FILE_NAME);
+        tmpWalShards = stateDir.resolve(WAL_SHARDS_STATE_FILE_NAME + TMP_SUFFIX);
         types = stateDir.resolve(TYPES_STATE_FILE_NAME);
         tmpTypes = stateDir.resolve(TYPES_STATE_FILE_NAME + TMP_SUFFIX);
         mappings = stateDir.resolve(MAPPINGS_STATE_FILE_NAME);
@@ -135,6 +152,88 @@ public class CdcConsumerState {
         Files.move(tmpWalPtr, walPtr, ATOMIC_MOVE, REPLACE_EXISTING);
     }
 
+    /**
+     * Saves WAL consumption state of the consumer shards to file.
+     *
+     * @param states WAL pointer and index of {@link DataEntry} inside {@link DataRecord} for each shard,
+     *      {@code null} if the shard has not committed yet.
+     */
+    public void saveWalShards(List<T2<WALPointer, Integer>> states) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(2 * Integer.BYTES + states.size() * (1 + POINTER_SIZE));
+
+        buf.putInt(WAL_SHARDS_STATE_VER);
+        buf.putInt(states.size());
+
+        for (T2<WALPointer, Integer> state : states) {
+            buf.put((byte)(state == null ? 0 : 1));
+
+            if (state != null) {
+                buf.putLong(state.get1().index());
+                buf.putInt(state.get1().fileOffset());
+                buf.putInt(state.get2());
+            }
+        }
+
+        buf.flip();
+
+        try (FileChannel ch = FileChannel.open(tmpWalShards,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining())
+                ch.write(buf);
+
+            ch.force(true);
+        }
+
+        Files.move(tmpWalShards, walShards, ATOMIC_MOVE, REPLACE_EXISTING);
+    }
+
+    /**
+     * Loads WAL consumption state of the consumer shards from file.
+     *
+     * @return Saved state of each shard, or {@code null} if the state is not saved.
+     */
+    public @Nullable List<T2<WALPointer, Integer>> loadWalShardsState() {
+        if (!Files.exists(walShards))
+            return null;
+
+        ByteBuffer buf;
+
+        try {
+            buf = ByteBuffer.wrap(Files.readAllBytes(walShards));
+        }
+        catch (IOException e) {
+            throw new IgniteException("Failed to read state [file=" + walShards + ']', e);
+        }
+
+        int ver = buf.getInt();
+
+        if (ver != WAL_SHARDS_STATE_VER)
+            throw new IgniteException("Unsupported version of the WAL shards state [file=" + walShards + ", ver=" + ver + ']');
+
+        int cnt = buf.getInt();
+
+        List<T2<WALPointer, Integer>> states = new ArrayList<>(cnt);
+
+        for (int i = 0; i < cnt; i++) {
+            if (buf.get() == 0) {
+                states.add(null);
+
+                continue;
+            }
+
+            long idx = buf.getLong();
+            int offset = buf.getInt();
+            int entryIdx = buf.getInt();
+
+            states.add(new T2<>(new WALPointer(idx, offset, 0), entryIdx));
+        }
+
+        if (log.isInfoEnabled())
+            log.info("Initial WAL shards state loaded [states=" + states + ']');
+
+        return states;
+    }
+
     /**
      * Saves binary types state to file.
      *
@@ -23,14 +23,19 @@ import java.io.Serializable;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
@@ -50,11 +55,14 @@ import org.apache.ignite.internal.IgniteInterruptedCheckedException;
 import org.apache.ignite.internal.MarshallerContextImpl;
 import org.apache.ignite.internal.binary.BinaryUtils;
 import org.apache.ignite.internal.cdc.WalRecordsConsumer.DataEntryIterator;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
 import org.apache.ignite.internal.processors.cache.GridLocalConfigManager;
 import org.apache.ignite.internal.processors.cache.binary.CacheObjectBinaryProcessorImpl;
 import org.apache.ignite.internal.processors.cache.persistence.filename.PdsFolderResolver;
 import org.apache.ignite.internal.processors.cache.persistence.filename.PdsFolderSettings;
 import org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager;
+import org.apache.ignite.internal.processors.cache.persistence.wal.ReadAheadWalIterator;
 import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.reader.IgniteWalIteratorFactory;
 import org.apache.ignite.internal.processors.cache.persistence.wal.reader.StandaloneGridKernalContext;
@@ -157,6 +165,9 @@ public class CdcMain implements Runnable {
     /** Cdc directory metric name. */
     public static final String CDC_DIR = "CdcDir";
 
+    /** Minimal interval between saves of the state committed by the consumer shards, in milliseconds. */
+    static final long SHARDS_STATE_SAVE_INTERVAL = 1_000;
+
     /** Ignite configuration. */
     private final IgniteConfiguration igniteCfg;
 
@@ -187,6 +198,27 @@ public class CdcMain implements Runnable {
     /** Events consumer. */
     private final WalRecordsConsumer<?, ?> consumer;
 
+    /** Events consumer dispatching events to shards, {@code null} if events are consumed by the single consumer. */
+    private final ShardedWalRecordsConsumer<?, ?> shards;
+
+    /** Mutex guarding state of the shards. */
+    private final Object shardsMux = new Object();
+
+    /** Committed WAL state of each shard. */
+    private List<T2<WALPointer, Integer>> shardsState;
+
+    /** Whether the shards committed the state, which is not saved yet. */
+    private boolean shardsDirty;
+
+    /** Lock of the shards state save. */
+    private final Lock shardsSaveLock = new ReentrantLock();
+
+    /** Time of the last save of the shards state. */
+    private volatile long shardsSaveTs;
+
+    /** WAL state committed by all shards, guarded by {@link #shardsSaveLock}. */
+    private T2<WALPointer, Integer> shardsCommitted;
+
     /** Logger. */
     private final IgniteLogger log;
 
@@ -252,7 +284,35 @@ public class CdcMain implements Runnable {
             throw new IgniteException(e);
         }
 
-        consumer = new WalRecordsConsumer<>(cdcCfg.getConsumer(), log);
+        if (cdcCfg.getConsumerShards() > 0) {
+            shards = createShardedConsumer();
+
+            consumer = shards;
+        }
+        else {
+            shards = null;
+
+            consumer = new WalRecordsConsumer<>(cdcCfg.getConsumer(), log);
+        }
+    }
+
+    /** @return Consumer dispatching events to shards. */
+    private ShardedWalRecordsConsumer<?, ?> createShardedConsumer() {
+        if (cdcCfg.getConsumerFactory() == null)
+            throw new IllegalArgumentException("Consumer factory must be set to consume events by shards.");
+
+        List<CdcConsumer> consumers = new ArrayList<>(cdcCfg.getConsumerShards());
+
+        for (int i = 0; i < cdcCfg.getConsumerShards(); i++)
+            consumers.add(cdcCfg.getConsumerFactory().create());
+
+        return new ShardedWalRecordsConsumer<>(
+            consumers,
+            log,
+            cdcInstanceName(igniteCfg.getIgniteInstanceName()),
+            name -> kctx.metric().registry(name),
+            this::commitShard
+        );
     }
 
     /** Runs Change Data Capture. */
@@ -302,7 +362,8 @@ public class CdcMain implements Runnable {
             initMetrics();
 
             try {
-                kctx.resource().injectGeneric(consumer.consumer());
+                for (CdcConsumer cnsmr : consumer.consumers())
+                    kctx.resource().injectGeneric(cnsmr);
 
                 state = createState(cdcDir.resolve(STATE_DIR));
 
@@ -311,6 +372,9 @@ public class CdcMain implements Runnable {
                 mappingsState = state.loadMappingsState();
                 cachesState = state.loadCaches();
 
+                if (shards != null)
+                    initShardsState();
+
                 if (walState != null) {
                     committedSegmentIdx.value(walState.get1().index());
                     committedSegmentOffset.value(walState.get1().fileOffset());
@@ -325,6 +389,20 @@ public class CdcMain implements Runnable {
                 }
                 finally {
                     stop();
+
+                    // Shards are stopped, so the state they committed last is saved.
+                    if (shards != null) {
+                        // File channel of the interrupted thread is closed on write.
+                        boolean interrupted = Thread.interrupted();
+
+                        try {
+                            saveShardsState(true);
+                        }
+                        finally {
+                            if (interrupted)
+                                Thread.currentThread().interrupt();
+                        }
+                    }
                 }
             }
             finally {
@@ -337,6 +415,143 @@ public class CdcMain implements Runnable {
         }
     }
 
+    /**
+     * Loads WAL state of the shards. State of a shard can't be behind the WAL state, which is committed by all
+     * the shards or by the single consumer if the shards were not used.
+     */
+    private void initShardsState() {
+        List<T2<WALPointer, Integer>> states = state.loadWalShardsState();
+
+        if (states != null && states.size() != shards.shardsCount()) {
+            log.warning("Number of consumer shards changed, all shards resume consumption from the WAL state " +
+                "[savedShards=" + states.size() + ", shards=" + shards.shardsCount() + ", state=" + walState + ']');
+
+            states = null;
+        }
+
+        if (states == null)
+            states = new ArrayList<>(Collections.nCopies(shards.shardsCount(), walState));
+        else if (walState != null) {
+            for (int i = 0; i < states.size(); i++) {
+                T2<WALPointer, Integer> shardState = states.get(i);
+
+                if (shardState == null || ShardedWalRecordsConsumer.compare(shardState, walState) < 0)
+                    states.set(i, walState);
+            }
+        }
+
+        shardsState = states;
+        shardsCommitted = walState = minState(states);
+
+        shards.init(states);
+    }
+
+    /**
+     * Remembers WAL state committed by the shard. The state is saved to disk at most once per
+     * {@link #SHARDS_STATE_SAVE_INTERVAL}, so commits of the shards in between are coalesced.
+     *
+     * @param shard Shard index.
+     * @param shardState State committed by the shard.
+     */
+    private void commitShard(int shard, T2<WALPointer, Integer> shardState) {
+        synchronized (shardsMux) {
+            shardsState.set(shard, shardState);
+
+            shardsDirty = true;
+        }
+
+        if (U.currentTimeMillis() - shardsSaveTs >= SHARDS_STATE_SAVE_INTERVAL)
+            saveShardsState(false);
+    }
+
+    /**
+     * Saves WAL state committed by the shards. WAL state committed by all the shards is saved as the state of the
+     * single consumer, the segments before it are deleted.
+     *
+     * @param wait Whether to wait for the concurrent save, otherwise the save is skipped.
+     */
+    private void saveShardsState(boolean wait) {
+        if (wait)
+            shardsSaveLock.lock();
+        else if (!shardsSaveLock.tryLock())
+            return; // Concurrent save will pick up the committed state.
+
+        try {
+            List<T2<WALPointer, Integer>> states;
+
+            synchronized (shardsMux) {
+                if (!shardsDirty)
+                    return;
+
+                states = new ArrayList<>(shardsState);
+
+                shardsDirty = false;
+            }
+
+            shardsSaveTs = U.currentTimeMillis();
+
+            state.saveWalShards(states);
+
+            T2<WALPointer, Integer> min = minState(states);
+
+            if (min == null || (shardsCommitted != null && ShardedWalRecordsConsumer.compare(min, shardsCommitted) <= 0))
+                return;
+
+            if (log.isDebugEnabled())
+                log.debug("Saving state [curState=" + min + ']');
+
+            state.saveWal(min);
+
+            shardsCommitted = min;
+
+            committedSegmentIdx.value(min.get1().index());
+            committedSegmentOffset.value(min.get1().fileOffset());
+
+            List<Path> toDelete = new ArrayList<>();
+
+            synchronized (shardsMux) {
+                for (Iterator<Path> iter = processedSegments.iterator(); iter.hasNext(); ) {
+                    Path processedSegment = iter.next();
+
+                    if (segmentIndex(processedSegment) < min.get1().index()) {
+                        toDelete.add(processedSegment);
+
+                        iter.remove();
+                    }
+                }
+            }
+
+            // WAL segment is a hard link to a segment file in a special Change Data Capture folder.
+            // So we can safely delete it after all the shards processed it.
+            for (Path segment : toDelete)
+                Files.delete(segment);
+        }
+        catch (IOException e) {
+            throw new IgniteException(e);
+        }
+        finally {
+            shardsSaveLock.unlock();
+        }
+    }
+
+    /**
+     * @param states States.
+     * @return Minimal state, {@code null} if some state is {@code null}.
+     */
+    private static T2<WALPointer, Integer> minState(List<T2<WALPointer, Integer>> states) {
+        T2<WALPointer, Integer> min = null;
+
+        for (T2<WALPointer, Integer> s : states) {
+            if (s == null)
+                return null;
+
+            if (min == null || ShardedWalRecordsConsumer.compare(s, min) < 0)
+                min = s;
+        }
+
+        return min;
+    }
+
     /** Creates consumer state. */
     protected CdcConsumerState createState(Path stateDir) {
         return new CdcConsumerState(log, stateDir);
@@ -463,6 +678,10 @@ public class CdcMain implements Runnable {
                         updateMetadata();
                 }
 
+                // Saves the state committed by the shards since the last save, if they don't commit anymore.
+                if (shards != null)
+                    saveShardsState(false);
+
                 if (!stopped)
                     U.sleep(cdcCfg.getCheckFrequency());
             }
@@ -524,13 +743,19 @@ public class CdcMain implements Runnable {
             builder.from(walState.get1());
         }
 
-        try (DataEntryIterator iter = new DataEntryIterator(new IgniteWalIteratorFactory(log).iterator(builder))) {
+        try (DataEntryIterator iter = new DataEntryIterator(walIterator(builder))) {
             if (walState != null) {
                 iter.init(walState.get2());
 
                 walState = null;
             }
 
+            if (shards != null) {
+                dispatch(segment, iter);
+
+                return;
+            }
+
             boolean interrupted = false;
 
             do {
@@ -579,6 +804,52 @@ public class CdcMain implements Runnable {
         }
     }
 
+    /**
+     * Dispatches entries of the segment to the shards.
+     *
+     * @param segment Segment.
+     * @param iter Iterator over entries of the segment.
+     */
+    private void dispatch(Path segment, DataEntryIterator iter) {
+        T2<WALPointer, Integer> pos = iter.state();
+
+        while (iter.hasNext()) {
+            DataEntry e = iter.next();
+
+            T2<WALPointer, Integer> next = iter.state();
+
+            if (!shards.dispatch(e, pos, next))
+                return;
+
+            pos = next;
+
+            if (Thread.interrupted())
+                throw new IgniteException("Change Data Capture Application interrupted");
+        }
+
+        synchronized (shardsMux) {
+            processedSegments.add(segment);
+        }
+
+        if (pos != null)
+            shards.dispatchPosition(pos);
+    }
+
+    /**
+     * @param builder WAL iterator parameters.
+     * @return Iterator over records of the WAL segment.
+     * @throws IgniteCheckedException If failed.
+     */
+    private WALIterator walIterator(
+        IgniteWalIteratorFactory.IteratorParametersBuilder builder
+    ) throws IgniteCheckedException {
+        WALIterator iter = new IgniteWalIteratorFactory(log).iterator(builder);
+
+        int readAhead = cdcCfg.getReadAheadRecords();
+
+        return readAhead > 0 ? new ReadAheadWalIterator(kctx.igniteInstanceName(), iter, readAhead) : iter;
+    }
+
     /** Metadata update. */
     private void updateMetadata() {
         long start = System.currentTimeMillis();
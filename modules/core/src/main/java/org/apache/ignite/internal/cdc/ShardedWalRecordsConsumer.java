@@ -0,0 +1,620 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.cdc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.binary.BinaryType;
+import org.apache.ignite.cdc.CdcCacheEvent;
+import org.apache.ignite.cdc.CdcConfiguration;
+import org.apache.ignite.cdc.CdcConsumer;
+import org.apache.ignite.cdc.TypeMapping;
+import org.apache.ignite.internal.IgniteFutureTimeoutCheckedException;
+import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
+import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.T2;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteBiInClosure;
+import org.apache.ignite.lang.IgniteInClosure;
+import org.apache.ignite.thread.IgniteThread;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.cdc.CdcMain.COMMITTED_SEG_IDX;
+import static org.apache.ignite.internal.cdc.CdcMain.COMMITTED_SEG_OFFSET;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Dispatches {@link DataEntry} to several {@link CdcConsumer} instances, each run by its own thread. Entries are
+ * sharded by cache and partition, so events of a partition are consumed in the WAL order by the same consumer.
+ * <p>
+ * Each shard commits its own WAL consumption state: position right after the last committed entry of the shard.
+ * Entries of other shards before this position may be not consumed yet, so the consumption is resumed from the
+ * minimal state of all shards and each shard skips the entries before its own state.
+ * <p>
+ * Binary types, mappings and cache events are passed to the consumer of each shard by the shard thread after the
+ * entries dispatched before them, so consumers are never called concurrently.
+ *
+ * @see CdcConfiguration#setConsumerShards(int)
+ */
+public class ShardedWalRecordsConsumer<K, V> extends WalRecordsConsumer<K, V> {
+    /** Shard metric registry name prefix. */
+    public static final String SHARD_METRICS = metricName("cdc", "shard");
+
+    /** Count of events dispatched to the shard and not yet passed to its consumer. */
+    public static final String PENDING_EVTS_CNT = "PendingEventsCount";
+
+    /** Capacity of the queue of each shard. */
+    private static final int QUEUE_SIZE = 1024;
+
+    /** Maximum number of entries passed to the consumer at once. */
+    private static final int BATCH_SIZE = 256;
+
+    /** Timeout of waiting on the queue, after which the stopped flag is checked. */
+    private static final long QUEUE_TIMEOUT_MS = 100;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Ignite instance name of the CDC application. */
+    private final String igniteInstanceName;
+
+    /** Shards. */
+    private final Shard[] shards;
+
+    /** Provides metric registry by its name. */
+    private final Function<String, MetricRegistry> registries;
+
+    /** Listener of the committed state of a shard. */
+    private final IgniteBiInClosure<Integer, T2<WALPointer, Integer>> commitLsnr;
+
+    /** Stopped flag. */
+    private volatile boolean stopped;
+
+    /**
+     * @param consumers User provided CDC consumers, one for each shard.
+     * @param log Logger.
+     * @param igniteInstanceName Ignite instance name of the CDC application.
+     * @param registries Provides metric registry by its name.
+     * @param commitLsnr Listener of the committed state of a shard.
+     */
+    @SuppressWarnings("unchecked")
+    public ShardedWalRecordsConsumer(
+        List<CdcConsumer> consumers,
+        IgniteLogger log,
+        String igniteInstanceName,
+        Function<String, MetricRegistry> registries,
+        IgniteBiInClosure<Integer, T2<WALPointer, Integer>> commitLsnr
+    ) {
+        super(consumers.get(0), log);
+
+        this.log = log;
+        this.igniteInstanceName = igniteInstanceName;
+        this.registries = registries;
+        this.commitLsnr = commitLsnr;
+
+        shards = (Shard[])new ShardedWalRecordsConsumer.Shard[consumers.size()];
+
+        for (int i = 0; i < shards.length; i++)
+            shards[i] = new Shard(i, new WalRecordsConsumer<>(consumers.get(i), log));
+    }
+
+    /** @return Number of shards. */
+    public int shardsCount() {
+        return shards.length;
+    }
+
+    /**
+     * Sets the states the shards resume consumption from, entries before the state of a shard are skipped.
+     *
+     * @param states Committed states of the shards, {@code null} if a shard has not committed yet.
+     */
+    public void init(List<T2<WALPointer, Integer>> states) {
+        assert states.size() == shards.length;
+
+        for (int i = 0; i < shards.length; i++)
+            shards[i].committed = shards[i].start = states.get(i);
+    }
+
+    /**
+     * Dispatches entry to its shard.
+     *
+     * @param e Data entry.
+     * @param pos Position of the entry in WAL.
+     * @param next Position right after the entry.
+     * @return {@code False} if the consumer is stopped.
+     */
+    public boolean dispatch(DataEntry e, T2<WALPointer, Integer> pos, T2<WALPointer, Integer> next) {
+        Shard shard = shards[U.safeAbs(31 * e.cacheId() + e.partitionId()) % shards.length];
+
+        // Already committed by the shard before restart.
+        if (shard.start != null && compare(pos, shard.start) < 0)
+            return true;
+
+        shard.pending.increment();
+
+        return shard.put(new Item(e, next, null, null));
+    }
+
+    /**
+     * Dispatches position reached in WAL to every shard. Shards having no uncommitted entries commit this position,
+     * so the state of a shard without entries follows the WAL consumption.
+     *
+     * @param pos Position in WAL.
+     * @return {@code False} if the consumer is stopped.
+     */
+    public boolean dispatchPosition(T2<WALPointer, Integer> pos) {
+        for (Shard shard : shards) {
+            if (!shard.put(new Item(null, pos, null, null)))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Passes the task to the consumer of every shard after the already dispatched entries and waits for completion.
+     *
+     * @param task Task.
+     */
+    private void broadcast(IgniteInClosure<WalRecordsConsumer<K, V>> task) {
+        List<GridFutureAdapter<Void>> futs = new ArrayList<>(shards.length);
+
+        for (Shard shard : shards) {
+            GridFutureAdapter<Void> fut = new GridFutureAdapter<>();
+
+            if (!shard.put(new Item(null, null, task, fut)))
+                throw new IgniteException("Change Data Capture Application stopped");
+
+            futs.add(fut);
+        }
+
+        try {
+            for (int i = 0; i < shards.length; i++) {
+                while (true) {
+                    try {
+                        futs.get(i).get(QUEUE_TIMEOUT_MS);
+
+                        break;
+                    }
+                    catch (IgniteFutureTimeoutCheckedException ignored) {
+                        shards[i].checkAlive();
+                    }
+                }
+            }
+        }
+        catch (IgniteCheckedException e) {
+            throw new IgniteException(e);
+        }
+    }
+
+    /**
+     * @param iter Iterator.
+     * @param handler Passes elements to the consumer.
+     * @param msg Message of the error thrown if a consumer doesn't handle all the elements.
+     * @return Task passing all the elements of the iterator to the consumer of a shard.
+     */
+    private <T> @Nullable IgniteInClosure<WalRecordsConsumer<K, V>> task(
+        Iterator<T> iter,
+        IgniteBiInClosure<WalRecordsConsumer<K, V>, Iterator<T>> handler,
+        String msg
+    ) {
+        List<T> elems = new ArrayList<>();
+
+        iter.forEachRemaining(elems::add);
+
+        if (elems.isEmpty())
+            return null;
+
+        return c -> {
+            Iterator<T> shardIter = elems.iterator();
+
+            handler.apply(c, shardIter);
+
+            if (shardIter.hasNext())
+                throw new IllegalStateException(msg);
+        };
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean onRecords(Iterator<DataEntry> entries) {
+        throw new UnsupportedOperationException("Entries must be dispatched to the shards");
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onTypes(Iterator<BinaryType> types) {
+        IgniteInClosure<WalRecordsConsumer<K, V>> task =
+            task(types, WalRecordsConsumer::onTypes, "Consumer should handle all changed types");
+
+        if (task != null)
+            broadcast(task);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onMappings(Iterator<TypeMapping> mappings) {
+        IgniteInClosure<WalRecordsConsumer<K, V>> task =
+            task(mappings, WalRecordsConsumer::onMappings, "Consumer should handle all changed mappings");
+
+        if (task != null)
+            broadcast(task);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onCacheEvents(Iterator<CdcCacheEvent> cacheEvts) {
+        IgniteInClosure<WalRecordsConsumer<K, V>> task =
+            task(cacheEvts, WalRecordsConsumer::onCacheEvents, "Consumer should handle all cache change events");
+
+        if (task != null)
+            broadcast(task);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onCacheDestroyEvents(Iterator<Integer> caches) {
+        IgniteInClosure<WalRecordsConsumer<K, V>> task =
+            task(caches, WalRecordsConsumer::onCacheDestroyEvents, "Consumer should handle all cache destroy events");
+
+        if (task != null)
+            broadcast(task);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void start(MetricRegistry cdcReg, MetricRegistry cdcConsumerReg) throws IgniteCheckedException {
+        for (Shard shard : shards) {
+            String idx = String.valueOf(shard.idx);
+
+            MetricRegistry shardReg = registries.apply(metricName(SHARD_METRICS, idx));
+
+            shard.consumer.start(shardReg, registries.apply(metricName(cdcConsumerReg.name(), "shard", idx)));
+
+            shard.pending = shardReg.longMetric(PENDING_EVTS_CNT,
+                "Count of events dispatched to the shard and not yet passed to its consumer");
+            shard.committedSegIdx = shardReg.longMetric(COMMITTED_SEG_IDX, "Committed segment index of the shard");
+            shard.committedSegOffset = shardReg.longMetric(COMMITTED_SEG_OFFSET,
+                "Committed segment offset of the shard");
+
+            if (shard.committed != null) {
+                shard.committedSegIdx.value(shard.committed.get1().index());
+                shard.committedSegOffset.value(shard.committed.get1().fileOffset());
+            }
+        }
+
+        for (Shard shard : shards) {
+            shard.thread = new IgniteThread(igniteInstanceName, "cdc-shard-" + shard.idx, shard::run);
+
+            shard.thread.start();
+        }
+
+        if (log.isInfoEnabled())
+            log.info("Sharded WalRecordsConsumer started [shards=" + shards.length + ']');
+    }
+
+    /** {@inheritDoc} */
+    @Override public void stop() {
+        stopped = true;
+
+        for (Shard shard : shards) {
+            if (shard.thread != null)
+                U.join(shard.thread, log);
+        }
+
+        for (Shard shard : shards)
+            shard.consumer.stop();
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean alive() {
+        for (Shard shard : shards) {
+            if (shard.err != null || !shard.consumer.alive())
+                return false;
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Collection<CdcConsumer> consumers() {
+        return F.viewReadOnly(F.asList(shards), s -> s.consumer.consumer());
+    }
+
+    /**
+     * @param s1 First state.
+     * @param s2 Second state.
+     * @return Comparison result of the WAL positions of the states.
+     */
+    static int compare(T2<WALPointer, Integer> s1, T2<WALPointer, Integer> s2) {
+        int res = s1.get1().compareTo(s2.get1());
+
+        return res == 0 ? Integer.compare(s1.get2(), s2.get2()) : res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ShardedWalRecordsConsumer.class, this, "shards", shards.length);
+    }
+
+    /** Shard. */
+    private class Shard {
+        /** Index of the shard. */
+        private final int idx;
+
+        /** Consumer of the shard. */
+        private final WalRecordsConsumer<K, V> consumer;
+
+        /** Dispatched items. */
+        private final BlockingQueue<Item> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+
+        /** State the shard resumes consumption from. */
+        private T2<WALPointer, Integer> start;
+
+        /** Committed state. Accessed by the shard thread only after start. */
+        private T2<WALPointer, Integer> committed;
+
+        /** Whether some entries are passed to the consumer, but not committed. */
+        private boolean uncommitted;
+
+        /** Thread. */
+        private Thread thread;
+
+        /** Error of the shard thread. */
+        private volatile Throwable err;
+
+        /** Count of events dispatched to the shard and not yet passed to its consumer. */
+        private AtomicLongMetric pending;
+
+        /** Committed segment index. */
+        private AtomicLongMetric committedSegIdx;
+
+        /** Committed segment offset. */
+        private AtomicLongMetric committedSegOffset;
+
+        /**
+         * @param idx Index of the shard.
+         * @param consumer Consumer of the shard.
+         */
+        private Shard(int idx, WalRecordsConsumer<K, V> consumer) {
+            this.idx = idx;
+            this.consumer = consumer;
+        }
+
+        /**
+         * @param item Item.
+         * @return {@code False} if the consumer is stopped.
+         */
+        private boolean put(Item item) {
+            try {
+                while (!stopped) {
+                    checkAlive();
+
+                    if (queue.offer(item, QUEUE_TIMEOUT_MS, TimeUnit.MILLISECONDS))
+                        return true;
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new IgniteException("Change Data Capture Application interrupted", e);
+            }
+
+            return false;
+        }
+
+        /** Throws an exception if the shard thread failed or the consumer is stopped. */
+        private void checkAlive() {
+            if (err != null)
+                throw new IgniteException("Consumer of the shard failed [shard=" + idx + ']', err);
+
+            if (stopped)
+                throw new IgniteException("Change Data Capture Application stopped");
+        }
+
+        /** Passes dispatched items to the consumer until stopped. */
+        private void run() {
+            List<Item> batch = new ArrayList<>(BATCH_SIZE);
+
+            try {
+                while (!stopped) {
+                    Item first = queue.poll(QUEUE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+                    if (first == null)
+                        continue;
+
+                    batch.add(first);
+
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+
+                    process(batch);
+
+                    batch.clear();
+                }
+            }
+            catch (Throwable e) {
+                err = e;
+
+                log.error("Consumer of the shard failed [shard=" + idx + ']', e);
+
+                if (e instanceof Error)
+                    throw (Error)e;
+            }
+        }
+
+        /**
+         * @param batch Dispatched items.
+         */
+        private void process(List<Item> batch) {
+            int i = 0;
+
+            while (i < batch.size()) {
+                Item item = batch.get(i);
+
+                if (item.task != null) {
+                    try {
+                        item.task.apply(consumer);
+                    }
+                    catch (Throwable e) {
+                        item.fut.onDone(e);
+
+                        throw e;
+                    }
+
+                    item.fut.onDone();
+
+                    i++;
+                }
+                else if (item.entry == null) {
+                    if (!uncommitted)
+                        commit(item.next);
+
+                    i++;
+                }
+                else {
+                    int end = i + 1;
+
+                    while (end < batch.size() && batch.get(end).entry != null)
+                        end++;
+
+                    consume(batch.subList(i, end));
+
+                    i = end;
+                }
+            }
+        }
+
+        /**
+         * @param entries Dispatched entries.
+         */
+        private void consume(List<Item> entries) {
+            EntryIterator iter = new EntryIterator(entries);
+
+            do {
+                if (consumer.onRecords(iter)) {
+                    uncommitted = false;
+
+                    if (iter.last != null)
+                        commit(iter.last.next);
+                }
+                else
+                    uncommitted = true;
+
+                if (stopped)
+                    return;
+            }
+            while (iter.hasNext());
+        }
+
+        /**
+         * @param state State to commit.
+         */
+        private void commit(T2<WALPointer, Integer> state) {
+            if (committed != null && compare(state, committed) <= 0)
+                return;
+
+            if (log.isDebugEnabled())
+                log.debug("Saving shard state [shard=" + idx + ", state=" + state + ']');
+
+            commitLsnr.apply(idx, state);
+
+            committed = state;
+
+            committedSegIdx.value(state.get1().index());
+            committedSegOffset.value(state.get1().fileOffset());
+        }
+
+        /** Iterator over the dispatched entries. */
+        private class EntryIterator implements Iterator<DataEntry> {
+            /** Dispatched entries. */
+            private final List<Item> entries;
+
+            /** Index of the next entry. */
+            private int idx;
+
+            /** Last returned entry. */
+            private Item last;
+
+            /**
+             * @param entries Dispatched entries.
+             */
+            private EntryIterator(List<Item> entries) {
+                this.entries = entries;
+            }
+
+            /** {@inheritDoc} */
+            @Override public boolean hasNext() {
+                return idx < entries.size();
+            }
+
+            /** {@inheritDoc} */
+            @Override public DataEntry next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                last = entries.get(idx++);
+
+                pending.decrement();
+
+                return last.entry;
+            }
+        }
+    }
+
+    /** Item dispatched to a shard. */
+    private class Item {
+        /** Data entry, {@code null} for a position or a task. */
+        private final DataEntry entry;
+
+        /** Position right after the entry, or position reached in WAL. */
+        private final T2<WALPointer, Integer> next;
+
+        /** Task executed with the consumer of the shard. */
+        private final IgniteInClosure<WalRecordsConsumer<K, V>> task;
+
+        /** Future completed after the task is executed. */
+        private final GridFutureAdapter<Void> fut;
+
+        /**
+         * @param entry Data entry.
+         * @param next Position right after the entry, or position reached in WAL.
+         * @param task Task executed with the consumer of the shard.
+         * @param fut Future completed after the task is executed.
+         */
+        private Item(
+            DataEntry entry,
+            T2<WALPointer, Integer> next,
+            IgniteInClosure<WalRecordsConsumer<K, V>> task,
+            GridFutureAdapter<Void> fut
+        ) {
+            this.entry = entry;
+            this.next = next;
+            this.task = task;
+            this.fut = fut;
+        }
+    }
+}
@@ -17,6 +17,8 @@
 
 package org.apache.ignite.internal.cdc;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -218,6 +220,11 @@ public class WalRecordsConsumer<K, V> {
         return consumer;
     }
 
+    /** @return All Change Data Capture Consumers events are passed to. */
+    public Collection<CdcConsumer> consumers() {
+        return Collections.singletonList(consumer);
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(WalRecordsConsumer.class, this);
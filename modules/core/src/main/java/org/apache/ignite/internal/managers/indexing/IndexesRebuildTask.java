@@ -24,9 +24,11 @@ import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndex;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBuildClosure;
 import org.apache.ignite.internal.pagemem.store.IgnitePageStoreManager;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheContextInfo;
+import org.apache.ignite.internal.processors.query.QueryUtils;
 import org.apache.ignite.internal.processors.query.schema.IndexRebuildCancelToken;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheFuture;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitorClosure;
@@ -73,8 +75,13 @@ public class IndexesRebuildTask {
         if (recreate) {
             boolean mvccEnabled = cctx.mvccEnabled();
 
+            InlineIndex sortIdx = sortIndex(cctx.kernalContext().indexProcessor().treeIndexes(cctx.name(), false));
+
             // If there are no index store, rebuild all indexes.
             clo = row -> cctx.queries().store(row, null, mvccEnabled);
+
+            if (sortIdx != null)
+                clo = InlineIndexBuildClosure.sorted(sortIdx, clo);
         }
         else {
             Collection<InlineIndex> toRebuild = cctx.kernalContext().indexProcessor().treeIndexes(cctx.name(), !force);
@@ -82,7 +89,17 @@ public class IndexesRebuildTask {
             if (F.isEmpty(toRebuild))
                 return null;
 
+            InlineIndex sortIdx = sortIndex(toRebuild);
+
             clo = row -> cctx.kernalContext().indexProcessor().store(toRebuild, row, null, false);
+
+            if (sortIdx != null) {
+                Collection<InlineIndex> others = F.view(toRebuild, idx -> idx != sortIdx);
+
+                // Sorted index is updated by the closure itself, so its pages are filled with the fill factor.
+                clo = InlineIndexBuildClosure.sorted(sortIdx, clo, others.isEmpty() ? null :
+                    row -> cctx.kernalContext().indexProcessor().store(others, row, null, false));
+            }
         }
 
         // Closure prepared, do rebuild.
@@ -166,6 +183,27 @@ public class IndexesRebuildTask {
         return outRebuildCacheIdxFut;
     }
 
+    /**
+     * Chooses the index to sort rows by for the sorted index build. Rows can be sorted in the order of a single index
+     * only, so secondary indexes are preferred over the primary key ones.
+     *
+     * @param idxs Rebuilt indexes.
+     * @return Index to sort rows by, {@code null} if there are no indexes.
+     */
+    @Nullable private static InlineIndex sortIndex(Collection<InlineIndex> idxs) {
+        InlineIndex sortIdx = F.first(idxs);
+
+        for (InlineIndex idx : idxs) {
+            if (!QueryUtils.PRIMARY_KEY_INDEX.equals(idx.name())) {
+                sortIdx = idx;
+
+                break;
+            }
+        }
+
+        return sortIdx;
+    }
+
     /**
      * Actual start rebuilding. Use this method for test purposes only.
      *
@@ -85,6 +85,42 @@ public interface PageSupport {
      */
     public void readUnlock(int grpId, long pageId, long page);
 
+    /**
+     * Starts an optimistic read of the page, which does not take the page lock. Data read at
+     * {@link #optimisticReadAddress(int, long, long)} may be modified concurrently and must not be used until
+     * the read is validated with {@link #validateOptimisticRead(int, long, long, long)}.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @return Stamp of the read or {@code 0} if the page is write locked, was reused or optimistic reads
+     *      are not supported.
+     */
+    public default long tryOptimisticRead(int grpId, long pageId, long page) {
+        return 0L;
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @return Pointer for reading the page after {@link #tryOptimisticRead(int, long, long)} succeeded.
+     */
+    public default long optimisticReadAddress(int grpId, long pageId, long page) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @param stamp Stamp returned by {@link #tryOptimisticRead(int, long, long)}.
+     * @return {@code True} if the page was not modified since the optimistic read had been started.
+     */
+    public default boolean validateOptimisticRead(int grpId, long pageId, long page, long stamp) {
+        return false;
+    }
+
     /**
      *
      * @param grpId Cache group ID.
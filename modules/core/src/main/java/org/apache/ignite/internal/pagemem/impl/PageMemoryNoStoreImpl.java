@@ -553,6 +553,23 @@ public class PageMemoryNoStoreImpl implements PageMemory {
         rwLock.readUnlock(page + LOCK_OFFSET);
     }
 
+    /** {@inheritDoc} */
+    @Override public long tryOptimisticRead(int grpId, long pageId, long page) {
+        assert started;
+
+        return rwLock.tryOptimisticRead(page + LOCK_OFFSET, PageIdUtils.tag(pageId));
+    }
+
+    /** {@inheritDoc} */
+    @Override public long optimisticReadAddress(int grpId, long pageId, long page) {
+        return page + PAGE_OVERHEAD;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean validateOptimisticRead(int grpId, long pageId, long page, long stamp) {
+        return rwLock.validate(page + LOCK_OFFSET, stamp);
+    }
+
     /** {@inheritDoc} */
     @Override public long writeLock(int cacheId, long pageId, long page) {
         assert started;
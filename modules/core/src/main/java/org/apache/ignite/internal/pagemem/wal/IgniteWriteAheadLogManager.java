@@ -18,6 +18,8 @@
 package org.apache.ignite.internal.pagemem.wal;
 
 import java.io.File;
+import java.util.Map;
+import java.util.Set;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.configuration.DataStorageConfiguration;
@@ -248,6 +250,19 @@ public interface IgniteWriteAheadLogManager extends GridCacheSharedManager, Igni
      */
     @Nullable File compactedSegment(long idx);
 
+    /**
+     * Finds the pointer to start reading updates of the cache group partitions from. Archived segments without
+     * updates of the partitions with counters greater than the given ones are skipped according to the partition
+     * index of the WAL archive, see {@link DataStorageConfiguration#isWalPartitionIndexEnabled()}.
+     *
+     * @param start Start pointer.
+     * @param grpId Cache group ID.
+     * @param cacheIds Cache IDs of the group.
+     * @param partCntrs Update counters of partitions, only updates with greater counters are required.
+     * @return Pointer to start reading from, {@code start} if no segments can be skipped.
+     */
+    WALPointer seekPartitionUpdates(WALPointer start, int grpId, Set<Integer> cacheIds, Map<Integer, Long> partCntrs);
+
     /**
      * Blocks current thread while segment with the {@code idx} not compressed.
      * If segment compressed, already, returns immediately.
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.pagemem.wal.record;
+
+import java.util.List;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Part of the data record written to a WAL stripe, see {@link DataStorageConfiguration#setWalStripePaths(String...)}.
+ * The entries of the data record are split between the stripes, all parts of the record have the same sequence
+ * number, mask of the stripes and position of the main WAL stream the record was written at.
+ */
+public class StripedDataRecord extends DataRecord {
+    /** Sequence number of the data record. */
+    private final long seq;
+
+    /** Mask of the stripes the parts of the data record are written to. */
+    private final int stripes;
+
+    /** Position of the main WAL stream. */
+    private final WALPointer mainPtr;
+
+    /**
+     * @param writeEntries Write entries of the stripe.
+     * @param timestamp Timestamp of the data record.
+     * @param seq Sequence number of the data record.
+     * @param stripes Mask of the stripes the parts of the data record are written to.
+     * @param mainPtr Position of the main WAL stream.
+     */
+    public StripedDataRecord(List<DataEntry> writeEntries, long timestamp, long seq, int stripes, WALPointer mainPtr) {
+        super(writeEntries, timestamp);
+
+        this.seq = seq;
+        this.stripes = stripes;
+        this.mainPtr = mainPtr;
+    }
+
+    /** {@inheritDoc} */
+    @Override public RecordType type() {
+        return RecordType.STRIPED_DATA_RECORD;
+    }
+
+    /** @return Sequence number of the data record. */
+    public long sequence() {
+        return seq;
+    }
+
+    /** @return Mask of the stripes the parts of the data record are written to. */
+    public int stripes() {
+        return stripes;
+    }
+
+    /** @return Position of the main WAL stream the data record was written at. */
+    public WALPointer mainPointer() {
+        return mainPtr;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(StripedDataRecord.class, this, "super", super.toString());
+    }
+}
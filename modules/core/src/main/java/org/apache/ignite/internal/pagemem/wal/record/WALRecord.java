@@ -291,7 +291,10 @@ public abstract class WALRecord {
         INCREMENTAL_SNAPSHOT_FINISH_RECORD(77, LOGICAL),
 
         /** CDC data record. */
-        CDC_DATA_RECORD(78, CUSTOM);
+        CDC_DATA_RECORD(78, CUSTOM),
+
+        /** Part of the data record written to a WAL stripe. */
+        STRIPED_DATA_RECORD(79, LOGICAL);
 
         /** Index for serialization. Should be consistent throughout all versions. */
         private final int idx;
@@ -55,6 +55,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.topology.Grid
 import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
 import org.apache.ignite.internal.processors.cache.persistence.GridCacheOffheapManager;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.FreeList;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.dump.DumpEntryChangeListener;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
 import org.apache.ignite.internal.processors.cache.query.continuous.CounterSkipContext;
 import org.apache.ignite.internal.processors.compress.CompressionHandler;
@@ -198,6 +199,9 @@ public class CacheGroupContext {
     /** Topology validators. */
     private final Collection<TopologyValidator> topValidators;
 
+    /** Listener of entries changes, which is set while the group is being dumped. */
+    private volatile DumpEntryChangeListener dumpLsnr;
+
     /** Disk page compression method. */
     private final CompressionHandler compressHandler;
 
@@ -1331,6 +1335,20 @@ public class CacheGroupContext {
         return hasAtomicCaches;
     }
 
+    /**
+     * @return Listener of entries changes, which is set while the group is being dumped.
+     */
+    public @Nullable DumpEntryChangeListener dumpListener() {
+        return dumpLsnr;
+    }
+
+    /**
+     * @param dumpLsnr Listener of entries changes, which is set while the group is being dumped.
+     */
+    public void dumpListener(@Nullable DumpEntryChangeListener dumpLsnr) {
+        this.dumpLsnr = dumpLsnr;
+    }
+
     /**
      * @return Metrics.
      */
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.ToLongFunction;
 import org.apache.ignite.cache.CacheMode;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.configuration.CacheConfiguration;
@@ -38,6 +39,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.Gri
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState;
 import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMetrics;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
@@ -111,6 +113,22 @@ public class CacheGroupMetricsImpl {
             () -> persistenceEnabled ? database().forGroupPageStores(ctx, PageStore::getSparseSize) : 0,
             "Storage space allocated for group adjusted for possible sparsity, in bytes.");
 
+        mreg.register("ColdPartitionsCount",
+            () -> persistenceEnabled ? forFilePageStores(store -> store.cold() ? 1 : 0) : 0,
+            "Number of partitions which files are moved to the cold storage.");
+
+        mreg.register("ColdStorageSize",
+            () -> persistenceEnabled ? forFilePageStores(FilePageStore::coldSize) : 0,
+            "Storage space used by the compressed partition files on the cold storage, in bytes.");
+
+        mreg.register("ColdPartitionOffloads",
+            () -> persistenceEnabled ? forFilePageStores(FilePageStore::offloads) : 0,
+            "Number of times partition files have been moved to the cold storage.");
+
+        mreg.register("ColdPartitionPromotions",
+            () -> persistenceEnabled ? forFilePageStores(FilePageStore::promotions) : 0,
+            "Number of times partition files have been moved back from the cold storage.");
+
         idxBuildCntPartitionsLeft = mreg.longMetric("IndexBuildCountPartitionsLeft",
             "Number of partitions need processed for finished indexes create or rebuilding.");
 
@@ -518,6 +536,15 @@ public class CacheGroupMetricsImpl {
         ctx.shared().kernalContext().metric().remove(metricGroupName(), destroy);
     }
 
+    /**
+     * @param f Function to apply to file page stores of the group.
+     * @return Accumulated result for all file page stores of the group.
+     */
+    private long forFilePageStores(ToLongFunction<FilePageStore> f) {
+        return database().forGroupPageStores(ctx,
+            store -> store instanceof FilePageStore ? f.applyAsLong((FilePageStore)store) : 0);
+    }
+
     /**
      * @return Database.
      */
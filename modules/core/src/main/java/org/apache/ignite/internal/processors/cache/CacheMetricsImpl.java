@@ -431,6 +431,12 @@ public class CacheMetricsImpl implements CacheMetrics {
 
         idxRebuildKeyProcessed = mreg.longAdderMetric("IndexRebuildKeyProcessed",
             "Number of keys processed during the index rebuilding.");
+
+        mreg.register("ExpiredEntriesBacklog", this::expiredEntriesBacklog,
+            "Estimated number of entries which expire time has passed, but which are not removed yet.");
+
+        mreg.register("ExpirationLag", this::expirationLag,
+            "Time passed since the expiration of the oldest entry which is not removed yet, in milliseconds.");
     }
 
     /**
@@ -1639,6 +1645,24 @@ public class CacheMetricsImpl implements CacheMetrics {
         return fut != null && !fut.isDone();
     }
 
+    /**
+     * @return Estimated number of entries which expire time has passed, but which are not removed yet.
+     */
+    private long expiredEntriesBacklog() {
+        GridCacheTtlManager ttl = cctx.ttl();
+
+        return ttl == null ? 0 : ttl.expiredBacklog();
+    }
+
+    /**
+     * @return Time passed since the expiration of the oldest entry which is not removed yet, in milliseconds.
+     */
+    private long expirationLag() {
+        GridCacheTtlManager ttl = cctx.ttl();
+
+        return ttl == null ? 0 : ttl.expirationLag();
+    }
+
     /** {@inheritDoc} */
     @Override public long getIndexRebuildKeysProcessed() {
         return idxRebuildKeyProcessed.value();
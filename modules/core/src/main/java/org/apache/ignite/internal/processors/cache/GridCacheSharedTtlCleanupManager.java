@@ -19,10 +19,12 @@ package org.apache.ignite.internal.processors.cache;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.failure.FailureContext;
 import org.apache.ignite.internal.IgniteInterruptedCheckedException;
@@ -32,7 +34,10 @@ import org.apache.ignite.internal.util.typedef.X;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.internal.util.worker.GridWorker;
 import org.apache.ignite.thread.IgniteThread;
+import org.apache.ignite.thread.IgniteThreadPoolExecutor;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_TTL_BULK_EXPIRE_BATCH_SIZE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_TTL_BULK_EXPIRE_THREAD_CNT;
 import static org.apache.ignite.failure.FailureType.CRITICAL_ERROR;
 import static org.apache.ignite.failure.FailureType.SYSTEM_WORKER_TERMINATION;
 
@@ -40,15 +45,32 @@ import static org.apache.ignite.failure.FailureType.SYSTEM_WORKER_TERMINATION;
  * Periodically removes expired entities from caches with {@link CacheConfiguration#isEagerTtl()} flag set.
  */
 public class GridCacheSharedTtlCleanupManager extends GridCacheSharedManagerAdapter {
+    /** @see IgniteSystemProperties#IGNITE_TTL_BULK_EXPIRE_THREAD_CNT */
+    public static final int DFLT_TTL_BULK_EXPIRE_THREAD_CNT = 0;
+
+    /** @see IgniteSystemProperties#IGNITE_TTL_BULK_EXPIRE_BATCH_SIZE */
+    public static final int DFLT_TTL_BULK_EXPIRE_BATCH_SIZE = 10_000;
+
     /** Ttl cleanup worker thread sleep interval, ms. */
     private static final long CLEANUP_WORKER_SLEEP_INTERVAL = 500;
 
     /** Limit of expired entries processed by worker for certain cache in one pass. */
     private static final int CLEANUP_WORKER_ENTRIES_PROCESS_LIMIT = 1000;
 
+    /** Number of threads of the bulk expiration pool, {@code 0} if bulk expiration is disabled. */
+    private final int bulkExpireThreadCnt =
+        IgniteSystemProperties.getInteger(IGNITE_TTL_BULK_EXPIRE_THREAD_CNT, DFLT_TTL_BULK_EXPIRE_THREAD_CNT);
+
+    /** Limit of expired entries removed from a partition by a single range removal in bulk expiration mode. */
+    private final int bulkExpireBatchSize =
+        IgniteSystemProperties.getInteger(IGNITE_TTL_BULK_EXPIRE_BATCH_SIZE, DFLT_TTL_BULK_EXPIRE_BATCH_SIZE);
+
     /** Cleanup worker. */
     private CleanupWorker cleanupWorker;
 
+    /** Pool which removes expired entries of the partitions in bulk expiration mode. */
+    private IgniteThreadPoolExecutor bulkExpirePool;
+
     /** Lock on worker thread creation. */
     private final ReentrantLock lock = new ReentrantLock();
 
@@ -110,6 +132,17 @@ public class GridCacheSharedTtlCleanupManager extends GridCacheSharedManagerAdap
             if (cleanupWorker != null)
                 return;
 
+            if (bulkExpireThreadCnt > 0) {
+                bulkExpirePool = new IgniteThreadPoolExecutor(
+                    "ttl-bulk-expire",
+                    cctx.igniteInstanceName(),
+                    bulkExpireThreadCnt,
+                    bulkExpireThreadCnt,
+                    30_000,
+                    new LinkedBlockingQueue<>()
+                );
+            }
+
             cleanupWorker = new CleanupWorker();
 
             new IgniteThread(cleanupWorker).start();
@@ -132,6 +165,12 @@ public class GridCacheSharedTtlCleanupManager extends GridCacheSharedManagerAdap
 
                 cleanupWorker = null;
             }
+
+            if (bulkExpirePool != null) {
+                U.shutdownNow(getClass(), bulkExpirePool, log);
+
+                bulkExpirePool = null;
+            }
         }
         finally {
             lock.unlock();
@@ -190,13 +229,36 @@ public class GridCacheSharedTtlCleanupManager extends GridCacheSharedManagerAdap
 
                         Integer processedCacheID = mgr.getKey();
 
+                        if (bulkExpirePool != null) {
+                            // Partitions are processed by the pool which takes the checkpoint read lock
+                            // for every range removal, so it must not be held while waiting for the pool.
+                            blockingSectionBegin();
+
+                            try {
+                                mgrs.computeIfPresent(processedCacheID, (id, m) -> {
+                                    if (m.expireBulk(bulkExpireBatchSize, bulkExpirePool))
+                                        expiredRemains.set(true);
+
+                                    return m;
+                                });
+                            }
+                            finally {
+                                blockingSectionEnd();
+                            }
+
+                            if (isCancelled())
+                                return;
+
+                            continue;
+                        }
+
                         cctx.database().checkpointReadLock();
 
                         try {
                             // Need to be sure that the cache to be processed will not be unregistered and,
                             // therefore, stopped during the process of expiration is in progress.
                             mgrs.computeIfPresent(processedCacheID, (id, m) -> {
-                                if (m.expire(CLEANUP_WORKER_ENTRIES_PROCESS_LIMIT))
+                                if (m.cleanup(CLEANUP_WORKER_ENTRIES_PROCESS_LIMIT))
                                     expiredRemains.set(true);
 
                                 return m;
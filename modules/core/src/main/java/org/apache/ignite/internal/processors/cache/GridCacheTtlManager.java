@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.processors.cache;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.LongAdder;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
@@ -62,6 +63,12 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
     /** See {@link CacheConfiguration#isEagerTtl()}. */
     private volatile boolean eagerTtlEnabled;
 
+    /** Estimated number of expired entries which are not removed yet, updated by the cleanup worker. */
+    private volatile long expiredBacklog;
+
+    /** Expire time of the oldest entry not removed by the last cleanup, {@code 0} if there is no such entry. */
+    private volatile long oldestExpireTime;
+
     /** */
     private GridCacheContext dhtCtx;
 
@@ -167,6 +174,24 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
         return (pendingEntries != null ? pendingEntries.sizex() : 0) + cctx.offheap().expiredSize();
     }
 
+    /**
+     * @return Estimated number of entries which expire time has passed, but which are not removed yet.
+     * @see #updateExpiredBacklog(boolean, long, long)
+     */
+    public long expiredBacklog() {
+        return expiredBacklog;
+    }
+
+    /**
+     * @return Time in milliseconds passed since the expiration of the oldest entry which is not removed by the last
+     * cleanup, {@code 0} if there are no such entries.
+     */
+    public long expirationLag() {
+        long expireTime = oldestExpireTime;
+
+        return expireTime == 0 ? 0 : Math.max(0, U.currentTimeMillis() - expireTime);
+    }
+
     /**
      * Updates the flag {@code hasPendingEntries} with the given value.
      *
@@ -203,6 +228,40 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
      * @return {@code True} if unprocessed expired entries remains.
      */
     public boolean expire(int amount) {
+        return expire(amount, null, false);
+    }
+
+    /**
+     * Processes specified amount of expired entries by the cleanup worker and updates the estimated expiration backlog.
+     *
+     * @param amount Limit of processed entries by single call, {@code -1} for no limit.
+     * @return {@code True} if unprocessed expired entries remains.
+     */
+    public boolean cleanup(int amount) {
+        return expire(amount, null, true);
+    }
+
+    /**
+     * Processes expired entries in bulk: pending entries of every partition are removed by ranges of up to
+     * {@code batchSize} entries by the tasks of the given executor.
+     *
+     * @param batchSize Limit of expired entries processed in a partition by single call.
+     * @param exec Executor of partition tasks.
+     * @return {@code True} if unprocessed expired entries remains.
+     */
+    public boolean expireBulk(int batchSize, ExecutorService exec) {
+        assert batchSize > 0 : batchSize;
+
+        return expire(batchSize, exec, true);
+    }
+
+    /**
+     * @param amount Limit of processed entries by single call, {@code -1} for no limit.
+     * @param bulkExec Executor of bulk expiration, {@code null} to process expired entries one by one.
+     * @param updateBacklog Whether to update the estimated expiration backlog.
+     * @return {@code True} if unprocessed expired entries remains.
+     */
+    private boolean expire(int amount, @Nullable ExecutorService bulkExec, boolean updateBacklog) {
         // TTL manager is not initialized or eagerTtl disabled for cache.
         if (!eagerTtlEnabled)
             return false;
@@ -243,7 +302,24 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
             if (!hasPendingEntries || nextCleanTime > U.currentTimeMillis())
                 return false;
 
-            boolean more = cctx.offheap().expire(dhtCtx, expireC, amount);
+            LongAdder processed = updateBacklog ? new LongAdder() : null;
+
+            IgniteInClosure2X<GridCacheEntryEx, GridCacheVersion> c = processed == null ? expireC :
+                new IgniteInClosure2X<GridCacheEntryEx, GridCacheVersion>() {
+                    @Override public void applyx(GridCacheEntryEx entry, GridCacheVersion obsoleteVer)
+                        throws IgniteCheckedException {
+                        processed.increment();
+
+                        expireC.applyx(entry, obsoleteVer);
+                    }
+                };
+
+            boolean more = bulkExec == null ?
+                cctx.offheap().expire(dhtCtx, c, amount) :
+                cctx.offheap().expireBulk(dhtCtx, c, amount, bulkExec);
+
+            if (updateBacklog)
+                updateExpiredBacklog(more, processed.sum(), now);
 
             if (more)
                 return true;
@@ -278,6 +354,36 @@ public class GridCacheTtlManager extends GridCacheManagerAdapter {
         return false;
     }
 
+    /**
+     * Updates the estimated expiration backlog after the cleanup. Expired entries are not counted, since that requires
+     * a scan of the pending entries. Instead, the expire times of the remaining expired entries are assumed to be
+     * distributed like the ones processed by the cleanup, so the backlog is extrapolated from the number of processed
+     * entries and the expire times of the oldest entries before and after the cleanup.
+     *
+     * @param more {@code True} if unprocessed expired entries remains.
+     * @param processed Number of entries processed by the cleanup.
+     * @param now Time of the cleanup start.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void updateExpiredBacklog(boolean more, long processed, long now) throws IgniteCheckedException {
+        long prevExpireTime = oldestExpireTime;
+        long expireTime = more ? cctx.offheap().firstExpireTime(dhtCtx) : 0;
+
+        if (expireTime == 0 || expireTime > now) {
+            expiredBacklog = 0;
+            oldestExpireTime = 0;
+
+            return;
+        }
+
+        oldestExpireTime = expireTime;
+
+        if (prevExpireTime == 0 || expireTime <= prevExpireTime)
+            expiredBacklog = Math.max(1, processed);
+        else
+            expiredBacklog = Math.max(1, processed * (now - expireTime) / (expireTime - prevExpireTime));
+    }
+
     /**
      * @param cctx1 First cache context.
      * @param key1 Left key to compare.
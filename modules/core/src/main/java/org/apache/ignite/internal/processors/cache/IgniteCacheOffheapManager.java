@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import javax.cache.Cache;
 import javax.cache.processor.EntryProcessor;
 import org.apache.ignite.IgniteCheckedException;
@@ -51,6 +52,7 @@ import org.apache.ignite.internal.util.lang.GridCursor;
 import org.apache.ignite.internal.util.lang.GridIterator;
 import org.apache.ignite.internal.util.lang.IgniteInClosure2X;
 import org.apache.ignite.internal.util.lang.IgnitePredicateX;
+import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
 import org.apache.ignite.lang.IgniteBiTuple;
 import org.jetbrains.annotations.Nullable;
 
@@ -170,6 +172,25 @@ public interface IgniteCacheOffheapManager {
     public boolean expire(GridCacheContext cctx, IgniteInClosure2X<GridCacheEntryEx, GridCacheVersion> c, int amount)
         throws IgniteCheckedException;
 
+    /**
+     * Removes expired entries by ranges of the pending entries tree. Every partition is processed by a separate task
+     * of the executor, which removes up to {@code batchSize} pending rows by a single range removal and then applies
+     * the closure to the entries of the removed rows.
+     *
+     * @param cctx Cache context.
+     * @param c Closure.
+     * @param batchSize Limit of processed entries of a partition by single call.
+     * @param exec Executor of partition tasks.
+     * @return {@code True} if unprocessed expired entries remains.
+     * @throws IgniteCheckedException If failed.
+     */
+    public boolean expireBulk(
+        GridCacheContext cctx,
+        IgniteInClosure2X<GridCacheEntryEx, GridCacheVersion> c,
+        int batchSize,
+        ExecutorService exec
+    ) throws IgniteCheckedException;
+
     /**
      * Gets the number of entries pending expire.
      *
@@ -178,6 +199,15 @@ public interface IgniteCacheOffheapManager {
      */
     public long expiredSize() throws IgniteCheckedException;
 
+    /**
+     * Gets the expire time of the entry of the cache which expires first.
+     *
+     * @param cctx Cache context.
+     * @return Expire time or {@code 0} if there are no entries pending expire.
+     * @throws IgniteCheckedException If failed.
+     */
+    public long firstExpireTime(GridCacheContext cctx) throws IgniteCheckedException;
+
     /**
      * @param cctx Cache context.
      * @param key Key.
@@ -785,6 +815,26 @@ public interface IgniteCacheOffheapManager {
             long expireTime,
             @Nullable CacheDataRow oldRow) throws IgniteCheckedException;
 
+        /**
+         * Moves the row of the given key to another data page, the value and the version of the entry are not
+         * changed. Must be called under the entry lock.
+         *
+         * @param cctx Cache context.
+         * @param key Key.
+         * @param link Expected link of the row, nothing is moved if the current row of the key has another link.
+         * @param placer Writes the new row to a data page chosen by the caller and returns {@code true}, or returns
+         *      {@code false} if there is no suitable page, in which case the row is not moved. If {@code null},
+         *      the page is chosen by the free list.
+         * @return {@code True} if the row has been moved to another data page.
+         * @throws IgniteCheckedException If failed.
+         */
+        boolean relocate(
+            GridCacheContext cctx,
+            KeyCacheObject key,
+            long link,
+            @Nullable IgniteThrowableFunction<CacheDataRow, Boolean> placer
+        ) throws IgniteCheckedException;
+
         /**
          * @param cctx Cache context.
          * @param key Key.
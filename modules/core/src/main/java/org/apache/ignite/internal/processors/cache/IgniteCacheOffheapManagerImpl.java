@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -44,6 +45,7 @@ import org.apache.ignite.failure.FailureType;
 import org.apache.ignite.internal.NodeStoppingException;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
 import org.apache.ignite.internal.pagemem.PageMemory;
 import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
 import org.apache.ignite.internal.pagemem.wal.record.delta.DataPageMvccMarkUpdatedRecord;
@@ -70,6 +72,7 @@ import org.apache.ignite.internal.processors.cache.persistence.RootPage;
 import org.apache.ignite.internal.processors.cache.persistence.RowStore;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.SimpleDataRow;
 import org.apache.ignite.internal.processors.cache.persistence.partstorage.PartitionMetaStorage;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.dump.DumpEntryChangeListener;
 import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPageIO;
@@ -114,6 +117,7 @@ import org.apache.ignite.internal.util.lang.GridCursor;
 import org.apache.ignite.internal.util.lang.GridIterator;
 import org.apache.ignite.internal.util.lang.IgniteInClosure2X;
 import org.apache.ignite.internal.util.lang.IgnitePredicateX;
+import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.X;
 import org.apache.ignite.internal.util.typedef.internal.CU;
@@ -1385,11 +1389,35 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean expireBulk(
+        GridCacheContext cctx,
+        IgniteInClosure2X<GridCacheEntryEx, GridCacheVersion> c,
+        int batchSize,
+        ExecutorService exec
+    ) throws IgniteCheckedException {
+        // Pending entries of all the partitions are stored in a single tree which is already cleaned by ranges.
+        return expire(cctx, c, batchSize);
+    }
+
     /** {@inheritDoc} */
     @Override public long expiredSize() throws IgniteCheckedException {
         return pendingEntries != null ? pendingEntries.size() : 0;
     }
 
+    /** {@inheritDoc} */
+    @Override public long firstExpireTime(GridCacheContext cctx) throws IgniteCheckedException {
+        if (pendingEntries == null || !busyLock.enterBusy())
+            return 0;
+
+        try {
+            return pendingEntries.firstExpireTime(grp.sharedGroup() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID);
+        }
+        finally {
+            busyLock.leaveBusy();
+        }
+    }
+
     /**
      *
      */
@@ -1718,6 +1746,8 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             throws IgniteCheckedException {
             assert cctx.shared().database().checkpointLockIsHeldByThread();
 
+            beforeEntryChange(cctx, row.key(), null);
+
             dataTree.invoke(row, CacheDataRowAdapter.RowData.NO_KEY, c);
 
             switch (c.operationType()) {
@@ -2508,6 +2538,8 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
 
                 assert cctx.shared().database().checkpointLockIsHeldByThread();
 
+                beforeEntryChange(cctx, key, oldRow);
+
                 if (canUpdateOldRow(cctx, oldRow, dataRow) && rowStore.updateRow(oldRow.link(), dataRow, grp.statisticsHolderData())) {
                     old = oldRow;
 
@@ -2537,6 +2569,60 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             }
         }
 
+        /** {@inheritDoc} */
+        @Override public boolean relocate(
+            GridCacheContext cctx,
+            KeyCacheObject key,
+            long link,
+            @Nullable IgniteThrowableFunction<CacheDataRow, Boolean> placer
+        ) throws IgniteCheckedException {
+            assert !grp.mvccEnabled();
+
+            if (!busyLock.enterBusy())
+                throw operationCancelledException();
+
+            try {
+                assert cctx.shared().database().checkpointLockIsHeldByThread();
+
+                CacheDataRow oldRow = find(cctx, key);
+
+                // The row has been changed or removed since the link was read.
+                if (oldRow == null || oldRow.link() != link)
+                    return false;
+
+                int cacheId = grp.storeCacheIdInDataPage() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID;
+
+                DataRow dataRow = makeDataRow(key, oldRow.value(), oldRow.version(), oldRow.expireTime(), cacheId);
+
+                CacheObjectContext coCtx = cctx.cacheObjectContext();
+
+                // Make sure value bytes initialized.
+                key.valueBytes(coCtx);
+                dataRow.value().valueBytes(coCtx);
+
+                if (placer == null)
+                    rowStore.addRow(dataRow, grp.statisticsHolderData());
+                else if (!placer.apply(dataRow))
+                    return false;
+
+                assert dataRow.link() != 0 : dataRow;
+
+                beforeEntryChange(cctx, key, oldRow);
+
+                if (grp.sharedGroup() && dataRow.cacheId() == CU.UNDEFINED_CACHE_ID)
+                    dataRow.cacheId(cctx.cacheId());
+
+                dataTree.putx(dataRow);
+
+                finishUpdate(cctx, dataRow, oldRow);
+
+                return PageIdUtils.pageId(dataRow.link()) != PageIdUtils.pageId(link);
+            }
+            finally {
+                busyLock.leaveBusy();
+            }
+        }
+
         /** {@inheritDoc} */
         @Override public void mvccApplyUpdate(GridCacheContext cctx,
             KeyCacheObject key,
@@ -2701,6 +2787,8 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
 
                 assert cctx.shared().database().checkpointLockIsHeldByThread();
 
+                beforeEntryChange(cctx, key, null);
+
                 CacheDataRow oldRow = dataTree.remove(new SearchRow(cacheId, key));
 
                 finishRemove(cctx, key, oldRow);
@@ -2732,6 +2820,30 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
                 rowStore.removeRow(oldRow.link(), grp.statisticsHolderData());
         }
 
+        /**
+         * Notifies the dump listener of the group, if any, that the entry is about to be changed. Listener must be
+         * notified before the data tree is changed, otherwise the dump iterator may pass the key before the
+         * current entry row is written to the dump.
+         *
+         * @param cctx Cache context.
+         * @param key Key.
+         * @param oldRow Current entry row if it's known.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void beforeEntryChange(GridCacheContext cctx, KeyCacheObject key, @Nullable CacheDataRow oldRow)
+            throws IgniteCheckedException {
+            DumpEntryChangeListener dumpLsnr = grp.dumpListener();
+
+            if (dumpLsnr == null)
+                return;
+
+            if (oldRow == null)
+                oldRow = find(cctx, key);
+
+            if (oldRow != null)
+                dumpLsnr.beforeChange(cctx, partId, key, oldRow);
+        }
+
         /**
          * @param cctx Cache context.
          * @param oldRow Old row.
@@ -39,6 +39,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridNe
 import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.GridDhtPartitionDemander.RebalanceFuture;
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionTopology;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageReplacementPolicy;
 import org.apache.ignite.internal.util.future.GridCompoundFuture;
 import org.apache.ignite.internal.util.future.GridFinishedFuture;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
@@ -342,10 +343,14 @@ public class GridDhtPreloader extends GridCachePreloaderAdapter {
             if (!enterBusy())
                 return;
 
+            boolean prevLowPriority = PageReplacementPolicy.lowPriorityAccess(true);
+
             try {
                 demander.handleSupplyMessage(nodeId, s);
             }
             finally {
+                PageReplacementPolicy.lowPriorityAccess(prevLowPriority);
+
                 leaveBusy();
             }
         });
@@ -357,10 +362,14 @@ public class GridDhtPreloader extends GridCachePreloaderAdapter {
             if (!enterBusy())
                 return;
 
+            boolean prevLowPriority = PageReplacementPolicy.lowPriorityAccess(true);
+
             try {
                 supplier.handleDemandMessage(idx, nodeId, d);
             }
             finally {
+                PageReplacementPolicy.lowPriorityAccess(prevLowPriority);
+
                 leaveBusy();
             }
         }, Math.abs(nodeId.hashCode()));
@@ -635,6 +635,10 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         return PageMetricsImpl.builder(registry)
             .totalPagesCallback(delegate(dataRegionPageMetrics.totalPages()))
             .indexPagesCallback(delegate(dataRegionPageMetrics.indexPages()))
+            .pageHitsCallback(delegate(dataRegionPageMetrics.pageHits()))
+            .pageMissesCallback(delegate(dataRegionPageMetrics.pageMisses()))
+            .ghostPagesCallback(delegate(dataRegionPageMetrics.ghostPages()))
+            .ghostHitsCallback(delegate(dataRegionPageMetrics.ghostHits()))
             .build();
     }
 
@@ -692,6 +696,13 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
             pageTsHistogram.reset(getPhysicalMemoryPages());
     }
 
+    /**
+     * @return {@code True} if metrics are enabled.
+     */
+    public boolean metricsEnabled() {
+        return metricsEnabled;
+    }
+
     /**
      * Disable metrics.
      */
@@ -53,6 +53,12 @@ public class DataStorageMetricsImpl {
     /** */
     private final HitRateMetric walBuffPollSpinsNum;
 
+    /** */
+    private final HitRateMetric walRecoveryRate;
+
+    /** Total number of WAL records read during the node recovery. */
+    private final LongAdderMetric walRecoveryRecords;
+
     /** */
     private final AtomicLongMetric lastCpBeforeLockDuration;
 
@@ -209,6 +215,12 @@ public class DataStorageMetricsImpl {
             rateTimeInterval,
             subInts);
 
+        walRecoveryRate = mreg.hitRateMetric(
+            "WalRecoveryRate",
+            "Average number of WAL records per second read during the node recovery over the last time interval.",
+            rateTimeInterval,
+            subInts);
+
         lastCpBeforeLockDuration = mreg.longMetric("LastCheckpointBeforeLockDuration",
             "Duration of the checkpoint action before taken write lock in milliseconds.");
 
@@ -321,6 +333,11 @@ public class DataStorageMetricsImpl {
             "Total size of the compressed segments in bytes."
         );
 
+        walRecoveryRecords = mreg.longAdderMetric(
+            "WalRecoveryRecords",
+            "Total number of WAL records read during the node recovery."
+        );
+
         mreg.register(
             "walFsyncTimeAverage",
             this::walFsyncTimeAverage,
@@ -771,4 +788,16 @@ public class DataStorageMetricsImpl {
 
         walCompressedBytes.add(size);
     }
+
+    /**
+     * Callback on read of a WAL record during the node recovery.
+     */
+    public void onWalRecoveryRecordRead() {
+        if (!metricsEnabled)
+            return;
+
+        walRecoveryRate.increment();
+
+        walRecoveryRecords.increment();
+    }
 }
@@ -131,6 +131,7 @@ import org.apache.ignite.internal.processors.cache.persistence.partstate.GroupPa
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteCacheSnapshotManager;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PagePartitionMetaIO;
+import org.apache.ignite.internal.processors.cache.persistence.wal.ReadAheadWalIterator;
 import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDataIntegrityViolationException;
 import org.apache.ignite.internal.processors.cache.transactions.IgniteTxManager;
@@ -174,6 +175,7 @@ import static java.util.stream.Collectors.toSet;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_DEFRAGMENTATION_REGION_SIZE_PERCENTAGE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_PDS_WAL_REBALANCE_THRESHOLD;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_PREFER_WAL_REBALANCE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_RECOVERY_READ_AHEAD_RECORDS;
 import static org.apache.ignite.IgniteSystemProperties.getBoolean;
 import static org.apache.ignite.IgniteSystemProperties.getInteger;
 import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL_SNAPSHOT;
@@ -250,6 +252,13 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
     /** @see IgniteSystemProperties#IGNITE_DEFRAGMENTATION_REGION_SIZE_PERCENTAGE */
     public static final int DFLT_DEFRAGMENTATION_REGION_SIZE_PERCENTAGE = 60;
 
+    /** @see IgniteSystemProperties#IGNITE_RECOVERY_READ_AHEAD_RECORDS */
+    public static final int DFLT_RECOVERY_READ_AHEAD_RECORDS = 1024;
+
+    /** Maximum number of WAL records read ahead during the recovery. */
+    private final int recoveryReadAheadRecords =
+        getInteger(IGNITE_RECOVERY_READ_AHEAD_RECORDS, DFLT_RECOVERY_READ_AHEAD_RECORDS);
+
     /**
      * Threshold value to use history or full rebalance for local partition.
      * Master value contained in {@link #historicalRebalanceThreshold}.
@@ -1224,8 +1233,11 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                     FullPageId fullId,
                     PageMemoryEx pageMem
                 ) throws IgniteCheckedException {
-                    if (trackable)
+                    if (trackable) {
                         snapshotMgr.onChangeTrackerPage(page, fullId, pageMem);
+
+                        cctx.snapshotMgr().onChangeTrackerPage(fullId, pageMem);
+                    }
                 }
             };
         else
@@ -2172,7 +2184,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
         long lastArchivedSegment = cctx.wal().lastArchivedSegment();
 
-        WALIterator it = cctx.wal().replay(recPtr, recordTypePredicate);
+        WALIterator it = recoveryIterator(recPtr, recordTypePredicate);
 
         RestoreBinaryState restoreBinaryState = new RestoreBinaryState(status, it, lastArchivedSegment, cacheGroupsPredicate);
 
@@ -2323,6 +2335,27 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         return restoreBinaryState;
     }
 
+    /**
+     * Creates WAL iterator for the recovery. WAL records are read ahead in a separate thread, so reading and
+     * decompression of the WAL segments don't block applying of the read records.
+     *
+     * @param start Start WAL pointer.
+     * @param recordTypePredicate Record types to read.
+     * @return WAL iterator.
+     * @throws IgniteCheckedException If failed.
+     */
+    private WALIterator recoveryIterator(
+        WALPointer start,
+        IgniteBiPredicate<WALRecord.RecordType, WALPointer> recordTypePredicate
+    ) throws IgniteCheckedException {
+        WALIterator it = cctx.wal().replay(start, recordTypePredicate);
+
+        if (recoveryReadAheadRecords <= 0)
+            return it;
+
+        return new ReadAheadWalIterator(cctx.igniteInstanceName(), it, recoveryReadAheadRecords);
+    }
+
     /**
      * @param consumer Runnable task.
      * @param grpId Group Id.
@@ -2565,7 +2598,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
         Map<GroupPartitionId, Integer> partitionRecoveryStates = new HashMap<>();
 
-        WALIterator it = cctx.wal().replay(status.startPtr, recordTypePredicate);
+        WALIterator it = recoveryIterator(status.startPtr, recordTypePredicate);
 
         RestoreLogicalState restoreLogicalState =
             new RestoreLogicalState(status, it, lastArchivedSegment, cacheGroupsPredicate, partitionRecoveryStates);
@@ -3447,6 +3480,9 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                     if (rec instanceof DataRecord)
                         rec = filterEntriesByGroupId((DataRecord)rec);
 
+                    if (dsMetrics != null)
+                        dsMetrics.onWalRecoveryRecordRead();
+
                     return rec;
                 }
             }
@@ -31,6 +31,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
@@ -115,6 +116,7 @@ import org.apache.ignite.internal.util.GridSpinBusyLock;
 import org.apache.ignite.internal.util.lang.GridCursor;
 import org.apache.ignite.internal.util.lang.IgniteInClosure2X;
 import org.apache.ignite.internal.util.lang.IgnitePredicateX;
+import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
 import org.apache.ignite.internal.util.tostring.GridToStringInclude;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.X;
@@ -1172,7 +1174,11 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             if (latestReservedPointer == null)
                 log.warning("History for the preloading has not reserved yet.");
 
-            WALIterator it = grp.shared().wal().replay(minPtr);
+            // Skips archived segments without updates of the rebalanced partitions.
+            WALPointer startPtr = grp.shared().wal().seekPartitionUpdates(minPtr, grp.groupId(), grp.cacheIds(),
+                partsCounters);
+
+            WALIterator it = grp.shared().wal().replay(startPtr);
 
             WALHistoricalIterator histIt = new WALHistoricalIterator(log, grp, partCntrs, partsCounters, it);
 
@@ -1205,7 +1211,8 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             int cleared = 0;
 
             for (CacheDataStore store : cacheDataStores()) {
-                cleared += ((GridCacheDataStore)store).purgeExpired(cctx, c, unwindThrottlingTimeout, amount - cleared);
+                cleared += ((GridCacheDataStore)store).purgeExpired(cctx, c, unwindThrottlingTimeout, amount - cleared,
+                    false);
 
                 if (amount != -1 && cleared >= amount)
                     return true;
@@ -1218,6 +1225,41 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         return false;
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean expireBulk(
+        GridCacheContext cctx,
+        IgniteInClosure2X<GridCacheEntryEx, GridCacheVersion> c,
+        int batchSize,
+        ExecutorService exec
+    ) throws IgniteCheckedException {
+        assert !cctx.isNear() : cctx.name();
+        assert batchSize > 0 : batchSize;
+
+        // Prevent manager being stopped in the middle of pds operation.
+        if (!busyLock.enterBusy())
+            return false;
+
+        try {
+            List<CacheDataStore> stores = new ArrayList<>();
+
+            for (CacheDataStore store : cacheDataStores())
+                stores.add(store);
+
+            Collection<Integer> cleared = U.doInParallel(exec, stores,
+                store -> ((GridCacheDataStore)store).purgeExpired(cctx, c, unwindThrottlingTimeout, batchSize, true));
+
+            for (int cnt : cleared) {
+                if (cnt >= batchSize)
+                    return true;
+            }
+        }
+        finally {
+            busyLock.leaveBusy();
+        }
+
+        return false;
+    }
+
     /** {@inheritDoc} */
     @Override public long expiredSize() throws IgniteCheckedException {
         long size = 0;
@@ -1228,6 +1270,28 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         return size;
     }
 
+    /** {@inheritDoc} */
+    @Override public long firstExpireTime(GridCacheContext cctx) throws IgniteCheckedException {
+        if (!busyLock.enterBusy())
+            return 0;
+
+        try {
+            long firstExpireTime = 0;
+
+            for (CacheDataStore store : cacheDataStores()) {
+                long expireTime = ((GridCacheDataStore)store).firstExpireTime(cctx);
+
+                if (expireTime != 0 && (firstExpireTime == 0 || expireTime < firstExpireTime))
+                    firstExpireTime = expireTime;
+            }
+
+            return firstExpireTime;
+        }
+        finally {
+            busyLock.leaveBusy();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void preloadPartition(int partId) throws IgniteCheckedException {
         GridDhtLocalPartition locPart = grp.topology().localPartition(partId, AffinityTopologyVersion.NONE, false, false);
@@ -2607,6 +2671,20 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             delegate.update(cctx, key, val, ver, expireTime, oldRow);
         }
 
+        /** {@inheritDoc} */
+        @Override public boolean relocate(
+            GridCacheContext cctx,
+            KeyCacheObject key,
+            long link,
+            @Nullable IgniteThrowableFunction<CacheDataRow, Boolean> placer
+        ) throws IgniteCheckedException {
+            assert grp.shared().database().checkpointLockIsHeldByThread();
+
+            CacheDataStore delegate = init0(true);
+
+            return delegate != null && delegate.relocate(cctx, key, link, placer);
+        }
+
         /** {@inheritDoc} */
         @Override public boolean mvccInitialValue(
             GridCacheContext cctx,
@@ -2990,12 +3068,25 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             return delegate0 == null ? 0 : pendingTree.size();
         }
 
+        /**
+         * @param cctx Cache context.
+         * @return Expire time of the entry of the cache which expires first, {@code 0} if there are no such entries.
+         * @throws IgniteCheckedException If failed.
+         */
+        public long firstExpireTime(GridCacheContext cctx) throws IgniteCheckedException {
+            CacheDataStore delegate0 = init0(true);
+
+            return delegate0 == null ? 0 :
+                pendingTree.firstExpireTime(grp.sharedGroup() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID);
+        }
+
         /**
          * Try to remove expired entries from data store.
          *
          * @param cctx Cache context.
          * @param c Expiry closure that should be applied to expired entry. See {@link GridCacheTtlManager} for details.
          * @param amount Limit of processed entries by single call, {@code -1} for no limit.
+         * @param bulk {@code True} to remove pending entries by a single range removal.
          * @return cleared entries count.
          * @throws IgniteCheckedException If failed.
          */
@@ -3003,7 +3094,8 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             GridCacheContext cctx,
             IgniteInClosure2X<GridCacheEntryEx, GridCacheVersion> c,
             long throttlingTimeout,
-            int amount
+            int amount,
+            boolean bulk
         ) throws IgniteCheckedException {
             CacheDataStore delegate0 = init0(true);
 
@@ -3014,7 +3106,7 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
 
             assert pendingTree != null : "Partition data store was not initialized.";
 
-            int cleared = purgeExpiredInternal(cctx, c, amount);
+            int cleared = bulk ? purgeExpiredBulk(cctx, c, amount) : purgeExpiredInternal(cctx, c, amount);
 
             // Throttle if there is nothing to clean anymore.
             if (cleared < amount) {
@@ -3110,6 +3202,70 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             }
         }
 
+        /**
+         * Removes expired entries from data store by a single range removal of the pending entries tree, so the pending
+         * rows are removed page by page instead of one by one.
+         *
+         * @param cctx Cache context.
+         * @param c Expiry closure that should be applied to expired entry. See {@link GridCacheTtlManager} for details.
+         * @param amount Limit of processed entries by single call.
+         * @return cleared entries count.
+         * @throws IgniteCheckedException If failed.
+         */
+        private int purgeExpiredBulk(
+            GridCacheContext cctx,
+            IgniteInClosure2X<GridCacheEntryEx, GridCacheVersion> c,
+            int amount
+        ) throws IgniteCheckedException {
+            assert amount > 0 : amount;
+
+            GridDhtLocalPartition part =
+                cctx.topology().localPartition(partId, AffinityTopologyVersion.NONE, false, false);
+
+            // Skip non-owned partitions.
+            if (part == null || part.state() != OWNING || !cctx.topology().initialized())
+                return 0;
+
+            cctx.shared().database().checkpointReadLock();
+
+            try {
+                if (!part.reserve())
+                    return 0;
+
+                try {
+                    if (part.state() != OWNING || !cctx.topology().initialized())
+                        return 0;
+
+                    List<PendingRow> rows = pendingTree.removeExpired(
+                        grp.sharedGroup() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID, U.currentTimeMillis(), amount);
+
+                    GridCacheVersion obsoleteVer = null;
+
+                    for (PendingRow row : rows) {
+                        assert row.key != null && row.link != 0 && row.expireTime != 0 : row;
+
+                        row.key.partition(partId);
+
+                        if (obsoleteVer == null)
+                            obsoleteVer = cctx.cache().nextVersion();
+
+                        GridCacheEntryEx e1 = cctx.cache().entryEx(row.key);
+
+                        if (e1 != null)
+                            c.apply(e1, obsoleteVer);
+                    }
+
+                    return rows.size();
+                }
+                finally {
+                    part.release();
+                }
+            }
+            finally {
+                cctx.shared().database().checkpointReadUnlock();
+            }
+        }
+
         /** {@inheritDoc} */
         @Override public PendingEntriesTree pendingTree() {
             try {
@@ -667,6 +667,8 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
         checkRegionMemoryStorageType(regCfg);
 
         checkRegionWarmUpConfiguration(regCfg, warmUpStrategies);
+
+        checkRegionColdStorageConfiguration(regCfg);
     }
 
     /**
@@ -1646,6 +1648,39 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
         );
     }
 
+    /**
+     * Checking data region cold partitions storage configuration.
+     *
+     * @param regCfg DataRegionConfiguration to validate.
+     * @throws IgniteCheckedException If config is invalid.
+     */
+    private static void checkRegionColdStorageConfiguration(
+        DataRegionConfiguration regCfg
+    ) throws IgniteCheckedException {
+        if (regCfg.getColdPartitionIdleTimeout() < 0) {
+            throw new IgniteCheckedException("Cold partition idle timeout must not be negative [name=" +
+                regCfg.getName() + ", coldPartitionIdleTimeout=" + regCfg.getColdPartitionIdleTimeout() + ']');
+        }
+
+        if (regCfg.getColdPartitionPromoteReads() <= 0) {
+            throw new IgniteCheckedException("Cold partition promote reads must be greater than zero [name=" +
+                regCfg.getName() + ", coldPartitionPromoteReads=" + regCfg.getColdPartitionPromoteReads() + ']');
+        }
+
+        if (regCfg.getColdPartitionIdleTimeout() == 0)
+            return;
+
+        if (!regCfg.isPersistenceEnabled()) {
+            throw new IgniteCheckedException("Cold partition storage is not expected for a non-persistent " +
+                "data region [name=" + regCfg.getName() + ']');
+        }
+
+        if (F.isEmpty(regCfg.getColdPartitionStoragePath())) {
+            throw new IgniteCheckedException("Cold partition storage path must be set if cold partition idle " +
+                "timeout is set [name=" + regCfg.getName() + ']');
+        }
+    }
+
     /**
      * Wal truncate callback.
      *
@@ -38,4 +38,24 @@ public interface PageStoreWriter {
      * @throws IgniteCheckedException If write page failed.
      */
     void writePage(FullPageId fullPageId, ByteBuffer buf, int tag) throws IgniteCheckedException;
+
+    /**
+     * Callback for write page which allows to postpone the write, so it can be submitted to the store together
+     * with the pages copied later. The page stays pinned in memory until it is written, so it can't be replaced
+     * and read from the store before the write.
+     *
+     * @param fullPageId Page ID to get byte buffer for.
+     * @param buf Temporary buffer to write changes into. Must not be reused until the page is written if the write
+     *      is postponed.
+     * @param tag {@code Partition generation} if data was read, {@code null} otherwise (data already saved to storage).
+     * @param page Pointer to the pinned page.
+     * @return {@code True} if the write was postponed, the page must be released with
+     *      {@link PageMemoryEx#checkpointReleasePage(long)} after it is written. {@code False} if the page was written.
+     * @throws IgniteCheckedException If write page failed.
+     */
+    default boolean writePage(FullPageId fullPageId, ByteBuffer buf, int tag, long page) throws IgniteCheckedException {
+        writePage(fullPageId, buf, tag);
+
+        return false;
+    }
 }
@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.processors.cache.persistence.checkpoint;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Collection;
@@ -31,11 +32,15 @@ import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.LongJVMPauseDetector;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.GridCacheProcessor;
 import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
 import org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl;
+import org.apache.ignite.internal.processors.cache.persistence.StorageException;
+import org.apache.ignite.internal.processors.cache.persistence.file.BatchingFileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
@@ -178,7 +183,7 @@ public class CheckpointManager {
 
         checkpointPagesWriterFactory = new CheckpointPagesWriterFactory(
             logger, snapshotMgr,
-            (pageMemEx, fullPage, buf, tag) -> pageStoreManager.write(fullPage.groupId(), fullPage.pageId(), buf, tag, true),
+            checkpointPageWriter(pageStoreManager),
             persStoreMetrics,
             throttlingPolicy, threadBuf,
             pageMemoryGroupResolver
@@ -222,6 +227,57 @@ public class CheckpointManager {
         );
     }
 
+    /**
+     * @param pageStoreManager Page store manager.
+     * @return Checkpoint page writer which batches page writes if the page store file I/O factory supports it.
+     */
+    private static CheckpointPagesWriter.CheckpointPageWriter checkpointPageWriter(FilePageStoreManager pageStoreManager) {
+        return new CheckpointPagesWriter.CheckpointPageWriter() {
+            /** {@inheritDoc} */
+            @Override public PageStore write(
+                PageMemoryEx pageMemEx,
+                FullPageId fullPageId,
+                ByteBuffer buf,
+                int tag
+            ) throws IgniteCheckedException {
+                return pageStoreManager.write(fullPageId.groupId(), fullPageId.pageId(), buf, tag, true);
+            }
+
+            /** {@inheritDoc} */
+            @Override public PageStore write(
+                PageMemoryEx pageMemEx,
+                int grpId,
+                long[] pageIds,
+                ByteBuffer[] bufs,
+                int tag
+            ) throws IgniteCheckedException {
+                return pageStoreManager.write(grpId, pageIds, bufs, tag, true);
+            }
+
+            /** {@inheritDoc} */
+            @Override public void beginBatch() {
+                FileIOFactory ioFactory = pageStoreManager.getPageStoreFileIoFactory();
+
+                if (ioFactory instanceof BatchingFileIOFactory)
+                    ((BatchingFileIOFactory)ioFactory).beginBatch();
+            }
+
+            /** {@inheritDoc} */
+            @Override public void endBatch() throws IgniteCheckedException {
+                FileIOFactory ioFactory = pageStoreManager.getPageStoreFileIoFactory();
+
+                if (ioFactory instanceof BatchingFileIOFactory) {
+                    try {
+                        ((BatchingFileIOFactory)ioFactory).endBatch();
+                    }
+                    catch (IOException e) {
+                        throw new StorageException("Failed to write batch of checkpoint pages", e);
+                    }
+                }
+            }
+        };
+    }
+
     /**
      * @return Checkpoint lock which can be used for protection of writing to memory.
      */
@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.cache.persistence.checkpoint;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,7 +27,9 @@ import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BooleanSupplier;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
 import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl;
 import org.apache.ignite.internal.processors.cache.persistence.PageStoreWriter;
@@ -38,6 +41,7 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.util.GridConcurrentMultiPairQueue;
 import org.apache.ignite.internal.util.future.CountDownFuture;
 import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
+import org.apache.ignite.internal.util.typedef.T2;
 import org.jsr166.ConcurrentLinkedHashMap;
 
 import static org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO.getType;
@@ -48,6 +52,16 @@ import static org.apache.ignite.internal.util.IgniteUtils.hexLong;
  * Implementation of page writer which able to store pages to disk during checkpoint.
  */
 public class CheckpointPagesWriter implements Runnable {
+    /** @see IgniteSystemProperties#IGNITE_CHECKPOINT_WRITE_COALESCE_PAGES */
+    public static final int DFLT_CHECKPOINT_WRITE_COALESCE_PAGES = 32;
+
+    /** Thread local with buffers of pages which are written with a single write and the source of the buffers. */
+    private static final ThreadLocal<T2<ThreadLocal<ByteBuffer>, ByteBuffer[]>> COALESCED_BUFS = new ThreadLocal<>();
+
+    /** Maximum number of adjacent pages written with a single write. */
+    private final int coalescePages = Math.max(1, IgniteSystemProperties.getInteger(
+        IgniteSystemProperties.IGNITE_CHECKPOINT_WRITE_COALESCE_PAGES, DFLT_CHECKPOINT_WRITE_COALESCE_PAGES));
+
     /** Logger. */
     private final IgniteLogger log;
 
@@ -147,21 +161,26 @@ public class CheckpointPagesWriter implements Runnable {
         GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> writePageIds = this.writePageIds;
 
         try {
-            GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> pagesToRetry = writePages(writePageIds);
-
-            if (pagesToRetry.isEmpty())
-                doneFut.onDone();
-            else {
-                if (log.isInfoEnabled()) {
-                    log.info(pagesToRetry.initialSize() + " checkpoint pages were not written yet due to " +
-                        "unsuccessful page write lock acquisition and will be retried");
-                }
+            pageWriter.beginBatch();
 
-                while (!pagesToRetry.isEmpty())
-                    pagesToRetry = writePages(pagesToRetry);
+            try {
+                GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> pagesToRetry = writePages(writePageIds);
 
-                doneFut.onDone();
+                if (!pagesToRetry.isEmpty()) {
+                    if (log.isInfoEnabled()) {
+                        log.info(pagesToRetry.initialSize() + " checkpoint pages were not written yet due to " +
+                            "unsuccessful page write lock acquisition and will be retried");
+                    }
+
+                    while (!pagesToRetry.isEmpty())
+                        pagesToRetry = writePages(pagesToRetry);
+                }
+            }
+            finally {
+                pageWriter.endBatch();
             }
+
+            doneFut.onDone();
         }
         catch (Throwable e) {
             doneFut.onDone(e);
@@ -181,46 +200,58 @@ public class CheckpointPagesWriter implements Runnable {
 
         Map<PageMemoryEx, PageStoreWriter> pageStoreWriters = new HashMap<>();
 
-        ByteBuffer tmpWriteBuf = threadBuf.get();
+        CoalescedPages coalescedPages = new CoalescedPages(coalescedBuffers());
 
         boolean throttlingEnabled = throttlingPolicy != PageMemoryImpl.ThrottlingPolicy.DISABLED;
 
         GridConcurrentMultiPairQueue.Result<PageMemoryEx, FullPageId> res =
             new GridConcurrentMultiPairQueue.Result<>();
 
-        while (writePageIds.next(res)) {
-            if (shutdownNow.getAsBoolean())
-                break;
+        // Pages are taken by ranges, so adjacent pages of a partition file are written by the same thread.
+        FullPageId[] range = new FullPageId[coalescePages];
 
-            beforePageWrite.run();
+        try {
+            int cnt;
 
-            FullPageId fullId = res.getValue();
+            while (!shutdownNow.getAsBoolean() && (cnt = writePageIds.next(res, range)) > 0) {
+                PageMemoryEx pageMem = res.getKey();
 
-            PageMemoryEx pageMem = res.getKey();
+                PageStoreWriter pageStoreWriter = pageStoreWriters.computeIfAbsent(
+                    pageMem,
+                    pageMemEx -> createPageStoreWriter(pageMemEx, pagesToRetry, coalescedPages)
+                );
 
-            snapshotMgr.beforePageWrite(fullId);
+                for (int i = 0; i < cnt; i++) {
+                    if (shutdownNow.getAsBoolean())
+                        break;
 
-            tmpWriteBuf.rewind();
+                    beforePageWrite.run();
 
-            PageStoreWriter pageStoreWriter =
-                pageStoreWriters.computeIfAbsent(pageMem, pageMemEx -> createPageStoreWriter(pageMemEx, pagesToRetry));
+                    FullPageId fullId = range[i];
 
-            pageMem.checkpointWritePage(fullId, tmpWriteBuf, pageStoreWriter, tracker);
+                    snapshotMgr.beforePageWrite(fullId);
 
-            if (throttlingEnabled) {
-                while (pageMem.isCpBufferOverflowThresholdExceeded()) {
-                    FullPageId cpPageId = pageMem.pullPageFromCpBuffer();
+                    pageMem.checkpointWritePage(fullId, coalescedPages.nextBuffer(), pageStoreWriter, tracker);
 
-                    if (cpPageId.equals(FullPageId.NULL_PAGE))
-                        break;
+                    if (throttlingEnabled) {
+                        while (pageMem.isCpBufferOverflowThresholdExceeded()) {
+                            FullPageId cpPageId = pageMem.pullPageFromCpBuffer();
 
-                    snapshotMgr.beforePageWrite(cpPageId);
+                            if (cpPageId.equals(FullPageId.NULL_PAGE))
+                                break;
 
-                    tmpWriteBuf.rewind();
+                            snapshotMgr.beforePageWrite(cpPageId);
 
-                    pageMem.checkpointWritePage(cpPageId, tmpWriteBuf, pageStoreWriter, tracker);
+                            pageMem.checkpointWritePage(cpPageId, coalescedPages.nextBuffer(), pageStoreWriter, tracker);
+                        }
+                    }
                 }
             }
+
+            coalescedPages.flush();
+        }
+        finally {
+            coalescedPages.releasePages();
         }
 
         return pagesToRetry.isEmpty() ?
@@ -228,16 +259,44 @@ public class CheckpointPagesWriter implements Runnable {
             new GridConcurrentMultiPairQueue<>(pagesToRetry);
     }
 
+    /**
+     * @return Buffers of pages written with a single write by the current thread.
+     */
+    private ByteBuffer[] coalescedBuffers() {
+        T2<ThreadLocal<ByteBuffer>, ByteBuffer[]> bufs = COALESCED_BUFS.get();
+
+        if (bufs == null || bufs.get1() != threadBuf || bufs.get2().length != coalescePages) {
+            ByteBuffer[] arr = new ByteBuffer[coalescePages];
+
+            arr[0] = threadBuf.get();
+
+            // Thread local creates buffers suitable for the page store file I/O, e.g. aligned buffers for direct I/O.
+            for (int i = 1; i < arr.length; i++) {
+                threadBuf.remove();
+
+                arr[i] = threadBuf.get();
+            }
+
+            threadBuf.set(arr[0]);
+
+            COALESCED_BUFS.set(bufs = new T2<>(threadBuf, arr));
+        }
+
+        return bufs.get2();
+    }
+
     /**
      * Factory method for create {@link PageStoreWriter}.
      *
      * @param pageMemEx
      * @param pagesToRetry List pages for retry.
+     * @param coalescedPages Pages waiting to be written with a single write.
      * @return Checkpoint page write context.
      */
     private PageStoreWriter createPageStoreWriter(
         PageMemoryEx pageMemEx,
-        Map<PageMemoryEx, List<FullPageId>> pagesToRetry
+        Map<PageMemoryEx, List<FullPageId>> pagesToRetry,
+        CoalescedPages coalescedPages
     ) {
         return new PageStoreWriter() {
             /** {@inheritDoc} */
@@ -249,27 +308,190 @@ public class CheckpointPagesWriter implements Runnable {
                     return;
                 }
 
-                long pageId = fullPageId.pageId();
-
-                assert getType(buf) != 0 : "Invalid state. Type is 0! pageId = " + hexLong(pageId);
-                assert getVersion(buf) != 0 : "Invalid state. Version is 0! pageId = " + hexLong(pageId);
+                writeToStore(pageMemEx, fullPageId.groupId(), new long[] {fullPageId.pageId()},
+                    new ByteBuffer[] {buf}, tag);
+            }
 
-                if (persStoreMetrics.metricsEnabled()) {
-                    int pageType = getType(buf);
+            /** {@inheritDoc} */
+            @Override public boolean writePage(FullPageId fullPageId, ByteBuffer buf, int tag,
+                long page) throws IgniteCheckedException {
+                if (tag == PageMemoryImpl.TRY_AGAIN_TAG) {
+                    writePage(fullPageId, buf, tag);
 
-                    if (PageIO.isDataPageType(pageType))
-                        tracker.onDataPageWritten();
+                    return false;
                 }
 
-                curCpProgress.updateWrittenPages(1);
+                coalescedPages.add(pageMemEx, fullPageId, buf, tag, page);
 
-                PageStore store = pageWriter.write(pageMemEx, fullPageId, buf, tag);
-
-                updStores.computeIfAbsent(store, k -> new LongAdder()).increment();
+                return true;
             }
         };
     }
 
+    /**
+     * Writes adjacent pages of a partition file to the page store.
+     *
+     * @param pageMemEx Page memory from which pages should be written.
+     * @param grpId Cache group ID.
+     * @param pageIds Page IDs.
+     * @param bufs Page buffers.
+     * @param tag Partition generation.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void writeToStore(
+        PageMemoryEx pageMemEx,
+        int grpId,
+        long[] pageIds,
+        ByteBuffer[] bufs,
+        int tag
+    ) throws IgniteCheckedException {
+        for (int i = 0; i < pageIds.length; i++) {
+            ByteBuffer buf = bufs[i];
+
+            assert getType(buf) != 0 : "Invalid state. Type is 0! pageId = " + hexLong(pageIds[i]);
+            assert getVersion(buf) != 0 : "Invalid state. Version is 0! pageId = " + hexLong(pageIds[i]);
+
+            if (persStoreMetrics.metricsEnabled()) {
+                int pageType = getType(buf);
+
+                if (PageIO.isDataPageType(pageType))
+                    tracker.onDataPageWritten();
+            }
+        }
+
+        curCpProgress.updateWrittenPages(pageIds.length);
+
+        PageStore store = pageWriter.write(pageMemEx, grpId, pageIds, bufs, tag);
+
+        updStores.computeIfAbsent(store, k -> new LongAdder()).add(pageIds.length);
+    }
+
+    /**
+     * Adjacent pages of a partition file copied by the thread and waiting to be written with a single write.
+     * Pages stay pinned in memory until they are written.
+     */
+    private class CoalescedPages {
+        /** Page buffers, buffers of the waiting pages go first. */
+        private final ByteBuffer[] bufs;
+
+        /** Page IDs. */
+        private final long[] pageIds;
+
+        /** Pointers to the pinned pages. */
+        private final long[] pages;
+
+        /** Page memory of the waiting pages. */
+        private PageMemoryEx pageMem;
+
+        /** Cache group ID of the waiting pages. */
+        private int grpId;
+
+        /** Partition generation of the waiting pages. */
+        private int tag;
+
+        /** Number of the waiting pages. */
+        private int cnt;
+
+        /**
+         * @param bufs Page buffers.
+         */
+        CoalescedPages(ByteBuffer[] bufs) {
+            this.bufs = bufs;
+
+            pageIds = new long[bufs.length];
+            pages = new long[bufs.length];
+        }
+
+        /**
+         * @return Buffer to copy the next page to.
+         * @throws IgniteCheckedException If failed to write the waiting pages.
+         */
+        ByteBuffer nextBuffer() throws IgniteCheckedException {
+            if (cnt == bufs.length)
+                flush();
+
+            ByteBuffer buf = bufs[cnt];
+
+            buf.rewind();
+
+            return buf;
+        }
+
+        /**
+         * Adds the page copied to the buffer returned by {@link #nextBuffer()}. Waiting pages are written
+         * if the page is not next to them.
+         *
+         * @param pageMemEx Page memory.
+         * @param fullId Full page ID.
+         * @param buf Page buffer.
+         * @param tag Partition generation.
+         * @param page Pointer to the pinned page.
+         * @throws IgniteCheckedException If failed to write the waiting pages.
+         */
+        void add(PageMemoryEx pageMemEx, FullPageId fullId, ByteBuffer buf, int tag, long page)
+            throws IgniteCheckedException {
+            assert buf == bufs[cnt] : "Page is copied to unexpected buffer: " + fullId;
+
+            long pageId = fullId.pageId();
+
+            if (cnt > 0 && !(pageMem == pageMemEx && grpId == fullId.groupId() && this.tag == tag &&
+                PageIdUtils.partId(pageId) == PageIdUtils.partId(pageIds[cnt - 1]) &&
+                PageIdUtils.pageIndex(pageId) == PageIdUtils.pageIndex(pageIds[cnt - 1]) + 1)) {
+                int pos = cnt;
+
+                flush();
+
+                bufs[pos] = bufs[0];
+                bufs[0] = buf;
+            }
+
+            if (cnt == 0) {
+                pageMem = pageMemEx;
+                grpId = fullId.groupId();
+                this.tag = tag;
+            }
+
+            pageIds[cnt] = pageId;
+            pages[cnt] = page;
+
+            cnt++;
+        }
+
+        /**
+         * Writes the waiting pages to the page store.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        void flush() throws IgniteCheckedException {
+            if (cnt == 0)
+                return;
+
+            try {
+                writeToStore(
+                    pageMem,
+                    grpId,
+                    cnt == pageIds.length ? pageIds : Arrays.copyOf(pageIds, cnt),
+                    cnt == bufs.length ? bufs : Arrays.copyOf(bufs, cnt),
+                    tag
+                );
+            }
+            finally {
+                releasePages();
+            }
+        }
+
+        /**
+         * Releases the waiting pages.
+         */
+        void releasePages() {
+            for (int i = 0; i < cnt; i++)
+                pageMem.checkpointReleasePage(pages[i]);
+
+            cnt = 0;
+            pageMem = null;
+        }
+    }
+
     /** Interface which allows to write one page to page store. */
     public interface CheckpointPageWriter {
         /**
@@ -283,5 +505,43 @@ public class CheckpointPagesWriter implements Runnable {
          */
         PageStore write(PageMemoryEx pageMemEx, FullPageId fullPageId, ByteBuffer buf, int tag)
             throws IgniteCheckedException;
+
+        /**
+         * Writes pages placed one after another in the same partition file.
+         *
+         * @param pageMemEx Page memory from which pages should be written.
+         * @param grpId Cache group ID.
+         * @param pageIds IDs of pages with adjacent page indexes in ascending order.
+         * @param bufs Page buffers.
+         * @param tag Partition generation.
+         * @return {@link PageStore} which was used to write.
+         * @throws IgniteCheckedException if fail.
+         */
+        default PageStore write(PageMemoryEx pageMemEx, int grpId, long[] pageIds, ByteBuffer[] bufs, int tag)
+            throws IgniteCheckedException {
+            PageStore store = null;
+
+            for (int i = 0; i < pageIds.length; i++)
+                store = write(pageMemEx, new FullPageId(pageIds[i], grpId), bufs[i], tag);
+
+            return store;
+        }
+
+        /**
+         * Starts a batch of page writes of the calling thread. Written pages may be submitted to the storage
+         * in batches until the {@link #endBatch()} call.
+         */
+        default void beginBatch() {
+            // No-op.
+        }
+
+        /**
+         * Submits all page writes of the calling thread batched since the {@link #beginBatch()} call.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        default void endBatch() throws IgniteCheckedException {
+            // No-op.
+        }
     }
 }
@@ -24,6 +24,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.IgniteInternalFuture;
 
 /**
  * Defragmentation operation service.
@@ -38,6 +39,17 @@ public interface IgniteDefragmentation {
      */
     ScheduleResult schedule(List<String> cacheNames) throws IgniteCheckedException;
 
+    /**
+     * Start defragmentation of the local partitions without the node restart. Rows are moved out of sparse data pages
+     * partition by partition while the node keeps serving requests, empty pages at the end of partition files are
+     * cut off.
+     *
+     * @param cacheNames Names of caches to run defragmentation on, all persistent caches if empty.
+     * @return Future completed with the number of moved rows, cancel it to stop the defragmentation.
+     * @throws IgniteCheckedException If failed.
+     */
+    IgniteInternalFuture<Long> startOnline(List<String> cacheNames) throws IgniteCheckedException;
+
     /**
      * Cancel scheduled or ongoing defragmentation.
      * @return Result of the cancellation.
@@ -25,6 +25,7 @@ import java.util.Optional;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.defragmentation.CachePartitionDefragmentationManager.Status;
@@ -42,6 +43,9 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
     /** Kernal context. */
     private final GridKernalContext ctx;
 
+    /** Defragmentation of the running node, created on the first start since the logger is not set up yet here. */
+    private OnlineDefragmentation onlineDefrag;
+
     /** */
     public IgniteDefragmentationImpl(GridKernalContext ctx) {
         this.ctx = ctx;
@@ -63,6 +67,18 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
         return oldTask != null ? ScheduleResult.SUCCESS_SUPERSEDED_PREVIOUS : ScheduleResult.SUCCESS;
     }
 
+    /** {@inheritDoc} */
+    @Override public synchronized IgniteInternalFuture<Long> startOnline(List<String> cacheNames)
+        throws IgniteCheckedException {
+        if (ctx.maintenanceRegistry().isMaintenanceMode())
+            throw new IgniteCheckedException("Node is in maintenance mode.");
+
+        if (onlineDefrag == null)
+            onlineDefrag = new OnlineDefragmentation(ctx);
+
+        return onlineDefrag.start(cacheNames);
+    }
+
     /** {@inheritDoc} */
     @Override public CancelResult cancel() throws IgniteCheckedException {
         final MaintenanceRegistry maintenanceRegistry = ctx.maintenanceRegistry();
@@ -0,0 +1,835 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.defragmentation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.NodeStoppingException;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.store.PageStore;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.DynamicCacheDescriptor;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.GridCacheEntryEx;
+import org.apache.ignite.internal.processors.cache.IgniteCacheOffheapManager.CacheDataStore;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowAdapter;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheOffheapManager.GridCacheDataStore;
+import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.AbstractFreeList;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageReplacementPolicy;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.AbstractDataPageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.LongListReuseBag;
+import org.apache.ignite.internal.processors.cache.tree.RowLinkIO;
+import org.apache.ignite.internal.util.BasicRateLimiter;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.thread.IgniteThread;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ONLINE_DEFRAGMENTATION_PAGE_FREE_SPACE_PERCENTAGE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ONLINE_DEFRAGMENTATION_RATE_LIMIT;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+import static org.apache.ignite.internal.processors.cache.persistence.CheckpointState.FINISHED;
+import static org.apache.ignite.internal.util.IgniteUtils.MB;
+
+/**
+ * Defragmentation of cache group partitions performed while the node keeps serving requests.
+ * <p>
+ * Partitions are processed one by one. Data pages of a partition are scanned to find sparse pages, which free space
+ * is not less than {@link IgniteSystemProperties#IGNITE_ONLINE_DEFRAGMENTATION_PAGE_FREE_SPACE_PERCENTAGE} of
+ * the page size, and the tail of the file, which rows fit into the free space of the pages before it. Rows stored in
+ * sparse pages and in the tail are moved under the entry lock to the partially filled data pages with the lowest
+ * indexes, so a row is only ever moved closer to the beginning of the file. Pages left empty go to the reuse list
+ * of the partition.
+ * <p>
+ * Empty pages at the end of the partition file are then removed from the reuse list. Once a checkpoint persists
+ * the reuse list without them, the number of allocated pages of the partition is decreased and the file is truncated,
+ * unless the partition has allocated new pages in the meantime, in which case the pages are returned to the reuse
+ * list. Unlike defragmentation in the maintenance mode, partition files are not rewritten, so only the empty pages
+ * at the end of the file are returned to the file system. The pages are lost for reuse if the node fails after
+ * the checkpoint but before the file is truncated.
+ */
+public class OnlineDefragmentation {
+    /** Default online defragmentation rate limit in megabytes per second. */
+    public static final double DFLT_ONLINE_DEFRAGMENTATION_RATE_LIMIT = 16;
+
+    /** Default minimum free space of a sparse data page, in percents of the page size. */
+    public static final int DFLT_ONLINE_DEFRAGMENTATION_PAGE_FREE_SPACE_PERCENTAGE = 50;
+
+    /** Free space of a data page, which is not enough for any row. Such pages are not tracked by the free list. */
+    private static final int MIN_FREE_SPACE = 8;
+
+    /** Number of pages scanned or rows moved at once. */
+    private static final int BATCH_SIZE = 100;
+
+    /** Kernal context. */
+    private final GridKernalContext ctx;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Minimum free space of a sparse data page, in percents of the page size. */
+    private final int freeSpacePercentage =
+        IgniteSystemProperties.getInteger(IGNITE_ONLINE_DEFRAGMENTATION_PAGE_FREE_SPACE_PERCENTAGE,
+            DFLT_ONLINE_DEFRAGMENTATION_PAGE_FREE_SPACE_PERCENTAGE);
+
+    /** Scanned pages and moved rows speed limiter. */
+    private final BasicRateLimiter limiter;
+
+    /** Future of the last started defragmentation. */
+    private DefragmentationFuture fut;
+
+    /**
+     * @param ctx Kernal context.
+     */
+    public OnlineDefragmentation(GridKernalContext ctx) {
+        this.ctx = ctx;
+
+        log = ctx.log(getClass());
+
+        DataStorageConfiguration dsCfg = ctx.config().getDataStorageConfiguration();
+
+        int pageSize = dsCfg == null || dsCfg.getPageSize() == 0 ? DataStorageConfiguration.DFLT_PAGE_SIZE :
+            dsCfg.getPageSize();
+
+        double rateLimit = IgniteSystemProperties.getDouble(IGNITE_ONLINE_DEFRAGMENTATION_RATE_LIMIT,
+            DFLT_ONLINE_DEFRAGMENTATION_RATE_LIMIT);
+
+        limiter = new BasicRateLimiter(rateLimit * MB / pageSize);
+    }
+
+    /**
+     * Starts defragmentation of the local partitions of the given caches, if it's not started yet.
+     *
+     * @param cacheNames Names of caches to defragment, all persistent caches if empty.
+     * @return Future completed with the number of moved rows. Defragmentation is stopped if the future is cancelled.
+     * @throws IgniteCheckedException If some of the caches can't be defragmented online.
+     */
+    public synchronized IgniteInternalFuture<Long> start(List<String> cacheNames) throws IgniteCheckedException {
+        if (fut != null && !fut.isDone()) {
+            if (log.isInfoEnabled())
+                log.info("Online defragmentation is already in progress.");
+
+            return fut;
+        }
+
+        Collection<CacheGroupContext> grps = cacheGroups(cacheNames);
+
+        DefragmentationFuture fut0 = new DefragmentationFuture();
+
+        new IgniteThread(ctx.igniteInstanceName(), "online-defragmentation", () -> defragment(grps, fut0)).start();
+
+        return fut = fut0;
+    }
+
+    /**
+     * @param cacheNames Cache names.
+     * @return Cache groups of the given caches.
+     * @throws IgniteCheckedException If some of the caches can't be defragmented online.
+     */
+    private Collection<CacheGroupContext> cacheGroups(List<String> cacheNames) throws IgniteCheckedException {
+        Collection<CacheGroupContext> grps = new LinkedHashSet<>();
+
+        if (cacheNames == null || cacheNames.isEmpty()) {
+            for (CacheGroupContext grp : ctx.cache().cacheGroups()) {
+                if (grp.userCache() && grp.persistenceEnabled() && !grp.mvccEnabled() && grp.affinityNode())
+                    grps.add(grp);
+            }
+
+            return grps;
+        }
+
+        for (String cacheName : cacheNames) {
+            DynamicCacheDescriptor desc = ctx.cache().cacheDescriptor(cacheName);
+
+            CacheGroupContext grp = desc == null ? null : ctx.cache().cacheGroup(desc.groupId());
+
+            if (grp == null || !grp.affinityNode())
+                throw new IgniteCheckedException("Cache is not started on the local node: " + cacheName);
+
+            if (!grp.persistenceEnabled() || grp.mvccEnabled()) {
+                throw new IgniteCheckedException("Online defragmentation is supported for persistent " +
+                    "non-MVCC caches only: " + cacheName);
+            }
+
+            grps.add(grp);
+        }
+
+        return grps;
+    }
+
+    /**
+     * @param grps Cache groups.
+     * @param fut Defragmentation future.
+     */
+    private void defragment(Collection<CacheGroupContext> grps, DefragmentationFuture fut) {
+        long moved = 0;
+
+        try {
+            for (CacheGroupContext grp : grps) {
+                if (log.isInfoEnabled())
+                    log.info("Online defragmentation of cache group is started [grp=" + grp.cacheOrGroupName() + ']');
+
+                long grpMoved = 0;
+                long grpTruncated;
+
+                // Partitions with the empty pages removed from the reuse list stay reserved until the file is truncated.
+                List<FreeTail> tails = new ArrayList<>();
+
+                try {
+                    for (GridDhtLocalPartition part : grp.topology().currentLocalPartitions()) {
+                        if (cancelled(fut))
+                            break;
+
+                        if (part.state() != OWNING || !part.reserve())
+                            continue;
+
+                        try {
+                            if (part.state() == OWNING)
+                                grpMoved += defragmentPartition(grp, part, fut, tails);
+                        }
+                        finally {
+                            part.release();
+                        }
+                    }
+
+                    grpTruncated = truncateTails(tails);
+                }
+                finally {
+                    for (FreeTail tail : tails)
+                        tail.part.release();
+                }
+
+                moved += grpMoved;
+
+                if (log.isInfoEnabled()) {
+                    log.info("Online defragmentation of cache group is finished [grp=" + grp.cacheOrGroupName() +
+                        ", movedRows=" + grpMoved + ", truncatedPages=" + grpTruncated + ']');
+                }
+
+                if (cancelled(fut)) {
+                    fut.onCancelled();
+
+                    return;
+                }
+            }
+
+            fut.onDone(moved);
+        }
+        catch (Throwable t) {
+            if (ctx.isStopping() || X.hasCause(t, NodeStoppingException.class))
+                fut.onCancelled();
+            else {
+                U.error(log, "Online defragmentation failed.", t);
+
+                fut.onDone(t);
+            }
+        }
+    }
+
+    /**
+     * @param grp Cache group.
+     * @param part Partition.
+     * @param fut Defragmentation future.
+     * @param tails Empty pages at the end of partition files, which are removed from the reuse lists.
+     * @return Number of moved rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    private long defragmentPartition(
+        CacheGroupContext grp,
+        GridDhtLocalPartition part,
+        DefragmentationFuture fut,
+        List<FreeTail> tails
+    ) throws IgniteCheckedException {
+        CacheDataStore store = part.dataStore();
+
+        if (!store.init())
+            return 0;
+
+        AbstractFreeList<CacheDataRow> freeList = ((GridCacheDataStore)store).getCacheStoreFreeList();
+
+        if (freeList == null)
+            return 0;
+
+        int pageSize = grp.dataRegion().pageMemory().realPageSize(grp.groupId());
+        int maxFreeSpace = pageSize - AbstractDataPageIO.MIN_DATA_PAGE_OVERHEAD;
+
+        // Not a single page can be emptied.
+        if (freeList.freeSpace() < maxFreeSpace) {
+            detachFreeTail(grp, part, freeList, tails);
+
+            return 0;
+        }
+
+        DataPages dataPages = scanDataPages(grp, part.id(), fut);
+
+        int tailStart = dataPages.tailStart(maxFreeSpace);
+
+        BitSet tailPages = new BitSet(dataPages.ids.length);
+
+        tailPages.set(tailStart, dataPages.ids.length);
+
+        BitSet sparsePages = dataPages.sparsePages(pageSize * freeSpacePercentage / 100);
+
+        sparsePages.clear(tailStart, dataPages.ids.length);
+
+        DestinationPages dst = new DestinationPages(grp, freeList, dataPages, tailStart);
+
+        // The tail is evacuated first, while the pages at the beginning of the file still have free space.
+        long moved = moveRows(grp, store, tailPages, dst, fut);
+
+        if (!cancelled(fut)) {
+            dst.reset();
+
+            moved += moveRows(grp, store, sparsePages, dst, fut);
+        }
+
+        detachFreeTail(grp, part, freeList, tails);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Partition defragmented online [grp=" + grp.cacheOrGroupName() + ", p=" + part.id() +
+                ", pages=" + dataPages.ids.length + ", tailStart=" + tailStart + ", sparsePages=" +
+                sparsePages.cardinality() + ", movedRows=" + moved + ']');
+        }
+
+        return moved;
+    }
+
+    /**
+     * @param grp Cache group.
+     * @param partId Partition ID.
+     * @param fut Defragmentation future.
+     * @return Data pages of the partition.
+     * @throws IgniteCheckedException If failed.
+     */
+    private DataPages scanDataPages(CacheGroupContext grp, int partId, DefragmentationFuture fut)
+        throws IgniteCheckedException {
+        int grpId = grp.groupId();
+
+        PageMemoryEx pageMem = (PageMemoryEx)grp.dataRegion().pageMemory();
+
+        long metaPageId = pageMem.partitionMetaPageId(grpId, partId);
+
+        int pages = ctx.cache().context().pageStore().pages(grpId, partId);
+
+        DataPages res = new DataPages(pages);
+
+        // Scanned pages are not expected to be used soon, they should not evict the hot ones.
+        boolean prevLowPriority = PageReplacementPolicy.lowPriorityAccess(true);
+
+        try {
+            for (int pageIdx = 0; pageIdx < pages; pageIdx++) {
+                if (pageIdx % BATCH_SIZE == 0) {
+                    if (cancelled(fut))
+                        break;
+
+                    limiter.acquire(Math.min(BATCH_SIZE, pages - pageIdx));
+                }
+
+                long pageId = metaPageId + pageIdx;
+                long page = pageMem.acquirePage(grpId, pageId);
+
+                try {
+                    long pageAddr = pageMem.readLock(page, pageId, true, false);
+
+                    try {
+                        if (PageIO.getType(pageAddr) != PageIO.T_DATA)
+                            continue;
+
+                        DataPageIO io = DataPageIO.VERSIONS.forPage(pageAddr);
+
+                        if (io.getRowsCount(pageAddr) > 0) {
+                            res.ids[pageIdx] = PageIO.getPageId(pageAddr);
+                            res.free[pageIdx] = io.getFreeSpace(pageAddr);
+                        }
+                    }
+                    finally {
+                        pageMem.readUnlock(grpId, pageId, page);
+                    }
+                }
+                finally {
+                    pageMem.releasePage(grpId, pageId, page);
+                }
+            }
+        }
+        finally {
+            PageReplacementPolicy.lowPriorityAccess(prevLowPriority);
+        }
+
+        return res;
+    }
+
+    /**
+     * Moves rows out of the given data pages.
+     *
+     * @param grp Cache group.
+     * @param store Partition data store.
+     * @param srcPages Indexes of the pages to move rows out of.
+     * @param dst Destination pages.
+     * @param fut Defragmentation future.
+     * @return Number of moved rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    private long moveRows(
+        CacheGroupContext grp,
+        CacheDataStore store,
+        BitSet srcPages,
+        DestinationPages dst,
+        DefragmentationFuture fut
+    ) throws IgniteCheckedException {
+        if (srcPages.isEmpty() || dst.exhausted())
+            return 0;
+
+        GridCursor<CacheDataRow> cur = store.tree().find(null, null,
+            (t, io, pageAddr, idx) -> srcPages.get(PageIdUtils.pageIndex(((RowLinkIO)io).getLink(pageAddr, idx))),
+            CacheDataRowAdapter.RowData.KEY_ONLY);
+
+        List<CacheDataRow> rows = new ArrayList<>(BATCH_SIZE);
+
+        long moved = 0;
+
+        while (cur.next()) {
+            rows.add(cur.get());
+
+            if (rows.size() == BATCH_SIZE) {
+                moved += moveRows(grp, store, rows, dst);
+
+                rows.clear();
+
+                if (cancelled(fut) || dst.exhausted())
+                    return moved;
+            }
+        }
+
+        if (!rows.isEmpty() && !cancelled(fut))
+            moved += moveRows(grp, store, rows, dst);
+
+        return moved;
+    }
+
+    /**
+     * Moves rows to the data pages with lower indexes under the checkpoint read lock.
+     *
+     * @param grp Cache group.
+     * @param store Partition data store.
+     * @param rows Rows read with keys.
+     * @param dst Destination pages.
+     * @return Number of moved rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int moveRows(CacheGroupContext grp, CacheDataStore store, List<CacheDataRow> rows, DestinationPages dst)
+        throws IgniteCheckedException {
+        limiter.acquire(rows.size());
+
+        IgniteCacheDatabaseSharedManager db = ctx.cache().context().database();
+
+        int moved = 0;
+
+        db.checkpointReadLock();
+
+        try {
+            for (CacheDataRow row : rows) {
+                GridCacheContext<?, ?> cctx = grp.sharedGroup() ?
+                    ctx.cache().context().cacheContext(row.cacheId()) : grp.singleCacheContext();
+
+                if (cctx == null)
+                    continue;
+
+                int srcPageIdx = PageIdUtils.pageIndex(row.link());
+
+                GridCacheEntryEx entry = cctx.isNear() ? cctx.near().dht().entryEx(row.key()) :
+                    cctx.cache().entryEx(row.key());
+
+                entry.lockEntry();
+
+                try {
+                    // Row of the obsolete entry may be concurrently changed under the lock of a new entry.
+                    if (!entry.obsolete() && store.relocate(cctx, row.key(), row.link(), r -> dst.place(r, srcPageIdx)))
+                        moved++;
+                }
+                finally {
+                    entry.unlockEntry();
+                }
+
+                entry.touch();
+            }
+        }
+        finally {
+            db.checkpointReadUnlock();
+        }
+
+        return moved;
+    }
+
+    /**
+     * Removes empty pages at the end of the partition file from the reuse list. The pages are returned to the reuse
+     * list or cut off the file by {@link #truncateTails(List)}.
+     *
+     * @param grp Cache group.
+     * @param part Partition, reserved by the caller.
+     * @param freeList Free list of the partition, which is also its reuse list.
+     * @param tails Empty pages at the end of partition files, which are removed from the reuse lists.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void detachFreeTail(
+        CacheGroupContext grp,
+        GridDhtLocalPartition part,
+        AbstractFreeList<CacheDataRow> freeList,
+        List<FreeTail> tails
+    ) throws IgniteCheckedException {
+        if (freeList.emptyDataPages() == 0 || !(ctx.cache().context().pageStore() instanceof FilePageStoreManager))
+            return;
+
+        PageStore pageStore = ((FilePageStoreManager)ctx.cache().context().pageStore()).getStore(grp.groupId(), part.id());
+
+        if (!(pageStore instanceof FilePageStore))
+            return;
+
+        IgniteCacheDatabaseSharedManager db = ctx.cache().context().database();
+
+        db.checkpointReadLock();
+
+        try {
+            int pages = pageStore.pages();
+
+            LongListReuseBag free = new LongListReuseBag();
+            BitSet freeIdxs = new BitSet(pages);
+
+            for (long pageId = freeList.takeRecycledPage(); pageId != 0L; pageId = freeList.takeRecycledPage()) {
+                free.add(pageId);
+                freeIdxs.set(PageIdUtils.pageIndex(pageId));
+            }
+
+            int newPages = freeIdxs.previousClearBit(pages - 1) + 1;
+
+            LongListReuseBag tail = new LongListReuseBag();
+            LongListReuseBag rest = new LongListReuseBag();
+
+            for (int i = 0; i < free.size(); i++) {
+                long pageId = free.get(i);
+
+                if (PageIdUtils.pageIndex(pageId) >= newPages)
+                    tail.add(pageId);
+                else
+                    rest.add(pageId);
+            }
+
+            if (!rest.isEmpty())
+                freeList.addForRecycle(rest);
+
+            if (tail.isEmpty() || !part.reserve()) {
+                if (!tail.isEmpty())
+                    freeList.addForRecycle(tail);
+
+                return;
+            }
+
+            tails.add(new FreeTail(part, freeList, (FilePageStore)pageStore, pages, newPages, tail));
+        }
+        finally {
+            db.checkpointReadUnlock();
+        }
+    }
+
+    /**
+     * Truncates partition files after the checkpoint persisting the reuse lists without the removed pages. Pages of
+     * the partitions, which have allocated new pages in the meantime, are returned to the reuse lists.
+     *
+     * @param tails Empty pages at the end of partition files, which are removed from the reuse lists.
+     * @return Number of pages cut off the partition files.
+     * @throws IgniteCheckedException If failed.
+     */
+    private long truncateTails(List<FreeTail> tails) throws IgniteCheckedException {
+        if (tails.isEmpty())
+            return 0;
+
+        IgniteCacheDatabaseSharedManager db = ctx.cache().context().database();
+
+        // The pages may be changed while they are removed from the reuse list, so they must be written
+        // to the file before it is truncated.
+        db.forceCheckpoint("online defragmentation").futureFor(FINISHED).get();
+
+        long truncated = 0;
+
+        for (FreeTail tail : tails) {
+            if (tail.pageStore.shrink(tail.pages, tail.newPages)) {
+                tail.pageStore.truncateTail();
+
+                truncated += tail.pages - tail.newPages;
+
+                continue;
+            }
+
+            db.checkpointReadLock();
+
+            try {
+                tail.freeList.addForRecycle(tail.pageIds);
+            }
+            finally {
+                db.checkpointReadUnlock();
+            }
+        }
+
+        return truncated;
+    }
+
+    /**
+     * @param fut Defragmentation future.
+     * @return {@code True} if defragmentation should be stopped.
+     */
+    private boolean cancelled(DefragmentationFuture fut) {
+        return fut.isDone() || ctx.isStopping();
+    }
+
+    /**
+     * Data pages of a partition with at least one row.
+     */
+    private static class DataPages {
+        /** IDs of the data pages by page index, {@code 0} for pages of other types and empty pages. */
+        private final long[] ids;
+
+        /** Free space of the data pages by page index. */
+        private final int[] free;
+
+        /**
+         * @param pages Number of pages in the partition.
+         */
+        private DataPages(int pages) {
+            ids = new long[pages];
+            free = new int[pages];
+        }
+
+        /**
+         * @param minFreeSpace Minimum free space of a sparse page.
+         * @return Indexes of the pages with at least the given free space.
+         */
+        private BitSet sparsePages(int minFreeSpace) {
+            BitSet res = new BitSet(ids.length);
+
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] != 0L && free[i] >= minFreeSpace)
+                    res.set(i);
+            }
+
+            return res;
+        }
+
+        /**
+         * Finds the lowest page index, so that the rows of the data pages starting from it fit into the free space
+         * of the data pages before it. A quarter of the free space is left for the rows which don't fit the rest of
+         * the page and for the concurrent updates.
+         *
+         * @param maxFreeSpace Free space of an empty data page.
+         * @return Index of the first page at the end of the partition to move all the rows out of.
+         */
+        private int tailStart(int maxFreeSpace) {
+            long freeBefore = 0;
+
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] != 0L)
+                    freeBefore += free[i];
+            }
+
+            long tailUsed = 0;
+            int tailStart = ids.length;
+
+            for (int i = ids.length - 1; i >= 0; i--) {
+                if (ids[i] == 0L) {
+                    tailStart = i;
+
+                    continue;
+                }
+
+                long used = maxFreeSpace - free[i];
+
+                freeBefore -= free[i];
+
+                if ((tailUsed + used) * 4 > freeBefore * 3)
+                    break;
+
+                tailUsed += used;
+                tailStart = i;
+            }
+
+            return tailStart;
+        }
+    }
+
+    /**
+     * Destination pages for the moved rows. Pages with lower indexes are filled first, and a row is moved only to
+     * a page with lower index than its current page, so rows drift to the beginning of the partition file.
+     */
+    private static class DestinationPages {
+        /** Number of pages the row is tried to be written to. */
+        private static final int MAX_ATTEMPTS = 8;
+
+        /** Cache group. */
+        private final CacheGroupContext grp;
+
+        /** Free list of the partition. */
+        private final AbstractFreeList<CacheDataRow> freeList;
+
+        /** Data pages of the partition. */
+        private final DataPages pages;
+
+        /** Index of the first page rows are not moved to. */
+        private final int end;
+
+        /** Index of the current destination page. */
+        private int cur;
+
+        /**
+         * @param grp Cache group.
+         * @param freeList Free list of the partition.
+         * @param pages Data pages of the partition.
+         * @param end Index of the first page rows are not moved to.
+         */
+        private DestinationPages(CacheGroupContext grp, AbstractFreeList<CacheDataRow> freeList, DataPages pages,
+            int end) {
+            this.grp = grp;
+            this.freeList = freeList;
+            this.pages = pages;
+            this.end = end;
+
+            reset();
+        }
+
+        /**
+         * Starts over from the page with the lowest index, the pages which are not filled up yet are tried again.
+         */
+        private void reset() {
+            cur = -1;
+
+            next();
+        }
+
+        /**
+         * Writes the row to the first destination page with lower index than the source page the row fits.
+         *
+         * @param row Row to write.
+         * @param srcPageIdx Index of the page the row is moved from.
+         * @return {@code True} if the row is written.
+         * @throws IgniteCheckedException If failed.
+         */
+        private boolean place(CacheDataRow row, int srcPageIdx) throws IgniteCheckedException {
+            for (int i = 0; i < MAX_ATTEMPTS && cur < Math.min(end, srcPageIdx); i++) {
+                if (pages.free[cur] >= row.size() &&
+                    freeList.insertDataRow(pages.ids[cur], row, grp.statisticsHolderData())) {
+                    pages.free[cur] -= row.size();
+
+                    return true;
+                }
+
+                // Either the page is full, or it is concurrently taken for an update by another thread.
+                next();
+            }
+
+            return false;
+        }
+
+        /**
+         * @return {@code True} if there are no more destination pages.
+         */
+        private boolean exhausted() {
+            return cur >= end;
+        }
+
+        /**
+         * Moves to the next page with free space.
+         */
+        private void next() {
+            do
+                cur++;
+            while (cur < end && (pages.ids[cur] == 0L || pages.free[cur] <= MIN_FREE_SPACE));
+        }
+    }
+
+    /**
+     * Empty pages at the end of the partition file, which are removed from the reuse list.
+     */
+    private static class FreeTail {
+        /** Partition. */
+        private final GridDhtLocalPartition part;
+
+        /** Free list of the partition, which is also its reuse list. */
+        private final AbstractFreeList<CacheDataRow> freeList;
+
+        /** Page store of the partition. */
+        private final FilePageStore pageStore;
+
+        /** Number of allocated pages when the pages were removed from the reuse list. */
+        private final int pages;
+
+        /** Number of allocated pages without the removed ones. */
+        private final int newPages;
+
+        /** IDs of the removed pages. */
+        private final LongListReuseBag pageIds;
+
+        /**
+         * @param part Partition.
+         * @param freeList Free list of the partition.
+         * @param pageStore Page store of the partition.
+         * @param pages Number of allocated pages.
+         * @param newPages Number of allocated pages without the removed ones.
+         * @param pageIds IDs of the removed pages.
+         */
+        private FreeTail(
+            GridDhtLocalPartition part,
+            AbstractFreeList<CacheDataRow> freeList,
+            FilePageStore pageStore,
+            int pages,
+            int newPages,
+            LongListReuseBag pageIds
+        ) {
+            this.part = part;
+            this.freeList = freeList;
+            this.pageStore = pageStore;
+            this.pages = pages;
+            this.newPages = newPages;
+            this.pageIds = pageIds;
+        }
+    }
+
+    /**
+     * Online defragmentation future, cancellation stops defragmentation.
+     */
+    private static class DefragmentationFuture extends GridFutureAdapter<Long> {
+        /** {@inheritDoc} */
+        @Override public boolean cancel() {
+            return onCancelled();
+        }
+    }
+}
@@ -229,6 +229,14 @@ public class AsyncFileIO extends AbstractFileIO {
         this.position = 0;
     }
 
+    /** {@inheritDoc} */
+    @Override public void truncate(long size) throws IOException {
+        ch.truncate(size);
+
+        if (position > size)
+            position = size;
+    }
+
     /** {@inheritDoc} */
     @Override public void close() throws IOException {
         for (ChannelOpFuture asyncFut : asyncFuts) {
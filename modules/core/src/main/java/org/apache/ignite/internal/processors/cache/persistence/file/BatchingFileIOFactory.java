@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.IOException;
+
+/**
+ * {@link FileIO} factory which is able to submit positional writes of the calling thread to the storage in batches.
+ * Between {@link #beginBatch()} and {@link #endBatch()} writes of the created file I/Os may be deferred, but
+ * remain visible to reads of the same files.
+ */
+public interface BatchingFileIOFactory extends FileIOFactory {
+    /**
+     * Starts a batch of writes of the calling thread.
+     */
+    public void beginBatch();
+
+    /**
+     * Submits all deferred writes of the calling thread and waits for their completion.
+     *
+     * @throws IOException If some of the deferred writes failed.
+     */
+    public void endBatch() throws IOException;
+}
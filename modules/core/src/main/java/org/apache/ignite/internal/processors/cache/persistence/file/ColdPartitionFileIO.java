@@ -0,0 +1,431 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Read-only {@link FileIO} over a partition file moved to the cold storage.
+ * <p>
+ * Every page of the partition file is compressed separately, so pages are read with random access
+ * without decompression of the whole file. Cold file consists of:
+ * <ul>
+ *     <li>cold file header: signature, version, page store header size, page size and size of the original file;</li>
+ *     <li>page store header as is;</li>
+ *     <li>table of offsets of the compressed pages;</li>
+ *     <li>pages compressed with {@link Deflater}, a page filled with zeros takes no space.</li>
+ * </ul>
+ */
+public class ColdPartitionFileIO extends AbstractFileIO {
+    /** */
+    private static final long SIGNATURE = 0x2E9D7C1A5B3F04E6L;
+
+    /** */
+    private static final int VERSION = 1;
+
+    /** Signature, version, page store header size, page size, original file size. */
+    private static final int HEADER_SIZE = 8 + 4 + 4 + 4 + 8;
+
+    /** Compressed file. */
+    private final FileIO fileIO;
+
+    /** Page store header. */
+    private final byte[] storeHdr;
+
+    /** Page size. */
+    private final int pageSize;
+
+    /** Size of the original file. */
+    private final long size;
+
+    /** Inflater. */
+    private final Inflater inflater = new Inflater();
+
+    /** Buffer of a compressed page. */
+    private byte[] compressed = new byte[0];
+
+    /** Last read page. */
+    private final byte[] page;
+
+    /** Index of the last read page. */
+    private int pageIdx = -1;
+
+    /** Position of the sequential reads. */
+    private long pos;
+
+    /** Closed flag. */
+    private boolean closed;
+
+    /**
+     * @param fileIO Compressed file.
+     * @throws IOException If failed.
+     */
+    public ColdPartitionFileIO(FileIO fileIO) throws IOException {
+        this.fileIO = fileIO;
+
+        try {
+            ByteBuffer hdr = ByteBuffer.allocate(HEADER_SIZE);
+
+            if (fileIO.readFully(hdr, 0) != HEADER_SIZE)
+                throw new IOException("Cold partition file is truncated.");
+
+            hdr.flip();
+
+            if (hdr.getLong() != SIGNATURE)
+                throw new IOException("Invalid cold partition file signature.");
+
+            int ver = hdr.getInt();
+
+            if (ver != VERSION)
+                throw new IOException("Unknown cold partition file version: " + ver);
+
+            storeHdr = new byte[hdr.getInt()];
+            pageSize = hdr.getInt();
+            size = hdr.getLong();
+
+            if (fileIO.readFully(ByteBuffer.wrap(storeHdr), HEADER_SIZE) != storeHdr.length)
+                throw new IOException("Cold partition file is truncated.");
+
+            page = new byte[pageSize];
+        }
+        catch (IOException e) {
+            fileIO.close();
+
+            throw e;
+        }
+    }
+
+    /**
+     * Writes compressed copy of the page store file.
+     *
+     * @param src Page store file.
+     * @param storeHdrSize Page store header size.
+     * @param pageSize Page size.
+     * @param dst Cold file.
+     * @throws IOException If failed.
+     */
+    public static void write(FileIO src, int storeHdrSize, int pageSize, FileIO dst) throws IOException {
+        long size = src.size();
+
+        ByteBuffer hdr = ByteBuffer.allocate(HEADER_SIZE + storeHdrSize);
+
+        hdr.putLong(SIGNATURE).putInt(VERSION).putInt(storeHdrSize).putInt(pageSize).putLong(size);
+
+        if (src.readFully(hdr, 0) != storeHdrSize)
+            throw new IOException("Page store file is truncated.");
+
+        hdr.flip();
+
+        dst.writeFully(hdr, 0);
+
+        int pages = pages(size, storeHdrSize, pageSize);
+
+        ByteBuffer offs = ByteBuffer.allocate((pages + 1) * 8);
+
+        long off = HEADER_SIZE + storeHdrSize + offs.capacity();
+
+        byte[] page = new byte[pageSize];
+        byte[] out = new byte[pageSize * 2];
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+        try {
+            for (int i = 0; i < pages; i++) {
+                int len = pageLength(size, storeHdrSize, pageSize, i);
+
+                if (src.readFully(ByteBuffer.wrap(page, 0, len), storeHdrSize + (long)i * pageSize) != len)
+                    throw new IOException("Page store file is truncated.");
+
+                offs.putLong(off);
+
+                if (isZero(page, len))
+                    continue;
+
+                deflater.reset();
+                deflater.setInput(page, 0, len);
+                deflater.finish();
+
+                int n = deflater.deflate(out);
+
+                assert deflater.finished();
+
+                off += dst.writeFully(ByteBuffer.wrap(out, 0, n), off);
+            }
+        }
+        finally {
+            deflater.end();
+        }
+
+        offs.putLong(off);
+
+        offs.flip();
+
+        dst.writeFully(offs, HEADER_SIZE + storeHdrSize);
+    }
+
+    /**
+     * Writes decompressed file.
+     *
+     * @param dst Destination file.
+     * @throws IOException If failed.
+     */
+    public synchronized void copyTo(FileIO dst) throws IOException {
+        if (closed)
+            throw new ClosedChannelException();
+
+        for (long off = 0; off < size; ) {
+            ByteBuffer buf;
+
+            if (off < storeHdr.length)
+                buf = ByteBuffer.wrap(storeHdr);
+            else {
+                int idx = (int)((off - storeHdr.length) / pageSize);
+
+                buf = ByteBuffer.wrap(page(idx), 0, pageLength(size, storeHdr.length, pageSize, idx));
+            }
+
+            off += dst.writeFully(buf, off);
+        }
+    }
+
+    /**
+     * @return Size of the compressed file.
+     * @throws IOException If failed.
+     */
+    public long compressedSize() throws IOException {
+        return fileIO.size();
+    }
+
+    /**
+     * @param idx Page index.
+     * @return Page content.
+     * @throws IOException If failed.
+     */
+    private byte[] page(int idx) throws IOException {
+        if (idx == pageIdx)
+            return page;
+
+        pageIdx = -1;
+
+        ByteBuffer offs = ByteBuffer.allocate(16);
+
+        if (fileIO.readFully(offs, HEADER_SIZE + storeHdr.length + idx * 8L) != offs.capacity())
+            throw new IOException("Cold partition file is truncated.");
+
+        offs.flip();
+
+        long start = offs.getLong();
+        int len = (int)(offs.getLong() - start);
+
+        int pageLen = pageLength(size, storeHdr.length, pageSize, idx);
+
+        if (len == 0)
+            Arrays.fill(page, 0, pageLen, (byte)0);
+        else {
+            if (compressed.length < len)
+                compressed = new byte[len];
+
+            if (fileIO.readFully(ByteBuffer.wrap(compressed, 0, len), start) != len)
+                throw new IOException("Cold partition file is truncated.");
+
+            inflater.reset();
+            inflater.setInput(compressed, 0, len);
+
+            try {
+                if (inflater.inflate(page, 0, pageLen) != pageLen || !inflater.finished())
+                    throw new IOException("Failed to decompress page of cold partition file [idx=" + idx + ']');
+            }
+            catch (DataFormatException e) {
+                throw new IOException("Failed to decompress page of cold partition file [idx=" + idx + ']', e);
+            }
+        }
+
+        pageIdx = idx;
+
+        return page;
+    }
+
+    /**
+     * @param size File size.
+     * @param storeHdrSize Page store header size.
+     * @param pageSize Page size.
+     * @return Number of pages including the last incomplete one.
+     */
+    private static int pages(long size, int storeHdrSize, int pageSize) {
+        return size <= storeHdrSize ? 0 : (int)((size - storeHdrSize + pageSize - 1) / pageSize);
+    }
+
+    /**
+     * @param size File size.
+     * @param storeHdrSize Page store header size.
+     * @param pageSize Page size.
+     * @param idx Page index.
+     * @return Length of the page, the last page of the file with compressed pages can be incomplete.
+     */
+    private static int pageLength(long size, int storeHdrSize, int pageSize, int idx) {
+        return (int)Math.min(pageSize, size - storeHdrSize - (long)idx * pageSize);
+    }
+
+    /**
+     * @param arr Array.
+     * @param len Length.
+     * @return {@code True} if first {@code len} bytes are zeros.
+     */
+    private static boolean isZero(byte[] arr, int len) {
+        for (int i = 0; i < len; i++) {
+            if (arr[i] != 0)
+                return false;
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized int read(ByteBuffer dstBuf, long position) throws IOException {
+        if (closed)
+            throw new ClosedChannelException();
+
+        if (position >= size)
+            return -1;
+
+        int len = (int)Math.min(dstBuf.remaining(), size - position);
+
+        for (int done = 0; done < len; ) {
+            long off = position + done;
+
+            int n;
+
+            if (off < storeHdr.length) {
+                n = (int)Math.min(len - done, storeHdr.length - off);
+
+                dstBuf.put(storeHdr, (int)off, n);
+            }
+            else {
+                int idx = (int)((off - storeHdr.length) / pageSize);
+                int pageOff = (int)((off - storeHdr.length) % pageSize);
+
+                n = Math.min(len - done, pageLength(size, storeHdr.length, pageSize, idx) - pageOff);
+
+                dstBuf.put(page(idx), pageOff, n);
+            }
+
+            done += n;
+        }
+
+        return len;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized int read(ByteBuffer dstBuf) throws IOException {
+        int n = read(dstBuf, pos);
+
+        if (n > 0)
+            pos += n;
+
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(byte[] buf, int off, int len) throws IOException {
+        return read(ByteBuffer.wrap(buf, off, len));
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized long position() throws IOException {
+        return pos;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void position(long newPosition) throws IOException {
+        pos = newPosition;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long size() throws IOException {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getFileSystemBlockSize() {
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getSparseSize() {
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int punchHole(long position, int len) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf, long position) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(byte[] buf, int off, int len) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force() throws IOException {
+        force(false);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force(boolean withMetadata) throws IOException {
+        // No-op, the file is never modified.
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public MappedByteBuffer map(int sizeBytes) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void close() throws IOException {
+        if (closed)
+            return;
+
+        closed = true;
+
+        inflater.end();
+
+        fileIO.close();
+    }
+}
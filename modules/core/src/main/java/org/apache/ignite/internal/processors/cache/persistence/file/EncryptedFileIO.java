@@ -279,6 +279,11 @@ public class EncryptedFileIO implements FileIO {
         plainFileIO.clear();
     }
 
+    /** {@inheritDoc} */
+    @Override public void truncate(long size) throws IOException {
+        plainFileIO.truncate(size);
+    }
+
     /** {@inheritDoc} */
     @Override public void close() throws IOException {
         plainFileIO.close();
@@ -176,6 +176,27 @@ public interface FileIO extends AutoCloseable {
      */
     public int writeFully(ByteBuffer srcBuf, long position) throws IOException;
 
+    /**
+     * Writes a sequence of bytes to this file from the given buffers one after another
+     * starting from specified file {@code position}. Implementations may submit all the buffers
+     * to the storage with a single gather write.
+     *
+     * @param srcBufs Source buffers.
+     * @param position Starting file position.
+     *
+     * @return Number of written bytes.
+     *
+     * @throws IOException If some I/O error occurs.
+     */
+    public default long writeFully(ByteBuffer[] srcBufs, long position) throws IOException {
+        long written = 0;
+
+        for (ByteBuffer srcBuf : srcBufs)
+            written += writeFully(srcBuf, position + written);
+
+        return written;
+    }
+
     /**
      * Writes {@code length} bytes from the {@code buffer}
      * starting at offset {@code off} to this file.
@@ -249,6 +270,18 @@ public interface FileIO extends AutoCloseable {
      */
     public void clear() throws IOException;
 
+    /**
+     * Truncates current file to the given size and moves current file position to the new end of the file
+     * if it is beyond it.
+     *
+     * @param size New file size, must not exceed the current file size.
+     * @throws IOException If some I/O error occurs.
+     * @throws UnsupportedOperationException If the file can't be truncated.
+     */
+    public default void truncate(long size) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Closes current file.
      *
@@ -118,6 +118,11 @@ public class FileIODecorator extends AbstractFileIO {
         delegate.clear();
     }
 
+    /** {@inheritDoc} */
+    @Override public void truncate(long size) throws IOException {
+        delegate.truncate(size);
+    }
+
     /** {@inheritDoc} */
     @Override public void close() throws IOException {
         delegate.close();
@@ -27,6 +27,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -45,8 +46,11 @@ import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDat
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteOutClosure;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
 import static java.nio.file.StandardOpenOption.WRITE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_PDS_SKIP_CRC;
 
@@ -123,6 +127,33 @@ public class FilePageStore implements PageStore {
     /** */
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
+    /** Path of the compressed file on the cold storage, {@code null} if the store is never moved there. */
+    private volatile Path coldPath;
+
+    /** Time since the last page access after which the store is moved to the cold storage. */
+    private volatile long coldIdleTimeout;
+
+    /** Number of page reads from the cold storage after which the store is moved back. */
+    private volatile int coldPromoteReads;
+
+    /** {@code True} if pages are read from the compressed file on the cold storage. */
+    private volatile boolean cold;
+
+    /** Time of the last page read or write. */
+    private volatile long lastAccessTime = U.currentTimeMillis();
+
+    /** Page reads from the cold storage since the store has been moved there. */
+    private final AtomicInteger coldReads = new AtomicInteger();
+
+    /** Number of times the store has been moved to the cold storage. */
+    private volatile long offloads;
+
+    /** Number of times the store has been moved back from the cold storage. */
+    private volatile long promotions;
+
+    /** Number of reservations preventing the store from being moved to the cold storage. */
+    private final AtomicInteger reservations = new AtomicInteger();
+
     /**
      * @param type Type of stored pages.
      * @param pathProvider Store path.
@@ -198,7 +229,11 @@ public class FilePageStore implements PageStore {
                 if (fileExists == null) {
                     File file = pathProvider.apply().toFile();
 
-                    fileExists = file.exists() && file.length() > headerSize();
+                    Path coldPath = this.coldPath;
+
+                    fileExists = file.exists() ?
+                        file.length() > headerSize() :
+                        coldPath != null && Files.exists(coldPath);
                 }
             }
             finally {
@@ -321,7 +356,7 @@ public class FilePageStore implements PageStore {
                 " [expectedPageSize=" + this.pageSize +
                 ", filePageSize=" + pageSize + "]");
 
-        long fileSize = cfgFile.length();
+        long fileSize = fileIO instanceof ColdPartitionFileIO ? fileIO.size() : cfgFile.length();
 
         if (fileSize == headerSize()) // Every file has a special meta page.
             fileSize = pageSize + headerSize();
@@ -344,8 +379,11 @@ public class FilePageStore implements PageStore {
                 if (fileIO != null) // Ensure the file is closed even if not initialized yet.
                     fileIO.close();
 
-                if (delete && exists())
-                    Files.delete(pathProvider.apply().toAbsolutePath());
+                if (delete && exists()) {
+                    Files.deleteIfExists(pathProvider.apply().toAbsolutePath());
+
+                    deleteColdFile();
+                }
 
                 return;
             }
@@ -357,10 +395,15 @@ public class FilePageStore implements PageStore {
             fileIO = null;
 
             if (delete) {
-                Files.delete(pathProvider.apply());
+                if (cold)
+                    deleteColdFile();
+                else
+                    Files.delete(pathProvider.apply());
 
                 fileExists = false;
             }
+
+            cold = false;
         }
         finally {
             allocatedTracker.accept(-1L * allocated.getAndSet(0) / pageSize);
@@ -398,13 +441,22 @@ public class FilePageStore implements PageStore {
         try {
             this.tag = tag;
 
-            fileIO.clear();
+            if (cold) {
+                fileIO.close();
 
-            fileIO.close();
+                deleteColdFile();
 
-            fileIO = null;
+                cold = false;
+            }
+            else {
+                fileIO.clear();
 
-            Files.delete(filePath);
+                fileIO.close();
+
+                Files.delete(filePath);
+            }
+
+            fileIO = null;
 
             fileExists = false;
         }
@@ -498,6 +550,13 @@ public class FilePageStore implements PageStore {
     public boolean read(long pageId, ByteBuffer pageBuf, boolean checkCrc, boolean keepCrc) throws IgniteCheckedException {
         init();
 
+        if (coldPath != null) {
+            touch();
+
+            if (cold && coldReads.incrementAndGet() >= coldPromoteReads)
+                promote();
+        }
+
         try {
             long off = pageOffset(pageId);
 
@@ -584,11 +643,27 @@ public class FilePageStore implements PageStore {
                             try {
                                 File cfgFile = pathProvider.apply().toFile();
 
-                                this.fileIO = fileIO = ioFactory.create(cfgFile, CREATE, READ, WRITE);
+                                Path coldPath = this.coldPath;
+
+                                if (coldPath != null && !cfgFile.exists() && Files.exists(coldPath)) {
+                                    this.fileIO = fileIO =
+                                        new ColdPartitionFileIO(ioFactory.create(coldPath.toFile(), READ));
+
+                                    cold = true;
+                                }
+                                else {
+                                    // Compressed copy is stale if the node has failed before it was deleted.
+                                    if (coldPath != null)
+                                        Files.deleteIfExists(coldPath);
+
+                                    this.fileIO = fileIO = ioFactory.create(cfgFile, CREATE, READ, WRITE);
+                                }
 
                                 fileExists = true;
 
-                                newSize = (cfgFile.length() == 0 ? initFile(fileIO) : checkFile(fileIO, cfgFile)) - headerSize();
+                                boolean newFile = !cold && cfgFile.length() == 0;
+
+                                newSize = (newFile ? initFile(fileIO) : checkFile(fileIO, cfgFile)) - headerSize();
 
                                 if (interrupted)
                                     Thread.currentThread().interrupt();
@@ -662,7 +737,9 @@ public class FilePageStore implements PageStore {
 
                         File cfgFile = pathProvider.apply().toFile();
 
-                        fileIO = ioFactory.create(cfgFile, CREATE, READ, WRITE);
+                        fileIO = cold ?
+                            new ColdPartitionFileIO(ioFactory.create(coldPath.toFile(), READ)) :
+                            ioFactory.create(cfgFile, CREATE, READ, WRITE);
 
                         fileExists = true;
 
@@ -701,11 +778,29 @@ public class FilePageStore implements PageStore {
 
     /** {@inheritDoc} */
     @Override public void write(long pageId, ByteBuffer pageBuf, int tag, boolean calculateCrc) throws IgniteCheckedException {
+        write(new long[] {pageId}, new ByteBuffer[] {pageBuf}, tag, calculateCrc);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void write(
+        long[] pageIds,
+        ByteBuffer[] pageBufs,
+        int tag,
+        boolean calculateCrc
+    ) throws IgniteCheckedException {
+        assert pageIds.length == pageBufs.length && pageIds.length > 0 : pageIds.length;
+
         init();
 
+        if (coldPath != null)
+            touch();
+
         boolean interrupted = false;
 
         while (true) {
+            if (cold)
+                promote();
+
             FileIO fileIO = this.fileIO;
 
             try {
@@ -715,39 +810,22 @@ public class FilePageStore implements PageStore {
                     if (tag < this.tag)
                         return;
 
-                    long off = pageOffset(pageId);
-
-                    assert (off >= 0 && off <= allocated.get()) || recover :
-                        "off=" + U.hexLong(off) + ", allocated=" + U.hexLong(allocated.get()) +
-                            ", pageId=" + U.hexLong(pageId) + ", file=" + getFileAbsolutePath();
-
-                    assert pageBuf.position() == 0;
-                    assert pageBuf.order() == ByteOrder.nativeOrder() : "Page buffer order " + pageBuf.order()
-                        + " should be same with " + ByteOrder.nativeOrder();
-                    assert PageIO.getType(pageBuf) != 0 : "Invalid state. Type is 0! pageId = " + U.hexLong(pageId);
-                    assert PageIO.getVersion(pageBuf) != 0 : "Invalid state. Version is 0! pageId = " + U.hexLong(pageId);
-
-                    if (calculateCrc && !skipCrc) {
-                        assert PageIO.getCrc(pageBuf) == 0 : U.hexLong(pageId);
-
-                        PageIO.setCrc(pageBuf, calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)));
-                    }
-
-                    // Check whether crc was calculated somewhere above the stack if it is forcibly skipped.
-                    assert skipCrc || PageIO.getCrc(pageBuf) != 0 || calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)) == 0 :
-                        "CRC hasn't been calculated, crc=0";
-
-                    assert pageBuf.position() == 0 : pageBuf.position();
+                    // Store has been moved to the cold storage concurrently.
+                    if (cold)
+                        continue;
 
-                    for (PageWriteListener lsnr : lsnrs) {
-                        lsnr.accept(pageId, pageBuf);
+                    long off = pageOffset(pageIds[0]);
 
-                        pageBuf.rewind();
-                    }
+                    for (int i = 0; i < pageIds.length; i++)
+                        preparePageForWrite(pageIds[i], pageBufs[i], off + (long)i * pageSize, calculateCrc);
 
-                    fileIO.writeFully(pageBuf, off);
+                    if (pageBufs.length == 1)
+                        fileIO.writeFully(pageBufs[0], off);
+                    else
+                        fileIO.writeFully(pageBufs, off);
 
-                    PageIO.setCrc(pageBuf, 0);
+                    for (ByteBuffer pageBuf : pageBufs)
+                        PageIO.setCrc(pageBuf, 0);
 
                     if (interrupted)
                         Thread.currentThread().interrupt();
@@ -769,9 +847,11 @@ public class FilePageStore implements PageStore {
 
                         reinit(fileIO);
 
-                        pageBuf.position(0);
+                        for (ByteBuffer pageBuf : pageBufs) {
+                            pageBuf.position(0);
 
-                        PageIO.setCrc(pageBuf, 0);
+                            PageIO.setCrc(pageBuf, 0);
+                        }
 
                         continue;
                     }
@@ -783,11 +863,55 @@ public class FilePageStore implements PageStore {
                 }
 
                 throw new StorageException("Failed to write page [file=" + getFileAbsolutePath()
-                    + ", pageId=" + pageId + ", tag=" + tag + "]", e);
+                    + ", pageId=" + pageIds[0] + (pageIds.length > 1 ? ", pagesCnt=" + pageIds.length : "")
+                    + ", tag=" + tag + "]", e);
             }
         }
     }
 
+    /**
+     * Calculates crc of the page and notifies write listeners before the page is written.
+     *
+     * @param pageId Page ID.
+     * @param pageBuf Page buffer.
+     * @param off Page offset in the file.
+     * @param calculateCrc if {@code False} crc calculation will be forcibly skipped.
+     * @throws IOException If failed to get the size of the file to report a compressed page of invalid size.
+     */
+    private void preparePageForWrite(long pageId, ByteBuffer pageBuf, long off, boolean calculateCrc)
+        throws IOException {
+        assert off == pageOffset(pageId) : "Pages are not adjacent [off=" + U.hexLong(off) +
+            ", pageId=" + U.hexLong(pageId) + ", file=" + getFileAbsolutePath() + ']';
+
+        assert (off >= 0 && off <= allocated.get()) || recover :
+            "off=" + U.hexLong(off) + ", allocated=" + U.hexLong(allocated.get()) +
+                ", pageId=" + U.hexLong(pageId) + ", file=" + getFileAbsolutePath();
+
+        assert pageBuf.position() == 0;
+        assert pageBuf.order() == ByteOrder.nativeOrder() : "Page buffer order " + pageBuf.order()
+            + " should be same with " + ByteOrder.nativeOrder();
+        assert PageIO.getType(pageBuf) != 0 : "Invalid state. Type is 0! pageId = " + U.hexLong(pageId);
+        assert PageIO.getVersion(pageBuf) != 0 : "Invalid state. Version is 0! pageId = " + U.hexLong(pageId);
+
+        if (calculateCrc && !skipCrc) {
+            assert PageIO.getCrc(pageBuf) == 0 : U.hexLong(pageId);
+
+            PageIO.setCrc(pageBuf, calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)));
+        }
+
+        // Check whether crc was calculated somewhere above the stack if it is forcibly skipped.
+        assert skipCrc || PageIO.getCrc(pageBuf) != 0 || calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)) == 0 :
+            "CRC hasn't been calculated, crc=0";
+
+        assert pageBuf.position() == 0 : pageBuf.position();
+
+        for (PageWriteListener lsnr : lsnrs) {
+            lsnr.accept(pageId, pageBuf);
+
+            pageBuf.rewind();
+        }
+    }
+
     /**
      * @param pageBuf Page buffer.
      * @param pageSize Page size.
@@ -875,6 +999,260 @@ public class FilePageStore implements PageStore {
         return (int)(allocated.get() / pageSize);
     }
 
+    /**
+     * Decreases the number of allocated pages if no pages have been allocated since the given number was obtained.
+     * Pages after the new end must not be used, and must not be dirty in the page memory. The file itself is
+     * truncated by {@link #truncateTail()}.
+     *
+     * @param pages Expected number of allocated pages.
+     * @param newPages New number of allocated pages.
+     * @return {@code True} if the number of allocated pages has been decreased.
+     */
+    public boolean shrink(int pages, int newPages) {
+        assert newPages > 0 && newPages <= pages : "pages=" + pages + ", newPages=" + newPages;
+
+        if (!inited || recover || cold)
+            return false;
+
+        if (!allocated.compareAndSet((long)pages * pageSize, (long)newPages * pageSize))
+            return false;
+
+        allocatedTracker.accept(newPages - pages);
+
+        return true;
+    }
+
+    /**
+     * Truncates the file after the last allocated page.
+     *
+     * @throws StorageException If failed.
+     */
+    public void truncateTail() throws StorageException {
+        lock.writeLock().lock();
+
+        try {
+            if (!inited || recover || cold)
+                return;
+
+            long size = headerSize() + allocated.get();
+
+            if (fileIO.size() > size)
+                fileIO.truncate(size);
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to truncate partition file [file=" + getFileAbsolutePath() + "]", e);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Enables moving of the store to the cold storage. Must be called before the store is initialized.
+     *
+     * @param coldPath Path of the compressed file on the cold storage.
+     * @param idleTimeout Time since the last page access after which the store is moved to the cold storage.
+     * @param promoteReads Number of page reads from the cold storage after which the store is moved back.
+     */
+    public void coldStorage(Path coldPath, long idleTimeout, int promoteReads) {
+        assert !inited;
+        assert idleTimeout > 0 : idleTimeout;
+        assert promoteReads > 0 : promoteReads;
+
+        this.coldPath = coldPath;
+        this.coldIdleTimeout = idleTimeout;
+        this.coldPromoteReads = promoteReads;
+    }
+
+    /**
+     * @param now Current time.
+     * @return {@code True} if the store can be moved to the cold storage and has not been accessed long enough.
+     */
+    public boolean idle(long now) {
+        return coldPath != null && !cold && inited && reservations.get() == 0 && now - lastAccessTime >= coldIdleTimeout;
+    }
+
+    /**
+     * @return {@code True} if pages are read from the compressed file on the cold storage.
+     */
+    public boolean cold() {
+        return cold;
+    }
+
+    /**
+     * @return Time of the last page read or write, only tracked if the store can be moved to the cold storage.
+     */
+    public long lastAccessTime() {
+        return lastAccessTime;
+    }
+
+    /**
+     * @return Number of times the store has been moved to the cold storage.
+     */
+    public long offloads() {
+        return offloads;
+    }
+
+    /**
+     * @return Number of times the store has been moved back from the cold storage.
+     */
+    public long promotions() {
+        return promotions;
+    }
+
+    /**
+     * @return Size of the compressed file on the cold storage or {@code 0} if the store is not there.
+     */
+    public long coldSize() {
+        FileIO fileIO = this.fileIO;
+
+        try {
+            return cold && fileIO instanceof ColdPartitionFileIO ? ((ColdPartitionFileIO)fileIO).compressedSize() : 0;
+        }
+        catch (IOException e) {
+            throw new IgniteException(e);
+        }
+    }
+
+    /**
+     * Moves the store to the cold storage: writes the compressed copy of the file and deletes the file.
+     * Pages are read from the compressed copy after that.
+     *
+     * @return {@code True} if the store has been moved.
+     * @throws StorageException If failed.
+     */
+    public boolean offload() throws StorageException {
+        lock.writeLock().lock();
+
+        try {
+            Path coldPath = this.coldPath;
+
+            if (coldPath == null || cold || !inited || recover || reservations.get() > 0)
+                return false;
+
+            Path tmpPath = coldPath.resolveSibling(coldPath.getFileName() + FilePageStoreManager.TMP_SUFFIX);
+
+            FileIO fileIO = this.fileIO;
+
+            fileIO.force();
+
+            Files.createDirectories(coldPath.getParent());
+
+            try (FileIO tmpIO = ioFactory.create(tmpPath.toFile(), CREATE, TRUNCATE_EXISTING, WRITE)) {
+                ColdPartitionFileIO.write(fileIO, headerSize(), pageSize, tmpIO);
+
+                tmpIO.force(true);
+            }
+
+            Files.move(tmpPath, coldPath, ATOMIC_MOVE, REPLACE_EXISTING);
+
+            this.fileIO = new ColdPartitionFileIO(ioFactory.create(coldPath.toFile(), READ));
+
+            cold = true;
+
+            coldReads.set(0);
+
+            fileIO.close();
+
+            Files.delete(pathProvider.apply());
+
+            offloads++;
+
+            return true;
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to move partition file to the cold storage [file=" +
+                getFileAbsolutePath() + ", coldFile=" + coldPath + ']', e);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves the store back from the cold storage: restores the file from the compressed copy.
+     *
+     * @throws StorageException If failed.
+     */
+    public void promote() throws StorageException {
+        lock.writeLock().lock();
+
+        try {
+            if (!cold)
+                return;
+
+            Path path = pathProvider.apply();
+            Path tmpPath = path.resolveSibling(path.getFileName() + FilePageStoreManager.TMP_SUFFIX);
+
+            ColdPartitionFileIO coldIO = (ColdPartitionFileIO)fileIO;
+
+            try (FileIO tmpIO = ioFactory.create(tmpPath.toFile(), CREATE, TRUNCATE_EXISTING, WRITE)) {
+                coldIO.copyTo(tmpIO);
+
+                tmpIO.force(true);
+            }
+
+            Files.move(tmpPath, path, ATOMIC_MOVE, REPLACE_EXISTING);
+
+            fileIO = ioFactory.create(path.toFile(), READ, WRITE);
+
+            cold = false;
+
+            lastAccessTime = U.currentTimeMillis();
+
+            coldIO.close();
+
+            deleteColdFile();
+
+            promotions++;
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to move partition file back from the cold storage [file=" +
+                getFileAbsolutePath() + ", coldFile=" + coldPath + ']', e);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Prevents the store from being moved to the cold storage until {@link #release()} is called. The store can still
+     * be moved back from the cold storage while reserved.
+     */
+    public void reserve() {
+        reservations.incrementAndGet();
+    }
+
+    /**
+     * Releases the reservation taken by {@link #reserve()}.
+     */
+    public void release() {
+        int res = reservations.decrementAndGet();
+
+        assert res >= 0 : res;
+    }
+
+    /**
+     * Updates time of the last access.
+     */
+    private void touch() {
+        long now = U.currentTimeMillis();
+
+        // Avoid writes of the volatile field on every page access, the time is updated with a coarse granularity.
+        if (lastAccessTime != now)
+            lastAccessTime = now;
+    }
+
+    /**
+     * @throws IOException If failed.
+     */
+    private void deleteColdFile() throws IOException {
+        Path coldPath = this.coldPath;
+
+        if (coldPath != null)
+            Files.deleteIfExists(coldPath);
+    }
+
     /**
      * @param destBuf Destination buffer.
      * @param position Position.
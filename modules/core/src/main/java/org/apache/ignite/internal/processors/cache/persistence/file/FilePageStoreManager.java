@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -46,6 +47,7 @@ import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.failure.FailureContext;
@@ -73,7 +75,9 @@ import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageReadW
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageReadWriteManagerImpl;
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteCacheSnapshotManager;
 import org.apache.ignite.internal.processors.query.GridQueryProcessor;
+import org.apache.ignite.internal.processors.timeout.GridTimeoutProcessor;
 import org.apache.ignite.internal.util.GridStripedReadWriteLock;
+import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.X;
 import org.apache.ignite.internal.util.typedef.internal.CU;
 import org.apache.ignite.internal.util.typedef.internal.U;
@@ -143,6 +147,9 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
     public static final PathMatcher TMP_FILE_MATCHER =
         FileSystems.getDefault().getPathMatcher("glob:**" + TMP_SUFFIX);
 
+    /** Max period of the scan for partitions to move to the cold storage. */
+    private static final long COLD_SCAN_MAX_PERIOD = 60_000L;
+
     /** Unique name for corrupted data files maintenance task. */
     public static final String CORRUPTED_DATA_FILES_MNTC_TASK_NAME = "corrupted-cache-data-files-task";
 
@@ -182,6 +189,12 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
     /** */
     private final Set<Integer> grpsWithoutIdx = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
 
+    /** Periodic scan for partitions to move to the cold storage, {@code null} if no region has it enabled. */
+    private volatile GridTimeoutProcessor.CancelableTask coldScanTask;
+
+    /** Guards against concurrent scans for partitions to move to the cold storage. */
+    private final AtomicBoolean coldScanRunning = new AtomicBoolean();
+
     /** */
     private static final GridStripedReadWriteLock initDirLock =
         new GridStripedReadWriteLock(Math.max(Runtime.getRuntime().availableProcessors(), 8));
@@ -247,6 +260,76 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
                 }
             }
         }
+
+        long coldScanPeriod = coldScanPeriod();
+
+        if (coldScanPeriod > 0 && coldScanTask == null) {
+            coldScanTask = ctx.timeout().schedule(
+                () -> ctx.pools().getManagementExecutorService().execute(this::offloadIdlePartitions),
+                coldScanPeriod,
+                coldScanPeriod);
+        }
+    }
+
+    /**
+     * @return Period of the scan for partitions to move to the cold storage or {@code 0} if no region has it enabled.
+     */
+    private long coldScanPeriod() {
+        long minTimeout = Long.MAX_VALUE;
+
+        List<DataRegionConfiguration> regCfgs = new ArrayList<>();
+
+        regCfgs.add(dsCfg.getDefaultDataRegionConfiguration());
+
+        if (dsCfg.getDataRegionConfigurations() != null)
+            regCfgs.addAll(Arrays.asList(dsCfg.getDataRegionConfigurations()));
+
+        for (DataRegionConfiguration regCfg : regCfgs) {
+            if (coldStorageEnabled(regCfg))
+                minTimeout = Math.min(minTimeout, regCfg.getColdPartitionIdleTimeout());
+        }
+
+        return minTimeout == Long.MAX_VALUE ? 0 : Math.max(1, Math.min(COLD_SCAN_MAX_PERIOD, minTimeout / 2));
+    }
+
+    /**
+     * @param regCfg Data region configuration.
+     * @return {@code True} if partitions of the region are moved to the cold storage when they are idle.
+     */
+    private static boolean coldStorageEnabled(@Nullable DataRegionConfiguration regCfg) {
+        return regCfg != null && regCfg.isPersistenceEnabled() && regCfg.getColdPartitionIdleTimeout() > 0 &&
+            !F.isEmpty(regCfg.getColdPartitionStoragePath());
+    }
+
+    /**
+     * Moves partitions which have not been accessed longer than the idle timeout of their regions to the cold storage.
+     */
+    private void offloadIdlePartitions() {
+        if (!coldScanRunning.compareAndSet(false, true))
+            return;
+
+        try {
+            // Defragmentation works with the partition files directly. Partitions processed by snapshot tasks are
+            // reserved, the reservation is checked by the store under its lock right before the file is moved.
+            if (cctx.kernalContext().maintenanceRegistry().isMaintenanceMode())
+                return;
+
+            for (CacheStoreHolder holder : idxCacheStores.values()) {
+                for (PageStore store : holder.partStores) {
+                    if (coldScanTask == null)
+                        return;
+
+                    if (store instanceof FilePageStore && ((FilePageStore)store).idle(U.currentTimeMillis()))
+                        ((FilePageStore)store).offload();
+                }
+            }
+        }
+        catch (StorageException e) {
+            U.error(log, "Failed to move partition to the cold storage", e);
+        }
+        finally {
+            coldScanRunning.set(false);
+        }
     }
 
     /** {@inheritDoc} */
@@ -324,6 +407,14 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         if (log.isDebugEnabled())
             log.debug("Stopping page store manager.");
 
+        GridTimeoutProcessor.CancelableTask coldScanTask = this.coldScanTask;
+
+        if (coldScanTask != null) {
+            this.coldScanTask = null;
+
+            coldScanTask.close();
+        }
+
         cleanupPageStoreIfMatch(p -> true, false);
     }
 
@@ -455,7 +546,8 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
                 cctx != null && cctx.config().isEncryptionEnabled(),
                 cctx != null
                     ? cctx.group().caches().stream().map(GridCacheContext::name).collect(Collectors.toSet())
-                    : null
+                    : null,
+                null
             );
 
             CacheStoreHolder old = idxCacheStores.put(cacheId, holder);
@@ -496,6 +588,7 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
                 MetaStorage.METASTORAGE_PARTITIONS.size(),
                 pageMetrics,
                 false,
+                null,
                 null);
 
             CacheStoreHolder old = idxCacheStores.put(grpId, holder);
@@ -564,6 +657,17 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         return pmPageMgr.write(grpId, pageId, pageBuf, tag, calculateCrc);
     }
 
+    /** {@inheritDoc} */
+    @Override public PageStore write(
+        int grpId,
+        long[] pageIds,
+        ByteBuffer[] pageBufs,
+        int tag,
+        boolean calculateCrc
+    ) throws IgniteCheckedException {
+        return pmPageMgr.write(grpId, pageIds, pageBufs, tag, calculateCrc);
+    }
+
     /** {@inheritDoc} */
     @Override public long pageOffset(int grpId, long pageId) throws IgniteCheckedException {
         PageStore store = getStore(grpId, PageIdUtils.partId(pageId));
@@ -600,7 +704,9 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
             grpDesc.config().getAffinity().partitions(),
             pageMetrics,
             ccfg.isEncryptionEnabled(),
-            grpDesc.caches().keySet()
+            grpDesc.caches().keySet(),
+            // Compressed copies of encrypted partitions would be stored decrypted.
+            coldStorageEnabled(dataRegion.config()) && !ccfg.isEncryptionEnabled() ? dataRegion.config() : null
         );
     }
 
@@ -673,6 +779,8 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
      * @param partitions Number of partitions.
      * @param pageMetrics Page metrics.
      * @param encrypted {@code True} if this cache encrypted.
+     * @param grpCaches Names of the caches of the group.
+     * @param coldRegCfg Data region configuration if partitions are moved to the cold storage when they are idle.
      * @return Cache store holder.
      * @throws IgniteCheckedException If failed.
      */
@@ -682,7 +790,8 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         int partitions,
         PageMetrics pageMetrics,
         boolean encrypted,
-        Collection<String> grpCaches) throws IgniteCheckedException {
+        Collection<String> grpCaches,
+        @Nullable DataRegionConfiguration coldRegCfg) throws IgniteCheckedException {
         try {
             boolean dirExisted = checkAndInitCacheWorkDir(cacheWorkDir, log);
 
@@ -727,15 +836,27 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
 
             PageStore[] partStores = new PageStore[partitions];
 
+            File coldDir = coldRegCfg == null ? null : coldStorageDirectory(coldRegCfg, cacheWorkDir);
+
             for (int partId = 0; partId < partStores.length; partId++) {
                 final int p = partId;
 
+                Path coldPath = coldDir == null ? null : getPartitionFilePath(coldDir, p);
+
                 PageStore partStore =
                     pageStoreFactory.createPageStore(
                         PageStore.TYPE_DATA,
                         () -> getPartitionFilePath(cacheWorkDir, p),
+                        coldPath,
                         pageMetrics.totalPages()::add);
 
+                if (coldPath != null && partStore instanceof FilePageStore) {
+                    ((FilePageStore)partStore).coldStorage(
+                        coldPath,
+                        coldRegCfg.getColdPartitionIdleTimeout(),
+                        coldRegCfg.getColdPartitionPromoteReads());
+                }
+
                 partStores[partId] = partStore;
             }
 
@@ -749,6 +870,20 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         }
     }
 
+    /**
+     * @param regCfg Data region configuration.
+     * @param cacheWorkDir Cache work directory.
+     * @return Directory on the cold storage for compressed copies of the partition files of the cache.
+     * @throws IgniteCheckedException If failed.
+     */
+    private File coldStorageDirectory(DataRegionConfiguration regCfg, File cacheWorkDir) throws IgniteCheckedException {
+        File root = U.resolveWorkDirectory(igniteCfg.getWorkDirectory(), regCfg.getColdPartitionStoragePath(), false);
+
+        String folderName = cctx.kernalContext().pdsFolderResolver().resolveFolders().folderName();
+
+        return new File(new File(root, folderName), cacheWorkDir.getName());
+    }
+
     /**
      * @param cacheWorkDir Cache work directory.
      * @param partId Partition id.
@@ -28,6 +28,9 @@ import java.util.function.LongConsumer;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.lang.IgniteOutClosure;
+import org.jetbrains.annotations.Nullable;
+
+import static java.nio.file.StandardOpenOption.READ;
 
 /**
  * Checks version in files if it's present on the disk, creates store with latest version otherwise.
@@ -92,13 +95,39 @@ public class FileVersionCheckingFactory {
         byte type,
         IgniteOutClosure<Path> pathProvider,
         LongConsumer allocatedTracker
+    ) throws IgniteCheckedException {
+        return createPageStore(type, pathProvider, null, allocatedTracker);
+    }
+
+    /**
+     * Creates instance of PageStore based on file path provider. If the file is absent, but its compressed copy
+     * exists on the cold storage, version is read from the copy.
+     *
+     * @param type Data type, can be {@link PageStore#TYPE_IDX} or {@link PageStore#TYPE_DATA}
+     * @param pathProvider File Page store path provider.
+     * @param coldPath Path of the compressed copy of the file on the cold storage.
+     * @param allocatedTracker metrics updater
+     * @return page store
+     * @throws IgniteCheckedException if failed
+     */
+    public PageStore createPageStore(
+        byte type,
+        IgniteOutClosure<Path> pathProvider,
+        @Nullable Path coldPath,
+        LongConsumer allocatedTracker
     ) throws IgniteCheckedException {
         Path filePath = pathProvider.apply();
 
-        if (!Files.exists(filePath))
+        boolean exists = Files.exists(filePath);
+        boolean cold = !exists && coldPath != null && Files.exists(coldPath);
+
+        if (!exists && !cold)
             return createPageStore(type, pathProvider, pageSize.getAsInt(), latestVersion(), allocatedTracker);
 
-        try (FileIO fileIO = fileIOFactoryStoreV1.create(filePath.toFile())) {
+        try (FileIO fileIO = cold ?
+            new ColdPartitionFileIO(fileIOFactoryStoreV1.create(coldPath.toFile(), READ)) :
+            fileIOFactoryStoreV1.create(filePath.toFile())
+        ) {
             int minHdr = FilePageStore.HEADER_SIZE;
 
             if (fileIO.size() < minHdr)
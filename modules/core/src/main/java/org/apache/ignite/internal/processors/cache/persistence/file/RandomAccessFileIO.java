@@ -115,6 +115,31 @@ public class RandomAccessFileIO extends AbstractFileIO {
         return ch.write(srcBuf, position);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * File channel has no positional gather write, so the buffers are written from the channel position
+     * moved to the given one. Concurrent gather writes are serialized, they must not be mixed with
+     * concurrent relative reads and writes of the file.
+     */
+    @Override public long writeFully(ByteBuffer[] srcBufs, long position) throws IOException {
+        long len = 0;
+
+        for (ByteBuffer srcBuf : srcBufs)
+            len += srcBuf.remaining();
+
+        synchronized (ch) {
+            ch.position(position);
+
+            long written = 0;
+
+            while (written < len)
+                written += ch.write(srcBufs);
+
+            return written;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public int write(byte[] buf, int off, int len) throws IOException {
         return ch.write(ByteBuffer.wrap(buf, off, len));
@@ -135,6 +160,11 @@ public class RandomAccessFileIO extends AbstractFileIO {
         ch.truncate(0);
     }
 
+    /** {@inheritDoc} */
+    @Override public void truncate(long size) throws IOException {
+        ch.truncate(size);
+    }
+
     /** {@inheritDoc} */
     @Override public void close() throws IOException {
         ch.close();
@@ -51,6 +51,8 @@ import org.apache.ignite.internal.util.lang.GridCursor;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
 
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
 import static org.apache.ignite.internal.pagemem.PageIdAllocator.FLAG_DATA;
 
 /**
@@ -350,6 +352,48 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
         }
     }
 
+    /** Write a single row on the page chosen by the caller. */
+    private final PageHandler<T, Boolean> writeRowToPageHnd = new WriteRowToPageHandler();
+
+    /** */
+    private final class WriteRowToPageHandler extends PageHandler<T, Boolean> {
+        /** {@inheritDoc} */
+        @Override public Boolean run(
+            int cacheId,
+            long pageId,
+            long page,
+            long pageAddr,
+            PageIO iox,
+            Boolean walPlc,
+            T row,
+            int intArg,
+            IoStatisticsHolder statHolder)
+            throws IgniteCheckedException {
+            if (!(iox instanceof AbstractDataPageIO))
+                return FALSE;
+
+            AbstractDataPageIO<T> io = (AbstractDataPageIO<T>)iox;
+
+            int freeSpace = io.getFreeSpace(pageAddr);
+
+            if (freeSpace <= MIN_PAGE_FREE_SPACE || freeSpace < row.size() || io.isEmpty(pageAddr))
+                return FALSE;
+
+            long listPageId = grpId == 0 ? PageIdUtils.maskPartitionId(pageId) : pageId;
+
+            // The page is taken from its bucket as if it was polled for the write. It fails if the page is already
+            // taken by another thread.
+            if (!removeDataPage(listPageId, page, pageAddr, io, bucket(freeSpace, false), statHolder))
+                return FALSE;
+
+            int written = writeRowHnd.run(cacheId, pageId, page, pageAddr, iox, walPlc, row, 0, statHolder);
+
+            assert written == COMPLETE : written;
+
+            return TRUE;
+        }
+    }
+
     /** */
     private final PageHandler<ReuseBag, Long> rmvRow;
 
@@ -502,6 +546,22 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
         return freeSpace;
     }
 
+    /**
+     * Calculates number of partially filled data pages tracked by this FreeListImpl instance having at least
+     * the given free space, up to the bucket granularity.
+     *
+     * @param minFreeSpace Minimum free space of a page, in bytes.
+     * @return Number of pages.
+     */
+    public long sparseDataPages(int minFreeSpace) {
+        long pages = 0;
+
+        for (int b = Math.max(minFreeSpace >>> shift, 1); b < REUSE_BUCKET; b++)
+            pages += bucketsSize.get(b);
+
+        return pages;
+    }
+
     /** {@inheritDoc} */
     @Override public void dumpStatistics(IgniteLogger log) {
         long dataPages = 0;
@@ -655,6 +715,33 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
         }
     }
 
+    /**
+     * Inserts the row into the given partially filled data page instead of the page the free list would choose.
+     *
+     * @param pageId Data page ID.
+     * @param row Row.
+     * @param statHolder Statistics holder to track IO operations.
+     * @return {@code True} if the row is inserted, {@code false} if the row doesn't fit the page or the page is not
+     *      in the free list at the moment.
+     * @throws IgniteCheckedException If failed.
+     */
+    public boolean insertDataRow(long pageId, T row, IoStatisticsHolder statHolder) throws IgniteCheckedException {
+        assert row.link() == 0 : row.link();
+
+        if (row.size() > MIN_SIZE_FOR_DATA_PAGE)
+            return false;
+
+        try {
+            return write(pageId, writeRowToPageHnd, row, 0, FALSE, statHolder);
+        }
+        catch (IgniteCheckedException | Error e) {
+            throw e;
+        }
+        catch (Throwable t) {
+            throw new CorruptedFreeListException("Failed to insert data row", t, grpId);
+        }
+    }
+
     /**
      * Write fragments of the row, which occupy the whole memory page. A data row is ignored if it is less than the max
      * payload of an empty data page.
@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicLongArray;
@@ -102,6 +103,13 @@ public abstract class PagesList extends DataStructure {
         IgniteSystemProperties.getInteger(IGNITE_PAGES_LIST_STRIPES_PER_BUCKET,
             Math.max(8, Runtime.getRuntime().availableProcessors()));
 
+    /**
+     * Stripe hint of the current thread. Threads stick to the same stripe while they lock its tail page without
+     * contention, see {@link #threadStripe(int)}.
+     */
+    private static final ThreadLocal<int[]> STRIPE_HINT =
+        ThreadLocal.withInitial(() -> new int[] {ThreadLocalRandom.current().nextInt() | 1});
+
     /** */
     private final boolean pagesListCachingDisabledSysProp =
         IgniteSystemProperties.getBoolean(IgniteSystemProperties.IGNITE_PAGES_LIST_DISABLE_ONHEAP_CACHING, false);
@@ -760,19 +768,41 @@ public abstract class PagesList extends DataStructure {
         if (tails == null)
             return addStripe(bucket, bag, true);
 
-        return randomTail(tails);
+        assert tails.length != 0;
+
+        return tails[threadStripe(tails.length)];
     }
 
     /**
-     * @param tails Tails.
-     * @return Random tail.
+     * Gets stripe index of the current thread. Unlike a random stripe, the same stripe is used by the thread until
+     * it fails to lock the tail page of the stripe, so concurrent writers spread over the stripes and each of them
+     * keeps filling its own tail pages.
+     *
+     * @param len Stripes count.
+     * @return Stripe index.
      */
-    private static Stripe randomTail(Stripe[] tails) {
-        int len = tails.length;
+    static int threadStripe(int len) {
+        // Keep random stripes if the random is overridden to make tests deterministic.
+        if (rnd != null)
+            return randomInt(len);
 
-        assert len != 0;
+        return (STRIPE_HINT.get()[0] & Integer.MAX_VALUE) % len;
+    }
 
-        return tails[randomInt(len)];
+    /**
+     * Moves the current thread to another stripe after contention on the tail page of its stripe.
+     */
+    static void moveThreadStripe() {
+        int[] hint = STRIPE_HINT.get();
+
+        // Xorshift, never turns a non-zero hint into zero.
+        int h = hint[0];
+
+        h ^= h << 13;
+        h ^= h >>> 17;
+        h ^= h << 5;
+
+        hint[0] = h;
     }
 
     /**
@@ -1271,7 +1301,7 @@ public abstract class PagesList extends DataStructure {
             return stripe.empty ? null : stripe;
         }
 
-        int init = randomInt(len);
+        int init = threadStripe(len);
         int cur = init;
 
         while (true) {
@@ -1310,6 +1340,9 @@ public abstract class PagesList extends DataStructure {
         if (pageAddr != 0L)
             return pageAddr;
 
+        // The tail is locked by another thread, try the other stripe next time.
+        moveThreadStripe();
+
         if (lockAttempt == TRY_LOCK_ATTEMPTS) {
             Stripe[] stripes = getBucket(bucket);
 
@@ -2127,17 +2160,10 @@ public abstract class PagesList extends DataStructure {
         /** Page lists. */
         private final GridLongList[] stripes = new GridLongList[STRIPES_COUNT];
 
-        /** Atomic updater for nextStripeIdx field. */
-        private static final AtomicIntegerFieldUpdater<PagesCache> nextStripeUpdater = AtomicIntegerFieldUpdater
-            .newUpdater(PagesCache.class, "nextStripeIdx");
-
         /** Atomic updater for size field. */
         private static final AtomicIntegerFieldUpdater<PagesCache> sizeUpdater = AtomicIntegerFieldUpdater
             .newUpdater(PagesCache.class, "size");
 
-        /** Access counter to provide round-robin stripes polling. */
-        private volatile int nextStripeIdx;
-
         /** Cache size. */
         private volatile int size;
 
@@ -2191,8 +2217,12 @@ public abstract class PagesList extends DataStructure {
             if (size == 0)
                 return 0L;
 
+            // Start from the stripe of the current thread instead of a shared round-robin counter,
+            // which is a point of contention itself.
+            int init = threadStripe(STRIPES_COUNT);
+
             for (int i = 0; i < STRIPES_COUNT; i++) {
-                int stripeIdx = nextStripeUpdater.getAndIncrement(this) & (STRIPES_COUNT - 1);
+                int stripeIdx = (init + i) & (STRIPES_COUNT - 1);
 
                 synchronized (stripeLocks[stripeIdx]) {
                     GridLongList stripe = stripes[stripeIdx];
@@ -145,6 +145,13 @@ public interface PageMemoryEx extends PageMemory {
         CheckpointMetricsTracker tracker
     ) throws IgniteCheckedException;
 
+    /**
+     * Releases the page which write was postponed by {@link PageStoreWriter#writePage(FullPageId, ByteBuffer, int, long)}.
+     *
+     * @param page Pointer to the page passed to the page writer.
+     */
+    public void checkpointReleasePage(long page);
+
     /** */
     public PageReadWriteManager pageManager();
 
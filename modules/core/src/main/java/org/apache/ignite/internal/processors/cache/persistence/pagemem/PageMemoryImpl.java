@@ -189,6 +189,9 @@ public class PageMemoryImpl implements PageMemoryEx {
     /** Page replacement policy factory. */
     private final PageReplacementPolicyFactory pageReplacementPolicyFactory;
 
+    /** Whether page hits and misses are counted regardless of the data region metrics being enabled. */
+    private final boolean alwaysCountPageHits;
+
     /** */
     private final ExecutorService asyncRunner;
 
@@ -355,10 +358,16 @@ public class PageMemoryImpl implements PageMemoryEx {
             case CLOCK:
                 pageReplacementPolicyFactory = new ClockPageReplacementPolicyFactory();
 
+                break;
+            case TWO_QUEUE:
+                pageReplacementPolicyFactory = new TwoQueuePageReplacementPolicyFactory();
+
                 break;
             default:
                 throw new IgniteException("Unexpected page replacement mode: " + pageReplacementMode);
         }
+
+        alwaysCountPageHits = pageReplacementMode == PageReplacementMode.TWO_QUEUE;
     }
 
     /** {@inheritDoc} */
@@ -490,6 +499,29 @@ public class PageMemoryImpl implements PageMemoryEx {
         readUnlockPage(page);
     }
 
+    /** {@inheritDoc} */
+    @Override public long tryOptimisticRead(int grpId, long pageId, long page) {
+        assert started;
+
+        long stamp = rwLock.tryOptimisticRead(page + PAGE_LOCK_OFFSET, PageIdUtils.tag(pageId));
+
+        // Touch the page no more often than the timestamp changes to avoid writes to the page header by readers.
+        if (stamp != 0L && PageHeader.readTimestamp(page) != (U.currentTimeMillis() & PageHeader.TIMESTAMP_MASK))
+            touchPage(page, true);
+
+        return stamp;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long optimisticReadAddress(int grpId, long pageId, long page) {
+        return page + PAGE_OVERHEAD;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean validateOptimisticRead(int grpId, long pageId, long page, long stamp) {
+        return rwLock.validate(page + PAGE_LOCK_OFFSET, stamp);
+    }
+
     /** {@inheritDoc} */
     @Override public long writeLock(int grpId, long pageId, long page) {
         assert started;
@@ -741,6 +773,28 @@ public class PageMemoryImpl implements PageMemoryEx {
         return acquirePage(grpId, pageId, statHolder, restore, null);
     }
 
+    /**
+     * Counts acquisition of a page found in memory. Counters are shared by all the threads accessing the cache group,
+     * so they are updated only if the metrics are enabled or the page replacement policy relies on them.
+     *
+     * @param grpId Group id.
+     */
+    private void onPageHit(int grpId) {
+        if (alwaysCountPageHits || dataRegionMetrics.metricsEnabled())
+            dataRegionMetrics.cacheGrpPageMetrics(grpId).pageHits().increment();
+    }
+
+    /**
+     * Counts acquisition of a page loaded into memory.
+     *
+     * @param grpId Group id.
+     * @see #onPageHit(int)
+     */
+    private void onPageMiss(int grpId) {
+        if (alwaysCountPageHits || dataRegionMetrics.metricsEnabled())
+            dataRegionMetrics.cacheGrpPageMetrics(grpId).pageMisses().increment();
+    }
+
     /**
      * @param grpId Group id.
      * @param pageId Page id.
@@ -775,6 +829,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 seg.pageReplacementPolicy.onHit(relPtr);
 
+                onPageHit(grpId);
+
                 statHolder.trackLogicalRead(absPtr + PAGE_OVERHEAD);
 
                 return absPtr;
@@ -832,6 +888,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 seg.pageReplacementPolicy.onMiss(relPtr);
 
+                onPageMiss(grpId);
+
                 seg.loadedPages.put(
                     grpId,
                     fullId.effectivePageId(),
@@ -889,11 +947,15 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 seg.pageReplacementPolicy.onRemove(relPtr);
                 seg.pageReplacementPolicy.onMiss(relPtr);
+
+                onPageMiss(grpId);
             }
             else {
                 absPtr = seg.absolute(relPtr);
 
                 seg.pageReplacementPolicy.onHit(relPtr);
+
+                onPageHit(grpId);
             }
 
             seg.acquirePage(absPtr);
@@ -1364,22 +1426,34 @@ public class PageMemoryImpl implements PageMemoryEx {
         finally {
             rwLock.writeUnlock(absPtr + PAGE_LOCK_OFFSET, OffheapReadWriteLock.TAG_LOCK_ALWAYS);
 
-            if (canWrite) {
-                buf.rewind();
+            boolean writePostponed = false;
 
-                pageStoreWriter.writePage(fullId, buf, tag);
+            try {
+                if (canWrite) {
+                    buf.rewind();
 
-                dataRegionMetrics.onPageWritten();
+                    writePostponed = pageStoreWriter.writePage(fullId, buf, tag, absPtr);
 
-                buf.rewind();
-            }
+                    dataRegionMetrics.onPageWritten();
 
-            // We pinned the page either when allocated the temp buffer, or when resolved abs pointer.
-            // Must release the page only after write unlock.
-            PageHeader.releasePage(absPtr);
+                    if (!writePostponed)
+                        buf.rewind();
+                }
+            }
+            finally {
+                // We pinned the page either when allocated the temp buffer, or when resolved abs pointer.
+                // Must release the page only after write unlock. Postponed write releases the page itself.
+                if (!writePostponed)
+                    PageHeader.releasePage(absPtr);
+            }
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public void checkpointReleasePage(long page) {
+        PageHeader.releasePage(page);
+    }
+
     /**
      * @param absPtr Absolute ptr.
      * @param buf Tmp buffer.
@@ -2433,6 +2507,15 @@ public class PageMemoryImpl implements PageMemoryEx {
             return loadedPages;
         }
 
+        /**
+         * Gets memory page metrics of the cache group.
+         *
+         * @param grpId Cache group ID.
+         */
+        public PageMetrics pageMetrics(int grpId) {
+            return dataRegionMetrics.cacheGrpPageMetrics(grpId);
+        }
+
         /**
          * Gets checkpoint pages.
          */
@@ -33,6 +33,29 @@ public interface PageMetrics {
      */
     public LongAdderMetric indexPages();
 
+    /**
+     * Number of page acquisitions served from memory. Counted if the data region metrics are enabled or
+     * the {@link org.apache.ignite.configuration.PageReplacementMode#TWO_QUEUE} page replacement mode is used.
+     */
+    public LongAdderMetric pageHits();
+
+    /**
+     * Number of page acquisitions which loaded the page into memory.
+     *
+     * @see #pageHits()
+     */
+    public LongAdderMetric pageMisses();
+
+    /**
+     * Number of recently replaced pages remembered by the page replacement policy (ghost list).
+     */
+    public LongAdderMetric ghostPages();
+
+    /**
+     * Number of loads of pages from the ghost list, such pages are considered frequently used.
+     */
+    public LongAdderMetric ghostHits();
+
     /**
      * Resets all metric counters.
      */
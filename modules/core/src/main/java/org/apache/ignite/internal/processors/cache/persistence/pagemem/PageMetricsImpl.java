@@ -30,11 +30,27 @@ public class PageMetricsImpl implements PageMetrics {
     /** Index pages in memory. */
     private final LongAdderMetric idxPages;
 
+    /** Page acquisitions served from memory. */
+    private final LongAdderMetric pageHits;
+
+    /** Page acquisitions which loaded the page into memory. */
+    private final LongAdderMetric pageMisses;
+
+    /** Pages in the ghost list of the page replacement policy. */
+    private final LongAdderMetric ghostPages;
+
+    /** Loads of pages from the ghost list. */
+    private final LongAdderMetric ghostHits;
+
     /** */
     private PageMetricsImpl(
         MetricRegistry metricRegistry,
         @Nullable LongAdderWithDelegateMetric.Delegate totalPagesCb,
-        @Nullable LongAdderWithDelegateMetric.Delegate idxPagesCb
+        @Nullable LongAdderWithDelegateMetric.Delegate idxPagesCb,
+        @Nullable LongAdderWithDelegateMetric.Delegate pageHitsCb,
+        @Nullable LongAdderWithDelegateMetric.Delegate pageMissesCb,
+        @Nullable LongAdderWithDelegateMetric.Delegate ghostPagesCb,
+        @Nullable LongAdderWithDelegateMetric.Delegate ghostHitsCb
     ) {
         totalPages = createMetricWithOptionalDelegate(
             metricRegistry, "TotalAllocatedPages", "Total allocated pages.", totalPagesCb
@@ -43,6 +59,38 @@ public class PageMetricsImpl implements PageMetrics {
         idxPages = createMetricWithOptionalDelegate(
             metricRegistry, "InMemoryIndexPages", "Amount of index pages loaded into memory.", idxPagesCb
         );
+
+        pageHits = createMetricWithOptionalDelegate(
+            metricRegistry, "InMemoryPageHits", "Number of page acquisitions served from memory.", pageHitsCb
+        );
+
+        pageMisses = createMetricWithOptionalDelegate(
+            metricRegistry, "InMemoryPageMisses", "Number of page acquisitions which loaded the page into memory.",
+            pageMissesCb
+        );
+
+        metricRegistry.register("InMemoryPageHitRatio", this::hitRatio,
+            "Ratio of page acquisitions served from memory to all page acquisitions.");
+
+        ghostPages = createMetricWithOptionalDelegate(
+            metricRegistry, "ReplacementGhostPages",
+            "Number of recently replaced pages remembered by the page replacement policy.", ghostPagesCb
+        );
+
+        ghostHits = createMetricWithOptionalDelegate(
+            metricRegistry, "ReplacementGhostHits",
+            "Number of loads of recently replaced pages remembered by the page replacement policy.", ghostHitsCb
+        );
+    }
+
+    /**
+     * @return Ratio of page acquisitions served from memory to all page acquisitions.
+     */
+    private double hitRatio() {
+        long hits = pageHits.value();
+        long total = hits + pageMisses.value();
+
+        return total == 0 ? 0 : (double)hits / total;
     }
 
     /**
@@ -58,6 +106,18 @@ public class PageMetricsImpl implements PageMetrics {
         /** Index pages callback. */
         private LongAdderWithDelegateMetric.Delegate idxPagesCb;
 
+        /** Page hits callback. */
+        private LongAdderWithDelegateMetric.Delegate pageHitsCb;
+
+        /** Page misses callback. */
+        private LongAdderWithDelegateMetric.Delegate pageMissesCb;
+
+        /** Ghost pages callback. */
+        private LongAdderWithDelegateMetric.Delegate ghostPagesCb;
+
+        /** Ghost hits callback. */
+        private LongAdderWithDelegateMetric.Delegate ghostHitsCb;
+
         /**
          * @param metricRegistry Metric registry.
          */
@@ -81,12 +141,48 @@ public class PageMetricsImpl implements PageMetrics {
             return this;
         }
 
+        /**
+         * @param cb Callback.
+         */
+        public Builder pageHitsCallback(LongAdderWithDelegateMetric.Delegate cb) {
+            pageHitsCb = cb;
+            return this;
+        }
+
+        /**
+         * @param cb Callback.
+         */
+        public Builder pageMissesCallback(LongAdderWithDelegateMetric.Delegate cb) {
+            pageMissesCb = cb;
+            return this;
+        }
+
+        /**
+         * @param cb Callback.
+         */
+        public Builder ghostPagesCallback(LongAdderWithDelegateMetric.Delegate cb) {
+            ghostPagesCb = cb;
+            return this;
+        }
+
+        /**
+         * @param cb Callback.
+         */
+        public Builder ghostHitsCallback(LongAdderWithDelegateMetric.Delegate cb) {
+            ghostHitsCb = cb;
+            return this;
+        }
+
         /** */
         public PageMetricsImpl build() {
             return new PageMetricsImpl(
                 metricRegistry,
                 totalPagesCb,
-                idxPagesCb
+                idxPagesCb,
+                pageHitsCb,
+                pageMissesCb,
+                ghostPagesCb,
+                ghostHitsCb
             );
         }
     }
@@ -125,9 +221,33 @@ public class PageMetricsImpl implements PageMetrics {
         return idxPages;
     }
 
+    /** {@inheritDoc} */
+    @Override public LongAdderMetric pageHits() {
+        return pageHits;
+    }
+
+    /** {@inheritDoc} */
+    @Override public LongAdderMetric pageMisses() {
+        return pageMisses;
+    }
+
+    /** {@inheritDoc} */
+    @Override public LongAdderMetric ghostPages() {
+        return ghostPages;
+    }
+
+    /** {@inheritDoc} */
+    @Override public LongAdderMetric ghostHits() {
+        return ghostHits;
+    }
+
     /** {@inheritDoc} */
     @Override public void reset() {
         totalPages.reset();
         idxPages.reset();
+        pageHits.reset();
+        pageMisses.reset();
+        ghostPages.reset();
+        ghostHits.reset();
     }
 }
@@ -45,6 +45,30 @@ public interface PageReadWriteManager {
      */
     public PageStore write(int grpId, long pageId, ByteBuffer pageBuf, int tag, boolean calculateCrc) throws IgniteCheckedException;
 
+    /**
+     * Writes pages placed one after another in the same partition file of the given cache group.
+     *
+     * @param grpId Cache group ID.
+     * @param pageIds IDs of pages with adjacent page indexes in ascending order.
+     * @param pageBufs Page buffers to write.
+     * @return Page store the pages were written to.
+     * @throws IgniteCheckedException If failed to write pages.
+     */
+    public default PageStore write(
+        int grpId,
+        long[] pageIds,
+        ByteBuffer[] pageBufs,
+        int tag,
+        boolean calculateCrc
+    ) throws IgniteCheckedException {
+        PageStore store = null;
+
+        for (int i = 0; i < pageIds.length; i++)
+            store = write(grpId, pageIds[i], pageBufs[i], tag, calculateCrc);
+
+        return store;
+    }
+
     /**
      * Allocates a page for the given page space.
      *
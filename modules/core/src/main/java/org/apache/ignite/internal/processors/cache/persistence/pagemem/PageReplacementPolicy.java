@@ -23,6 +23,9 @@ import org.apache.ignite.IgniteCheckedException;
  * Abstract page replacement policy.
  */
 public abstract class PageReplacementPolicy {
+    /** Low priority page access flag of the current thread. */
+    private static final ThreadLocal<Boolean> LOW_PRIORITY = ThreadLocal.withInitial(() -> false);
+
     /** Page memory segment. */
     protected final PageMemoryImpl.Segment seg;
 
@@ -33,6 +36,32 @@ public abstract class PageReplacementPolicy {
         this.seg = seg;
     }
 
+    /**
+     * @return {@code True} if pages are accessed by the current thread with low priority.
+     */
+    public static boolean lowPriorityAccess() {
+        return LOW_PRIORITY.get();
+    }
+
+    /**
+     * Sets low priority page access flag of the current thread. Pages accessed once by scans, rebalancing or index
+     * rebuilding are accessed with low priority, so scan-resistant policies may replace them first and keep the
+     * working set in memory.
+     *
+     * The previous value returned by this method must be restored once the low priority access is finished, so the
+     * nested low priority sections don't reset the flag of the enclosing ones.
+     *
+     * @param lowPriority Low priority page access flag.
+     * @return Previous value of the flag.
+     */
+    public static boolean lowPriorityAccess(boolean lowPriority) {
+        boolean prev = LOW_PRIORITY.get();
+
+        LOW_PRIORITY.set(lowPriority);
+
+        return prev;
+    }
+
     /**
      * Existing page touched.
      *
@@ -0,0 +1,453 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.configuration.PageReplacementMode;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Pages lists of the 2Q page replacement algorithm: FIFO queue of the pages loaded once (A1in), LRU list of the
+ * frequently used pages (Am) and the table of recently replaced pages of the FIFO queue (ghost list, A1out).
+ * Ghost table is direct-mapped: an entry is overwritten by a newer one with the same hash, so the oldest entries
+ * are evicted approximately.
+ *
+ * @see PageReplacementMode#TWO_QUEUE
+ */
+public class TwoQueuePageList {
+    /** Ratio of the FIFO queue to the total pages count, above which pages are replaced from the FIFO queue. */
+    private static final double IN_TO_TOTAL_PAGES_RATIO = 0.25;
+
+    /** Ratio of the ghost table capacity to the total pages count. */
+    private static final double GHOST_TO_TOTAL_PAGES_RATIO = 0.5;
+
+    /** Size of the ghost table entry: page ID and cache group ID. */
+    private static final int GHOST_ENTRY_SIZE = 16;
+
+    /** Null page index. */
+    static final int NULL_IDX = -1;
+
+    /** Page is not in the lists. */
+    static final byte NONE = 0;
+
+    /** Page is in the FIFO queue. */
+    static final byte IN = 1;
+
+    /** Page is in the FIFO queue and has been accessed with low priority only. */
+    static final byte IN_LOW = 2;
+
+    /** Page is in the LRU list. */
+    static final byte MAIN = 3;
+
+    /** Index of the head page of the FIFO queue. */
+    private int inHeadIdx = NULL_IDX;
+
+    /** Index of the tail page of the FIFO queue. */
+    private int inTailIdx = NULL_IDX;
+
+    /** Index of the head page of the LRU list. */
+    private int mainHeadIdx = NULL_IDX;
+
+    /** Index of the tail page of the LRU list. */
+    private int mainTailIdx = NULL_IDX;
+
+    /** Count of pages in the FIFO queue. */
+    private int inSize;
+
+    /** Count of pages in the LRU list. */
+    private int mainSize;
+
+    /** FIFO queue size above which pages are replaced from it. */
+    private final int inLimit;
+
+    /** Capacity of the ghost table. */
+    private final int ghostCap;
+
+    /** Pointer to memory region to store links. */
+    private final long linksPtr;
+
+    /** Pointer to memory region to store page states. */
+    private final long statesPtr;
+
+    /** Pointer to memory region to store ghost table. */
+    private final long ghostPtr;
+
+    /**
+     * @param totalPagesCnt Total pages count.
+     * @param memPtr Pointer to memory region.
+     */
+    public TwoQueuePageList(int totalPagesCnt, long memPtr) {
+        linksPtr = memPtr;
+        statesPtr = linksPtr + (((long)totalPagesCnt) << 3);
+        ghostPtr = statesPtr + statesSize(totalPagesCnt);
+
+        ghostCap = ghostCapacity(totalPagesCnt);
+        inLimit = (int)(totalPagesCnt * IN_TO_TOTAL_PAGES_RATIO);
+
+        GridUnsafe.setMemory(linksPtr, ((long)totalPagesCnt) << 3, (byte)0xFF);
+        GridUnsafe.zeroMemory(statesPtr, statesSize(totalPagesCnt));
+        GridUnsafe.zeroMemory(ghostPtr, (long)ghostCap * GHOST_ENTRY_SIZE);
+    }
+
+    /**
+     * Adds page to the FIFO queue. Pages accessed with low priority are added to the head of the queue, so they are
+     * replaced first and do not push out the pages of the working set.
+     *
+     * @param pageIdx Page index.
+     * @param lowPriority Low priority access flag.
+     */
+    public synchronized void addToIn(int pageIdx, boolean lowPriority) {
+        if (lowPriority)
+            addToHead(pageIdx, IN_LOW);
+        else
+            addToTail(pageIdx, IN);
+    }
+
+    /**
+     * Adds page to the tail of the LRU list.
+     *
+     * @param pageIdx Page index.
+     */
+    public synchronized void addToMain(int pageIdx) {
+        addToTail(pageIdx, MAIN);
+    }
+
+    /**
+     * Returns page to the tail of the list it has been removed from.
+     *
+     * @param pageIdx Page index.
+     * @param state Page state before removal.
+     */
+    public synchronized void requeue(int pageIdx, byte state) {
+        assert state != NONE;
+
+        addToTail(pageIdx, state);
+    }
+
+    /**
+     * Handles page access with normal priority: page of the LRU list is moved to its tail, page of the FIFO queue
+     * accessed with low priority only is moved to the tail of the queue. Other accesses to the pages of the FIFO queue
+     * are considered correlated and do not change the order.
+     *
+     * @param pageIdx Page index.
+     */
+    public void touch(int pageIdx) {
+        // Skip synchronization in the most frequent case.
+        if (state(pageIdx) == IN)
+            return;
+
+        synchronized (this) {
+            byte state = state(pageIdx);
+
+            if (state == MAIN) {
+                if (mainTailIdx != pageIdx) {
+                    remove0(pageIdx);
+
+                    addToTail(pageIdx, MAIN);
+                }
+            }
+            else if (state == IN_LOW) {
+                remove0(pageIdx);
+
+                addToTail(pageIdx, IN);
+            }
+        }
+    }
+
+    /**
+     * Removes page from the lists.
+     *
+     * @param pageIdx Page index.
+     */
+    public synchronized void remove(int pageIdx) {
+        if (state(pageIdx) != NONE)
+            remove0(pageIdx);
+    }
+
+    /**
+     * @param skipIn {@code True} if all the pages of the FIFO queue have been already checked.
+     * @param skipMain {@code True} if all the pages of the LRU list have been already checked.
+     * @return Index of the page to try to replace next: head of the FIFO queue if the queue is too large, the LRU
+     * list is empty or all its pages can't be replaced, head of the LRU list otherwise.
+     */
+    public synchronized int replacementCandidate(boolean skipIn, boolean skipMain) {
+        if (mainHeadIdx == NULL_IDX || !skipIn && inSize > inLimit)
+            return inHeadIdx;
+
+        if (skipMain && !skipIn && inHeadIdx != NULL_IDX)
+            return inHeadIdx;
+
+        return mainHeadIdx;
+    }
+
+    /**
+     * @param main {@code True} for the LRU list, {@code false} for the FIFO queue.
+     * @return Index of the head page of the list.
+     */
+    public synchronized int head(boolean main) {
+        return main ? mainHeadIdx : inHeadIdx;
+    }
+
+    /**
+     * @param main {@code True} for the LRU list, {@code false} for the FIFO queue.
+     * @return Count of pages in the list.
+     */
+    public synchronized int size(boolean main) {
+        return main ? mainSize : inSize;
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @return Page state.
+     */
+    byte state(int pageIdx) {
+        return GridUnsafe.getByte(statesPtr + pageIdx);
+    }
+
+    /**
+     * Removes the page from the ghost table.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId Effective page ID.
+     * @return {@code True} if the page has been in the ghost table.
+     */
+    public boolean removeGhost(int grpId, long pageId) {
+        long ptr = ghostEntry(grpId, pageId);
+
+        if (GridUnsafe.getLong(ptr) != pageId || GridUnsafe.getInt(ptr + 8) != grpId)
+            return false;
+
+        GridUnsafe.putLong(ptr, 0L);
+
+        return true;
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @param pageId Effective page ID.
+     * @return Pointer to the ghost table entry for the page.
+     */
+    public long ghostEntry(int grpId, long pageId) {
+        return ghostPtr + (long)U.safeAbs(FullPageId.hashCode(grpId, pageId) % ghostCap) * GHOST_ENTRY_SIZE;
+    }
+
+    /**
+     * @param entryPtr Pointer to the ghost table entry.
+     * @return {@code True} if the entry is empty.
+     */
+    public boolean ghostEmpty(long entryPtr) {
+        return GridUnsafe.getLong(entryPtr) == 0L;
+    }
+
+    /**
+     * @param entryPtr Pointer to the ghost table entry.
+     * @return Cache group ID of the page in the entry.
+     */
+    public int ghostGroupId(long entryPtr) {
+        return GridUnsafe.getInt(entryPtr + 8);
+    }
+
+    /**
+     * @param entryPtr Pointer to the ghost table entry.
+     * @param grpId Cache group ID.
+     * @param pageId Effective page ID.
+     */
+    public void putGhost(long entryPtr, int grpId, long pageId) {
+        assert pageId != 0L;
+
+        GridUnsafe.putLong(entryPtr, pageId);
+        GridUnsafe.putInt(entryPtr + 8, grpId);
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @param state Page state.
+     */
+    private void addToTail(int pageIdx, byte state) {
+        assert prev(pageIdx) == NULL_IDX : prev(pageIdx);
+        assert next(pageIdx) == NULL_IDX : next(pageIdx);
+
+        boolean main = state == MAIN;
+
+        int tailIdx = main ? mainTailIdx : inTailIdx;
+
+        if (tailIdx == NULL_IDX) {
+            if (main)
+                mainHeadIdx = pageIdx;
+            else
+                inHeadIdx = pageIdx;
+        }
+        else
+            link(tailIdx, pageIdx);
+
+        if (main) {
+            mainTailIdx = pageIdx;
+            mainSize++;
+        }
+        else {
+            inTailIdx = pageIdx;
+            inSize++;
+        }
+
+        state(pageIdx, state);
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @param state Page state.
+     */
+    private void addToHead(int pageIdx, byte state) {
+        assert state != MAIN;
+        assert prev(pageIdx) == NULL_IDX : prev(pageIdx);
+        assert next(pageIdx) == NULL_IDX : next(pageIdx);
+
+        if (inHeadIdx == NULL_IDX)
+            inTailIdx = pageIdx;
+        else
+            link(pageIdx, inHeadIdx);
+
+        inHeadIdx = pageIdx;
+        inSize++;
+
+        state(pageIdx, state);
+    }
+
+    /**
+     * @param pageIdx Page index.
+     */
+    private void remove0(int pageIdx) {
+        assert pageIdx != NULL_IDX;
+
+        boolean main = state(pageIdx) == MAIN;
+
+        int prevIdx = prev(pageIdx);
+        int nextIdx = next(pageIdx);
+
+        if (prevIdx == NULL_IDX) {
+            if (main)
+                mainHeadIdx = nextIdx;
+            else
+                inHeadIdx = nextIdx;
+        }
+        else
+            next(prevIdx, nextIdx);
+
+        if (nextIdx == NULL_IDX) {
+            if (main)
+                mainTailIdx = prevIdx;
+            else
+                inTailIdx = prevIdx;
+        }
+        else
+            prev(nextIdx, prevIdx);
+
+        if (main)
+            mainSize--;
+        else
+            inSize--;
+
+        GridUnsafe.putLong(linksPtr + (((long)pageIdx) << 3), -1L);
+
+        state(pageIdx, NONE);
+    }
+
+    /**
+     * Link two pages.
+     *
+     * @param prevIdx Previous page index.
+     * @param nextIdx Next page index.
+     */
+    private void link(int prevIdx, int nextIdx) {
+        prev(nextIdx, prevIdx);
+        next(prevIdx, nextIdx);
+    }
+
+    /**
+     * Gets link to the previous page in the list.
+     *
+     * @param pageIdx Page index.
+     */
+    int prev(int pageIdx) {
+        return GridUnsafe.getInt(linksPtr + (((long)pageIdx) << 3));
+    }
+
+    /**
+     * Gets link to the next page in the list.
+     *
+     * @param pageIdx Page index.
+     */
+    int next(int pageIdx) {
+        return GridUnsafe.getInt(linksPtr + (((long)pageIdx) << 3) + 4);
+    }
+
+    /**
+     * Sets link to the previous page in the list.
+     *
+     * @param pageIdx Page index.
+     * @param prevIdx Previous page index.
+     */
+    private void prev(int pageIdx, int prevIdx) {
+        GridUnsafe.putInt(linksPtr + (((long)pageIdx) << 3), prevIdx);
+    }
+
+    /**
+     * Sets link to the next page in the list.
+     *
+     * @param pageIdx Page index.
+     * @param nextIdx Next page index.
+     */
+    private void next(int pageIdx, int nextIdx) {
+        GridUnsafe.putInt(linksPtr + (((long)pageIdx) << 3) + 4, nextIdx);
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @param state Page state.
+     */
+    private void state(int pageIdx, byte state) {
+        GridUnsafe.putByte(statesPtr + pageIdx, state);
+    }
+
+    /**
+     * @param pagesCnt Pages count.
+     * @return Memory required to store page states, aligned by 8 bytes.
+     */
+    private static long statesSize(int pagesCnt) {
+        return (pagesCnt + 7L) & ~7L;
+    }
+
+    /**
+     * @param pagesCnt Pages count.
+     * @return Capacity of the ghost table.
+     */
+    private static int ghostCapacity(int pagesCnt) {
+        return Math.max(1, (int)(pagesCnt * GHOST_TO_TOTAL_PAGES_RATIO));
+    }
+
+    /**
+     * Memory required to service {@code pagesCnt} pages.
+     *
+     * @param pagesCnt Pages count.
+     */
+    public static long requiredMemory(int pagesCnt) {
+        return (((long)pagesCnt) << 3) /* links = 2 ints per page */ +
+            statesSize(pagesCnt) /* states = 1 byte per page */ +
+            (long)ghostCapacity(pagesCnt) * GHOST_ENTRY_SIZE;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.PageReplacementMode;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.INVALID_REL_PTR;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.OUTDATED_REL_PTR;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.TwoQueuePageList.IN;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.TwoQueuePageList.MAIN;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.TwoQueuePageList.NULL_IDX;
+
+/**
+ * 2Q page replacement policy implementation.
+ *
+ * @see PageReplacementMode#TWO_QUEUE
+ */
+public class TwoQueuePageReplacementPolicy extends PageReplacementPolicy {
+    /** Pages lists. */
+    private final TwoQueuePageList list;
+
+    /**
+     * @param seg Page memory segment.
+     * @param ptr Pointer to memory region.
+     * @param pagesCnt Pages count.
+     */
+    protected TwoQueuePageReplacementPolicy(PageMemoryImpl.Segment seg, long ptr, int pagesCnt) {
+        super(seg);
+
+        list = new TwoQueuePageList(pagesCnt, ptr);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onHit(long relPtr) {
+        if (lowPriorityAccess())
+            return;
+
+        list.touch((int)seg.pageIndex(relPtr));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onMiss(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        boolean lowPriority = lowPriorityAccess();
+
+        if (!lowPriority) {
+            FullPageId fullId = PageHeader.fullPageId(seg.absolute(relPtr));
+
+            // Page has been replaced recently, so it is accessed frequently enough to get into the LRU list.
+            if (list.removeGhost(fullId.groupId(), fullId.effectivePageId())) {
+                PageMetrics metrics = seg.pageMetrics(fullId.groupId());
+
+                metrics.ghostPages().decrement();
+                metrics.ghostHits().increment();
+
+                list.addToMain(pageIdx);
+
+                return;
+            }
+        }
+
+        list.addToIn(pageIdx, lowPriority);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onRemove(long relPtr) {
+        list.remove((int)seg.pageIndex(relPtr));
+    }
+
+    /** {@inheritDoc} */
+    @Override public long replace() throws IgniteCheckedException {
+        LoadedPagesMap loadedPages = seg.loadedPages();
+
+        int inCnt = list.size(false);
+        int mainCnt = list.size(true);
+        int inTries = 0;
+        int mainTries = 0;
+
+        for (int i = 0; i < loadedPages.size(); i++) {
+            int pageIdx = list.replacementCandidate(inTries >= inCnt, mainTries >= mainCnt);
+
+            if (pageIdx == NULL_IDX)
+                break;
+
+            byte state = list.state(pageIdx);
+
+            if (state != MAIN)
+                inTries++;
+            else
+                mainTries++;
+
+            list.remove(pageIdx);
+
+            long relPtr = seg.relative(pageIdx);
+            long absPtr = seg.absolute(relPtr);
+
+            FullPageId fullId = PageHeader.fullPageId(absPtr);
+
+            // Check loaded pages map for outdated page.
+            relPtr = loadedPages.get(
+                fullId.groupId(),
+                fullId.effectivePageId(),
+                seg.partGeneration(fullId.groupId(), PageIdUtils.partId(fullId.pageId())),
+                INVALID_REL_PTR,
+                OUTDATED_REL_PTR
+            );
+
+            assert relPtr != INVALID_REL_PTR;
+
+            if (relPtr == OUTDATED_REL_PTR)
+                return seg.refreshOutdatedPage(fullId.groupId(), fullId.pageId(), true);
+
+            if (seg.tryToRemovePage(fullId, absPtr)) {
+                // Only pages loaded once with normal priority are remembered, see onMiss.
+                if (state == IN)
+                    addGhost(fullId);
+
+                return relPtr;
+            }
+
+            // Return page to the list.
+            list.requeue(pageIdx, state);
+        }
+
+        throw seg.oomException("no pages to replace");
+    }
+
+    /**
+     * @param fullId Full page ID of the replaced page.
+     */
+    private void addGhost(FullPageId fullId) {
+        long entryPtr = list.ghostEntry(fullId.groupId(), fullId.effectivePageId());
+
+        if (!list.ghostEmpty(entryPtr))
+            seg.pageMetrics(list.ghostGroupId(entryPtr)).ghostPages().decrement();
+
+        list.putGhost(entryPtr, fullId.groupId(), fullId.effectivePageId());
+
+        seg.pageMetrics(fullId.groupId()).ghostPages().increment();
+    }
+}
@@ -18,14 +18,21 @@
 package org.apache.ignite.internal.processors.cache.persistence.snapshot;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
+import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.internal.IgniteFutureCancelledCheckedException;
+import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.typedef.internal.S;
@@ -65,6 +72,9 @@ abstract class AbstractSnapshotFutureTask<T> extends GridFutureAdapter<T> {
     /** An exception which has been occurred during snapshot processing. */
     protected final AtomicReference<Throwable> err = new AtomicReference<>();
 
+    /** Partition files reserved from being moved to the cold storage while the task is running. */
+    private final List<FilePageStore> reservedStores = new ArrayList<>();
+
     /**
      * @param cctx Shared context.
      * @param srcNodeId Node id which cause snapshot task creation.
@@ -140,6 +150,54 @@ abstract class AbstractSnapshotFutureTask<T> extends GridFutureAdapter<T> {
      */
     public abstract void acceptException(Throwable th);
 
+    /**
+     * Reserves partition files of the processed cache groups, so they are not moved to the cold storage
+     * until the task is completed.
+     *
+     * @param promote If {@code true}, partition files already moved to the cold storage are moved back.
+     * @throws IgniteCheckedException If failed.
+     */
+    protected void reservePartitionFiles(boolean promote) throws IgniteCheckedException {
+        if (!(cctx.pageStore() instanceof FilePageStoreManager))
+            return;
+
+        for (Integer grpId : parts.keySet()) {
+            Collection<PageStore> stores = ((FilePageStoreManager)cctx.pageStore()).getStores(grpId);
+
+            if (stores == null)
+                continue;
+
+            for (PageStore store : stores) {
+                if (!(store instanceof FilePageStore))
+                    continue;
+
+                FilePageStore fileStore = (FilePageStore)store;
+
+                // Reserved before the promotion, so the file can't be moved to the cold storage again after it.
+                fileStore.reserve();
+
+                synchronized (reservedStores) {
+                    reservedStores.add(fileStore);
+                }
+
+                if (promote)
+                    fileStore.promote();
+            }
+        }
+    }
+
+    /**
+     * Releases partition files reserved by {@link #reservePartitionFiles(boolean)}.
+     */
+    protected void releasePartitionFiles() {
+        synchronized (reservedStores) {
+            for (FilePageStore store : reservedStores)
+                store.release();
+
+            reservedStores.clear();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public boolean cancel() {
         // Cancellation of snapshot future should not throw an exception.
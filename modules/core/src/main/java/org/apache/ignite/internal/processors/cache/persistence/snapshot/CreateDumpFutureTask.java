@@ -0,0 +1,467 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.CacheObjectValueContext;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.partstate.GroupPartitionId;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.dump.DumpEntry;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.dump.DumpEntryChangeListener;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.lang.IgniteThrowableRunner;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.CACHE_DATA_FILENAME;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.cacheDirName;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.dump.DumpReader.BUF_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.dump.DumpReader.END;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.dump.DumpReader.ENTRY;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.dump.DumpReader.partitionFileName;
+
+/**
+ * Task creates a cache dump: a consistent logical copy of the cache entries, which works for both
+ * in-memory and persistent caches. The task is started under the topology lock, so the dump contains
+ * entries state at the moment of the start. Each local primary partition is written to a separate compressed
+ * file in parallel. Entries changed while the partition is being dumped are written with the previous value
+ * before the change (copy-on-write), see {@link #beforeChange}.
+ */
+class CreateDumpFutureTask extends AbstractSnapshotFutureTask<Void> implements DumpEntryChangeListener {
+    /** Dump directory of the local node. */
+    private final File nodeDumpDir;
+
+    /** {@code True} if the task is started. */
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /** Partition writers. */
+    private final Map<GroupPartitionId, PartitionDumpWriter> writers = new ConcurrentHashMap<>();
+
+    /** Reserved partitions. */
+    private final List<GridDhtLocalPartition> reserved = new ArrayList<>();
+
+    /** Version of the dump start. Entries with greater versions are changed after the start. */
+    private volatile GridCacheVersion startVer;
+
+    /** Future which will be completed when the task is truly stopped. */
+    private CompletableFuture<Void> closeFut;
+
+    /**
+     * @param cctx Shared context.
+     * @param srcNodeId Node id which cause the dump task creation.
+     * @param reqId Snapshot operation request ID.
+     * @param dumpName Dump name.
+     * @param dumpDir Dump directory.
+     * @param ioFactory Factory to working with dump files.
+     * @param parts Partitions to be dumped.
+     */
+    public CreateDumpFutureTask(
+        GridCacheSharedContext<?, ?> cctx,
+        UUID srcNodeId,
+        UUID reqId,
+        String dumpName,
+        File dumpDir,
+        FileIOFactory ioFactory,
+        Map<Integer, Set<Integer>> parts
+    ) {
+        super(
+            cctx,
+            srcNodeId,
+            reqId,
+            dumpName,
+            dumpDir.getParentFile(),
+            ioFactory,
+            new SnapshotSender(
+                cctx.logger(CreateDumpFutureTask.class),
+                cctx.kernalContext().pools().getSnapshotExecutorService()
+            ) {
+                @Override protected void init(int partsCnt) {
+                    // No-op.
+                }
+
+                @Override protected void sendPart0(File part, String cacheDirName, GroupPartitionId pair, Long length) {
+                    // No-op.
+                }
+
+                @Override protected void sendDelta0(File delta, String cacheDirName, GroupPartitionId pair) {
+                    // No-op.
+                }
+            },
+            parts
+        );
+
+        nodeDumpDir = new File(dumpDir, U.maskForFileName(cctx.localNode().consistentId().toString()));
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean start() {
+        if (stopping() || !started.compareAndSet(false, true))
+            return false;
+
+        try {
+            // Executed under the topology lock, so there are no concurrent updates of the dumped partitions.
+            startVer = cctx.versions().next(cctx.kernalContext().discovery().topologyVersion());
+
+            // Partitions are read through the page memory, so the files are only kept out of the cold storage.
+            reservePartitionFiles(false);
+
+            for (Map.Entry<Integer, Set<Integer>> e : parts.entrySet()) {
+                CacheGroupContext grp = cctx.cache().cacheGroup(e.getKey());
+
+                if (grp == null)
+                    throw new IgniteCheckedException("Cache group context not found: " + e.getKey());
+
+                File grpDir = new File(nodeDumpDir, cacheDirName(grp.sharedGroup(), grp.cacheOrGroupName()));
+
+                U.ensureDirectory(grpDir, "dump directory of the cache group", log);
+
+                for (GridCacheContext<?, ?> cacheCtx : grp.caches())
+                    storeCacheConfiguration(cacheCtx, grpDir);
+
+                for (int partId : e.getValue()) {
+                    GridDhtLocalPartition part = grp.topology().localPartition(partId);
+
+                    if (part == null || !part.reserve()) {
+                        throw new IgniteCheckedException("Partition can't be reserved for dump [grp=" +
+                            grp.cacheOrGroupName() + ", part=" + partId + ']');
+                    }
+
+                    reserved.add(part);
+
+                    writers.put(new GroupPartitionId(grp.groupId(), partId),
+                        new PartitionDumpWriter(grp, part, new File(grpDir, partitionFileName(partId))));
+                }
+
+                grp.dumpListener(this);
+            }
+        }
+        catch (IgniteCheckedException | IOException e) {
+            acceptException(e);
+
+            return false;
+        }
+
+        if (log.isInfoEnabled()) {
+            log.info("Submit partition dump tasks to the snapshot execution pool " +
+                "[name=" + snpName + ", parts=" + writers.size() + ", dir=" + nodeDumpDir + ']');
+        }
+
+        List<CompletableFuture<Void>> futs = new ArrayList<>(writers.size());
+
+        for (PartitionDumpWriter writer : writers.values())
+            futs.add(CompletableFuture.runAsync(wrapExceptionIfStarted(writer::dump), snpSndr.executor()));
+
+        CompletableFuture.allOf(futs.toArray(new CompletableFuture[0])).whenComplete((res, t) -> closeAsync());
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void beforeChange(
+        GridCacheContext<?, ?> cacheCtx,
+        int partId,
+        KeyCacheObject key,
+        CacheDataRow oldRow
+    ) throws IgniteCheckedException {
+        // Entries created or already changed after the dump start are not interested.
+        // Note the entry may stay unchanged after the notification (e.g. no-op invoke), the entry value is
+        // written to the dump as is in this case, which is still consistent.
+        if (oldRow.version().isGreater(startVer))
+            return;
+
+        PartitionDumpWriter writer = writers.get(new GroupPartitionId(cacheCtx.groupId(), partId));
+
+        if (writer != null)
+            writer.writeChanged(cacheCtx, key, oldRow);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void acceptException(Throwable th) {
+        if (th == null)
+            return;
+
+        if (err.compareAndSet(null, th))
+            closeAsync();
+
+        U.error(log, "Dump task has accepted exception to stop", th);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean onDone(@Nullable Void res, @Nullable Throwable err) {
+        for (Integer grpId : parts.keySet()) {
+            CacheGroupContext grp = cctx.cache().cacheGroup(grpId);
+
+            if (grp != null && grp.dumpListener() == this)
+                grp.dumpListener(null);
+        }
+
+        for (PartitionDumpWriter writer : writers.values())
+            U.closeQuiet(writer);
+
+        for (GridDhtLocalPartition part : reserved)
+            part.release();
+
+        releasePartitionFiles();
+
+        if (err != null)
+            U.delete(nodeDumpDir);
+
+        return super.onDone(res, err);
+    }
+
+    /**
+     * @return Future which will be completed when the task is truly stopped.
+     */
+    public synchronized CompletableFuture<Void> closeAsync() {
+        if (closeFut == null) {
+            Throwable err0 = err.get();
+
+            closeFut = CompletableFuture.runAsync(() -> onDone(null, err0),
+                cctx.kernalContext().pools().getSystemExecutorService());
+        }
+
+        return closeFut;
+    }
+
+    /**
+     * @return {@code True} if current task requested to be stopped.
+     */
+    private boolean stopping() {
+        return err.get() != null;
+    }
+
+    /**
+     * @param exec Runnable task to execute.
+     * @return Wrapped task.
+     */
+    private Runnable wrapExceptionIfStarted(IgniteThrowableRunner exec) {
+        return () -> {
+            if (stopping())
+                return;
+
+            try {
+                exec.run();
+            }
+            catch (Throwable t) {
+                acceptException(t);
+            }
+        };
+    }
+
+    /**
+     * @param cacheCtx Cache context.
+     * @param grpDir Dump directory of the cache group.
+     */
+    private void storeCacheConfiguration(GridCacheContext<?, ?> cacheCtx, File grpDir) throws IgniteCheckedException {
+        CacheConfiguration<?, ?> ccfg = cacheCtx.config();
+
+        File cfgFile = new File(grpDir, ccfg.getGroupName() == null ? CACHE_DATA_FILENAME :
+            ccfg.getName() + CACHE_DATA_FILENAME);
+
+        cctx.cache().configManager().writeCacheData(
+            cctx.cache().cacheDescriptor(cacheCtx.cacheId()).toStoredData(cctx.cache().splitter()), cfgFile);
+    }
+
+    /**
+     * Writes entries of a partition, which existed at the dump start. The partition data tree is iterated in the
+     * order of the entries cache ID, hash code and key, so the iterator position allows to decide whether
+     * the changed entry has already been written by the iterator.
+     */
+    private class PartitionDumpWriter implements Closeable {
+        /** Cache group. */
+        private final CacheGroupContext grp;
+
+        /** Partition. */
+        private final GridDhtLocalPartition part;
+
+        /** Output stream. */
+        private final DataOutputStream out;
+
+        /** Keys of entries written on change, which are not reached by the partition iterator yet. */
+        private final Set<KeyCacheObject> changed = new HashSet<>();
+
+        /** Keys written by the iterator with the cache ID and hash code of the current iterator position. */
+        private final Set<KeyCacheObject> posKeys = new HashSet<>();
+
+        /** Cache ID of the current iterator position. */
+        private int posCacheId;
+
+        /** Hash code of the current iterator position. */
+        private int posHash;
+
+        /** {@code True} if the iterator has read at least one entry. */
+        private boolean posInit;
+
+        /** {@code True} if the writer is closed. */
+        private boolean closed;
+
+        /**
+         * @param grp Cache group.
+         * @param part Partition.
+         * @param file Partition dump file.
+         */
+        PartitionDumpWriter(CacheGroupContext grp, GridDhtLocalPartition part, File file) throws IOException {
+            this.grp = grp;
+            this.part = part;
+
+            out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(file.toPath()), BUF_SIZE), BUF_SIZE));
+        }
+
+        /**
+         * Writes entries of the partition existed at the dump start.
+         */
+        void dump() throws IgniteCheckedException {
+            try {
+                dump0();
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException("Failed to dump partition [name=" + snpName + ", grp=" +
+                    grp.cacheOrGroupName() + ", part=" + part.id() + ']', e);
+            }
+        }
+
+        /** */
+        private void dump0() throws IgniteCheckedException, IOException {
+            GridCursor<? extends CacheDataRow> cur = part.dataStore().cursor();
+
+            while (cur.next()) {
+                if (stopping())
+                    return;
+
+                CacheDataRow row = cur.get();
+
+                synchronized (this) {
+                    if (closed)
+                        return;
+
+                    int cacheId = grp.sharedGroup() ? row.cacheId() : CU.UNDEFINED_CACHE_ID;
+                    int hash = row.key().hashCode();
+
+                    if (!posInit || cacheId != posCacheId || hash != posHash) {
+                        posInit = true;
+                        posCacheId = cacheId;
+                        posHash = hash;
+
+                        posKeys.clear();
+                    }
+
+                    posKeys.add(row.key());
+
+                    if (changed.remove(row.key()) || row.version().isGreater(startVer))
+                        continue;
+
+                    write(grp.sharedGroup() ? row.cacheId() : grp.groupId(), row.key(), row, grp.cacheObjectContext());
+                }
+            }
+
+            synchronized (this) {
+                if (closed)
+                    return;
+
+                out.writeByte(END);
+
+                close();
+            }
+        }
+
+        /**
+         * Writes entry which existed at the dump start and is changed now, if it isn't written by the iterator yet.
+         *
+         * @param cacheCtx Cache context.
+         * @param key Key.
+         * @param oldRow Entry row before the change.
+         */
+        synchronized void writeChanged(GridCacheContext<?, ?> cacheCtx, KeyCacheObject key, CacheDataRow oldRow)
+            throws IgniteCheckedException {
+            if (closed || iterated(grp.sharedGroup() ? cacheCtx.cacheId() : CU.UNDEFINED_CACHE_ID, key))
+                return;
+
+            if (!changed.add(key))
+                return;
+
+            try {
+                write(cacheCtx.cacheId(), key, oldRow, cacheCtx.cacheObjectContext());
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException("Failed to write entry to dump [name=" + snpName + ", grp=" +
+                    grp.cacheOrGroupName() + ", part=" + part.id() + ']', e);
+            }
+        }
+
+        /**
+         * @param cacheId Cache ID as it is stored in the partition data tree.
+         * @param key Key.
+         * @return {@code True} if the iterator has already passed the key.
+         */
+        private boolean iterated(int cacheId, KeyCacheObject key) {
+            if (!posInit)
+                return false;
+
+            int cmp = Integer.compare(cacheId, posCacheId);
+
+            if (cmp == 0)
+                cmp = Integer.compare(key.hashCode(), posHash);
+
+            return cmp < 0 || (cmp == 0 && posKeys.contains(key));
+        }
+
+        /** */
+        private void write(int cacheId, KeyCacheObject key, CacheDataRow row, CacheObjectValueContext coCtx)
+            throws IOException, IgniteCheckedException {
+            out.writeByte(ENTRY);
+
+            DumpEntry.write(out, cacheId, row.expireTime(), row.version(), key, row.value(), coCtx);
+        }
+
+        /** {@inheritDoc} */
+        @Override public synchronized void close() throws IOException {
+            if (closed)
+                return;
+
+            closed = true;
+
+            out.close();
+        }
+    }
+}
@@ -112,6 +112,7 @@ import org.apache.ignite.internal.managers.encryption.GroupKey;
 import org.apache.ignite.internal.managers.encryption.GroupKeyEncrypted;
 import org.apache.ignite.internal.managers.eventstorage.DiscoveryEventListener;
 import org.apache.ignite.internal.managers.systemview.walker.SnapshotViewWalker;
+import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.PageIdUtils;
 import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
@@ -140,6 +141,7 @@ import org.apache.ignite.internal.processors.cache.persistence.metastorage.MetaS
 import org.apache.ignite.internal.processors.cache.persistence.metastorage.MetastorageLifecycleListener;
 import org.apache.ignite.internal.processors.cache.persistence.metastorage.ReadOnlyMetastorage;
 import org.apache.ignite.internal.processors.cache.persistence.metastorage.ReadWriteMetastorage;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
 import org.apache.ignite.internal.processors.cache.persistence.partstate.GroupPartitionId;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPageIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPagePayload;
@@ -193,6 +195,7 @@ import org.apache.ignite.spi.systemview.view.SnapshotView;
 import org.jetbrains.annotations.Nullable;
 
 import static java.nio.file.StandardOpenOption.READ;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SNAPSHOT_PAGE_TRACKING;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_SNAPSHOT_SEQUENTIAL_WRITE;
 import static org.apache.ignite.configuration.DataStorageConfiguration.DFLT_BINARY_METADATA_PATH;
 import static org.apache.ignite.configuration.DataStorageConfiguration.DFLT_MARSHALLER_PATH;
@@ -318,6 +321,12 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
     /** Default value of {@link IgniteSystemProperties#IGNITE_SNAPSHOT_SEQUENTIAL_WRITE}. */
     public static final boolean DFLT_IGNITE_SNAPSHOT_SEQUENTIAL_WRITE = true;
 
+    /** Default value of {@link IgniteSystemProperties#IGNITE_SNAPSHOT_PAGE_TRACKING}. */
+    public static final boolean DFLT_SNAPSHOT_PAGE_TRACKING = false;
+
+    /** Default value of {@link IgniteSystemProperties#IGNITE_INCREMENTAL_SNAPSHOT_READ_AHEAD_RECORDS}. */
+    public static final int DFLT_INCREMENTAL_SNAPSHOT_READ_AHEAD_RECORDS = 1024;
+
     /** Default value of check flag. */
     public static final boolean DFLT_CHECK_ON_RESTORE = false;
 
@@ -464,6 +473,9 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
     private final boolean sequentialWrite =
         IgniteSystemProperties.getBoolean(IGNITE_SNAPSHOT_SEQUENTIAL_WRITE, DFLT_IGNITE_SNAPSHOT_SEQUENTIAL_WRITE);
 
+    /** Tracker of the pages changed since the last full snapshot, {@code null} if the tracking is disabled. */
+    private volatile @Nullable SnapshotPageTracker pageTracker;
+
     /**
      * @param ctx Kernal context.
      */
@@ -524,8 +536,12 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         if (ctx.clientNode())
             return;
 
-        if (!CU.isPersistenceEnabled(ctx.config()))
+        if (!CU.isPersistenceEnabled(ctx.config())) {
+            // Cache dumps are available for in-memory clusters.
+            cctx.exchange().registerExchangeAwareComponent(this);
+
             return;
+        }
 
         assert cctx.pageStore() instanceof FilePageStoreManager;
 
@@ -540,6 +556,9 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         U.ensureDirectory(locSnpDir, "snapshot work directory", log);
         U.ensureDirectory(tmpWorkDir, "temp directory for snapshot creation", log);
 
+        if (IgniteSystemProperties.getBoolean(IGNITE_SNAPSHOT_PAGE_TRACKING, DFLT_SNAPSHOT_PAGE_TRACKING))
+            pageTracker = new SnapshotPageTracker(cctx);
+
         ctx.internalSubscriptionProcessor().registerDistributedConfigurationListener(
             new DistributedConfigurationLifecycleListener() {
                 @Override public void onReadyToRegister(DistributedPropertyDispatcher dispatcher) {
@@ -822,6 +841,18 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         return snpPath == null ? new File(locSnpDir, snpName) : new File(snpPath, snpName);
     }
 
+    /**
+     * @param name Dump name.
+     * @param dumpPath Dump directory path.
+     * @return Local dump directory. Unlike the snapshot directory, it is available on in-memory nodes.
+     */
+    public File dumpLocalDir(String name, @Nullable String dumpPath) {
+        assert U.alphanumericUnderscore(name) : name;
+
+        return dumpPath == null ? new File(resolveSnapshotWorkDirectory(cctx.gridConfig()), name) :
+            new File(dumpPath, name);
+    }
+
     /**
      * Returns path to specific incremental snapshot.
      * For example, {@code "work/snapshots/mybackup/increments/0000000000000001"}.
@@ -935,6 +966,12 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
                 "on the local node [missed=" + leftGrps + ", nodeId=" + cctx.localNodeId() + ']'));
         }
 
+        if (req.dump())
+            return initLocalDump(req, grpIds);
+
+        if (req.pageDelta())
+            return initLocalPageDeltaSnapshot(req);
+
         if (req.incremental()) {
             SnapshotMetadata meta;
 
@@ -1082,6 +1119,100 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         return task0;
     }
 
+    /**
+     * @param req Request on snapshot creation.
+     * @return Future which will be completed when the changed pages have been copied to the incremental snapshot.
+     */
+    private IgniteInternalFuture<SnapshotOperationResponse> initLocalPageDeltaSnapshot(SnapshotOperationRequest req) {
+        File snpDir = snapshotLocalDir(req.snapshotName(), req.snapshotPath());
+        File incSnpDir = incrementalSnapshotLocalDir(req.snapshotName(), req.snapshotPath(), req.incrementIndex());
+        SnapshotPageTracker tracker = pageTracker;
+        SnapshotMetadata meta;
+
+        try {
+            if (tracker == null || !F.eq(tracker.baseDirectory(), snpDir.getAbsolutePath())) {
+                throw new IgniteCheckedException("Page-delta incremental snapshot can be created only for the last full " +
+                    "snapshot created with enabled tracking of the changed pages [snpName=" + req.snapshotName() +
+                    ", property=" + IGNITE_SNAPSHOT_PAGE_TRACKING + ']');
+            }
+
+            meta = readSnapshotMetadata(new File(snpDir, snapshotMetaFileName(cctx.localNode().consistentId().toString())));
+        }
+        catch (IgniteCheckedException | IOException e) {
+            return new GridFinishedFuture<>(e);
+        }
+
+        Map<Integer, Set<Integer>> baseParts = new HashMap<>(meta.partitions());
+        baseParts.remove(METASTORAGE_CACHE_ID);
+
+        Map<Integer, Set<Integer>> parts = new HashMap<>();
+
+        for (Integer grpId : baseParts.keySet()) {
+            if (cctx.cache().cacheGroup(grpId) == null) {
+                return new GridFinishedFuture<>(new IgniteCheckedException("Cache group of the full snapshot doesn't " +
+                    "exist on the local node [snpName=" + req.snapshotName() + ", grpId=" + grpId + ']'));
+            }
+
+            // Index partition is not included if only primary partitions are snapshot.
+            parts.put(grpId, meta.onlyPrimary() ? baseParts.get(grpId) : null);
+        }
+
+        IgniteInternalFuture<?> task0 = parts.isEmpty()
+            ? new GridFinishedFuture<>(new SnapshotFutureTaskResult(Collections.emptySet(), null))
+            : registerTask(req.snapshotName(), new SnapshotFutureTask(cctx,
+                req.operationalNodeId(),
+                req.requestId(),
+                req.snapshotName(),
+                tmpWorkDir,
+                ioFactory,
+                new LocalSnapshotSender(incSnpDir),
+                parts,
+                false,
+                locBuff,
+                new File(snpDir, databaseRelativePath(pdsSettings.folderName()))));
+
+        return task0.chain(fut -> {
+            if (fut.error() != null)
+                throw F.wrap(fut.error());
+
+            SnapshotFutureTaskResult res = (SnapshotFutureTaskResult)fut.result();
+
+            Map<Integer, Set<Integer>> resParts = new HashMap<>();
+
+            for (GroupPartitionId pair : res.parts())
+                resParts.computeIfAbsent(pair.getGroupId(), g -> new HashSet<>()).add(pair.getPartitionId());
+
+            try {
+                // Partitions must be restored from the files of the full snapshot.
+                if (!resParts.equals(baseParts)) {
+                    throw new IgniteCheckedException("Partitions of the local node have changed since the full " +
+                        "snapshot, the full snapshot must be created [snpName=" + req.snapshotName() +
+                        ", parts=" + resParts + ", snpParts=" + baseParts + ']');
+                }
+
+                U.ensureDirectory(incSnpDir, "incremental snapshot directory", log);
+
+                storeSnapshotMeta(
+                    new IncrementalSnapshotMetadata(
+                        req.requestId(),
+                        req.snapshotName(),
+                        req.incrementIndex(),
+                        cctx.localNode().consistentId().toString(),
+                        pdsSettings.folderName(),
+                        res.snapshotPointer(),
+                        true
+                    ),
+                    new File(incSnpDir, snapshotMetaFileName(pdsSettings.folderName()))
+                );
+            }
+            catch (IgniteCheckedException e) {
+                throw F.wrap(e);
+            }
+
+            return new SnapshotOperationResponse();
+        }, snapshotExecutorService());
+    }
+
     /**
      * @param snpName Full snapshot name.
      * @param snpPath Optional path to snapshot, if differs from default.
@@ -1197,6 +1328,9 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
 
                 log.info("Snapshot metafile has been created: " + smf.getAbsolutePath());
 
+                if (pageTracker != null && fut instanceof SnapshotFutureTask)
+                    pageTracker.onFullSnapshotCreated(snpDir.getAbsolutePath(), ((SnapshotFutureTask)fut).pageTag());
+
                 return new SnapshotOperationResponse(handlers.invokeAll(SnapshotHandlerType.CREATE, ctx));
             }
             catch (IgniteCheckedException e) {
@@ -1205,6 +1339,47 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         }, snapshotExecutorService());
     }
 
+    /**
+     * @param req Request on cache dump creation.
+     * @param grpIds Cache groups to dump.
+     * @return Future which will be completed when the dump has been created on the local node.
+     */
+    private IgniteInternalFuture<SnapshotOperationResponse> initLocalDump(
+        SnapshotOperationRequest req,
+        List<Integer> grpIds
+    ) {
+        Map<Integer, Set<Integer>> parts = new HashMap<>();
+
+        // Only primary copies of partitions are dumped, so each entry is written once.
+        for (Integer grpId : grpIds) {
+            CacheGroupContext grpCtx = cctx.cache().cacheGroup(grpId);
+
+            if (grpCtx == null)
+                continue;
+
+            parts.put(grpId, new HashSet<>(grpCtx.affinity().primaryPartitions(cctx.localNodeId(),
+                grpCtx.affinity().lastVersion())));
+        }
+
+        if (parts.isEmpty())
+            return new GridFinishedFuture<>(new SnapshotOperationResponse());
+
+        AbstractSnapshotFutureTask<?> task = registerTask(req.snapshotName(), new CreateDumpFutureTask(cctx,
+            req.operationalNodeId(),
+            req.requestId(),
+            req.snapshotName(),
+            dumpLocalDir(req.snapshotName(), req.snapshotPath()),
+            ioFactory,
+            parts));
+
+        return task.chain(fut -> {
+            if (fut.error() != null)
+                throw F.wrap(fut.error());
+
+            return new SnapshotOperationResponse();
+        }, snapshotExecutorService());
+    }
+
     /**
      * @param id Request id.
      * @param res Results.
@@ -1374,11 +1549,21 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
             return (IgniteInternalFuture<SnapshotOperationResponse>)prepFut;
 
         return prepFut.chain(r -> {
+            if (req.dump()) {
+                if (req.error() != null) {
+                    snpReq.error(req.error());
+
+                    U.delete(dumpLocalDir(req.snapshotName(), req.snapshotPath()));
+                }
+
+                return new SnapshotOperationResponse();
+            }
+
             try {
                 if (req.error() != null) {
                     snpReq.error(req.error());
 
-                    if (req.incremental())
+                    if (req.incremental() || req.pageDelta())
                         U.delete(incrementalSnapshotLocalDir(req.snapshotName(), req.snapshotPath(), req.incrementIndex()));
                     else
                         deleteSnapshot(snapshotLocalDir(req.snapshotName(), req.snapshotPath()), pdsSettings.folderName());
@@ -1395,10 +1580,13 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
 
                 removeLastMetaStorageKey();
 
-                if (req.error() == null) {
+                if (req.error() == null && !req.pageDelta()) {
                     Collection<Integer> grpIds = req.groups().stream().map(CU::cacheId).collect(Collectors.toList());
 
                     enableIncrementalSnapshotsCreation(grpIds);
+
+                    if (pageTracker != null && !req.incremental())
+                        pageTracker.onFullSnapshotCompleted(snapshotLocalDir(req.snapshotName(), req.snapshotPath()).getAbsolutePath());
                 }
             }
             catch (Exception e) {
@@ -1583,6 +1771,25 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         return sequentialWrite;
     }
 
+    /** @return Tracker of the pages changed since the last full snapshot, {@code null} if the tracking is disabled. */
+    public @Nullable SnapshotPageTracker pageTracker() {
+        return pageTracker;
+    }
+
+    /**
+     * Marks the page changed since the last full snapshot if the tracking is enabled.
+     *
+     * @param fullId Full id of the changed page.
+     * @param pageMem Page memory.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void onChangeTrackerPage(FullPageId fullId, PageMemoryEx pageMem) throws IgniteCheckedException {
+        SnapshotPageTracker tracker = pageTracker;
+
+        if (tracker != null)
+            tracker.onPageChanged(fullId, pageMem);
+    }
+
     /**
      * @param restoreId Restore process ID.
      * @return Server nodes on which a successful start of the cache(s) is required, if any of these nodes fails when
@@ -2114,6 +2321,11 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         return createSnapshot(name, null, true, false);
     }
 
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Void> createPageDeltaSnapshot(String name) {
+        return createSnapshot(name, null, true, false, true);
+    }
+
     /**
      * Create a consistent copy of all persistence cache groups from the whole cluster.
      *
@@ -2128,10 +2340,31 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         @Nullable String snpPath,
         boolean incremental,
         boolean onlyPrimary
+    ) {
+        return createSnapshot(name, snpPath, incremental, onlyPrimary, false);
+    }
+
+    /**
+     * Create a consistent copy of all persistence cache groups from the whole cluster.
+     *
+     * @param name Snapshot unique name which satisfies the following name pattern [a-zA-Z0-9_].
+     * @param snpPath Snapshot directory path.
+     * @param incremental Incremental snapshot flag.
+     * @param onlyPrimary If {@code true} snapshot only primary copies of partitions.
+     * @param pageDelta If {@code true} the incremental snapshot contains the pages changed since the full snapshot.
+     * @return Future which will be completed when a process ends.
+     */
+    public IgniteFutureImpl<Void> createSnapshot(
+        String name,
+        @Nullable String snpPath,
+        boolean incremental,
+        boolean onlyPrimary,
+        boolean pageDelta
     ) {
         A.notNullOrEmpty(name, "Snapshot name cannot be null or empty.");
         A.ensure(U.alphanumericUnderscore(name), "Snapshot name must satisfy the following name pattern: a-zA-Z0-9_");
         A.ensure(!(incremental && onlyPrimary), "Only primary not supported for incremental snapshots");
+        A.ensure(!pageDelta || incremental, "Page-delta snapshot must be incremental");
 
         try {
             cctx.kernalContext().security().authorize(ADMIN_SNAPSHOT);
@@ -2156,7 +2389,7 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
                 return new IgniteSnapshotFutureImpl(cctx.kernalContext().closure()
                     .callAsync(
                         BALANCE,
-                        new CreateSnapshotCallable(name, incremental, onlyPrimary),
+                        new CreateSnapshotCallable(name, incremental, onlyPrimary, pageDelta),
                         options(Collections.singletonList(crd)).withFailoverDisabled()
                     ));
             }
@@ -2187,7 +2420,7 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
                 }
 
                 if (incremental) {
-                    if (!cctx.gridConfig().getDataStorageConfiguration().isWalCompactionEnabled()) {
+                    if (!pageDelta && !cctx.gridConfig().getDataStorageConfiguration().isWalCompactionEnabled()) {
                         throw new IgniteException("Create incremental snapshot request has been rejected. " +
                             "WAL compaction must be enabled.");
                     }
@@ -2197,7 +2430,23 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
                                 "Base snapshot with given name doesn't exist on local node.");
                     }
 
+                    if (pageDelta && (pageTracker == null ||
+                        !F.eq(pageTracker.baseDirectory(), snapshotLocalDir(name, snpPath).getAbsolutePath()))) {
+                        throw new IgniteException("Create page-delta incremental snapshot request has been rejected. " +
+                            "The snapshot must be the last full snapshot created with enabled tracking of the changed " +
+                            "pages [property=" + IGNITE_SNAPSHOT_PAGE_TRACKING + ']');
+                    }
+
                     incIdx = maxLocalIncrementSnapshot(name, snpPath) + 1;
+
+                    File prevMetaFile = new File(incrementalSnapshotLocalDir(name, snpPath, incIdx - 1),
+                        snapshotMetaFileName(pdsSettings.folderName()));
+
+                    if (incIdx > 1 && prevMetaFile.exists() &&
+                        this.<IncrementalSnapshotMetadata>readFromFile(prevMetaFile).pageDelta() != pageDelta) {
+                        throw new IgniteException("Create incremental snapshot request has been rejected. " +
+                            "WAL and page-delta incremental snapshots can't be created for the same snapshot.");
+                    }
                 }
 
                 if (isRestoring()) {
@@ -2246,9 +2495,11 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
                 snpPath,
                 grps,
                 bltNodeIds,
-                incremental,
+                incremental && !pageDelta,
                 incIdx,
-                onlyPrimary
+                onlyPrimary,
+                false,
+                pageDelta
             ));
 
             String msg =
@@ -2279,6 +2530,117 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<Void> createDump(String name, @Nullable Collection<String> cacheGrpNames) {
+        A.notNullOrEmpty(name, "Dump name cannot be null or empty.");
+        A.ensure(U.alphanumericUnderscore(name), "Dump name must satisfy the following name pattern: a-zA-Z0-9_");
+        A.ensure(cacheGrpNames == null || !cacheGrpNames.isEmpty(), "Cache group names cannot be empty.");
+
+        try {
+            cctx.kernalContext().security().authorize(ADMIN_SNAPSHOT);
+
+            if (!IgniteFeatures.allNodesSupports(cctx.discovery().aliveServerNodes(), PERSISTENCE_CACHE_SNAPSHOT))
+                throw new IgniteException("Not all nodes in the cluster support a snapshot operation.");
+
+            if (!cctx.kernalContext().state().clusterState().state().active())
+                throw new IgniteException("Dump operation has been rejected. The cluster is inactive.");
+
+            DiscoveryDataClusterState clusterState = cctx.kernalContext().state().clusterState();
+
+            if (!clusterState.hasBaselineTopology())
+                throw new IgniteException("Dump operation has been rejected. The baseline topology is not configured for cluster.");
+
+            if (cctx.kernalContext().clientNode()) {
+                ClusterNode crd = U.oldest(cctx.kernalContext().discovery().aliveServerNodes(), null);
+
+                if (crd == null)
+                    throw new IgniteException("There is no alive server nodes in the cluster");
+
+                return new IgniteSnapshotFutureImpl(cctx.kernalContext().closure()
+                    .callAsync(
+                        BALANCE,
+                        new CreateDumpCallable(name, cacheGrpNames),
+                        options(Collections.singletonList(crd)).withFailoverDisabled()
+                    ));
+            }
+
+            List<String> grps = new ArrayList<>();
+
+            if (cacheGrpNames == null) {
+                for (CacheGroupDescriptor desc : cctx.cache().cacheGroupDescriptors().values()) {
+                    if (cctx.cache().cacheType(desc.cacheOrGroupName()) == CacheType.USER)
+                        grps.add(desc.cacheOrGroupName());
+                }
+            }
+            else {
+                for (String grpName : cacheGrpNames) {
+                    if (cctx.cache().cacheGroupDescriptor(CU.cacheId(grpName)) == null)
+                        throw new IgniteException("Dump operation has been rejected. Cache group not found: " + grpName);
+
+                    grps.add(grpName);
+                }
+            }
+
+            if (dumpLocalDir(name, null).exists()) {
+                throw new IgniteException("Create dump request has been rejected. " +
+                    "Dump with given name already exists on local node.");
+            }
+
+            ClusterSnapshotFuture snpFut0;
+
+            synchronized (snpOpMux) {
+                if (clusterSnpFut != null && !clusterSnpFut.isDone()) {
+                    throw new IgniteException(
+                        "Create dump request has been rejected. The previous snapshot operation was not completed."
+                    );
+                }
+
+                if (clusterSnpReq != null)
+                    throw new IgniteException("Create dump request has been rejected. Parallel snapshot processes are not allowed.");
+
+                if (isRestoring()) {
+                    throw new IgniteException(
+                        "Dump operation has been rejected. Cache group restore operation is currently in progress."
+                    );
+                }
+
+                snpFut0 = new ClusterSnapshotFuture(UUID.randomUUID(), name, -1);
+
+                clusterSnpFut = snpFut0;
+                lastSeenSnpFut = snpFut0;
+            }
+
+            Set<UUID> bltNodeIds = new HashSet<>(F.viewReadOnly(cctx.discovery().serverNodes(AffinityTopologyVersion.NONE),
+                F.node2id(), (node) -> CU.baselineNode(node, clusterState)));
+
+            startSnpProc.start(snpFut0.rqId, new SnapshotOperationRequest(
+                snpFut0.rqId,
+                cctx.localNodeId(),
+                name,
+                null,
+                grps,
+                bltNodeIds,
+                false,
+                -1,
+                true,
+                true,
+                false
+            ));
+
+            if (log.isInfoEnabled())
+                log.info("Cluster-wide dump operation started [name=" + name + ", grps=" + grps + ']');
+
+            return new IgniteFutureImpl<>(snpFut0);
+        }
+        catch (Exception e) {
+            U.error(log, "Cluster-wide dump operation failed: ", e);
+
+            lastSeenSnpFut = new ClusterSnapshotFuture(name, e);
+
+            return new IgniteFinishedFutureImpl<>(e);
+        }
+    }
+
     /** Writes a warning message if an incremental snapshot contains atomic caches. */
     void warnAtomicCachesInIncrementalSnapshot(String snpName, int incIdx, Collection<String> cacheGrps) {
         List<String> warnCaches = new ArrayList<>();
@@ -2370,12 +2732,30 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
 
             recovered = false;
         }
+
+        SnapshotPageTracker tracker = pageTracker;
+
+        if (tracker != null)
+            tracker.onReadyForReadWrite(metaStorage);
+        else {
+            cctx.database().checkpointReadLock();
+
+            try {
+                SnapshotPageTracker.resetBase(metaStorage);
+            }
+            finally {
+                cctx.database().checkpointReadUnlock();
+            }
+        }
     }
 
     /** {@inheritDoc} */
     @Override public void onReadyForRead(ReadOnlyMetastorage metaStorage) throws IgniteCheckedException {
         restoreCacheGrpProc.cleanup();
 
+        if (pageTracker != null)
+            pageTracker.onReadyForRead(metaStorage);
+
         // Snapshot which has not been completed due to the local node crashed must be deleted.
         String snpName = (String)metaStorage.read(SNP_RUNNING_KEY);
         String snpDirName = snpName == null ? (String)metaStorage.read(SNP_RUNNING_DIR_KEY) : null;
@@ -2430,6 +2810,13 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         if (task == null)
             return;
 
+        // Dump doesn't require a checkpoint, entries changed after the start are dumped on change.
+        if (snpReq.dump()) {
+            task.start();
+
+            return;
+        }
+
         if (task.start()) {
             cctx.database().forceNewCheckpoint(String.format("Start snapshot operation: %s", snpReq.snapshotName()), lsnr -> {});
 
@@ -4065,9 +4452,16 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
          * @param snpPath Snapshot directory path.
          */
         public LocalSnapshotSender(String snpName, @Nullable String snpPath) {
+            this(snapshotLocalDir(snpName, snpPath));
+        }
+
+        /**
+         * @param snpLocDir Local snapshot directory.
+         */
+        public LocalSnapshotSender(File snpLocDir) {
             super(IgniteSnapshotManager.this.log, cctx.kernalContext().pools().getSnapshotExecutorService());
 
-            snpLocDir = snapshotLocalDir(snpName, snpPath);
+            this.snpLocDir = snpLocDir;
             pageSize = cctx.kernalContext().config().getDataStorageConfiguration().getPageSize();
         }
 
@@ -4527,6 +4921,9 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         /** If {@code true} snapshot only primary copies of partitions. */
         private final boolean onlyPrimary;
 
+        /** If {@code true} the incremental snapshot contains the pages changed since the full snapshot. */
+        private final boolean pageDelta;
+
         /** Auto-injected grid instance. */
         @IgniteInstanceResource
         private transient IgniteEx ignite;
@@ -4534,15 +4931,18 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         /**
          * @param snpName Snapshot name.
          */
-        public CreateSnapshotCallable(String snpName, boolean incremental, boolean onlyPrimary) {
+        public CreateSnapshotCallable(String snpName, boolean incremental, boolean onlyPrimary, boolean pageDelta) {
             this.snpName = snpName;
             this.incremental = incremental;
             this.onlyPrimary = onlyPrimary;
+            this.pageDelta = pageDelta;
         }
 
         /** {@inheritDoc} */
         @Override public Void call() throws Exception {
-            if (incremental)
+            if (pageDelta)
+                ignite.snapshot().createPageDeltaSnapshot(snpName).get();
+            else if (incremental)
                 ignite.snapshot().createIncrementalSnapshot(snpName).get();
             else
                 ignite.context().cache().context().snapshotMgr().createSnapshot(snpName, null, false, onlyPrimary).get();
@@ -4551,6 +4951,39 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
         }
     }
 
+    /** Start creation of cluster cache dump closure. */
+    @GridInternal
+    private static class CreateDumpCallable implements IgniteCallable<Void> {
+        /** Serial version UID. */
+        private static final long serialVersionUID = 0L;
+
+        /** Dump name. */
+        private final String name;
+
+        /** Cache group names. */
+        private final Collection<String> cacheGrpNames;
+
+        /** Auto-injected grid instance. */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /**
+         * @param name Dump name.
+         * @param cacheGrpNames Cache group names.
+         */
+        public CreateDumpCallable(String name, @Nullable Collection<String> cacheGrpNames) {
+            this.name = name;
+            this.cacheGrpNames = cacheGrpNames;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Void call() throws Exception {
+            ignite.snapshot().createDump(name, cacheGrpNames).get();
+
+            return null;
+        }
+    }
+
     /** Cancel snapshot operation closure. */
     @GridInternal
     private static class CancelSnapshotCallable implements IgniteCallable<Boolean> {
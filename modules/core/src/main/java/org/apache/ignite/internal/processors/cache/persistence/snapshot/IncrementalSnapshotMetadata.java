@@ -55,6 +55,10 @@ public class IncrementalSnapshotMetadata implements Serializable {
     /** WAL pointer to {@link IncrementalSnapshotFinishRecord}. */
     private final WALPointer incSnpRec;
 
+    /** {@code True} if the increment contains the pages changed since the full snapshot instead of WAL segments. */
+    @GridToStringInclude
+    private final boolean pageDelta;
+
     /**
      * @param rqId Unique request id.
      * @param snpName Snapshot name.
@@ -70,6 +74,28 @@ public class IncrementalSnapshotMetadata implements Serializable {
         String consId,
         String folderName,
         WALPointer incSnpRec
+    ) {
+        this(rqId, snpName, incIdx, consId, folderName, incSnpRec, false);
+    }
+
+    /**
+     * @param rqId Unique request id.
+     * @param snpName Snapshot name.
+     * @param incIdx Incremental snapshot index.
+     * @param consId Consistent id of a node to which this metadata relates.
+     * @param folderName Directory name which stores the data files.
+     * @param incSnpRec Pointer to {@link IncrementalSnapshotFinishRecord} or to the snapshot record of page-delta
+     * incremental snapshot.
+     * @param pageDelta {@code True} if the increment contains the pages changed since the full snapshot.
+     */
+    public IncrementalSnapshotMetadata(
+        UUID rqId,
+        String snpName,
+        int incIdx,
+        String consId,
+        String folderName,
+        WALPointer incSnpRec,
+        boolean pageDelta
     ) {
         this.rqId = rqId;
         this.snpName = snpName;
@@ -77,6 +103,7 @@ public class IncrementalSnapshotMetadata implements Serializable {
         this.consId = consId;
         this.folderName = folderName;
         this.incSnpRec = incSnpRec;
+        this.pageDelta = pageDelta;
     }
 
     /** @return Snapshot request ID. */
@@ -104,6 +131,11 @@ public class IncrementalSnapshotMetadata implements Serializable {
         return incIdx;
     }
 
+    /** @return {@code True} if the increment contains the pages changed since the full snapshot instead of WAL segments. */
+    public boolean pageDelta() {
+        return pageDelta;
+    }
+
     /** @return Name of the folder that contains snapshot data. */
     public String folderName() {
         return folderName;
@@ -39,6 +39,7 @@ import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.ClusterSnapshotRecord;
 import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
 import org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager;
+import org.apache.ignite.internal.processors.cache.persistence.wal.ReadAheadWalIterator;
 import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.reader.IgniteWalIteratorFactory;
 import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
@@ -47,11 +48,14 @@ import org.apache.ignite.lang.IgniteBiTuple;
 import org.apache.ignite.lang.IgnitePredicate;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INCREMENTAL_SNAPSHOT_READ_AHEAD_RECORDS;
+import static org.apache.ignite.IgniteSystemProperties.getInteger;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.CLUSTER_SNAPSHOT;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_RECORD_V2;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.INCREMENTAL_SNAPSHOT_FINISH_RECORD;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.INCREMENTAL_SNAPSHOT_START_RECORD;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.TX_RECORD;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.DFLT_INCREMENTAL_SNAPSHOT_READ_AHEAD_RECORDS;
 import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.incrementalSnapshotWalsDir;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.WAL_SEGMENT_COMPACTED_OR_RAW_FILE_FILTER;
 
@@ -75,6 +79,10 @@ abstract class IncrementalSnapshotProcessor {
     /** Snapshot cache IDs. */
     private final Set<Integer> cacheIds;
 
+    /** Maximum number of WAL records read ahead of the handlers. */
+    private final int readAheadRecords =
+        getInteger(IGNITE_INCREMENTAL_SNAPSHOT_READ_AHEAD_RECORDS, DFLT_INCREMENTAL_SNAPSHOT_READ_AHEAD_RECORDS);
+
     /** */
     IncrementalSnapshotProcessor(GridCacheSharedContext<?, ?> cctx, String snpName, String snpPath, int incIdx, Set<Integer> cacheIds) {
         this.cctx = cctx;
@@ -134,7 +142,7 @@ abstract class IncrementalSnapshotProcessor {
 
         // Create a single WAL iterator for 2 steps: finding ClusterSnapshotRecord and applying incremental snapshots.
         // TODO: Fix it after resolving https://issues.apache.org/jira/browse/IGNITE-18718.
-        try (WALIterator it = walIter(log, recTypes, segments)) {
+        try (WALIterator it = readAhead(walIter(log, recTypes, segments))) {
             long startIdx = -1;
 
             // Step 1. Skips applying WAL until base snapshot record has been reached.
@@ -287,6 +295,19 @@ abstract class IncrementalSnapshotProcessor {
                 .filesOrDirs(segments));
     }
 
+    /**
+     * Reads WAL records in a separate thread, so parsing of segments overlaps with applying the records.
+     *
+     * @param it WAL iterator.
+     * @return Iterator reading records ahead, or the same iterator if read ahead is disabled.
+     */
+    private WALIterator readAhead(WALIterator it) {
+        if (readAheadRecords <= 0)
+            return it;
+
+        return new ReadAheadWalIterator(cctx.igniteInstanceName(), it, readAheadRecords);
+    }
+
     /**
      * @param segCnt Total WAL segments in the incremental snapshot.
      */
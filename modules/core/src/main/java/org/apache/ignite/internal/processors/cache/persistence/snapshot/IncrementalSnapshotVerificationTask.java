@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -63,6 +64,7 @@ import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.managers.discovery.ConsistentIdMapper.ALL_NODES;
 import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.databaseRelativePath;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.PageDeltaFile.PAGE_DELTA_SUFFIX;
 
 /** */
 @GridInternal
@@ -216,6 +218,11 @@ public class IncrementalSnapshotVerificationTask extends AbstractSnapshotVerific
                 if (incIdx <= 0)
                     return new IncrementalSnapshotVerificationTaskResult();
 
+                IgniteSnapshotManager snpMgr = ignite.context().cache().context().snapshotMgr();
+
+                if (snpMgr.readIncrementalSnapshotMetadata(snpName, snpPath, incIdx).pageDelta())
+                    return verifyChangedPages(snpMgr);
+
                 BaselineTopology blt = ignite.context().state().clusterState().baselineTopology();
 
                 checkBaseline(blt);
@@ -399,6 +406,50 @@ public class IncrementalSnapshotVerificationTask extends AbstractSnapshotVerific
             }
         }
 
+        /**
+         * Checks the files of page-delta incremental snapshot. The changed pages are checked after they are applied
+         * to the partitions of the full snapshot on restore.
+         *
+         * @param snpMgr Snapshot manager.
+         * @return Result with the exceptions occurred.
+         */
+        private IncrementalSnapshotVerificationTaskResult verifyChangedPages(IgniteSnapshotManager snpMgr) throws IgniteCheckedException {
+            String folderName = ignite.context().pdsFolderResolver().resolveFolders().folderName();
+
+            File dbDir = new File(snpMgr.incrementalSnapshotLocalDir(snpName, snpPath, incIdx), databaseRelativePath(folderName));
+
+            List<Exception> exceptions = new ArrayList<>();
+            int files = 0;
+
+            File[] cacheDirs = dbDir.listFiles(File::isDirectory);
+
+            for (File cacheDir : cacheDirs == null ? new File[0] : cacheDirs) {
+                File[] pageFiles = cacheDir.listFiles((dir, name) -> name.endsWith(PAGE_DELTA_SUFFIX));
+
+                for (File pageFile : pageFiles == null ? new File[0] : pageFiles) {
+                    try {
+                        PageDeltaFile.read(snpMgr.ioFactory(), pageFile);
+
+                        files++;
+                    }
+                    catch (IgniteCheckedException | IOException e) {
+                        exceptions.add(e);
+                    }
+                }
+            }
+
+            if (log.isInfoEnabled()) {
+                log.info("Verify page-delta incremental snapshot procedure finished " +
+                    "[snpName=" + snpName + ", incrementIndex=" + incIdx + ", consId=" + consId + ", files=" + files + ']');
+            }
+
+            return new IncrementalSnapshotVerificationTaskResult(
+                Collections.emptyMap(),
+                Collections.emptyMap(),
+                Collections.emptyList(),
+                exceptions);
+        }
+
         /** Checks that current baseline topology matches baseline topology of the snapshot. */
         private void checkBaseline(BaselineTopology blt) throws IgniteCheckedException, IOException {
             IgniteSnapshotManager snpMgr = ignite.context().cache().context().snapshotMgr();
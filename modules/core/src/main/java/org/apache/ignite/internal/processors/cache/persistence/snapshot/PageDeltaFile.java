@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Pages of a partition file copied to a page-delta incremental snapshot. The file consists of the header page, the
+ * header of the partition file, the sorted page indexes and the pages in the order of the indexes. Each part is
+ * aligned to the page size. The header holds the page size, the partition file header size and the count of
+ * the partition pages at the snapshot point.
+ */
+public class PageDeltaFile {
+    /** Suffix of the page-delta file name, the file name is the partition file name with the suffix. */
+    public static final String PAGE_DELTA_SUFFIX = ".pages";
+
+    /** Magic number of the file. */
+    private static final int MAGIC = 0x50474454;
+
+    /** Version of the file format. */
+    private static final int VERSION = 1;
+
+    /** Page size. */
+    private final int pageSize;
+
+    /** Header size of the partition file. */
+    private final int partHdrSize;
+
+    /** Count of the partition pages at the snapshot point. */
+    private final int pagesCnt;
+
+    /** Sorted indexes of the pages. */
+    private final int[] idxs;
+
+    /**
+     * @param pageSize Page size.
+     * @param partHdrSize Header size of the partition file.
+     * @param pagesCnt Count of the partition pages at the snapshot point.
+     * @param idxs Sorted indexes of the pages.
+     */
+    private PageDeltaFile(int pageSize, int partHdrSize, int pagesCnt, int[] idxs) {
+        this.pageSize = pageSize;
+        this.partHdrSize = partHdrSize;
+        this.pagesCnt = pagesCnt;
+        this.idxs = idxs;
+    }
+
+    /** @return Count of the partition pages at the snapshot point. */
+    public int partitionPages() {
+        return pagesCnt;
+    }
+
+    /** @return Count of the pages in the file. */
+    public int pages() {
+        return idxs.length;
+    }
+
+    /** @return Offset of the page indexes in the file. */
+    private long indexesOffset() {
+        return pageSize + align(partHdrSize);
+    }
+
+    /** @return Offset of the first page in the file. */
+    private long pagesOffset() {
+        return indexesOffset() + align((long)idxs.length * Integer.BYTES);
+    }
+
+    /**
+     * @param size Size.
+     * @return Size aligned to the page size.
+     */
+    private long align(long size) {
+        return (size + pageSize - 1) / pageSize * pageSize;
+    }
+
+    /** @return Expected size of the file. */
+    private long size() {
+        return pagesOffset() + (long)idxs.length * pageSize;
+    }
+
+    /**
+     * Copies the pages of the partition file and overwrites them with the original pages which have been
+     * changed after the snapshot point.
+     *
+     * @param ioFactory File IO factory.
+     * @param part Partition file.
+     * @param partHdrSize Header size of the partition file.
+     * @param pageSize Page size.
+     * @param pagesCnt Count of the partition pages at the snapshot point.
+     * @param idxs Sorted indexes of the pages to copy.
+     * @param out Page-delta file to write.
+     * @return Page-delta file.
+     * @throws IOException If failed.
+     */
+    public static PageDeltaFile write(
+        FileIOFactory ioFactory,
+        File part,
+        int partHdrSize,
+        int pageSize,
+        int pagesCnt,
+        int[] idxs,
+        File out
+    ) throws IOException {
+        PageDeltaFile delta = new PageDeltaFile(pageSize, partHdrSize, pagesCnt, idxs);
+
+        ByteBuffer buf = ByteBuffer.allocate(pageSize).order(ByteOrder.nativeOrder());
+
+        try (FileIO partIo = ioFactory.create(part, READ); FileIO outIo = ioFactory.create(out, CREATE, WRITE)) {
+            buf.putInt(MAGIC).putInt(VERSION).putInt(pageSize).putInt(partHdrSize).putInt(pagesCnt).putInt(idxs.length);
+
+            buf.clear();
+
+            outIo.writeFully(buf, 0);
+
+            ByteBuffer partHdr = ByteBuffer.allocate((int)delta.align(partHdrSize)).order(ByteOrder.nativeOrder());
+
+            partHdr.limit(partHdrSize);
+
+            partIo.readFully(partHdr, 0);
+
+            partHdr.clear();
+
+            outIo.writeFully(partHdr, pageSize);
+
+            ByteBuffer idxBuf = ByteBuffer.allocate((int)(delta.pagesOffset() - delta.indexesOffset()))
+                .order(ByteOrder.nativeOrder());
+
+            idxBuf.asIntBuffer().put(idxs);
+
+            outIo.writeFully(idxBuf, delta.indexesOffset());
+
+            for (int i = 0; i < idxs.length; i++) {
+                buf.clear();
+
+                int read = partIo.readFully(buf, partHdrSize + (long)idxs[i] * pageSize);
+
+                // Page is allocated but not written yet.
+                for (int pos = Math.max(read, 0); pos < pageSize; pos++)
+                    buf.put(pos, (byte)0);
+
+                buf.clear();
+
+                outIo.writeFully(buf, delta.pagesOffset() + (long)i * pageSize);
+            }
+        }
+
+        return delta;
+    }
+
+    /**
+     * Overwrites the copied pages with the original ones stored to the partition delta file by the copy-on-write.
+     *
+     * @param ioFactory File IO factory.
+     * @param partDelta Partition delta file with the original pages.
+     * @param out Page-delta file.
+     * @throws IOException If failed.
+     */
+    public void overlay(FileIOFactory ioFactory, File partDelta, File out) throws IOException {
+        if (!partDelta.exists() || partDelta.length() == 0)
+            return;
+
+        ByteBuffer buf = ByteBuffer.allocate(pageSize).order(ByteOrder.nativeOrder());
+
+        try (FileIO deltaIo = ioFactory.create(partDelta, READ); FileIO outIo = ioFactory.create(out, WRITE)) {
+            long size = deltaIo.size();
+
+            for (long pos = 0; pos + pageSize <= size; pos += pageSize) {
+                buf.clear();
+
+                deltaIo.readFully(buf, pos);
+
+                buf.clear();
+
+                int i = Arrays.binarySearch(idxs, PageIdUtils.pageIndex(PageIO.getPageId(buf)));
+
+                if (i < 0)
+                    continue;
+
+                outIo.writeFully(buf, pagesOffset() + (long)i * pageSize);
+            }
+        }
+    }
+
+    /**
+     * Writes the pages to the partition file restored from the base snapshot and truncates the file to the size
+     * at the snapshot point. The file is created if the partition is absent in the base snapshot.
+     *
+     * @param ioFactory File IO factory.
+     * @param delta Page-delta file.
+     * @param part Partition file.
+     * @throws IgniteCheckedException If the page-delta file is corrupted.
+     * @throws IOException If failed.
+     */
+    public static void apply(FileIOFactory ioFactory, File delta, File part) throws IgniteCheckedException, IOException {
+        try (FileIO deltaIo = ioFactory.create(delta, READ); FileIO partIo = ioFactory.create(part, CREATE, READ, WRITE)) {
+            PageDeltaFile pages = read(deltaIo, delta);
+
+            ByteBuffer buf = ByteBuffer.allocate(pages.pageSize).order(ByteOrder.nativeOrder());
+
+            ByteBuffer partHdr = ByteBuffer.allocate(pages.partHdrSize).order(ByteOrder.nativeOrder());
+
+            deltaIo.readFully(partHdr, pages.pageSize);
+
+            partHdr.flip();
+
+            partIo.writeFully(partHdr, 0);
+
+            for (int i = 0; i < pages.idxs.length; i++) {
+                buf.clear();
+
+                deltaIo.readFully(buf, pages.pagesOffset() + (long)i * pages.pageSize);
+
+                buf.clear();
+
+                partIo.writeFully(buf, pages.partHdrSize + (long)pages.idxs[i] * pages.pageSize);
+            }
+
+            long len = pages.partHdrSize + (long)pages.pagesCnt * pages.pageSize;
+
+            if (partIo.size() > len)
+                partIo.truncate(len);
+
+            partIo.force();
+        }
+    }
+
+    /**
+     * @param ioFactory File IO factory.
+     * @param delta Page-delta file.
+     * @return Page-delta file.
+     * @throws IgniteCheckedException If the file is corrupted.
+     * @throws IOException If failed.
+     */
+    public static PageDeltaFile read(FileIOFactory ioFactory, File delta) throws IgniteCheckedException, IOException {
+        try (FileIO io = ioFactory.create(delta, READ)) {
+            return read(io, delta);
+        }
+    }
+
+    /**
+     * @param io Page-delta file IO.
+     * @param delta Page-delta file.
+     * @return Page-delta file.
+     * @throws IgniteCheckedException If the file is corrupted.
+     * @throws IOException If failed.
+     */
+    private static PageDeltaFile read(FileIO io, File delta) throws IgniteCheckedException, IOException {
+        ByteBuffer hdr = ByteBuffer.allocate(6 * Integer.BYTES).order(ByteOrder.nativeOrder());
+
+        if (io.readFully(hdr, 0) != hdr.capacity() || hdr.getInt(0) != MAGIC || hdr.getInt(4) != VERSION)
+            throw new IgniteCheckedException("Page-delta snapshot file is corrupted: " + delta.getAbsolutePath());
+
+        hdr.flip();
+        hdr.position(2 * Integer.BYTES);
+
+        int pageSize = hdr.getInt();
+        int partHdrSize = hdr.getInt();
+        int pagesCnt = hdr.getInt();
+        int[] idxs = new int[hdr.getInt()];
+
+        ByteBuffer idxBuf = ByteBuffer.allocate(idxs.length * Integer.BYTES).order(ByteOrder.nativeOrder());
+
+        PageDeltaFile pages = new PageDeltaFile(pageSize, partHdrSize, pagesCnt, idxs);
+
+        io.readFully(idxBuf, pages.indexesOffset());
+
+        idxBuf.flip();
+        idxBuf.asIntBuffer().get(idxs);
+
+        if (io.size() != pages.size()) {
+            throw new IgniteCheckedException("Page-delta snapshot file has incorrect size [file=" +
+                delta.getAbsolutePath() + ", size=" + io.size() + ", expected=" + pages.size() + ']');
+        }
+
+        return pages;
+    }
+}
@@ -63,6 +63,7 @@ import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabase
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointListener;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
 import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
 import org.apache.ignite.internal.processors.cache.persistence.metastorage.MetaStorage;
 import org.apache.ignite.internal.processors.cache.persistence.partstate.GroupPartitionId;
@@ -83,9 +84,11 @@ import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
 
+import static java.nio.file.StandardOpenOption.READ;
 import static org.apache.ignite.internal.pagemem.PageIdAllocator.INDEX_PARTITION;
 import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.cacheWorkDir;
 import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.getPartitionFile;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.PageDeltaFile.PAGE_DELTA_SUFFIX;
 import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.copy;
 import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.databaseRelativePath;
 import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.partDeltaFile;
@@ -161,6 +164,18 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
     private final C3<PageStore, File, Integer, PageStoreSerialWriter> deltaWriterFactory =
         cctx.snapshotMgr().sequentialWrite() ? IndexedPageStoreSerialWriter::new : PageStoreSerialWriter::new;
 
+    /** Tracker of the changed pages, {@code null} if the page tracking is disabled. */
+    private final @Nullable SnapshotPageTracker pageTracker = cctx.snapshotMgr().pageTracker();
+
+    /** Tag of the snapshot reserved on start, {@code -1} if the changed pages are not tracked. */
+    private volatile long pageTag = -1;
+
+    /** Tag of the base full snapshot of the page-delta snapshot. */
+    private volatile long baseTag;
+
+    /** Local node directory of the base full snapshot, {@code null} if the snapshot is not a page-delta one. */
+    private final @Nullable File baseDbDir;
+
     /**
      * @param cctx Shared context.
      * @param srcNodeId Node id which cause snapshot task creation.
@@ -171,6 +186,8 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
      * @param snpSndr Factory which produces snapshot receiver instance.
      * @param parts Map of cache groups and its partitions to include into snapshot, if set of partitions
      * is {@code null} than all OWNING partitions for given cache groups will be included into snapshot.
+     * @param withMetaStorage {@code true} if all metastorage data must be also included into snapshot.
+     * @param locBuff Local buffer to perform copy-on-write operations.
      */
     public SnapshotFutureTask(
         GridCacheSharedContext<?, ?> cctx,
@@ -183,6 +200,37 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
         Map<Integer, Set<Integer>> parts,
         boolean withMetaStorage,
         ThreadLocal<ByteBuffer> locBuff
+    ) {
+        this(cctx, srcNodeId, reqId, snpName, tmpWorkDir, ioFactory, snpSndr, parts, withMetaStorage, locBuff, null);
+    }
+
+    /**
+     * @param cctx Shared context.
+     * @param srcNodeId Node id which cause snapshot task creation.
+     * @param reqId Snapshot operation request ID.
+     * @param snpName Unique identifier of snapshot process.
+     * @param tmpWorkDir Working directory for intermediate snapshot results.
+     * @param ioFactory Factory to working with snapshot files.
+     * @param snpSndr Factory which produces snapshot receiver instance.
+     * @param parts Map of cache groups and its partitions to include into snapshot, if set of partitions
+     * is {@code null} than all OWNING partitions for given cache groups will be included into snapshot.
+     * @param withMetaStorage {@code true} if all metastorage data must be also included into snapshot.
+     * @param locBuff Local buffer to perform copy-on-write operations.
+     * @param baseDbDir Local node directory of the base full snapshot if only the pages changed since it must be
+     * included into snapshot, otherwise {@code null}.
+     */
+    public SnapshotFutureTask(
+        GridCacheSharedContext<?, ?> cctx,
+        UUID srcNodeId,
+        UUID reqId,
+        String snpName,
+        File tmpWorkDir,
+        FileIOFactory ioFactory,
+        SnapshotSender snpSndr,
+        Map<Integer, Set<Integer>> parts,
+        boolean withMetaStorage,
+        ThreadLocal<ByteBuffer> locBuff,
+        @Nullable File baseDbDir
     ) {
         super(cctx, srcNodeId, reqId, snpName, tmpWorkDir, ioFactory, snpSndr, parts);
 
@@ -195,6 +243,7 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
         this.withMetaStorage = withMetaStorage;
         this.pageStore = (FilePageStoreManager)cctx.pageStore();
         this.locBuff = locBuff;
+        this.baseDbDir = baseDbDir;
     }
 
     /**
@@ -218,6 +267,8 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
         for (PageStoreSerialWriter writer : partDeltaWriters.values())
             U.closeQuiet(writer);
 
+        releasePartitionFiles();
+
         for (CacheConfigurationSender ccfgSndr : ccfgSndrs)
             U.closeQuiet(ccfgSndr);
 
@@ -248,6 +299,13 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
         return startedFut;
     }
 
+    /**
+     * @return Tag of the snapshot the changed pages have been marked with, {@code -1} if the pages are not tracked.
+     */
+    public long pageTag() {
+        return pageTag;
+    }
+
     /**
      * @return {@code true} if current task requested to be stopped.
      */
@@ -293,6 +351,25 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
                     log);
             }
 
+            if (baseDbDir != null) {
+                if (pageTracker == null)
+                    throw new IgniteCheckedException("Page-delta snapshot requires enabled tracking of the changed pages.");
+
+                for (Integer grpId : parts.keySet()) {
+                    if (cctx.cache().isEncrypted(grpId))
+                        throw new IgniteCheckedException("Page-delta snapshot of encrypted cache group is not supported: " + grpId);
+                }
+
+                baseTag = pageTracker.baseTag();
+            }
+
+            if (pageTracker != null)
+                pageTag = pageTracker.reserveTag();
+
+            // Partition files are copied directly, so the ones moved to the cold storage are restored before
+            // the checkpoint is requested rather than under the checkpoint write lock.
+            reservePartitionFiles(true);
+
             startedFut.listen(f ->
                 ((GridCacheDatabaseSharedManager)cctx.database()).removeCheckpointListener(this)
             );
@@ -350,6 +427,10 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
             return;
 
         try {
+            // Pages changed after the snapshot point belong to the next snapshot.
+            if (pageTag >= 0)
+                pageTracker.switchTag(pageTag);
+
             // Here we have the following warranties:
             // 1. Checkpoint holds write acquire lock and Snapshot holds PME. Then there are not any concurrent updates.
             // 2. This record is written before the related CheckpointRecord, and is flushed with CheckpointRecord or instead it.
@@ -510,6 +591,14 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
 
                     totalSize.addAndGet(partLen);
 
+                    if (baseDbDir != null) {
+                        // Changed pages are read when the checkpoint is finished and all the pages are written to the file.
+                        futs.add(cpEndFut.thenRunAsync(wrapExceptionIfStarted(() -> sendChangedPages(pair, cacheDirName, partLen)),
+                            snpSndr.executor()));
+
+                        continue;
+                    }
+
                     CompletableFuture<Void> fut0 = CompletableFuture.runAsync(
                         wrapExceptionIfStarted(() -> {
                             snpSndr.sendPart(
@@ -579,6 +668,72 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
         }
     }
 
+    /**
+     * Sends the pages of the partition changed since the base snapshot. Original pages overwritten after the snapshot
+     * point are taken from the partition delta file.
+     *
+     * @param pair Cache group and partition.
+     * @param cacheDirName Cache directory name.
+     * @param partLen Partition file length at the snapshot point.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void sendChangedPages(GroupPartitionId pair, String cacheDirName, long partLen) throws IgniteCheckedException {
+        PageStoreSerialWriter writer = partDeltaWriters.get(pair);
+
+        if (partLen == 0) {
+            writer.markPartitionProcessed();
+            writer.close();
+
+            return;
+        }
+
+        int partId = pair.getPartitionId();
+        int pageSize = writer.store.getPageSize();
+        int hdrSize = ((FilePageStore)writer.store).headerSize();
+
+        File part = getPartitionFile(pageStore.workDir(), cacheDirName, partId);
+        File basePart = getPartitionFile(baseDbDir, cacheDirName, partId);
+        File pages = new File(cacheWorkDir(tmpConsIdDir, cacheDirName), part.getName() + PAGE_DELTA_SUFFIX);
+
+        // Pages allocated before the snapshot point are written to the partition file by the snapshot checkpoint.
+        int pagesCnt = Math.max((int)((partLen - hdrSize) / pageSize), writer.writtenPages.size());
+        int basePagesCnt = (int)(Math.max(basePart.length() - hdrSize, 0) / pageSize);
+
+        try {
+            PageDeltaFile delta;
+
+            try (FileIO io = ioFactory.create(part, READ)) {
+                int[] idxs = SnapshotPageTracker.changedPages(io, hdrSize, pageSize, pagesCnt, basePagesCnt, pageTag,
+                    baseTag, cctx.kernalContext().compress());
+
+                delta = PageDeltaFile.write(ioFactory, part, hdrSize, pageSize, pagesCnt, idxs, pages);
+            }
+
+            // Stop partition writer, the pages overwritten before are stored in the delta file.
+            writer.markPartitionProcessed();
+            writer.close();
+
+            delta.overlay(ioFactory, writer.deltaFile, pages);
+
+            if (log.isDebugEnabled()) {
+                log.debug("Changed pages of partition have been collected [pair=" + pair + ", pages=" + delta.pages() +
+                    ", partPages=" + pagesCnt + ", basePartPages=" + basePagesCnt + ']');
+            }
+
+            snpSndr.sendPart(pages, cacheDirName, pair, pages.length());
+
+            processedSize.addAndGet(partLen);
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException(e);
+        }
+        finally {
+            U.delete(pages);
+            U.delete(writer.deltaFile);
+            U.delete(partDeltaIndexFile(writer.deltaFile));
+        }
+    }
+
     /**
      * @param grpId Cache group id.
      * @param parts Set of partitions to be processed.
@@ -1113,6 +1268,11 @@ class SnapshotFutureTask extends AbstractSnapshotFutureTask<SnapshotFutureTaskRe
             arr = new AtomicIntegerArray((size + 31) >>> 5);
         }
 
+        /** @return Size of array of bits. */
+        public int size() {
+            return size;
+        }
+
         /**
          * @param off Bit position to change.
          * @return {@code true} if bit has been set,
@@ -141,6 +141,10 @@ public class SnapshotMetadataVerificationTask
                             "Incremental snapshot meta has wrong index [expectedIdx=" + inc + ", meta=" + incMeta + ']');
                     }
 
+                    // Page-delta increment contains the changed pages instead of WAL segments.
+                    if (incMeta.pageDelta())
+                        continue;
+
                     checkWalSegments(incMeta, startSeg, incrementalSnapshotWalsDir(incSnpDir, incMeta.folderName()));
 
                     // Incremental snapshots must not cross each other.
@@ -91,6 +91,12 @@ public class SnapshotOperationRequest implements Serializable {
     /** If {@code true} snapshot only primary copies of partitions. */
     private final boolean onlyPrimary;
 
+    /** If {@code true} then cache dump requested. */
+    private final boolean dump;
+
+    /** If {@code true} then page-delta incremental snapshot requested. */
+    private final boolean pageDelta;
+
     /**
      * @param reqId Request ID.
      * @param opNodeId Operational node ID.
@@ -101,6 +107,8 @@ public class SnapshotOperationRequest implements Serializable {
      * @param incremental {@code True} if incremental snapshot requested.
      * @param incIdx Incremental snapshot index.
      * @param onlyPrimary If {@code true} snapshot only primary copies of partitions.
+     * @param dump If {@code true} cache dump requested.
+     * @param pageDelta If {@code true} page-delta incremental snapshot requested.
      */
     public SnapshotOperationRequest(
         UUID reqId,
@@ -111,7 +119,9 @@ public class SnapshotOperationRequest implements Serializable {
         Set<UUID> nodes,
         boolean incremental,
         int incIdx,
-        boolean onlyPrimary
+        boolean onlyPrimary,
+        boolean dump,
+        boolean pageDelta
     ) {
         this.reqId = reqId;
         this.opNodeId = opNodeId;
@@ -122,6 +132,8 @@ public class SnapshotOperationRequest implements Serializable {
         this.incremental = incremental;
         this.incIdx = incIdx;
         this.onlyPrimary = onlyPrimary;
+        this.dump = dump;
+        this.pageDelta = pageDelta;
         startTime = U.currentTimeMillis();
     }
 
@@ -196,6 +208,16 @@ public class SnapshotOperationRequest implements Serializable {
         return onlyPrimary;
     }
 
+    /** @return If {@code true} then cache dump requested. */
+    public boolean dump() {
+        return dump;
+    }
+
+    /** @return If {@code true} then page-delta incremental snapshot requested. */
+    public boolean pageDelta() {
+        return pageDelta;
+    }
+
     /** @return Start time. */
     public long startTime() {
         return startTime;
@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.wal.record.delta.TrackingPageDeltaRecord;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.metastorage.ReadOnlyMetastorage;
+import org.apache.ignite.internal.processors.cache.persistence.metastorage.ReadWriteMetastorage;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.TrackingPageIO;
+import org.apache.ignite.internal.processors.compress.CompressionProcessor;
+import org.apache.ignite.internal.util.GridIntList;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.T2;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.processors.cache.persistence.tree.util.PageHandler.isWalDeltaRecordNeeded;
+
+/**
+ * Marks the pages changed since the last full snapshot in the {@link TrackingPageIO} pages of the partition files.
+ * Page-delta incremental snapshot copies only the pages changed since the full snapshot it is based on.
+ * <p>
+ * Each snapshot has its own tag. A changed page is marked with the tag of the next snapshot, the tag is switched
+ * under the checkpoint write lock of the snapshot checkpoint. Marks of the tags not greater than the tag of the
+ * base full snapshot are dropped by the tracking pages on the next change.
+ */
+public class SnapshotPageTracker {
+    /** Metastorage key of the tag of the next snapshot. */
+    private static final String NEXT_TAG_KEY = "snapshot-page-tracking-next-tag";
+
+    /** Metastorage key of the tag of the base full snapshot. */
+    private static final String BASE_TAG_KEY = "snapshot-page-tracking-base-tag";
+
+    /** Metastorage key of the directory of the base full snapshot. */
+    private static final String BASE_DIR_KEY = "snapshot-page-tracking-base-dir";
+
+    /** Tracking page IO. */
+    private static final TrackingPageIO trackingIO = TrackingPageIO.VERSIONS.latest();
+
+    /** Shared context. */
+    private final GridCacheSharedContext<?, ?> cctx;
+
+    /** Tag of the next snapshot, changed pages are marked with. */
+    private volatile long nextTag = 1;
+
+    /** Tag of the base full snapshot. */
+    private volatile long baseTag;
+
+    /** Directory of the base full snapshot. */
+    private volatile @Nullable String baseDir;
+
+    /** Directory and tag of the full snapshot which is not completed on the whole cluster yet. */
+    private volatile @Nullable T2<String, Long> pendingBase;
+
+    /** Metastorage to store the tags. */
+    private volatile ReadWriteMetastorage metaStorage;
+
+    /**
+     * @param cctx Shared context.
+     */
+    public SnapshotPageTracker(GridCacheSharedContext<?, ?> cctx) {
+        this.cctx = cctx;
+    }
+
+    /**
+     * @param metaStorage Metastorage to read the tags from.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void onReadyForRead(ReadOnlyMetastorage metaStorage) throws IgniteCheckedException {
+        Long next = (Long)metaStorage.read(NEXT_TAG_KEY);
+
+        if (next == null)
+            return;
+
+        nextTag = next;
+        baseTag = (Long)metaStorage.read(BASE_TAG_KEY);
+        baseDir = (String)metaStorage.read(BASE_DIR_KEY);
+    }
+
+    /**
+     * @param metaStorage Metastorage to store the tags to.
+     */
+    public void onReadyForReadWrite(ReadWriteMetastorage metaStorage) {
+        this.metaStorage = metaStorage;
+    }
+
+    /**
+     * Removes the base full snapshot of the node which has been started with disabled tracking. Changes made by
+     * the node are not tracked, so page-delta snapshots can't be created until the next full snapshot.
+     *
+     * @param metaStorage Metastorage.
+     * @throws IgniteCheckedException If failed.
+     */
+    public static void resetBase(ReadWriteMetastorage metaStorage) throws IgniteCheckedException {
+        metaStorage.remove(BASE_DIR_KEY);
+        metaStorage.remove(BASE_TAG_KEY);
+    }
+
+    /** @return Tag of the base full snapshot. */
+    public long baseTag() {
+        return baseTag;
+    }
+
+    /** @return Directory of the base full snapshot, {@code null} if no full snapshot created with enabled tracking. */
+    public @Nullable String baseDirectory() {
+        return baseDir;
+    }
+
+    /**
+     * Reserves the tag of the starting snapshot. The tag is persisted to get the monotonous tags after the node restart.
+     *
+     * @return Tag of the snapshot.
+     * @throws IgniteCheckedException If failed.
+     */
+    public synchronized long reserveTag() throws IgniteCheckedException {
+        long tag = nextTag;
+
+        cctx.database().checkpointReadLock();
+
+        try {
+            metaStorage.write(NEXT_TAG_KEY, tag + 1);
+        }
+        finally {
+            cctx.database().checkpointReadUnlock();
+        }
+
+        return tag;
+    }
+
+    /**
+     * Switches the tag of the changed pages. Must be called under the checkpoint write lock of the snapshot checkpoint.
+     *
+     * @param tag Reserved tag of the snapshot.
+     */
+    public void switchTag(long tag) {
+        assert cctx.database().checkpointLockIsHeldByThread();
+
+        nextTag = tag + 1;
+    }
+
+    /**
+     * @param snpDir Directory of the full snapshot created on the local node.
+     * @param tag Tag of the snapshot.
+     */
+    public void onFullSnapshotCreated(String snpDir, long tag) {
+        pendingBase = new T2<>(snpDir, tag);
+    }
+
+    /**
+     * Makes the full snapshot completed on the whole cluster the base of the next page-delta snapshots.
+     *
+     * @param snpDir Directory of the full snapshot.
+     * @throws IgniteCheckedException If failed.
+     */
+    public synchronized void onFullSnapshotCompleted(String snpDir) throws IgniteCheckedException {
+        T2<String, Long> base = pendingBase;
+
+        if (base == null || !F.eq(base.get1(), snpDir))
+            return;
+
+        pendingBase = null;
+
+        cctx.database().checkpointReadLock();
+
+        try {
+            metaStorage.write(BASE_TAG_KEY, base.get2());
+            metaStorage.write(BASE_DIR_KEY, base.get1());
+            metaStorage.write(NEXT_TAG_KEY, Math.max(nextTag, base.get2() + 1));
+        }
+        finally {
+            cctx.database().checkpointReadUnlock();
+        }
+
+        baseTag = base.get2();
+        baseDir = base.get1();
+    }
+
+    /**
+     * Marks the page as changed in the tracking page. Called on the first change of the page after the checkpoint.
+     *
+     * @param fullId Full id of the changed page.
+     * @param pageMem Page memory.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void onPageChanged(FullPageId fullId, PageMemoryEx pageMem) throws IgniteCheckedException {
+        int grpId = fullId.groupId();
+        long pageId = fullId.pageId();
+
+        // Partition meta page is copied by each page-delta snapshot.
+        if (PageIdUtils.pageIndex(pageId) == 0)
+            return;
+
+        int pageSize = pageMem.realPageSize(grpId);
+        long trackingPageId = trackingIO.trackingPageFor(pageId, pageSize);
+
+        if (PageIdUtils.pageIndex(trackingPageId) == PageIdUtils.pageIndex(pageId))
+            return;
+
+        long trackingPage = pageMem.acquirePage(grpId, trackingPageId);
+
+        try {
+            long pageAddr = pageMem.writeLock(grpId, trackingPageId, trackingPage);
+
+            if (pageAddr == 0L)
+                return;
+
+            boolean dirty = false;
+
+            try {
+                if (PageIO.getType(pageAddr) != PageIO.T_PAGE_UPDATE_TRACKING)
+                    return;
+
+                long next = nextTag;
+                long base = baseTag;
+
+                trackingIO.markChanged(pageMem.pageBuffer(pageAddr), pageId, next, base, pageSize);
+
+                if (isWalDeltaRecordNeeded(pageMem, grpId, trackingPageId, trackingPage, cctx.wal(), null))
+                    cctx.wal().log(new TrackingPageDeltaRecord(grpId, trackingPageId, pageId, next, base));
+
+                dirty = true;
+            }
+            finally {
+                pageMem.writeUnlock(grpId, trackingPageId, trackingPage, null, dirty);
+            }
+        }
+        finally {
+            pageMem.releasePage(grpId, trackingPageId, trackingPage);
+        }
+    }
+
+    /**
+     * Collects indexes of the partition file pages to copy to the page-delta snapshot: the partition meta page,
+     * the tracking pages, the pages changed since the base snapshot and the pages allocated after it. All pages
+     * tracked by a corrupted tracking page are copied.
+     *
+     * @param io Partition file IO.
+     * @param hdrSize Partition file header size.
+     * @param pageSize Page size.
+     * @param pagesCnt Count of the pages at the snapshot point.
+     * @param basePagesCnt Count of the pages in the base snapshot.
+     * @param tag Tag of the page-delta snapshot.
+     * @param baseTag Tag of the base snapshot.
+     * @param compr Compression processor to read the compressed tracking pages.
+     * @return Sorted indexes of the pages.
+     * @throws IgniteCheckedException If failed.
+     * @throws IOException If failed to read the file.
+     */
+    public static int[] changedPages(
+        FileIO io,
+        int hdrSize,
+        int pageSize,
+        int pagesCnt,
+        int basePagesCnt,
+        long tag,
+        long baseTag,
+        CompressionProcessor compr
+    ) throws IgniteCheckedException, IOException {
+        GridIntList idxs = new GridIntList(Math.max(pagesCnt - basePagesCnt, 0) + 16);
+
+        if (pagesCnt > 0)
+            idxs.add(0);
+
+        int trackCnt = trackingIO.countOfPageToTrack(pageSize);
+
+        ByteBuffer buf = ByteBuffer.allocate(pageSize).order(ByteOrder.nativeOrder());
+
+        for (int trackIdx = 1; trackIdx < pagesCnt; trackIdx += trackCnt) {
+            idxs.add(trackIdx);
+
+            int end = (int)Math.min((long)trackIdx + trackCnt, pagesCnt);
+
+            buf.clear();
+
+            boolean valid = trackIdx < basePagesCnt && io.readFully(buf, hdrSize + (long)trackIdx * pageSize) == pageSize;
+
+            buf.clear();
+
+            if (valid && PageIO.getCompressionType(buf) != CompressionProcessor.UNCOMPRESSED_PAGE)
+                compr.decompressPage(buf, pageSize);
+
+            valid &= PageIO.getType(buf) == PageIO.T_PAGE_UPDATE_TRACKING && !trackingIO.isCorrupted(buf);
+
+            for (int idx = trackIdx + 1; idx < end; idx++) {
+                if (!valid || idx >= basePagesCnt) {
+                    idxs.add(idx);
+
+                    continue;
+                }
+
+                try {
+                    if (trackingIO.wasChanged(buf, PageIdUtils.pageId(0, (byte)0, idx), tag, baseTag, pageSize))
+                        idxs.add(idx);
+                }
+                catch (TrackingPageIsCorruptedException e) {
+                    valid = false;
+
+                    idxs.add(idx);
+                }
+            }
+        }
+
+        return idxs.array();
+    }
+}
@@ -109,6 +109,8 @@ import static org.apache.ignite.internal.processors.cache.persistence.file.FileP
 import static org.apache.ignite.internal.processors.cache.persistence.metastorage.MetaStorage.METASTORAGE_CACHE_NAME;
 import static org.apache.ignite.internal.processors.cache.persistence.partstate.GroupPartitionId.getTypeByPartId;
 import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.databaseRelativePath;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.snapshotMetaFileName;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.PageDeltaFile.PAGE_DELTA_SUFFIX;
 import static org.apache.ignite.internal.util.distributed.DistributedProcess.DistributedProcessType.RESTORE_CACHE_GROUP_SNAPSHOT_PRELOAD;
 import static org.apache.ignite.internal.util.distributed.DistributedProcess.DistributedProcessType.RESTORE_CACHE_GROUP_SNAPSHOT_PREPARE;
 import static org.apache.ignite.internal.util.distributed.DistributedProcess.DistributedProcessType.RESTORE_CACHE_GROUP_SNAPSHOT_ROLLBACK;
@@ -420,7 +422,9 @@ public class SnapshotRestoreProcess {
                 new HashSet<>(bltNodes),
                 false,
                 incIdx,
-                onlyPrimary
+                onlyPrimary,
+                false,
+                false
             );
 
             prepareRestoreProc.start(req.requestId(), req);
@@ -1023,6 +1027,22 @@ public class SnapshotRestoreProcess {
             List<SnapshotMetadata> locMetas = opCtx0.metasPerNode.get(locNode.id());
             Map<Integer, String> cacheGrpNames = new HashMap<>();
 
+            File incSnpDir = opCtx0.incIdx > 0 ? snpMgr.incrementalSnapshotLocalDir(opCtx0.snpName, opCtx0.snpPath, opCtx0.incIdx) : null;
+
+            // Node folders of the snapshot which changed pages must be applied over the partitions.
+            Set<String> pageDeltaFolders = new HashSet<>();
+
+            if (incSnpDir != null && locMetas != null) {
+                for (SnapshotMetadata meta : locMetas) {
+                    File incMetaFile = new File(incSnpDir, snapshotMetaFileName(meta.folderName()));
+
+                    if (incMetaFile.exists() && snpMgr.<IncrementalSnapshotMetadata>readFromFile(incMetaFile).pageDelta())
+                        pageDeltaFolders.add(meta.folderName());
+                }
+
+                opCtx0.pageDelta = !pageDeltaFolders.isEmpty();
+            }
+
             // First preload everything from the local node.
             for (File dir : opCtx0.dirs) {
                 String cacheOrGrpName = cacheGroupName(dir);
@@ -1071,13 +1091,16 @@ public class SnapshotRestoreProcess {
                     File snpCacheDir = new File(snpDir,
                         Paths.get(databaseRelativePath(meta.folderName()), dir.getName()).toString());
 
+                    File deltaCacheDir = pageDeltaFolders.contains(meta.folderName()) ? new File(incSnpDir,
+                        Paths.get(databaseRelativePath(meta.folderName()), dir.getName()).toString()) : null;
+
                     leftParts.removeIf(partFut -> {
                         boolean doCopy = ofNullable(meta.partitions().get(grpId))
                             .orElse(Collections.emptySet())
                             .contains(partFut.partId);
 
                         if (doCopy) {
-                            copyLocalAsync(opCtx0, snpCacheDir, tmpCacheDir, partFut);
+                            copyLocalAsync(opCtx0, snpCacheDir, deltaCacheDir, tmpCacheDir, partFut);
                         }
 
                         return doCopy;
@@ -1100,7 +1123,7 @@ public class SnapshotRestoreProcess {
                             allParts.computeIfAbsent(grpId, g -> new HashSet<>())
                                 .add(idxFut = new PartitionRestoreFuture(INDEX_PARTITION, opCtx0.processedParts));
 
-                            copyLocalAsync(opCtx0, snpCacheDir, tmpCacheDir, idxFut);
+                            copyLocalAsync(opCtx0, snpCacheDir, deltaCacheDir, tmpCacheDir, idxFut);
                         }
                     }
                 }
@@ -1121,6 +1144,12 @@ public class SnapshotRestoreProcess {
                     rmtLoadParts.get(grpId).remove(new PartitionRestoreFuture(partId, opCtx0.processedParts)));
 
             try {
+                if (opCtx0.pageDelta && !snpAff.isEmpty()) {
+                    throw new IgniteCheckedException("Page-delta incremental snapshot can be restored only on the same " +
+                        "cluster topology, partitions must not be loaded from the remote nodes [snapshot=" + opCtx0.snpName +
+                        ", incrementIndex=" + opCtx0.incIdx + ", nodes=" + snpAff.keySet() + ']');
+                }
+
                 for (Map.Entry<UUID, Map<Integer, Set<Integer>>> m : snpAff.entrySet()) {
                     if (log.isInfoEnabled()) {
                         log.info("Trying to request partitions from remote node " +
@@ -1402,7 +1431,8 @@ public class SnapshotRestoreProcess {
      * Inits restoring incremental snapshot.
      *
      * @param reqId Request ID.
-     * @return Result future.
+     * @return Result future, {@code false} if the changed pages of page-delta incremental snapshot have been already
+     * applied to the partitions on preload.
      */
     private IgniteInternalFuture<Boolean> incrementalSnapshotRestore(UUID reqId) {
         SnapshotRestoreContext opCtx0 = opCtx;
@@ -1410,6 +1440,9 @@ public class SnapshotRestoreProcess {
         if (ctx.clientNode() || opCtx0 == null || !opCtx0.nodes().contains(ctx.localNodeId()))
             return new GridFinishedFuture<>();
 
+        if (opCtx0.pageDelta)
+            return new GridFinishedFuture<>(false);
+
         if (log.isInfoEnabled()) {
             log.info("Starting incremental snapshot restore operation " +
                 "[reqId=" + opCtx0.reqId + ", snpName=" + opCtx0.snpName + ", incrementIndex=" + opCtx0.incIdx +
@@ -1580,7 +1613,8 @@ public class SnapshotRestoreProcess {
             orElse(checkNodeLeft(opCtx0.nodes(), res.keySet()));
 
         if (failure == null) {
-            if (fut != null) {  // Call on originated node only.
+            // Call on originated node only. Page-delta increments are created on PME and are consistent.
+            if (fut != null && res.containsValue(true)) {
                 Set<String> cacheGrps = opCtx0.cfgs.keySet().stream()
                     .map(cacheId -> CU.cacheOrGroupName(ctx.cache().cacheDescriptor(cacheId).cacheConfiguration()))
                     .collect(Collectors.toSet());
@@ -1748,15 +1782,19 @@ public class SnapshotRestoreProcess {
     /**
      * @param opCtx Snapshot operation context.
      * @param srcDir Snapshot directory to copy from.
+     * @param deltaDir Directory of the page-delta incremental snapshot with the changed pages to apply over
+     * the partition, {@code null} if there is no changed pages to apply.
      * @param targetDir Destination directory to copy to.
      */
     private void copyLocalAsync(
         SnapshotRestoreContext opCtx,
         File srcDir,
+        @Nullable File deltaDir,
         File targetDir,
         PartitionRestoreFuture partFut
     ) {
         File snpFile = new File(srcDir, FilePageStoreManager.getPartitionFileName(partFut.partId));
+        File pagesFile = deltaDir == null ? null : new File(deltaDir, snpFile.getName() + PAGE_DELTA_SUFFIX);
         Path partFile = Paths.get(targetDir.getAbsolutePath(), FilePageStoreManager.getPartitionFileName(partFut.partId));
         int grpId = groupIdFromTmpDir(targetDir);
 
@@ -1776,6 +1814,16 @@ public class SnapshotRestoreProcess {
 
             IgniteSnapshotManager.copy(snapMgr.ioFactory(), snpFile, partFile.toFile(), snpFile.length());
 
+            if (pagesFile != null && pagesFile.exists()) {
+                try {
+                    PageDeltaFile.apply(snapMgr.ioFactory(), pagesFile, partFile.toFile());
+                }
+                catch (IgniteCheckedException | IOException e) {
+                    throw new IgniteException("Failed to apply changed pages to the partition [part=" + partFile +
+                        ", pages=" + pagesFile.getAbsolutePath() + ']', e);
+                }
+            }
+
             return partFile;
         }, snapMgr.snapshotExecutorService());
 
@@ -1935,6 +1983,9 @@ public class SnapshotRestoreProcess {
         /** Number of processed entries in incremental snapshot. */
         private volatile LongAdder processedWalEntries;
 
+        /** {@code True} if the incremental snapshot contains changed pages which are applied on preload. */
+        private volatile boolean pageDelta;
+
         /** Creates an empty context. */
         protected SnapshotRestoreContext() {
             reqId = null;
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot.dump;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.processors.cache.CacheObject;
+import org.apache.ignite.internal.processors.cache.CacheObjectValueContext;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Cache entry stored in a dump. Key and value are kept in the serialized form of the cache objects,
+ * so the dump can be read without a running node.
+ */
+public class DumpEntry {
+    /** Cache ID. */
+    private final int cacheId;
+
+    /** Expire time. */
+    private final long expireTime;
+
+    /** Entry version. */
+    private final GridCacheVersion ver;
+
+    /** Key cache object type. */
+    private final byte keyType;
+
+    /** Key bytes. */
+    @GridToStringExclude
+    private final byte[] keyBytes;
+
+    /** Value cache object type. */
+    private final byte valType;
+
+    /** Value bytes. */
+    @GridToStringExclude
+    private final byte[] valBytes;
+
+    /**
+     * @param cacheId Cache ID.
+     * @param expireTime Expire time.
+     * @param ver Entry version.
+     * @param keyType Key cache object type.
+     * @param keyBytes Key bytes.
+     * @param valType Value cache object type.
+     * @param valBytes Value bytes.
+     */
+    public DumpEntry(
+        int cacheId,
+        long expireTime,
+        GridCacheVersion ver,
+        byte keyType,
+        byte[] keyBytes,
+        byte valType,
+        byte[] valBytes
+    ) {
+        this.cacheId = cacheId;
+        this.expireTime = expireTime;
+        this.ver = ver;
+        this.keyType = keyType;
+        this.keyBytes = keyBytes;
+        this.valType = valType;
+        this.valBytes = valBytes;
+    }
+
+    /** @return Cache ID. */
+    public int cacheId() {
+        return cacheId;
+    }
+
+    /** @return Expire time. */
+    public long expireTime() {
+        return expireTime;
+    }
+
+    /** @return Entry version. */
+    public GridCacheVersion version() {
+        return ver;
+    }
+
+    /** @return Key cache object type. */
+    public byte keyType() {
+        return keyType;
+    }
+
+    /** @return Key bytes. */
+    public byte[] keyBytes() {
+        return keyBytes;
+    }
+
+    /** @return Value cache object type. */
+    public byte valueType() {
+        return valType;
+    }
+
+    /** @return Value bytes. */
+    public byte[] valueBytes() {
+        return valBytes;
+    }
+
+    /**
+     * Writes cache entry to the dump.
+     *
+     * @param out Output.
+     * @param cacheId Cache ID.
+     * @param expireTime Expire time.
+     * @param ver Entry version.
+     * @param key Key.
+     * @param val Value.
+     * @param coCtx Cache object context.
+     * @throws IOException If failed.
+     * @throws IgniteCheckedException If failed to serialize key or value.
+     */
+    public static void write(
+        DataOutput out,
+        int cacheId,
+        long expireTime,
+        GridCacheVersion ver,
+        KeyCacheObject key,
+        CacheObject val,
+        CacheObjectValueContext coCtx
+    ) throws IOException, IgniteCheckedException {
+        out.writeInt(cacheId);
+        out.writeLong(expireTime);
+        out.writeInt(ver.topologyVersion());
+        out.writeInt(ver.nodeOrderAndDrIdRaw());
+        out.writeLong(ver.order());
+
+        writeBytes(out, key.cacheObjectType(), key.valueBytes(coCtx));
+        writeBytes(out, val.cacheObjectType(), val.valueBytes(coCtx));
+    }
+
+    /**
+     * Reads cache entry written by {@link #write}.
+     *
+     * @param in Input.
+     * @return Cache entry.
+     * @throws IOException If failed.
+     */
+    public static DumpEntry read(DataInput in) throws IOException {
+        int cacheId = in.readInt();
+        long expireTime = in.readLong();
+        GridCacheVersion ver = new GridCacheVersion(in.readInt(), in.readInt(), in.readLong());
+
+        byte keyType = in.readByte();
+        byte[] keyBytes = readBytes(in);
+
+        byte valType = in.readByte();
+        byte[] valBytes = readBytes(in);
+
+        return new DumpEntry(cacheId, expireTime, ver, keyType, keyBytes, valType, valBytes);
+    }
+
+    /** */
+    private static void writeBytes(DataOutput out, byte type, byte[] bytes) throws IOException {
+        out.writeByte(type);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /** */
+    private static byte[] readBytes(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+
+        in.readFully(bytes);
+
+        return bytes;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(DumpEntry.class, this);
+    }
+}
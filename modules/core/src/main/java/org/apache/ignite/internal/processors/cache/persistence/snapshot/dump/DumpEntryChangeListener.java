@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot.dump;
+
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+
+/**
+ * Listener of cache entries changes, which is set to a cache group while the group is being dumped.
+ * It is notified under the entry lock before the entry is changed, so the current entry value
+ * can be written to the dump before the dump iterator reads the changed one.
+ */
+public interface DumpEntryChangeListener {
+    /**
+     * @param cctx Cache context.
+     * @param partId Partition ID.
+     * @param key Key of the entry to change.
+     * @param oldRow Current entry row.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void beforeChange(GridCacheContext<?, ?> cctx, int partId, KeyCacheObject key, CacheDataRow oldRow)
+        throws IgniteCheckedException;
+}
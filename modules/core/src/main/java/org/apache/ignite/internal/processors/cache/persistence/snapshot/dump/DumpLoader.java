@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot.dump;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.processors.cache.CacheObject;
+import org.apache.ignite.internal.processors.cache.CacheObjectContext;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.StoredCacheData;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Loads cache dump into the cluster. Caches which don't exist are created from the dumped configurations.
+ * Partition files are loaded in parallel with the data streamers.
+ */
+public class DumpLoader {
+    /** Kernal context. */
+    private final GridKernalContext ctx;
+
+    /** Dump directory. */
+    private final File dumpDir;
+
+    /** Data streamers by cache ID. */
+    private final Map<Integer, IgniteDataStreamer<Object, Object>> streamers = new HashMap<>();
+
+    /** Cache object contexts by cache ID. */
+    private final Map<Integer, CacheObjectContext> coCtxs = new HashMap<>();
+
+    /**
+     * @param ctx Kernal context.
+     * @param dumpDir Dump directory.
+     */
+    public DumpLoader(GridKernalContext ctx, File dumpDir) {
+        this.ctx = ctx;
+        this.dumpDir = dumpDir;
+    }
+
+    /**
+     * Loads the dump.
+     *
+     * @param parallelism Count of partition files loaded in parallel.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void load(int parallelism) throws IgniteCheckedException {
+        Collection<StoredCacheData> ccfgs = DumpReader.cacheConfigurations(dumpDir);
+
+        List<StoredCacheData> toStart = new ArrayList<>();
+
+        for (StoredCacheData data : ccfgs) {
+            if (ctx.cache().cacheDescriptor(data.config().getName()) == null)
+                toStart.add(data);
+        }
+
+        if (!toStart.isEmpty())
+            ctx.cache().dynamicStartCachesByStoredConf(toStart, false, true, false, null).get();
+
+        try {
+            for (StoredCacheData data : ccfgs) {
+                int cacheId = CU.cacheId(data.config().getName());
+
+                IgniteDataStreamer<Object, Object> streamer = ctx.grid().dataStreamer(data.config().getName());
+
+                streamer.keepBinary(true);
+
+                streamers.put(cacheId, streamer);
+                coCtxs.put(cacheId, ctx.cacheObjects().contextForCache(data.config()));
+            }
+
+            U.doInParallel(
+                parallelism,
+                ctx.pools().getSnapshotExecutorService(),
+                DumpReader.partitionFiles(dumpDir),
+                partFile -> {
+                    loadPartition(partFile);
+
+                    return null;
+                }
+            );
+        }
+        finally {
+            for (IgniteDataStreamer<Object, Object> streamer : streamers.values())
+                U.closeQuiet(streamer);
+        }
+    }
+
+    /**
+     * @param partFile Partition file.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void loadPartition(File partFile) throws IgniteCheckedException {
+        try (DumpReader reader = new DumpReader(partFile)) {
+            while (reader.hasNext()) {
+                DumpEntry e = reader.next();
+
+                IgniteDataStreamer<Object, Object> streamer = streamers.get(e.cacheId());
+                CacheObjectContext coCtx = coCtxs.get(e.cacheId());
+
+                if (streamer == null)
+                    throw new IgniteCheckedException("Configuration of the dumped cache not found [cacheId=" +
+                        e.cacheId() + ", file=" + partFile.getAbsolutePath() + ']');
+
+                KeyCacheObject key = ctx.cacheObjects().toKeyCacheObject(coCtx, e.keyType(), e.keyBytes());
+                CacheObject val = ctx.cacheObjects().toCacheObject(coCtx, e.valueType(), e.valueBytes());
+
+                streamer.addData(key, val);
+            }
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to load dump partition file: " + partFile.getAbsolutePath(), e);
+        }
+    }
+}
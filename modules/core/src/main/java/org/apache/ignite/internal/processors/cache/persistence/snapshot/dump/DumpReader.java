@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot.dump;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.GZIPInputStream;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.processors.cache.GridLocalConfigManager;
+import org.apache.ignite.internal.processors.cache.StoredCacheData;
+
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.CACHE_DIR_PREFIX;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.CACHE_GRP_DIR_PREFIX;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.PART_FILE_PREFIX;
+
+/**
+ * Reads entries of a dumped partition. Dump has the following structure:
+ * <pre>
+ * dump_name
+ *   node_consistent_id
+ *     cache-my_cache
+ *       cache_data.dat
+ *       part-0.dump
+ *       part-1.dump
+ * </pre>
+ * Each partition file is a GZIP compressed sequence of entries, each prefixed with the {@link #ENTRY} marker and
+ * terminated with the {@link #END} marker. The reader doesn't require a running node.
+ */
+public class DumpReader implements Iterator<DumpEntry>, AutoCloseable {
+    /** Dump partition file extension. */
+    public static final String DUMP_FILE_EXT = ".dump";
+
+    /** Marker of an entry. */
+    public static final byte ENTRY = 1;
+
+    /** Marker of the partition file end. */
+    public static final byte END = 0;
+
+    /** Buffer size of the partition file stream. */
+    public static final int BUF_SIZE = 64 * 1024;
+
+    /** Partition file. */
+    private final File partFile;
+
+    /** Input stream. */
+    private final DataInputStream in;
+
+    /** Next entry. */
+    private DumpEntry next;
+
+    /** {@code True} if the end marker is read. */
+    private boolean finished;
+
+    /**
+     * @param partFile Partition file.
+     * @throws IOException If failed.
+     */
+    public DumpReader(File partFile) throws IOException {
+        this.partFile = partFile;
+
+        in = new DataInputStream(new BufferedInputStream(
+            new GZIPInputStream(Files.newInputStream(partFile.toPath()), BUF_SIZE), BUF_SIZE));
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean hasNext() {
+        if (next == null && !finished)
+            advance();
+
+        return next != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public DumpEntry next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        DumpEntry res = next;
+
+        next = null;
+
+        return res;
+    }
+
+    /** */
+    private void advance() {
+        try {
+            byte marker = in.readByte();
+
+            if (marker == END)
+                finished = true;
+            else if (marker == ENTRY)
+                next = DumpEntry.read(in);
+            else
+                throw new IOException("Unexpected marker: " + marker);
+        }
+        catch (IOException e) {
+            throw new IgniteException("Failed to read dump partition file. The file is corrupted or the dump " +
+                "creation hasn't been completed [file=" + partFile.getAbsolutePath() + ']', e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * @param partId Partition ID.
+     * @return Dump partition file name.
+     */
+    public static String partitionFileName(int partId) {
+        return PART_FILE_PREFIX + partId + DUMP_FILE_EXT;
+    }
+
+    /**
+     * @param dumpDir Dump directory.
+     * @return Directories of cache groups dumped by all nodes.
+     */
+    public static List<File> cacheGroupDirectories(File dumpDir) {
+        List<File> res = new ArrayList<>();
+
+        for (File nodeDir : listFiles(dumpDir, File::isDirectory)) {
+            res.addAll(listFiles(nodeDir, f -> f.isDirectory() &&
+                (f.getName().startsWith(CACHE_DIR_PREFIX) || f.getName().startsWith(CACHE_GRP_DIR_PREFIX))));
+        }
+
+        return res;
+    }
+
+    /**
+     * @param dumpDir Dump directory.
+     * @return Partition files dumped by all nodes.
+     */
+    public static List<File> partitionFiles(File dumpDir) {
+        List<File> res = new ArrayList<>();
+
+        for (File grpDir : cacheGroupDirectories(dumpDir))
+            res.addAll(listFiles(grpDir, f -> f.isFile() && f.getName().endsWith(DUMP_FILE_EXT)));
+
+        return res;
+    }
+
+    /**
+     * @param dumpDir Dump directory.
+     * @return Configurations of the dumped caches.
+     */
+    public static Collection<StoredCacheData> cacheConfigurations(File dumpDir) {
+        Map<String, StoredCacheData> res = new LinkedHashMap<>();
+
+        for (File nodeDir : listFiles(dumpDir, File::isDirectory)) {
+            for (StoredCacheData data : GridLocalConfigManager.readCachesData(nodeDir, null, null).values())
+                res.putIfAbsent(data.config().getName(), data);
+        }
+
+        return res.values();
+    }
+
+    /** */
+    private static List<File> listFiles(File dir, FileFilter filter) {
+        File[] files = dir.listFiles(filter);
+
+        if (files == null)
+            throw new IgniteException("Failed to list dump directory: " + dir.getAbsolutePath());
+
+        Arrays.sort(files);
+
+        return Arrays.asList(files);
+    }
+}
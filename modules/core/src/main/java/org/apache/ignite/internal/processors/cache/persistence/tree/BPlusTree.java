@@ -81,6 +81,7 @@ import org.apache.ignite.lang.IgniteInClosure;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_LOCK_RETRIES;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_OPTIMISTIC_READS;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.Bool.DONE;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.Bool.FALSE;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.Bool.READY;
@@ -235,6 +236,19 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
     private static final int LOCK_RETRIES = IgniteSystemProperties.getInteger(
         IGNITE_BPLUS_TREE_LOCK_RETRIES, IGNITE_BPLUS_TREE_LOCK_RETRIES_DEFAULT);
 
+    /** @see IgniteSystemProperties#IGNITE_BPLUS_TREE_OPTIMISTIC_READS */
+    public static final boolean DFLT_BPLUS_TREE_OPTIMISTIC_READS = true;
+
+    /**
+     * Result of {@link #compareOptimistic(BPlusIO, long, int, Object)} if the row can not be compared with the item
+     * using only the data stored in the page.
+     */
+    protected static final int CMP_LOCK_REQUIRED = Integer.MIN_VALUE;
+
+    /** Whether the inner pages are read without locks on lookups. */
+    private final boolean optimisticReads = IgniteSystemProperties.getBoolean(
+        IGNITE_BPLUS_TREE_OPTIMISTIC_READS, DFLT_BPLUS_TREE_OPTIMISTIC_READS);
+
     /** */
     private final AtomicBoolean destroyed = new AtomicBoolean(false);
 
@@ -1679,7 +1693,14 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
                 g.pageId = pageId;
                 g.fwdId = fwdId;
 
-                Result res = read(pageId, page, search, g, lvl, RETRY);
+                Result res = null;
+
+                // Inner pages are read without locks to avoid contention on the locks of the upper levels of the tree.
+                if (lvl > 0 && optimisticReads && g.optimisticRead())
+                    res = searchOptimistic(pageId, page, g, lvl);
+
+                if (res == null)
+                    res = read(pageId, page, search, g, lvl, RETRY);
 
                 switch (res) {
                     case GO_DOWN:
@@ -1718,6 +1739,69 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         }
     }
 
+    /**
+     * Searches the inner page for the child page to go down to without locking the page. Nothing read from the page
+     * is used before the read is validated, the operation is updated only if the search succeeded.
+     *
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @param g Operation.
+     * @param lvl Level.
+     * @return Result code or {@code null} if the page must be read under the lock.
+     * @throws IgniteCheckedException If failed.
+     */
+    private Result searchOptimistic(long pageId, long page, Get g, int lvl) throws IgniteCheckedException {
+        long stamp = pageMem.tryOptimisticRead(grpId, pageId, page);
+
+        if (stamp == 0L)
+            return null;
+
+        long pageAddr = pageMem.optimisticReadAddress(grpId, pageId, page);
+
+        long childId;
+        long childFwdId;
+
+        try {
+            if (PageIO.getPageId(pageAddr) != pageId)
+                return null;
+
+            BPlusIO<L> io = (BPlusIO<L>)pageIoRslvr.resolve(pageAddr);
+
+            if (io.isLeaf() || io.getForward(pageAddr) != g.fwdId)
+                return null;
+
+            int cnt = io.getCount(pageAddr);
+
+            if (cnt < 0 || cnt > io.getMaxCount(pageAddr, pageSize()))
+                return null;
+
+            int idx = g.findLast ? -cnt - 1 : findInsertionPoint(lvl, io, pageAddr, 0, cnt, g.row, g.shift, true);
+
+            // Exact match and the right turn, which requires reading of the forward page, are handled under the lock.
+            if (idx == CMP_LOCK_REQUIRED || idx >= 0 || (idx = fix(idx)) == cnt)
+                return null;
+
+            childId = inner(io).getLeft(pageAddr, idx);
+            childFwdId = inner(io).getRight(pageAddr, idx);
+        }
+        catch (IgniteCheckedException | RuntimeException | AssertionError e) {
+            // Page may be inconsistent if it is modified concurrently.
+            if (pageMem.validateOptimisticRead(grpId, pageId, page, stamp))
+                throw e;
+
+            return null;
+        }
+
+        if (!pageMem.validateOptimisticRead(grpId, pageId, page, stamp))
+            return null;
+
+        g.backId(0L);
+        g.pageId(childId);
+        g.fwdId(childFwdId);
+
+        return GO_DOWN;
+    }
+
     /**
      * @param instance Instance name.
      * @param type Tree type.
@@ -2670,7 +2754,22 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
      * @return {@code True} if replaced existing row.
      */
     public boolean putx(T row) throws IgniteCheckedException {
-        Boolean res = (Boolean)doPut(row, false);
+        return putx(row, 0f);
+    }
+
+    /**
+     * Inserts the row, which is expected to be greater than the rows of the tree, e.g. by the build of the tree
+     * in the ascending order. If the rightmost page of a level is split by the insertion to its end, the page keeps
+     * the given share of the rows instead of the half of them.
+     *
+     * @param row New value.
+     * @param appendFillFactor Fill factor of the rightmost pages split by the insertion to their ends, pages are split
+     *      in the middle if it's {@code 0}.
+     * @throws IgniteCheckedException If failed.
+     * @return {@code True} if replaced existing row.
+     */
+    public boolean putx(T row, float appendFillFactor) throws IgniteCheckedException {
+        Boolean res = (Boolean)doPut(row, false, appendFillFactor);
 
         return res != null ? res : false;
     }
@@ -2682,9 +2781,20 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
      * @throws IgniteCheckedException If failed.
      */
     private T doPut(T row, boolean needOld) throws IgniteCheckedException {
+        return doPut(row, needOld, 0f);
+    }
+
+    /**
+     * @param row New value.
+     * @param needOld {@code True} If need return old value.
+     * @param appendFillFactor Fill factor of the rightmost pages split by the insertion to their ends.
+     * @return Old row.
+     * @throws IgniteCheckedException If failed.
+     */
+    private T doPut(T row, boolean needOld, float appendFillFactor) throws IgniteCheckedException {
         checkDestroyed();
 
-        Put p = new Put(row, needOld);
+        Put p = new Put(row, needOld, appendFillFactor);
 
         try {
             for (;;) { // Go down with retries.
@@ -2993,16 +3103,22 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
      * @param fwdId Forward page ID.
      * @param fwdBuf Forward buffer.
      * @param idx Insertion index.
+     * @param appendFillFactor Fill factor of the page if the insertion is to its end, the page is split in the middle
+     *      if it's {@code 0}.
      * @return {@code true} The middle index was shifted to the right.
      * @throws IgniteCheckedException If failed.
      */
     private boolean splitPage(
-        long pageId, long page, long pageAddr, BPlusIO io, long fwdId, long fwdBuf, int idx
+        long pageId, long page, long pageAddr, BPlusIO io, long fwdId, long fwdBuf, int idx, float appendFillFactor
     ) throws IgniteCheckedException {
         int cnt = io.getCount(pageAddr);
 
         int mid = sequentialWriteOptsEnabled ? (int)(cnt * 0.85) : cnt >>> 1;
 
+        // Keep at least one item in the forward page.
+        if (!sequentialWriteOptsEnabled && idx == cnt && appendFillFactor > 0)
+            mid = Math.max(mid, Math.min((int)(cnt * appendFillFactor), cnt - 2));
+
         boolean res = false;
 
         if (idx > mid) { // If insertion is going to be to the forward page, keep more in the back page.
@@ -3380,6 +3496,14 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
             throw new IllegalStateException();
         }
 
+        /**
+         * @return {@code True} if the inner pages can be read without locks, i.e. the operation only needs to find
+         *      the leaf page and does not change the tree.
+         */
+        boolean optimisticRead() {
+            return false;
+        }
+
         /**
          * @throws IgniteCheckedException If the operation can not be retried.
          */
@@ -3438,6 +3562,11 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
 
             return true;
         }
+
+        /** {@inheritDoc} */
+        @Override boolean optimisticRead() {
+            return true;
+        }
     }
 
     /**
@@ -3475,6 +3604,11 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
 
             return true;
         }
+
+        /** {@inheritDoc} */
+        @Override boolean optimisticRead() {
+            return true;
+        }
     }
 
     /**
@@ -3860,14 +3994,20 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         /** */
         final boolean needOld;
 
+        /** Fill factor of the rightmost pages split by the insertion to their ends. */
+        final float appendFillFactor;
+
         /**
          * @param row Row.
          * @param needOld {@code True} If need return old value.
+         * @param appendFillFactor Fill factor of the rightmost pages split by the insertion to their ends, pages are
+         *      split in the middle if it's {@code 0}.
          */
-        private Put(T row, boolean needOld) {
+        private Put(T row, boolean needOld, float appendFillFactor) {
             super(row);
 
             this.needOld = needOld;
+            this.appendFillFactor = appendFillFactor;
         }
 
         /** {@inheritDoc} */
@@ -4054,7 +4194,9 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
                 final Boolean fwdPageWalPlc = Boolean.TRUE;
 
                 try {
-                    boolean midShift = splitPage(pageId, page, pageAddr, io, fwdId, fwdPageAddr, idx);
+                    // Only the rightmost page is filled by the insertions in the ascending order.
+                    boolean midShift = splitPage(pageId, page, pageAddr, io, fwdId, fwdPageAddr, idx,
+                        hadFwd ? 0f : appendFillFactor);
 
                     // Do insert.
                     int cnt = io.getCount(pageAddr);
@@ -4321,7 +4463,7 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
 
                     assert newRow != null;
 
-                    op = new Put(newRow, false);
+                    op = new Put(newRow, false, 0f);
 
                     break;
 
@@ -5646,6 +5788,24 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
      */
     private int findInsertionPoint(int lvl, BPlusIO<L> io, long buf, int low, int cnt, L row, int shift)
         throws IgniteCheckedException {
+        return findInsertionPoint(lvl, io, buf, low, cnt, row, shift, false);
+    }
+
+    /**
+     * @param lvl Level.
+     * @param io IO.
+     * @param buf Buffer.
+     * @param low Start index.
+     * @param cnt Row count.
+     * @param row Lookup row.
+     * @param shift Shift if equal.
+     * @param optimistic Whether the page is read without the lock.
+     * @return Insertion point as in {@link Arrays#binarySearch(Object[], Object, Comparator)} or
+     *      {@link #CMP_LOCK_REQUIRED} if the optimistic read is not possible.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int findInsertionPoint(int lvl, BPlusIO<L> io, long buf, int low, int cnt, L row, int shift,
+        boolean optimistic) throws IgniteCheckedException {
         assert row != null;
 
         if (sequentialWriteOptsEnabled) {
@@ -5659,7 +5819,16 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         while (low <= high) {
             int mid = (low + high) >>> 1;
 
-            int cmp = compare(lvl, io, buf, mid, row);
+            int cmp;
+
+            if (optimistic) {
+                cmp = compareOptimistic(io, buf, mid, row);
+
+                if (cmp == CMP_LOCK_REQUIRED)
+                    return CMP_LOCK_REQUIRED;
+            }
+            else
+                cmp = compare(lvl, io, buf, mid, row);
 
             if (cmp == 0)
                 cmp = -shift; // We need to fix the case when search row matches multiple data rows.
@@ -5692,9 +5861,25 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         if (leafIos.getType() == type)
             return leafIos.forVersion(ver);
 
+        BPlusInnerIO<L> io = innerIO(type, ver);
+
+        if (io != null)
+            return io;
+
         throw new IllegalStateException("Unknown page type: " + type + " pageId: " + U.hexLong(PageIO.getPageId(pageAddr)));
     }
 
+    /**
+     * Resolves IO of the inner pages which were created with other IO type than the {@link #latestInnerIO()} type.
+     *
+     * @param type Page type.
+     * @param ver Page version.
+     * @return Inner page IO or {@code null} if the type is unknown to the tree.
+     */
+    @Nullable protected BPlusInnerIO<L> innerIO(int type, int ver) {
+        return null;
+    }
+
     /**
      * @param io IO.
      * @return Inner page IO.
@@ -5742,6 +5927,24 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         return compare(io, pageAddr, idx, row);
     }
 
+    /**
+     * Compares the row with the item of the inner page, which is read without the lock. Only the data stored
+     * in the page may be read, since links of the item may point to removed rows if the page is modified
+     * concurrently. For the same reason the data of the item may be inconsistent, so the implementation
+     * must not read outside of the item and must not have side effects.
+     *
+     * @param io IO.
+     * @param pageAddr Page address.
+     * @param idx Index of row in the given buffer.
+     * @param row Lookup row.
+     * @return Comparison result as in {@link Comparator#compare(Object, Object)} or {@link #CMP_LOCK_REQUIRED}
+     *      if the item must be compared under the lock.
+     * @throws IgniteCheckedException If failed.
+     */
+    protected int compareOptimistic(BPlusIO<L> io, long pageAddr, int idx, L row) throws IgniteCheckedException {
+        return CMP_LOCK_REQUIRED;
+    }
+
     /**
      * Get a full detached data row.
      *
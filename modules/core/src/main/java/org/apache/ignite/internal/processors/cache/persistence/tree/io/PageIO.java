@@ -44,6 +44,9 @@ import org.apache.ignite.internal.processors.cache.tree.CacheIdAwarePendingEntry
 import org.apache.ignite.internal.processors.cache.tree.CacheIdAwarePendingEntryLeafIO;
 import org.apache.ignite.internal.processors.cache.tree.DataInnerIO;
 import org.apache.ignite.internal.processors.cache.tree.DataLeafIO;
+import org.apache.ignite.internal.processors.cache.tree.InlineDataInnerIO;
+import org.apache.ignite.internal.processors.cache.tree.InlineDataLeafIO;
+import org.apache.ignite.internal.processors.cache.tree.InlineKeyUtils;
 import org.apache.ignite.internal.processors.cache.tree.PendingEntryInnerIO;
 import org.apache.ignite.internal.processors.cache.tree.PendingEntryLeafIO;
 import org.apache.ignite.internal.processors.cache.tree.mvcc.data.MvccCacheIdAwareDataInnerIO;
@@ -54,6 +57,8 @@ import org.apache.ignite.internal.util.GridStringBuilder;
 import org.apache.ignite.spi.encryption.EncryptionSpi;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.internal.processors.cache.tree.InlineKeyUtils.MIN_INLINE_SIZE;
+
 /**
  * Base format for all the page types.
  *
@@ -112,6 +117,9 @@ public abstract class PageIO {
     /** Maximum payload size. */
     public static final short MAX_PAYLOAD_SIZE = 2048;
 
+    /** Maximum size of the key inlined into the items of the cache data tree. */
+    public static final short MAX_KEY_INLINE_SIZE = 512;
+
     /** */
     private static List<IOVersions<? extends BPlusInnerIO<?>>> h2ExtraInnerIOs = new ArrayList<>(MAX_PAYLOAD_SIZE);
 
@@ -292,6 +300,34 @@ public abstract class PageIO {
     /** */
     public static final short T_H2_EX_REF_MVCC_INNER_END = T_H2_EX_REF_MVCC_INNER_START + MAX_PAYLOAD_SIZE - 1;
 
+    /** Index for key inline size == {@link InlineKeyUtils#MIN_INLINE_SIZE}. */
+    public static final short T_DATA_EX_REF_INNER_START = 14_000;
+
+    /** */
+    public static final short T_DATA_EX_REF_INNER_END =
+        T_DATA_EX_REF_INNER_START + MAX_KEY_INLINE_SIZE - MIN_INLINE_SIZE;
+
+    /** */
+    public static final short T_DATA_EX_REF_LEAF_START = 15_000;
+
+    /** */
+    public static final short T_DATA_EX_REF_LEAF_END =
+        T_DATA_EX_REF_LEAF_START + MAX_KEY_INLINE_SIZE - MIN_INLINE_SIZE;
+
+    /** */
+    public static final short T_CACHE_ID_AWARE_DATA_EX_REF_INNER_START = 16_000;
+
+    /** */
+    public static final short T_CACHE_ID_AWARE_DATA_EX_REF_INNER_END =
+        T_CACHE_ID_AWARE_DATA_EX_REF_INNER_START + MAX_KEY_INLINE_SIZE - MIN_INLINE_SIZE;
+
+    /** */
+    public static final short T_CACHE_ID_AWARE_DATA_EX_REF_LEAF_START = 17_000;
+
+    /** */
+    public static final short T_CACHE_ID_AWARE_DATA_EX_REF_LEAF_END =
+        T_CACHE_ID_AWARE_DATA_EX_REF_LEAF_START + MAX_KEY_INLINE_SIZE - MIN_INLINE_SIZE;
+
     /** */
     private final int ver;
 
@@ -753,6 +789,22 @@ public abstract class PageIO {
         if (type >= T_H2_EX_REF_MVCC_INNER_START && type <= T_H2_EX_REF_MVCC_INNER_END)
             return (Q)h2ExtraMvccInnerIOs.get(type - T_H2_EX_REF_MVCC_INNER_START).forVersion(ver);
 
+        if (type >= T_DATA_EX_REF_INNER_START && type <= T_DATA_EX_REF_INNER_END)
+            return (Q)InlineDataInnerIO.versions(type - T_DATA_EX_REF_INNER_START + MIN_INLINE_SIZE, false)
+                .forVersion(ver);
+
+        if (type >= T_DATA_EX_REF_LEAF_START && type <= T_DATA_EX_REF_LEAF_END)
+            return (Q)InlineDataLeafIO.versions(type - T_DATA_EX_REF_LEAF_START + MIN_INLINE_SIZE, false)
+                .forVersion(ver);
+
+        if (type >= T_CACHE_ID_AWARE_DATA_EX_REF_INNER_START && type <= T_CACHE_ID_AWARE_DATA_EX_REF_INNER_END)
+            return (Q)InlineDataInnerIO.versions(type - T_CACHE_ID_AWARE_DATA_EX_REF_INNER_START + MIN_INLINE_SIZE, true)
+                .forVersion(ver);
+
+        if (type >= T_CACHE_ID_AWARE_DATA_EX_REF_LEAF_START && type <= T_CACHE_ID_AWARE_DATA_EX_REF_LEAF_END)
+            return (Q)InlineDataLeafIO.versions(type - T_CACHE_ID_AWARE_DATA_EX_REF_LEAF_START + MIN_INLINE_SIZE, true)
+                .forVersion(ver);
+
         switch (type) {
             case T_H2_REF_INNER:
                 if (h2InnerIOs == null)
@@ -875,12 +927,18 @@ public abstract class PageIO {
 
             default:
                 if ((T_H2_EX_REF_LEAF_START <= pageIoType && pageIoType <= T_H2_EX_REF_LEAF_END) ||
-                    (T_H2_EX_REF_MVCC_LEAF_START <= pageIoType && pageIoType <= T_H2_EX_REF_MVCC_LEAF_END)
+                    (T_H2_EX_REF_MVCC_LEAF_START <= pageIoType && pageIoType <= T_H2_EX_REF_MVCC_LEAF_END) ||
+                    (T_DATA_EX_REF_LEAF_START <= pageIoType && pageIoType <= T_DATA_EX_REF_LEAF_END) ||
+                    (T_CACHE_ID_AWARE_DATA_EX_REF_LEAF_START <= pageIoType &&
+                        pageIoType <= T_CACHE_ID_AWARE_DATA_EX_REF_LEAF_END)
                 )
                     return IndexPageType.LEAF;
 
                 if ((T_H2_EX_REF_INNER_START <= pageIoType && pageIoType <= T_H2_EX_REF_INNER_END) ||
-                    (T_H2_EX_REF_MVCC_INNER_START <= pageIoType && pageIoType <= T_H2_EX_REF_MVCC_INNER_END)
+                    (T_H2_EX_REF_MVCC_INNER_START <= pageIoType && pageIoType <= T_H2_EX_REF_MVCC_INNER_END) ||
+                    (T_DATA_EX_REF_INNER_START <= pageIoType && pageIoType <= T_DATA_EX_REF_INNER_END) ||
+                    (T_CACHE_ID_AWARE_DATA_EX_REF_INNER_START <= pageIoType &&
+                        pageIoType <= T_CACHE_ID_AWARE_DATA_EX_REF_INNER_END)
                 )
                     return IndexPageType.INNER;
         }
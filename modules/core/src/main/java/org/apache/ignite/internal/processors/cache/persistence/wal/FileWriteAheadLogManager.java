@@ -55,6 +55,7 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.configuration.DataRegionConfiguration;
@@ -325,6 +326,9 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     /** Decompressor. */
     @Nullable private FileDecompressor decompressor;
 
+    /** Indexer of partition updates of archived segments, see {@link DataStorageConfiguration#isWalPartitionIndexEnabled()}. */
+    @Nullable private FilePartitionIndexer partIndexer;
+
     /**
      * Cleaner of segments from WAL archive when the maximum size is reached.
      * Will not work if WAL archive size is {@link DataStorageConfiguration#UNLIMITED_WAL_ARCHIVE}.
@@ -564,9 +568,13 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                 decompressor = new FileDecompressor(log);
             }
 
-            if (isArchiverEnabled())
+            if (isArchiverEnabled()) {
                 archiver = new FileArchiver(log);
 
+                if (dsCfg.isWalPartitionIndexEnabled())
+                    partIndexer = new FilePartitionIndexer(log);
+            }
+
             if (!walArchiveUnlimited())
                 cleaner = new FileCleaner(log);
 
@@ -641,6 +649,9 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             decompressor.restart();
         }
 
+        if (partIndexer != null)
+            partIndexer.restart();
+
         if (!walArchiveUnlimited()) {
             assert cleaner != null : "FileCleaner should be initialized.";
 
@@ -751,6 +762,9 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             if (decompressor != null)
                 decompressor.shutdown();
 
+            if (partIndexer != null)
+                partIndexer.shutdown();
+
             if (cleaner != null)
                 cleaner.shutdown();
         }
@@ -1174,6 +1188,8 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
 
                 segmentSize.remove(idx);
                 segmentAware.addSize(idx, -len);
+
+                U.delete(partitionIndexFile(idx));
             }
 
             // Bump up the oldest archive segment index.
@@ -1199,6 +1215,55 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         return ((archiver0 != null) && segmentAware.locked(absIdx)) || (segmentAware.reserved(absIdx));
     }
 
+    /** {@inheritDoc} */
+    @Override public WALPointer seekPartitionUpdates(
+        WALPointer start,
+        int grpId,
+        Set<Integer> cacheIds,
+        Map<Integer, Long> partCntrs
+    ) {
+        if (partIndexer == null)
+            return start;
+
+        long lastArchived = segmentAware.lastArchivedAbsoluteIndex();
+
+        long idx = start.index();
+
+        for (; idx <= lastArchived; idx++) {
+            WalPartitionIndex partIdx;
+
+            try {
+                partIdx = WalPartitionIndex.read(partitionIndexFile(idx));
+            }
+            catch (IOException e) {
+                U.warn(log, "Failed to read WAL partition index [segment=" + idx + ']', e);
+
+                break;
+            }
+
+            if (partIdx == null || partIdx.hasUpdates(grpId, cacheIds, partCntrs))
+                break;
+        }
+
+        if (idx == start.index())
+            return start;
+
+        if (log.isInfoEnabled()) {
+            log.info("Skipped WAL segments without required partition updates [grpId=" + grpId +
+                ", fromSegment=" + start.index() + ", toSegment=" + idx + ']');
+        }
+
+        return new WALPointer(idx, 0, 0);
+    }
+
+    /**
+     * @param idx Segment index.
+     * @return File of the partition index of the archived segment.
+     */
+    private File partitionIndexFile(long idx) {
+        return archiveSegment(idx, WalPartitionIndex.INDEX_FILE_SUFFIX);
+    }
+
     /** {@inheritDoc} */
     @Override public void notchLastCheckpointPtr(WALPointer ptr) {
         lastCheckpointPtr = ptr;
@@ -2020,6 +2085,9 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                         blockingSectionEnd();
                     }
 
+                    if (partIndexer != null)
+                        partIndexer.onSegmentArchived(toArchive);
+
                     if (evt.isRecordable(EVT_WAL_SEGMENT_ARCHIVED) && !cctx.kernalContext().recoveryMode()) {
                         evt.record(new WalSegmentArchivedEvent(
                             cctx.discovery().localNode(),
@@ -2759,6 +2827,120 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         }
     }
 
+    /**
+     * Builds partition indexes of archived segments, see {@link WalPartitionIndex}.
+     */
+    private class FilePartitionIndexer extends GridWorker {
+        /** Segments queue. */
+        private final PriorityBlockingQueue<Long> segmentsQueue = new PriorityBlockingQueue<>();
+
+        /**
+         * @param log Logger.
+         */
+        FilePartitionIndexer(IgniteLogger log) {
+            super(cctx.igniteInstanceName(), "wal-file-partition-indexer%" + cctx.igniteInstanceName(), log,
+                cctx.kernalContext().workersRegistry());
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void body() {
+            Throwable err = null;
+
+            try {
+                while (!isCancelled()) {
+                    long segmentToIndex;
+
+                    blockingSectionBegin();
+
+                    try {
+                        segmentToIndex = segmentsQueue.take();
+                    }
+                    finally {
+                        blockingSectionEnd();
+                    }
+
+                    if (isCancelled())
+                        break;
+
+                    if (segmentToIndex == -1)
+                        continue;
+
+                    // Segment deletion protection.
+                    if (!segmentAware.reserve(segmentToIndex))
+                        continue;
+
+                    blockingSectionBegin();
+
+                    try {
+                        WalPartitionIndex partIdx = WalPartitionIndex.build(
+                            cctx, log, segmentRouter.findSegment(segmentToIndex).file());
+
+                        if (partIdx != null)
+                            partIdx.write(partitionIndexFile(segmentToIndex));
+                    }
+                    catch (IgniteCheckedException | IgniteException | IOException e) {
+                        // Historical rebalance reads the segment without the index.
+                        if (!isCancelled.get())
+                            U.warn(log, "Failed to build WAL partition index [segment=" + segmentToIndex + ']', e);
+                    }
+                    finally {
+                        blockingSectionEnd();
+
+                        segmentAware.release(segmentToIndex);
+                    }
+
+                    updateHeartbeat();
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                if (!isCancelled.get())
+                    err = e;
+            }
+            catch (Throwable t) {
+                err = t;
+            }
+            finally {
+                if (err == null && !isCancelled.get())
+                    err = new IllegalStateException("Worker " + name() + " is terminated unexpectedly");
+
+                if (err instanceof OutOfMemoryError)
+                    failureProcessor.process(new FailureContext(CRITICAL_ERROR, err));
+                else if (err != null)
+                    failureProcessor.process(new FailureContext(SYSTEM_WORKER_TERMINATION, err));
+            }
+        }
+
+        /**
+         * @param idx Index of the archived segment.
+         */
+        void onSegmentArchived(long idx) {
+            segmentsQueue.put(idx);
+        }
+
+        /** */
+        private void shutdown() {
+            synchronized (this) {
+                U.cancel(this);
+
+                // Put fake -1 to wake thread from queue.take()
+                segmentsQueue.put(-1L);
+            }
+
+            U.join(this, log);
+        }
+
+        /** Restart worker. */
+        void restart() {
+            assert runner() == null : "FilePartitionIndexer is still running.";
+
+            isCancelled.set(false);
+
+            new IgniteThread(this).start();
+        }
+    }
+
     /**
      * Validate files depending on {@link DataStorageConfiguration#getWalSegments()}  and create if need. Check end
      * when exit condition return false or all files are passed.
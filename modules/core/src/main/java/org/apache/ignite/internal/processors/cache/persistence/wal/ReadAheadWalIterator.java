@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.wal;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.internal.util.GridCloseableIteratorAdapter;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.thread.IgniteThread;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * WAL iterator which reads records of the delegate iterator ahead in a separate thread, so reading and
+ * decompression of WAL segments is performed concurrently with applying of the already read records.
+ */
+public class ReadAheadWalIterator extends GridCloseableIteratorAdapter<IgniteBiTuple<WALPointer, WALRecord>>
+    implements WALIterator {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Timeout of the put to the full queue, after which the reader checks whether the iterator is closed. */
+    private static final long PUT_TIMEOUT_MS = 100;
+
+    /** Delegate iterator. */
+    private final WALIterator delegate;
+
+    /** Records read ahead. */
+    private final BlockingQueue<Item> queue;
+
+    /** Reader thread. */
+    private final Thread reader;
+
+    /** Closed flag. */
+    private volatile boolean closed;
+
+    /** Next item to return. */
+    private Item next;
+
+    /** Pointer to the last record returned by the {@link #next()} method. */
+    private WALPointer lastRead;
+
+    /**
+     * @param igniteInstanceName Ignite instance name.
+     * @param delegate Delegate iterator.
+     * @param capacity Maximum number of records read ahead.
+     */
+    public ReadAheadWalIterator(@Nullable String igniteInstanceName, WALIterator delegate, int capacity) {
+        assert capacity > 0 : capacity;
+
+        this.delegate = delegate;
+
+        queue = new ArrayBlockingQueue<>(capacity);
+
+        reader = new IgniteThread(igniteInstanceName, "wal-read-ahead", this::readAhead);
+
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /** Reads records of the delegate iterator to the queue. */
+    private void readAhead() {
+        Item last;
+
+        try {
+            while (!closed && delegate.hasNextX()) {
+                IgniteBiTuple<WALPointer, WALRecord> rec = delegate.nextX();
+
+                if (!put(new Item(rec, delegate.lastRead().orElse(null), null)))
+                    return;
+            }
+
+            // The delegate may skip filtered records after the last returned one.
+            last = new Item(null, delegate.lastRead().orElse(null), null);
+        }
+        catch (Throwable e) {
+            last = new Item(null, null, e);
+        }
+
+        put(last);
+    }
+
+    /**
+     * @param item Item.
+     * @return {@code False} if the iterator is closed.
+     */
+    private boolean put(Item item) {
+        try {
+            while (!closed) {
+                if (queue.offer(item, PUT_TIMEOUT_MS, TimeUnit.MILLISECONDS))
+                    return true;
+            }
+        }
+        catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteBiTuple<WALPointer, WALRecord> onNext() throws IgniteCheckedException {
+        if (!onHasNext())
+            throw new NoSuchElementException();
+
+        Item item = next;
+
+        next = null;
+
+        lastRead = item.lastRead;
+
+        return item.rec;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected boolean onHasNext() throws IgniteCheckedException {
+        if (next == null) {
+            try {
+                next = queue.take();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new IgniteInterruptedCheckedException(e);
+            }
+
+            if (next.rec == null && next.err == null && next.lastRead != null)
+                lastRead = next.lastRead;
+        }
+
+        if (next.err != null) {
+            if (next.err instanceof IgniteCheckedException)
+                throw (IgniteCheckedException)next.err;
+
+            if (next.err instanceof RuntimeException)
+                throw (RuntimeException)next.err;
+
+            if (next.err instanceof Error)
+                throw (Error)next.err;
+
+            throw new IgniteCheckedException(next.err);
+        }
+
+        return next.rec != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Optional<WALPointer> lastRead() {
+        return Optional.ofNullable(lastRead);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void onClose() throws IgniteCheckedException {
+        closed = true;
+
+        queue.clear();
+
+        try {
+            U.join(reader);
+        }
+        finally {
+            delegate.close();
+        }
+    }
+
+    /** Record read ahead. */
+    private static class Item {
+        /** Record with its pointer, {@code null} for the end of records. */
+        private final IgniteBiTuple<WALPointer, WALRecord> rec;
+
+        /** Last read pointer of the delegate iterator after the record is read. */
+        private final WALPointer lastRead;
+
+        /** Error of the delegate iterator. */
+        private final Throwable err;
+
+        /**
+         * @param rec Record with its pointer.
+         * @param lastRead Last read pointer of the delegate iterator after the record is read.
+         * @param err Error of the delegate iterator.
+         */
+        private Item(IgniteBiTuple<WALPointer, WALRecord> rec, WALPointer lastRead, Throwable err) {
+            this.rec = rec;
+            this.lastRead = lastRead;
+            this.err = err;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.wal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
+import org.apache.ignite.internal.pagemem.wal.record.DataRecord;
+import org.apache.ignite.internal.pagemem.wal.record.RollbackRecord;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.persistence.wal.reader.IgniteWalIteratorFactory;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.jetbrains.annotations.Nullable;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.CDC_DATA_RECORD;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_RECORD;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_RECORD_V2;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.ENCRYPTED_DATA_RECORD;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.ENCRYPTED_DATA_RECORD_V2;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.ENCRYPTED_DATA_RECORD_V3;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.MVCC_DATA_RECORD;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.ROLLBACK_TX_RECORD;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.TMP_SUFFIX;
+
+/**
+ * Index of partition updates of an archived WAL segment. Keeps the maximum update counter of every partition
+ * updated by the data and rollback records of the segment, so the segments without required updates can be skipped
+ * by historical rebalance.
+ * <p>
+ * Partitions of data entries are indexed by cache ID and partitions of rollback records are indexed by cache group
+ * ID. Lookups check both, so collisions of the IDs can only make the index more conservative.
+ */
+public class WalPartitionIndex {
+    /** Suffix of the index file, the file is stored next to the archived segment. */
+    public static final String INDEX_FILE_SUFFIX = ".parts";
+
+    /** Record types updating partition counters. */
+    private static final Set<WALRecord.RecordType> RECORD_TYPES = EnumSet.of(
+        DATA_RECORD,
+        DATA_RECORD_V2,
+        CDC_DATA_RECORD,
+        MVCC_DATA_RECORD,
+        ENCRYPTED_DATA_RECORD,
+        ENCRYPTED_DATA_RECORD_V2,
+        ENCRYPTED_DATA_RECORD_V3,
+        ROLLBACK_TX_RECORD);
+
+    /** Maximum update counters of partitions, see {@link #key(int, int)}. */
+    private final Map<Long, Long> maxCntrs;
+
+    /** */
+    private WalPartitionIndex(Map<Long, Long> maxCntrs) {
+        this.maxCntrs = maxCntrs;
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @param cacheIds Cache IDs of the group.
+     * @param partCntrs Update counters of partitions, only updates with greater counters are required.
+     * @return {@code True} if the segment contains required updates.
+     */
+    public boolean hasUpdates(int grpId, Set<Integer> cacheIds, Map<Integer, Long> partCntrs) {
+        if (hasUpdates(grpId, partCntrs))
+            return true;
+
+        for (int cacheId : cacheIds) {
+            if (hasUpdates(cacheId, partCntrs))
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @param id Cache or cache group ID.
+     * @param partCntrs Update counters of partitions, only updates with greater counters are required.
+     * @return {@code True} if the segment contains required updates.
+     */
+    private boolean hasUpdates(int id, Map<Integer, Long> partCntrs) {
+        for (Map.Entry<Integer, Long> e : partCntrs.entrySet()) {
+            Long max = maxCntrs.get(key(id, e.getKey()));
+
+            if (max != null && max > e.getValue())
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads WAL segment and builds index of its partition updates.
+     *
+     * @param cctx Shared context.
+     * @param log Logger.
+     * @param segment Raw or compressed WAL segment.
+     * @return Index, or {@code null} if the segment contains records that can't be indexed.
+     * @throws IgniteCheckedException If failed to read the segment.
+     */
+    public static @Nullable WalPartitionIndex build(
+        GridCacheSharedContext<?, ?> cctx,
+        IgniteLogger log,
+        File segment
+    ) throws IgniteCheckedException {
+        Map<Long, Long> maxCntrs = new HashMap<>();
+
+        try (WALIterator it = new IgniteWalIteratorFactory(log).iterator(
+            new IgniteWalIteratorFactory.IteratorParametersBuilder()
+                .filter((recType, recPtr) -> RECORD_TYPES.contains(recType))
+                .sharedContext(cctx)
+                .filesOrDirs(segment))
+        ) {
+            while (it.hasNext()) {
+                IgniteBiTuple<WALPointer, WALRecord> next = it.next();
+
+                WALRecord rec = next.get2();
+
+                if (rec instanceof DataRecord) {
+                    for (DataEntry entry : ((DataRecord)rec).writeEntries())
+                        onUpdate(maxCntrs, entry.cacheId(), entry.partitionId(), entry.partitionCounter());
+                }
+                else if (rec instanceof RollbackRecord) {
+                    RollbackRecord rbRec = (RollbackRecord)rec;
+
+                    onUpdate(maxCntrs, rbRec.groupId(), rbRec.partitionId(), rbRec.start() + rbRec.range());
+                }
+                else {
+                    // Encrypted record without available key, updated partitions are unknown.
+                    if (log.isDebugEnabled())
+                        log.debug("Unable to index WAL segment [segment=" + segment + ", rec=" + rec + ']');
+
+                    return null;
+                }
+            }
+        }
+
+        return new WalPartitionIndex(maxCntrs);
+    }
+
+    /**
+     * @param maxCntrs Maximum update counters of partitions.
+     * @param id Cache or cache group ID.
+     * @param partId Partition ID.
+     * @param cntr Update counter.
+     */
+    private static void onUpdate(Map<Long, Long> maxCntrs, int id, int partId, long cntr) {
+        maxCntrs.merge(key(id, partId), cntr, Math::max);
+    }
+
+    /**
+     * Writes index to the file. The temporary file is used, so the index file is either complete or absent.
+     *
+     * @param file Index file.
+     * @throws IOException If failed.
+     */
+    public void write(File file) throws IOException {
+        File tmp = new File(file.getPath() + TMP_SUFFIX);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(maxCntrs.size());
+
+            for (Map.Entry<Long, Long> e : maxCntrs.entrySet()) {
+                out.writeLong(e.getKey());
+                out.writeLong(e.getValue());
+            }
+        }
+
+        Files.move(tmp.toPath(), file.toPath(), REPLACE_EXISTING);
+    }
+
+    /**
+     * @param file Index file.
+     * @return Index, or {@code null} if the index file doesn't exist.
+     * @throws IOException If failed.
+     */
+    public static @Nullable WalPartitionIndex read(File file) throws IOException {
+        if (!file.exists())
+            return null;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            int size = in.readInt();
+
+            Map<Long, Long> maxCntrs = new HashMap<>();
+
+            for (int i = 0; i < size; i++)
+                maxCntrs.put(in.readLong(), in.readLong());
+
+            return new WalPartitionIndex(maxCntrs);
+        }
+    }
+
+    /**
+     * @param id Cache or cache group ID.
+     * @param partId Partition ID.
+     * @return Key of the partition.
+     */
+    private static long key(int id, int partId) {
+        return ((long)id << 32) | (partId & 0xFFFFFFFFL);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(WalPartitionIndex.class, this, "partitions", maxCntrs.size());
+    }
+}
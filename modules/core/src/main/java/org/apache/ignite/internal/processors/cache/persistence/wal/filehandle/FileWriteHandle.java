@@ -71,6 +71,11 @@ public interface FileWriteHandle {
      */
     WALPointer position();
 
+    /**
+     * @return Pointer to the end of the last added record (probably not written yet).
+     */
+    WALPointer tail();
+
     /**
      * Do fsync.
      *
@@ -361,6 +361,11 @@ class FileWriteHandleImpl extends AbstractFileHandle implements FileWriteHandle
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public WALPointer tail() {
+        return new WALPointer(getSegmentId(), (int)buf.tail(), 0);
+    }
+
     /**
      * @param ptr Pointer to sync.
      * @throws StorageException If failed.
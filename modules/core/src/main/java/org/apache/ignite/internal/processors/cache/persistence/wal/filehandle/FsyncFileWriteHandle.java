@@ -550,6 +550,11 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public WALPointer tail() {
+        return new WALPointer(getSegmentId(), (int)nextPosition(head.get()), 0);
+    }
+
     /** {@inheritDoc} */
     @Override public void fsync(WALPointer ptr) throws StorageException, IgniteCheckedException {
         fsync(ptr, false);
@@ -40,6 +40,7 @@ import org.apache.ignite.internal.pagemem.wal.record.MvccTxRecord;
 import org.apache.ignite.internal.pagemem.wal.record.PageSnapshot;
 import org.apache.ignite.internal.pagemem.wal.record.RollbackRecord;
 import org.apache.ignite.internal.pagemem.wal.record.SnapshotRecord;
+import org.apache.ignite.internal.pagemem.wal.record.StripedDataRecord;
 import org.apache.ignite.internal.pagemem.wal.record.TxRecord;
 import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
 import org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType;
@@ -97,6 +98,10 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
             case DATA_RECORD_V2:
                 return super.plainSize(rec) + 8/*timestamp*/;
 
+            case STRIPED_DATA_RECORD:
+                return 4/*entry count*/ + 8/*timestamp*/ + 8/*sequence*/ + 4/*stripes*/ + 8/*main segment*/
+                    + 4/*main offset*/ + dataSize((DataRecord)rec);
+
             case SNAPSHOT:
                 return 8 + 1;
 
@@ -178,6 +183,21 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
                     return new DataRecord(entries, timeStamp);
                 }
 
+            case STRIPED_DATA_RECORD:
+                entryCnt = in.readInt();
+                timeStamp = in.readLong();
+
+                long seq = in.readLong();
+                int stripes = in.readInt();
+                WALPointer mainPtr = new WALPointer(in.readLong(), in.readInt(), 0);
+
+                List<DataEntry> stripeEntries = new ArrayList<>(entryCnt);
+
+                for (int i = 0; i < entryCnt; i++)
+                    stripeEntries.add(readPlainDataEntry(in, DATA_RECORD_V2));
+
+                return new StripedDataRecord(stripeEntries, timeStamp, seq, stripes, mainPtr);
+
             case MVCC_DATA_RECORD:
                 entryCnt = in.readInt();
                 timeStamp = in.readLong();
@@ -295,6 +315,21 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
 
                 break;
 
+            case STRIPED_DATA_RECORD:
+                StripedDataRecord stripedRec = (StripedDataRecord)rec;
+
+                buf.putInt(stripedRec.entryCount());
+                buf.putLong(stripedRec.timestamp());
+                buf.putLong(stripedRec.sequence());
+                buf.putInt(stripedRec.stripes());
+                buf.putLong(stripedRec.mainPointer().index());
+                buf.putInt(stripedRec.mainPointer().fileOffset());
+
+                for (int i = 0; i < stripedRec.entryCount(); i++)
+                    putPlainDataEntry(buf, stripedRec.get(i));
+
+                break;
+
             case SNAPSHOT:
                 SnapshotRecord snpRec = (SnapshotRecord)rec;
 
@@ -86,6 +86,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtCacheA
 import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtUnreservedPartitionException;
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageReplacementPolicy;
 import org.apache.ignite.internal.processors.datastructures.DataStructuresProcessor;
 import org.apache.ignite.internal.processors.datastructures.GridSetQueryPredicate;
 import org.apache.ignite.internal.processors.datastructures.SetItemKey;
@@ -3189,9 +3190,24 @@ public abstract class GridCacheQueryManager<K, V> extends GridCacheManagerAdapte
         }
 
         /**
-         * Moves the iterator to the next cache entry.
+         * Moves the iterator to the next cache entry. Pages are accessed with low priority, so the scan doesn't flush
+         * frequently used pages from the page memory.
          */
         private void advance() {
+            boolean prevLowPriority = PageReplacementPolicy.lowPriorityAccess(true);
+
+            try {
+                advance0();
+            }
+            finally {
+                PageReplacementPolicy.lowPriorityAccess(prevLowPriority);
+            }
+        }
+
+        /**
+         * Moves the iterator to the next cache entry.
+         */
+        private void advance0() {
             long start = statsEnabled ? System.nanoTime() : 0L;
 
             Object next0 = null;
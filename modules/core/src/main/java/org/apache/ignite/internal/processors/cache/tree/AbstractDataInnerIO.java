@@ -62,6 +62,12 @@ public abstract class AbstractDataInnerIO extends BPlusInnerIO<CacheSearchRow> i
             off += 4;
         }
 
+        if (keyInlineSize() > 0) {
+            assert !storeMvccVersion();
+
+            InlineKeyUtils.store(pageAddr, off, keyInlineSize(), row.key());
+        }
+
         if (storeMvccVersion()) {
             long mvccCrd = row.mvccCoordinatorVersion();
             long mvccCntr = row.mvccCounter();
@@ -137,6 +143,13 @@ public abstract class AbstractDataInnerIO extends BPlusInnerIO<CacheSearchRow> i
             off += 4;
         }
 
+        if (keyInlineSize() > 0) {
+            assert !storeMvccVersion();
+            assert rowIo.keyInlineSize() == keyInlineSize() : rowIo;
+
+            InlineKeyUtils.copy(srcPageAddr, rowIo.keyInlineOffset(srcIdx), dstPageAddr, off, keyInlineSize());
+        }
+
         if (storeMvccVersion()) {
             long mvccCrd = rowIo.getMvccCoordinatorVersion(srcPageAddr, srcIdx);
             long mvccCntr = rowIo.getMvccCounter(srcPageAddr, srcIdx);
@@ -60,6 +60,12 @@ public abstract class AbstractDataLeafIO extends BPlusLeafIO<CacheSearchRow> imp
             off += 4;
         }
 
+        if (keyInlineSize() > 0) {
+            assert !storeMvccVersion();
+
+            InlineKeyUtils.store(pageAddr, off, keyInlineSize(), row.key());
+        }
+
         if (storeMvccVersion()) {
             long mvccCrdVer = row.mvccCoordinatorVersion();
             long mvccCntr = row.mvccCounter();
@@ -112,6 +118,13 @@ public abstract class AbstractDataLeafIO extends BPlusLeafIO<CacheSearchRow> imp
             off += 4;
         }
 
+        if (keyInlineSize() > 0) {
+            assert !storeMvccVersion();
+            assert rowIo.keyInlineSize() == keyInlineSize() : rowIo;
+
+            InlineKeyUtils.copy(srcPageAddr, rowIo.keyInlineOffset(srcIdx), dstPageAddr, off, keyInlineSize());
+        }
+
         if (storeMvccVersion()) {
             long mvccCrd = rowIo.getMvccCoordinatorVersion(srcPageAddr, srcIdx);
             long mvccCntr = rowIo.getMvccCounter(srcPageAddr, srcIdx);
@@ -18,6 +18,8 @@
 package org.apache.ignite.internal.processors.cache.tree;
 
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.cache.query.index.sorted.MetaPageInfo;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.pagemem.PageUtils;
 import org.apache.ignite.internal.pagemem.store.PageStore;
@@ -51,16 +53,23 @@ import org.jetbrains.annotations.TestOnly;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_DATA_TREE_KEY_INLINE_SIZE;
 import static org.apache.ignite.internal.pagemem.PageIdUtils.itemId;
 import static org.apache.ignite.internal.pagemem.PageIdUtils.pageId;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPageIO.MVCC_INFO_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO.MAX_KEY_INLINE_SIZE;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO.T_DATA;
+import static org.apache.ignite.internal.processors.cache.tree.InlineKeyUtils.CANT_BE_COMPARED;
+import static org.apache.ignite.internal.processors.cache.tree.InlineKeyUtils.MIN_INLINE_SIZE;
 import static org.apache.ignite.internal.util.GridArrays.clearTail;
 
 /**
  *
  */
 public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
+    /** @see IgniteSystemProperties#IGNITE_DATA_TREE_KEY_INLINE_SIZE */
+    public static final int DFLT_DATA_TREE_KEY_INLINE_SIZE = 0;
+
     /** */
     private static final CacheDataRow[] EMPTY_ROWS = {};
 
@@ -77,6 +86,9 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
     /** */
     private final CacheGroupContext grp;
 
+    /** Size of the key bytes inlined into the tree items, {@code 0} if keys are not inlined. */
+    private final int keyInlineSize;
+
     /**
      * @param grp Cache group.
      * @param name Tree name.
@@ -121,7 +133,19 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
 
         assert !grp.dataRegion().config().isPersistenceEnabled() || grp.shared().database().checkpointLockIsHeldByThread();
 
-        initTree(initNew);
+        // Inline size of the existing tree is defined by its pages regardless of the current configuration.
+        keyInlineSize = initNew ? keyInlineSize(grp) : MetaPageInfo.read(metaPageId, grpId, pageMem).inlineSize();
+
+        if (keyInlineSize > 0) {
+            assert !grp.mvccEnabled();
+
+            setIos(
+                InlineDataInnerIO.versions(keyInlineSize, grp.sharedGroup()),
+                InlineDataLeafIO.versions(keyInlineSize, grp.sharedGroup())
+            );
+        }
+
+        initTree(initNew, keyInlineSize);
     }
 
     /**
@@ -340,6 +364,27 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
         return grp.sharedGroup() ? CacheIdAwareDataLeafIO.VERSIONS : DataLeafIO.VERSIONS;
     }
 
+    /**
+     * @param grp Cache group.
+     * @return Key inline size for a new tree.
+     */
+    private static int keyInlineSize(CacheGroupContext grp) {
+        // Keys of MVCC rows are not inlined.
+        if (grp.mvccEnabled())
+            return 0;
+
+        int size = IgniteSystemProperties.getInteger(IGNITE_DATA_TREE_KEY_INLINE_SIZE, DFLT_DATA_TREE_KEY_INLINE_SIZE);
+
+        return size < MIN_INLINE_SIZE ? 0 : Math.min(size, MAX_KEY_INLINE_SIZE);
+    }
+
+    /**
+     * @return Size of the key bytes inlined into the tree items, {@code 0} if keys are not inlined.
+     */
+    public int keyInlineSize() {
+        return keyInlineSize;
+    }
+
     /**
      * @return Row store.
      */
@@ -384,11 +429,12 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
         if (cmp != 0)
             return cmp;
 
-        long link = io.getLink(pageAddr, idx);
-
         assert row.key() != null : row;
 
-        cmp = compareKeys(row.key(), link);
+        cmp = keyInlineSize > 0 ? compareInlinedKey(io, pageAddr, idx, row.key()) : CANT_BE_COMPARED;
+
+        if (cmp == CANT_BE_COMPARED)
+            cmp = compareKeys(row.key(), io.getLink(pageAddr, idx));
 
         if (cmp != 0 || !grp.mvccEnabled())
             return cmp;
@@ -402,6 +448,37 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
         return -MvccUtils.compare(crd, cntr, opCntr, row); // descending order
     }
 
+    /** {@inheritDoc} */
+    @Override protected int compareOptimistic(BPlusIO<CacheSearchRow> iox, long pageAddr, int idx,
+        CacheSearchRow row) {
+        RowLinkIO io = (RowLinkIO)iox;
+
+        int cmp;
+
+        if (grp.sharedGroup()) {
+            cmp = Integer.compare(io.getCacheId(pageAddr, idx), row.cacheId());
+
+            // A search row with a cache ID only is used as a cache bound.
+            if (cmp != 0 || row.key() == null)
+                return cmp;
+        }
+
+        cmp = Integer.compare(io.getHash(pageAddr, idx), row.hash());
+
+        if (cmp != 0 || keyInlineSize == 0)
+            return cmp != 0 ? cmp : CMP_LOCK_REQUIRED;
+
+        try {
+            cmp = compareInlinedKey(io, pageAddr, idx, row.key());
+        }
+        catch (IgniteCheckedException ignored) {
+            return CMP_LOCK_REQUIRED;
+        }
+
+        // Keys which are not inlined completely are compared by the data of the rows.
+        return cmp != CANT_BE_COMPARED ? cmp : CMP_LOCK_REQUIRED;
+    }
+
     /** {@inheritDoc} */
     @Override public CacheDataRow getRow(BPlusIO<CacheSearchRow> io, long pageAddr, int idx, Object flags) {
         RowLinkIO rowIo = (RowLinkIO)io;
@@ -429,6 +506,22 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
         return grp.statisticsHolderIdx();
     }
 
+    /**
+     * @param io IO.
+     * @param pageAddr Page address.
+     * @param idx Index.
+     * @param key Key.
+     * @return Compare result or {@link InlineKeyUtils#CANT_BE_COMPARED} if the inlined bytes are not enough to
+     *      compare keys.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int compareInlinedKey(RowLinkIO io, long pageAddr, int idx, KeyCacheObject key)
+        throws IgniteCheckedException {
+        byte[] bytes = key.valueBytes(grp.cacheObjectContext());
+
+        return InlineKeyUtils.compare(pageAddr, io.keyInlineOffset(idx), io.keyInlineSize(), bytes);
+    }
+
     /**
      * @param key Key.
      * @param link Link.
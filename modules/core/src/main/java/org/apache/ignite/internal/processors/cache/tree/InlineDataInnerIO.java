@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.tree;
+
+import org.apache.ignite.internal.pagemem.PageUtils;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.IOVersions;
+
+import static org.apache.ignite.internal.processors.cache.tree.InlineKeyUtils.MIN_INLINE_SIZE;
+
+/**
+ * Inner page IO of the cache data tree with the key bytes inlined into the items.
+ */
+public final class InlineDataInnerIO extends AbstractDataInnerIO {
+    /** IO versions by inline size. */
+    @SuppressWarnings("unchecked")
+    private static final IOVersions<InlineDataInnerIO>[] VERSIONS = new IOVersions[MAX_KEY_INLINE_SIZE + 1];
+
+    /** IO versions by inline size for cache ID aware trees. */
+    @SuppressWarnings("unchecked")
+    private static final IOVersions<InlineDataInnerIO>[] CACHE_ID_AWARE_VERSIONS =
+        new IOVersions[MAX_KEY_INLINE_SIZE + 1];
+
+    static {
+        for (int inlineSize = MIN_INLINE_SIZE; inlineSize <= MAX_KEY_INLINE_SIZE; inlineSize++) {
+            int off = inlineSize - MIN_INLINE_SIZE;
+
+            VERSIONS[inlineSize] = new IOVersions<>(
+                new InlineDataInnerIO(T_DATA_EX_REF_INNER_START + off, 1, false, inlineSize));
+
+            CACHE_ID_AWARE_VERSIONS[inlineSize] = new IOVersions<>(
+                new InlineDataInnerIO(T_CACHE_ID_AWARE_DATA_EX_REF_INNER_START + off, 1, true, inlineSize));
+        }
+    }
+
+    /** */
+    private final boolean storeCacheId;
+
+    /** */
+    private final int inlineSize;
+
+    /**
+     * @param type Page type.
+     * @param ver Page format version.
+     * @param storeCacheId Whether cache ID is stored.
+     * @param inlineSize Key inline size.
+     */
+    private InlineDataInnerIO(int type, int ver, boolean storeCacheId, int inlineSize) {
+        super(type, ver, true, (storeCacheId ? 16 : 12) + inlineSize);
+
+        this.storeCacheId = storeCacheId;
+        this.inlineSize = inlineSize;
+    }
+
+    /**
+     * @param inlineSize Key inline size.
+     * @param storeCacheId Whether cache ID is stored.
+     * @return IO versions.
+     */
+    public static IOVersions<InlineDataInnerIO> versions(int inlineSize, boolean storeCacheId) {
+        assert inlineSize >= MIN_INLINE_SIZE && inlineSize <= MAX_KEY_INLINE_SIZE : inlineSize;
+
+        return storeCacheId ? CACHE_ID_AWARE_VERSIONS[inlineSize] : VERSIONS[inlineSize];
+    }
+
+    /** {@inheritDoc} */
+    @Override protected boolean storeCacheId() {
+        return storeCacheId;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getCacheId(long pageAddr, int idx) {
+        if (!storeCacheId)
+            throw new UnsupportedOperationException();
+
+        return PageUtils.getInt(pageAddr, offset(idx) + 12);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int keyInlineSize() {
+        return inlineSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int keyInlineOffset(int idx) {
+        return offset(idx) + (storeCacheId ? 16 : 12);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.tree;
+
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.pagemem.PageUtils;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.persistence.tree.util.PageHandler;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+/**
+ * Layout and comparison of the key bytes inlined into the items of the cache data tree.
+ * <p>
+ * Inline area starts with the length of the key bytes, followed by the key bytes truncated to the inline size.
+ * Keys are compared the same way {@link CacheDataTree} compares them with the key stored in a data page: by length
+ * first, then by 8-byte words, then by the remaining bytes. So the inlined prefix of the key is enough to compare
+ * keys unless the prefixes are equal and the key is truncated.
+ */
+public class InlineKeyUtils {
+    /** Size of the key length. */
+    public static final int LEN_SIZE = 4;
+
+    /** Minimum inline size which can hold at least one byte of the key. */
+    public static final int MIN_INLINE_SIZE = LEN_SIZE + 1;
+
+    /** Result of the comparison of keys which can't be compared by the inlined bytes. */
+    public static final int CANT_BE_COMPARED = -2;
+
+    /**
+     * Writes the inline area of the key.
+     *
+     * @param pageAddr Page address.
+     * @param off Offset of the inline area.
+     * @param inlineSize Inline size.
+     * @param key Key.
+     */
+    public static void store(long pageAddr, int off, int inlineSize, KeyCacheObject key) {
+        assert key != null;
+
+        byte[] bytes;
+
+        try {
+            // Key of the row stored in the tree is already marshalled to be written to a data page.
+            bytes = key.valueBytes(null);
+        }
+        catch (IgniteCheckedException e) {
+            throw new IgniteException("Failed to inline key of the row.", e);
+        }
+
+        int len = Math.min(bytes.length, inlineSize - LEN_SIZE);
+
+        PageUtils.putInt(pageAddr, off, bytes.length);
+        PageUtils.putBytes(pageAddr, off + LEN_SIZE, bytes, 0, len);
+
+        if (len < inlineSize - LEN_SIZE)
+            GridUnsafe.setMemory(pageAddr + off + LEN_SIZE + len, inlineSize - LEN_SIZE - len, (byte)0);
+    }
+
+    /**
+     * Copies the inline area of the key.
+     *
+     * @param srcPageAddr Source page address.
+     * @param srcOff Offset of the source inline area.
+     * @param dstPageAddr Destination page address.
+     * @param dstOff Offset of the destination inline area.
+     * @param inlineSize Inline size.
+     */
+    public static void copy(long srcPageAddr, int srcOff, long dstPageAddr, int dstOff, int inlineSize) {
+        PageHandler.copyMemory(srcPageAddr, srcOff, dstPageAddr, dstOff, inlineSize);
+    }
+
+    /**
+     * Compares the inlined key with the given key bytes.
+     *
+     * @param pageAddr Page address.
+     * @param off Offset of the inline area.
+     * @param inlineSize Inline size.
+     * @param bytes Key bytes.
+     * @return Comparison result or {@link #CANT_BE_COMPARED} if the inlined prefix is not enough to compare keys.
+     */
+    public static int compare(long pageAddr, int off, int inlineSize, byte[] bytes) {
+        int len = PageUtils.getInt(pageAddr, off);
+
+        int lenCmp = Integer.compare(len, bytes.length);
+
+        if (lenCmp != 0)
+            return lenCmp;
+
+        int inlined = Math.min(len, inlineSize - LEN_SIZE);
+
+        long addr = pageAddr + off + LEN_SIZE;
+
+        int words = inlined / 8;
+
+        for (int i = 0; i < words; i++) {
+            int wordOff = i * 8;
+
+            long b1 = PageUtils.getLong(addr, wordOff);
+            long b2 = GridUnsafe.getLong(bytes, GridUnsafe.BYTE_ARR_OFF + wordOff);
+
+            int cmp = Long.compare(b1, b2);
+
+            if (cmp != 0)
+                return cmp;
+        }
+
+        // Remaining bytes are compared as a whole only at the end of the key.
+        if (inlined < len)
+            return CANT_BE_COMPARED;
+
+        for (int i = words * 8; i < len; i++) {
+            byte b1 = PageUtils.getByte(addr, i);
+            byte b2 = bytes[i];
+
+            if (b1 != b2)
+                return b1 > b2 ? 1 : -1;
+        }
+
+        return 0;
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.processors.cache.tree;
 
+import java.util.List;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.pagemem.PageMemory;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
@@ -24,6 +25,7 @@ import org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelo
 import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
+import org.apache.ignite.internal.util.lang.GridCursor;
 import org.apache.ignite.internal.util.typedef.internal.CU;
 
 /**
@@ -80,6 +82,31 @@ public class PendingEntriesTree extends BPlusTree<PendingRow, PendingRow> {
         initTree(initNew);
     }
 
+    /**
+     * Removes rows of the cache which expire time has passed by a single range removal.
+     *
+     * @param cacheId Cache ID, {@link CU#UNDEFINED_CACHE_ID} if the cache group is not shared.
+     * @param now Current time.
+     * @param limit Limit of removed rows, {@code 0} for no limit.
+     * @return Removed rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    public List<PendingRow> removeExpired(int cacheId, long now, int limit) throws IgniteCheckedException {
+        return remove(new PendingRow(cacheId, Long.MIN_VALUE, 0), new PendingRow(cacheId, now, 0), limit);
+    }
+
+    /**
+     * @param cacheId Cache ID, {@link CU#UNDEFINED_CACHE_ID} if the cache group is not shared.
+     * @return Expire time of the first row of the cache, {@code 0} if there are no rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    public long firstExpireTime(int cacheId) throws IgniteCheckedException {
+        GridCursor<PendingRow> cur = find(
+            new PendingRow(cacheId, Long.MIN_VALUE, 0), new PendingRow(cacheId, Long.MAX_VALUE, 0), WITHOUT_KEY);
+
+        return cur.next() ? cur.get().expireTime : 0;
+    }
+
     /** {@inheritDoc} */
     @Override protected int compare(BPlusIO<PendingRow> iox, long pageAddr, int idx, PendingRow row) {
         PendingRowIO io = (PendingRowIO)iox;
@@ -120,6 +147,12 @@ public class PendingEntriesTree extends BPlusTree<PendingRow, PendingRow> {
         return Long.compare(link, row.link);
     }
 
+    /** {@inheritDoc} */
+    @Override protected int compareOptimistic(BPlusIO<PendingRow> iox, long pageAddr, int idx, PendingRow row) {
+        // Pending rows are compared by the data stored in the page only.
+        return compare(iox, pageAddr, idx, row);
+    }
+
     /** {@inheritDoc} */
     @Override public PendingRow getRow(BPlusIO<PendingRow> io, long pageAddr, int idx, Object flag)
         throws IgniteCheckedException {
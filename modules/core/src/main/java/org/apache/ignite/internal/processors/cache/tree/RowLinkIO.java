@@ -44,6 +44,21 @@ public interface RowLinkIO {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * @return Size of the key bytes inlined into the item or {@code 0} if the key is not inlined.
+     */
+    default int keyInlineSize() {
+        return 0;
+    }
+
+    /**
+     * @param idx Index.
+     * @return Offset of the inlined key bytes of the item.
+     */
+    default int keyInlineOffset(int idx) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * @param pageAddr Page address.
      * @param idx Index.
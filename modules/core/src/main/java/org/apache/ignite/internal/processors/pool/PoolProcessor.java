@@ -516,19 +516,20 @@ public class PoolProcessor extends GridProcessorAdapter {
 
         rebalanceExecSvc.allowCoreThreadTimeOut(true);
 
-        if (CU.isPersistenceEnabled(ctx.config())) {
-            snpExecSvc = createExecutorService(
-                SNAPSHOT_RUNNER_THREAD_PREFIX,
-                cfg.getIgniteInstanceName(),
-                cfg.getSnapshotThreadPoolSize(),
-                cfg.getSnapshotThreadPoolSize(),
-                DFLT_THREAD_KEEP_ALIVE_TIME,
-                new LinkedBlockingQueue<>(),
-                GridIoPolicy.UNDEFINED,
-                excHnd);
+        // Snapshot executor is also used to create cache dumps of in-memory caches.
+        snpExecSvc = createExecutorService(
+            SNAPSHOT_RUNNER_THREAD_PREFIX,
+            cfg.getIgniteInstanceName(),
+            cfg.getSnapshotThreadPoolSize(),
+            cfg.getSnapshotThreadPoolSize(),
+            DFLT_THREAD_KEEP_ALIVE_TIME,
+            new LinkedBlockingQueue<>(),
+            GridIoPolicy.UNDEFINED,
+            excHnd);
 
-            snpExecSvc.allowCoreThreadTimeOut(true);
+        snpExecSvc.allowCoreThreadTimeOut(true);
 
+        if (CU.isPersistenceEnabled(ctx.config())) {
             reencryptExecSvc = createExecutorService(
                 "reencrypt",
                 ctx.igniteInstanceName(),
@@ -17,6 +17,8 @@
 
 package org.apache.ignite.internal.processors.query.schema;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.ignite.IgniteCheckedException;
@@ -30,6 +32,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.topology.Grid
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageReplacementPolicy;
 import org.apache.ignite.internal.processors.query.QueryTypeDescriptorImpl;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.lang.GridCursor;
@@ -41,6 +44,7 @@ import org.jetbrains.annotations.Nullable;
 import static java.util.Objects.nonNull;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_ENABLE_EXTRA_INDEX_REBUILD_LOGGING;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_REBUILD_BATCH_SIZE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE;
 import static org.apache.ignite.IgniteSystemProperties.getBoolean;
 import static org.apache.ignite.IgniteSystemProperties.getInteger;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.EVICTED;
@@ -57,9 +61,16 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
     /** Default count of rows, being processed within a single checkpoint lock. */
     public static final int DFLT_IGNITE_INDEX_REBUILD_BATCH_SIZE = 1_000;
 
+    /** Default count of rows, being sorted together by the sorted index build. Sorted build is disabled by default. */
+    public static final int DFLT_IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE = 0;
+
     /** Count of rows, being processed within a single checkpoint lock. */
     private final int batchSize = getInteger(IGNITE_INDEX_REBUILD_BATCH_SIZE, DFLT_IGNITE_INDEX_REBUILD_BATCH_SIZE);
 
+    /** Count of rows, being sorted together by the sorted index build. */
+    private final int sortBufSize = getInteger(IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE,
+        DFLT_IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE);
+
     /** Cache context. */
     private final GridCacheContext cctx;
 
@@ -72,6 +83,9 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
     /** Index closure. */
     private final SchemaIndexCacheVisitorClosureWrapper wrappedClo;
 
+    /** Index closure sorting rows, {@code null} if rows are processed in the order of the partition. */
+    @Nullable private final SchemaIndexCacheSortingClosure sortingClo;
+
     /** Partition. */
     private final GridDhtLocalPartition locPart;
 
@@ -118,6 +132,8 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
 
         this.stop = stop;
         wrappedClo = new SchemaIndexCacheVisitorClosureWrapper(clo);
+        sortingClo = sortBufSize > 0 && clo instanceof SchemaIndexCacheSortingClosure ?
+            (SchemaIndexCacheSortingClosure)clo : null;
         this.fut = fut;
         this.partsCnt = partsCnt;
     }
@@ -126,6 +142,8 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
     @Override protected void body() throws InterruptedException, IgniteInterruptedCheckedException {
         Throwable err = null;
 
+        boolean prevLowPriority = PageReplacementPolicy.lowPriorityAccess(true);
+
         try {
             processPartition();
         }
@@ -142,6 +160,8 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
                 cctx.group().metrics().addIndexBuildCountPartitionsLeft(-cnt);
         }
         finally {
+            PageReplacementPolicy.lowPriorityAccess(prevLowPriority);
+
             fut.onDone(wrappedClo.indexCacheStat, err);
         }
     }
@@ -171,9 +191,15 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
                 cctx.cacheId(),
                 null,
                 null,
-                KEY_ONLY
+                sortingClo == null ? KEY_ONLY : null
             );
 
+            if (sortingClo != null) {
+                processPartitionSorted(cursor);
+
+                return;
+            }
+
             boolean locked = false;
 
             try {
@@ -217,6 +243,84 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
         }
     }
 
+    /**
+     * Process partition in batches of rows sorted by the index closure. Rows read from the partition are used
+     * for sorting only, the closure is applied to the current state of the entries as in the unsorted case.
+     *
+     * @param cursor Cursor over rows of the partition.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void processPartitionSorted(GridCursor<? extends CacheDataRow> cursor) throws IgniteCheckedException {
+        List<CacheDataRow> rows = new ArrayList<>(sortBufSize);
+
+        while (!stop() && cursor.next()) {
+            rows.add(cursor.get());
+
+            if (rows.size() == sortBufSize) {
+                if (!processSortedRows(rows))
+                    return;
+
+                rows.clear();
+            }
+        }
+
+        if (!stop() && !rows.isEmpty())
+            processSortedRows(rows);
+    }
+
+    /**
+     * Sorts the batch of rows and processes their keys in the sorted order.
+     *
+     * @param rows Rows.
+     * @return {@code False} if the partition is being evicted.
+     * @throws IgniteCheckedException If failed.
+     */
+    private boolean processSortedRows(List<CacheDataRow> rows) throws IgniteCheckedException {
+        sortingClo.sort(rows);
+
+        boolean locked = false;
+        boolean renting = false;
+
+        int cntr = 0;
+
+        try {
+            for (CacheDataRow row : rows) {
+                if (stop())
+                    break;
+
+                if (!locked) {
+                    cctx.shared().database().checkpointReadLock();
+
+                    locked = true;
+                }
+
+                processKey(row.key());
+
+                if (++cntr % batchSize == 0) {
+                    cctx.shared().database().checkpointReadUnlock();
+
+                    locked = false;
+                }
+
+                cctx.cache().metrics0().addIndexRebuildKeyProcessed(1);
+
+                if (locPart.state() == RENTING) {
+                    renting = true;
+
+                    break;
+                }
+            }
+
+            wrappedClo.addNumberProcessedKeys(cntr);
+        }
+        finally {
+            if (locked)
+                cctx.shared().database().checkpointReadUnlock();
+        }
+
+        return !renting;
+    }
+
     /**
      * Process single key.
      *
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.schema;
+
+import java.util.List;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+
+/**
+ * Index closure which prefers rows to be applied in the order of the index keys. If sorted index build is enabled,
+ * partition workers read rows in batches, sort every batch with {@link #sort(List)} and apply the closure to the rows
+ * in the sorted order.
+ *
+ * @see org.apache.ignite.IgniteSystemProperties#IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE
+ */
+public interface SchemaIndexCacheSortingClosure extends SchemaIndexCacheVisitorClosure {
+    /**
+     * Sorts rows in the order the closure should be applied in.
+     *
+     * @param rows Rows to sort.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void sort(List<CacheDataRow> rows) throws IgniteCheckedException;
+}
@@ -0,0 +1,434 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.stat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Equi-depth histogram of not null column values.
+ * <p>
+ * Each bucket holds the minimum and maximum values and the count of values in the bucket. Buckets don't overlap and
+ * the same value never spans several buckets. A value, which is more frequent than the bucket depth, gets its own
+ * single-valued bucket, so such buckets represent the most frequent values of the column.
+ */
+public class ColumnHistogram {
+    /** Math context to use in estimations. */
+    private static final MathContext MATH_CONTEXT = MathContext.DECIMAL64;
+
+    /** Lower bounds of buckets. */
+    private final BigDecimal[] lo;
+
+    /** Upper bounds of buckets. */
+    private final BigDecimal[] hi;
+
+    /** Count of values in buckets. */
+    private final long[] cnts;
+
+    /** Total count of values. */
+    private final long total;
+
+    /**
+     * Constructor.
+     *
+     * @param lo Lower bounds of buckets.
+     * @param hi Upper bounds of buckets.
+     * @param cnts Count of values in buckets.
+     */
+    public ColumnHistogram(BigDecimal[] lo, BigDecimal[] hi, long[] cnts) {
+        assert lo.length == hi.length && lo.length == cnts.length;
+
+        this.lo = lo;
+        this.hi = hi;
+        this.cnts = cnts;
+
+        long total = 0;
+
+        for (long cnt : cnts)
+            total += cnt;
+
+        this.total = total;
+    }
+
+    /**
+     * Builds histogram by the sorted values.
+     *
+     * @param vals Sorted values.
+     * @param weights Weights of values.
+     * @param size Count of values to use.
+     * @param buckets Desired buckets count.
+     * @return Histogram or {@code null} if there are no values.
+     */
+    public static ColumnHistogram build(BigDecimal[] vals, double[] weights, int size, int buckets) {
+        if (size == 0)
+            return null;
+
+        double totalWeight = 0;
+
+        for (int i = 0; i < size; i++)
+            totalWeight += weights[i];
+
+        double depth = totalWeight / buckets;
+
+        List<BigDecimal> lo = new ArrayList<>(buckets);
+        List<BigDecimal> hi = new ArrayList<>(buckets);
+        List<Long> cnts = new ArrayList<>(buckets);
+
+        BigDecimal bucketLo = null;
+        BigDecimal bucketHi = null;
+        double bucketCnt = 0;
+
+        // Weight of the values placed to the buckets, counts are rounded cumulatively to keep the total exact.
+        double placed = 0;
+
+        for (int i = 0; i < size; ) {
+            BigDecimal val = vals[i];
+            double valCnt = 0;
+
+            // Values are grouped, so the same value never gets to the different buckets.
+            for (; i < size && vals[i].compareTo(val) == 0; i++)
+                valCnt += weights[i];
+
+            if (valCnt >= depth) {
+                if (bucketLo != null) {
+                    placed = addBucket(lo, hi, cnts, bucketLo, bucketHi, placed, bucketCnt);
+
+                    bucketLo = null;
+                    bucketCnt = 0;
+                }
+
+                placed = addBucket(lo, hi, cnts, val, val, placed, valCnt);
+
+                continue;
+            }
+
+            if (bucketLo == null)
+                bucketLo = val;
+
+            bucketHi = val;
+            bucketCnt += valCnt;
+
+            if (bucketCnt >= depth) {
+                placed = addBucket(lo, hi, cnts, bucketLo, bucketHi, placed, bucketCnt);
+
+                bucketLo = null;
+                bucketCnt = 0;
+            }
+        }
+
+        if (bucketLo != null)
+            placed = addBucket(lo, hi, cnts, bucketLo, bucketHi, placed, bucketCnt);
+
+        return new ColumnHistogram(lo.toArray(new BigDecimal[0]), hi.toArray(new BigDecimal[0]),
+            cnts.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    /**
+     * @return Weight of the values placed to the buckets including the added one.
+     */
+    private static double addBucket(
+        List<BigDecimal> lo,
+        List<BigDecimal> hi,
+        List<Long> cnts,
+        BigDecimal bucketLo,
+        BigDecimal bucketHi,
+        double placed,
+        double bucketCnt
+    ) {
+        lo.add(bucketLo);
+        hi.add(bucketHi);
+        cnts.add(Math.max(1L, Math.round(placed + bucketCnt) - Math.round(placed)));
+
+        return placed + bucketCnt;
+    }
+
+    /**
+     * Merges histograms (partition histograms into the local one or local histograms into the global one).
+     * Each bucket is approximated by its bounds, half of the bucket values are placed to each of them.
+     *
+     * @param hists Histograms to merge.
+     * @param buckets Desired buckets count.
+     * @return Merged histogram or {@code null} if there are no histograms to merge.
+     */
+    public static ColumnHistogram merge(List<ColumnHistogram> hists, int buckets) {
+        if (F.isEmpty(hists))
+            return null;
+
+        int size = 0;
+
+        for (ColumnHistogram hist : hists)
+            size += 2 * hist.buckets();
+
+        BigDecimal[] vals = new BigDecimal[size];
+        double[] weights = new double[size];
+        Integer[] idxs = new Integer[size];
+
+        int pos = 0;
+
+        for (ColumnHistogram hist : hists) {
+            for (int i = 0; i < hist.buckets(); i++) {
+                vals[pos] = hist.lo[i];
+                weights[pos++] = hist.cnts[i] / 2.;
+                vals[pos] = hist.hi[i];
+                weights[pos++] = hist.cnts[i] / 2.;
+            }
+        }
+
+        for (int i = 0; i < size; i++)
+            idxs[i] = i;
+
+        Arrays.sort(idxs, Comparator.comparing(i -> vals[i]));
+
+        BigDecimal[] sortedVals = new BigDecimal[size];
+        double[] sortedWeights = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            sortedVals[i] = vals[idxs[i]];
+            sortedWeights[i] = weights[idxs[i]];
+        }
+
+        return build(sortedVals, sortedWeights, size, buckets);
+    }
+
+    /**
+     * @return Buckets count.
+     */
+    public int buckets() {
+        return cnts.length;
+    }
+
+    /**
+     * @return Lower bounds of buckets.
+     */
+    public BigDecimal[] lowerBounds() {
+        return lo;
+    }
+
+    /**
+     * @return Upper bounds of buckets.
+     */
+    public BigDecimal[] upperBounds() {
+        return hi;
+    }
+
+    /**
+     * @return Count of values in buckets.
+     */
+    public long[] counts() {
+        return cnts;
+    }
+
+    /**
+     * @return Total count of values.
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Estimates the fraction of values, which are less (or less or equal) than the given one.
+     *
+     * @param val Value.
+     * @param inclusive Whether the equal values should be taken into account.
+     * @param distinct Number of distinct values.
+     * @return Fraction of values.
+     */
+    public double lessSelectivity(BigDecimal val, boolean inclusive, long distinct) {
+        if (total == 0)
+            return 0;
+
+        double res = 0;
+
+        for (int i = 0; i < cnts.length; i++) {
+            int cmpLo = val.compareTo(lo[i]);
+            int cmpHi = val.compareTo(hi[i]);
+
+            if (cmpHi > 0 || (cmpHi == 0 && inclusive))
+                res += cnts[i];
+            else if (cmpLo > 0 && cmpHi < 0) {
+                BigDecimal frac = val.subtract(lo[i]).divide(hi[i].subtract(lo[i]), MATH_CONTEXT);
+
+                res += cnts[i] * frac.doubleValue();
+            }
+            else if (cmpHi == 0 && cmpLo > 0) {
+                // Upper bound value itself is excluded, it is estimated as a not frequent value of the bucket.
+                res += Math.max(0., cnts[i] - uniformCount(distinct));
+            }
+            else if (cmpLo == 0 && cmpHi < 0 && inclusive) {
+                // Lower bound value itself is included, it is estimated as a not frequent value of the bucket.
+                res += Math.min(cnts[i], uniformCount(distinct));
+            }
+            else
+                break;
+        }
+
+        return Math.min(1., res / total);
+    }
+
+    /**
+     * Estimates the fraction of values, which are equal to the given one.
+     *
+     * @param val Value.
+     * @param distinct Number of distinct values.
+     * @return Fraction of values.
+     */
+    public double equalsSelectivity(BigDecimal val, long distinct) {
+        if (total == 0)
+            return 0;
+
+        boolean inBucket = false;
+
+        for (int i = 0; i < cnts.length; i++) {
+            if (lo[i].compareTo(hi[i]) == 0) {
+                if (val.compareTo(lo[i]) == 0)
+                    return (double)cnts[i] / total;
+            }
+            else if (val.compareTo(lo[i]) >= 0 && val.compareTo(hi[i]) <= 0)
+                inBucket = true;
+        }
+
+        if (!inBucket)
+            return 0;
+
+        return uniformCount(distinct) / total;
+    }
+
+    /**
+     * Estimates the count of a not frequent value. Single-valued buckets hold the frequent values, others are
+     * considered as uniformly distributed.
+     *
+     * @param distinct Number of distinct values.
+     * @return Count of the value.
+     */
+    private double uniformCount(long distinct) {
+        long frequentCnt = 0;
+        int frequentDistinct = 0;
+
+        for (int i = 0; i < cnts.length; i++) {
+            if (lo[i].compareTo(hi[i]) == 0) {
+                frequentCnt += cnts[i];
+                frequentDistinct++;
+            }
+        }
+
+        long restCnt = total - frequentCnt;
+        long restDistinct = Math.max(1, distinct - frequentDistinct);
+
+        return (double)restCnt / restDistinct;
+    }
+
+    /**
+     * @return Serialized histogram.
+     */
+    public byte[] toBytes() {
+        byte[][] loBytes = new byte[cnts.length][];
+        byte[][] hiBytes = new byte[cnts.length][];
+
+        int size = 4 + cnts.length * 8;
+
+        for (int i = 0; i < cnts.length; i++) {
+            loBytes[i] = lo[i].unscaledValue().toByteArray();
+            hiBytes[i] = hi[i].unscaledValue().toByteArray();
+
+            size += 16 + loBytes[i].length + hiBytes[i].length;
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(size);
+
+        buf.putInt(cnts.length);
+
+        for (int i = 0; i < cnts.length; i++) {
+            putDecimal(buf, lo[i].scale(), loBytes[i]);
+            putDecimal(buf, hi[i].scale(), hiBytes[i]);
+            buf.putLong(cnts[i]);
+        }
+
+        return buf.array();
+    }
+
+    /**
+     * @param bytes Serialized histogram.
+     * @return Histogram or {@code null} if the bytes are {@code null}.
+     */
+    public static ColumnHistogram fromBytes(byte[] bytes) {
+        if (bytes == null)
+            return null;
+
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+
+        int buckets = buf.getInt();
+
+        BigDecimal[] lo = new BigDecimal[buckets];
+        BigDecimal[] hi = new BigDecimal[buckets];
+        long[] cnts = new long[buckets];
+
+        for (int i = 0; i < buckets; i++) {
+            lo[i] = getDecimal(buf);
+            hi[i] = getDecimal(buf);
+            cnts[i] = buf.getLong();
+        }
+
+        return new ColumnHistogram(lo, hi, cnts);
+    }
+
+    /** */
+    private static void putDecimal(ByteBuffer buf, int scale, byte[] unscaled) {
+        buf.putInt(scale);
+        buf.putInt(unscaled.length);
+        buf.put(unscaled);
+    }
+
+    /** */
+    private static BigDecimal getDecimal(ByteBuffer buf) {
+        int scale = buf.getInt();
+        byte[] unscaled = new byte[buf.getInt()];
+
+        buf.get(unscaled);
+
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ColumnHistogram that = (ColumnHistogram)o;
+        return Arrays.equals(lo, that.lo) && Arrays.equals(hi, that.hi) && Arrays.equals(cnts, that.cnts);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int hashCode() {
+        int result = Arrays.hashCode(lo);
+        result = 31 * result + Arrays.hashCode(hi);
+        result = 31 * result + Arrays.hashCode(cnts);
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ColumnHistogram.class, this, "buckets", buckets(), "total", total);
+    }
+}
@@ -47,6 +47,9 @@ public class ColumnStatistics {
     /** Raw data. */
     private final byte[] raw;
 
+    /** Histogram of not null values or {@code null} if it isn't collected. */
+    private final ColumnHistogram hist;
+
     /** Version. */
     private final long ver;
 
@@ -76,6 +79,35 @@ public class ColumnStatistics {
         byte[] raw,
         long ver,
         long createdAt
+    ) {
+        this(min, max, nulls, distinct, total, size, raw, null, ver, createdAt);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param min Min value in column or {@code null}.
+     * @param max Max value in column or {@code null}.
+     * @param nulls Number of null values in column.
+     * @param distinct Number of distinct values in column.
+     * @param total Total number of values in column.
+     * @param size Average size in bytes, for variable size only.
+     * @param raw Raw data to aggregate statistics.
+     * @param hist Histogram of not null values or {@code null}.
+     * @param ver Statistics version.
+     * @param createdAt Created at time, milliseconds.
+     */
+    public ColumnStatistics(
+        BigDecimal min,
+        BigDecimal max,
+        long nulls,
+        long distinct,
+        long total,
+        int size,
+        byte[] raw,
+        ColumnHistogram hist,
+        long ver,
+        long createdAt
     ) {
         this.min = min;
         this.max = max;
@@ -84,6 +116,7 @@ public class ColumnStatistics {
         this.total = total;
         this.size = size;
         this.raw = raw;
+        this.hist = hist;
         this.ver = ver;
         this.createdAt = createdAt;
     }
@@ -137,6 +170,13 @@ public class ColumnStatistics {
         return raw;
     }
 
+    /**
+     * @return Histogram of not null values or {@code null} if it isn't collected.
+     */
+    public ColumnHistogram histogram() {
+        return hist;
+    }
+
     /**
      * @return Statistic's version.
      */
@@ -164,12 +204,13 @@ public class ColumnStatistics {
             createdAt == that.createdAt &&
             (min == null ? that.min == null : min.compareTo(that.min) == 0) &&
             (max == null ? that.max == null : max.compareTo(that.max) == 0) &&
-            Arrays.equals(raw, that.raw);
+            Arrays.equals(raw, that.raw) &&
+            Objects.equals(hist, that.hist);
     }
 
     /** {@inheritDoc} */
     @Override public int hashCode() {
-        int result = Objects.hash(min, max, nulls, distinct, total, size, ver, createdAt);
+        int result = Objects.hash(min, max, nulls, distinct, total, size, hist, ver, createdAt);
         result = 31 * result + Arrays.hashCode(raw);
         return result;
     }
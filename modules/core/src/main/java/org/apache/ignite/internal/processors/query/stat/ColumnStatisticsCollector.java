@@ -25,12 +25,14 @@ import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.binary.BinaryObjectImpl;
@@ -49,6 +51,12 @@ import static org.apache.ignite.internal.processors.query.stat.StatisticsUtils.t
  * Collector to compute statistic by single column.
  */
 public class ColumnStatisticsCollector {
+    /** Buckets count of the values histogram. */
+    public static final int HISTOGRAM_BUCKETS = 64;
+
+    /** Count of values sampled to build the histogram. */
+    static final int HISTOGRAM_SAMPLE_SIZE = 64 * HISTOGRAM_BUCKETS;
+
     /** */
     private static final Set<Class<?>> comparableCls = new HashSet<>(Arrays.<Class<?>>asList(
         Boolean.class,
@@ -93,6 +101,12 @@ public class ColumnStatisticsCollector {
     /** Null values counter. */
     private long nullsCnt;
 
+    /** Sample of not null values to build the histogram by, {@code null} for not comparable columns. */
+    private BigDecimal[] sample;
+
+    /** Count of values in the sample. */
+    private int sampleSize;
+
     /** Is column has complex type. */
     private final boolean isComparable;
 
@@ -124,6 +138,9 @@ public class ColumnStatisticsCollector {
         this.colType = colType;
 
         isComparable = colType != null && comparableCls.contains(colType);
+
+        if (isComparable)
+            sample = new BigDecimal[HISTOGRAM_SAMPLE_SIZE];
     }
 
     /**
@@ -150,9 +167,47 @@ public class ColumnStatisticsCollector {
 
             if (null == max || max.compareTo(decVal) < 0)
                 max = decVal;
+
+            addToSample(decVal);
         }
     }
 
+    /**
+     * Adds value to the sample using reservoir sampling, so each value gets to the sample with the same probability.
+     *
+     * @param val Not null value.
+     */
+    private void addToSample(BigDecimal val) {
+        long notNulls = total - nullsCnt;
+
+        if (sampleSize < sample.length)
+            sample[sampleSize++] = val;
+        else {
+            long idx = ThreadLocalRandom.current().nextLong(notNulls);
+
+            if (idx < sample.length)
+                sample[(int)idx] = val;
+        }
+    }
+
+    /**
+     * Builds histogram by the sampled values.
+     *
+     * @return Histogram or {@code null} if there are no sampled values.
+     */
+    private ColumnHistogram buildHistogram() {
+        if (sampleSize == 0)
+            return null;
+
+        Arrays.sort(sample, 0, sampleSize);
+
+        double[] weights = new double[sampleSize];
+
+        Arrays.fill(weights, (double)(total - nullsCnt) / sampleSize);
+
+        return ColumnHistogram.build(sample, weights, sampleSize, HISTOGRAM_BUCKETS);
+    }
+
     /**
      * Get total column statistics.
      *
@@ -162,7 +217,7 @@ public class ColumnStatisticsCollector {
         int averageSize = averageSize(size, total, nullsCnt);
 
         return new ColumnStatistics(toDecimal(min), toDecimal(max), nullsCnt, hll.cardinality(), total, averageSize,
-            hll.toBytes(), ver, U.currentTimeMillis());
+            hll.toBytes(), buildHistogram(), ver, U.currentTimeMillis());
     }
 
     /**
@@ -227,6 +282,9 @@ public class ColumnStatisticsCollector {
         // Total size in bytes
         long totalSize = 0;
 
+        // Histograms of not empty partitions.
+        List<ColumnHistogram> hists = new ArrayList<>(partStats.size());
+
         ColumnStatistics firstStat = F.first(partStats);
         long ver = firstStat.version();
         long createdAt = firstStat.createdAt();
@@ -251,6 +309,9 @@ public class ColumnStatisticsCollector {
 
             if (createdAt < partStat.createdAt())
                 createdAt = partStat.createdAt();
+
+            if (partStat.histogram() != null)
+                hists.add(partStat.histogram());
         }
 
         Integer overrideSize = (overrides == null) ? null : overrides.size();
@@ -264,7 +325,9 @@ public class ColumnStatisticsCollector {
         Long overrideTotal = (overrides == null) ? null : overrides.total();
         total = (overrideTotal == null) ? total : overrideTotal;
 
-        return new ColumnStatistics(min, max, nulls, distinct, total, averageSize, hll.toBytes(), ver, createdAt);
+        ColumnHistogram hist = hists.size() == 1 ? hists.get(0) : ColumnHistogram.merge(hists, HISTOGRAM_BUCKETS);
+
+        return new ColumnStatistics(min, max, nulls, distinct, total, averageSize, hll.toBytes(), hist, ver, createdAt);
     }
 
     /**
@@ -55,8 +55,10 @@ public class StatisticsUtils {
         StatisticsDecimalMessage msgMin = new StatisticsDecimalMessage(stat.min());
         StatisticsDecimalMessage msgMax = new StatisticsDecimalMessage(stat.max());
 
+        byte[] hist = stat.histogram() == null ? null : stat.histogram().toBytes();
+
         return new StatisticsColumnData(msgMin, msgMax, stat.nulls(), stat.distinct(),
-            stat.total(), stat.size(), stat.raw(), stat.version(), stat.createdAt());
+            stat.total(), stat.size(), stat.raw(), hist, stat.version(), stat.createdAt());
     }
 
     /**
@@ -68,7 +70,8 @@ public class StatisticsUtils {
      */
     public static ColumnStatistics toColumnStatistics(GridKernalContext ctx, StatisticsColumnData data) {
         return new ColumnStatistics(data.min().value(), data.max().value(), data.nulls(), data.distinct(),
-            data.total(), data.size(), data.rawData(), data.version(), data.createdAt());
+            data.total(), data.size(), data.rawData(), ColumnHistogram.fromBytes(data.histogram()), data.version(),
+            data.createdAt());
     }
 
     /**
@@ -53,6 +53,9 @@ public class StatisticsColumnData implements Message {
     /** Raw data. */
     private byte[] rawData;
 
+    /** Serialized histogram. */
+    private byte[] hist;
+
     /** Version. */
     private long ver;
 
@@ -76,6 +79,7 @@ public class StatisticsColumnData implements Message {
      * @param total Total values in column.
      * @param size Average size, for variable size types (in bytes).
      * @param rawData Raw data to make statistics aggregate.
+     * @param hist Serialized histogram.
      * @param ver Statistics version.
      * @param createdAt Created at time, milliseconds.
      */
@@ -87,6 +91,7 @@ public class StatisticsColumnData implements Message {
         long total,
         int size,
         byte[] rawData,
+        byte[] hist,
         long ver,
         long createdAt
     ) {
@@ -97,6 +102,7 @@ public class StatisticsColumnData implements Message {
         this.total = total;
         this.size = size;
         this.rawData = rawData;
+        this.hist = hist;
         this.ver = ver;
         this.createdAt = createdAt;
     }
@@ -150,6 +156,13 @@ public class StatisticsColumnData implements Message {
         return rawData;
     }
 
+    /**
+     * @return Serialized histogram.
+     */
+    public byte[] histogram() {
+        return hist;
+    }
+
     /**
      * @return Raw data.
      */
@@ -189,42 +202,48 @@ public class StatisticsColumnData implements Message {
                 writer.incrementState();
 
             case 2:
-                if (!writer.writeMessage("max", max))
+                if (!writer.writeByteArray("hist", hist))
                     return false;
 
                 writer.incrementState();
 
             case 3:
-                if (!writer.writeMessage("min", min))
+                if (!writer.writeMessage("max", max))
                     return false;
 
                 writer.incrementState();
 
             case 4:
-                if (!writer.writeLong("nulls", nulls))
+                if (!writer.writeMessage("min", min))
                     return false;
 
                 writer.incrementState();
 
             case 5:
-                if (!writer.writeByteArray("rawData", rawData))
+                if (!writer.writeLong("nulls", nulls))
                     return false;
 
                 writer.incrementState();
 
             case 6:
-                if (!writer.writeInt("size", size))
+                if (!writer.writeByteArray("rawData", rawData))
                     return false;
 
                 writer.incrementState();
 
             case 7:
-                if (!writer.writeLong("total", total))
+                if (!writer.writeInt("size", size))
                     return false;
 
                 writer.incrementState();
 
             case 8:
+                if (!writer.writeLong("total", total))
+                    return false;
+
+                writer.incrementState();
+
+            case 9:
                 if (!writer.writeLong("ver", ver))
                     return false;
 
@@ -260,7 +279,7 @@ public class StatisticsColumnData implements Message {
                 reader.incrementState();
 
             case 2:
-                max = reader.readMessage("max");
+                hist = reader.readByteArray("hist");
 
                 if (!reader.isLastRead())
                     return false;
@@ -268,7 +287,7 @@ public class StatisticsColumnData implements Message {
                 reader.incrementState();
 
             case 3:
-                min = reader.readMessage("min");
+                max = reader.readMessage("max");
 
                 if (!reader.isLastRead())
                     return false;
@@ -276,7 +295,7 @@ public class StatisticsColumnData implements Message {
                 reader.incrementState();
 
             case 4:
-                nulls = reader.readLong("nulls");
+                min = reader.readMessage("min");
 
                 if (!reader.isLastRead())
                     return false;
@@ -284,7 +303,7 @@ public class StatisticsColumnData implements Message {
                 reader.incrementState();
 
             case 5:
-                rawData = reader.readByteArray("rawData");
+                nulls = reader.readLong("nulls");
 
                 if (!reader.isLastRead())
                     return false;
@@ -292,7 +311,7 @@ public class StatisticsColumnData implements Message {
                 reader.incrementState();
 
             case 6:
-                size = reader.readInt("size");
+                rawData = reader.readByteArray("rawData");
 
                 if (!reader.isLastRead())
                     return false;
@@ -300,7 +319,7 @@ public class StatisticsColumnData implements Message {
                 reader.incrementState();
 
             case 7:
-                total = reader.readLong("total");
+                size = reader.readInt("size");
 
                 if (!reader.isLastRead())
                     return false;
@@ -308,6 +327,14 @@ public class StatisticsColumnData implements Message {
                 reader.incrementState();
 
             case 8:
+                total = reader.readLong("total");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 9:
                 ver = reader.readLong("ver");
 
                 if (!reader.isLastRead())
@@ -327,7 +354,7 @@ public class StatisticsColumnData implements Message {
 
     /** {@inheritDoc} */
     @Override public byte fieldsCount() {
-        return 9;
+        return 10;
     }
 
     /** {@inheritDoc} */
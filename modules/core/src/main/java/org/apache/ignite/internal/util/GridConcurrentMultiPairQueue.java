@@ -129,13 +129,7 @@ public class GridConcurrentMultiPairQueue<K, V> {
             return false;
         }
 
-        int segment = res.getSegment();
-
-        if (absPos > lenSeq[segment]) {
-            segment = Arrays.binarySearch(lenSeq, segment, lenSeq.length - 1, absPos);
-
-            segment = segment < 0 ? -segment - 1 : segment;
-        }
+        int segment = segment(absPos, res.getSegment());
 
         int relPos = segment == 0 ? absPos : (absPos - lenSeq[segment - 1] - 1);
 
@@ -146,6 +140,56 @@ public class GridConcurrentMultiPairQueue<K, V> {
         return true;
     }
 
+    /**
+     * Retrieves and removes up to {@code dst.length} head values of the same key. Values are removed
+     * in the order of the value array, so concurrent calls get non-overlapping ranges of the array.
+     *
+     * @param res Result holder, the key of removed values is set to it.
+     * @param dst Array to copy removed values to.
+     * @return Number of removed values, or {@code 0} if this queue is empty.
+     */
+    public int next(Result<K, V> res, V[] dst) {
+        while (true) {
+            int absPos = pos.get();
+
+            if (absPos >= maxPos) {
+                res.set(null, null, 0);
+
+                return 0;
+            }
+
+            int segment = segment(absPos, res.getSegment());
+
+            int cnt = Math.min(dst.length, lenSeq[segment] - absPos + 1);
+
+            if (!pos.compareAndSet(absPos, absPos + cnt))
+                continue;
+
+            int relPos = segment == 0 ? absPos : (absPos - lenSeq[segment - 1] - 1);
+
+            System.arraycopy(vals[segment], relPos, dst, 0, cnt);
+
+            res.set(keysArr[segment], dst[0], segment);
+
+            return cnt;
+        }
+    }
+
+    /**
+     * @param absPos Absolute position.
+     * @param segment Segment of some previous position.
+     * @return Segment of the given position.
+     */
+    private int segment(int absPos, int segment) {
+        if (absPos > lenSeq[segment]) {
+            segment = Arrays.binarySearch(lenSeq, segment, lenSeq.length - 1, absPos);
+
+            segment = segment < 0 ? -segment - 1 : segment;
+        }
+
+        return segment;
+    }
+
     /**
      * @return {@code true} if empty.
      */
@@ -1499,6 +1499,13 @@ public abstract class GridUnsafe {
         UNSAFE.putObjectVolatile(obj, off, val);
     }
 
+    /**
+     * Ensures that loads before the fence will not be reordered with loads after the fence.
+     */
+    public static void loadFence() {
+        UNSAFE.loadFence();
+    }
+
     /**
      * Returns page size.
      *
@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.util;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import org.apache.ignite.IgniteSystemProperties;
@@ -33,6 +34,9 @@ import org.apache.ignite.internal.util.typedef.internal.U;
  *     |     2 bytes    |     2 bytes   | 2 bytes |  2 bytes |
  *     +----------------+---------------+---------+----------+
  * </pre>
+ * Besides locking, optimistic reads are supported: see {@link #tryOptimisticRead(long, int)}. There is no room
+ * for a version in the lock state, so versions are kept in striped counters, which are incremented on each
+ * write unlock. A write to any lock of the stripe invalidates the optimistic reads of all the locks of the stripe.
  */
 public class OffheapReadWriteLock {
     /** @see #IGNITE_OFFHEAP_RWLOCK_SPIN_COUNT */
@@ -66,6 +70,12 @@ public class OffheapReadWriteLock {
     /** Maximum number of waiting threads, read or write. */
     public static final int MAX_WAITERS = 0xFFFF;
 
+    /** Number of version stripes, must be a power of two. */
+    private static final int VERSION_STRIPES = 1024;
+
+    /** Distance between version counters in longs to keep each counter in a separate cache line. */
+    private static final int VERSION_PADDING = 8;
+
     /** */
     private final ReentrantLock[] locks;
 
@@ -81,6 +91,9 @@ public class OffheapReadWriteLock {
     /** */
     private int monitorsMask;
 
+    /** Striped versions for optimistic reads. */
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES * VERSION_PADDING);
+
     /**
      * @param concLvl Concurrency level, must be a power of two.
      */
@@ -272,6 +285,9 @@ public class OffheapReadWriteLock {
 
         assert tag != 0;
 
+        // Must be incremented before the lock is released, see validate().
+        versions.incrementAndGet(versionIndex(lock));
+
         while (true) {
             long state = GridUnsafe.getLongVolatile(null, lock);
 
@@ -306,6 +322,44 @@ public class OffheapReadWriteLock {
         }
     }
 
+    /**
+     * Starts an optimistic read, which does not acquire the lock. Data read after this method call may be
+     * inconsistent and must not be used until the read is validated with {@link #validate(long, long)}.
+     *
+     * @param lock Lock address.
+     * @param tag Expected tag or negative value to skip the tag check.
+     * @return Stamp to validate the read with or {@code 0} if the write lock is held or the tag does not match.
+     */
+    public long tryOptimisticRead(long lock, int tag) {
+        long ver = versions.get(versionIndex(lock));
+
+        long state = GridUnsafe.getLongVolatile(null, lock);
+
+        if (lockCount(state) == -1 || !checkTag(state, tag))
+            return 0L;
+
+        return ver + 1;
+    }
+
+    /**
+     * Checks that the lock was not acquired for write since the optimistic read had been started.
+     *
+     * @param lock Lock address.
+     * @param stamp Stamp returned by {@link #tryOptimisticRead(long, int)}.
+     * @return {@code True} if the data read since the stamp had been obtained is consistent.
+     */
+    public boolean validate(long lock, long stamp) {
+        assert stamp != 0L;
+
+        // Data must be read before the lock state, and the lock state must be read before the version:
+        // a writer which has released the lock has already incremented the version.
+        GridUnsafe.loadFence();
+
+        long state = GridUnsafe.getLongVolatile(null, lock);
+
+        return lockCount(state) != -1 && versions.get(versionIndex(lock)) + 1 == stamp;
+    }
+
     /**
      * @param writeWaitCnt Writers wait count.
      * @param readWaitCnt Readers wait count.
@@ -523,6 +577,14 @@ public class OffheapReadWriteLock {
         return U.safeAbs(U.hash(lock)) & monitorsMask;
     }
 
+    /**
+     * @param lock Lock pointer.
+     * @return Index of the version counter.
+     */
+    private int versionIndex(long lock) {
+        return (U.safeAbs(U.hash(lock)) & (VERSION_STRIPES - 1)) * VERSION_PADDING;
+    }
+
     /**
      * @param state Lock state.
      * @return {@code True} if write lock is not acquired.
@@ -115,6 +115,7 @@ public abstract class AbstractCdcTest extends GridCommonAbstractTest {
 
         cdcCfg.setConsumer(cnsmr);
         cdcCfg.setKeepBinary(keepBinary());
+        cdcCfg.setReadAheadRecords(readAheadRecords());
 
         return new CdcMain(cfg, null, cdcCfg) {
             @Override protected CdcConsumerState createState(Path stateDir) {
@@ -268,6 +269,11 @@ public abstract class AbstractCdcTest extends GridCommonAbstractTest {
         return false;
     }
 
+    /** */
+    protected int readAheadRecords() {
+        return new CdcConfiguration().getReadAheadRecords();
+    }
+
     /** */
     protected MetricExporterSpi[] metricExporters() {
         return null;
@@ -113,6 +113,9 @@ public class CdcSelfTest extends AbstractCdcTest {
     /** */
     private long cdcWalDirMaxSize = DFLT_CDC_WAL_DIRECTORY_MAX_SIZE;
 
+    /** */
+    private boolean readAhead = true;
+
     /** */
     @Parameterized.Parameters(name = "consistentId={0}, wal={1}, persistence={2}")
     public static Collection<?> parameters() {
@@ -151,6 +154,11 @@ public class CdcSelfTest extends AbstractCdcTest {
         return cfg;
     }
 
+    /** {@inheritDoc} */
+    @Override protected int readAheadRecords() {
+        return readAhead ? super.readAheadRecords() : 0;
+    }
+
     /** Simplest CDC test. */
     @Test
     public void testReadAllKeysCommitAll() throws Exception {
@@ -186,6 +194,14 @@ public class CdcSelfTest extends AbstractCdcTest {
         }, true);
     }
 
+    /** Simplest CDC test but read WAL records in the consumer thread. */
+    @Test
+    public void testReadAllKeysCommitEachEventWithoutReadAhead() throws Exception {
+        readAhead = false;
+
+        testReadAllKeysCommitEachEvent();
+    }
+
     /** */
     @Test
     public void testReadExpireTime() throws Exception {
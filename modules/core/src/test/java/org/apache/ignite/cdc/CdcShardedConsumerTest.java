@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.cdc;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.Affinity;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.cdc.CdcConsumerState;
+import org.apache.ignite.internal.cdc.CdcMain;
+import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
+import org.apache.ignite.internal.processors.cache.persistence.wal.reader.StandaloneGridKernalContext;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.util.typedef.T2;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+import static org.apache.ignite.cdc.AbstractCdcTest.ChangeEventType.UPDATE;
+import static org.apache.ignite.cluster.ClusterState.ACTIVE;
+import static org.apache.ignite.internal.cdc.CdcMain.COMMITTED_SEG_IDX;
+import static org.apache.ignite.internal.cdc.ShardedWalRecordsConsumer.PENDING_EVTS_CNT;
+import static org.apache.ignite.internal.cdc.ShardedWalRecordsConsumer.SHARD_METRICS;
+import static org.apache.ignite.internal.processors.cache.GridCacheUtils.cacheId;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+import static org.apache.ignite.testframework.GridTestUtils.getFieldValue;
+import static org.apache.ignite.testframework.GridTestUtils.runAsync;
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/** Checks consumption of the events by the consumer shards. */
+public class CdcShardedConsumerTest extends AbstractCdcTest {
+    /** */
+    private static final int SHARDS = 4;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setWalForceArchiveTimeout(WAL_ARCHIVE_TIMEOUT)
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)
+                    .setCdcEnabled(true)))
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME));
+    }
+
+    /** Checks that events of a partition are consumed by the same shard and restart doesn't lose events. */
+    @Test
+    public void testShardedConsumption() throws Exception {
+        IgniteEx ign = startGrid(0);
+
+        ign.cluster().state(ACTIVE);
+
+        IgniteCache<Integer, User> cache = ign.cache(DEFAULT_CACHE_NAME);
+
+        List<UserCdcConsumer> cnsmrs = new CopyOnWriteArrayList<>();
+
+        CdcMain cdc = createShardedCdc(cnsmrs, null, ign.configuration());
+
+        IgniteInternalFuture<?> fut = runAsync(cdc);
+
+        for (int i = 0; i < KEYS_CNT; i++)
+            cache.put(i, createUser(i));
+
+        assertTrue(waitForCondition(sizePredicate(KEYS_CNT, DEFAULT_CACHE_NAME, UPDATE, consumers(cnsmrs)),
+            getTestTimeout()));
+
+        assertEquals(SHARDS, cnsmrs.size());
+
+        checkPartitions(ign.affinity(DEFAULT_CACHE_NAME), cnsmrs);
+
+        StandaloneGridKernalContext kctx = getFieldValue(cdc, "kctx");
+
+        for (int i = 0; i < SHARDS; i++) {
+            MetricRegistry mreg = kctx.metric().registry(metricName(SHARD_METRICS, String.valueOf(i)));
+
+            assertNotNull(mreg.<LongMetric>findMetric(PENDING_EVTS_CNT));
+            assertNotNull(mreg.<LongMetric>findMetric(COMMITTED_SEG_IDX));
+        }
+
+        fut.cancel();
+
+        for (UserCdcConsumer cnsmr : cnsmrs)
+            assertTrue(cnsmr.stopped());
+
+        // State committed by the shards is saved on stop, even if the last save was less than the interval ago.
+        CdcConsumerState state = new CdcConsumerState(log, ((Path)getFieldValue(cdc, "cdcDir")).resolve(CdcMain.STATE_DIR));
+
+        assertTrue(waitForCondition(() -> {
+            List<T2<WALPointer, Integer>> saved = state.loadWalShardsState();
+
+            return saved != null && saved.size() == SHARDS && saved.stream().allMatch(Objects::nonNull);
+        }, getTestTimeout()));
+
+        List<UserCdcConsumer> restarted = new CopyOnWriteArrayList<>();
+
+        cdc = createShardedCdc(restarted, cnsmrs.get(0), ign.configuration());
+
+        fut = runAsync(cdc);
+
+        for (int i = KEYS_CNT; i < KEYS_CNT * 2; i++)
+            cache.put(i, createUser(i));
+
+        assertTrue(waitForCondition(() -> {
+            for (int i = KEYS_CNT; i < KEYS_CNT * 2; i++) {
+                int key = i;
+
+                if (restarted.stream().noneMatch(c -> c.data(UPDATE, cacheId(DEFAULT_CACHE_NAME)).contains(key)))
+                    return false;
+            }
+
+            return true;
+        }, getTestTimeout()));
+
+        checkPartitions(ign.affinity(DEFAULT_CACHE_NAME), restarted);
+
+        fut.cancel();
+    }
+
+    /**
+     * @param cnsmrs Consumers created by the factory.
+     * @param prev Consumer before the restart. Types and caches handled by it are not passed to the new consumers.
+     * @param cfg Ignite configuration.
+     * @return Change Data Capture application consuming events by the shards.
+     */
+    private CdcMain createShardedCdc(
+        List<UserCdcConsumer> cnsmrs,
+        @Nullable UserCdcConsumer prev,
+        IgniteConfiguration cfg
+    ) {
+        CdcConfiguration cdcCfg = new CdcConfiguration();
+
+        cdcCfg.setKeepBinary(keepBinary());
+        cdcCfg.setConsumerShards(SHARDS);
+        cdcCfg.setConsumerFactory(() -> {
+            UserCdcConsumer cnsmr = new UserCdcConsumer();
+
+            if (prev != null) {
+                cnsmr.caches.putAll(prev.caches);
+                cnsmr.userTypeFound = prev.userTypeFound;
+            }
+
+            cnsmrs.add(cnsmr);
+
+            return cnsmr;
+        });
+
+        return new CdcMain(cfg, null, cdcCfg);
+    }
+
+    /**
+     * Checks that every partition is consumed by the single shard.
+     *
+     * @param aff Affinity.
+     * @param cnsmrs Consumers.
+     */
+    private static void checkPartitions(Affinity<Integer> aff, List<UserCdcConsumer> cnsmrs) {
+        Map<Integer, UserCdcConsumer> parts = new HashMap<>();
+
+        for (UserCdcConsumer cnsmr : cnsmrs) {
+            for (int key : cnsmr.data(UPDATE, cacheId(DEFAULT_CACHE_NAME))) {
+                UserCdcConsumer prev = parts.putIfAbsent(aff.partition(key), cnsmr);
+
+                assertTrue("Partition consumed by several shards [key=" + key + ']', prev == null || prev == cnsmr);
+            }
+        }
+    }
+
+    /** */
+    private static TestCdcConsumer<?>[] consumers(List<UserCdcConsumer> cnsmrs) {
+        return cnsmrs.toArray(new TestCdcConsumer<?>[0]);
+    }
+}
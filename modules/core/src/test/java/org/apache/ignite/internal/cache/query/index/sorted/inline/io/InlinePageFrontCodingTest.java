@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.cache.query.index.sorted.inline.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.cache.query.index.IndexProcessor;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexRow;
+import org.apache.ignite.internal.pagemem.PageUtils;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusInnerIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.IOVersions;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.cache.query.index.sorted.inline.io.InlineIO.FRONT_CODED_VER;
+import static org.apache.ignite.internal.cache.query.index.sorted.inline.io.InlineIO.PLAIN_VER;
+
+/**
+ * Tests front coding of the inlined keys of compacted index pages.
+ */
+public class InlinePageFrontCodingTest extends GridCommonAbstractTest {
+    /** Page size. */
+    private static final int PAGE_SIZE = 4096;
+
+    /** Inline sizes to check. */
+    private static final int[] INLINE_SIZES = {10, 48, 128, 1000};
+
+    /** */
+    private final Random rnd = new Random();
+
+    /** Page buffer. */
+    private ByteBuffer page;
+
+    /** Compacted page buffer. */
+    private ByteBuffer compactPage;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        IndexProcessor.registerIO();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        page = GridUnsafe.allocateBuffer(PAGE_SIZE);
+        compactPage = GridUnsafe.allocateBuffer(PAGE_SIZE);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        GridUnsafe.freeBuffer(page);
+        GridUnsafe.freeBuffer(compactPage);
+
+        super.afterTest();
+    }
+
+    /** */
+    @Test
+    public void testKeysWithSharedPrefix() throws Exception {
+        for (int inlineSize : INLINE_SIZES) {
+            for (boolean mvcc : new boolean[] {false, true}) {
+                for (int ver = 1; ver <= FRONT_CODED_VER; ver++) {
+                    checkPage(AbstractInlineLeafIO.versions(inlineSize, mvcc).forVersion(ver), true, true);
+                    checkPage(AbstractInlineInnerIO.versions(inlineSize, mvcc).forVersion(ver), true, true);
+                }
+            }
+        }
+    }
+
+    /** */
+    @Test
+    public void testRandomKeys() throws Exception {
+        for (int inlineSize : INLINE_SIZES) {
+            for (boolean mvcc : new boolean[] {false, true}) {
+                checkPage(AbstractInlineLeafIO.versions(inlineSize, mvcc).latest(), false, false);
+                checkPage(AbstractInlineInnerIO.versions(inlineSize, mvcc).latest(), false, false);
+            }
+        }
+    }
+
+    /** */
+    @Test
+    public void testEmptyPage() {
+        checkEmptyPage(AbstractInlineLeafIO.versions(48, false));
+        checkEmptyPage(AbstractInlineInnerIO.versions(48, false));
+    }
+
+    /**
+     * @param versions IO versions.
+     */
+    private void checkEmptyPage(IOVersions<? extends BPlusIO<IndexRow>> versions) {
+        BPlusIO<IndexRow> io = versions.latest();
+
+        long addr = initPage(io);
+
+        int itemsEnd = io.getItemsEnd(addr);
+
+        io.compactPage(page, compactPage, PAGE_SIZE);
+
+        assertEquals(itemsEnd, compactPage.limit());
+
+        io.restorePage(compactPage, PAGE_SIZE);
+
+        assertPagesEqual(addr, GridUnsafe.bufferAddress(compactPage), itemsEnd);
+    }
+
+    /**
+     * @param io Page IO.
+     * @param sharedPrefix Whether keys share a prefix.
+     * @param expFrontCoded Whether front coding is expected to shrink the page.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void checkPage(BPlusIO<IndexRow> io, boolean sharedPrefix, boolean expFrontCoded)
+        throws IgniteCheckedException {
+        int inlineSize = ((InlineIO)io).inlineSize();
+
+        long addr = initPage(io);
+
+        assertEquals(PLAIN_VER, PageIO.getVersion(addr));
+
+        int cnt = io.getMaxCount(addr, PAGE_SIZE);
+
+        if (!io.isLeaf())
+            ((BPlusInnerIO<IndexRow>)io).setLeft(addr, 0, rnd.nextLong());
+
+        for (int i = 0; i < cnt; i++) {
+            byte[] item = new byte[io.getItemSize()];
+
+            if (sharedPrefix) {
+                byte[] key = String.format("tenant-%d/orders/%08d", inlineSize, i * 7).getBytes(StandardCharsets.UTF_8);
+
+                System.arraycopy(key, 0, item, 0, Math.min(key.length, inlineSize));
+            }
+            else
+                rnd.nextBytes(item);
+
+            byte[] meta = new byte[io.getItemSize() - inlineSize];
+
+            rnd.nextBytes(meta);
+
+            System.arraycopy(meta, 0, item, inlineSize, meta.length);
+
+            io.insert(addr, i, null, item, rnd.nextLong(), false);
+        }
+
+        int itemsEnd = io.getItemsEnd(addr);
+
+        io.compactPage(page, compactPage, PAGE_SIZE);
+
+        long compactAddr = GridUnsafe.bufferAddress(compactPage);
+
+        if (expFrontCoded) {
+            assertTrue("Page is not compressed [io=" + io + ", size=" + compactPage.limit() + ']',
+                compactPage.limit() < itemsEnd);
+            assertEquals(FRONT_CODED_VER, PageIO.getVersion(compactAddr));
+        }
+        else {
+            assertEquals(itemsEnd, compactPage.limit());
+            assertEquals(PLAIN_VER, PageIO.getVersion(compactAddr));
+        }
+
+        BPlusIO<IndexRow> compactIo = PageIO.getPageIO(compactPage);
+
+        compactIo.restorePage(compactPage, PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, compactPage.limit());
+
+        assertPagesEqual(addr, compactAddr, itemsEnd);
+
+        for (int i = 0; i < cnt; i++)
+            assertEquals(((InlineIO)io).link(addr, i), ((InlineIO)compactIo).link(compactAddr, i));
+    }
+
+    /**
+     * @param io Page IO.
+     * @return Page address.
+     */
+    private long initPage(PageIO io) {
+        long addr = GridUnsafe.bufferAddress(page);
+
+        GridUnsafe.zeroMemory(addr, PAGE_SIZE);
+
+        io.initNewPage(addr, 1, PAGE_SIZE, null);
+
+        page.clear();
+        compactPage.clear();
+
+        return addr;
+    }
+
+    /**
+     * Checks pages contents.
+     *
+     * @param expAddr Expected page address.
+     * @param actAddr Actual page address.
+     * @param itemsEnd End of the items area.
+     */
+    private void assertPagesEqual(long expAddr, long actAddr, int itemsEnd) {
+        assertEquals(PageIO.getType(expAddr), PageIO.getType(actAddr));
+        assertEquals(PageIO.getVersion(expAddr), PageIO.getVersion(actAddr));
+        assertEquals(PageIO.getPageId(expAddr), PageIO.getPageId(actAddr));
+
+        int len = itemsEnd - PageIO.COMMON_HEADER_END;
+
+        assertTrue(Arrays.equals(PageUtils.getBytes(expAddr, PageIO.COMMON_HEADER_END, len),
+            PageUtils.getBytes(actAddr, PageIO.COMMON_HEADER_END, len)));
+    }
+}
@@ -393,6 +393,41 @@ public class IgniteDataStorageMetricsSelfTest extends GridCommonAbstractTest {
         assertEquals(exp, dsMetricRegistry(n).<LongAdderMetric>findMetric("WalWrittenBytes").value());
     }
 
+    /**
+     * Checking that the WAL records read during the node recovery are counted.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testWalRecoveryRecords() throws Exception {
+        IgniteEx n = startGrid(0);
+
+        n.cluster().state(ACTIVE);
+        awaitPartitionMapExchange();
+
+        enableCheckpoints(n, false);
+
+        IgniteCache<Object, Object> cache = n.cache("cache");
+
+        int keys = 1_000;
+
+        for (int i = 0; i < keys; i++)
+            cache.put(i, i);
+
+        stopGrid(0, true);
+
+        n = startGrid(0);
+
+        n.cluster().state(ACTIVE);
+
+        assertTrue(dsMetricRegistry(n).<LongAdderMetric>findMetric("WalRecoveryRecords").value() >= keys);
+
+        cache = n.cache("cache");
+
+        for (int i = 0; i < keys; i++)
+            assertEquals(i, cache.get(i));
+    }
+
     /**
      * Checking that the metrics of the total size compressed segment are working correctly.
      *
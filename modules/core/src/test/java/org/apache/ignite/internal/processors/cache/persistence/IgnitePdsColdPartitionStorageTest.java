@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.filename.PdsFolderSettings;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.CacheGroupMetricsImpl.CACHE_GROUP_METRICS_PREFIX;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.cacheDirName;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.getPartitionFileName;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Checks moving of idle partition files to the cold storage and back.
+ */
+public class IgnitePdsColdPartitionStorageTest extends GridCommonAbstractTest {
+    /** Cold storage directory. */
+    private static final String COLD_DIR = "cold";
+
+    /** Partitions count. */
+    private static final int PARTS_CNT = 8;
+
+    /** Keys count. */
+    private static final int KEYS_CNT = 2_000;
+
+    /** Idle timeout. */
+    private static final long IDLE_TIMEOUT = 1_000;
+
+    /** Page reads from the cold storage after which partition is moved back. */
+    private int promoteReads = DataRegionConfiguration.DFLT_COLD_PARTITION_PROMOTE_READS;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setConsistentId(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setCheckpointFrequency(10 * 60 * 1000)
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)
+                    .setColdPartitionStoragePath(COLD_DIR)
+                    .setColdPartitionIdleTimeout(IDLE_TIMEOUT)
+                    .setColdPartitionPromoteReads(promoteReads)))
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, PARTS_CNT)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        U.delete(U.resolveWorkDirectory(U.defaultWorkDirectory(), COLD_DIR, false));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        U.delete(U.resolveWorkDirectory(U.defaultWorkDirectory(), COLD_DIR, false));
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testIdlePartitionsOffloaded() throws Exception {
+        IgniteEx ignite = startAndPopulate();
+
+        awaitOffloaded(ignite);
+
+        MetricRegistry mreg = groupMetrics(ignite);
+
+        assertEquals(PARTS_CNT, mreg.<LongMetric>findMetric("ColdPartitionsCount").value());
+        assertEquals(PARTS_CNT, mreg.<LongMetric>findMetric("ColdPartitionOffloads").value());
+        assertTrue(mreg.<LongMetric>findMetric("ColdStorageSize").value() > 0);
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        checkData(ignite, 0);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testWritePromotesPartition() throws Exception {
+        IgniteEx ignite = startAndPopulate();
+
+        awaitOffloaded(ignite);
+
+        IgniteCache<Integer, Integer> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS_CNT; i++)
+            cache.put(i, i + 1);
+
+        forceCheckpoint();
+
+        MetricRegistry mreg = groupMetrics(ignite);
+
+        assertEquals(PARTS_CNT, mreg.<LongMetric>findMetric("ColdPartitionPromotions").value());
+
+        checkData(ignite, 1);
+
+        stopGrid(0);
+
+        checkData(startGrid(0), 1);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReadsPromotePartition() throws Exception {
+        promoteReads = 1;
+
+        IgniteEx ignite = startAndPopulate();
+
+        awaitOffloaded(ignite);
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        checkData(ignite, 0);
+
+        assertEquals(PARTS_CNT, groupMetrics(ignite).<LongMetric>findMetric("ColdPartitionPromotions").value());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSnapshotOfOffloadedPartitions() throws Exception {
+        IgniteEx ignite = startAndPopulate();
+
+        awaitOffloaded(ignite);
+
+        ignite.snapshot().createSnapshot("snp").get();
+
+        ignite.destroyCache(DEFAULT_CACHE_NAME);
+
+        awaitPartitionMapExchange();
+
+        ignite.snapshot().restoreSnapshot("snp", Collections.singleton(DEFAULT_CACHE_NAME)).get();
+
+        checkData(ignite, 0);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReservedPartitionNotOffloaded() throws Exception {
+        IgniteEx ignite = startAndPopulate();
+
+        FilePageStore store = (FilePageStore)((FilePageStoreManager)ignite.context().cache().context().pageStore())
+            .getStore(CU.cacheId(DEFAULT_CACHE_NAME), 0);
+
+        store.reserve();
+
+        try {
+            File coldFile = partitionFile(ignite, PARTS_CNT - 1, true);
+
+            assertTrue(waitForCondition(coldFile::exists, 20 * IDLE_TIMEOUT));
+
+            // Make sure the scan has passed over the reserved partition at least once more.
+            U.sleep(2 * IDLE_TIMEOUT);
+
+            assertFalse(store.cold());
+            assertTrue(partitionFile(ignite, 0, false).exists());
+        }
+        finally {
+            store.release();
+        }
+
+        awaitOffloaded(ignite);
+    }
+
+    /**
+     * @return Node with populated cache.
+     * @throws Exception If failed.
+     */
+    private IgniteEx startAndPopulate() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, Integer> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS_CNT; i++)
+            cache.put(i, i);
+
+        forceCheckpoint();
+
+        return ignite;
+    }
+
+    /**
+     * Waits until all the partition files are moved to the cold storage.
+     *
+     * @param ignite Node.
+     * @throws Exception If failed.
+     */
+    private void awaitOffloaded(IgniteEx ignite) throws Exception {
+        List<File> files = new ArrayList<>();
+        List<File> coldFiles = new ArrayList<>();
+
+        for (int p = 0; p < PARTS_CNT; p++) {
+            files.add(partitionFile(ignite, p, false));
+            coldFiles.add(partitionFile(ignite, p, true));
+        }
+
+        assertTrue(waitForCondition(() -> files.stream().noneMatch(File::exists) &&
+            coldFiles.stream().allMatch(File::exists), 20 * IDLE_TIMEOUT));
+    }
+
+    /**
+     * @param ignite Node.
+     * @param delta Value delta.
+     */
+    private void checkData(IgniteEx ignite, int delta) {
+        IgniteCache<Integer, Integer> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS_CNT; i++)
+            assertEquals((Integer)(i + delta), cache.get(i));
+    }
+
+    /**
+     * @param ignite Node.
+     * @param part Partition.
+     * @param cold {@code True} for the compressed file on the cold storage.
+     * @return Partition file.
+     * @throws Exception If failed.
+     */
+    private File partitionFile(IgniteEx ignite, int part, boolean cold) throws Exception {
+        PdsFolderSettings<?> folders = ignite.context().pdsFolderResolver().resolveFolders();
+
+        File root = cold ?
+            new File(U.resolveWorkDirectory(U.defaultWorkDirectory(), COLD_DIR, false), folders.folderName()) :
+            folders.persistentStoreNodePath();
+
+        String cacheDir = cacheDirName(ignite.cachex(DEFAULT_CACHE_NAME).configuration());
+
+        return new File(new File(root, cacheDir), getPartitionFileName(part));
+    }
+
+    /**
+     * @param ignite Node.
+     * @return Metrics of the cache group.
+     */
+    private MetricRegistry groupMetrics(IgniteEx ignite) {
+        return ignite.context().metric().registry(metricName(CACHE_GROUP_METRICS_PREFIX, DEFAULT_CACHE_NAME));
+    }
+}
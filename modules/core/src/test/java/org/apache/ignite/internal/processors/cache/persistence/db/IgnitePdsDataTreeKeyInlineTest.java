@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.KeyCacheObjectImpl;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.tree.InlineKeyUtils;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_DATA_TREE_KEY_INLINE_SIZE;
+import static org.apache.ignite.internal.processors.cache.tree.InlineKeyUtils.CANT_BE_COMPARED;
+import static org.apache.ignite.internal.processors.cache.tree.InlineKeyUtils.LEN_SIZE;
+
+/**
+ * Checks cache data trees with the keys inlined into the tree items.
+ */
+public class IgnitePdsDataTreeKeyInlineTest extends GridCommonAbstractTest {
+    /** Key inline size. */
+    private static final int INLINE_SIZE = 32;
+
+    /** Cache group name. */
+    private static final String GRP_NAME = "group";
+
+    /** Name of the cache in the group. */
+    private static final String GRP_CACHE_NAME = "groupCache";
+
+    /** Caches. */
+    private static final String[] CACHES = {DEFAULT_CACHE_NAME, GRP_CACHE_NAME};
+
+    /** Number of the keys with equal hash codes. */
+    private static final int COLLISIONS = 1 << 9;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)
+                    .setMaxSize(100L * 1024 * 1024)))
+            .setCacheConfiguration(
+                new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                    .setAffinity(new RendezvousAffinityFunction(false, 4)),
+                new CacheConfiguration<>(GRP_CACHE_NAME)
+                    .setGroupName(GRP_NAME)
+                    .setAffinity(new RendezvousAffinityFunction(false, 4)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        System.clearProperty(IGNITE_DATA_TREE_KEY_INLINE_SIZE);
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks cache operations and restart of the node with the inlined keys, including keys which are inlined
+     * partially and keys with equal hash codes.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCacheOperationsWithInlinedKeys() throws Exception {
+        System.setProperty(IGNITE_DATA_TREE_KEY_INLINE_SIZE, String.valueOf(INLINE_SIZE));
+
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        List<Object> keys = keys();
+
+        for (String cacheName : CACHES) {
+            IgniteCache<Object, Object> cache = ignite.cache(cacheName);
+
+            for (Object key : keys)
+                cache.put(key, value(key));
+
+            // Overwrite the half of entries and remove a quarter of entries.
+            for (int i = 0; i < keys.size(); i += 2)
+                cache.put(keys.get(i), value(keys.get(i)) + "-upd");
+
+            for (int i = 0; i < keys.size(); i += 4)
+                cache.remove(keys.get(i));
+        }
+
+        checkData(ignite, keys);
+        checkInlineSize(ignite, INLINE_SIZE);
+
+        forceCheckpoint();
+
+        stopAllGrids();
+
+        // Inline size of the existing trees doesn't depend on the current configuration.
+        System.setProperty(IGNITE_DATA_TREE_KEY_INLINE_SIZE, "0");
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        checkData(ignite, keys);
+        checkInlineSize(ignite, INLINE_SIZE);
+    }
+
+    /**
+     * Checks that the result of the comparison of the inlined keys is consistent with the comparison of the whole keys.
+     */
+    @Test
+    public void testCompareInlinedKeys() {
+        Random rnd = new Random();
+
+        int maxLen = 40;
+        int pageSize = LEN_SIZE + maxLen;
+
+        long pageAddr = GridUnsafe.allocateMemory(pageSize);
+
+        try {
+            for (int i = 0; i < 10_000; i++) {
+                byte[] bytes1 = randomBytes(rnd, maxLen);
+                byte[] bytes2 = rnd.nextBoolean() ? randomBytes(rnd, maxLen) : mutate(rnd, bytes1);
+
+                InlineKeyUtils.store(pageAddr, 0, pageSize, new KeyCacheObjectImpl(0, bytes1, 0));
+
+                int exp = InlineKeyUtils.compare(pageAddr, 0, pageSize, bytes2);
+
+                assertTrue(exp != CANT_BE_COMPARED);
+                assertEquals(0, InlineKeyUtils.compare(pageAddr, 0, pageSize, bytes1));
+
+                for (int inlineSize = InlineKeyUtils.MIN_INLINE_SIZE; inlineSize < pageSize; inlineSize++) {
+                    InlineKeyUtils.store(pageAddr, 0, inlineSize, new KeyCacheObjectImpl(0, bytes1, 0));
+
+                    int res = InlineKeyUtils.compare(pageAddr, 0, inlineSize, bytes2);
+
+                    if (res == CANT_BE_COMPARED)
+                        assertTrue(bytes1.length > inlineSize - LEN_SIZE);
+                    else
+                        assertEquals("Unexpected result [bytes1=" + Arrays.toString(bytes1) + ", bytes2=" +
+                            Arrays.toString(bytes2) + ", inlineSize=" + inlineSize + ']', exp, res);
+                }
+            }
+        }
+        finally {
+            GridUnsafe.freeMemory(pageAddr);
+        }
+    }
+
+    /**
+     * @return Keys: integers, keys which are inlined completely and partially, keys with equal hash codes.
+     */
+    private static List<Object> keys() {
+        List<Object> keys = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            keys.add(i);
+            keys.add("key-" + i);
+            keys.add("long-key-which-does-not-fit-the-inline-size-" + i);
+        }
+
+        // Strings built of "Aa" and "BB" blocks have equal hash codes.
+        for (int i = 0; i < COLLISIONS; i++) {
+            StringBuilder sb = new StringBuilder();
+
+            for (int j = 0; j < Integer.numberOfTrailingZeros(COLLISIONS); j++)
+                sb.append((i & (1 << j)) == 0 ? "Aa" : "BB");
+
+            keys.add(sb.toString());
+            keys.add("long-colliding-key-with-common-prefix-" + sb);
+        }
+
+        return keys;
+    }
+
+    /**
+     * @param key Key.
+     * @return Value.
+     */
+    private static String value(Object key) {
+        return "val-" + key;
+    }
+
+    /**
+     * @param ignite Node.
+     * @param keys Keys.
+     */
+    private void checkData(IgniteEx ignite, List<Object> keys) {
+        for (String cacheName : CACHES) {
+            IgniteCache<Object, Object> cache = ignite.cache(cacheName);
+
+            for (int i = 0; i < keys.size(); i++) {
+                Object key = keys.get(i);
+
+                Object exp = i % 4 == 0 ? null : i % 2 == 0 ? value(key) + "-upd" : value(key);
+
+                assertEquals("Unexpected value [cache=" + cacheName + ", key=" + key + ']', exp, cache.get(key));
+            }
+
+            assertEquals(keys.size() - (keys.size() + 3) / 4, cache.size());
+        }
+    }
+
+    /**
+     * @param ignite Node.
+     * @param exp Expected key inline size.
+     */
+    private void checkInlineSize(IgniteEx ignite, int exp) {
+        for (String cacheName : CACHES) {
+            for (GridDhtLocalPartition part : ignite.cachex(cacheName).context().topology().localPartitions())
+                assertEquals(exp, part.dataStore().tree().keyInlineSize());
+        }
+    }
+
+    /**
+     * @param rnd Random.
+     * @param maxLen Maximum length.
+     * @return Random bytes.
+     */
+    private static byte[] randomBytes(Random rnd, int maxLen) {
+        byte[] bytes = new byte[rnd.nextInt(maxLen + 1)];
+
+        rnd.nextBytes(bytes);
+
+        return bytes;
+    }
+
+    /**
+     * @param rnd Random.
+     * @param bytes Bytes.
+     * @return Copy of the bytes with one byte changed.
+     */
+    private static byte[] mutate(Random rnd, byte[] bytes) {
+        byte[] res = bytes.clone();
+
+        if (res.length > 0)
+            res[rnd.nextInt(res.length)] = (byte)rnd.nextInt();
+
+        return res;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence.db;
+
+import javax.cache.Cache;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.PageReplacementMode;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMetrics;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.spi.metric.DoubleMetric;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl.DATAREGION_METRICS_PREFIX;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Checks that 2Q page replacement keeps frequently used pages in memory during full scans.
+ */
+public class IgnitePdsTwoQueuePageReplacementTest extends GridCommonAbstractTest {
+    /** */
+    private static final String CACHE_NAME = "cache";
+
+    /** */
+    private static final String REGION_NAME = "twoQueueRegion";
+
+    /** Region size. */
+    private static final long REGION_SIZE = 20L * 1024 * 1024;
+
+    /** Entries count, data set is a few times larger than the region. */
+    private static final int ENTRIES = 60_000;
+
+    /** Count of frequently used keys. */
+    private static final int HOT_KEYS = 200;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setConcurrencyLevel(4)
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setName(REGION_NAME)
+                    .setPersistenceEnabled(true)
+                    .setMetricsEnabled(true)
+                    .setInitialSize(REGION_SIZE)
+                    .setMaxSize(REGION_SIZE)
+                    .setPageReplacementMode(PageReplacementMode.TWO_QUEUE)))
+            .setCacheConfiguration(new CacheConfiguration<Integer, byte[]>(CACHE_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, 32)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testScanDoesNotFlushHotPages() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        try (IgniteDataStreamer<Integer, byte[]> streamer = ignite.dataStreamer(CACHE_NAME)) {
+            for (int i = 0; i < ENTRIES; i++)
+                streamer.addData(i, new byte[1024]);
+        }
+
+        forceCheckpoint();
+
+        IgniteCache<Integer, byte[]> cache = ignite.cache(CACHE_NAME);
+
+        PageMetrics metrics = ignite.context().cache().context().database().dataRegion(REGION_NAME).metrics()
+            .pageMetrics();
+
+        assertTrue(metrics.pageMisses().value() > 0);
+        assertTrue(metrics.ghostPages().value() > 0);
+
+        // Warm up the working set.
+        for (int r = 0; r < 3; r++) {
+            for (int i = 0; i < HOT_KEYS; i++)
+                assertNotNull(cache.get(i));
+        }
+
+        long ghostHits = metrics.ghostHits().value();
+        long misses = metrics.pageMisses().value();
+
+        for (int i = 0; i < HOT_KEYS; i++)
+            assertNotNull(cache.get(i));
+
+        assertEquals(misses, metrics.pageMisses().value());
+
+        int cnt = 0;
+
+        try (QueryCursor<Cache.Entry<Integer, byte[]>> cur = cache.query(new ScanQuery<>())) {
+            for (Cache.Entry<Integer, byte[]> ignored : cur)
+                cnt++;
+        }
+
+        assertEquals(ENTRIES, cnt);
+
+        // Full scan replaces pages, but not the pages of the working set.
+        assertTrue(metrics.pageMisses().value() > misses);
+
+        misses = metrics.pageMisses().value();
+
+        for (int i = 0; i < HOT_KEYS; i++)
+            assertNotNull(cache.get(i));
+
+        assertEquals(misses, metrics.pageMisses().value());
+
+        // Scanned pages are not remembered as recently replaced ones.
+        assertEquals(ghostHits, metrics.ghostHits().value());
+
+        MetricRegistry mreg = ignite.context().metric().registry(metricName(DATAREGION_METRICS_PREFIX, REGION_NAME));
+
+        double hitRatio = mreg.<DoubleMetric>findMetric("InMemoryPageHitRatio").value();
+
+        assertTrue("Unexpected hit ratio: " + hitRatio, hitRatio > 0 && hitRatio < 1);
+    }
+}
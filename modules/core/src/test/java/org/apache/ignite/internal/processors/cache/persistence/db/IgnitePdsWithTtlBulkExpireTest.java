@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db;
+
+import java.util.concurrent.TimeUnit;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.MvccFeatureChecker;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_TTL_BULK_EXPIRE_BATCH_SIZE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_TTL_BULK_EXPIRE_THREAD_CNT;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.cacheMetricsRegistryName;
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Checks removal of expired entries by ranges of the pending entries trees.
+ */
+@WithSystemProperty(key = IGNITE_TTL_BULK_EXPIRE_THREAD_CNT, value = "4")
+@WithSystemProperty(key = IGNITE_TTL_BULK_EXPIRE_BATCH_SIZE, value = "100")
+public class IgnitePdsWithTtlBulkExpireTest extends GridCommonAbstractTest {
+    /** Cache with expiry policy. */
+    private static final String TTL_CACHE = "ttlCache";
+
+    /** Cache without expiry policy in the same cache group. */
+    private static final String CACHE = "cache";
+
+    /** */
+    private static final String GROUP = "group";
+
+    /** */
+    private static final int ENTRIES = 20_000;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        MvccFeatureChecker.skipIfNotSupported(MvccFeatureChecker.Feature.EXPIRATION);
+
+        super.beforeTest();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setMaxSize(100L * 1024 * 1024)
+                    .setPersistenceEnabled(true)))
+            .setCacheConfiguration(
+                new CacheConfiguration<Integer, Integer>(TTL_CACHE)
+                    .setGroupName(GROUP)
+                    .setAffinity(new RendezvousAffinityFunction(false, 64))
+                    .setEagerTtl(true)
+                    .setExpiryPolicyFactory(CreatedExpiryPolicy.factoryOf(new Duration(TimeUnit.SECONDS, 2))),
+                new CacheConfiguration<Integer, Integer>(CACHE)
+                    .setGroupName(GROUP)
+                    .setAffinity(new RendezvousAffinityFunction(false, 64)));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testExpiredEntriesRemovedByRanges() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        for (String name : new String[] {TTL_CACHE, CACHE}) {
+            try (IgniteDataStreamer<Integer, Integer> streamer = ignite.dataStreamer(name)) {
+                for (int i = 0; i < ENTRIES; i++)
+                    streamer.addData(i, i);
+            }
+        }
+
+        IgniteCache<Integer, Integer> ttlCache = ignite.cache(TTL_CACHE);
+
+        assertTrue(waitForCondition(() -> ttlCache.size() == 0, getTestTimeout()));
+
+        for (int i = 0; i < ENTRIES; i++)
+            assertNull(ttlCache.get(i));
+
+        assertEquals(ENTRIES, ignite.cache(CACHE).size());
+
+        MetricRegistry mreg = ignite.context().metric().registry(cacheMetricsRegistryName(TTL_CACHE, false));
+
+        // Metrics are updated by the cleanup worker after the pass.
+        assertTrue(waitForCondition(() -> mreg.<LongMetric>findMetric("ExpiredEntriesBacklog").value() == 0 &&
+            mreg.<LongMetric>findMetric("ExpirationLag").value() == 0, getTestTimeout()));
+
+        assertEquals(0, ignite.cachex(TTL_CACHE).context().ttl().pendingSize());
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.OpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.CheckpointWriteOrder;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIODecorator;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CHECKPOINT_WRITE_COALESCE_PAGES;
+import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointPagesWriter.DFLT_CHECKPOINT_WRITE_COALESCE_PAGES;
+
+/**
+ * Checks that checkpoint writes adjacent pages of a partition file with gather writes.
+ */
+public class IgnitePdsCheckpointWriteCoalescingTest extends GridCommonAbstractTest {
+    /** */
+    private static final int ENTRIES = 20_000;
+
+    /** Number of gather writes. */
+    private static final AtomicInteger gatherWrites = new AtomicInteger();
+
+    /** Maximum number of buffers in a gather write. */
+    private static final AtomicInteger maxGatherWritePages = new AtomicInteger();
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setCheckpointThreads(4)
+                .setCheckpointWriteOrder(CheckpointWriteOrder.SEQUENTIAL)
+                .setFileIOFactory(new GatherWritesCountingFileIOFactory())
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)))
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, 8)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanPersistenceDir();
+
+        gatherWrites.set(0);
+        maxGatherWritePages.set(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAdjacentPagesCoalesced() throws Exception {
+        checkpointAndRestart();
+
+        assertTrue(gatherWrites.get() > 0);
+
+        assertTrue(maxGatherWritePages.get() > 1);
+        assertTrue(maxGatherWritePages.get() <= DFLT_CHECKPOINT_WRITE_COALESCE_PAGES);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_CHECKPOINT_WRITE_COALESCE_PAGES, value = "1")
+    public void testCoalescingDisabled() throws Exception {
+        checkpointAndRestart();
+
+        assertEquals(0, gatherWrites.get());
+    }
+
+    /**
+     * Loads data, forces checkpoint and checks the data after the node restart.
+     *
+     * @throws Exception If failed.
+     */
+    private void checkpointAndRestart() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        try (IgniteDataStreamer<Integer, byte[]> streamer = ignite.dataStreamer(DEFAULT_CACHE_NAME)) {
+            for (int i = 0; i < ENTRIES; i++)
+                streamer.addData(i, value(i));
+        }
+
+        forceCheckpoint();
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < ENTRIES; i++)
+            assertEqualsArraysAware(value(i), cache.get(i));
+    }
+
+    /**
+     * @param i Key.
+     * @return Value.
+     */
+    private static byte[] value(int i) {
+        byte[] val = new byte[512];
+
+        for (int j = 0; j < val.length; j++)
+            val[j] = (byte)(i + j);
+
+        return val;
+    }
+
+    /** Counts gather writes. */
+    private static class GatherWritesCountingFileIOFactory implements FileIOFactory {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        private final FileIOFactory delegate = new RandomAccessFileIOFactory();
+
+        /** {@inheritDoc} */
+        @Override public FileIO create(File file, OpenOption... modes) throws IOException {
+            return new FileIODecorator(delegate.create(file, modes)) {
+                /** {@inheritDoc} */
+                @Override public long writeFully(ByteBuffer[] srcBufs, long position) throws IOException {
+                    gatherWrites.incrementAndGet();
+
+                    maxGatherWritePages.accumulateAndGet(srcBufs.length, Math::max);
+
+                    return delegate.writeFully(srcBufs, position);
+                }
+            };
+        }
+    }
+}
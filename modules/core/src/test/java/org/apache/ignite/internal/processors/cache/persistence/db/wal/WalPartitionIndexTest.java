@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.wal;
+
+import java.io.File;
+import java.util.Arrays;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
+import org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager;
+import org.apache.ignite.internal.processors.cache.persistence.wal.WalPartitionIndex;
+import org.apache.ignite.testframework.ListeningTestLogger;
+import org.apache.ignite.testframework.LogListener;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PDS_WAL_REBALANCE_THRESHOLD;
+import static org.apache.ignite.cluster.ClusterState.ACTIVE;
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Checks that historical rebalance skips archived WAL segments without updates of the rebalanced partitions.
+ */
+@WithSystemProperty(key = IGNITE_PDS_WAL_REBALANCE_THRESHOLD, value = "0")
+public class WalPartitionIndexTest extends GridCommonAbstractTest {
+    /** */
+    private static final int PARTS = 4;
+
+    /** */
+    private static final int KEYS = 2_000;
+
+    /** Test logger. */
+    private final ListeningTestLogger srvLog = new ListeningTestLogger(log);
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setConsistentId(igniteInstanceName)
+            .setGridLogger(srvLog)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setMaxSize(100L * 1024 * 1024)
+                    .setPersistenceEnabled(true))
+                .setWalSegmentSize(512 * 1024)
+                .setCheckpointFrequency(600_000)
+                .setWalPartitionIndexEnabled(true))
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                .setBackups(1)
+                .setAffinity(new RendezvousAffinityFunction(false, PARTS)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testHistoricalRebalanceSkipsSegments() throws Exception {
+        IgniteEx supplier = startGrids(2);
+
+        supplier.cluster().state(ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = supplier.cache(DEFAULT_CACHE_NAME);
+
+        load(cache, 0, KEYS);
+
+        forceCheckpoint();
+
+        // Updates known to both nodes.
+        load(cache, 1, KEYS);
+
+        stopGrid(1);
+
+        // Updates the demander misses.
+        load(cache, 2, KEYS / 10);
+
+        IgniteWriteAheadLogManager wal = supplier.context().cache().context().wal();
+
+        assertTrue(wal.lastArchivedSegment() > 2);
+
+        File lastIdx = FileWriteAheadLogManager.archiveSegment(wal.archiveDir(), wal.lastArchivedSegment(),
+            WalPartitionIndex.INDEX_FILE_SUFFIX);
+
+        assertTrue(waitForCondition(lastIdx::exists, getTestTimeout()));
+
+        LogListener skipLsnr = LogListener.matches("Skipped WAL segments without required partition updates").build();
+
+        srvLog.registerListener(skipLsnr);
+
+        IgniteEx demander = startGrid(1);
+
+        awaitPartitionMapExchange(true, true, null);
+
+        assertTrue(skipLsnr.check());
+
+        stopGrid(0);
+
+        awaitPartitionMapExchange();
+
+        cache = demander.cache(DEFAULT_CACHE_NAME);
+
+        assertEquals(KEYS, cache.size());
+
+        for (int i = 0; i < KEYS; i++)
+            assertTrue(Arrays.equals(value(i < KEYS / 10 ? 2 : 1), cache.get(i)));
+    }
+
+    /**
+     * @param cache Cache.
+     * @param ver Version of the values.
+     * @param cnt Number of keys.
+     */
+    private static void load(IgniteCache<Integer, byte[]> cache, int ver, int cnt) {
+        for (int i = 0; i < cnt; i++)
+            cache.put(i, value(ver));
+    }
+
+    /**
+     * @param ver Version of the value.
+     * @return Value.
+     */
+    private static byte[] value(int ver) {
+        byte[] val = new byte[1024];
+
+        Arrays.fill(val, (byte)ver);
+
+        return val;
+    }
+}
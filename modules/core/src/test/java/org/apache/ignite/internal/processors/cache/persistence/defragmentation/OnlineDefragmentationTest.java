@@ -0,0 +1,381 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.defragmentation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheOffheapManager.GridCacheDataStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.AbstractFreeList;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static java.util.Collections.singletonList;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ONLINE_DEFRAGMENTATION_RATE_LIMIT;
+import static org.apache.ignite.cluster.ClusterState.ACTIVE;
+import static org.apache.ignite.configuration.DataStorageConfiguration.DFLT_PAGE_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.OnlineDefragmentation.DFLT_ONLINE_DEFRAGMENTATION_PAGE_FREE_SPACE_PERCENTAGE;
+
+/**
+ * Tests defragmentation of partitions while the node keeps serving requests.
+ */
+@WithSystemProperty(key = IGNITE_ONLINE_DEFRAGMENTATION_RATE_LIMIT, value = "0")
+public class OnlineDefragmentationTest extends GridCommonAbstractTest {
+    /** */
+    private static final int KEYS = 20_000;
+
+    /** Minimum free space of a sparse data page. */
+    private static final int SPARSE_PAGE_FREE_SPACE =
+        DFLT_PAGE_SIZE * DFLT_ONLINE_DEFRAGMENTATION_PAGE_FREE_SPACE_PERCENTAGE / 100;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setMaxSize(100L * 1024 * 1024)
+                    .setPersistenceEnabled(true)))
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, 1)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that rows are moved out of the sparse pages left by removals and the data survives the restart.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSparsePagesDefragmented() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, value(i));
+
+        for (int i = 0; i < KEYS; i++) {
+            if (i % 4 != 0)
+                cache.remove(i);
+        }
+
+        long sparsePagesBefore = freeList(ignite).sparseDataPages(SPARSE_PAGE_FREE_SPACE);
+        long emptyPagesBefore = freeList(ignite).emptyDataPages();
+        int pagesBefore = pageStore(ignite).pages();
+
+        assertTrue(sparsePagesBefore > 1);
+
+        long moved = ignite.context().defragmentation().startOnline(singletonList(DEFAULT_CACHE_NAME)).get();
+
+        assertTrue(moved > 0);
+
+        assertTrue(freeList(ignite).sparseDataPages(SPARSE_PAGE_FREE_SPACE) < sparsePagesBefore / 2);
+        // Empty pages at the end of the file are cut off.
+        assertTrue(freeList(ignite).emptyDataPages() + pagesBefore - pageStore(ignite).pages() > emptyPagesBefore);
+
+        forceCheckpoint();
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ACTIVE);
+
+        cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        assertEquals(KEYS / 4, cache.size());
+
+        for (int i = 0; i < KEYS; i++) {
+            if (i % 4 == 0)
+                assertEqualsArraysAware(value(i), cache.get(i));
+            else
+                assertNull(cache.get(i));
+        }
+    }
+
+    /**
+     * Checks that the partition file is truncated if there are empty pages at its end and the pages are allocated
+     * again after that.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testFileTruncated() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, value(i));
+
+        for (int i = 0; i < KEYS; i++)
+            cache.remove(i);
+
+        forceCheckpoint();
+
+        int pagesBefore = pageStore(ignite).pages();
+        long sizeBefore = pageStore(ignite).size();
+
+        ignite.context().defragmentation().startOnline(singletonList(DEFAULT_CACHE_NAME)).get();
+
+        assertTrue(pageStore(ignite).pages() < pagesBefore);
+        assertTrue(pageStore(ignite).size() < sizeBefore);
+
+        for (int i = KEYS; i < KEYS * 2; i++)
+            cache.put(i, value(i));
+
+        forceCheckpoint();
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ACTIVE);
+
+        cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        assertEquals(KEYS, cache.size());
+
+        for (int i = 0; i < KEYS * 2; i++) {
+            if (i < KEYS)
+                assertNull(cache.get(i));
+            else
+                assertEqualsArraysAware(value(i), cache.get(i));
+        }
+    }
+
+    /**
+     * Checks that live rows are moved out of the pages at the end of the partition file to the pages with lower
+     * indexes, even if the pages at the end are not sparse.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTailRowsMoved() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, value(i));
+
+        // The first keys are mostly removed, the last quarter of the keys is kept in the full pages at the end.
+        for (int i = 0; i < KEYS * 3 / 4; i++) {
+            if (i % 8 != 0)
+                cache.remove(i);
+        }
+
+        forceCheckpoint();
+
+        int pagesBefore = pageStore(ignite).pages();
+        int maxDataPageBefore = maxDataPageIndex(ignite);
+        long emptyPagesBefore = freeList(ignite).emptyDataPages();
+
+        assertTrue(maxDataPageBefore > pagesBefore * 3 / 4);
+
+        long moved = ignite.context().defragmentation().startOnline(singletonList(DEFAULT_CACHE_NAME)).get();
+
+        assertTrue(moved >= KEYS / 4);
+
+        assertTrue(maxDataPageIndex(ignite) < pagesBefore * 3 / 4);
+        assertTrue(freeList(ignite).emptyDataPages() + pagesBefore - pageStore(ignite).pages() > emptyPagesBefore);
+
+        forceCheckpoint();
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ACTIVE);
+
+        cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        assertEquals(KEYS / 4 + KEYS * 3 / 4 / 8, cache.size());
+
+        for (int i = 0; i < KEYS; i++) {
+            if (i >= KEYS * 3 / 4 || i % 8 == 0)
+                assertEqualsArraysAware(value(i), cache.get(i));
+            else
+                assertNull(cache.get(i));
+        }
+    }
+
+    /**
+     * Checks that concurrent updates are not lost while rows are moved.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        Map<Integer, byte[]> expected = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < KEYS; i++) {
+            cache.put(i, value(i));
+
+            if (i % 4 == 0)
+                expected.put(i, value(i));
+        }
+
+        for (int i = 0; i < KEYS; i++) {
+            if (i % 4 != 0)
+                cache.remove(i);
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        AtomicInteger threadIdx = new AtomicInteger();
+
+        IgniteInternalFuture<?> loadFut = GridTestUtils.runMultiThreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            // Every thread updates its own keys, so the expected map is consistent with the cache.
+            int shift = threadIdx.getAndIncrement();
+
+            while (!stop.get()) {
+                int key = rnd.nextInt(KEYS / 16) * 16 + shift * 4;
+
+                if (rnd.nextBoolean()) {
+                    byte[] val = value(rnd.nextInt());
+
+                    cache.put(key, val);
+
+                    expected.put(key, val);
+                }
+                else {
+                    cache.remove(key);
+
+                    expected.remove(key);
+                }
+            }
+        }, 4, "updater");
+
+        try {
+            ignite.context().defragmentation().startOnline(singletonList(DEFAULT_CACHE_NAME)).get();
+        }
+        finally {
+            stop.set(true);
+        }
+
+        loadFut.get();
+
+        assertEquals(expected.size(), cache.size());
+
+        for (int i = 0; i < KEYS; i++)
+            assertEqualsArraysAware(expected.get(i), cache.get(i));
+    }
+
+    /**
+     * @param ignite Node.
+     * @return Free list of the only partition of the cache.
+     */
+    private static AbstractFreeList<CacheDataRow> freeList(IgniteEx ignite) {
+        GridCacheDataStore store = (GridCacheDataStore)ignite.cachex(DEFAULT_CACHE_NAME).context().topology()
+            .localPartition(0).dataStore();
+
+        return store.getCacheStoreFreeList();
+    }
+
+    /**
+     * @param ignite Node.
+     * @return Maximum index of the data page with a row of the only partition of the cache.
+     * @throws IgniteCheckedException If failed.
+     */
+    private static int maxDataPageIndex(IgniteEx ignite) throws IgniteCheckedException {
+        GridCursor<? extends CacheDataRow> cur = ignite.cachex(DEFAULT_CACHE_NAME).context().topology()
+            .localPartition(0).dataStore().cursor();
+
+        int res = -1;
+
+        while (cur.next())
+            res = Math.max(res, PageIdUtils.pageIndex(cur.get().link()));
+
+        return res;
+    }
+
+    /**
+     * @param ignite Node.
+     * @return Page store of the only partition of the cache.
+     * @throws IgniteCheckedException If failed.
+     */
+    private static FilePageStore pageStore(IgniteEx ignite) throws IgniteCheckedException {
+        FilePageStoreManager pageStoreMgr = (FilePageStoreManager)ignite.context().cache().context().pageStore();
+
+        return (FilePageStore)pageStoreMgr.getStore(CU.cacheId(DEFAULT_CACHE_NAME), 0);
+    }
+
+    /**
+     * @param i Seed.
+     * @return Value.
+     */
+    private static byte[] value(int i) {
+        byte[] val = new byte[200];
+
+        for (int j = 0; j < val.length; j++)
+            val[j] = (byte)(i + j);
+
+        return val;
+    }
+}
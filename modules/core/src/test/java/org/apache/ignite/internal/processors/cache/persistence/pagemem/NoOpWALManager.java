@@ -18,6 +18,8 @@
 package org.apache.ignite.internal.processors.cache.persistence.pagemem;
 
 import java.io.File;
+import java.util.Map;
+import java.util.Set;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
@@ -213,6 +215,16 @@ public class NoOpWALManager implements IgniteWriteAheadLogManager {
         return null;
     }
 
+    /** {@inheritDoc} */
+    @Override public WALPointer seekPartitionUpdates(
+        WALPointer start,
+        int grpId,
+        Set<Integer> cacheIds,
+        Map<Integer, Long> partCntrs
+    ) {
+        return start;
+    }
+
     /** {@inheritDoc} */
     @Override public void awaitCompacted(long idx) {
         // No-op.
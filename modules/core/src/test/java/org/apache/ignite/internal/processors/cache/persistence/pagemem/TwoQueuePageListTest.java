@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.internal.mem.DirectMemoryProvider;
+import org.apache.ignite.internal.mem.DirectMemoryRegion;
+import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.TwoQueuePageList.IN;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.TwoQueuePageList.IN_LOW;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.TwoQueuePageList.MAIN;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.TwoQueuePageList.NONE;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.TwoQueuePageList.NULL_IDX;
+
+/**
+ * Test 2Q pages lists implementation.
+ */
+public class TwoQueuePageListTest extends GridCommonAbstractTest {
+    /** Max pages count. */
+    private static final int MAX_PAGES_CNT = 20;
+
+    /** Memory provider. */
+    private static DirectMemoryProvider provider;
+
+    /** Memory region. */
+    private static DirectMemoryRegion region;
+
+    /** Pages lists. */
+    TwoQueuePageList list;
+
+    /** */
+    @BeforeClass
+    public static void setUp() {
+        provider = new UnsafeMemoryProvider(log);
+        provider.initialize(new long[] {TwoQueuePageList.requiredMemory(MAX_PAGES_CNT)});
+
+        region = provider.nextRegion();
+    }
+
+    /** */
+    @AfterClass
+    public static void tearDown() {
+        provider.shutdown(true);
+    }
+
+    /** */
+    @Test
+    public void testAdd() {
+        list = new TwoQueuePageList(MAX_PAGES_CNT, region.address());
+
+        list.addToIn(0, false);
+        list.addToIn(1, false);
+        list.addToMain(2);
+        list.addToIn(3, true);
+        list.addToMain(4);
+
+        // Pages accessed with low priority are added to the head of the FIFO queue.
+        assertList(false, 3, 0, 1);
+        assertList(true, 2, 4);
+
+        assertEquals(IN_LOW, list.state(3));
+        assertEquals(IN, list.state(0));
+        assertEquals(MAIN, list.state(2));
+        assertEquals(NONE, list.state(5));
+    }
+
+    /** */
+    @Test
+    public void testRemove() {
+        list = new TwoQueuePageList(MAX_PAGES_CNT, region.address());
+
+        list.addToIn(0, false);
+        list.addToIn(1, false);
+        list.addToIn(2, false);
+        list.addToMain(3);
+        list.addToMain(4);
+
+        list.remove(1); // Middle.
+        assertList(false, 0, 2);
+
+        list.remove(0); // Head.
+        assertList(false, 2);
+
+        list.remove(4); // Tail.
+        assertList(true, 3);
+
+        list.remove(4); // Already removed.
+        list.remove(2);
+        list.remove(3);
+
+        assertList(false);
+        assertList(true);
+        assertEquals(NONE, list.state(3));
+    }
+
+    /** */
+    @Test
+    public void testTouch() {
+        list = new TwoQueuePageList(MAX_PAGES_CNT, region.address());
+
+        list.addToIn(0, false);
+        list.addToIn(1, false);
+        list.addToIn(2, true);
+        list.addToMain(3);
+        list.addToMain(4);
+        list.addToMain(5);
+
+        // Correlated access to the page of the FIFO queue doesn't change the order.
+        list.touch(0);
+        assertList(false, 2, 0, 1);
+
+        // Page accessed with low priority only is moved to the tail of the FIFO queue.
+        list.touch(2);
+        assertList(false, 0, 1, 2);
+        assertEquals(IN, list.state(2));
+
+        list.touch(3);
+        assertList(true, 4, 5, 3);
+
+        list.touch(3);
+        assertList(true, 4, 5, 3);
+    }
+
+    /** */
+    @Test
+    public void testReplacementCandidate() {
+        list = new TwoQueuePageList(MAX_PAGES_CNT, region.address());
+
+        assertEquals(NULL_IDX, list.replacementCandidate(false, false));
+
+        list.addToMain(0);
+
+        // FIFO queue is empty.
+        assertEquals(0, list.replacementCandidate(false, false));
+
+        int inLimit = MAX_PAGES_CNT / 4;
+
+        for (int i = 1; i <= inLimit; i++)
+            list.addToIn(i, false);
+
+        // FIFO queue doesn't exceed the limit.
+        assertEquals(0, list.replacementCandidate(false, false));
+
+        // All pages of the LRU list can't be replaced.
+        assertEquals(1, list.replacementCandidate(false, true));
+        assertEquals(0, list.replacementCandidate(true, true));
+
+        list.addToIn(inLimit + 1, false);
+
+        assertEquals(1, list.replacementCandidate(false, false));
+        assertEquals(0, list.replacementCandidate(true, false));
+
+        list.remove(0);
+
+        assertEquals(1, list.replacementCandidate(true, false));
+    }
+
+    /** */
+    @Test
+    public void testRequeue() {
+        list = new TwoQueuePageList(MAX_PAGES_CNT, region.address());
+
+        list.addToIn(0, true);
+        list.addToIn(1, false);
+        list.addToMain(2);
+        list.addToMain(3);
+
+        byte state = list.state(0);
+
+        list.remove(0);
+        list.requeue(0, state);
+
+        assertList(false, 1, 0);
+        assertEquals(IN_LOW, list.state(0));
+
+        list.remove(2);
+        list.requeue(2, MAIN);
+
+        assertList(true, 3, 2);
+    }
+
+    /** */
+    @Test
+    public void testGhost() {
+        list = new TwoQueuePageList(MAX_PAGES_CNT, region.address());
+
+        long pageId = 0x1234L;
+        int grpId = 42;
+
+        assertFalse(list.removeGhost(grpId, pageId));
+
+        long entry = list.ghostEntry(grpId, pageId);
+
+        assertTrue(list.ghostEmpty(entry));
+
+        list.putGhost(entry, grpId, pageId);
+
+        assertFalse(list.ghostEmpty(entry));
+        assertEquals(grpId, list.ghostGroupId(entry));
+
+        assertFalse(list.removeGhost(grpId + 1, pageId));
+        assertFalse(list.removeGhost(grpId, pageId + 1));
+
+        assertTrue(list.removeGhost(grpId, pageId));
+
+        assertTrue(list.ghostEmpty(entry));
+        assertFalse(list.removeGhost(grpId, pageId));
+    }
+
+    /**
+     * @param main {@code True} for the LRU list, {@code false} for the FIFO queue.
+     * @param pageIdxs Expected page indexes from head to tail.
+     */
+    private void assertList(boolean main, int... pageIdxs) {
+        assertEquals(pageIdxs.length, list.size(main));
+
+        int curIdx = list.head(main);
+        int prevIdx = NULL_IDX;
+
+        for (int pageIdx : pageIdxs) {
+            assertEquals(pageIdx, curIdx);
+            assertEquals(prevIdx, list.prev(curIdx));
+            assertEquals(main, list.state(curIdx) == MAIN);
+
+            prevIdx = curIdx;
+            curIdx = list.next(curIdx);
+        }
+
+        assertEquals(NULL_IDX, curIdx);
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.CacheObjectContext;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.dump.DumpEntry;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.dump.DumpLoader;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.dump.DumpReader;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.resolveSnapshotWorkDirectory;
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Cache dump test.
+ */
+public class IgniteCacheDumpSelfTest extends GridCommonAbstractTest {
+    /** */
+    private static final String DUMP_NAME = "dump";
+
+    /** */
+    private static final String CACHE = "cache";
+
+    /** */
+    private static final String GRP = "grp";
+
+    /** */
+    private static final String GRP_CACHE = "grp-cache";
+
+    /** */
+    private static final int KEYS_CNT = 10_000;
+
+    /** */
+    private static final int SRV_CNT = 3;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName).setCacheConfiguration(
+            new CacheConfiguration<>(CACHE)
+                .setAtomicityMode(CacheAtomicityMode.ATOMIC)
+                .setBackups(1),
+            new CacheConfiguration<>(GRP_CACHE)
+                .setAtomicityMode(CacheAtomicityMode.TRANSACTIONAL)
+                .setGroupName(GRP)
+                .setBackups(1)
+        );
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanDumps();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanDumps();
+
+        super.afterTest();
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testDumpAndLoad() throws Exception {
+        IgniteEx ign = startGrids(SRV_CNT);
+
+        IgniteEx cln = startClientGrid(SRV_CNT);
+
+        fill(ign, CACHE);
+        fill(ign, GRP_CACHE);
+
+        cln.snapshot().createDump(DUMP_NAME, null).get(getTestTimeout());
+
+        File dumpDir = ign.context().cache().context().snapshotMgr().dumpLocalDir(DUMP_NAME, null);
+
+        checkDump(ign, dumpDir, CACHE, 0);
+        checkDump(ign, dumpDir, GRP_CACHE, 0);
+
+        assertEquals(2, DumpReader.cacheConfigurations(dumpDir).size());
+
+        ign.destroyCache(CACHE);
+        ign.destroyCache(GRP_CACHE);
+
+        awaitPartitionMapExchange();
+
+        new DumpLoader(ign.context(), dumpDir).load(4);
+
+        for (String cacheName : new String[] {CACHE, GRP_CACHE}) {
+            IgniteCache<Integer, Integer> cache = cln.cache(cacheName);
+
+            assertEquals(KEYS_CNT, cache.size());
+
+            for (int i = 0; i < KEYS_CNT; i++)
+                assertEquals((Integer)i, cache.get(i));
+        }
+    }
+
+    /**
+     * Checks that entries changed while the dump is being written are dumped with the values they had at the dump
+     * start. Dump writers are blocked until every key is overwritten with a marker value.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDumpUnderLoad() throws Exception {
+        IgniteEx ign = startGrids(SRV_CNT);
+
+        fill(ign, CACHE);
+
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Partitions are dumped by the snapshot pool, so writers wait in the queue while all its threads are busy.
+        for (int i = 0; i < SRV_CNT; i++)
+            blockSnapshotPool(grid(i), release);
+
+        IgniteFuture<Void> dumpFut;
+
+        try {
+            dumpFut = ign.snapshot().createDump(DUMP_NAME, Collections.singleton(CACHE));
+
+            assertTrue(waitForCondition(() -> {
+                for (int i = 0; i < SRV_CNT; i++) {
+                    if (grid(i).cachex(CACHE).context().group().dumpListener() == null)
+                        return false;
+                }
+
+                return true;
+            }, getTestTimeout()));
+
+            assertFalse(dumpFut.isDone());
+
+            IgniteCache<Integer, Integer> cache = ign.cache(CACHE);
+
+            for (int i = 0; i < KEYS_CNT; i++)
+                cache.put(i, i + KEYS_CNT);
+        }
+        finally {
+            release.countDown();
+        }
+
+        dumpFut.get(getTestTimeout());
+
+        File dumpDir = ign.context().cache().context().snapshotMgr().dumpLocalDir(DUMP_NAME, null);
+
+        assertEquals(1, DumpReader.cacheConfigurations(dumpDir).size());
+
+        // Dump contains the values existed at the dump start only, none of the marker values.
+        checkDump(ign, dumpDir, CACHE, 0);
+
+        for (int i = 0; i < KEYS_CNT; i++)
+            assertEquals((Integer)(i + KEYS_CNT), ign.cache(CACHE).get(i));
+    }
+
+    /** @throws Exception If failed. */
+    @Test
+    public void testDumpAlreadyExists() throws Exception {
+        IgniteEx ign = startGrids(SRV_CNT);
+
+        ign.snapshot().createDump(DUMP_NAME, null).get(getTestTimeout());
+
+        GridTestUtils.assertThrowsAnyCause(
+            log,
+            () -> ign.snapshot().createDump(DUMP_NAME, null).get(getTestTimeout()),
+            IgniteException.class,
+            "Dump with given name already exists"
+        );
+    }
+
+    /**
+     * Checks that dump contains each key exactly once.
+     *
+     * @param ign Node.
+     * @param dumpDir Dump directory.
+     * @param cacheName Cache name.
+     * @param delta Expected difference between value and key.
+     */
+    private void checkDump(IgniteEx ign, File dumpDir, String cacheName, int delta) throws Exception {
+        GridCacheContext<?, ?> cctx = ign.cachex(cacheName).context();
+        CacheObjectContext coCtx = cctx.cacheObjectContext();
+        int cacheId = CU.cacheId(cacheName);
+
+        Map<Integer, Integer> entries = new HashMap<>();
+
+        for (File partFile : DumpReader.partitionFiles(dumpDir)) {
+            try (DumpReader reader = new DumpReader(partFile)) {
+                while (reader.hasNext()) {
+                    DumpEntry e = reader.next();
+
+                    if (e.cacheId() != cacheId)
+                        continue;
+
+                    KeyCacheObject key = ign.context().cacheObjects().toKeyCacheObject(coCtx, e.keyType(), e.keyBytes());
+                    Object val = ign.context().cacheObjects().toCacheObject(coCtx, e.valueType(), e.valueBytes())
+                        .value(coCtx, false);
+
+                    Integer prev = entries.put(key.value(coCtx, false), (Integer)val);
+
+                    assertNull("Duplicate key [key=" + key.value(coCtx, false) + ", file=" + partFile + ']', prev);
+                }
+            }
+        }
+
+        assertEquals(KEYS_CNT, entries.size());
+
+        for (Map.Entry<Integer, Integer> e : entries.entrySet())
+            assertEquals(e.getKey() + delta, (int)e.getValue());
+    }
+
+    /**
+     * Occupies all the threads of the snapshot pool until the latch is released.
+     *
+     * @param ign Node.
+     * @param release Latch to release the pool threads.
+     */
+    private void blockSnapshotPool(IgniteEx ign, CountDownLatch release) throws Exception {
+        int threads = ign.configuration().getSnapshotThreadPoolSize();
+
+        CountDownLatch blocked = new CountDownLatch(threads);
+
+        for (int i = 0; i < threads; i++) {
+            ign.context().pools().getSnapshotExecutorService().submit(() -> {
+                blocked.countDown();
+
+                U.awaitQuiet(release);
+            });
+        }
+
+        assertTrue(blocked.await(getTestTimeout(), TimeUnit.MILLISECONDS));
+    }
+
+    /** */
+    private void fill(IgniteEx ign, String cacheName) {
+        IgniteCache<Integer, Integer> cache = ign.cache(cacheName);
+
+        for (int i = 0; i < KEYS_CNT; i++)
+            cache.put(i, i);
+    }
+
+    /** */
+    private void cleanDumps() throws Exception {
+        U.delete(resolveSnapshotWorkDirectory(getConfiguration(getTestIgniteInstanceName(0))));
+    }
+}
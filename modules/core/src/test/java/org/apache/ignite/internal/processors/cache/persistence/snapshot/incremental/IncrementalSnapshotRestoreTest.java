@@ -82,10 +82,12 @@ import org.apache.ignite.lang.IgniteUuid;
 import org.apache.ignite.plugin.AbstractTestPluginProvider;
 import org.apache.ignite.plugin.PluginContext;
 import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
 import org.apache.ignite.transactions.Transaction;
 import org.jetbrains.annotations.Nullable;
 import org.junit.Test;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INCREMENTAL_SNAPSHOT_READ_AHEAD_RECORDS;
 import static org.apache.ignite.events.EventType.EVT_CONSISTENCY_VIOLATION;
 import static org.apache.ignite.internal.processors.cache.persistence.snapshot.AbstractSnapshotSelfTest.snp;
 import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.incrementalSnapshotWalsDir;
@@ -228,6 +230,21 @@ public class IncrementalSnapshotRestoreTest extends AbstractIncrementalSnapshotT
         checkData(expSnpData, CACHE);
     }
 
+    /** */
+    @Test
+    @WithSystemProperty(key = IGNITE_INCREMENTAL_SNAPSHOT_READ_AHEAD_RECORDS, value = "0")
+    public void testRecoveryOnIncrementalSnapshotWithoutReadAhead() throws Exception {
+        Map<Integer, Integer> expSnpData = new HashMap<>();
+
+        loadAndCreateSnapshot(true, (incSnp) -> loadData(CACHE, expSnpData, 1_000));
+
+        restartWithCleanPersistence();
+
+        grid(0).snapshot().restoreSnapshot(SNP, null, 1).get(getTestTimeout());
+
+        checkData(expSnpData, CACHE);
+    }
+
     /** */
     @Test
     public void testRecoveryOnIncrementalSnapshotWithMultipleSegments() throws Exception {
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot.incremental;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SNAPSHOT_PAGE_TRACKING;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.FILE_SUFFIX;
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.PageDeltaFile.PAGE_DELTA_SUFFIX;
+import static org.apache.ignite.testframework.GridTestUtils.assertThrows;
+
+/** Tests incremental snapshots with the pages changed since the full snapshot. */
+@WithSystemProperty(key = IGNITE_SNAPSHOT_PAGE_TRACKING, value = "true")
+public class PageDeltaIncrementalSnapshotTest extends GridCommonAbstractTest {
+    /** */
+    private static final String SNP = "snapshot";
+
+    /** */
+    private static final int NODES = 2;
+
+    /** */
+    private static final int KEYS = 10_000;
+
+    /** */
+    private static final int PARTS = 16;
+
+    /** Count of the keys changed by each update after the full snapshot. */
+    private static final int CHANGED = KEYS / 500;
+
+    /** Padding of the values, a few entries fit into a data page. */
+    private static final String PADDING = new String(new char[500]).replace('\0', 'x');
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String instanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(instanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setWalCompactionEnabled(true)
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setPersistenceEnabled(true)));
+
+        cfg.setCacheConfiguration(
+            cacheConfiguration(DEFAULT_CACHE_NAME, CacheAtomicityMode.TRANSACTIONAL),
+            cacheConfiguration("atomic", CacheAtomicityMode.ATOMIC));
+
+        cfg.setConsistentId(instanceName);
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /** */
+    @Test
+    public void testRestoreChangedPages() throws Exception {
+        IgniteEx g = startGrids(NODES);
+
+        g.cluster().state(ClusterState.ACTIVE);
+
+        Map<Integer, String> expFirst = new HashMap<>();
+
+        load(g, 0, KEYS, "base", expFirst);
+
+        g.snapshot().createSnapshot(SNP).get(getTestTimeout());
+
+        load(g, 0, CHANGED, "updated", expFirst);
+        remove(g, CHANGED, 2 * CHANGED, expFirst);
+        load(g, KEYS, KEYS + CHANGED, "inserted", expFirst);
+
+        // Changed pages are tracked in the partition files after the restart.
+        stopAllGrids();
+
+        IgniteEx ignite = startGrids(NODES);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        load(ignite, KEYS / 2, KEYS / 2 + CHANGED, "restarted", expFirst);
+
+        ignite.snapshot().createPageDeltaSnapshot(SNP).get(getTestTimeout());
+
+        Map<Integer, String> expSecond = new HashMap<>(expFirst);
+
+        load(ignite, KEYS / 4, KEYS / 4 + CHANGED, "second", expSecond);
+        remove(ignite, 2 * CHANGED, 3 * CHANGED, expSecond);
+
+        ignite.snapshot().createPageDeltaSnapshot(SNP).get(getTestTimeout());
+
+        // Not included into the snapshots.
+        load(ignite, 0, KEYS, "skipped", new HashMap<>());
+
+        assertThrows(log, () -> ignite.snapshot().createIncrementalSnapshot(SNP).get(getTestTimeout()),
+            IgniteException.class, "WAL and page-delta incremental snapshots can't be created for the same snapshot");
+
+        IgniteSnapshotManager snpMgr = ignite.context().cache().context().snapshotMgr();
+
+        long fullSize = size(snpMgr.snapshotLocalDir(SNP), FILE_SUFFIX);
+        long deltaSize = size(snpMgr.incrementalSnapshotLocalDir(SNP, null, 1), PAGE_DELTA_SUFFIX);
+
+        assertTrue("full=" + fullSize + ", delta=" + deltaSize, deltaSize > 0 && deltaSize < fullSize / 4);
+
+        restore(ignite, 1, expFirst);
+        restore(ignite, 2, expSecond);
+    }
+
+    /** */
+    @Test
+    public void testPageDeltaSnapshotRequiresTrackedBase() throws Exception {
+        IgniteEx g = startGrids(NODES);
+
+        g.cluster().state(ClusterState.ACTIVE);
+
+        load(g, 0, KEYS / 10, "base", new HashMap<>());
+
+        assertThrows(log, () -> g.snapshot().createPageDeltaSnapshot(SNP).get(getTestTimeout()),
+            IgniteException.class, "Base snapshot with given name doesn't exist");
+
+        g.snapshot().createSnapshot(SNP).get(getTestTimeout());
+        g.snapshot().createSnapshot(SNP + "_last").get(getTestTimeout());
+
+        assertThrows(log, () -> g.snapshot().createPageDeltaSnapshot(SNP).get(getTestTimeout()),
+            IgniteException.class, "The snapshot must be the last full snapshot");
+
+        g.snapshot().createPageDeltaSnapshot(SNP + "_last").get(getTestTimeout());
+    }
+
+    /** */
+    private void restore(IgniteEx g, int incIdx, Map<Integer, String> exp) throws Exception {
+        g.destroyCaches(F.asList(DEFAULT_CACHE_NAME, "atomic"));
+
+        awaitPartitionMapExchange();
+
+        g.snapshot().restoreSnapshot(SNP, null, incIdx).get(getTestTimeout());
+
+        for (String cacheName : F.asList(DEFAULT_CACHE_NAME, "atomic")) {
+            IgniteCache<Integer, String> cache = g.cache(cacheName);
+
+            assertEquals(exp.size(), cache.size());
+
+            for (int i = 0; i < KEYS + CHANGED; i++)
+                assertEquals("key=" + i, exp.get(i), cache.get(i));
+        }
+
+        assertPartitionsSame(idleVerify(g, DEFAULT_CACHE_NAME, "atomic"));
+    }
+
+    /** */
+    private void load(IgniteEx g, int from, int to, String val, Map<Integer, String> exp) {
+        for (String cacheName : F.asList(DEFAULT_CACHE_NAME, "atomic")) {
+            try (IgniteDataStreamer<Integer, String> ds = g.dataStreamer(cacheName)) {
+                ds.allowOverwrite(true);
+
+                for (int i = from; i < to; i++)
+                    ds.addData(i, val + i + PADDING);
+            }
+        }
+
+        for (int i = from; i < to; i++)
+            exp.put(i, val + i + PADDING);
+    }
+
+    /** */
+    private void remove(IgniteEx g, int from, int to, Map<Integer, String> exp) {
+        for (String cacheName : F.asList(DEFAULT_CACHE_NAME, "atomic")) {
+            for (int i = from; i < to; i++)
+                g.cache(cacheName).remove(i);
+        }
+
+        for (int i = from; i < to; i++)
+            exp.remove(i);
+    }
+
+    /** @return Total size of the files with the given suffix. */
+    private static long size(File dir, String suffix) throws IOException {
+        try (Stream<Path> files = Files.walk(dir.toPath())) {
+            return files.filter(p -> p.toString().endsWith(suffix)).mapToLong(p -> p.toFile().length()).sum();
+        }
+    }
+
+    /** */
+    private static CacheConfiguration<Integer, String> cacheConfiguration(String name, CacheAtomicityMode mode) {
+        return new CacheConfiguration<Integer, String>(name)
+            .setAtomicityMode(mode)
+            .setBackups(1)
+            .setAffinity(new RendezvousAffinityFunction(false, PARTS));
+    }
+}
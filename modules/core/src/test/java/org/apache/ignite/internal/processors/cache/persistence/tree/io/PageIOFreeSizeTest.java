@@ -69,6 +69,14 @@ public class PageIOFreeSizeTest extends GridCommonAbstractTest {
 
         final LongAdderMetric idxPages = new LongAdderMetric("b", null);
 
+        final LongAdderMetric pageHits = new LongAdderMetric("c", null);
+
+        final LongAdderMetric pageMisses = new LongAdderMetric("d", null);
+
+        final LongAdderMetric ghostPages = new LongAdderMetric("e", null);
+
+        final LongAdderMetric ghostHits = new LongAdderMetric("f", null);
+
         @Override public LongAdderMetric totalPages() {
             return totalPages;
         }
@@ -77,6 +85,22 @@ public class PageIOFreeSizeTest extends GridCommonAbstractTest {
             return idxPages;
         }
 
+        @Override public LongAdderMetric pageHits() {
+            return pageHits;
+        }
+
+        @Override public LongAdderMetric pageMisses() {
+            return pageMisses;
+        }
+
+        @Override public LongAdderMetric ghostPages() {
+            return ghostPages;
+        }
+
+        @Override public LongAdderMetric ghostHits() {
+            return ghostHits;
+        }
+
         @Override public void reset() {
             // No-op.
         }
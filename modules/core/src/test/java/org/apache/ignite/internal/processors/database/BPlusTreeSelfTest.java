@@ -52,6 +52,7 @@ import org.apache.ignite.configuration.DataRegionConfiguration;
 import org.apache.ignite.failure.FailureContext;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
+import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.PageIdAllocator;
 import org.apache.ignite.internal.pagemem.PageMemory;
@@ -67,6 +68,7 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusLeaf
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.IOVersions;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
+import org.apache.ignite.internal.processors.cache.persistence.tree.util.PageHandler;
 import org.apache.ignite.internal.processors.cache.persistence.tree.util.PageLockListener;
 import org.apache.ignite.internal.processors.failure.FailureProcessor;
 import org.apache.ignite.internal.util.GridConcurrentHashSet;
@@ -86,6 +88,7 @@ import org.jetbrains.annotations.Nullable;
 import org.jsr166.ConcurrentLinkedHashMap;
 import org.junit.Test;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_OPTIMISTIC_READS;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_PAGE_LOCK_TRACKER_CHECK_INTERVAL;
 import static org.apache.ignite.internal.pagemem.PageIdUtils.effectivePageId;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.rnd;
@@ -370,6 +373,57 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
         assertFalse(iterator.hasNext());
     }
 
+    /**
+     * Checks that the rightmost pages split by the insertions in the ascending order keep the given share of rows.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testAppendSplitFillFactor() throws IgniteCheckedException {
+        MAX_PER_PAGE = 10;
+
+        int cnt = 2_000;
+
+        long pages = pageMem.loadedPages();
+
+        TestTree halfTree = createTestTree(true);
+
+        for (long i = 0; i < cnt; i++)
+            assertFalse(halfTree.putx(i * 2));
+
+        long halfPages = pageMem.loadedPages() - pages;
+
+        pages = pageMem.loadedPages();
+
+        TestTree fillTree = createTestTree(true);
+
+        for (long i = 0; i < cnt; i++)
+            assertFalse(fillTree.putx(i * 2, 0.9f));
+
+        long fillPages = pageMem.loadedPages() - pages;
+
+        fillTree.validateTree();
+
+        assertEquals(cnt, fillTree.size());
+
+        // Pages split in the middle keep 6 rows of 10, pages split with the fill factor keep 9 rows.
+        assertTrue("halfPages=" + halfPages + ", fillPages=" + fillPages, fillPages * 10 < halfPages * 7);
+        assertTrue(fillTree.rootLevel() <= halfTree.rootLevel());
+
+        // Fill factor is not applied to the pages, which are not the rightmost ones.
+        for (long i = 0; i < cnt; i++)
+            assertFalse(fillTree.putx(i * 2 + 1, 0.9f));
+
+        fillTree.validateTree();
+
+        assertEquals(cnt * 2, fillTree.size());
+
+        for (long i = 0; i < cnt * 2; i++)
+            assertEquals((Long)i, fillTree.findOne(i));
+
+        assertNoLocks();
+    }
+
     /**
      * @throws IgniteCheckedException If failed.
      */
@@ -2533,6 +2587,74 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
         assertNoLocks();
     }
 
+    /**
+     * Checks that lookups read the inner pages without locks.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOptimisticReadOfInnerPages() throws Exception {
+        MAX_PER_PAGE = 4;
+
+        AtomicInteger innerLocks = new AtomicInteger();
+
+        BPlusTree.testHndWrapper = (tree, hnd) -> {
+            if (!(hnd instanceof BPlusTree.Search))
+                return hnd;
+
+            PageHandler<Object, BPlusTree.Result> delegate = (PageHandler<Object, BPlusTree.Result>)hnd;
+
+            return new PageHandler<Object, BPlusTree.Result>() {
+                @Override public BPlusTree.Result run(int cacheId, long pageId, long page, long pageAddr, PageIO io,
+                    Boolean walPlc, Object arg, int lvl, IoStatisticsHolder statHolder) throws IgniteCheckedException {
+                    if (lvl > 0)
+                        innerLocks.incrementAndGet();
+
+                    return delegate.run(cacheId, pageId, page, pageAddr, io, walPlc, arg, lvl, statHolder);
+                }
+            };
+        };
+
+        try {
+            TestTree tree = createTestTree(true);
+
+            System.setProperty(IGNITE_BPLUS_TREE_OPTIMISTIC_READS, "false");
+
+            TestTree lockingTree;
+
+            try {
+                lockingTree = createTestTree(true);
+            }
+            finally {
+                System.clearProperty(IGNITE_BPLUS_TREE_OPTIMISTIC_READS);
+            }
+
+            for (long i = 0; i < 1_000; i++) {
+                tree.put(i);
+                lockingTree.put(i);
+            }
+
+            innerLocks.set(0);
+
+            for (long i = 0; i < 1_000; i++)
+                assertEquals((Long)i, lockingTree.findOne(i));
+
+            int lockingCnt = innerLocks.getAndSet(0);
+
+            for (long i = 0; i < 1_000; i++)
+                assertEquals((Long)i, tree.findOne(i));
+
+            // Exact matches and right turns are still handled under the lock.
+            assertTrue("Inner pages locks [optimistic=" + innerLocks.get() + ", locking=" + lockingCnt + ']',
+                innerLocks.get() < lockingCnt / 2);
+
+            assertNoLocks();
+        }
+        finally {
+            BPlusTree.testHndWrapper = null;
+        }
+    }
+
     /**
      * @throws Exception If failed.
      */
@@ -3251,6 +3373,12 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
             return Long.compare(n1, n2);
         }
 
+        /** {@inheritDoc} */
+        @Override protected int compareOptimistic(BPlusIO<Long> io, long pageAddr, int idx, Long n2)
+            throws IgniteCheckedException {
+            return compare(io, pageAddr, idx, n2);
+        }
+
         /** {@inheritDoc} */
         @Override public Long getRow(BPlusIO<Long> io, long pageAddr, int idx, Object ignore)
             throws IgniteCheckedException {
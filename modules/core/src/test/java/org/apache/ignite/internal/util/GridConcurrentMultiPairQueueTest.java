@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
@@ -151,4 +152,42 @@ public class GridConcurrentMultiPairQueueTest extends GridCommonAbstractTest {
 
         assertTrue(queue2.initialSize() == arr1.length + arr2.length + arr3.length + arr4.length);
     }
+
+    /** */
+    @Test
+    public void testRangesOfSameKey() throws Exception {
+        GridTestUtils.runMultiThreaded(() -> {
+            GridConcurrentMultiPairQueue.Result<Integer, Integer> res =
+                new GridConcurrentMultiPairQueue.Result<>();
+
+            Integer[] range = new Integer[3];
+
+            int cnt;
+
+            while ((cnt = queue.next(res, range)) > 0) {
+                assertTrue(mapForCheck.containsKey(res.getKey()));
+
+                assertEquals(range[0], res.getValue());
+
+                Collection<Integer> coll = mapForCheck.get(res.getKey());
+
+                Integer[] arr = res.getKey() == 10 ? arr2 : res.getKey() == 20 ? arr1 : arr3;
+
+                List<Integer> rangeList = Arrays.asList(range).subList(0, cnt);
+
+                // Range contains adjacent values of the array.
+                assertTrue(Collections.indexOfSubList(Arrays.asList(arr), rangeList) >= 0);
+
+                for (Integer val : rangeList)
+                    assertTrue(coll.remove(val));
+
+                if (coll.isEmpty())
+                    mapForCheck.remove(res.getKey(), coll);
+            }
+        }, ThreadLocalRandom.current().nextInt(1, 20), "GridConcurrentMultiPairQueue range test");
+
+        assertTrue(mapForCheck.isEmpty());
+
+        assertTrue(queue.isEmpty());
+    }
 }
@@ -472,6 +472,139 @@ public class IgniteOffheapReadWriteLockSelfTest extends GridCommonAbstractTest {
         validate(data);
     }
 
+    /**
+     * @throws Exception if failed.
+     */
+    @Test
+    public void testOptimisticRead() throws Exception {
+        OffheapReadWriteLock lock = new OffheapReadWriteLock(16);
+
+        long ptr = GridUnsafe.allocateMemory(OffheapReadWriteLock.LOCK_SIZE);
+
+        try {
+            lock.init(ptr, TAG_0);
+
+            long stamp = lock.tryOptimisticRead(ptr, TAG_0);
+
+            assertTrue(stamp != 0);
+            assertEquals(0, lock.tryOptimisticRead(ptr, TAG_0 + 1));
+            assertTrue(lock.validate(ptr, stamp));
+
+            // Read locks do not invalidate optimistic reads.
+            assertTrue(lock.readLock(ptr, TAG_0));
+
+            assertEquals(stamp, lock.tryOptimisticRead(ptr, TAG_0));
+            assertTrue(lock.validate(ptr, stamp));
+
+            lock.readUnlock(ptr);
+
+            assertTrue(lock.writeLock(ptr, TAG_0));
+
+            assertEquals(0, lock.tryOptimisticRead(ptr, TAG_0));
+            assertFalse(lock.validate(ptr, stamp));
+
+            lock.writeUnlock(ptr, TAG_0);
+
+            assertFalse(lock.validate(ptr, stamp));
+
+            stamp = lock.tryOptimisticRead(ptr, TAG_0);
+
+            assertTrue(stamp != 0);
+            assertTrue(lock.validate(ptr, stamp));
+        }
+        finally {
+            GridUnsafe.freeMemory(ptr);
+        }
+    }
+
+    /**
+     * @throws Exception if failed.
+     */
+    @Test
+    public void testConcurrentOptimisticReads() throws Exception {
+        final int numPairs = 100;
+        final Pair[] data = new Pair[numPairs];
+
+        for (int i = 0; i < numPairs; i++)
+            data[i] = new Pair();
+
+        final OffheapReadWriteLock lock = new OffheapReadWriteLock(16);
+
+        final long ptr = GridUnsafe.allocateMemory(OffheapReadWriteLock.LOCK_SIZE);
+
+        lock.init(ptr, TAG_0);
+
+        final AtomicInteger validReads = new AtomicInteger();
+        final AtomicInteger failedReads = new AtomicInteger();
+        final AtomicBoolean done = new AtomicBoolean(false);
+
+        try {
+            IgniteInternalFuture<Long> fut = GridTestUtils.runMultiThreadedAsync(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+                while (!done.get()) {
+                    if (rnd.nextInt(10) < 2) {
+                        assertTrue(lock.writeLock(ptr, TAG_0));
+
+                        try {
+                            int idx = rnd.nextInt(numPairs);
+                            int delta = rnd.nextInt(100_000);
+
+                            data[idx].a += delta;
+                            data[idx].b -= delta;
+                        }
+                        finally {
+                            lock.writeUnlock(ptr, TAG_0);
+                        }
+                    }
+                    else {
+                        long stamp = lock.tryOptimisticRead(ptr, TAG_0);
+
+                        if (stamp == 0) {
+                            failedReads.incrementAndGet();
+
+                            continue;
+                        }
+
+                        int broken = -1;
+
+                        for (int i = 0; i < numPairs; i++) {
+                            if (data[i].a != -data[i].b)
+                                broken = i;
+                        }
+
+                        if (lock.validate(ptr, stamp)) {
+                            assertEquals("Inconsistent read has been validated", -1, broken);
+
+                            validReads.incrementAndGet();
+                        }
+                        else
+                            failedReads.incrementAndGet();
+                    }
+                }
+
+                return null;
+            }, 16, "tester");
+
+            for (int i = 0; i < ROUNDS_PER_TEST; i++) {
+                Thread.sleep(1_000);
+
+                info("Valid reads: " + validReads.get() + ", failed reads=" + failedReads.get());
+            }
+
+            done.set(true);
+
+            fut.get();
+
+            assertTrue(validReads.get() > 0);
+
+            validate(data);
+        }
+        finally {
+            GridUnsafe.freeMemory(ptr);
+        }
+    }
+
     /**
      * Validates data integrity.
      *
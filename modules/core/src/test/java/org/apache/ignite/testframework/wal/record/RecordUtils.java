@@ -40,6 +40,7 @@ import org.apache.ignite.internal.pagemem.wal.record.PartitionClearingStartRecor
 import org.apache.ignite.internal.pagemem.wal.record.ReencryptionStartRecord;
 import org.apache.ignite.internal.pagemem.wal.record.RollbackRecord;
 import org.apache.ignite.internal.pagemem.wal.record.SnapshotRecord;
+import org.apache.ignite.internal.pagemem.wal.record.StripedDataRecord;
 import org.apache.ignite.internal.pagemem.wal.record.SwitchSegmentRecord;
 import org.apache.ignite.internal.pagemem.wal.record.TxRecord;
 import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
@@ -170,6 +171,7 @@ import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.ROLLBACK_TX_RECORD;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.ROTATED_ID_PART_RECORD;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.SNAPSHOT;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.STRIPED_DATA_RECORD;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.SWITCH_SEGMENT_RECORD;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.TRACKING_PAGE_DELTA;
 import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.TRACKING_PAGE_REPAIR_DELTA;
@@ -193,6 +195,7 @@ public class RecordUtils {
         put(DATA_RECORD, RecordUtils::buildDataRecord);
         put(DATA_RECORD_V2, RecordUtils::buildDataRecord);
         put(CDC_DATA_RECORD, RecordUtils::buildDataRecord);
+        put(STRIPED_DATA_RECORD, RecordUtils::buildStripedDataRecord);
         put(CHECKPOINT_RECORD, RecordUtils::buildCheckpointRecord);
         put(HEADER_RECORD, buildUpsupportedWalRecord(HEADER_RECORD));
         put(INIT_NEW_PAGE_RECORD, RecordUtils::buildInitNewPageRecord);
@@ -304,6 +307,11 @@ public class RecordUtils {
         return new DataRecord(Collections.emptyList());
     }
 
+    /** **/
+    public static StripedDataRecord buildStripedDataRecord() {
+        return new StripedDataRecord(Collections.emptyList(), 1, 1, 1, new WALPointer(1, 1, 0));
+    }
+
     /** **/
     public static CheckpointRecord buildCheckpointRecord() {
         CheckpointRecord record = new CheckpointRecord(new WALPointer(1, 1, 1));
@@ -20,6 +20,7 @@ package org.apache.ignite.testsuites;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.io.InlinePageFrontCodingTest;
 import org.apache.ignite.internal.pagemem.impl.PageMemoryNoLoadSelfTest;
 import org.apache.ignite.internal.processors.cache.RestorePartitionStateTest;
 import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManagerSelfTest;
@@ -83,6 +84,7 @@ public class IgnitePdsTestSuite5 {
         GridTestUtils.addTestIfNeeded(suite, PageIdDistributionTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, TrackingPageIOTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, PageIOFreeSizeTest.class, ignoredTests);
+        GridTestUtils.addTestIfNeeded(suite, InlinePageFrontCodingTest.class, ignoredTests);
 
         // BTree tests with store page memory.
         GridTestUtils.addTestIfNeeded(suite, BPlusTreePageMemoryImplTest.class, ignoredTests);
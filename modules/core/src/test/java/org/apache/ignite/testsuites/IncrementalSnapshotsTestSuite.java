@@ -33,6 +33,7 @@ import org.apache.ignite.internal.processors.cache.persistence.snapshot.incremen
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.incremental.IncrementalSnapshotTwoBackupWALBlockingTest;
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.incremental.IncrementalSnapshotTxRecoveryTest;
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.incremental.IncrementalSnapshotWarnAtomicCachesTest;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.incremental.PageDeltaIncrementalSnapshotTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -56,7 +57,8 @@ import org.junit.runners.Suite;
     IncrementalSnapshotCheckBeforeRestoreTest.class,
     IncrementalSnapshotWarnAtomicCachesTest.class,
     IncrementalSnapshotRebalanceTest.class,
-    IncrementalSnapshotMetricTest.class
+    IncrementalSnapshotMetricTest.class,
+    PageDeltaIncrementalSnapshotTest.class
 })
 public class IncrementalSnapshotsTestSuite {
 }
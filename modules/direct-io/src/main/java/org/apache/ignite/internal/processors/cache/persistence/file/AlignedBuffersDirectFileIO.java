@@ -47,6 +47,12 @@ public class AlignedBuffersDirectFileIO extends AbstractFileIO {
     /** Negative value for file offset: read/write starting from current file position */
     private static final int FILE_POS_USE_CURRENT = -1;
 
+    /** Size of the iovec structure. */
+    private static final int IOVEC_SIZE = 16;
+
+    /** Maximum number of buffers written with a single {@code pwritev} call. */
+    private static final int IOV_MAX = 1024;
+
     /** Minimal amount of data can be written using DirectIO. */
     private final int ioBlockSize;
 
@@ -278,6 +284,63 @@ public class AlignedBuffersDirectFileIO extends AbstractFileIO {
             writeFromUnalignedBuffer(srcBuf, filePosition);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Known aligned buffers are written with a single {@code pwritev} call.
+     */
+    @Override public long writeFully(ByteBuffer[] srcBufs, long position) throws IOException {
+        if (srcBufs.length > IOV_MAX)
+            return super.writeFully(srcBufs, position);
+
+        long len = 0;
+
+        for (ByteBuffer srcBuf : srcBufs) {
+            if (!isKnownAligned(srcBuf) || srcBuf.remaining() % ioBlockSize != 0)
+                return super.writeFully(srcBufs, position);
+
+            len += srcBuf.remaining();
+        }
+
+        long iovecs = GridUnsafe.allocateMemory((long)srcBufs.length * IOVEC_SIZE);
+
+        try {
+            for (int i = 0; i < srcBufs.length; i++) {
+                long iov = iovecs + (long)i * IOVEC_SIZE;
+
+                GridUnsafe.putLong(iov, GridUnsafe.bufferAddress(srcBufs[i]) + srcBufs[i].position());
+                GridUnsafe.putLong(iov + 8, srcBufs[i].remaining());
+            }
+
+            long written = IgniteNativeIoLib.pwritev(fdCheckOpened(), new Pointer(iovecs), srcBufs.length,
+                nl(position)).longValue();
+
+            if (written < 0) {
+                throw new IOException(String.format("Error during writing file [%s] to position [%s]: %s",
+                    file, position, getLastError()));
+            }
+
+            long rest = written;
+
+            for (ByteBuffer srcBuf : srcBufs) {
+                int n = (int)Math.min(rest, srcBuf.remaining());
+
+                srcBuf.position(srcBuf.position() + n);
+
+                rest -= n;
+            }
+
+            // Remaining part of the partial write is written buffer by buffer.
+            if (written < len)
+                written += super.writeFully(srcBufs, position + written);
+
+            return written;
+        }
+        finally {
+            GridUnsafe.freeMemory(iovecs);
+        }
+    }
+
     /**
      * @param srcBuf buffer to check if it is known buffer.
      * @param filePosition File position.
@@ -549,20 +612,8 @@ public class AlignedBuffersDirectFileIO extends AbstractFileIO {
         truncate(0);
     }
 
-    /**
-     * Truncates this channel's file to the given size.
-     *
-     * <p> If the given size is less than the file's current size then the file
-     * is truncated, discarding any bytes beyond the new end of the file. If
-     * the given size is greater than or equal to the file's current size then
-     * the file is not modified. In either case, if this channel's file
-     * position is greater than the given size then it is set to that size.
-     * </p>
-     *
-     * @param  size The new size, a non-negative byte count
-     *
-     */
-    private void truncate(long size) throws IOException {
+    /** {@inheritDoc} */
+    @Override public void truncate(long size) throws IOException {
         if (IgniteNativeIoLib.ftruncate(fdCheckOpened(), size) < 0)
             throw new IOException(String.format("Error truncating file %s, got %s", file, getLastError()));
 
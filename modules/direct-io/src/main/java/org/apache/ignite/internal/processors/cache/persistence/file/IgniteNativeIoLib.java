@@ -91,6 +91,27 @@ public class IgniteNativeIoLib {
     /** Seek option: change file position to offset */
     public static final int SEEK_CUR = 1;
 
+    /** Memory protection: pages may be read. */
+    public static final int PROT_READ = 0x1;
+
+    /** Memory protection: pages may be written. */
+    public static final int PROT_WRITE = 0x2;
+
+    /** Mapping flag: updates of the mapping are visible to other processes mapping the same region. */
+    public static final int MAP_SHARED = 0x01;
+
+    /** Mapping flag: populate page tables for the mapping. */
+    public static final int MAP_POPULATE = 0x8000;
+
+    /** Interrupted system call. */
+    public static final int E_INTR = 4;
+
+    /** Resource temporarily unavailable. */
+    public static final int E_AGAIN = 11;
+
+    /** Device or resource busy. */
+    public static final int E_BUSY = 16;
+
     /** JNA library available and initialized. Always {@code false} for non linux systems. */
     private static boolean jnaAvailable;
 
@@ -271,6 +292,20 @@ public class IgniteNativeIoLib {
      */
     public static native NativeLong pwrite(int fd, Pointer buf, NativeLong cnt, NativeLong off);
 
+    /**
+     * Writes {@code iovcnt} buffers described by the array of {@code iovec} structures starting at {@code iov}
+     * to the file descriptor {@code fd} at offset {@code offset}. The buffers are written in array order.
+     * The file offset is not changed. See "man 2 pwritev".
+     *
+     * @param fd file descriptor.
+     * @param iov pointer to array of {@code iovec} structures.
+     * @param iovcnt number of buffers.
+     * @param off position in file to write data.
+     * @return the number of bytes written. Note that is not an error for a successful call to transfer fewer bytes than
+     * requested.
+     */
+    public static native NativeLong pwritev(int fd, Pointer iov, int iovcnt, NativeLong off);
+
     /**
      * Writes up to {@code cnt} bytes to the buffer starting at {@code buf} to the file descriptor {@code fd}.
      * The file offset is changed. See "man 2 write".
@@ -412,4 +447,41 @@ public class IgniteNativeIoLib {
      * @return  On error, the value -1 is returned and errno is set to indicate the error.
      */
     public static native long lseek(int fd, long off, int whence);
+
+    /**
+     * Maps files or devices into memory. See "man 2 mmap".
+     *
+     * @param addr Hint for the starting address of the mapping, may be {@code null}.
+     * @param len Length of the mapping.
+     * @param prot Desired memory protection of the mapping.
+     * @param flags Mapping flags.
+     * @param fd File descriptor.
+     * @param off Offset in the file.
+     * @return On success, pointer to the mapped area. On error, <tt>MAP_FAILED</tt> (that is, <tt>(void *) -1</tt>)
+     * is returned, and errno is set appropriately.
+     */
+    public static native Pointer mmap(Pointer addr, NativeLong len, int prot, int flags, int fd, NativeLong off);
+
+    /**
+     * Deletes the mappings for the specified address range. See "man 2 munmap".
+     *
+     * @param addr Starting address of the mapping.
+     * @param len Length of the mapping.
+     * @return On success, zero is returned. On error, -1 is returned, and errno is set appropriately.
+     */
+    public static native int munmap(Pointer addr, NativeLong len);
+
+    /**
+     * Invokes the system call, which has no wrapper function in the C library. See "man 2 syscall".
+     *
+     * @param number System call number.
+     * @param arg1 First argument.
+     * @param arg2 Second argument.
+     * @param arg3 Third argument.
+     * @param arg4 Fourth argument.
+     * @param arg5 Fifth argument.
+     * @param arg6 Sixth argument.
+     * @return Value returned by the system call. On error, -1 is returned, and errno is set appropriately.
+     */
+    public static native long syscall(long number, long arg1, long arg2, long arg3, long arg4, long arg5, long arg6);
 }
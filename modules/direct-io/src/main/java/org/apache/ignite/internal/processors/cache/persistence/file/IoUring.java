@@ -0,0 +1,371 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.IOException;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+/**
+ * Linux io_uring instance: a pair of submission and completion queues shared with the kernel, which allows to
+ * submit a batch of I/O operations and to wait for their completion with a single system call.
+ * See "man 7 io_uring".<br>
+ * <b>Note: </b> Instance is not thread safe and is supposed to be used by a single thread.
+ */
+class IoUring implements AutoCloseable {
+    /** Number of the io_uring_setup system call. */
+    private static final long SYS_IO_URING_SETUP = 425;
+
+    /** Number of the io_uring_enter system call. */
+    private static final long SYS_IO_URING_ENTER = 426;
+
+    /** Size of the io_uring_params structure. */
+    private static final int PARAMS_SIZE = 120;
+
+    /** Offset of the submission queue offsets in the io_uring_params structure. */
+    private static final int PARAMS_SQ_OFF = 40;
+
+    /** Offset of the completion queue offsets in the io_uring_params structure. */
+    private static final int PARAMS_CQ_OFF = 80;
+
+    /** Offset of the features field in the io_uring_params structure. */
+    private static final int PARAMS_FEATURES = 20;
+
+    /** Size of the submission queue entry. */
+    private static final int SQE_SIZE = 64;
+
+    /** Size of the completion queue entry. */
+    private static final int CQE_SIZE = 16;
+
+    /** Size of the iovec structure. */
+    private static final int IOVEC_SIZE = 16;
+
+    /** Offset of the submission queue ring in the io_uring file. */
+    private static final long OFF_SQ_RING = 0;
+
+    /** Offset of the completion queue ring in the io_uring file. */
+    private static final long OFF_CQ_RING = 0x8000000L;
+
+    /** Offset of the submission queue entries in the io_uring file. */
+    private static final long OFF_SQES = 0x10000000L;
+
+    /** Submission and completion queues are mapped with a single mmap call. */
+    private static final int FEAT_SINGLE_MMAP = 1;
+
+    /** Wait for the specified number of completions. */
+    private static final int ENTER_GETEVENTS = 1;
+
+    /** Vectored write operation. Supported by all kernels with io_uring. */
+    private static final byte OP_WRITEV = 2;
+
+    /** Ring file descriptor. */
+    private final int fd;
+
+    /** Number of submission queue entries. */
+    private final int entries;
+
+    /** Submission queue ring. */
+    private final Pointer sqRing;
+
+    /** Submission queue ring size. */
+    private final long sqRingSize;
+
+    /** Completion queue ring, the same as {@link #sqRing} if the kernel maps both queues at once. */
+    private final Pointer cqRing;
+
+    /** Completion queue ring size. */
+    private final long cqRingSize;
+
+    /** Submission queue entries. */
+    private final Pointer sqes;
+
+    /** Vectors of the queued writes, one per submission queue entry. */
+    private final long iovecs;
+
+    /** Address of the submission queue tail. */
+    private final long sqTail;
+
+    /** Address of the submission queue ring mask. */
+    private final long sqMask;
+
+    /** Address of the submission queue index array. */
+    private final long sqArray;
+
+    /** Address of the completion queue head. */
+    private final long cqHead;
+
+    /** Address of the completion queue tail. */
+    private final long cqTail;
+
+    /** Address of the completion queue ring mask. */
+    private final long cqMask;
+
+    /** Address of the completion queue entries. */
+    private final long cqes;
+
+    /** Number of operations queued, but not yet submitted. */
+    private int queued;
+
+    /**
+     * Creates io_uring instance.
+     *
+     * @param entries Number of submission queue entries, rounded up by the kernel to a power of two.
+     * @throws IOException If the kernel doesn't support io_uring or the instance creation failed.
+     */
+    IoUring(int entries) throws IOException {
+        long params = GridUnsafe.allocateMemory(PARAMS_SIZE);
+
+        try {
+            GridUnsafe.setMemory(params, PARAMS_SIZE, (byte)0);
+
+            fd = (int)IgniteNativeIoLib.syscall(SYS_IO_URING_SETUP, entries, params, 0, 0, 0, 0);
+
+            if (fd < 0)
+                throw new IOException("Failed to create io_uring instance: " + lastError());
+
+            this.entries = GridUnsafe.getInt(params);
+
+            int cqEntries = GridUnsafe.getInt(params + 4);
+            int features = GridUnsafe.getInt(params + PARAMS_FEATURES);
+
+            long sqOff = params + PARAMS_SQ_OFF;
+            long cqOff = params + PARAMS_CQ_OFF;
+
+            long sqRingSize = GridUnsafe.getInt(sqOff + 24) + (long)this.entries * 4;
+            long cqRingSize = GridUnsafe.getInt(cqOff + 20) + (long)cqEntries * CQE_SIZE;
+
+            if ((features & FEAT_SINGLE_MMAP) != 0)
+                sqRingSize = cqRingSize = Math.max(sqRingSize, cqRingSize);
+
+            this.sqRingSize = sqRingSize;
+            this.cqRingSize = cqRingSize;
+
+            Pointer sqRing = null;
+            Pointer cqRing = null;
+            Pointer sqes = null;
+
+            try {
+                sqRing = mmap(sqRingSize, OFF_SQ_RING);
+                cqRing = (features & FEAT_SINGLE_MMAP) != 0 ? sqRing : mmap(cqRingSize, OFF_CQ_RING);
+                sqes = mmap((long)this.entries * SQE_SIZE, OFF_SQES);
+            }
+            catch (IOException e) {
+                if (sqRing != null)
+                    IgniteNativeIoLib.munmap(sqRing, new NativeLong(sqRingSize));
+
+                if (cqRing != null && cqRing != sqRing)
+                    IgniteNativeIoLib.munmap(cqRing, new NativeLong(cqRingSize));
+
+                IgniteNativeIoLib.close(fd);
+
+                throw e;
+            }
+
+            this.sqRing = sqRing;
+            this.cqRing = cqRing;
+            this.sqes = sqes;
+
+            long sqBase = Pointer.nativeValue(sqRing);
+            long cqBase = Pointer.nativeValue(cqRing);
+
+            sqTail = sqBase + GridUnsafe.getInt(sqOff + 4);
+            sqMask = sqBase + GridUnsafe.getInt(sqOff + 8);
+            sqArray = sqBase + GridUnsafe.getInt(sqOff + 24);
+
+            cqHead = cqBase + GridUnsafe.getInt(cqOff);
+            cqTail = cqBase + GridUnsafe.getInt(cqOff + 4);
+            cqMask = cqBase + GridUnsafe.getInt(cqOff + 8);
+            cqes = cqBase + GridUnsafe.getInt(cqOff + 20);
+
+            iovecs = GridUnsafe.allocateMemory((long)this.entries * IOVEC_SIZE);
+        }
+        finally {
+            GridUnsafe.freeMemory(params);
+        }
+    }
+
+    /**
+     * @return {@code True} if io_uring is supported by the current operating system.
+     */
+    static boolean isAvailable() {
+        if (!IgniteNativeIoLib.isJnaAvailable())
+            return false;
+
+        try (IoUring ignored = new IoUring(2)) {
+            return true;
+        }
+        catch (IOException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return Maximum number of operations which can be queued before the submission.
+     */
+    int capacity() {
+        return entries;
+    }
+
+    /**
+     * @return Number of operations queued, but not yet submitted.
+     */
+    int queued() {
+        return queued;
+    }
+
+    /**
+     * Queues positional write operation.
+     *
+     * @param fileFd File descriptor.
+     * @param addr Address of the data to write.
+     * @param len Length of the data to write.
+     * @param off Position in the file.
+     * @param userData Value returned with the completion of the operation.
+     */
+    void queueWrite(int fileFd, long addr, int len, long off, long userData) {
+        assert queued < entries : "Submission queue is full";
+
+        int tail = GridUnsafe.getIntVolatile(null, sqTail) + queued;
+        int idx = tail & GridUnsafe.getInt(sqMask);
+
+        long iov = iovecs + (long)idx * IOVEC_SIZE;
+
+        GridUnsafe.putLong(iov, addr);
+        GridUnsafe.putLong(iov + 8, len);
+
+        long sqe = Pointer.nativeValue(sqes) + (long)idx * SQE_SIZE;
+
+        GridUnsafe.setMemory(sqe, SQE_SIZE, (byte)0);
+        GridUnsafe.putByte(sqe, OP_WRITEV);
+        GridUnsafe.putInt(sqe + 4, fileFd);
+        GridUnsafe.putLong(sqe + 8, off);
+        GridUnsafe.putLong(sqe + 16, iov);
+        GridUnsafe.putInt(sqe + 24, 1);
+        GridUnsafe.putLong(sqe + 32, userData);
+
+        GridUnsafe.putInt(sqArray + (long)idx * 4, idx);
+
+        queued++;
+    }
+
+    /**
+     * Submits all queued operations and waits for their completion.
+     *
+     * @param c Closure called for each completed operation.
+     * @throws IOException If failed to submit operations.
+     */
+    void submitAndWait(CompletionClosure c) throws IOException {
+        int toComplete = queued;
+
+        if (toComplete == 0)
+            return;
+
+        // Publish queued entries to the kernel, the volatile write orders them before the tail update.
+        GridUnsafe.putIntVolatile(null, sqTail, GridUnsafe.getIntVolatile(null, sqTail) + queued);
+
+        int toSubmit = queued;
+
+        queued = 0;
+
+        while (toComplete > 0) {
+            long res = IgniteNativeIoLib.syscall(SYS_IO_URING_ENTER, fd, toSubmit, toComplete, ENTER_GETEVENTS, 0, 0);
+
+            if (res < 0) {
+                int err = Native.getLastError();
+
+                if (err != IgniteNativeIoLib.E_INTR && err != IgniteNativeIoLib.E_AGAIN && err != IgniteNativeIoLib.E_BUSY)
+                    throw new IOException("Failed to submit io_uring operations: " + IgniteNativeIoLib.strerror(err));
+            }
+            else
+                toSubmit -= (int)res;
+
+            toComplete -= reapCompletions(c);
+        }
+    }
+
+    /**
+     * @param c Closure called for each completed operation.
+     * @return Number of reaped completions.
+     */
+    private int reapCompletions(CompletionClosure c) {
+        int head = GridUnsafe.getIntVolatile(null, cqHead);
+        int tail = GridUnsafe.getIntVolatile(null, cqTail);
+        int mask = GridUnsafe.getInt(cqMask);
+
+        int cnt = 0;
+
+        for (; head != tail; head++, cnt++) {
+            long cqe = cqes + (long)(head & mask) * CQE_SIZE;
+
+            c.apply(GridUnsafe.getLong(cqe), GridUnsafe.getInt(cqe + 8));
+        }
+
+        GridUnsafe.putIntVolatile(null, cqHead, head);
+
+        return cnt;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        GridUnsafe.freeMemory(iovecs);
+
+        IgniteNativeIoLib.munmap(sqes, new NativeLong((long)entries * SQE_SIZE));
+        IgniteNativeIoLib.munmap(sqRing, new NativeLong(sqRingSize));
+
+        if (cqRing != sqRing)
+            IgniteNativeIoLib.munmap(cqRing, new NativeLong(cqRingSize));
+
+        IgniteNativeIoLib.close(fd);
+    }
+
+    /**
+     * @param size Size of the mapping.
+     * @param off Offset of the queue in the io_uring file.
+     * @return Mapped queue.
+     */
+    private Pointer mmap(long size, long off) throws IOException {
+        Pointer ptr = IgniteNativeIoLib.mmap(null, new NativeLong(size),
+            IgniteNativeIoLib.PROT_READ | IgniteNativeIoLib.PROT_WRITE,
+            IgniteNativeIoLib.MAP_SHARED | IgniteNativeIoLib.MAP_POPULATE,
+            fd, new NativeLong(off));
+
+        if (ptr == null || Pointer.nativeValue(ptr) == -1)
+            throw new IOException("Failed to map io_uring queue: " + lastError());
+
+        return ptr;
+    }
+
+    /**
+     * @return Displayable string with the last OS error.
+     */
+    private static String lastError() {
+        return IgniteNativeIoLib.strerror(Native.getLastError());
+    }
+
+    /** Closure called for the completed operation. */
+    @FunctionalInterface
+    interface CompletionClosure {
+        /**
+         * @param userData Value passed with the operation.
+         * @param res Result of the operation: number of bytes written or negated error number.
+         */
+        void apply(long userData, int res);
+    }
+}
@@ -0,0 +1,516 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+/**
+ * File I/O which defers positional writes of the threads with started {@link IoUringWriteBatch} and submits
+ * them with io_uring. Other operations are performed with the delegate file I/O. Reads take into account data
+ * of the deferred writes, operations which depend on the file content on the disk wait for the deferred
+ * writes completion.
+ */
+public class IoUringFileIO extends FileIODecorator {
+    /** Time to park while waiting for the deferred write of other thread. */
+    private static final long AWAIT_PARK_NS = 10_000;
+
+    /** File. */
+    private final File file;
+
+    /** File descriptor used by io_uring writes, {@code -1} if file is opened for read only. */
+    private final int fd;
+
+    /** Deferred writes by position in the file. */
+    private final ConcurrentSkipListMap<Long, PendingWrite> pending = new ConcurrentSkipListMap<>();
+
+    /** Maximum length of the deferred write. */
+    private final AtomicInteger maxPendingLen = new AtomicInteger();
+
+    /**
+     * @param delegate File I/O delegate.
+     * @param file File.
+     * @param modes Open modes.
+     * @throws IOException If failed to open the file.
+     */
+    IoUringFileIO(FileIO delegate, File file, OpenOption... modes) throws IOException {
+        super(delegate);
+
+        this.file = file;
+
+        if (Arrays.asList(modes).contains(StandardOpenOption.WRITE)) {
+            fd = IgniteNativeIoLib.open(file.getAbsolutePath(), IgniteNativeIoLib.O_WRONLY,
+                IgniteNativeIoLib.DEFAULT_OPEN_MODE);
+
+            if (fd < 0)
+                throw new IOException("Error opening file [" + file + "]: " + lastError());
+        }
+        else
+            fd = -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void position(long newPosition) throws IOException {
+        awaitPending();
+
+        delegate.position(newPosition);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer destBuf) throws IOException {
+        awaitPending();
+
+        return delegate.read(destBuf);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer destBuf, long position) throws IOException {
+        int start = destBuf.position();
+        int len = destBuf.remaining();
+
+        while (true) {
+            List<PendingWrite> overlaps = overlaps(position, len);
+
+            if (overlaps.isEmpty())
+                return delegate.read(destBuf, position);
+
+            int n = delegate.read(destBuf, position);
+
+            // Deferred writes are applied over the data read from the disk, they are more recent.
+            int read = Math.max(n, 0);
+            boolean retry = false;
+
+            for (PendingWrite w : overlaps) {
+                int from = (int)Math.max(0, w.pos - position);
+                int to = (int)Math.min(len, w.pos + w.len - position);
+
+                if (from > read)
+                    break;
+
+                int res = w.copyTo(destBuf, start + from, (int)(position + from - w.pos), to - from);
+
+                if (res == PendingWrite.RECYCLED) {
+                    retry = true;
+
+                    break;
+                }
+
+                if (res == PendingWrite.COPIED)
+                    read = Math.max(read, to);
+            }
+
+            if (retry) {
+                destBuf.position(start);
+
+                continue;
+            }
+
+            destBuf.position(start + read);
+
+            return n < 0 && read == 0 ? -1 : read;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(byte[] buf, int off, int len) throws IOException {
+        awaitPending();
+
+        return delegate.read(buf, off, len);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf) throws IOException {
+        awaitPending();
+
+        return delegate.write(srcBuf);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf, long position) throws IOException {
+        IoUringWriteBatch batch = IoUringFileIOFactory.currentBatch();
+
+        if (batch != null && fd >= 0)
+            return batch.write(this, srcBuf, position);
+
+        awaitPending(position, srcBuf.remaining(), true);
+
+        return delegate.write(srcBuf, position);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(byte[] buf, int off, int len) throws IOException {
+        awaitPending();
+
+        return delegate.write(buf, off, len);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int punchHole(long pos, int len) {
+        try {
+            awaitPending(pos, len, false);
+        }
+        catch (IOException e) {
+            throw new IgniteException(e);
+        }
+
+        return delegate.punchHole(pos, len);
+    }
+
+    /** {@inheritDoc} */
+    @Override public MappedByteBuffer map(int sizeBytes) throws IOException {
+        awaitPending();
+
+        return delegate.map(sizeBytes);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force() throws IOException {
+        force(false);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force(boolean withMetadata) throws IOException {
+        awaitPending();
+
+        delegate.force(withMetadata);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long size() throws IOException {
+        long size = delegate.size();
+
+        Map.Entry<Long, PendingWrite> last = pending.lastEntry();
+
+        return last == null ? size : Math.max(size, last.getKey() + last.getValue().len);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() throws IOException {
+        awaitPending();
+
+        delegate.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void truncate(long size) throws IOException {
+        awaitPending();
+
+        delegate.truncate(size);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        awaitPending();
+
+        return delegate.transferTo(position, count, target);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+        awaitPending();
+
+        return delegate.transferFrom(src, position, count);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        try {
+            awaitPending();
+        }
+        finally {
+            try {
+                delegate.close();
+            }
+            finally {
+                if (fd >= 0 && IgniteNativeIoLib.close(fd) < 0)
+                    throw new IOException("Error closing file [" + file + "]: " + lastError());
+            }
+        }
+    }
+
+    /**
+     * @return File descriptor used by io_uring writes.
+     */
+    int fd() {
+        return fd;
+    }
+
+    /**
+     * @param w Deferred write.
+     * @return {@code False} if there is other deferred write at the same position.
+     */
+    boolean addPending(PendingWrite w) {
+        if (pending.putIfAbsent(w.pos, w) != null)
+            return false;
+
+        maxPendingLen.accumulateAndGet(w.len, Math::max);
+
+        return true;
+    }
+
+    /**
+     * Handles result of the submitted write.
+     *
+     * @param w Deferred write.
+     * @param res Number of bytes written or negated error number.
+     * @throws IOException If the write failed.
+     */
+    void onWritten(PendingWrite w, int res) throws IOException {
+        if (res < 0) {
+            throw new IOException("Error during writing file [" + file + "] to position [" + w.pos + "]: " +
+                IgniteNativeIoLib.strerror(-res));
+        }
+
+        long addr = GridUnsafe.bufferAddress(w.buf);
+
+        // Complete short write synchronously.
+        for (int written = res; written < w.len; ) {
+            long wr = IgniteNativeIoLib.pwrite(fd, new Pointer(addr + written), new NativeLong(w.len - written),
+                new NativeLong(w.pos + written)).longValue();
+
+            if (wr < 0) {
+                throw new IOException("Error during writing file [" + file + "] to position [" +
+                    (w.pos + written) + "]: " + lastError());
+            }
+
+            written += wr;
+        }
+    }
+
+    /**
+     * Waits for completion of all deferred writes of the file.
+     *
+     * @throws IOException If failed to submit deferred writes of the current thread.
+     */
+    private void awaitPending() throws IOException {
+        if (!pending.isEmpty())
+            awaitPending(0, Long.MAX_VALUE, false);
+    }
+
+    /**
+     * Waits for completion of deferred writes overlapping with the given region. Deferred writes of the current
+     * thread are submitted, writes of other threads are awaited or, if allowed, cancelled.
+     *
+     * @param pos Region position.
+     * @param len Region length.
+     * @param cancel Cancel not yet submitted writes of other threads which are completely overwritten by the region.
+     * @throws IOException If failed to submit deferred writes of the current thread.
+     */
+    void awaitPending(long pos, long len, boolean cancel) throws IOException {
+        if (pending.isEmpty())
+            return;
+
+        IoUringWriteBatch own = IoUringFileIOFactory.currentBatch();
+
+        while (true) {
+            List<PendingWrite> overlaps = overlaps(pos, len);
+
+            if (overlaps.isEmpty())
+                return;
+
+            for (PendingWrite w : overlaps) {
+                if (w.batch == own)
+                    own.flush();
+                else if (!(cancel && w.pos >= pos && w.pos + w.len <= pos + len && w.cancel()))
+                    w.await();
+
+                pending.remove(w.pos, w);
+            }
+        }
+    }
+
+    /**
+     * @param pos Region position.
+     * @param len Region length.
+     * @return Deferred writes overlapping with the region ordered by position.
+     */
+    private List<PendingWrite> overlaps(long pos, long len) {
+        if (pending.isEmpty())
+            return new ArrayList<>(0);
+
+        long from = Math.max(0, pos - maxPendingLen.get() + 1);
+        long to = len > Long.MAX_VALUE - pos ? Long.MAX_VALUE : pos + len;
+
+        List<PendingWrite> res = new ArrayList<>();
+
+        for (PendingWrite w : pending.subMap(from, true, to, false).values()) {
+            if (w.pos + w.len > pos)
+                res.add(w);
+        }
+
+        return res;
+    }
+
+    /**
+     * @return Displayable string with the last OS error.
+     */
+    private static String lastError() {
+        return IgniteNativeIoLib.strerror(Native.getLastError());
+    }
+
+    /** Deferred write. */
+    static class PendingWrite {
+        /** Data was copied. */
+        static final int COPIED = 0;
+
+        /** Data wasn't copied, the write was cancelled. */
+        static final int SKIPPED = 1;
+
+        /** Data wasn't copied, the buffer was reused for other write. */
+        static final int RECYCLED = 2;
+
+        /** Write is queued. */
+        private static final int STATE_QUEUED = 0;
+
+        /** Write is submitted to the kernel. */
+        private static final int STATE_SUBMITTED = 1;
+
+        /** Write is completed. */
+        private static final int STATE_DONE = 2;
+
+        /** Write is cancelled before submission. */
+        private static final int STATE_CANCELLED = 3;
+
+        /** Write buffer is released. */
+        private static final int STATE_RECYCLED = 4;
+
+        /** State updater. */
+        private static final AtomicIntegerFieldUpdater<PendingWrite> STATE_UPD =
+            AtomicIntegerFieldUpdater.newUpdater(PendingWrite.class, "state");
+
+        /** File I/O. */
+        final IoUringFileIO io;
+
+        /** Batch. */
+        final IoUringWriteBatch batch;
+
+        /** Position in the file. */
+        final long pos;
+
+        /** Data to write. */
+        final ByteBuffer buf;
+
+        /** Length of the data. */
+        final int len;
+
+        /** State. */
+        private volatile int state;
+
+        /**
+         * @param io File I/O.
+         * @param batch Batch.
+         * @param pos Position in the file.
+         * @param buf Data to write.
+         */
+        PendingWrite(IoUringFileIO io, IoUringWriteBatch batch, long pos, ByteBuffer buf) {
+            this.io = io;
+            this.batch = batch;
+            this.pos = pos;
+            this.buf = buf;
+
+            len = buf.remaining();
+        }
+
+        /**
+         * @return {@code True} if the write should be submitted, {@code false} if it was cancelled.
+         */
+        boolean submit() {
+            return STATE_UPD.compareAndSet(this, STATE_QUEUED, STATE_SUBMITTED);
+        }
+
+        /**
+         * @return {@code True} if the write was submitted, but not yet completed.
+         */
+        boolean submitted() {
+            return state == STATE_SUBMITTED;
+        }
+
+        /**
+         * @return {@code True} if the write was cancelled before submission.
+         */
+        boolean cancel() {
+            return STATE_UPD.compareAndSet(this, STATE_QUEUED, STATE_CANCELLED);
+        }
+
+        /** Marks the write as completed. */
+        void complete() {
+            state = STATE_DONE;
+
+            io.pending.remove(pos, this);
+        }
+
+        /** Marks buffer of the write as released. */
+        void recycle() {
+            state = STATE_RECYCLED;
+        }
+
+        /** Waits for the write completion or cancellation. */
+        void await() {
+            while (state < STATE_DONE)
+                LockSupport.parkNanos(AWAIT_PARK_NS);
+        }
+
+        /**
+         * @param dest Destination buffer.
+         * @param destPos Position in the destination buffer.
+         * @param off Offset in the data of the write.
+         * @param len Length to copy.
+         * @return {@link #COPIED}, {@link #SKIPPED} or {@link #RECYCLED}.
+         */
+        int copyTo(ByteBuffer dest, int destPos, int off, int len) {
+            int s = state;
+
+            if (s == STATE_CANCELLED)
+                return SKIPPED;
+
+            if (s == STATE_RECYCLED)
+                return RECYCLED;
+
+            ByteBuffer src = buf.duplicate();
+
+            src.position(off).limit(off + len);
+
+            ByteBuffer dst = dest.duplicate();
+
+            dst.position(destPos);
+            dst.put(src);
+
+            // Buffer could be reused by the next write of the batch while copying.
+            return state == STATE_RECYCLED ? RECYCLED : COPIED;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.OpenOption;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Linux io_uring based file I/O factory.<br>
+ * Files are accessed with the I/O of the backup factory, but positional writes made by a thread between
+ * {@link #beginBatch()} and {@link #endBatch()} calls are deferred and submitted to the kernel in batches
+ * with a single system call per batch. This allows checkpoint threads to write many pages per submission.
+ * Deferred writes remain visible to reads of the same file from any thread.<br>
+ * If io_uring is not supported by the current operating system, file I/Os of the backup factory are used as is.<br>
+ * <b>Note: </b> Can be used for the page store and the WAL by
+ * {@link org.apache.ignite.configuration.DataStorageConfiguration#setFileIOFactory(FileIOFactory)}.
+ */
+public class IoUringFileIOFactory implements BatchingFileIOFactory {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Default maximum number of writes per submission. */
+    public static final int DFLT_BATCH_SIZE = 256;
+
+    /** Batch of deferred writes of the current thread. */
+    private static final ThreadLocal<IoUringWriteBatch> batch = new ThreadLocal<>();
+
+    /** Backup factory. */
+    private final FileIOFactory backupFactory;
+
+    /** Maximum number of writes per submission. */
+    private final int batchSize;
+
+    /**
+     * Creates factory with the {@link RandomAccessFileIOFactory} as the backup one.
+     */
+    public IoUringFileIOFactory() {
+        this(new RandomAccessFileIOFactory(), DFLT_BATCH_SIZE);
+    }
+
+    /**
+     * @param backupFactory Factory of the file I/Os used for reads and non-batched writes.
+     * @param batchSize Maximum number of writes per submission.
+     */
+    public IoUringFileIOFactory(FileIOFactory backupFactory, int batchSize) {
+        assert batchSize > 0 : batchSize;
+
+        this.backupFactory = backupFactory;
+        this.batchSize = batchSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public FileIO create(File file, OpenOption... modes) throws IOException {
+        FileIO io = backupFactory.create(file, modes);
+
+        if (!isIoUringAvailable())
+            return io;
+
+        try {
+            return new IoUringFileIO(io, file, modes);
+        }
+        catch (IOException e) {
+            io.close();
+
+            throw e;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void beginBatch() {
+        if (!isIoUringAvailable())
+            return;
+
+        IoUringWriteBatch b = batch.get();
+
+        if (b == null) {
+            try {
+                b = new IoUringWriteBatch(new IoUring(batchSize));
+            }
+            catch (IOException ignored) {
+                // Writes are not batched if the ring can't be created, for example, due to the resources limit.
+                return;
+            }
+
+            batch.set(b);
+        }
+
+        b.onBegin();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void endBatch() throws IOException {
+        IoUringWriteBatch b = batch.get();
+
+        if (b == null || !b.onEnd())
+            return;
+
+        batch.remove();
+
+        b.close();
+    }
+
+    /**
+     * @return {@code True} if io_uring is supported by the current operating system.
+     */
+    public static boolean isIoUringAvailable() {
+        return AvailabilityHolder.AVAILABLE;
+    }
+
+    /**
+     * @return Batch of deferred writes of the current thread or {@code null} if writes are not batched.
+     */
+    @Nullable static IoUringWriteBatch currentBatch() {
+        return batch.get();
+    }
+
+    /** Lazily checks io_uring support. */
+    private static class AvailabilityHolder {
+        /** io_uring is supported by the current operating system. */
+        private static final boolean AVAILABLE = IoUring.isAvailable();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+/**
+ * Batch of deferred writes of a single thread. Data of the writes is copied to the buffers of the batch, which
+ * are submitted to the io_uring instance when the batch is full or ended.
+ */
+class IoUringWriteBatch {
+    /** io_uring instance. */
+    private final IoUring ring;
+
+    /** Writes queued, but not yet submitted. */
+    private final List<IoUringFileIO.PendingWrite> queued;
+
+    /** Write buffers, one per submission queue entry. */
+    private final ByteBuffer[] bufs;
+
+    /** Last writes which used the buffers. */
+    private final IoUringFileIO.PendingWrite[] lastWrites;
+
+    /** Results of the submitted writes. */
+    private final int[] results;
+
+    /** Number of nested batches. */
+    private int depth;
+
+    /**
+     * @param ring io_uring instance.
+     */
+    IoUringWriteBatch(IoUring ring) {
+        this.ring = ring;
+
+        int cap = ring.capacity();
+
+        queued = new ArrayList<>(cap);
+        bufs = new ByteBuffer[cap];
+        lastWrites = new IoUringFileIO.PendingWrite[cap];
+        results = new int[cap];
+    }
+
+    /** Starts nested batch. */
+    void onBegin() {
+        depth++;
+    }
+
+    /**
+     * @return {@code True} if the outermost batch is ended.
+     */
+    boolean onEnd() {
+        return --depth == 0;
+    }
+
+    /**
+     * Defers the write.
+     *
+     * @param io File I/O.
+     * @param srcBuf Data to write.
+     * @param pos Position in the file.
+     * @return Number of bytes written.
+     * @throws IOException If failed to submit previously queued writes.
+     */
+    int write(IoUringFileIO io, ByteBuffer srcBuf, long pos) throws IOException {
+        int len = srcBuf.remaining();
+
+        if (len == 0)
+            return 0;
+
+        // Writes of the same region within a single submission may be reordered by the kernel.
+        io.awaitPending(pos, len, true);
+
+        if (queued.size() == ring.capacity())
+            flush();
+
+        int slot = queued.size();
+
+        if (lastWrites[slot] != null)
+            lastWrites[slot].recycle();
+
+        ByteBuffer buf = bufs[slot];
+
+        // Buffers are not freed explicitly, since reads of other threads may still copy data from them.
+        if (buf == null || buf.capacity() < len)
+            bufs[slot] = buf = ByteBuffer.allocateDirect(len);
+
+        buf.clear();
+        buf.put(srcBuf);
+        buf.flip();
+
+        IoUringFileIO.PendingWrite w = new IoUringFileIO.PendingWrite(io, this, pos, buf);
+
+        while (!io.addPending(w))
+            io.awaitPending(pos, len, true);
+
+        lastWrites[slot] = w;
+        queued.add(w);
+
+        return len;
+    }
+
+    /**
+     * Submits queued writes and waits for their completion.
+     *
+     * @throws IOException If failed.
+     */
+    void flush() throws IOException {
+        if (queued.isEmpty())
+            return;
+
+        for (int i = 0; i < queued.size(); i++) {
+            IoUringFileIO.PendingWrite w = queued.get(i);
+
+            if (w.submit())
+                ring.queueWrite(w.io.fd(), GridUnsafe.bufferAddress(w.buf), w.len, w.pos, i);
+        }
+
+        IOException err = null;
+
+        try {
+            ring.submitAndWait((idx, res) -> results[(int)idx] = res);
+        }
+        catch (IOException e) {
+            err = e;
+        }
+
+        for (int i = 0; i < queued.size(); i++) {
+            IoUringFileIO.PendingWrite w = queued.get(i);
+
+            if (!w.submitted())
+                continue;
+
+            if (err == null) {
+                try {
+                    w.io.onWritten(w, results[i]);
+                }
+                catch (IOException e) {
+                    err = e;
+                }
+            }
+
+            w.complete();
+        }
+
+        queued.clear();
+
+        if (err != null)
+            throw err;
+    }
+
+    /**
+     * Submits queued writes and releases resources of the batch.
+     *
+     * @throws IOException If failed.
+     */
+    void close() throws IOException {
+        try {
+            flush();
+        }
+        finally {
+            for (IoUringFileIO.PendingWrite w : lastWrites) {
+                if (w != null)
+                    w.recycle();
+            }
+
+            ring.close();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks io_uring based file I/O.
+ */
+public class IoUringFileIOTest extends GridCommonAbstractTest {
+    /** Page size. */
+    private static final int PAGE_SIZE = 4096;
+
+    /** Number of pages. */
+    private static final int PAGES = 600;
+
+    /** Test file. */
+    private File file;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setFileIOFactory(new IoUringFileIOFactory(new RandomAccessFileIOFactory(), 16))
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)
+                    .setMaxSize(100L * 1024 * 1024)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        assumeTrue("io_uring is not supported", IoUringFileIOFactory.isIoUringAvailable());
+
+        cleanPersistenceDir();
+
+        file = File.createTempFile("io-uring", ".bin");
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        if (file != null)
+            file.delete();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that batched writes are visible to reads before and after the end of the batch.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBatchedWrites() throws Exception {
+        IoUringFileIOFactory factory = new IoUringFileIOFactory(new RandomAccessFileIOFactory(), 16);
+
+        try (FileIO io = factory.create(file, CREATE, READ, WRITE)) {
+            assertTrue(io instanceof IoUringFileIO);
+
+            factory.beginBatch();
+
+            try {
+                for (int i = 0; i < PAGES; i++)
+                    assertEquals(PAGE_SIZE, io.writeFully(page(i), (long)i * PAGE_SIZE));
+
+                assertNotNull(IoUringFileIOFactory.currentBatch());
+
+                // Some of the writes are still queued.
+                assertEquals((long)PAGES * PAGE_SIZE, io.size());
+
+                checkPages(io);
+
+                // Reads of other threads see the queued writes.
+                GridTestUtils.runAsync(() -> checkPages(io)).get(getTestTimeout());
+            }
+            finally {
+                factory.endBatch();
+            }
+
+            assertNull(IoUringFileIOFactory.currentBatch());
+
+            checkPages(io);
+        }
+
+        try (FileIO io = new RandomAccessFileIOFactory().create(file, READ)) {
+            checkPages(io);
+        }
+    }
+
+    /**
+     * Checks that truncation waits for the queued writes, so they don't extend the file after it.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTruncateAfterQueuedWrites() throws Exception {
+        IoUringFileIOFactory factory = new IoUringFileIOFactory(new RandomAccessFileIOFactory(), 16);
+
+        try (FileIO io = factory.create(file, CREATE, READ, WRITE)) {
+            factory.beginBatch();
+
+            try {
+                for (int i = 0; i < PAGES; i++)
+                    io.writeFully(page(i), (long)i * PAGE_SIZE);
+
+                io.truncate((long)PAGES / 2 * PAGE_SIZE);
+
+                assertEquals((long)PAGES / 2 * PAGE_SIZE, io.size());
+            }
+            finally {
+                factory.endBatch();
+            }
+
+            assertEquals((long)PAGES / 2 * PAGE_SIZE, io.size());
+        }
+    }
+
+    /**
+     * Checks that a write of another thread supersedes the queued write of the same region.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testWriteOfOtherThreadSupersedesQueuedWrite() throws Exception {
+        IoUringFileIOFactory factory = new IoUringFileIOFactory(new RandomAccessFileIOFactory(), 16);
+
+        try (FileIO io = factory.create(file, CREATE, READ, WRITE)) {
+            factory.beginBatch();
+
+            try {
+                io.writeFully(page(0), 0);
+
+                GridTestUtils.runAsync(() -> io.writeFully(page(1), 0)).get(getTestTimeout());
+
+                checkPage(io, 0, 1);
+            }
+            finally {
+                factory.endBatch();
+            }
+
+            checkPage(io, 0, 1);
+        }
+    }
+
+    /**
+     * Checks that data written by checkpoints with batched writes survives the restart of the node.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRestartAfterCheckpoint() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ignite.getOrCreateCache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < 5_000; i++)
+            cache.put(i, value(i));
+
+        forceCheckpoint();
+
+        stopAllGrids();
+
+        ignite = startGrid(0);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < 5_000; i++)
+            assertTrue(Arrays.equals(value(i), cache.get(i)));
+    }
+
+    /**
+     * @param io File I/O.
+     */
+    private void checkPages(FileIO io) throws Exception {
+        for (int i = 0; i < PAGES; i++)
+            checkPage(io, i, i);
+    }
+
+    /**
+     * @param io File I/O.
+     * @param idx Page index.
+     * @param expIdx Index of the expected page content.
+     */
+    private void checkPage(FileIO io, int idx, int expIdx) throws Exception {
+        ByteBuffer buf = ByteBuffer.allocate(PAGE_SIZE);
+
+        io.readFully(buf, (long)idx * PAGE_SIZE);
+
+        buf.flip();
+
+        assertEquals("Unexpected page " + idx, page(expIdx), buf);
+    }
+
+    /**
+     * @param idx Page index.
+     * @return Page content.
+     */
+    private static ByteBuffer page(int idx) {
+        ByteBuffer buf = ByteBuffer.allocate(PAGE_SIZE);
+
+        while (buf.hasRemaining())
+            buf.putInt(idx);
+
+        buf.flip();
+
+        return buf;
+    }
+
+    /**
+     * @param key Key.
+     * @return Value.
+     */
+    private static byte[] value(int key) {
+        byte[] val = new byte[128 + key % 512];
+
+        Arrays.fill(val, (byte)key);
+
+        return val;
+    }
+}
@@ -28,9 +28,27 @@ public class IndexingQueryEngineConfiguration implements QueryEngineConfiguratio
     /** Query engine name. */
     public static final String ENGINE_NAME = "h2";
 
+    /** */
+    private static final long DFLT_GLOBAL_MEMORY_QUOTA = 0L;
+
+    /** */
+    private static final long DFLT_QUERY_MEMORY_QUOTA = 0L;
+
+    /** */
+    private static final boolean DFLT_OFFLOADING_ENABLED = false;
+
     /** */
     private boolean isDflt;
 
+    /** */
+    private long globalMemoryQuota = DFLT_GLOBAL_MEMORY_QUOTA;
+
+    /** */
+    private long qryMemoryQuota = DFLT_QUERY_MEMORY_QUOTA;
+
+    /** */
+    private boolean offloadingEnabled = DFLT_OFFLOADING_ENABLED;
+
     /** {@inheritDoc} */
     @Override public String engineName() {
         return ENGINE_NAME;
@@ -52,4 +70,73 @@ public class IndexingQueryEngineConfiguration implements QueryEngineConfiguratio
 
         return this;
     }
+
+    /**
+     * Gets global heap memory quota for rows buffered by reducers and results of the reduce queries.
+     *
+     * @return Global heap memory quota.
+     */
+    public long getGlobalMemoryQuota() {
+        return globalMemoryQuota;
+    }
+
+    /**
+     * Sets global heap memory quota for rows buffered by reducers and results of the reduce queries. {@code 0} means
+     * there is no quota (this is a default value). Query fails if its reduce result doesn't fit the quota.
+     *
+     * @param globalMemoryQuota Global heap memory quota.
+     * @return {@code this} for chaining.
+     */
+    public IndexingQueryEngineConfiguration setGlobalMemoryQuota(long globalMemoryQuota) {
+        this.globalMemoryQuota = globalMemoryQuota;
+
+        return this;
+    }
+
+    /**
+     * Gets per-query heap memory quota for rows buffered by the reducer and the result of the reduce query.
+     *
+     * @return Per-query heap memory quota.
+     */
+    public long getQueryMemoryQuota() {
+        return qryMemoryQuota;
+    }
+
+    /**
+     * Sets per-query heap memory quota for rows buffered by the reducer and the result of the reduce query. {@code 0}
+     * means there is no quota (this is a default value). Query fails if its reduce result doesn't fit the quota.
+     *
+     * @param qryMemoryQuota Per-query heap memory quota.
+     * @return {@code this} for chaining.
+     */
+    public IndexingQueryEngineConfiguration setQueryMemoryQuota(long qryMemoryQuota) {
+        this.qryMemoryQuota = qryMemoryQuota;
+
+        return this;
+    }
+
+    /**
+     * Gets flag indicating whether reducers are allowed to offload fetched rows to disk.
+     *
+     * @return {@code True} if offloading to disk is enabled.
+     */
+    public boolean isOffloadingEnabled() {
+        return offloadingEnabled;
+    }
+
+    /**
+     * Sets flag indicating whether reducers are allowed to offload fetched rows to disk when the memory quota
+     * (global or per-query) is exceeded or there are more than
+     * {@link org.apache.ignite.IgniteSystemProperties#IGNITE_SQL_MERGE_TABLE_MAX_SIZE} rows in memory. If disabled,
+     * the oldest fetched rows are evicted, and the query fails if it needs to scan them again. Offloaded rows are
+     * stored to temporary files under the node work directory.
+     *
+     * @param offloadingEnabled {@code True} to enable offloading to disk.
+     * @return {@code this} for chaining.
+     */
+    public IndexingQueryEngineConfiguration setOffloadingEnabled(boolean offloadingEnabled) {
+        this.offloadingEnabled = offloadingEnabled;
+
+        return this;
+    }
 }
@@ -18,8 +18,12 @@
 package org.apache.ignite.internal.processors.query.h2.opt;
 
 import java.util.HashSet;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageReplacementPolicy;
 import org.apache.ignite.internal.processors.cache.tree.CacheDataTree;
 import org.h2.engine.Session;
+import org.h2.index.Cursor;
+import org.h2.result.Row;
+import org.h2.result.SearchRow;
 import org.h2.result.SortOrder;
 import org.h2.table.Column;
 import org.h2.table.TableFilter;
@@ -68,6 +72,19 @@ public class H2TableScanIndex extends H2ScanIndex<GridH2IndexBase> {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public Cursor find(Session ses, SearchRow first, SearchRow last) {
+        // Cursor creation may already load the first pages of the scan.
+        boolean prevLowPriority = PageReplacementPolicy.lowPriorityAccess(true);
+
+        try {
+            return new LowPriorityCursor(super.find(ses, first, last));
+        }
+        finally {
+            PageReplacementPolicy.lowPriorityAccess(prevLowPriority);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public double getCost(Session ses, int[] masks, TableFilter[] filters, int filter,
         SortOrder sortOrder, HashSet<Column> allColumnsSet) {
@@ -87,4 +104,47 @@ public class H2TableScanIndex extends H2ScanIndex<GridH2IndexBase> {
     @Override public String getName() {
         return delegate().getName() + SCAN_INDEX_NAME_SUFFIX;
     }
+
+    /**
+     * Cursor which accesses pages with low priority, so the full table scan doesn't flush frequently used pages
+     * from the page memory.
+     */
+    private static class LowPriorityCursor implements Cursor {
+        /** */
+        private final Cursor delegate;
+
+        /**
+         * @param delegate Delegate.
+         */
+        LowPriorityCursor(Cursor delegate) {
+            this.delegate = delegate;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Row get() {
+            return delegate.get();
+        }
+
+        /** {@inheritDoc} */
+        @Override public SearchRow getSearchRow() {
+            return delegate.getSearchRow();
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean next() {
+            boolean prevLowPriority = PageReplacementPolicy.lowPriorityAccess(true);
+
+            try {
+                return delegate.next();
+            }
+            finally {
+                PageReplacementPolicy.lowPriorityAccess(prevLowPriority);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean previous() {
+            return delegate.previous();
+        }
+    }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.ignite.internal.processors.query.h2.twostep;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -29,6 +31,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import javax.cache.CacheException;
+import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.internal.GridKernalContext;
@@ -100,6 +103,24 @@ public abstract class AbstractReducer implements Reducer {
     /** */
     private Row lastEvictedRow;
 
+    /** Whether fetched rows were evicted due to the exceeded memory quota. */
+    private boolean quotaEvicted;
+
+    /** Memory tracker of the query, {@code null} if memory is not tracked. */
+    private ReduceMemoryTracker memTracker;
+
+    /** Directory to offload fetched rows to, {@code null} if offloading is disabled. */
+    private File offloadDir;
+
+    /** File with offloaded fetched rows. */
+    private ReduceOffloadFile offloadFile;
+
+    /** Index of the first block of fetched rows kept in memory. */
+    private int firstInMemBlock;
+
+    /** Number of offloaded fetched rows. */
+    private int offloadedRows;
+
     /**
      * Constructor.
      *
@@ -138,6 +159,16 @@ public abstract class AbstractReducer implements Reducer {
         this.pageSize = pageSize;
     }
 
+    /** {@inheritDoc} */
+    @Override public void setMemoryTracker(@Nullable ReduceMemoryTracker memTracker) {
+        this.memTracker = memTracker;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void setOffloadDirectory(@Nullable File offloadDir) {
+        this.offloadDir = offloadDir;
+    }
+
     /** {@inheritDoc} */
     @Override public void onFailure(UUID nodeId, final CacheException e) {
         if (nodeId == null)
@@ -188,9 +219,92 @@ public abstract class AbstractReducer implements Reducer {
      * @param last Upper bound.
      */
     protected void checkBounds(Row lastEvictedRow, SearchRow first, SearchRow last) {
-        if (lastEvictedRow != null)
+        if (lastEvictedRow != null) {
+            if (quotaEvicted) {
+                throw new IgniteException("Fetched result set exceeds the memory quota. Memory quota should be " +
+                    "increased or offloading to disk should be enabled.");
+            }
+
             throw new IgniteException("Fetched result set was too large. " +
                     IGNITE_SQL_MERGE_TABLE_MAX_SIZE + "(" + MAX_FETCH_SIZE + ") should be increased.");
+        }
+    }
+
+    /**
+     * Adds the row to the fetched rows. Full blocks of the fetched rows are offloaded to disk or evicted if there
+     * are too many rows in memory or the memory quota is exceeded.
+     *
+     * @param row Row.
+     */
+    protected final void addFetched(Row row) {
+        fetched.add(row);
+
+        if (memTracker != null)
+            memTracker.reserve(ReduceMemoryTracker.rowSize(row));
+
+        for (;;) {
+            boolean quotaExceeded = memTracker != null && memTracker.quotaExceeded();
+
+            if (!quotaExceeded && fetched.size() - offloadedRows < MAX_FETCH_SIZE)
+                break;
+
+            // The last block is being filled, it can't be released yet.
+            if (firstInMemBlock == fetched.blocksCount() - 1)
+                break;
+
+            List<Row> block;
+
+            if (offloadDir != null) {
+                block = fetched.block(firstInMemBlock);
+
+                fetched.replaceBlock(firstInMemBlock++, offload(block));
+
+                offloadedRows += block.size();
+            }
+            else {
+                block = fetched.evictFirstBlock();
+
+                onBlockEvict(block);
+
+                quotaEvicted |= quotaExceeded;
+            }
+
+            if (memTracker != null) {
+                long size = 0;
+
+                for (Row r : block)
+                    size += ReduceMemoryTracker.rowSize(r);
+
+                memTracker.release(size);
+            }
+        }
+
+        assert fetched.size() - offloadedRows < MAX_FETCH_SIZE;
+    }
+
+    /**
+     * @param block Block of fetched rows.
+     * @return Offloaded block.
+     */
+    private List<Row> offload(List<Row> block) {
+        try {
+            if (offloadFile == null)
+                offloadFile = new ReduceOffloadFile(ctx, offloadDir);
+
+            return offloadFile.write(block);
+        }
+        catch (IOException | IgniteCheckedException e) {
+            throw new IgniteException("Failed to offload fetched rows to disk [dir=" + offloadDir + ']', e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        if (offloadFile != null) {
+            offloadFile.close();
+
+            offloadFile = null;
+        }
     }
 
     /**
@@ -17,10 +17,12 @@
 
 package org.apache.ignite.internal.processors.query.h2.twostep;
 
+import java.io.File;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
@@ -46,7 +48,9 @@ import org.apache.ignite.cache.query.Query;
 import org.apache.ignite.cache.query.QueryCancelledException;
 import org.apache.ignite.cache.query.QueryRetryException;
 import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.configuration.QueryEngineConfiguration;
 import org.apache.ignite.events.DiscoveryEvent;
+import org.apache.ignite.indexing.IndexingQueryEngineConfiguration;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.GridTopic;
 import org.apache.ignite.internal.IgniteInterruptedCheckedException;
@@ -58,6 +62,7 @@ import org.apache.ignite.internal.processors.cache.mvcc.MvccQueryTracker;
 import org.apache.ignite.internal.processors.cache.query.GridCacheSqlQuery;
 import org.apache.ignite.internal.processors.query.GridQueryCacheObjectsIterator;
 import org.apache.ignite.internal.processors.query.GridQueryCancel;
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
 import org.apache.ignite.internal.processors.query.QueryUtils;
 import org.apache.ignite.internal.processors.query.h2.GridCacheTwoStepQuery;
 import org.apache.ignite.internal.processors.query.h2.H2FieldsIterator;
@@ -118,6 +123,9 @@ public class GridReduceQueryExecutor {
     /** Default retry timeout. */
     public static final long DFLT_RETRY_TIMEOUT = 30_000L;
 
+    /** Name of the work directory subfolder for offloaded rows. */
+    public static final String OFFLOAD_DIR = "h2_offload";
+
     /** */
     private static final String MERGE_INDEX_UNSORTED = "merge_scan";
 
@@ -167,6 +175,15 @@ public class GridReduceQueryExecutor {
     /** Exactly one segment for limited scope of queries. */
     private static final BitSet ONE_SEG = BitSet.valueOf(new byte[]{1});
 
+    /** Query engine configuration. */
+    private IndexingQueryEngineConfiguration cfg;
+
+    /** Global memory tracker, {@code null} if there is no global memory quota. */
+    private ReduceMemoryTracker memTracker;
+
+    /** Directory to offload fetched rows to, {@code null} if offloading is disabled. */
+    private File offloadDir;
+
     /**
      * @param ctx Context.
      * @param h2 H2 Indexing.
@@ -179,6 +196,24 @@ public class GridReduceQueryExecutor {
         log = ctx.log(GridReduceQueryExecutor.class);
 
         mapper = new ReducePartitionMapper(ctx, log);
+
+        QueryEngineConfiguration[] qryEnginesCfg = ctx.config().getSqlConfiguration().getQueryEnginesConfiguration();
+
+        if (F.isEmpty(qryEnginesCfg))
+            cfg = new IndexingQueryEngineConfiguration();
+        else {
+            cfg = (IndexingQueryEngineConfiguration)Arrays.stream(qryEnginesCfg)
+                .filter(c -> c instanceof IndexingQueryEngineConfiguration)
+                .findAny()
+                .orElse(new IndexingQueryEngineConfiguration());
+        }
+
+        memTracker = cfg.getGlobalMemoryQuota() > 0 ? new ReduceMemoryTracker(null, cfg.getGlobalMemoryQuota()) : null;
+
+        if (cfg.isOffloadingEnabled()) {
+            offloadDir = U.resolveWorkDirectory(ctx.config().getWorkDirectory(),
+                OFFLOAD_DIR + File.separator + ctx.pdsFolderResolver().resolveFolders().folderName(), true);
+        }
     }
 
     /**
@@ -542,16 +577,36 @@ public class GridReduceQueryExecutor {
                             qryInfo
                         );
 
-                        resIter = new H2FieldsIterator(
-                            res,
-                            mvccTracker,
-                            conn,
-                            r.pageSize(),
-                            log,
-                            h2,
-                            qryInfo,
-                            ctx.tracing()
-                        );
+                        ReduceMemoryTracker resMemTracker = reserveResultMemory(r, res);
+
+                        try {
+                            resIter = new H2FieldsIterator(
+                                res,
+                                mvccTracker,
+                                conn,
+                                r.pageSize(),
+                                log,
+                                h2,
+                                qryInfo,
+                                ctx.tracing()
+                            ) {
+                                @Override public void onClose() throws IgniteCheckedException {
+                                    try {
+                                        super.onClose();
+                                    }
+                                    finally {
+                                        if (resMemTracker != null)
+                                            resMemTracker.close();
+                                    }
+                                }
+                            };
+                        }
+                        catch (IgniteCheckedException | RuntimeException e) {
+                            if (resMemTracker != null)
+                                resMemTracker.close();
+
+                            throw e;
+                        }
 
                         conn = null;
 
@@ -767,7 +822,8 @@ public class GridReduceQueryExecutor {
         final ReduceQueryRun r = new ReduceQueryRun(
             mapQueries.size(),
             pageSize,
-            dataPageScanEnabled
+            dataPageScanEnabled,
+            createMemoryTracker()
         );
 
         int tblIdx = 0;
@@ -806,6 +862,8 @@ public class GridReduceQueryExecutor {
                 reducer.setSources(nodeToSegmentsCnt);
 
             reducer.setPageSize(r.pageSize());
+            reducer.setMemoryTracker(r.memoryTracker());
+            reducer.setOffloadDirectory(offloadDir);
 
             r.reducers().add(reducer);
         }
@@ -1050,6 +1108,8 @@ public class GridReduceQueryExecutor {
             }
         }
         finally {
+            r.close();
+
             if (!runs.remove(qryReqId, r))
                 U.warn(log, "Query run was already removed: " + qryReqId);
             else if (mvccTracker != null)
@@ -1057,6 +1117,56 @@ public class GridReduceQueryExecutor {
         }
     }
 
+    /**
+     * @return Memory tracker of the query, {@code null} if there are no memory quotas.
+     */
+    @Nullable private ReduceMemoryTracker createMemoryTracker() {
+        if (memTracker == null && cfg.getQueryMemoryQuota() <= 0)
+            return null;
+
+        return new ReduceMemoryTracker(memTracker, Math.max(cfg.getQueryMemoryQuota(), 0));
+    }
+
+    /**
+     * Reserves memory for the materialized result of the reduce query. The reservation is held until the query
+     * cursor is closed.
+     *
+     * @param r Query run.
+     * @param res Result set of the reduce query.
+     * @return Memory tracker of the result, {@code null} if memory is not tracked.
+     */
+    @Nullable private ReduceMemoryTracker reserveResultMemory(ReduceQueryRun r, ResultSet res) {
+        ReduceMemoryTracker qryMemTracker = r.memoryTracker();
+
+        if (qryMemTracker == null)
+            return null;
+
+        // Reduce query is executed eagerly, so the rows fetched by reducers are not needed anymore.
+        qryMemTracker.close();
+
+        ReduceMemoryTracker resMemTracker = new ReduceMemoryTracker(memTracker, Math.max(cfg.getQueryMemoryQuota(), 0));
+
+        resMemTracker.reserve(ReduceMemoryTracker.resultSize(res));
+
+        if (resMemTracker.quotaExceeded()) {
+            long size = resMemTracker.reserved();
+
+            resMemTracker.close();
+
+            throw new IgniteSQLException("Reduce query result exceeds the memory quota [size=" + size +
+                ", qryQuota=" + cfg.getQueryMemoryQuota() + ", globalQuota=" + cfg.getGlobalMemoryQuota() + ']');
+        }
+
+        return resMemTracker;
+    }
+
+    /**
+     * @return Global memory tracker, {@code null} if there is no global memory quota.
+     */
+    @Nullable public ReduceMemoryTracker memoryTracker() {
+        return memTracker;
+    }
+
     /**
      * @param r Query run.
      * @param nodes Nodes to check periodically if they alive.
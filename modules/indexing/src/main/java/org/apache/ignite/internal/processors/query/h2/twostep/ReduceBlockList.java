@@ -88,6 +88,34 @@ public class ReduceBlockList<Z> extends AbstractList<Z> implements RandomAccess
         return blocks.get(blocks.size() - 1);
     }
 
+    /**
+     * @return Number of blocks.
+     */
+    public int blocksCount() {
+        return blocks.size();
+    }
+
+    /**
+     * @param idx Block index.
+     * @return Block.
+     */
+    public List<Z> block(int idx) {
+        return blocks.get(idx);
+    }
+
+    /**
+     * Replaces the full block with the block of the same rows, for example, offloaded to disk.
+     *
+     * @param idx Block index.
+     * @param block New block.
+     */
+    public void replaceBlock(int idx, List<Z> block) {
+        assert idx < blocks.size() - 1 : "The last block can't be replaced.";
+        assert block.size() == maxBlockSize : block.size();
+
+        blocks.set(idx, block);
+    }
+
     /**
      * @return Evicted block.
      */
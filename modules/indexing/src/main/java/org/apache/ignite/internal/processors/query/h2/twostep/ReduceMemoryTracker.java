@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.twostep;
+
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2ValueCacheObject;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.h2.jdbc.JdbcResultSet;
+import org.h2.result.ResultInterface;
+import org.h2.result.Row;
+import org.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Tracks heap memory of the rows buffered by reducers and of the materialized results of reduce queries. Trackers of
+ * queries report to the global tracker of the node. Reservations never fail: reducer checks {@link #quotaExceeded()}
+ * and releases memory by offloading or evicting buffered rows, reduce query fails if its result exceeds the quota.
+ */
+public class ReduceMemoryTracker {
+    /** Estimated size of the row object without values. */
+    private static final int ROW_OVERHEAD = 40;
+
+    /** Estimated size of a cache object which size can't be calculated. */
+    private static final int DFLT_CACHE_OBJECT_SIZE = 64;
+
+    /** */
+    private static final Field RESULT_FIELD;
+
+    /*
+     * Initialize.
+     */
+    static {
+        try {
+            RESULT_FIELD = JdbcResultSet.class.getDeclaredField("result");
+
+            RESULT_FIELD.setAccessible(true);
+        }
+        catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Check H2 version in classpath.", e);
+        }
+    }
+
+    /** Parent (global) tracker. */
+    private final @Nullable ReduceMemoryTracker parent;
+
+    /** Memory quota, {@code 0} if there is no quota. */
+    private final long quota;
+
+    /** Currently reserved. */
+    private final AtomicLong reserved = new AtomicLong();
+
+    /**
+     * @param parent Parent (global) tracker.
+     * @param quota Memory quota, {@code 0} if there is no quota.
+     */
+    public ReduceMemoryTracker(@Nullable ReduceMemoryTracker parent, long quota) {
+        assert quota >= 0 : quota;
+
+        this.parent = parent;
+        this.quota = quota;
+    }
+
+    /**
+     * @param size Size in bytes.
+     */
+    public void reserve(long size) {
+        reserved.addAndGet(size);
+
+        if (parent != null)
+            parent.reserve(size);
+    }
+
+    /**
+     * @param size Size in bytes.
+     */
+    public void release(long size) {
+        long wasReserved;
+        long released;
+
+        // Release no more than currently reserved, since the tracker may be already closed.
+        do {
+            wasReserved = reserved.get();
+
+            released = Math.min(size, wasReserved);
+        }
+        while (!reserved.compareAndSet(wasReserved, wasReserved - released));
+
+        if (parent != null && released > 0)
+            parent.release(released);
+    }
+
+    /**
+     * @return {@code True} if the quota of this tracker or the parent one is exceeded.
+     */
+    public boolean quotaExceeded() {
+        return quota > 0 && reserved.get() > quota || parent != null && parent.quotaExceeded();
+    }
+
+    /**
+     * @return Currently reserved memory in bytes.
+     */
+    public long reserved() {
+        return reserved.get();
+    }
+
+    /**
+     * Releases all the memory reserved by this tracker.
+     */
+    public void close() {
+        long wasReserved = reserved.getAndSet(0);
+
+        if (parent != null && wasReserved > 0)
+            parent.release(wasReserved);
+    }
+
+    /**
+     * @param row Row.
+     * @return Estimated heap size of the row in bytes.
+     */
+    public static long rowSize(Row row) {
+        long size = ROW_OVERHEAD;
+
+        for (int i = 0; i < row.getColumnCount(); i++)
+            size += valueSize(row.getValue(i));
+
+        return size;
+    }
+
+    /**
+     * @param row Row values.
+     * @return Estimated heap size of the row in bytes.
+     */
+    public static long rowSize(Value[] row) {
+        long size = ROW_OVERHEAD;
+
+        for (Value v : row)
+            size += valueSize(v);
+
+        return size;
+    }
+
+    /**
+     * Estimates heap size of the materialized result of the reduce query. The result keeps all its rows until it is
+     * closed: one row per group for {@code GROUP BY} queries, all the sorted rows for {@code ORDER BY} queries.
+     *
+     * @param rs Result set of the reduce query.
+     * @return Estimated heap size of the result in bytes, {@code 0} if the result is lazy.
+     */
+    public static long resultSize(ResultSet rs) {
+        ResultInterface res;
+
+        try {
+            res = (ResultInterface)RESULT_FIELD.get(rs);
+        }
+        catch (IllegalAccessException e) {
+            throw new IllegalStateException(e); // Must not happen.
+        }
+
+        if (res == null || res.isLazy())
+            return 0;
+
+        long size = 0;
+
+        while (res.next())
+            size += rowSize(res.currentRow());
+
+        res.reset();
+
+        return size;
+    }
+
+    /**
+     * @param v Value.
+     * @return Estimated heap size of the value in bytes.
+     */
+    private static long valueSize(@Nullable Value v) {
+        if (v instanceof GridH2ValueCacheObject) {
+            try {
+                return ((GridH2ValueCacheObject)v).getCacheObject().valueBytesLength(null);
+            }
+            catch (IgniteCheckedException ignored) {
+                return DFLT_CACHE_OBJECT_SIZE;
+            }
+        }
+
+        return v != null ? v.getMemory() : 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ReduceMemoryTracker.class, this);
+    }
+}
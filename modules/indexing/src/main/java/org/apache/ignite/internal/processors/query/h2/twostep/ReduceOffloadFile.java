@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.twostep;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.direct.DirectMessageReader;
+import org.apache.ignite.internal.direct.DirectMessageWriter;
+import org.apache.ignite.internal.processors.query.h2.opt.H2PlainRowFactory;
+import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2RowMessage;
+import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2ValueMessage;
+import org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2ValueMessageFactory;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.plugin.extensions.communication.MessageFactory;
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+import org.h2.result.Row;
+import org.h2.value.Value;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.ignite.internal.managers.communication.GridIoManager.DIRECT_PROTO_VER;
+import static org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi.makeMessageType;
+
+/**
+ * Temporary file to store blocks of fetched rows offloaded from the reducer heap. Rows are stored in the same format
+ * they are transferred between nodes with. Offloaded blocks are read back on demand, the last read block is cached.
+ * File is deleted on close.
+ */
+class ReduceOffloadFile implements AutoCloseable {
+    /** Temporary file name prefix. */
+    private static final String FILE_PREFIX = "reduce-";
+
+    /** Size of IO buffer. */
+    private static final int BUF_SIZE = 64 * 1024;
+
+    /** Kernal context. */
+    private final GridKernalContext ctx;
+
+    /** */
+    private final File file;
+
+    /** */
+    private final FileChannel ch;
+
+    /** Write buffer. */
+    private final ByteBuffer buf = ByteBuffer.allocate(BUF_SIZE);
+
+    /** */
+    private final MessageWriter writer = new DirectMessageWriter(DIRECT_PROTO_VER);
+
+    /** Size of the file. */
+    private long size;
+
+    /** Last read block. */
+    private Block lastBlock;
+
+    /** Rows of the last read block. */
+    private List<Row> lastRows;
+
+    /**
+     * @param ctx Kernal context.
+     * @param dir Directory to create file in.
+     * @throws IOException If failed.
+     */
+    ReduceOffloadFile(GridKernalContext ctx, File dir) throws IOException {
+        this.ctx = ctx;
+
+        file = File.createTempFile(FILE_PREFIX, null, dir);
+
+        try {
+            ch = FileChannel.open(file.toPath(), READ, WRITE);
+        }
+        catch (IOException e) {
+            U.delete(file);
+
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the block of rows to the file.
+     *
+     * @param rows Rows.
+     * @return List of the offloaded rows, which reads them from the file on demand.
+     * @throws IOException If failed.
+     * @throws IgniteCheckedException If failed to convert a value.
+     */
+    List<Row> write(List<Row> rows) throws IOException, IgniteCheckedException {
+        long pos = size;
+
+        for (Row row : rows) {
+            List<GridH2ValueMessage> vals = new ArrayList<>(row.getColumnCount());
+
+            for (int i = 0; i < row.getColumnCount(); i++)
+                vals.add(GridH2ValueMessageFactory.toMessage(row.getValue(i)));
+
+            GridH2RowMessage msg = new GridH2RowMessage();
+
+            msg.values(vals);
+
+            while (!msg.writeTo(buf, writer))
+                flush();
+
+            writer.reset();
+        }
+
+        flush();
+
+        return new Block(pos, (int)(size - pos), rows.size());
+    }
+
+    /**
+     * Writes content of the buffer to the file.
+     *
+     * @throws IOException If failed.
+     */
+    private void flush() throws IOException {
+        buf.flip();
+
+        while (buf.hasRemaining())
+            size += ch.write(buf, size);
+
+        buf.clear();
+    }
+
+    /**
+     * @param block Block.
+     * @return Rows of the block.
+     */
+    private List<Row> rows(Block block) {
+        if (lastBlock == block)
+            return lastRows;
+
+        try {
+            ByteBuffer data = ByteBuffer.allocate(block.len);
+
+            while (data.hasRemaining()) {
+                if (ch.read(data, block.pos + data.position()) < 0)
+                    throw new EOFException();
+            }
+
+            data.flip();
+
+            MessageFactory factory = ctx.io().messageFactory();
+            MessageReader reader = new DirectMessageReader(factory, DIRECT_PROTO_VER);
+
+            List<Row> rows = new ArrayList<>(block.cnt);
+
+            for (int i = 0; i < block.cnt; i++) {
+                Message msg = factory.create(makeMessageType(data.get(), data.get()));
+
+                reader.setCurrentReadClass(msg.getClass());
+
+                boolean finished = msg.readFrom(data, reader);
+
+                assert finished;
+
+                reader.reset();
+
+                List<GridH2ValueMessage> vals = ((GridH2RowMessage)msg).values();
+
+                rows.add(H2PlainRowFactory.create(
+                    GridH2ValueMessageFactory.fillArray(vals.iterator(), new Value[vals.size()], ctx)));
+            }
+
+            lastBlock = block;
+            lastRows = rows;
+
+            return rows;
+        }
+        catch (IOException | IgniteCheckedException e) {
+            throw new IgniteException("Failed to read offloaded rows [file=" + file + ']', e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        lastBlock = null;
+        lastRows = null;
+
+        U.closeQuiet(ch);
+
+        U.delete(file);
+    }
+
+    /**
+     * Block of rows offloaded to the file.
+     */
+    private class Block extends AbstractList<Row> implements RandomAccess {
+        /** Position in the file. */
+        private final long pos;
+
+        /** Length in bytes. */
+        private final int len;
+
+        /** Number of rows. */
+        private final int cnt;
+
+        /**
+         * @param pos Position in the file.
+         * @param len Length in bytes.
+         * @param cnt Number of rows.
+         */
+        Block(long pos, int len, int cnt) {
+            this.pos = pos;
+            this.len = len;
+            this.cnt = cnt;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Row get(int idx) {
+            return rows(this).get(idx);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int size() {
+            return cnt;
+        }
+    }
+}
@@ -46,6 +46,9 @@ public class ReduceQueryRun {
     /** */
     private final Boolean dataPageScanEnabled;
 
+    /** Memory tracker, {@code null} if memory is not tracked. */
+    private final ReduceMemoryTracker memTracker;
+
     /** */
     private final AtomicReference<State> state = new AtomicReference<>();
 
@@ -54,11 +57,13 @@ public class ReduceQueryRun {
      * @param idxsCnt Number of indexes.
      * @param pageSize Page size.
      * @param dataPageScanEnabled If data page scan is enabled.
+     * @param memTracker Memory tracker, {@code null} if memory is not tracked.
      */
     ReduceQueryRun(
         int idxsCnt,
         int pageSize,
-        Boolean dataPageScanEnabled
+        Boolean dataPageScanEnabled,
+        @Nullable ReduceMemoryTracker memTracker
     ) {
         assert pageSize > 0;
 
@@ -66,6 +71,7 @@ public class ReduceQueryRun {
 
         this.pageSize = pageSize;
         this.dataPageScanEnabled = dataPageScanEnabled;
+        this.memTracker = memTracker;
     }
 
     /**
@@ -186,6 +192,24 @@ public class ReduceQueryRun {
         return idxs;
     }
 
+    /**
+     * @return Memory tracker, {@code null} if memory is not tracked.
+     */
+    @Nullable ReduceMemoryTracker memoryTracker() {
+        return memTracker;
+    }
+
+    /**
+     * Releases memory and files of the fetched rows.
+     */
+    void close() {
+        for (Reducer idx : idxs)
+            idx.close();
+
+        if (memTracker != null)
+            memTracker.close();
+    }
+
     /**
      * Initialize.
      *
@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.processors.query.h2.twostep;
 
+import java.io.File;
 import java.util.BitSet;
 import java.util.Map;
 import java.util.Set;
@@ -64,6 +65,16 @@ public interface Reducer {
      */
     void setPageSize(int pageSize);
 
+    /**
+     * @param memTracker Memory tracker of the query, {@code null} if memory is not tracked.
+     */
+    void setMemoryTracker(@Nullable ReduceMemoryTracker memTracker);
+
+    /**
+     * @param offloadDir Directory to offload fetched rows to, {@code null} if offloading is disabled.
+     */
+    void setOffloadDirectory(@Nullable File offloadDir);
+
     /**
      * Check if all rows has been fetched from all sources.
      *
@@ -88,6 +99,11 @@ public interface Reducer {
      */
     void onFailure(UUID nodeId, CacheException e);
 
+    /**
+     * Releases memory and files of the fetched rows.
+     */
+    void close();
+
     /**
      * Rows comparator.
      * See {@link Index}
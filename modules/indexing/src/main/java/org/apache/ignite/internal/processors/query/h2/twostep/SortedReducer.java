@@ -513,14 +513,8 @@ public class SortedReducer extends AbstractReducer {
 
                 // Fetch stream.
                 while (stream.hasNext()) {
-                    fetched.add(requireNonNull(stream.next()));
-
-                    // Evict block if we've fetched too many rows.
-                    if (fetched.size() == MAX_FETCH_SIZE) {
-                        onBlockEvict(fetched.evictFirstBlock());
-
-                        assert fetched.size() < MAX_FETCH_SIZE;
-                    }
+                    // Offload or evict block if we've fetched too many rows.
+                    addFetched(requireNonNull(stream.next()));
 
                     // No bounds -> no need to do binary search, can return the fetched row right away.
                     if (!haveBounds())
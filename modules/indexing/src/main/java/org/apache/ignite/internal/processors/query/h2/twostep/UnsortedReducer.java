@@ -99,14 +99,8 @@ public class UnsortedReducer extends UnsortedBaseReducer {
 
             // Fetch stream.
             if (stream.hasNext()) {
-                fetched.add(requireNonNull(stream.next()));
-
-                // Evict block if we've fetched too many rows.
-                if (fetched.size() == MAX_FETCH_SIZE) {
-                    onBlockEvict(fetched.evictFirstBlock());
-
-                    assert fetched.size() < MAX_FETCH_SIZE;
-                }
+                // Offload or evict block if we've fetched too many rows.
+                addFetched(requireNonNull(stream.next()));
             }
 
             if (cur == rows.size())
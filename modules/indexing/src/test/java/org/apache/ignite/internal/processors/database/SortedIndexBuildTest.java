@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import javax.cache.Cache;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.cache.query.annotations.QuerySqlField;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.management.cache.ValidateIndexesClosure;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE;
+import static org.apache.ignite.testframework.GridTestUtils.deleteIndexBin;
+
+/**
+ * Checks sorted build of indexes with concurrent updates of the cache.
+ */
+@WithSystemProperty(key = IGNITE_INDEX_SORTED_BUILD_BUFFER_SIZE, value = "100")
+public class SortedIndexBuildTest extends GridCommonAbstractTest {
+    /** Cache name. */
+    private static final String CACHE_NAME = "cache_name";
+
+    /** Count of keys. */
+    private static final int KEYS = 10_000;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setConsistentId(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)
+                    .setMaxSize(256L * 1024 * 1024)))
+            .setCacheConfiguration(new CacheConfiguration<Integer, Person>(CACHE_NAME)
+                .setIndexedTypes(Integer.class, Person.class));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRebuildAfterIndexBinRemoved() throws Exception {
+        IgniteEx n = startNode();
+
+        populate(n.cache(CACHE_NAME));
+
+        stopAllGrids();
+
+        deleteIndexBin(getTestIgniteInstanceName(0));
+
+        n = startNode();
+
+        IgniteInternalFuture<?> rebuildFut = indexRebuildFuture(n, CU.cacheId(CACHE_NAME));
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> updFut = runUpdates(n.cache(CACHE_NAME), stop);
+
+        try {
+            if (rebuildFut != null)
+                rebuildFut.get(getTestTimeout());
+        }
+        finally {
+            stop.set(true);
+        }
+
+        updFut.get(getTestTimeout());
+
+        checkIndexes(n);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCreateIndex() throws Exception {
+        IgniteEx n = startNode();
+
+        IgniteCache<Integer, Person> cache = n.cache(CACHE_NAME);
+
+        populate(cache);
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> updFut = runUpdates(cache, stop);
+
+        try {
+            cache.query(new SqlFieldsQuery("CREATE INDEX PERSON_NAME_IDX ON Person(name DESC, grp)")).getAll();
+        }
+        finally {
+            stop.set(true);
+        }
+
+        updFut.get(getTestTimeout());
+
+        checkIndexes(n);
+
+        List<String> exp = new ArrayList<>();
+
+        for (Cache.Entry<Integer, Person> e : cache) {
+            if (e.getValue().name.compareTo("name_5") > 0)
+                exp.add(e.getValue().name);
+        }
+
+        exp.sort(Comparator.reverseOrder());
+
+        List<String> res = cache.query(new SqlFieldsQuery(
+            "SELECT name FROM Person USE INDEX(PERSON_NAME_IDX) WHERE name > 'name_5' ORDER BY name DESC")).getAll()
+            .stream().map(row -> (String)row.get(0)).collect(Collectors.toList());
+
+        assertFalse(exp.isEmpty());
+        assertEquals(exp, res);
+    }
+
+    /**
+     * @return Started and activated node.
+     * @throws Exception If failed.
+     */
+    private IgniteEx startNode() throws Exception {
+        IgniteEx n = startGrid(0);
+
+        n.cluster().state(ClusterState.ACTIVE);
+
+        return n;
+    }
+
+    /**
+     * @param cache Cache.
+     */
+    private void populate(IgniteCache<Integer, Person> cache) {
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, new Person(i));
+    }
+
+    /**
+     * Updates and removes random keys of the cache until stopped.
+     *
+     * @param cache Cache.
+     * @param stop Stop flag.
+     * @return Future.
+     */
+    private IgniteInternalFuture<?> runUpdates(IgniteCache<Integer, Person> cache, AtomicBoolean stop) {
+        return GridTestUtils.runMultiThreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get()) {
+                int key = rnd.nextInt(KEYS);
+
+                if (rnd.nextInt(4) == 0)
+                    cache.remove(key);
+                else
+                    cache.put(key, new Person(rnd.nextInt(KEYS)));
+            }
+        }, 4, "cache-updater");
+    }
+
+    /**
+     * @param n Node.
+     * @throws Exception If failed.
+     */
+    private void checkIndexes(IgniteEx n) throws Exception {
+        ValidateIndexesClosure clo = new ValidateIndexesClosure(
+            () -> false, Collections.singleton(CACHE_NAME), 0, 0, false, true);
+
+        n.context().resource().injectGeneric(clo);
+
+        assertFalse(clo.call().hasIssues());
+
+        IgniteCache<Integer, Person> cache = n.cache(CACHE_NAME);
+
+        assertEquals((long)cache.size(), cache.query(new SqlFieldsQuery(
+            "SELECT COUNT(*) FROM Person USE INDEX(PERSON_GRP_IDX) WHERE grp >= 0")).getAll().get(0).get(0));
+    }
+
+    /**
+     * Person.
+     */
+    private static class Person {
+        /** Group. */
+        @QuerySqlField(orderedGroups = @QuerySqlField.Group(name = "PERSON_GRP_IDX", order = 0, descending = true))
+        private final int grp;
+
+        /** Name. */
+        @QuerySqlField(orderedGroups = @QuerySqlField.Group(name = "PERSON_GRP_IDX", order = 1))
+        private final String name;
+
+        /**
+         * @param val Value.
+         */
+        Person(int val) {
+            grp = val % 100;
+            name = "name_" + val;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.SqlConfiguration;
+import org.apache.ignite.indexing.IndexingQueryEngineConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.internal.processors.query.h2.twostep.GridReduceQueryExecutor;
+import org.apache.ignite.internal.processors.query.h2.twostep.ReduceMemoryTracker;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Checks memory quotas and offloading of the rows fetched by the reducer, and memory quotas of the reduce results.
+ */
+public class ReducerOffloadingTest extends GridCommonAbstractTest {
+    /** Table size. */
+    private static final int TBL_SIZE = 3_000;
+
+    /** Reduce query joins two merge tables, so the inner one is scanned for each row of the outer one. */
+    private static final String JOIN_QRY = "select count(*) from " +
+        "(select id, max(name) n from TEST group by id) a, " +
+        "(select id, max(name) n from TEST group by id) b " +
+        "where a.id = b.id";
+
+    /** Per-query memory quota. */
+    private long qryQuota;
+
+    /** Global memory quota. */
+    private long globalQuota;
+
+    /** Offloading enabled flag. */
+    private boolean offloading;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setSqlConfiguration(new SqlConfiguration()
+                .setQueryEnginesConfiguration(new IndexingQueryEngineConfiguration()
+                    .setDefault(true)
+                    .setQueryMemoryQuota(qryQuota)
+                    .setGlobalMemoryQuota(globalQuota)
+                    .setOffloadingEnabled(offloading)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testQueryQuotaWithoutOffloading() throws Exception {
+        qryQuota = 64 * 1024;
+
+        startAndPopulate();
+
+        GridTestUtils.assertThrowsAnyCause(log, () -> query(JOIN_QRY), IgniteSQLException.class,
+            "Fetched result set exceeds the memory quota");
+
+        // Fetched rows fit the quota.
+        assertEquals(100L, query("select count(*) from (select id from TEST where id < 100 group by id) a, " +
+            "(select id from TEST where id < 100 group by id) b where a.id = b.id").get(0).get(0));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testQueryQuotaWithOffloading() throws Exception {
+        qryQuota = 64 * 1024;
+        offloading = true;
+
+        checkOffloading();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testGlobalQuotaWithOffloading() throws Exception {
+        globalQuota = 64 * 1024;
+        offloading = true;
+
+        checkOffloading();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReduceResultQuota() throws Exception {
+        globalQuota = 64 * 1024;
+
+        IgniteEx ignite = startAndPopulate();
+
+        ReduceMemoryTracker memTracker =
+            ((IgniteH2Indexing)ignite.context().query().getIndexing()).reduceQueryExecutor().memoryTracker();
+
+        // Reduce query has a group for each row of the table.
+        GridTestUtils.assertThrowsAnyCause(log, () -> query("select name, count(*) from TEST group by name"),
+            IgniteSQLException.class, "Reduce query result exceeds the memory quota");
+
+        assertEquals(0, memTracker.reserved());
+
+        // Result fits the quota, it is reserved until the cursor is closed.
+        try (FieldsQueryCursor<List<?>> cur = ignite.context().query().querySqlFields(
+            new SqlFieldsQuery("select ref_key, count(*) from TEST group by ref_key"), false)) {
+            Iterator<List<?>> it = cur.iterator();
+
+            assertTrue(it.hasNext());
+            assertTrue(memTracker.reserved() > 0);
+        }
+
+        assertEquals(0, memTracker.reserved());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    private void checkOffloading() throws Exception {
+        IgniteEx ignite = startAndPopulate();
+
+        for (int i = 0; i < 3; i++)
+            assertEquals((long)TBL_SIZE, query(JOIN_QRY).get(0).get(0));
+
+        GridReduceQueryExecutor rdcExec = ((IgniteH2Indexing)ignite.context().query().getIndexing()).reduceQueryExecutor();
+
+        if (globalQuota > 0)
+            assertEquals(0, rdcExec.memoryTracker().reserved());
+
+        File dir = U.resolveWorkDirectory(ignite.configuration().getWorkDirectory(),
+            GridReduceQueryExecutor.OFFLOAD_DIR + File.separator +
+                ignite.context().pdsFolderResolver().resolveFolders().folderName(), false);
+
+        assertTrue(F.isEmpty(dir.list()));
+    }
+
+    /**
+     * @return Node to run queries on.
+     * @throws Exception If failed.
+     */
+    private IgniteEx startAndPopulate() throws Exception {
+        IgniteEx ignite = startGrids(2);
+
+        query("create table TEST (id int primary key, ref_key int, name varchar)");
+
+        for (int i = 0; i < TBL_SIZE; ++i)
+            query("insert into TEST VALUES (?, ?, ?)", i, i % 100, "name-" + i);
+
+        return ignite;
+    }
+
+    /**
+     * @param sql SQL query.
+     * @param args Query parameters.
+     * @return Result.
+     */
+    private List<List<?>> query(String sql, Object... args) {
+        return grid(0).context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.database.inlinecolumn;
+
+import java.util.List;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.cache.query.index.IndexName;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexImpl;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexTree;
+import org.apache.ignite.internal.processors.cache.index.AbstractIndexingCommonTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_MAX_INDEX_INNER_PAYLOAD_SIZE;
+
+/** Tests inner pages of the index trees with the truncated inlined keys. */
+public class InnerPageInlineSizeTest extends AbstractIndexingCommonTest {
+    /** Rows count. */
+    private static final int ROWS = 5_000;
+
+    /** Inline size of the leaf pages. */
+    private static final int INLINE_SIZE = 512;
+
+    /** Inline size of the inner pages, the common prefix of the values doesn't fit into it. */
+    private static final int INNER_INLINE_SIZE = 16;
+
+    /** Common prefix of the indexed values. */
+    private static final String PREFIX = "prefix-of-the-indexed-value-";
+
+    /** Suffix of the indexed values. */
+    private static final String SUFFIX = new String(new char[200]).replace('\0', 'x');
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration().setPersistenceEnabled(true)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        System.clearProperty(IGNITE_MAX_INDEX_INNER_PAYLOAD_SIZE);
+
+        super.afterTest();
+    }
+
+    /** */
+    @Test
+    public void testTruncatedInnerPagesDecreaseDepth() throws Exception {
+        IgniteEx ignite = startGrid();
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        createTable(ignite, "FULL_INNER");
+
+        System.setProperty(IGNITE_MAX_INDEX_INNER_PAYLOAD_SIZE, String.valueOf(INNER_INLINE_SIZE));
+
+        createTable(ignite, "TRUNCATED_INNER");
+
+        System.clearProperty(IGNITE_MAX_INDEX_INNER_PAYLOAD_SIZE);
+
+        fill(ignite, "FULL_INNER", 0, ROWS);
+        fill(ignite, "TRUNCATED_INNER", 0, ROWS);
+
+        InlineIndexTree full = tree(ignite, "FULL_INNER");
+        InlineIndexTree truncated = tree(ignite, "TRUNCATED_INNER");
+
+        assertEquals(INLINE_SIZE, truncated.inlineSize());
+
+        assertTrue("full=" + full.rootLevel() + ", truncated=" + truncated.rootLevel(),
+            truncated.rootLevel() < full.rootLevel());
+
+        checkRows(ignite, "FULL_INNER", 0, ROWS, 1);
+        checkRows(ignite, "TRUNCATED_INNER", 0, ROWS, 1);
+
+        // Removals replace and merge the items of the inner pages.
+        for (String tbl : new String[] {"FULL_INNER", "TRUNCATED_INNER"})
+            sql(ignite, "DELETE FROM " + tbl + " WHERE MOD(ID, 2) = 1");
+
+        checkRows(ignite, "FULL_INNER", 0, ROWS, 2);
+        checkRows(ignite, "TRUNCATED_INNER", 0, ROWS, 2);
+
+        assertEquals(sql(ignite, "SELECT VAL FROM FULL_INNER WHERE VAL > '" + value(ROWS / 3) + "' ORDER BY VAL"),
+            sql(ignite, "SELECT VAL FROM TRUNCATED_INNER WHERE VAL > '" + value(ROWS / 3) + "' ORDER BY VAL"));
+    }
+
+    /** */
+    @Test
+    public void testInnerPayloadSizeChangedOnRestart() throws Exception {
+        IgniteEx ignite = startGrid();
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        createTable(ignite, "TBL");
+
+        fill(ignite, "TBL", 0, ROWS);
+
+        assertTrue(tree(ignite, "TBL").rootLevel() > 0);
+
+        stopGrid();
+
+        System.setProperty(IGNITE_MAX_INDEX_INNER_PAYLOAD_SIZE, String.valueOf(INNER_INLINE_SIZE));
+
+        ignite = startGrid();
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        // Inner pages of the existing tree keep the payload size of the leaf pages.
+        checkRows(ignite, "TBL", 0, ROWS, 1);
+
+        fill(ignite, "TBL", ROWS, 2 * ROWS);
+
+        sql(ignite, "DELETE FROM TBL WHERE MOD(ID, 2) = 1");
+
+        checkRows(ignite, "TBL", 0, 2 * ROWS, 2);
+    }
+
+    /** */
+    private void createTable(IgniteEx ignite, String tbl) {
+        sql(ignite, "CREATE TABLE " + tbl + " (ID INT PRIMARY KEY, VAL VARCHAR)");
+        sql(ignite, "CREATE INDEX " + tbl + "_VAL_IDX ON " + tbl + " (VAL) INLINE_SIZE " + INLINE_SIZE);
+    }
+
+    /** */
+    private void fill(IgniteEx ignite, String tbl, int from, int to) {
+        for (int i = from; i < to; i += 100) {
+            StringBuilder sb = new StringBuilder("INSERT INTO ").append(tbl).append(" (ID, VAL) VALUES ");
+
+            for (int j = i; j < Math.min(i + 100, to); j++)
+                sb.append(j == i ? "" : ", ").append('(').append(j).append(", '").append(value(j)).append("')");
+
+            sql(ignite, sb.toString());
+        }
+    }
+
+    /** */
+    private void checkRows(IgniteEx ignite, String tbl, int from, int to, int step) {
+        for (int i = from; i < to; i += 97) {
+            List<List<?>> res = sql(ignite, "SELECT ID FROM " + tbl + " WHERE VAL = '" + value(i) + "'");
+
+            if (i % step == 0) {
+                assertEquals(1, res.size());
+                assertEquals(i, res.get(0).get(0));
+            }
+            else
+                assertTrue(res.isEmpty());
+        }
+
+        List<List<?>> res = sql(ignite, "SELECT ID FROM " + tbl + " WHERE VAL >= '" + value(from) + "' AND VAL < '" +
+            value(to) + "' ORDER BY VAL");
+
+        assertEquals((to - from + step - 1) / step, res.size());
+
+        for (int i = 0; i < res.size(); i++)
+            assertEquals(from + i * step, res.get(i).get(0));
+    }
+
+    /** */
+    private InlineIndexTree tree(IgniteEx ignite, String tbl) {
+        InlineIndexImpl idx = (InlineIndexImpl)ignite.context().indexProcessor()
+            .index(new IndexName("SQL_PUBLIC_" + tbl, "PUBLIC", tbl, tbl + "_VAL_IDX"));
+
+        return idx.segment(0);
+    }
+
+    /** */
+    private static String value(int i) {
+        return PREFIX + String.format("%08d", i) + '-' + SUFFIX;
+    }
+
+    /** */
+    private List<List<?>> sql(IgniteEx ignite, String qry) {
+        return ignite.context().query().querySqlFields(new SqlFieldsQuery(qry), false).getAll();
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.stat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests of column values histogram.
+ */
+public class ColumnHistogramTest extends GridCommonAbstractTest {
+    /** Allowed estimation error. */
+    private static final double DELTA = 0.03;
+
+    /**
+     * Checks range estimation on uniformly distributed values.
+     */
+    @Test
+    public void testUniform() throws Exception {
+        ColumnStatisticsCollector collector = new ColumnStatisticsCollector(0, "test", Integer.class);
+
+        for (int i = 0; i < 100_000; i++)
+            collector.add(i);
+
+        collector.add(null);
+
+        ColumnStatistics stat = collector.finish();
+        ColumnHistogram hist = stat.histogram();
+
+        assertNotNull(hist);
+        assertTrue(hist.buckets() <= ColumnStatisticsCollector.HISTOGRAM_BUCKETS);
+        assertEquals(100_000, hist.total());
+
+        assertEquals(0., hist.lessSelectivity(dec(-1), true, stat.distinct()), DELTA);
+        assertEquals(0.1, hist.lessSelectivity(dec(10_000), false, stat.distinct()), DELTA);
+        assertEquals(0.5, hist.lessSelectivity(dec(50_000), true, stat.distinct()), DELTA);
+        assertEquals(1., hist.lessSelectivity(dec(100_000), false, stat.distinct()), DELTA);
+
+        assertEquals(1. / 100_000, hist.equalsSelectivity(dec(5), 100_000), DELTA);
+        assertEquals(0., hist.equalsSelectivity(dec(100_001), 100_000), 0.);
+    }
+
+    /**
+     * Checks estimations on skewed values.
+     */
+    @Test
+    public void testSkewed() throws Exception {
+        ColumnStatisticsCollector collector = new ColumnStatisticsCollector(0, "test", Long.class);
+
+        for (long i = 0; i < 10_000; i++) {
+            // Half of values are 0, others are uniformly distributed between 1 and 5000.
+            collector.add(i % 2 == 0 ? 0L : i / 2 + 1);
+        }
+
+        ColumnStatistics stat = collector.finish();
+        ColumnHistogram hist = stat.histogram();
+
+        assertEquals(0.5, hist.equalsSelectivity(dec(0), stat.distinct()), DELTA);
+        assertEquals(0.5 / 5000, hist.equalsSelectivity(dec(100), stat.distinct()), DELTA);
+
+        assertEquals(0.5, hist.lessSelectivity(dec(0), true, stat.distinct()), DELTA);
+        assertEquals(0., hist.lessSelectivity(dec(0), false, stat.distinct()), DELTA);
+        assertEquals(0.75, hist.lessSelectivity(dec(2500), true, stat.distinct()), DELTA);
+    }
+
+    /**
+     * Checks that the bound values are taken into account by the non-strict comparison only.
+     */
+    @Test
+    public void testBounds() {
+        ColumnHistogram hist = new ColumnHistogram(
+            new BigDecimal[] {dec(0), dec(10)},
+            new BigDecimal[] {dec(9), dec(19)},
+            new long[] {100, 100});
+
+        long distinct = 20;
+
+        assertEquals(0.45, hist.lessSelectivity(dec(9), false, distinct), 0.);
+        assertEquals(0.5, hist.lessSelectivity(dec(9), true, distinct), 0.);
+        assertEquals(0.5, hist.lessSelectivity(dec(10), false, distinct), 0.);
+        assertEquals(0.55, hist.lessSelectivity(dec(10), true, distinct), 0.);
+        assertEquals(0.95, hist.lessSelectivity(dec(19), false, distinct), 0.);
+        assertEquals(1., hist.lessSelectivity(dec(19), true, distinct), 0.);
+
+        for (long v : new long[] {0, 9, 10, 19}) {
+            double eq = hist.lessSelectivity(dec(v), true, distinct) - hist.lessSelectivity(dec(v), false, distinct);
+
+            assertEquals(hist.equalsSelectivity(dec(v), distinct), eq, 1e-9);
+        }
+    }
+
+    /**
+     * Checks that partition histograms are merged into the one with the same estimations.
+     */
+    @Test
+    public void testAggregation() throws Exception {
+        List<ColumnStatistics> partStats = new ArrayList<>();
+
+        for (int p = 0; p < 16; p++) {
+            ColumnStatisticsCollector collector = new ColumnStatisticsCollector(0, "test", Integer.class);
+
+            for (int i = p; i < 100_000; i += 16)
+                collector.add(i < 20_000 ? 0 : i);
+
+            partStats.add(collector.finish());
+        }
+
+        ColumnStatistics stat = ColumnStatisticsCollector.aggregate(partStats, null);
+        ColumnHistogram hist = stat.histogram();
+
+        assertNotNull(hist);
+        assertTrue(hist.buckets() <= 2 * ColumnStatisticsCollector.HISTOGRAM_BUCKETS);
+        assertEquals(100_000, hist.total(), 100_000 * DELTA);
+
+        assertEquals(0.2, hist.equalsSelectivity(dec(0), stat.distinct()), DELTA);
+        assertEquals(0.2, hist.lessSelectivity(dec(0), true, stat.distinct()), DELTA);
+        assertEquals(0.6, hist.lessSelectivity(dec(60_000), true, stat.distinct()), DELTA);
+        assertEquals(0.9, hist.lessSelectivity(dec(90_000), false, stat.distinct()), DELTA);
+    }
+
+    /**
+     * Checks that histogram isn't collected for the not comparable values and for the columns without values.
+     */
+    @Test
+    public void testNoHistogram() throws Exception {
+        ColumnStatisticsCollector collector = new ColumnStatisticsCollector(0, "test", String.class);
+
+        collector.add("a");
+
+        assertNull(collector.finish().histogram());
+
+        collector = new ColumnStatisticsCollector(0, "test", Integer.class);
+
+        collector.add(null);
+
+        assertNull(collector.finish().histogram());
+    }
+
+    /**
+     * Checks histogram serialization.
+     */
+    @Test
+    public void testSerialization() throws Exception {
+        ColumnStatisticsCollector collector = new ColumnStatisticsCollector(0, "test", Double.class);
+
+        for (int i = 0; i < 1000; i++)
+            collector.add(i / 10.);
+
+        ColumnStatistics stat = collector.finish();
+
+        assertEquals(stat.histogram(), ColumnHistogram.fromBytes(stat.histogram().toBytes()));
+        assertEquals(stat, StatisticsUtils.toColumnStatistics(null, StatisticsUtils.toMessage(stat)));
+    }
+
+    /** */
+    private static BigDecimal dec(long val) {
+        return BigDecimal.valueOf(val);
+    }
+}
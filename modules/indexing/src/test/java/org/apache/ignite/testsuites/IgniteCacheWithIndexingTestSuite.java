@@ -54,6 +54,7 @@ import org.apache.ignite.internal.processors.cache.ttl.CacheTtlReadOnlyModeSelfT
 import org.apache.ignite.internal.processors.cache.ttl.CacheTtlTransactionalPartitionedSelfTest;
 import org.apache.ignite.internal.processors.client.IgniteDataStreamerTest;
 import org.apache.ignite.internal.processors.query.h2.database.inlinecolumn.ComputeInlineSizeTest;
+import org.apache.ignite.internal.processors.query.h2.database.inlinecolumn.InnerPageInlineSizeTest;
 import org.apache.ignite.internal.processors.query.h2.database.inlinecolumn.InlineIndexColumnTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -65,6 +66,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
     InlineIndexColumnTest.class,
     ComputeInlineSizeTest.class,
+    InnerPageInlineSizeTest.class,
 
     GridIndexingWithNoopSwapSelfTest.class,
     GridCacheOffHeapSelfTest.class,
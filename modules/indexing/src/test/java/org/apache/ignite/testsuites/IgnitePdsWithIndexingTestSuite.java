@@ -41,6 +41,7 @@ import org.apache.ignite.internal.processors.database.IgniteTwoRegionsRebuildInd
 import org.apache.ignite.internal.processors.database.RebuildIndexTest;
 import org.apache.ignite.internal.processors.database.RebuildIndexWithHistoricalRebalanceTest;
 import org.apache.ignite.internal.processors.database.RebuildIndexWithMVCCTest;
+import org.apache.ignite.internal.processors.database.SortedIndexBuildTest;
 import org.apache.ignite.internal.processors.database.WalDisabledDuringIndexRecreateTest;
 import org.apache.ignite.internal.processors.query.h2.maintenance.MaintenanceRebuildIndexUtilsSelfTest;
 import org.junit.runner.RunWith;
@@ -62,6 +63,7 @@ import org.junit.runners.Suite;
     IndexingMultithreadedLoadContinuousRestartTest.class,
     LongDestroyDurableBackgroundTaskTest.class,
     RebuildIndexTest.class,
+    SortedIndexBuildTest.class,
     WalDisabledDuringIndexRecreateTest.class,
     RebuildIndexWithMVCCTest.class,
     ClientReconnectWithSqlTableConfiguredTest.class,
@@ -20,6 +20,7 @@ package org.apache.ignite.testsuites;
 import org.apache.ignite.internal.processors.query.h2.RowCountTableStatisticsSurvivesNodeRestartTest;
 import org.apache.ignite.internal.processors.query.h2.RowCountTableStatisticsUsageTest;
 import org.apache.ignite.internal.processors.query.stat.BusyExecutorTest;
+import org.apache.ignite.internal.processors.query.stat.ColumnHistogramTest;
 import org.apache.ignite.internal.processors.query.stat.ColumnStatisticsCollectorAggregationTest;
 import org.apache.ignite.internal.processors.query.stat.ColumnStatisticsCollectorTest;
 import org.apache.ignite.internal.processors.query.stat.HasherSelfTest;
@@ -64,6 +65,7 @@ import org.junit.runners.Suite;
     HasherSelfTest.class,
     ColumnStatisticsCollectorAggregationTest.class,
     ColumnStatisticsCollectorTest.class,
+    ColumnHistogramTest.class,
     ManagerStatisticsTypesTest.class,
     IgniteStatisticsRepositoryTest.class,
     StatisticsStorageRestartTest.class,